@@ -0,0 +1,199 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzAffinityBenchmarkImpl;
+
+import java.util.Map;
+
+/**
+ * Describes the throughput and the engine lock-wait statistics for the
+ * blocks of records of a bulk load that were loaded either with or without
+ * scheduling the records by their affinity key.
+ */
+@JsonDeserialize(using=SzAffinityBenchmark.Factory.class)
+public interface SzAffinityBenchmark {
+  /**
+   * Checks if this describes the blocks of records that were scheduled by
+   * their affinity key.
+   *
+   * @return <tt>true</tt> if this describes the blocks of records that were
+   *         scheduled by their affinity key, or <tt>false</tt> if this
+   *         describes the blocks of records that were loaded by whichever
+   *         worker was next.
+   */
+  boolean isAffinity();
+
+  /**
+   * Sets whether or not this describes the blocks of records that were
+   * scheduled by their affinity key.
+   *
+   * @param affinity <tt>true</tt> if this describes the blocks of records
+   *                 that were scheduled by their affinity key, otherwise
+   *                 <tt>false</tt>.
+   */
+  void setAffinity(boolean affinity);
+
+  /**
+   * Gets the number of blocks of records that were loaded.
+   *
+   * @return The number of blocks of records that were loaded.
+   */
+  int getBlockCount();
+
+  /**
+   * Sets the number of blocks of records that were loaded.
+   *
+   * @param blockCount The number of blocks of records that were loaded.
+   */
+  void setBlockCount(int blockCount);
+
+  /**
+   * Gets the number of records in the blocks that were loaded.
+   *
+   * @return The number of records in the blocks that were loaded.
+   */
+  long getRecordCount();
+
+  /**
+   * Sets the number of records in the blocks that were loaded.
+   *
+   * @param recordCount The number of records in the blocks that were loaded.
+   */
+  void setRecordCount(long recordCount);
+
+  /**
+   * Gets the total number of milliseconds spent loading the blocks.
+   *
+   * @return The total number of milliseconds spent loading the blocks.
+   */
+  long getElapsedMillis();
+
+  /**
+   * Sets the total number of milliseconds spent loading the blocks.
+   *
+   * @param elapsedMillis The total number of milliseconds spent loading the
+   *                      blocks.
+   */
+  void setElapsedMillis(long elapsedMillis);
+
+  /**
+   * Gets the number of records loaded per second across the blocks.
+   *
+   * @return The number of records loaded per second across the blocks.
+   */
+  double getRecordsPerSecond();
+
+  /**
+   * Sets the number of records loaded per second across the blocks.
+   *
+   * @param recordsPerSecond The number of records loaded per second across
+   *                         the blocks.
+   */
+  void setRecordsPerSecond(double recordsPerSecond);
+
+  /**
+   * Gets the number of retries reported by the engine statistics while the
+   * blocks were loaded.
+   *
+   * @return The number of retries reported by the engine statistics.
+   */
+  long getRetryCount();
+
+  /**
+   * Sets the number of retries reported by the engine statistics while the
+   * blocks were loaded.
+   *
+   * @param retryCount The number of retries reported by the engine
+   *                   statistics.
+   */
+  void setRetryCount(long retryCount);
+
+  /**
+   * Gets the <b>unmodifiable</b> {@link Map} of lock-wait statistics that
+   * were reported by the engine while the blocks were loaded.  The keys are
+   * the dot-separated paths of the statistics within the engine statistics
+   * and the values are summed across the blocks.
+   *
+   * @return The <b>unmodifiable</b> {@link Map} of lock-wait statistics.
+   */
+  Map<String, Long> getLockWaits();
+
+  /**
+   * Sets the {@link Map} of lock-wait statistics that were reported by the
+   * engine while the blocks were loaded.
+   *
+   * @param lockWaits The {@link Map} of lock-wait statistics.
+   */
+  void setLockWaits(Map<String, Long> lockWaits);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzAffinityBenchmark}.
+   */
+  interface Provider extends ModelProvider<SzAffinityBenchmark> {
+    /**
+     * Creates a new instance of {@link SzAffinityBenchmark}.
+     *
+     * @return The new instance of {@link SzAffinityBenchmark}
+     */
+    SzAffinityBenchmark create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzAffinityBenchmark} that produces instances of {@link
+   * SzAffinityBenchmarkImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzAffinityBenchmark>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzAffinityBenchmark.class, SzAffinityBenchmarkImpl.class);
+    }
+
+    @Override
+    public SzAffinityBenchmark create() {
+      return new SzAffinityBenchmarkImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzAffinityBenchmark}.
+   */
+  class Factory extends ModelFactory<SzAffinityBenchmark, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzAffinityBenchmark.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzAffinityBenchmark}.
+     * @return The new instance of {@link SzAffinityBenchmark}.
+     */
+    public SzAffinityBenchmark create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
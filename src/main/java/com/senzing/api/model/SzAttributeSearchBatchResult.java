@@ -0,0 +1,162 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzAttributeSearchBatchResultImpl;
+
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Describes the outcome of an individual search in a batch of attribute
+ * searches.  Each result carries the HTTP status code that the equivalent
+ * single search request would have produced so that a failure for one
+ * search does not fail the whole batch.
+ */
+@JsonDeserialize(using=SzAttributeSearchBatchResult.Factory.class)
+public interface SzAttributeSearchBatchResult {
+  /**
+   * Gets the zero-based index of the search criteria in the batch request.
+   *
+   * @return The zero-based index of the search criteria in the batch request.
+   */
+  int getIndex();
+
+  /**
+   * Sets the zero-based index of the search criteria in the batch request.
+   *
+   * @param index The zero-based index of the search criteria in the batch
+   *              request.
+   */
+  void setIndex(int index);
+
+  /**
+   * Gets the HTTP status code that describes the outcome for the search
+   * (e.g.: <tt>200</tt> if successful or <tt>400</tt> if the search criteria
+   * was invalid).
+   *
+   * @return The HTTP status code that describes the outcome for the search.
+   */
+  int getHttpStatusCode();
+
+  /**
+   * Sets the HTTP status code that describes the outcome for the search.
+   *
+   * @param statusCode The HTTP status code that describes the outcome for
+   *                   the search.
+   */
+  void setHttpStatusCode(int statusCode);
+
+  /**
+   * Gets the {@link List} of {@link SzAttributeSearchResult} instances found
+   * by the search if it succeeded.
+   *
+   * @return The {@link List} of {@link SzAttributeSearchResult} instances, or
+   *         <tt>null</tt> if the search failed.
+   */
+  @JsonInclude(NON_NULL)
+  List<SzAttributeSearchResult> getSearchResults();
+
+  /**
+   * Sets the {@link List} of {@link SzAttributeSearchResult} instances found
+   * by the search if it succeeded.
+   *
+   * @param searchResults The {@link List} of {@link SzAttributeSearchResult}
+   *                      instances, or <tt>null</tt> if the search failed.
+   */
+  void setSearchResults(List<SzAttributeSearchResult> searchResults);
+
+  /**
+   * Gets the error message if the search failed.
+   *
+   * @return The error message if the search failed, or <tt>null</tt> if it
+   *         succeeded.
+   */
+  @JsonInclude(NON_NULL)
+  String getErrorMessage();
+
+  /**
+   * Sets the error message if the search failed.
+   *
+   * @param errorMessage The error message if the search failed, or
+   *                     <tt>null</tt> if it succeeded.
+   */
+  void setErrorMessage(String errorMessage);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link
+   * SzAttributeSearchBatchResult}.
+   */
+  interface Provider extends ModelProvider<SzAttributeSearchBatchResult> {
+    /**
+     * Creates a new instance of {@link SzAttributeSearchBatchResult}.
+     *
+     * @return The new instance of {@link SzAttributeSearchBatchResult}
+     */
+    SzAttributeSearchBatchResult create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzAttributeSearchBatchResult} that produces instances of {@link
+   * SzAttributeSearchBatchResultImpl}.
+   */
+  class DefaultProvider
+      extends AbstractModelProvider<SzAttributeSearchBatchResult>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzAttributeSearchBatchResult.class,
+            SzAttributeSearchBatchResultImpl.class);
+    }
+
+    @Override
+    public SzAttributeSearchBatchResult create() {
+      return new SzAttributeSearchBatchResultImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzAttributeSearchBatchResult}.
+   */
+  class Factory
+      extends ModelFactory<SzAttributeSearchBatchResult, Provider>
+  {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzAttributeSearchBatchResult.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzAttributeSearchBatchResult}.
+     * @return The new instance of {@link SzAttributeSearchBatchResult}.
+     */
+    public SzAttributeSearchBatchResult create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
@@ -0,0 +1,21 @@
+package com.senzing.api.model;
+
+/**
+ * Enumerates the orders in which the per-item results of a batch request
+ * can be streamed back to the client.
+ */
+public enum SzBatchOrder {
+  /**
+   * Stream the results in the same order as the items in the request.  A
+   * result that completes early is held back until the results for all the
+   * items before it have been streamed.
+   */
+  REQUEST,
+
+  /**
+   * Stream each result as soon as it completes regardless of the position
+   * of the item in the request.  The <tt>index</tt> of each result identifies
+   * the item it belongs to.
+   */
+  COMPLETION;
+}
@@ -205,6 +205,115 @@ public interface SzBulkDataAnalysis {
    */
   int incrementRecordsWithEntityTypeCount(int increment);
 
+  /**
+   * Gets the number of records in the bulk data set that have a
+   * <tt>"RECORD_ID"</tt> that duplicates the <tt>"RECORD_ID"</tt> of an
+   * earlier record with the same data source.  This is an estimate if {@link
+   * #isDuplicateCountEstimated()} returns <tt>true</tt>.
+   *
+   * @return The number of records in the bulk data set that have a duplicate
+   *         <tt>"RECORD_ID"</tt> for their data source.
+   */
+  int getDuplicateRecordIdCount();
+
+  /**
+   * Sets the number of records in the bulk data set that have a
+   * <tt>"RECORD_ID"</tt> that duplicates the <tt>"RECORD_ID"</tt> of an
+   * earlier record with the same data source.
+   *
+   * @param duplicateCount The number of records in the bulk data set that
+   *                       have a duplicate <tt>"RECORD_ID"</tt> for their
+   *                       data source.
+   */
+  void setDuplicateRecordIdCount(int duplicateCount);
+
+  /**
+   * Checks if the {@linkplain #getDuplicateRecordIdCount() duplicate record
+   * ID count} is an estimate because the duplicate count for at least one
+   * data source is an estimate.
+   *
+   * @return <tt>true</tt> if the duplicate record ID count is an estimate,
+   *         otherwise <tt>false</tt>.
+   */
+  boolean isDuplicateCountEstimated();
+
+  /**
+   * Sets whether or not the {@linkplain #getDuplicateRecordIdCount()
+   * duplicate record ID count} is an estimate.
+   *
+   * @param estimated <tt>true</tt> if the duplicate record ID count is an
+   *                  estimate, otherwise <tt>false</tt>.
+   */
+  void setDuplicateCountEstimated(boolean estimated);
+
+  /**
+   * Gets the {@link SzSamplingMode} describing how the analyzed records were
+   * sampled from the bulk data.  This returns <tt>null</tt> if all the records
+   * were analyzed, in which case the counts are exact.  If not <tt>null</tt>
+   * then the counts describe the sample and the extrapolated counts are
+   * available via {@link #getEstimatedRecordCount()} and {@link
+   * SzDataSourceRecordAnalysis#getEstimatedRecordCount()}.
+   *
+   * @return The {@link SzSamplingMode} describing how the records were
+   *         sampled, or <tt>null</tt> if the records were not sampled.
+   */
+  @JsonInclude(NON_NULL)
+  SzSamplingMode getSamplingMode();
+
+  /**
+   * Sets the {@link SzSamplingMode} describing how the analyzed records were
+   * sampled from the bulk data.
+   *
+   * @param samplingMode The {@link SzSamplingMode} describing how the records
+   *                     were sampled, or <tt>null</tt> if the records were
+   *                     not sampled.
+   */
+  void setSamplingMode(SzSamplingMode samplingMode);
+
+  /**
+   * Gets the {@link SzCountEstimate} describing the total number of records
+   * in the bulk data as extrapolated from the sample.  This returns
+   * <tt>null</tt> if the records were not sampled.
+   *
+   * @return The {@link SzCountEstimate} describing the extrapolated total
+   *         record count, or <tt>null</tt> if the records were not sampled.
+   */
+  @JsonInclude(NON_NULL)
+  SzCountEstimate getEstimatedRecordCount();
+
+  /**
+   * Sets the {@link SzCountEstimate} describing the total number of records
+   * in the bulk data as extrapolated from the sample.
+   *
+   * @param estimate The {@link SzCountEstimate} describing the extrapolated
+   *                 total record count, or <tt>null</tt> if the records were
+   *                 not sampled.
+   */
+  void setEstimatedRecordCount(SzCountEstimate estimate);
+
+  /**
+   * Gets the {@link SzBulkDataThroughput} describing the number of compressed
+   * and uncompressed bytes that were processed and the corresponding
+   * throughput.  This returns <tt>null</tt> if the processing has not
+   * completed.
+   *
+   * @return The {@link SzBulkDataThroughput} describing the bytes processed,
+   *         or <tt>null</tt> if the processing has not completed.
+   */
+  @JsonInclude(NON_NULL)
+  SzBulkDataThroughput getThroughput();
+
+  /**
+   * Sets the {@link SzBulkDataThroughput} describing the number of compressed
+   * and uncompressed bytes that were processed and the corresponding
+   * throughput.
+   *
+   * @param throughput The {@link SzBulkDataThroughput} describing the bytes
+   *                   processed, or <tt>null</tt> if the processing has not
+   *                   completed.
+   */
+  void setThroughput(SzBulkDataThroughput throughput);
+
   /**
    * Gets the list of {@link SzDataSourceRecordAnalysis} instances for the
    * bulk data describing the statistics by data source (including those with
@@ -281,6 +390,25 @@ public interface SzBulkDataAnalysis {
                     String   entityType,
                     boolean  withRecordId);
 
+  /**
+   * Utility method for extrapolating the record counts for the entire bulk
+   * data after the records that have been tracked were sampled using the
+   * specified {@link SzSamplingMode}.  This sets the {@linkplain
+   * #getSamplingMode() sampling mode}, the {@linkplain
+   * #getEstimatedRecordCount() estimated total record count} and the
+   * {@linkplain SzDataSourceRecordAnalysis#getEstimatedRecordCount()
+   * estimated record count} for each data source based on its proportion of
+   * the sample.
+   *
+   * @param samplingMode The {@link SzSamplingMode} with which the records
+   *                     were sampled.
+   * @param totalRecordCount The {@link SzCountEstimate} describing the exact
+   *                         or estimated total number of records in the
+   *                         bulk data.
+   */
+  void extrapolateFromSample(SzSamplingMode  samplingMode,
+                             SzCountEstimate totalRecordCount);
+
   /**
    * A {@link ModelProvider} for instances of {@link SzBulkDataAnalysis}.
    */
@@ -0,0 +1,26 @@
+package com.senzing.api.model;
+
+/**
+ * Enumerates the compression formats recognized for bulk data uploads.
+ */
+public enum SzBulkDataCompression {
+  /**
+   * The bulk data is not compressed.
+   */
+  NONE,
+
+  /**
+   * The bulk data is gzip compressed.
+   */
+  GZIP,
+
+  /**
+   * The bulk data is a zip archive containing one or more files.
+   */
+  ZIP,
+
+  /**
+   * The bulk data is Zstandard compressed.
+   */
+  ZSTD;
+}
@@ -0,0 +1,206 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzBulkDataThroughputImpl;
+
+/**
+ * Describes the number of compressed and uncompressed bytes that were
+ * processed for a bulk data operation and the corresponding throughput.
+ */
+@JsonDeserialize(using=SzBulkDataThroughput.Factory.class)
+public interface SzBulkDataThroughput {
+  /**
+   * Gets the {@link SzBulkDataCompression} describing how the bulk data was
+   * compressed when it was uploaded.
+   *
+   * @return The {@link SzBulkDataCompression} describing how the bulk data
+   *         was compressed.
+   */
+  SzBulkDataCompression getCompression();
+
+  /**
+   * Sets the {@link SzBulkDataCompression} describing how the bulk data was
+   * compressed when it was uploaded.
+   *
+   * @param compression The {@link SzBulkDataCompression} describing how the
+   *                    bulk data was compressed.
+   */
+  void setCompression(SzBulkDataCompression compression);
+
+  /**
+   * Gets the number of bytes that were uploaded before decompression.
+   *
+   * @return The number of bytes that were uploaded before decompression.
+   */
+  long getCompressedByteCount();
+
+  /**
+   * Sets the number of bytes that were uploaded before decompression.
+   *
+   * @param byteCount The number of bytes that were uploaded before
+   *                  decompression.
+   */
+  void setCompressedByteCount(long byteCount);
+
+  /**
+   * Gets the number of bytes that were processed after decompression.
+   *
+   * @return The number of bytes that were processed after decompression.
+   */
+  long getUncompressedByteCount();
+
+  /**
+   * Sets the number of bytes that were processed after decompression.
+   *
+   * @param byteCount The number of bytes that were processed after
+   *                  decompression.
+   */
+  void setUncompressedByteCount(long byteCount);
+
+  /**
+   * Gets the number of milliseconds over which the bytes were processed.
+   *
+   * @return The number of milliseconds over which the bytes were processed.
+   */
+  long getElapsedMillis();
+
+  /**
+   * Sets the number of milliseconds over which the bytes were processed.
+   *
+   * @param elapsedMillis The number of milliseconds over which the bytes
+   *                      were processed.
+   */
+  void setElapsedMillis(long elapsedMillis);
+
+  /**
+   * Gets the number of compressed bytes processed per second.
+   *
+   * @return The number of compressed bytes processed per second.
+   */
+  long getCompressedBytesPerSecond();
+
+  /**
+   * Sets the number of compressed bytes processed per second.
+   *
+   * @param bytesPerSecond The number of compressed bytes processed per
+   *                       second.
+   */
+  void setCompressedBytesPerSecond(long bytesPerSecond);
+
+  /**
+   * Gets the number of uncompressed bytes processed per second.
+   *
+   * @return The number of uncompressed bytes processed per second.
+   */
+  long getUncompressedBytesPerSecond();
+
+  /**
+   * Sets the number of uncompressed bytes processed per second.
+   *
+   * @param bytesPerSecond The number of uncompressed bytes processed per
+   *                       second.
+   */
+  void setUncompressedBytesPerSecond(long bytesPerSecond);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzBulkDataThroughput}.
+   */
+  interface Provider extends ModelProvider<SzBulkDataThroughput> {
+    /**
+     * Creates a new instance of {@link SzBulkDataThroughput} with the
+     * specified parameters, computing the throughput from the byte counts and
+     * the elapsed time.
+     *
+     * @param compression The {@link SzBulkDataCompression} for the bulk data.
+     * @param compressedByteCount The number of compressed bytes.
+     * @param uncompressedByteCount The number of uncompressed bytes.
+     * @param elapsedMillis The number of milliseconds elapsed.
+     *
+     * @return The new instance of {@link SzBulkDataThroughput}
+     */
+    SzBulkDataThroughput create(SzBulkDataCompression compression,
+                                long                  compressedByteCount,
+                                long                  uncompressedByteCount,
+                                long                  elapsedMillis);
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzBulkDataThroughput} that produces instances of {@link
+   * SzBulkDataThroughputImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzBulkDataThroughput>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzBulkDataThroughput.class, SzBulkDataThroughputImpl.class);
+    }
+
+    @Override
+    public SzBulkDataThroughput create(SzBulkDataCompression compression,
+                                       long      compressedByteCount,
+                                       long      uncompressedByteCount,
+                                       long      elapsedMillis)
+    {
+      return new SzBulkDataThroughputImpl(compression,
+                                          compressedByteCount,
+                                          uncompressedByteCount,
+                                          elapsedMillis);
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzBulkDataThroughput}.
+   */
+  class Factory extends ModelFactory<SzBulkDataThroughput, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzBulkDataThroughput.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzBulkDataThroughput} with the
+     * specified parameters, computing the throughput from the byte counts and
+     * the elapsed time.
+     *
+     * @param compression The {@link SzBulkDataCompression} for the bulk data.
+     * @param compressedByteCount The number of compressed bytes.
+     * @param uncompressedByteCount The number of uncompressed bytes.
+     * @param elapsedMillis The number of milliseconds elapsed.
+     *
+     * @return The new instance of {@link SzBulkDataThroughput}
+     */
+    public SzBulkDataThroughput create(SzBulkDataCompression compression,
+                                       long      compressedByteCount,
+                                       long      uncompressedByteCount,
+                                       long      elapsedMillis)
+    {
+      return this.getProvider().create(compression,
+                                       compressedByteCount,
+                                       uncompressedByteCount,
+                                       elapsedMillis);
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
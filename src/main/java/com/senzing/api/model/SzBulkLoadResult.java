@@ -1,10 +1,12 @@
 package com.senzing.api.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.senzing.api.model.impl.SzBulkLoadResultImpl;
 import com.senzing.g2.engine.G2Fallible;
 import java.util.*;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 import static com.senzing.api.model.SzBulkDataStatus.*;
 
 /**
@@ -73,6 +75,106 @@ public interface SzBulkLoadResult extends SzBaseBulkLoadResult {
    */
   int getMissingEntityTypeCount();
 
+  /**
+   * Return the number of records that were skipped rather than loaded because
+   * they are unchanged since they were last loaded.
+   *
+   * @return The number of records that were skipped because they are
+   *         unchanged since they were last loaded.
+   */
+  int getSkippedRecordCount();
+
+  /**
+   * Gets the {@link SzBulkDataThroughput} describing the number of compressed
+   * and uncompressed bytes that were processed and the corresponding
+   * throughput.  This returns <tt>null</tt> if the processing has not
+   * completed.
+   *
+   * @return The {@link SzBulkDataThroughput} describing the bytes processed,
+   *         or <tt>null</tt> if the processing has not completed.
+   */
+  @JsonInclude(NON_NULL)
+  SzBulkDataThroughput getThroughput();
+
+  /**
+   * Sets the {@link SzBulkDataThroughput} describing the number of compressed
+   * and uncompressed bytes that were processed and the corresponding
+   * throughput.
+   *
+   * @param throughput The {@link SzBulkDataThroughput} describing the bytes
+   *                   processed, or <tt>null</tt> if the processing has not
+   *                   completed.
+   */
+  void setThroughput(SzBulkDataThroughput throughput);
+
+  /**
+   * Gets the {@link SzLoadConcurrency} describing how the number of records
+   * in flight was adapted during the bulk load.  This returns <tt>null</tt>
+   * if the records were not loaded concurrently.
+   *
+   * @return The {@link SzLoadConcurrency} describing the number of records
+   *         in flight, or <tt>null</tt> if the records were not loaded
+   *         concurrently.
+   */
+  @JsonInclude(NON_NULL)
+  SzLoadConcurrency getConcurrency();
+
+  /**
+   * Sets the {@link SzLoadConcurrency} describing how the number of records
+   * in flight was adapted during the bulk load.
+   *
+   * @param concurrency The {@link SzLoadConcurrency} describing the number
+   *                    of records in flight, or <tt>null</tt> if the records
+   *                    were not loaded concurrently.
+   */
+  void setConcurrency(SzLoadConcurrency concurrency);
+
+  /**
+   * Gets the {@link List} of {@link SzAffinityBenchmark} instances comparing
+   * the blocks of records that were loaded with and without scheduling the
+   * records by their affinity key.  This returns <tt>null</tt> if the
+   * affinity was not benchmarked.
+   *
+   * @return The {@link List} of {@link SzAffinityBenchmark} instances, or
+   *         <tt>null</tt> if the affinity was not benchmarked.
+   */
+  @JsonInclude(NON_NULL)
+  List<SzAffinityBenchmark> getAffinityBenchmark();
+
+  /**
+   * Sets the {@link List} of {@link SzAffinityBenchmark} instances comparing
+   * the blocks of records that were loaded with and without scheduling the
+   * records by their affinity key.
+   *
+   * @param benchmark The {@link List} of {@link SzAffinityBenchmark}
+   *                  instances, or <tt>null</tt> if the affinity was not
+   *                  benchmarked.
+   */
+  void setAffinityBenchmark(List<SzAffinityBenchmark> benchmark);
+
+  /**
+   * Gets the {@link List} of {@link SzLoadRetryStats} instances describing
+   * the retries of records that failed with transient engine errors and the
+   * eventual outcomes of those records by error code.  This returns
+   * <tt>null</tt> if no records were retried.
+   *
+   * @return The {@link List} of {@link SzLoadRetryStats} instances, or
+   *         <tt>null</tt> if no records were retried.
+   */
+  @JsonInclude(NON_NULL)
+  List<SzLoadRetryStats> getRetryStats();
+
+  /**
+   * Sets the {@link List} of {@link SzLoadRetryStats} instances describing
+   * the retries of records that failed with transient engine errors and the
+   * eventual outcomes of those records by error code.
+   *
+   * @param retryStats The {@link List} of {@link SzLoadRetryStats}
+   *                   instances, or <tt>null</tt> if no records were
+   *                   retried.
+   */
+  void setRetryStats(List<SzLoadRetryStats> retryStats);
+
   /**
    * Gets the list of {@link SzDataSourceBulkLoadResult} instances for the
    * bulk data load describing the statistics by data source.
@@ -153,6 +255,17 @@ public interface SzBulkLoadResult extends SzBaseBulkLoadResult {
    */
   void trackIncompleteRecord(String dataSource, String entityType);
 
+  /**
+   * Utility method for tracking a record with the specified non-null data
+   * source that was skipped rather than loaded because it is unchanged since
+   * it was last loaded.
+   *
+   * @param dataSource The non-null data source for the record.
+   * @param entityType The non-null entity type for the record.
+   * @throws NullPointerException If the specified parameter is <tt>null</tt>.
+   */
+  void trackSkippedRecord(String dataSource, String entityType);
+
     /**
    * A {@link ModelProvider} for instances of {@link SzBulkLoadResult}.
    */
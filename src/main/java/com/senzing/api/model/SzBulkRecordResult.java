@@ -0,0 +1,206 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzBulkRecordResultImpl;
+
+import java.util.Set;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Describes the outcome of loading an individual record during a bulk load
+ * so that clients can reconcile their records without re-querying them.
+ */
+@JsonDeserialize(using=SzBulkRecordResult.Factory.class)
+public interface SzBulkRecordResult {
+  /**
+   * Gets the data source code for the record.
+   *
+   * @return The data source code for the record, or <tt>null</tt> if the
+   *         record has no data source.
+   */
+  @JsonInclude(NON_NULL)
+  String getDataSource();
+
+  /**
+   * Sets the data source code for the record.
+   *
+   * @param dataSource The data source code for the record, or <tt>null</tt>
+   *                   if the record has no data source.
+   */
+  void setDataSource(String dataSource);
+
+  /**
+   * Gets the record ID for the record.  This is the generated record ID if
+   * the record was loaded without one.
+   *
+   * @return The record ID for the record, or <tt>null</tt> if not known.
+   */
+  @JsonInclude(NON_NULL)
+  String getRecordId();
+
+  /**
+   * Sets the record ID for the record.
+   *
+   * @param recordId The record ID for the record, or <tt>null</tt> if not
+   *                 known.
+   */
+  void setRecordId(String recordId);
+
+  /**
+   * Gets the {@link SzBulkRecordStatus} describing the outcome for the record.
+   *
+   * @return The {@link SzBulkRecordStatus} describing the outcome for the
+   *         record.
+   */
+  SzBulkRecordStatus getStatus();
+
+  /**
+   * Sets the {@link SzBulkRecordStatus} describing the outcome for the record.
+   *
+   * @param status The {@link SzBulkRecordStatus} describing the outcome for
+   *               the record.
+   */
+  void setStatus(SzBulkRecordStatus status);
+
+  /**
+   * Gets the return code from the native add-record function, or negative
+   * one (-1) if the native function was not called or threw an exception.
+   *
+   * @return The return code for the record.
+   */
+  int getReturnCode();
+
+  /**
+   * Sets the return code from the native add-record function.
+   *
+   * @param returnCode The return code for the record.
+   */
+  void setReturnCode(int returnCode);
+
+  /**
+   * Gets the error code if the record failed to load.
+   *
+   * @return The error code if the record failed to load, or <tt>null</tt> if
+   *         it did not fail or no error code is available.
+   */
+  @JsonInclude(NON_NULL)
+  String getErrorCode();
+
+  /**
+   * Sets the error code if the record failed to load.
+   *
+   * @param errorCode The error code if the record failed to load, or
+   *                  <tt>null</tt> if it did not fail.
+   */
+  void setErrorCode(String errorCode);
+
+  /**
+   * Gets the error message if the record was not loaded.
+   *
+   * @return The error message if the record was not loaded, or <tt>null</tt>
+   *         if it was loaded or skipped.
+   */
+  @JsonInclude(NON_NULL)
+  String getErrorMessage();
+
+  /**
+   * Sets the error message if the record was not loaded.
+   *
+   * @param errorMessage The error message if the record was not loaded, or
+   *                     <tt>null</tt> if it was loaded or skipped.
+   */
+  void setErrorMessage(String errorMessage);
+
+  /**
+   * Gets the <b>unmodifiable</b> {@link Set} of entity ID's for the entities
+   * affected by loading the record.  This is only populated if the resolution
+   * info was requested.
+   *
+   * @return The <b>unmodifiable</b> {@link Set} of affected entity ID's, or
+   *         <tt>null</tt> if the resolution info was not requested.
+   */
+  @JsonInclude(NON_NULL)
+  Set<Long> getAffectedEntities();
+
+  /**
+   * Sets the entity ID's for the entities affected by loading the record.
+   *
+   * @param affectedEntities The {@link Set} of affected entity ID's, or
+   *                         <tt>null</tt> if the resolution info was not
+   *                         requested.
+   */
+  void setAffectedEntities(Set<Long> affectedEntities);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzBulkRecordResult}.
+   */
+  interface Provider extends ModelProvider<SzBulkRecordResult> {
+    /**
+     * Creates a new instance of {@link SzBulkRecordResult}.
+     *
+     * @return The new instance of {@link SzBulkRecordResult}
+     */
+    SzBulkRecordResult create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzBulkRecordResult} that produces instances of {@link
+   * SzBulkRecordResultImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzBulkRecordResult>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzBulkRecordResult.class, SzBulkRecordResultImpl.class);
+    }
+
+    @Override
+    public SzBulkRecordResult create() {
+      return new SzBulkRecordResultImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzBulkRecordResult}.
+   */
+  class Factory extends ModelFactory<SzBulkRecordResult, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzBulkRecordResult.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzBulkRecordResult}.
+     * @return The new instance of {@link SzBulkRecordResult}.
+     */
+    public SzBulkRecordResult create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
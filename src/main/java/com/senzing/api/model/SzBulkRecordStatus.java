@@ -0,0 +1,27 @@
+package com.senzing.api.model;
+
+/**
+ * Enumerates the possible outcomes for an individual record in a bulk load.
+ */
+public enum SzBulkRecordStatus {
+  /**
+   * The record was successfully loaded.
+   */
+  LOADED,
+
+  /**
+   * The record was skipped because it is unchanged since it was last loaded.
+   */
+  SKIPPED,
+
+  /**
+   * The record was not loaded because it is missing a data source or an
+   * entity type.
+   */
+  INCOMPLETE,
+
+  /**
+   * An attempt was made to load the record, but it failed.
+   */
+  FAILED;
+}
@@ -0,0 +1,190 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzChangeFeedStatsImpl;
+
+/**
+ * Describes the state of the change feed that streams info messages to
+ * subscribers.
+ */
+@JsonDeserialize(using=SzChangeFeedStats.Factory.class)
+public interface SzChangeFeedStats {
+  /**
+   * Gets the number of info messages retained in the ring buffer of the change
+   * feed.
+   *
+   * @return The number of info messages retained in the ring buffer of the
+   *         change feed.
+   */
+  int getCapacity();
+
+  /**
+   * Sets the number of info messages retained in the ring buffer of the change
+   * feed.
+   *
+   * @param capacity The number of info messages retained in the ring buffer of
+   *                 the change feed.
+   */
+  void setCapacity(int capacity);
+
+  /**
+   * Gets the sequence number of the most recently published info message, or
+   * zero (0) if none.
+   *
+   * @return The sequence number of the most recently published info message, or
+   *         zero (0) if none.
+   */
+  long getLastSequence();
+
+  /**
+   * Sets the sequence number of the most recently published info message, or
+   * zero (0) if none.
+   *
+   * @param sequence The sequence number of the most recently published info
+   *                 message, or zero (0) if none.
+   */
+  void setLastSequence(long sequence);
+
+  /**
+   * Gets the number of subscribers that are currently connected to the change
+   * feed.
+   *
+   * @return The number of subscribers that are currently connected to the
+   *         change feed.
+   */
+  int getSubscriberCount();
+
+  /**
+   * Sets the number of subscribers that are currently connected to the change
+   * feed.
+   *
+   * @param count The number of subscribers that are currently connected to the
+   *              change feed.
+   */
+  void setSubscriberCount(int count);
+
+  /**
+   * Gets the number of info messages that have been published to the change
+   * feed since the server started.
+   *
+   * @return The number of info messages that have been published to the change
+   *         feed since the server started.
+   */
+  long getPublishedCount();
+
+  /**
+   * Sets the number of info messages that have been published to the change
+   * feed since the server started.
+   *
+   * @param count The number of info messages that have been published to the
+   *              change feed since the server started.
+   */
+  void setPublishedCount(long count);
+
+  /**
+   * Gets the number of info messages that have been delivered to subscribers
+   * since the server started.
+   *
+   * @return The number of info messages that have been delivered to subscribers
+   *         since the server started.
+   */
+  long getDeliveredCount();
+
+  /**
+   * Sets the number of info messages that have been delivered to subscribers
+   * since the server started.
+   *
+   * @param count The number of info messages that have been delivered to
+   *              subscribers since the server started.
+   */
+  void setDeliveredCount(long count);
+
+  /**
+   * Gets the number of subscribers that have been evicted for falling too far
+   * behind since the server started.
+   *
+   * @return The number of subscribers that have been evicted for falling too
+   *         far behind since the server started.
+   */
+  long getEvictedCount();
+
+  /**
+   * Sets the number of subscribers that have been evicted for falling too far
+   * behind since the server started.
+   *
+   * @param count The number of subscribers that have been evicted for falling
+   *              too far behind since the server started.
+   */
+  void setEvictedCount(long count);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzChangeFeedStats}.
+   */
+  interface Provider extends ModelProvider<SzChangeFeedStats> {
+    /**
+     * Creates a new instance of {@link SzChangeFeedStats}.
+     *
+     * @return The new instance of {@link SzChangeFeedStats}
+     */
+    SzChangeFeedStats create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzChangeFeedStats} that produces instances of {@link
+   * SzChangeFeedStatsImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzChangeFeedStats>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzChangeFeedStats.class, SzChangeFeedStatsImpl.class);
+    }
+
+    @Override
+    public SzChangeFeedStats create() {
+      return new SzChangeFeedStatsImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzChangeFeedStats}.
+   */
+  class Factory extends ModelFactory<SzChangeFeedStats, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzChangeFeedStats.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzChangeFeedStats}.
+     * @return The new instance of {@link SzChangeFeedStats}.
+     */
+    public SzChangeFeedStats create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
@@ -0,0 +1,148 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzConcurrencySampleImpl;
+
+/**
+ * Describes an adjustment to the number of records that a bulk load had
+ * in flight together with the observations that led to the adjustment.
+ */
+@JsonDeserialize(using=SzConcurrencySample.Factory.class)
+public interface SzConcurrencySample {
+  /**
+   * Gets the number of milliseconds since the start of the bulk load when
+   * the adjustment was made.
+   *
+   * @return The number of milliseconds since the start of the bulk load when
+   *         the adjustment was made.
+   */
+  long getElapsedMillis();
+
+  /**
+   * Sets the number of milliseconds since the start of the bulk load when
+   * the adjustment was made.
+   *
+   * @param elapsedMillis The number of milliseconds since the start of the
+   *                      bulk load when the adjustment was made.
+   */
+  void setElapsedMillis(long elapsedMillis);
+
+  /**
+   * Gets the number of records allowed in flight after the adjustment.
+   *
+   * @return The number of records allowed in flight after the adjustment.
+   */
+  int getConcurrency();
+
+  /**
+   * Sets the number of records allowed in flight after the adjustment.
+   *
+   * @param concurrency The number of records allowed in flight after the
+   *                    adjustment.
+   */
+  void setConcurrency(int concurrency);
+
+  /**
+   * Gets the average number of milliseconds to load each record over the
+   * window of records that led to the adjustment.
+   *
+   * @return The average number of milliseconds to load each record.
+   */
+  double getAverageLatencyMillis();
+
+  /**
+   * Sets the average number of milliseconds to load each record over the
+   * window of records that led to the adjustment.
+   *
+   * @param latencyMillis The average number of milliseconds to load each
+   *                      record.
+   */
+  void setAverageLatencyMillis(double latencyMillis);
+
+  /**
+   * Gets the fraction of the records in the window of records that led to
+   * the adjustment that failed to load.
+   *
+   * @return The fraction of the records that failed to load.
+   */
+  double getFailureRate();
+
+  /**
+   * Sets the fraction of the records in the window of records that led to
+   * the adjustment that failed to load.
+   *
+   * @param failureRate The fraction of the records that failed to load.
+   */
+  void setFailureRate(double failureRate);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzConcurrencySample}.
+   */
+  interface Provider extends ModelProvider<SzConcurrencySample> {
+    /**
+     * Creates a new instance of {@link SzConcurrencySample}.
+     *
+     * @return The new instance of {@link SzConcurrencySample}
+     */
+    SzConcurrencySample create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzConcurrencySample} that produces instances of {@link
+   * SzConcurrencySampleImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzConcurrencySample>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzConcurrencySample.class, SzConcurrencySampleImpl.class);
+    }
+
+    @Override
+    public SzConcurrencySample create() {
+      return new SzConcurrencySampleImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzConcurrencySample}.
+   */
+  class Factory extends ModelFactory<SzConcurrencySample, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzConcurrencySample.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzConcurrencySample}.
+     * @return The new instance of {@link SzConcurrencySample}.
+     */
+    public SzConcurrencySample create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
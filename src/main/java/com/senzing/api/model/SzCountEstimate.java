@@ -0,0 +1,176 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzCountEstimateImpl;
+
+/**
+ * Describes a count that has been extrapolated from a sample together with
+ * the lower and upper bounds of its confidence interval.
+ */
+@JsonDeserialize(using=SzCountEstimate.Factory.class)
+public interface SzCountEstimate {
+  /**
+   * The confidence level used for the confidence intervals of counts that are
+   * extrapolated from a sample of bulk data records ({@value}).
+   */
+  double SAMPLE_CONFIDENCE_LEVEL = 0.95;
+
+  /**
+   * The critical value of the standard normal distribution corresponding to
+   * the {@link #SAMPLE_CONFIDENCE_LEVEL} ({@value}).
+   */
+  double SAMPLE_CONFIDENCE_Z = 1.959963984540054;
+
+  /**
+   * Gets the estimated count.
+   *
+   * @return The estimated count.
+   */
+  long getEstimate();
+
+  /**
+   * Sets the estimated count.
+   *
+   * @param estimate The estimated count.
+   */
+  void setEstimate(long estimate);
+
+  /**
+   * Gets the lower bound of the confidence interval for the count.
+   *
+   * @return The lower bound of the confidence interval for the count.
+   */
+  long getLowerBound();
+
+  /**
+   * Sets the lower bound of the confidence interval for the count.
+   *
+   * @param lowerBound The lower bound of the confidence interval for the
+   *                   count.
+   */
+  void setLowerBound(long lowerBound);
+
+  /**
+   * Gets the upper bound of the confidence interval for the count.
+   *
+   * @return The upper bound of the confidence interval for the count.
+   */
+  long getUpperBound();
+
+  /**
+   * Sets the upper bound of the confidence interval for the count.
+   *
+   * @param upperBound The upper bound of the confidence interval for the
+   *                   count.
+   */
+  void setUpperBound(long upperBound);
+
+  /**
+   * Gets the confidence level of the confidence interval as a fraction
+   * between zero (0) and one (1) (e.g.: <tt>0.95</tt>).
+   *
+   * @return The confidence level of the confidence interval.
+   */
+  double getConfidenceLevel();
+
+  /**
+   * Sets the confidence level of the confidence interval as a fraction
+   * between zero (0) and one (1) (e.g.: <tt>0.95</tt>).
+   *
+   * @param confidenceLevel The confidence level of the confidence interval.
+   */
+  void setConfidenceLevel(double confidenceLevel);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzCountEstimate}.
+   */
+  interface Provider extends ModelProvider<SzCountEstimate> {
+    /**
+     * Creates a new instance of {@link SzCountEstimate}.
+     *
+     * @param estimate The estimated count.
+     * @param lowerBound The lower bound of the confidence interval.
+     * @param upperBound The upper bound of the confidence interval.
+     * @param confidenceLevel The confidence level of the confidence interval.
+     *
+     * @return The new instance of {@link SzCountEstimate}
+     */
+    SzCountEstimate create(long   estimate,
+                           long   lowerBound,
+                           long   upperBound,
+                           double confidenceLevel);
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzCountEstimate} that produces instances of {@link SzCountEstimateImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzCountEstimate>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzCountEstimate.class, SzCountEstimateImpl.class);
+    }
+
+    @Override
+    public SzCountEstimate create(long    estimate,
+                                  long    lowerBound,
+                                  long    upperBound,
+                                  double  confidenceLevel)
+    {
+      return new SzCountEstimateImpl(
+          estimate, lowerBound, upperBound, confidenceLevel);
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzCountEstimate}.
+   */
+  class Factory extends ModelFactory<SzCountEstimate, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzCountEstimate.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzCountEstimate}.
+     *
+     * @param estimate The estimated count.
+     * @param lowerBound The lower bound of the confidence interval.
+     * @param upperBound The upper bound of the confidence interval.
+     * @param confidenceLevel The confidence level of the confidence interval.
+     *
+     * @return The new instance of {@link SzCountEstimate}
+     */
+    public SzCountEstimate create(long    estimate,
+                                  long    lowerBound,
+                                  long    upperBound,
+                                  double  confidenceLevel)
+    {
+      return this.getProvider().create(
+          estimate, lowerBound, upperBound, confidenceLevel);
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
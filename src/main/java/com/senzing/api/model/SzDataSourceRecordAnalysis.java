@@ -1,8 +1,11 @@
 package com.senzing.api.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.senzing.api.model.impl.SzDataSourceRecordAnalysisImpl;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
 /**
  * Describes an analysis of bulk data records associated with a specific
  * data source (or no data source at all).
@@ -121,6 +124,90 @@ public interface SzDataSourceRecordAnalysis {
    */
   int incrementRecordsWithEntityTypeCount(int increment);
 
+  /**
+   * Gets the number of distinct <tt>"RECORD_ID"</tt> values among the records
+   * that have the associated data source.  This is an estimate if {@link
+   * #isDuplicateCountEstimated()} returns <tt>true</tt>.
+   *
+   * @return The number of distinct <tt>"RECORD_ID"</tt> values among the
+   *         records that have the associated data source.
+   */
+  int getDistinctRecordIdCount();
+
+  /**
+   * Sets the number of distinct <tt>"RECORD_ID"</tt> values among the records
+   * that have the associated data source.
+   *
+   * @param distinctCount The number of distinct <tt>"RECORD_ID"</tt> values
+   *                      among the records that have the associated data
+   *                      source.
+   */
+  void setDistinctRecordIdCount(int distinctCount);
+
+  /**
+   * Gets the number of records that have the associated data source and a
+   * <tt>"RECORD_ID"</tt> that duplicates the <tt>"RECORD_ID"</tt> of an
+   * earlier record with the same data source.  This is an estimate if {@link
+   * #isDuplicateCountEstimated()} returns <tt>true</tt>.
+   *
+   * @return The number of records that have the associated data source and a
+   *         duplicate <tt>"RECORD_ID"</tt>.
+   */
+  int getDuplicateRecordIdCount();
+
+  /**
+   * Sets the number of records that have the associated data source and a
+   * <tt>"RECORD_ID"</tt> that duplicates the <tt>"RECORD_ID"</tt> of an
+   * earlier record with the same data source.
+   *
+   * @param duplicateCount The number of records that have the associated data
+   *                       source and a duplicate <tt>"RECORD_ID"</tt>.
+   */
+  void setDuplicateRecordIdCount(int duplicateCount);
+
+  /**
+   * Checks if the {@linkplain #getDuplicateRecordIdCount() duplicate} and
+   * {@linkplain #getDistinctRecordIdCount() distinct} record ID counts are
+   * estimates rather than exact counts.  The counts are estimated when the
+   * memory budget for exact duplicate detection has been exhausted.
+   *
+   * @return <tt>true</tt> if the duplicate and distinct record ID counts are
+   *         estimates, otherwise <tt>false</tt>.
+   */
+  boolean isDuplicateCountEstimated();
+
+  /**
+   * Sets whether or not the {@linkplain #getDuplicateRecordIdCount()
+   * duplicate} and {@linkplain #getDistinctRecordIdCount() distinct} record
+   * ID counts are estimates rather than exact counts.
+   *
+   * @param estimated <tt>true</tt> if the duplicate and distinct record ID
+   *                  counts are estimates, otherwise <tt>false</tt>.
+   */
+  void setDuplicateCountEstimated(boolean estimated);
+
+  /**
+   * Gets the {@link SzCountEstimate} describing the number of records with
+   * the associated data source in the entire bulk data as extrapolated from
+   * the sample.  This returns <tt>null</tt> if the bulk data was not sampled.
+   *
+   * @return The {@link SzCountEstimate} describing the extrapolated record
+   *         count, or <tt>null</tt> if the bulk data was not sampled.
+   */
+  @JsonInclude(NON_NULL)
+  SzCountEstimate getEstimatedRecordCount();
+
+  /**
+   * Sets the {@link SzCountEstimate} describing the number of records with
+   * the associated data source in the entire bulk data as extrapolated from
+   * the sample.
+   *
+   * @param estimate The {@link SzCountEstimate} describing the extrapolated
+   *                 record count, or <tt>null</tt> if the bulk data was not
+   *                 sampled.
+   */
+  void setEstimatedRecordCount(SzCountEstimate estimate);
+
     /**
    * A {@link ModelProvider} for instances of {@link
    * SzDataSourceRecordAnalysis}.
@@ -0,0 +1,206 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzDataSourceStatsImpl;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Describes the statistics for a single data source that are incrementally
+ * maintained from the info messages produced when records are loaded, deleted
+ * or re-evaluated.
+ */
+@JsonDeserialize(using=SzDataSourceStats.Factory.class)
+public interface SzDataSourceStats {
+  /**
+   * Gets the data source code.
+   *
+   * @return The data source code.
+   */
+  String getDataSource();
+
+  /**
+   * Sets the data source code.
+   *
+   * @param dataSource The data source code.
+   */
+  void setDataSource(String dataSource);
+
+  /**
+   * Gets the number of records that are known to be loaded for the data source.
+   *
+   * @return The number of records that are known to be loaded for the data
+   *         source.
+   */
+  long getRecordCount();
+
+  /**
+   * Sets the number of records that are known to be loaded for the data source.
+   *
+   * @param count The number of records that are known to be loaded for the data
+   *              source.
+   */
+  void setRecordCount(long count);
+
+  /**
+   * Gets the number of entities having at least one record from the data source
+   * as of the last reconciliation.
+   *
+   * @return The number of entities having at least one record from the data
+   *         source as of the last reconciliation, or <tt>null</tt> if the
+   *         statistics have not been reconciled.
+   */
+  @JsonInclude(NON_NULL)
+  Long getEntityCount();
+
+  /**
+   * Sets the number of entities having at least one record from the data source
+   * as of the last reconciliation.
+   *
+   * @param count The number of entities having at least one record from the
+   *              data source as of the last reconciliation, or <tt>null</tt> if
+   *              the statistics have not been reconciled.
+   */
+  void setEntityCount(Long count);
+
+  /**
+   * Gets the number of times a record from the data source has been added or
+   * replaced.
+   *
+   * @return The number of times a record from the data source has been added or
+   *         replaced.
+   */
+  long getLoadCount();
+
+  /**
+   * Sets the number of times a record from the data source has been added or
+   * replaced.
+   *
+   * @param count The number of times a record from the data source has been
+   *              added or replaced.
+   */
+  void setLoadCount(long count);
+
+  /**
+   * Gets the number of times a record from the data source has been deleted.
+   *
+   * @return The number of times a record from the data source has been deleted.
+   */
+  long getDeleteCount();
+
+  /**
+   * Sets the number of times a record from the data source has been deleted.
+   *
+   * @param count The number of times a record from the data source has been
+   *              deleted.
+   */
+  void setDeleteCount(long count);
+
+  /**
+   * Gets the number of times a record from the data source has been
+   * re-evaluated.
+   *
+   * @return The number of times a record from the data source has been
+   *         re-evaluated.
+   */
+  long getReevaluateCount();
+
+  /**
+   * Sets the number of times a record from the data source has been
+   * re-evaluated.
+   *
+   * @param count The number of times a record from the data source has been
+   *              re-evaluated.
+   */
+  void setReevaluateCount(long count);
+
+  /**
+   * Gets the total number of affected entities reported by the info messages
+   * for records from the data source.
+   *
+   * @return The total number of affected entities reported by the info messages
+   *         for records from the data source.
+   */
+  long getAffectedEntityCount();
+
+  /**
+   * Sets the total number of affected entities reported by the info messages
+   * for records from the data source.
+   *
+   * @param count The total number of affected entities reported by the info
+   *              messages for records from the data source.
+   */
+  void setAffectedEntityCount(long count);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzDataSourceStats}.
+   */
+  interface Provider extends ModelProvider<SzDataSourceStats> {
+    /**
+     * Creates a new instance of {@link SzDataSourceStats}.
+     *
+     * @return The new instance of {@link SzDataSourceStats}
+     */
+    SzDataSourceStats create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzDataSourceStats} that produces instances of {@link
+   * SzDataSourceStatsImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzDataSourceStats>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzDataSourceStats.class, SzDataSourceStatsImpl.class);
+    }
+
+    @Override
+    public SzDataSourceStats create() {
+      return new SzDataSourceStatsImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzDataSourceStats}.
+   */
+  class Factory extends ModelFactory<SzDataSourceStats, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzDataSourceStats.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzDataSourceStats}.
+     * @return The new instance of {@link SzDataSourceStats}.
+     */
+    public SzDataSourceStats create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
@@ -0,0 +1,208 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzEntityBatchResultImpl;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Describes the outcome of retrieving an individual entity in a batch of
+ * entities.  Each result carries the HTTP status code that the equivalent
+ * single-entity request would have produced so that a failure for one item
+ * does not fail the whole batch.
+ */
+@JsonDeserialize(using=SzEntityBatchResult.Factory.class)
+public interface SzEntityBatchResult {
+  /**
+   * Gets the zero-based index of the item in the batch request.
+   *
+   * @return The zero-based index of the item in the batch request.
+   */
+  int getIndex();
+
+  /**
+   * Sets the zero-based index of the item in the batch request.
+   *
+   * @param index The zero-based index of the item in the batch request.
+   */
+  void setIndex(int index);
+
+  /**
+   * Gets the entity ID that was requested if the entity was requested by
+   * entity ID.
+   *
+   * @return The entity ID that was requested, or <tt>null</tt> if the entity
+   *         was requested by record key.
+   */
+  @JsonInclude(NON_NULL)
+  Long getEntityId();
+
+  /**
+   * Sets the entity ID that was requested if the entity was requested by
+   * entity ID.
+   *
+   * @param entityId The entity ID that was requested, or <tt>null</tt> if the
+   *                 entity was requested by record key.
+   */
+  void setEntityId(Long entityId);
+
+  /**
+   * Gets the data source code of the record key if the entity was requested
+   * by record key.
+   *
+   * @return The data source code of the record key, or <tt>null</tt> if the
+   *         entity was requested by entity ID.
+   */
+  @JsonInclude(NON_NULL)
+  String getDataSource();
+
+  /**
+   * Sets the data source code of the record key if the entity was requested
+   * by record key.
+   *
+   * @param dataSource The data source code of the record key, or
+   *                   <tt>null</tt> if the entity was requested by entity ID.
+   */
+  void setDataSource(String dataSource);
+
+  /**
+   * Gets the record ID of the record key if the entity was requested by
+   * record key.
+   *
+   * @return The record ID of the record key, or <tt>null</tt> if the entity
+   *         was requested by entity ID.
+   */
+  @JsonInclude(NON_NULL)
+  String getRecordId();
+
+  /**
+   * Sets the record ID of the record key if the entity was requested by
+   * record key.
+   *
+   * @param recordId The record ID of the record key, or <tt>null</tt> if the
+   *                 entity was requested by entity ID.
+   */
+  void setRecordId(String recordId);
+
+  /**
+   * Gets the HTTP status code that describes the outcome for the item (e.g.:
+   * <tt>200</tt> if found or <tt>404</tt> if not found).
+   *
+   * @return The HTTP status code that describes the outcome for the item.
+   */
+  int getHttpStatusCode();
+
+  /**
+   * Sets the HTTP status code that describes the outcome for the item.
+   *
+   * @param statusCode The HTTP status code that describes the outcome for
+   *                   the item.
+   */
+  void setHttpStatusCode(int statusCode);
+
+  /**
+   * Gets the {@link SzEntityData} for the entity if it was retrieved.
+   *
+   * @return The {@link SzEntityData} for the entity, or <tt>null</tt> if the
+   *         entity was not retrieved.
+   */
+  @JsonInclude(NON_NULL)
+  SzEntityData getEntity();
+
+  /**
+   * Sets the {@link SzEntityData} for the entity if it was retrieved.
+   *
+   * @param entity The {@link SzEntityData} for the entity, or <tt>null</tt>
+   *               if the entity was not retrieved.
+   */
+  void setEntity(SzEntityData entity);
+
+  /**
+   * Gets the error message if the entity was not retrieved.
+   *
+   * @return The error message if the entity was not retrieved, or
+   *         <tt>null</tt> if it was retrieved.
+   */
+  @JsonInclude(NON_NULL)
+  String getErrorMessage();
+
+  /**
+   * Sets the error message if the entity was not retrieved.
+   *
+   * @param errorMessage The error message if the entity was not retrieved,
+   *                     or <tt>null</tt> if it was retrieved.
+   */
+  void setErrorMessage(String errorMessage);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzEntityBatchResult}.
+   */
+  interface Provider extends ModelProvider<SzEntityBatchResult> {
+    /**
+     * Creates a new instance of {@link SzEntityBatchResult}.
+     *
+     * @return The new instance of {@link SzEntityBatchResult}
+     */
+    SzEntityBatchResult create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzEntityBatchResult} that produces instances of {@link
+   * SzEntityBatchResultImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzEntityBatchResult>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzEntityBatchResult.class, SzEntityBatchResultImpl.class);
+    }
+
+    @Override
+    public SzEntityBatchResult create() {
+      return new SzEntityBatchResultImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzEntityBatchResult}.
+   */
+  class Factory extends ModelFactory<SzEntityBatchResult, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzEntityBatchResult.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzEntityBatchResult}.
+     * @return The new instance of {@link SzEntityBatchResult}.
+     */
+    public SzEntityBatchResult create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
@@ -0,0 +1,42 @@
+package com.senzing.api.model;
+
+/**
+ * Enumerates the formats in which resolved entities can be exported.
+ *
+ */
+public enum SzExportFormat {
+  /**
+   * Export each entity as a line of JSON text (i.e.: JSON Lines) with the
+   * <tt>"application/x-jsonlines"</tt> media type.
+   */
+  JSON("application/x-jsonlines"),
+
+  /**
+   * Export each entity as a line of CSV text preceded by a header line with
+   * the <tt>"text/csv"</tt> media type.
+   */
+  CSV("text/csv");
+
+  /**
+   * The media type for the format.
+   */
+  private String mediaType;
+
+  /**
+   * Constructs with the media type for the format.
+   *
+   * @param mediaType The media type for the format.
+   */
+  SzExportFormat(String mediaType) {
+    this.mediaType = mediaType;
+  }
+
+  /**
+   * Gets the media type for the format.
+   *
+   * @return The media type for the format.
+   */
+  public String getMediaType() {
+    return this.mediaType;
+  }
+}
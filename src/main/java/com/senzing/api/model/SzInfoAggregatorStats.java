@@ -0,0 +1,262 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzInfoAggregatorStatsImpl;
+
+/**
+ * Describes the state of the aggregator that packs info messages into aggregate
+ * messages before they are sent to the info queue.
+ */
+@JsonDeserialize(using=SzInfoAggregatorStats.Factory.class)
+public interface SzInfoAggregatorStats {
+  /**
+   * Gets the maximum number of info messages that are packed into a single
+   * aggregate message.
+   *
+   * @return The maximum number of info messages that are packed into a single
+   *         aggregate message.
+   */
+  int getMaxCount();
+
+  /**
+   * Sets the maximum number of info messages that are packed into a single
+   * aggregate message.
+   *
+   * @param count The maximum number of info messages that are packed into a
+   *              single aggregate message.
+   */
+  void setMaxCount(int count);
+
+  /**
+   * Gets the maximum number of milliseconds that an info message waits for more
+   * info messages to join its aggregate message.
+   *
+   * @return The maximum number of milliseconds that an info message waits for
+   *         more info messages to join its aggregate message.
+   */
+  long getWindowMillis();
+
+  /**
+   * Sets the maximum number of milliseconds that an info message waits for more
+   * info messages to join its aggregate message.
+   *
+   * @param millis The maximum number of milliseconds that an info message waits
+   *               for more info messages to join its aggregate message.
+   */
+  void setWindowMillis(long millis);
+
+  /**
+   * Gets whether or not the bodies of the aggregate messages are
+   * gzip-compressed.
+   *
+   * @return Whether or not the bodies of the aggregate messages are
+   *         gzip-compressed.
+   */
+  boolean isCompressed();
+
+  /**
+   * Sets whether or not the bodies of the aggregate messages are
+   * gzip-compressed.
+   *
+   * @param compressed Whether or not the bodies of the aggregate messages are
+   *                   gzip-compressed.
+   */
+  void setCompressed(boolean compressed);
+
+  /**
+   * Gets the number of info messages that are waiting to be packed into an
+   * aggregate message.
+   *
+   * @return The number of info messages that are waiting to be packed into an
+   *         aggregate message.
+   */
+  int getPendingCount();
+
+  /**
+   * Sets the number of info messages that are waiting to be packed into an
+   * aggregate message.
+   *
+   * @param count The number of info messages that are waiting to be packed into
+   *              an aggregate message.
+   */
+  void setPendingCount(int count);
+
+  /**
+   * Gets the number of info messages that have been packed into aggregate
+   * messages since the server started.
+   *
+   * @return The number of info messages that have been packed into aggregate
+   *         messages since the server started.
+   */
+  long getAggregatedCount();
+
+  /**
+   * Sets the number of info messages that have been packed into aggregate
+   * messages since the server started.
+   *
+   * @param count The number of info messages that have been packed into
+   *              aggregate messages since the server started.
+   */
+  void setAggregatedCount(long count);
+
+  /**
+   * Gets the number of aggregate messages that have been sent since the server
+   * started.
+   *
+   * @return The number of aggregate messages that have been sent since the
+   *         server started.
+   */
+  long getAggregateCount();
+
+  /**
+   * Sets the number of aggregate messages that have been sent since the server
+   * started.
+   *
+   * @param count The number of aggregate messages that have been sent since the
+   *              server started.
+   */
+  void setAggregateCount(long count);
+
+  /**
+   * Gets the number of messages that could not be aggregated and were sent as
+   * they were.
+   *
+   * @return The number of messages that could not be aggregated and were sent
+   *         as they were.
+   */
+  long getPassedThroughCount();
+
+  /**
+   * Sets the number of messages that could not be aggregated and were sent as
+   * they were.
+   *
+   * @param count The number of messages that could not be aggregated and were
+   *              sent as they were.
+   */
+  void setPassedThroughCount(long count);
+
+  /**
+   * Gets the number of info messages that were in aggregate messages that
+   * failed to send.
+   *
+   * @return The number of info messages that were in aggregate messages that
+   *         failed to send.
+   */
+  long getFailedCount();
+
+  /**
+   * Sets the number of info messages that were in aggregate messages that
+   * failed to send.
+   *
+   * @param count The number of info messages that were in aggregate messages
+   *              that failed to send.
+   */
+  void setFailedCount(long count);
+
+  /**
+   * Gets the number of bytes in the bodies of the info messages that have been
+   * aggregated.
+   *
+   * @return The number of bytes in the bodies of the info messages that have
+   *         been aggregated.
+   */
+  long getInputBytes();
+
+  /**
+   * Sets the number of bytes in the bodies of the info messages that have been
+   * aggregated.
+   *
+   * @param byteCount The number of bytes in the bodies of the info messages
+   *                  that have been aggregated.
+   */
+  void setInputBytes(long byteCount);
+
+  /**
+   * Gets the number of bytes in the bodies of the aggregate messages that have
+   * been sent.
+   *
+   * @return The number of bytes in the bodies of the aggregate messages that
+   *         have been sent.
+   */
+  long getOutputBytes();
+
+  /**
+   * Sets the number of bytes in the bodies of the aggregate messages that have
+   * been sent.
+   *
+   * @param byteCount The number of bytes in the bodies of the aggregate
+   *                  messages that have been sent.
+   */
+  void setOutputBytes(long byteCount);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzInfoAggregatorStats}.
+   */
+  interface Provider extends ModelProvider<SzInfoAggregatorStats> {
+    /**
+     * Creates a new instance of {@link SzInfoAggregatorStats}.
+     *
+     * @return The new instance of {@link SzInfoAggregatorStats}
+     */
+    SzInfoAggregatorStats create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzInfoAggregatorStats} that produces instances of {@link
+   * SzInfoAggregatorStatsImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzInfoAggregatorStats>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzInfoAggregatorStats.class, SzInfoAggregatorStatsImpl.class);
+    }
+
+    @Override
+    public SzInfoAggregatorStats create() {
+      return new SzInfoAggregatorStatsImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzInfoAggregatorStats}.
+   */
+  class Factory extends ModelFactory<SzInfoAggregatorStats, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzInfoAggregatorStats.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzInfoAggregatorStats}.
+     * @return The new instance of {@link SzInfoAggregatorStats}.
+     */
+    public SzInfoAggregatorStats create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
@@ -0,0 +1,282 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzInfoPublisherStatsImpl;
+
+/**
+ * Describes the state of the in-process queue through which the API server
+ * asynchronously publishes info messages to the configured info queue,
+ * including the queue depth and the publish latency.
+ */
+@JsonDeserialize(using=SzInfoPublisherStats.Factory.class)
+public interface SzInfoPublisherStats {
+  /**
+   * Gets the {@link SzOverflowPolicy} describing how info messages are handled
+   * when the publish queue is full.
+   *
+   * @return The {@link SzOverflowPolicy} describing how info messages are
+   *         handled when the publish queue is full.
+   */
+  SzOverflowPolicy getOverflowPolicy();
+
+  /**
+   * Sets the {@link SzOverflowPolicy} describing how info messages are handled
+   * when the publish queue is full.
+   *
+   * @param policy The {@link SzOverflowPolicy} describing how info messages are
+   *               handled when the publish queue is full.
+   */
+  void setOverflowPolicy(SzOverflowPolicy policy);
+
+  /**
+   * Gets the number of threads publishing the queued info messages.
+   *
+   * @return The number of threads publishing the queued info messages.
+   */
+  int getPublisherCount();
+
+  /**
+   * Sets the number of threads publishing the queued info messages.
+   *
+   * @param count The number of threads publishing the queued info messages.
+   */
+  void setPublisherCount(int count);
+
+  /**
+   * Gets the maximum number of info messages that can be held in the publish
+   * queue.
+   *
+   * @return The maximum number of info messages that can be held in the publish
+   *         queue.
+   */
+  int getQueueCapacity();
+
+  /**
+   * Sets the maximum number of info messages that can be held in the publish
+   * queue.
+   *
+   * @param capacity The maximum number of info messages that can be held in the
+   *                 publish queue.
+   */
+  void setQueueCapacity(int capacity);
+
+  /**
+   * Gets the number of info messages currently waiting in the publish queue.
+   *
+   * @return The number of info messages currently waiting in the publish queue.
+   */
+  int getQueueDepth();
+
+  /**
+   * Sets the number of info messages currently waiting in the publish queue.
+   *
+   * @param depth The number of info messages currently waiting in the publish
+   *              queue.
+   */
+  void setQueueDepth(int depth);
+
+  /**
+   * Gets the number of info messages currently spilled to disk waiting to be
+   * moved back to the publish queue.
+   *
+   * @return The number of info messages currently spilled to disk waiting to be
+   *         moved back to the publish queue.
+   */
+  long getSpillDepth();
+
+  /**
+   * Sets the number of info messages currently spilled to disk waiting to be
+   * moved back to the publish queue.
+   *
+   * @param depth The number of info messages currently spilled to disk waiting
+   *              to be moved back to the publish queue.
+   */
+  void setSpillDepth(long depth);
+
+  /**
+   * Gets the number of info messages that have been successfully published.
+   *
+   * @return The number of info messages that have been successfully published.
+   */
+  long getPublishedCount();
+
+  /**
+   * Sets the number of info messages that have been successfully published.
+   *
+   * @param count The number of info messages that have been successfully
+   *              published.
+   */
+  void setPublishedCount(long count);
+
+  /**
+   * Gets the number of info messages that failed to publish.
+   *
+   * @return The number of info messages that failed to publish.
+   */
+  long getFailedCount();
+
+  /**
+   * Sets the number of info messages that failed to publish.
+   *
+   * @param count The number of info messages that failed to publish.
+   */
+  void setFailedCount(long count);
+
+  /**
+   * Gets the number of info messages that were dropped because the publish
+   * queue was full.
+   *
+   * @return The number of info messages that were dropped because the publish
+   *         queue was full.
+   */
+  long getDroppedCount();
+
+  /**
+   * Sets the number of info messages that were dropped because the publish
+   * queue was full.
+   *
+   * @param count The number of info messages that were dropped because the
+   *              publish queue was full.
+   */
+  void setDroppedCount(long count);
+
+  /**
+   * Gets the number of info messages that were spilled to disk because the
+   * publish queue was full.
+   *
+   * @return The number of info messages that were spilled to disk because the
+   *         publish queue was full.
+   */
+  long getSpilledCount();
+
+  /**
+   * Sets the number of info messages that were spilled to disk because the
+   * publish queue was full.
+   *
+   * @param count The number of info messages that were spilled to disk because
+   *              the publish queue was full.
+   */
+  void setSpilledCount(long count);
+
+  /**
+   * Gets the number of batches in which the info messages were published.
+   *
+   * @return The number of batches in which the info messages were published.
+   */
+  long getBatchCount();
+
+  /**
+   * Sets the number of batches in which the info messages were published.
+   *
+   * @param count The number of batches in which the info messages were
+   *              published.
+   */
+  void setBatchCount(long count);
+
+  /**
+   * Gets the recent average number of milliseconds to publish a batch of info
+   * messages.
+   *
+   * @return The recent average number of milliseconds to publish a batch of
+   *         info messages.
+   */
+  double getAveragePublishMillis();
+
+  /**
+   * Sets the recent average number of milliseconds to publish a batch of info
+   * messages.
+   *
+   * @param millis The recent average number of milliseconds to publish a batch
+   *               of info messages.
+   */
+  void setAveragePublishMillis(double millis);
+
+  /**
+   * Gets the maximum number of milliseconds taken to publish a batch of info
+   * messages.
+   *
+   * @return The maximum number of milliseconds taken to publish a batch of info
+   *         messages.
+   */
+  long getMaxPublishMillis();
+
+  /**
+   * Sets the maximum number of milliseconds taken to publish a batch of info
+   * messages.
+   *
+   * @param millis The maximum number of milliseconds taken to publish a batch
+   *               of info messages.
+   */
+  void setMaxPublishMillis(long millis);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzInfoPublisherStats}.
+   */
+  interface Provider extends ModelProvider<SzInfoPublisherStats> {
+    /**
+     * Creates a new instance of {@link SzInfoPublisherStats}.
+     *
+     * @return The new instance of {@link SzInfoPublisherStats}
+     */
+    SzInfoPublisherStats create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzInfoPublisherStats} that produces instances of {@link
+   * SzInfoPublisherStatsImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzInfoPublisherStats>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzInfoPublisherStats.class, SzInfoPublisherStatsImpl.class);
+    }
+
+    @Override
+    public SzInfoPublisherStats create() {
+      return new SzInfoPublisherStatsImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzInfoPublisherStats}.
+   */
+  class Factory extends ModelFactory<SzInfoPublisherStats, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzInfoPublisherStats.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzInfoPublisherStats}.
+     * @return The new instance of {@link SzInfoPublisherStats}.
+     */
+    public SzInfoPublisherStats create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
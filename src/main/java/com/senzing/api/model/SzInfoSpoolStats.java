@@ -0,0 +1,254 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzInfoSpoolStatsImpl;
+
+/**
+ * Describes the state of the durable local spool to which the API server writes
+ * every info message before forwarding it to the configured info queue.
+ */
+@JsonDeserialize(using=SzInfoSpoolStats.Factory.class)
+public interface SzInfoSpoolStats {
+  /**
+   * Gets the path to the directory holding the spool segment files.
+   *
+   * @return The path to the directory holding the spool segment files.
+   */
+  String getDirectory();
+
+  /**
+   * Sets the path to the directory holding the spool segment files.
+   *
+   * @param directory The path to the directory holding the spool segment files.
+   */
+  void setDirectory(String directory);
+
+  /**
+   * Gets the number of segment files currently in the spool.
+   *
+   * @return The number of segment files currently in the spool.
+   */
+  int getSegmentCount();
+
+  /**
+   * Sets the number of segment files currently in the spool.
+   *
+   * @param count The number of segment files currently in the spool.
+   */
+  void setSegmentCount(int count);
+
+  /**
+   * Gets the number of info messages in the spool that have not yet been
+   * forwarded to the info queue.
+   *
+   * @return The number of info messages in the spool that have not yet been
+   *         forwarded to the info queue.
+   */
+  long getPendingCount();
+
+  /**
+   * Sets the number of info messages in the spool that have not yet been
+   * forwarded to the info queue.
+   *
+   * @param count The number of info messages in the spool that have not yet
+   *              been forwarded to the info queue.
+   */
+  void setPendingCount(long count);
+
+  /**
+   * Gets the number of bytes of spooled info messages that have not yet been
+   * forwarded to the info queue.
+   *
+   * @return The number of bytes of spooled info messages that have not yet been
+   *         forwarded to the info queue.
+   */
+  long getPendingBytes();
+
+  /**
+   * Sets the number of bytes of spooled info messages that have not yet been
+   * forwarded to the info queue.
+   *
+   * @param byteCount The number of bytes of spooled info messages that have not
+   *                  yet been forwarded to the info queue.
+   */
+  void setPendingBytes(long byteCount);
+
+  /**
+   * Gets the spool offset up to which the info messages have been forwarded to
+   * the info queue.
+   *
+   * @return The spool offset up to which the info messages have been forwarded
+   *         to the info queue.
+   */
+  long getAcknowledgedOffset();
+
+  /**
+   * Sets the spool offset up to which the info messages have been forwarded to
+   * the info queue.
+   *
+   * @param offset The spool offset up to which the info messages have been
+   *               forwarded to the info queue.
+   */
+  void setAcknowledgedOffset(long offset);
+
+  /**
+   * Gets the number of info messages that have been appended to the spool since
+   * the server started.
+   *
+   * @return The number of info messages that have been appended to the spool
+   *         since the server started.
+   */
+  long getAppendedCount();
+
+  /**
+   * Sets the number of info messages that have been appended to the spool since
+   * the server started.
+   *
+   * @param count The number of info messages that have been appended to the
+   *              spool since the server started.
+   */
+  void setAppendedCount(long count);
+
+  /**
+   * Gets the number of info messages that have been forwarded to the info queue
+   * since the server started.
+   *
+   * @return The number of info messages that have been forwarded to the info
+   *         queue since the server started.
+   */
+  long getForwardedCount();
+
+  /**
+   * Sets the number of info messages that have been forwarded to the info queue
+   * since the server started.
+   *
+   * @param count The number of info messages that have been forwarded to the
+   *              info queue since the server started.
+   */
+  void setForwardedCount(long count);
+
+  /**
+   * Gets the number of info messages that failed to forward and were appended
+   * to the spool again to be retried.
+   *
+   * @return The number of info messages that failed to forward and were
+   *         appended to the spool again to be retried.
+   */
+  long getRequeuedCount();
+
+  /**
+   * Sets the number of info messages that failed to forward and were appended
+   * to the spool again to be retried.
+   *
+   * @param count The number of info messages that failed to forward and were
+   *              appended to the spool again to be retried.
+   */
+  void setRequeuedCount(long count);
+
+  /**
+   * Gets the number of info messages that were dropped from the spool because
+   * they failed to forward too many times.
+   *
+   * @return The number of info messages that were dropped from the spool
+   *         because they failed to forward too many times.
+   */
+  long getDroppedCount();
+
+  /**
+   * Sets the number of info messages that were dropped from the spool because
+   * they failed to forward too many times.
+   *
+   * @param count The number of info messages that were dropped from the spool
+   *              because they failed to forward too many times.
+   */
+  void setDroppedCount(long count);
+
+  /**
+   * Gets the number of unforwarded info messages that were recovered from the
+   * spool when the server started.
+   *
+   * @return The number of unforwarded info messages that were recovered from
+   *         the spool when the server started.
+   */
+  long getRecoveredCount();
+
+  /**
+   * Sets the number of unforwarded info messages that were recovered from the
+   * spool when the server started.
+   *
+   * @param count The number of unforwarded info messages that were recovered
+   *              from the spool when the server started.
+   */
+  void setRecoveredCount(long count);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzInfoSpoolStats}.
+   */
+  interface Provider extends ModelProvider<SzInfoSpoolStats> {
+    /**
+     * Creates a new instance of {@link SzInfoSpoolStats}.
+     *
+     * @return The new instance of {@link SzInfoSpoolStats}
+     */
+    SzInfoSpoolStats create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzInfoSpoolStats} that produces instances of {@link
+   * SzInfoSpoolStatsImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzInfoSpoolStats>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzInfoSpoolStats.class, SzInfoSpoolStatsImpl.class);
+    }
+
+    @Override
+    public SzInfoSpoolStats create() {
+      return new SzInfoSpoolStatsImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzInfoSpoolStats}.
+   */
+  class Factory extends ModelFactory<SzInfoSpoolStats, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzInfoSpoolStats.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzInfoSpoolStats}.
+     * @return The new instance of {@link SzInfoSpoolStats}.
+     */
+    public SzInfoSpoolStats create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
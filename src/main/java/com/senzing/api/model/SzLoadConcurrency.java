@@ -0,0 +1,197 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzLoadConcurrencyImpl;
+
+import java.util.List;
+
+/**
+ * Describes how the number of records in flight for a bulk load was adapted
+ * to the latency and failure rate of the records being loaded, including the
+ * configured bounds and the history of adjustments.
+ */
+@JsonDeserialize(using=SzLoadConcurrency.Factory.class)
+public interface SzLoadConcurrency {
+  /**
+   * Gets the minimum number of records that the bulk load may have in
+   * flight.
+   *
+   * @return The minimum number of records that the bulk load may have in
+   *         flight.
+   */
+  int getMinConcurrency();
+
+  /**
+   * Sets the minimum number of records that the bulk load may have in
+   * flight.
+   *
+   * @param concurrency The minimum number of records that the bulk load may
+   *                    have in flight.
+   */
+  void setMinConcurrency(int concurrency);
+
+  /**
+   * Gets the maximum number of records that the bulk load may have in
+   * flight.
+   *
+   * @return The maximum number of records that the bulk load may have in
+   *         flight.
+   */
+  int getMaxConcurrency();
+
+  /**
+   * Sets the maximum number of records that the bulk load may have in
+   * flight.
+   *
+   * @param concurrency The maximum number of records that the bulk load may
+   *                    have in flight.
+   */
+  void setMaxConcurrency(int concurrency);
+
+  /**
+   * Gets the number of records that the bulk load currently allows in
+   * flight (or allowed in flight when it completed).
+   *
+   * @return The number of records that the bulk load currently allows in
+   *         flight.
+   */
+  int getCurrentConcurrency();
+
+  /**
+   * Sets the number of records that the bulk load currently allows in
+   * flight (or allowed in flight when it completed).
+   *
+   * @param concurrency The number of records that the bulk load currently
+   *                    allows in flight.
+   */
+  void setCurrentConcurrency(int concurrency);
+
+  /**
+   * Gets the time-weighted average number of records that the bulk load
+   * allowed in flight.
+   *
+   * @return The time-weighted average number of records that the bulk load
+   *         allowed in flight.
+   */
+  double getAverageConcurrency();
+
+  /**
+   * Sets the time-weighted average number of records that the bulk load
+   * allowed in flight.
+   *
+   * @param concurrency The time-weighted average number of records that the
+   *                    bulk load allowed in flight.
+   */
+  void setAverageConcurrency(double concurrency);
+
+  /**
+   * Gets the total number of adjustments made to the number of records in
+   * flight.  This may exceed the number of {@linkplain #getAdjustments()
+   * adjustments that are retained}.
+   *
+   * @return The total number of adjustments made to the number of records in
+   *         flight.
+   */
+  int getAdjustmentCount();
+
+  /**
+   * Sets the total number of adjustments made to the number of records in
+   * flight.
+   *
+   * @param count The total number of adjustments made to the number of
+   *              records in flight.
+   */
+  void setAdjustmentCount(int count);
+
+  /**
+   * Gets the <b>unmodifiable</b> {@link List} of {@link SzConcurrencySample}
+   * instances describing the most recent adjustments to the number of
+   * records in flight in chronological order.
+   *
+   * @return The <b>unmodifiable</b> {@link List} of {@link
+   *         SzConcurrencySample} instances describing the most recent
+   *         adjustments.
+   */
+  List<SzConcurrencySample> getAdjustments();
+
+  /**
+   * Sets the {@link List} of {@link SzConcurrencySample} instances
+   * describing the most recent adjustments to the number of records in
+   * flight in chronological order.
+   *
+   * @param adjustments The {@link List} of {@link SzConcurrencySample}
+   *                    instances describing the most recent adjustments.
+   */
+  void setAdjustments(List<SzConcurrencySample> adjustments);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzLoadConcurrency}.
+   */
+  interface Provider extends ModelProvider<SzLoadConcurrency> {
+    /**
+     * Creates a new instance of {@link SzLoadConcurrency}.
+     *
+     * @return The new instance of {@link SzLoadConcurrency}
+     */
+    SzLoadConcurrency create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzLoadConcurrency} that produces instances of {@link
+   * SzLoadConcurrencyImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzLoadConcurrency>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzLoadConcurrency.class, SzLoadConcurrencyImpl.class);
+    }
+
+    @Override
+    public SzLoadConcurrency create() {
+      return new SzLoadConcurrencyImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzLoadConcurrency}.
+   */
+  class Factory extends ModelFactory<SzLoadConcurrency, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzLoadConcurrency.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzLoadConcurrency}.
+     * @return The new instance of {@link SzLoadConcurrency}.
+     */
+    public SzLoadConcurrency create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
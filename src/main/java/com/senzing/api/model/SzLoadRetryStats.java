@@ -0,0 +1,153 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzLoadRetryStatsImpl;
+
+/**
+ * Describes the retries of records in a bulk load that failed with a
+ * specific transient engine error code and the eventual outcomes of those
+ * records.
+ */
+@JsonDeserialize(using=SzLoadRetryStats.Factory.class)
+public interface SzLoadRetryStats {
+  /**
+   * Gets the engine error code that caused the records to be retried.
+   *
+   * @return The engine error code that caused the records to be retried.
+   */
+  String getErrorCode();
+
+  /**
+   * Sets the engine error code that caused the records to be retried.
+   *
+   * @param errorCode The engine error code that caused the records to be
+   *                  retried.
+   */
+  void setErrorCode(String errorCode);
+
+  /**
+   * Gets the number of retry attempts made after failures with the error
+   * code.
+   *
+   * @return The number of retry attempts made after failures with the error
+   *         code.
+   */
+  int getRetryCount();
+
+  /**
+   * Sets the number of retry attempts made after failures with the error
+   * code.
+   *
+   * @param retryCount The number of retry attempts made after failures with
+   *                   the error code.
+   */
+  void setRetryCount(int retryCount);
+
+  /**
+   * Gets the number of records that were loaded by a retry after last
+   * failing with the error code.
+   *
+   * @return The number of records that were loaded by a retry after last
+   *         failing with the error code.
+   */
+  int getRecoveredCount();
+
+  /**
+   * Sets the number of records that were loaded by a retry after last
+   * failing with the error code.
+   *
+   * @param recoveredCount The number of records that were loaded by a retry
+   *                       after last failing with the error code.
+   */
+  void setRecoveredCount(int recoveredCount);
+
+  /**
+   * Gets the number of records that last failed with the error code and
+   * were not loaded, either because the retries were exhausted or because
+   * the following retry failed with an error that is not retried.
+   *
+   * @return The number of records that last failed with the error code and
+   *         were not loaded.
+   */
+  int getFailedCount();
+
+  /**
+   * Sets the number of records that last failed with the error code and
+   * were not loaded.
+   *
+   * @param failedCount The number of records that last failed with the
+   *                    error code and were not loaded.
+   */
+  void setFailedCount(int failedCount);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzLoadRetryStats}.
+   */
+  interface Provider extends ModelProvider<SzLoadRetryStats> {
+    /**
+     * Creates a new instance of {@link SzLoadRetryStats}.
+     *
+     * @return The new instance of {@link SzLoadRetryStats}
+     */
+    SzLoadRetryStats create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzLoadRetryStats} that produces instances of {@link
+   * SzLoadRetryStatsImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzLoadRetryStats>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzLoadRetryStats.class, SzLoadRetryStatsImpl.class);
+    }
+
+    @Override
+    public SzLoadRetryStats create() {
+      return new SzLoadRetryStatsImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzLoadRetryStats}.
+   */
+  class Factory extends ModelFactory<SzLoadRetryStats, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzLoadRetryStats.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzLoadRetryStats}.
+     * @return The new instance of {@link SzLoadRetryStats}.
+     */
+    public SzLoadRetryStats create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
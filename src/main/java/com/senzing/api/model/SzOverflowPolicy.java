@@ -0,0 +1,26 @@
+package com.senzing.api.model;
+
+/**
+ * Enumerates the policies for handling an info message that is published
+ * while the in-process publish queue is full.
+ */
+public enum SzOverflowPolicy {
+  /**
+   * Block the publishing thread until there is room in the queue.  No info
+   * messages are lost, but a slow info queue slows down loading.
+   */
+  BLOCK,
+
+  /**
+   * Discard the oldest queued info message to make room for the new one.
+   * Loading is never slowed down, but info messages may be lost.
+   */
+  DROP_OLDEST,
+
+  /**
+   * Write the info message to a spill file on disk from which it is moved
+   * back to the queue once there is room.  Loading is not slowed down and no
+   * info messages are lost unless the server stops before they are published.
+   */
+  SPILL;
+}
@@ -0,0 +1,147 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzRecordBatchResponseImpl;
+
+/**
+ * A response object that describes the outcome of a batch of record
+ * operations.
+ */
+@JsonDeserialize(using=SzRecordBatchResponse.Factory.class)
+public interface SzRecordBatchResponse extends SzBasicResponse {
+  /**
+   * Returns the data associated with this response which is an
+   * {@link SzRecordBatchResult}.
+   *
+   * @return The data associated with this response.
+   */
+  SzRecordBatchResult getData();
+
+  /**
+   * Sets the data associated with this response with an {@link
+   * SzRecordBatchResult}.
+   *
+   * @param batchResult The {@link SzRecordBatchResult} describing the batch.
+   */
+  void setData(SzRecordBatchResult batchResult);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzRecordBatchResponse}.
+   */
+  interface Provider extends ModelProvider<SzRecordBatchResponse> {
+      /**
+       * Creates an instance of {@link SzRecordBatchResponse} with the
+       * specified {@link SzMeta} and {@link SzLinks}.
+       *
+       * @param meta The response meta data.
+       *
+       * @param links The links for the response.
+       */
+      SzRecordBatchResponse create(SzMeta meta, SzLinks links);
+
+      /**
+       * Creates an instance of {@link SzRecordBatchResponse} with the
+       * specified {@link SzMeta}, {@link SzLinks} and the specified {@link
+       * SzRecordBatchResult} describing the batch.
+       *
+       * @param meta The response meta data.
+       *
+       * @param links The links for the response.
+       *
+       * @param batchResult The {@link SzRecordBatchResult} describing the
+       *                    results of the batch.
+       */
+      SzRecordBatchResponse create(SzMeta               meta,
+                                   SzLinks              links,
+                                   SzRecordBatchResult  batchResult);
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzRecordBatchResponse} that produces instances of
+   * {@link SzRecordBatchResponseImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzRecordBatchResponse>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzRecordBatchResponse.class, SzRecordBatchResponseImpl.class);
+    }
+
+    @Override
+    public SzRecordBatchResponse create(SzMeta meta, SzLinks links){
+      return new SzRecordBatchResponseImpl(meta, links);
+    }
+
+    @Override
+    public SzRecordBatchResponse create(SzMeta              meta,
+                                        SzLinks             links,
+                                        SzRecordBatchResult batchResult)
+    {
+      return new SzRecordBatchResponseImpl(meta, links, batchResult);
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for
+   * {@link SzRecordBatchResponse}.
+   */
+  class Factory extends ModelFactory<SzRecordBatchResponse, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzRecordBatchResponse.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates an instance of {@link SzRecordBatchResponse} with the
+     * specified {@link SzMeta} and {@link SzLinks}.
+     *
+     * @param meta The response meta data.
+     *
+     * @param links The links for the response.
+     */
+    public SzRecordBatchResponse create(SzMeta meta, SzLinks links) {
+      return this.getProvider().create(meta, links);
+    }
+
+    /**
+     * Creates an instance of {@link SzRecordBatchResponse} with the
+     * specified {@link SzMeta}, {@link SzLinks} and the speicified {@link
+     * SzRecordBatchResult} describing the result of the batch.
+     *
+     * @param meta The response meta data.
+     *
+     * @param links The links for the response.
+     *
+     * @param batchResult The {@link SzRecordBatchResult} describing the
+     *                    results of the batch.
+     */
+    public SzRecordBatchResponse create(SzMeta              meta,
+                                        SzLinks             links,
+                                        SzRecordBatchResult batchResult)
+    {
+      return this.getProvider().create(meta, links, batchResult);
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
@@ -0,0 +1,147 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzRecordBatchResultImpl;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Describes the outcome of a batch of record operations, including the
+ * per-operation results and (if resolution info was requested) the single
+ * de-duplicated {@link Set} of entities affected by the whole batch.
+ */
+@JsonDeserialize(using=SzRecordBatchResult.Factory.class)
+public interface SzRecordBatchResult {
+  /**
+   * Gets the <b>unmodifiable</b> {@link List} of {@link
+   * SzRecordOperationResult} instances describing the outcome of each
+   * operation in the same order as the operations in the request.
+   *
+   * @return The <b>unmodifiable</b> {@link List} of {@link
+   *         SzRecordOperationResult} instances.
+   */
+  List<SzRecordOperationResult> getResults();
+
+  /**
+   * Sets the {@link List} of {@link SzRecordOperationResult} instances
+   * describing the outcome of each operation.
+   *
+   * @param results The {@link List} of {@link SzRecordOperationResult}
+   *                instances describing the outcome of each operation.
+   */
+  void setResults(List<SzRecordOperationResult> results);
+
+  /**
+   * Gets the number of operations in the batch that failed.
+   *
+   * @return The number of operations in the batch that failed.
+   */
+  int getFailedCount();
+
+  /**
+   * Sets the number of operations in the batch that failed.
+   *
+   * @param failedCount The number of operations in the batch that failed.
+   */
+  void setFailedCount(int failedCount);
+
+  /**
+   * Gets the <b>unmodifiable</b> {@link Set} of the entity IDs for the
+   * entities affected by all the operations in the batch, or <tt>null</tt>
+   * if resolution info was not requested.
+   *
+   * @return The <b>unmodifiable</b> {@link Set} of affected entity IDs, or
+   *         <tt>null</tt> if resolution info was not requested.
+   */
+  @JsonInclude(NON_NULL)
+  Set<Long> getAffectedEntities();
+
+  /**
+   * Sets the {@link Set} of affected entity IDs to those in the specified
+   * {@link Collection}.  If the specified parameter is <tt>null</tt> then
+   * the affected entities are cleared to indicate that resolution info was
+   * not requested, and any <tt>null</tt> values in the {@link Collection}
+   * are ignored.
+   *
+   * @param affectedEntities The {@link Collection} of affected entity IDs,
+   *                         or <tt>null</tt> if resolution info was not
+   *                         requested.
+   */
+  void setAffectedEntities(Collection<Long> affectedEntities);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzRecordBatchResult}.
+   */
+  interface Provider extends ModelProvider<SzRecordBatchResult> {
+    /**
+     * Creates a new instance of {@link SzRecordBatchResult}.
+     *
+     * @return The new instance of {@link SzRecordBatchResult}
+     */
+    SzRecordBatchResult create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzRecordBatchResult} that produces instances of {@link
+   * SzRecordBatchResultImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzRecordBatchResult>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzRecordBatchResult.class, SzRecordBatchResultImpl.class);
+    }
+
+    @Override
+    public SzRecordBatchResult create() {
+      return new SzRecordBatchResultImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzRecordBatchResult}.
+   */
+  class Factory extends ModelFactory<SzRecordBatchResult, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzRecordBatchResult.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzRecordBatchResult}.
+     * @return The new instance of {@link SzRecordBatchResult}.
+     */
+    public SzRecordBatchResult create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
@@ -0,0 +1,254 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzRecordConsumerStatsImpl;
+
+/**
+ * Describes the state of the consumer that loads and deletes the records
+ * received from the configured ingest queue.
+ */
+@JsonDeserialize(using=SzRecordConsumerStats.Factory.class)
+public interface SzRecordConsumerStats {
+  /**
+   * Gets the type of messaging provider from which the records are consumed.
+   *
+   * @return The type of messaging provider from which the records are consumed.
+   */
+  String getProviderType();
+
+  /**
+   * Sets the type of messaging provider from which the records are consumed.
+   *
+   * @param providerType The type of messaging provider from which the records
+   *                     are consumed.
+   */
+  void setProviderType(String providerType);
+
+  /**
+   * Gets the maximum number of record messages that are processed concurrently.
+   *
+   * @return The maximum number of record messages that are processed
+   *         concurrently.
+   */
+  int getConcurrency();
+
+  /**
+   * Sets the maximum number of record messages that are processed concurrently.
+   *
+   * @param concurrency The maximum number of record messages that are processed
+   *                    concurrently.
+   */
+  void setConcurrency(int concurrency);
+
+  /**
+   * Gets the number of record messages currently being processed.
+   *
+   * @return The number of record messages currently being processed.
+   */
+  int getInFlightCount();
+
+  /**
+   * Sets the number of record messages currently being processed.
+   *
+   * @param count The number of record messages currently being processed.
+   */
+  void setInFlightCount(int count);
+
+  /**
+   * Gets the number of record messages that have been received since the server
+   * started.
+   *
+   * @return The number of record messages that have been received since the
+   *         server started.
+   */
+  long getReceivedCount();
+
+  /**
+   * Sets the number of record messages that have been received since the server
+   * started.
+   *
+   * @param count The number of record messages that have been received since
+   *              the server started.
+   */
+  void setReceivedCount(long count);
+
+  /**
+   * Gets the number of records that have been successfully added since the
+   * server started.
+   *
+   * @return The number of records that have been successfully added since the
+   *         server started.
+   */
+  long getAddedCount();
+
+  /**
+   * Sets the number of records that have been successfully added since the
+   * server started.
+   *
+   * @param count The number of records that have been successfully added since
+   *              the server started.
+   */
+  void setAddedCount(long count);
+
+  /**
+   * Gets the number of records that have been successfully deleted since the
+   * server started.
+   *
+   * @return The number of records that have been successfully deleted since the
+   *         server started.
+   */
+  long getDeletedCount();
+
+  /**
+   * Sets the number of records that have been successfully deleted since the
+   * server started.
+   *
+   * @param count The number of records that have been successfully deleted
+   *              since the server started.
+   */
+  void setDeletedCount(long count);
+
+  /**
+   * Gets the number of times that a record message was retried after a failed
+   * attempt to process it.
+   *
+   * @return The number of times that a record message was retried after a
+   *         failed attempt to process it.
+   */
+  long getRetriedCount();
+
+  /**
+   * Sets the number of times that a record message was retried after a failed
+   * attempt to process it.
+   *
+   * @param count The number of times that a record message was retried after a
+   *              failed attempt to process it.
+   */
+  void setRetriedCount(long count);
+
+  /**
+   * Gets the number of record messages that could not be processed and were
+   * routed to the dead-letter destination.
+   *
+   * @return The number of record messages that could not be processed and were
+   *         routed to the dead-letter destination.
+   */
+  long getDeadLetteredCount();
+
+  /**
+   * Sets the number of record messages that could not be processed and were
+   * routed to the dead-letter destination.
+   *
+   * @param count The number of record messages that could not be processed and
+   *              were routed to the dead-letter destination.
+   */
+  void setDeadLetteredCount(long count);
+
+  /**
+   * Gets the number of record messages that could not be processed and were
+   * discarded because no dead-letter destination is configured.
+   *
+   * @return The number of record messages that could not be processed and were
+   *         discarded because no dead-letter destination is configured.
+   */
+  long getDiscardedCount();
+
+  /**
+   * Sets the number of record messages that could not be processed and were
+   * discarded because no dead-letter destination is configured.
+   *
+   * @param count The number of record messages that could not be processed and
+   *              were discarded because no dead-letter destination is
+   *              configured.
+   */
+  void setDiscardedCount(long count);
+
+  /**
+   * Gets the number of record messages that were released to be redelivered by
+   * the messaging provider.
+   *
+   * @return The number of record messages that were released to be redelivered
+   *         by the messaging provider.
+   */
+  long getReleasedCount();
+
+  /**
+   * Sets the number of record messages that were released to be redelivered by
+   * the messaging provider.
+   *
+   * @param count The number of record messages that were released to be
+   *              redelivered by the messaging provider.
+   */
+  void setReleasedCount(long count);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzRecordConsumerStats}.
+   */
+  interface Provider extends ModelProvider<SzRecordConsumerStats> {
+    /**
+     * Creates a new instance of {@link SzRecordConsumerStats}.
+     *
+     * @return The new instance of {@link SzRecordConsumerStats}
+     */
+    SzRecordConsumerStats create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzRecordConsumerStats} that produces instances of {@link
+   * SzRecordConsumerStatsImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzRecordConsumerStats>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzRecordConsumerStats.class, SzRecordConsumerStatsImpl.class);
+    }
+
+    @Override
+    public SzRecordConsumerStats create() {
+      return new SzRecordConsumerStatsImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzRecordConsumerStats}.
+   */
+  class Factory extends ModelFactory<SzRecordConsumerStats, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzRecordConsumerStats.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzRecordConsumerStats}.
+     * @return The new instance of {@link SzRecordConsumerStats}.
+     */
+    public SzRecordConsumerStats create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
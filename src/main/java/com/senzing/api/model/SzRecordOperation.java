@@ -0,0 +1,25 @@
+package com.senzing.api.model;
+
+/**
+ * Enumerates the operations that can be performed on a record in a batch of
+ * record operations.
+ */
+public enum SzRecordOperation {
+  /**
+   * Adds the record, replacing it if it already exists.  This is equivalent
+   * to <tt>PUT /data-sources/{dataSourceCode}/records/{recordId}</tt>.
+   */
+  ADD,
+
+  /**
+   * Replaces the record if it already exists, otherwise adds it.
+   */
+  REPLACE,
+
+  /**
+   * Deletes the record.  Deleting a record that does not exist is not
+   * considered a failure.  This is equivalent to <tt>DELETE
+   * /data-sources/{dataSourceCode}/records/{recordId}</tt>.
+   */
+  DELETE;
+}
@@ -0,0 +1,205 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzRecordOperationResultImpl;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Describes the outcome of an individual operation in a batch of record
+ * operations.  Each result carries the HTTP status code that the equivalent
+ * single-record request would have produced so that a failure for one
+ * operation does not fail the whole batch.
+ */
+@JsonDeserialize(using=SzRecordOperationResult.Factory.class)
+public interface SzRecordOperationResult {
+  /**
+   * Gets the zero-based index of the operation in the batch request.
+   *
+   * @return The zero-based index of the operation in the batch request.
+   */
+  int getIndex();
+
+  /**
+   * Sets the zero-based index of the operation in the batch request.
+   *
+   * @param index The zero-based index of the operation in the batch request.
+   */
+  void setIndex(int index);
+
+  /**
+   * Gets the {@link SzRecordOperation} that was requested.
+   *
+   * @return The {@link SzRecordOperation} that was requested, or
+   *         <tt>null</tt> if the operation could not be determined.
+   */
+  @JsonInclude(NON_NULL)
+  SzRecordOperation getOperation();
+
+  /**
+   * Sets the {@link SzRecordOperation} that was requested.
+   *
+   * @param operation The {@link SzRecordOperation} that was requested, or
+   *                  <tt>null</tt> if the operation could not be determined.
+   */
+  void setOperation(SzRecordOperation operation);
+
+  /**
+   * Gets the data source code of the record for the operation.
+   *
+   * @return The data source code of the record for the operation, or
+   *         <tt>null</tt> if it could not be determined.
+   */
+  @JsonInclude(NON_NULL)
+  String getDataSource();
+
+  /**
+   * Sets the data source code of the record for the operation.
+   *
+   * @param dataSource The data source code of the record for the operation,
+   *                   or <tt>null</tt> if it could not be determined.
+   */
+  void setDataSource(String dataSource);
+
+  /**
+   * Gets the record ID of the record for the operation.
+   *
+   * @return The record ID of the record for the operation, or <tt>null</tt>
+   *         if it could not be determined.
+   */
+  @JsonInclude(NON_NULL)
+  String getRecordId();
+
+  /**
+   * Sets the record ID of the record for the operation.
+   *
+   * @param recordId The record ID of the record for the operation, or
+   *                 <tt>null</tt> if it could not be determined.
+   */
+  void setRecordId(String recordId);
+
+  /**
+   * Gets the HTTP status code that describes the outcome for the operation
+   * (e.g.: <tt>200</tt> if successful or <tt>400</tt> if the operation was
+   * invalid).
+   *
+   * @return The HTTP status code that describes the outcome for the
+   *         operation.
+   */
+  int getHttpStatusCode();
+
+  /**
+   * Sets the HTTP status code that describes the outcome for the operation.
+   *
+   * @param statusCode The HTTP status code that describes the outcome for
+   *                   the operation.
+   */
+  void setHttpStatusCode(int statusCode);
+
+  /**
+   * Checks if the operation was skipped because the record was unchanged
+   * since it was last loaded.
+   *
+   * @return <tt>true</tt> if the operation was skipped because the record
+   *         was unchanged, otherwise <tt>false</tt>.
+   */
+  boolean isSkipped();
+
+  /**
+   * Sets whether or not the operation was skipped because the record was
+   * unchanged since it was last loaded.
+   *
+   * @param skipped <tt>true</tt> if the operation was skipped because the
+   *                record was unchanged, otherwise <tt>false</tt>.
+   */
+  void setSkipped(boolean skipped);
+
+  /**
+   * Gets the error message if the operation failed.
+   *
+   * @return The error message if the operation failed, or <tt>null</tt> if
+   *         it succeeded.
+   */
+  @JsonInclude(NON_NULL)
+  String getErrorMessage();
+
+  /**
+   * Sets the error message if the operation failed.
+   *
+   * @param errorMessage The error message if the operation failed, or
+   *                     <tt>null</tt> if it succeeded.
+   */
+  void setErrorMessage(String errorMessage);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzRecordOperationResult}.
+   */
+  interface Provider extends ModelProvider<SzRecordOperationResult> {
+    /**
+     * Creates a new instance of {@link SzRecordOperationResult}.
+     *
+     * @return The new instance of {@link SzRecordOperationResult}
+     */
+    SzRecordOperationResult create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzRecordOperationResult} that produces instances of {@link
+   * SzRecordOperationResultImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzRecordOperationResult>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzRecordOperationResult.class, SzRecordOperationResultImpl.class);
+    }
+
+    @Override
+    public SzRecordOperationResult create() {
+      return new SzRecordOperationResultImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzRecordOperationResult}.
+   */
+  class Factory extends ModelFactory<SzRecordOperationResult, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzRecordOperationResult.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzRecordOperationResult}.
+     * @return The new instance of {@link SzRecordOperationResult}.
+     */
+    public SzRecordOperationResult create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
@@ -0,0 +1,197 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzRedoProcessorStatsImpl;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Describes the state of the background redo processor of the API server
+ * including the redo backlog, the throughput and the estimated lag.
+ */
+@JsonDeserialize(using=SzRedoProcessorStats.Factory.class)
+public interface SzRedoProcessorStats {
+  /**
+   * Gets the number of threads processing redo records.
+   *
+   * @return The number of threads processing redo records.
+   */
+  int getThreadCount();
+
+  /**
+   * Sets the number of threads processing redo records.
+   *
+   * @param threadCount The number of threads processing redo records.
+   */
+  void setThreadCount(int threadCount);
+
+  /**
+   * Gets the approximate number of redo records that are pending.  This is
+   * periodically sampled from the repository and reduced by the number of
+   * redo records processed since it was sampled.
+   *
+   * @return The approximate number of redo records that are pending.
+   */
+  long getRedoBacklog();
+
+  /**
+   * Sets the approximate number of redo records that are pending.
+   *
+   * @param backlog The approximate number of redo records that are pending.
+   */
+  void setRedoBacklog(long backlog);
+
+  /**
+   * Gets the number of redo records that have been successfully processed.
+   *
+   * @return The number of redo records that have been successfully processed.
+   */
+  long getProcessedCount();
+
+  /**
+   * Sets the number of redo records that have been successfully processed.
+   *
+   * @param count The number of redo records that have been successfully
+   *              processed.
+   */
+  void setProcessedCount(long count);
+
+  /**
+   * Gets the number of attempts to process a redo record that failed.
+   *
+   * @return The number of attempts to process a redo record that failed.
+   */
+  long getFailedCount();
+
+  /**
+   * Sets the number of attempts to process a redo record that failed.
+   *
+   * @param count The number of attempts to process a redo record that failed.
+   */
+  void setFailedCount(long count);
+
+  /**
+   * Gets the recent number of redo records processed per second.
+   *
+   * @return The recent number of redo records processed per second.
+   */
+  double getRecordsPerSecond();
+
+  /**
+   * Sets the recent number of redo records processed per second.
+   *
+   * @param recordsPerSecond The recent number of redo records processed per
+   *                         second.
+   */
+  void setRecordsPerSecond(double recordsPerSecond);
+
+  /**
+   * Gets the estimated number of milliseconds until the current redo backlog
+   * is processed at the recent throughput.  This returns <tt>null</tt> if
+   * there is a backlog but no recent throughput from which to estimate.
+   *
+   * @return The estimated number of milliseconds until the redo backlog is
+   *         processed, or <tt>null</tt> if it cannot be estimated.
+   */
+  @JsonInclude(NON_NULL)
+  Long getLagMillis();
+
+  /**
+   * Sets the estimated number of milliseconds until the current redo backlog
+   * is processed at the recent throughput.
+   *
+   * @param lagMillis The estimated number of milliseconds until the redo
+   *                  backlog is processed, or <tt>null</tt> if it cannot be
+   *                  estimated.
+   */
+  void setLagMillis(Long lagMillis);
+
+  /**
+   * Gets the number of milliseconds each redo thread currently pauses before
+   * processing the next redo record to yield to interactive requests.
+   *
+   * @return The number of milliseconds each redo thread currently pauses.
+   */
+  long getThrottleMillis();
+
+  /**
+   * Sets the number of milliseconds each redo thread currently pauses before
+   * processing the next redo record to yield to interactive requests.
+   *
+   * @param throttleMillis The number of milliseconds each redo thread
+   *                       currently pauses.
+   */
+  void setThrottleMillis(long throttleMillis);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzRedoProcessorStats}.
+   */
+  interface Provider extends ModelProvider<SzRedoProcessorStats> {
+    /**
+     * Creates a new instance of {@link SzRedoProcessorStats}.
+     *
+     * @return The new instance of {@link SzRedoProcessorStats}
+     */
+    SzRedoProcessorStats create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzRedoProcessorStats} that produces instances of {@link
+   * SzRedoProcessorStatsImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzRedoProcessorStats>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzRedoProcessorStats.class, SzRedoProcessorStatsImpl.class);
+    }
+
+    @Override
+    public SzRedoProcessorStats create() {
+      return new SzRedoProcessorStatsImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzRedoProcessorStats}.
+   */
+  class Factory extends ModelFactory<SzRedoProcessorStats, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzRedoProcessorStats.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzRedoProcessorStats}.
+     * @return The new instance of {@link SzRedoProcessorStats}.
+     */
+    public SzRedoProcessorStats create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
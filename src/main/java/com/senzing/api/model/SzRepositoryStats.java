@@ -0,0 +1,286 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzRepositoryStatsImpl;
+
+import java.util.Date;
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Describes the repository statistics that are incrementally maintained from
+ * the info messages produced when records are loaded, deleted or re-evaluated.
+ */
+@JsonDeserialize(using=SzRepositoryStats.Factory.class)
+public interface SzRepositoryStats {
+  /**
+   * Gets the number of records that are known to be loaded in the repository.
+   *
+   * @return The number of records that are known to be loaded in the
+   *         repository.
+   */
+  long getRecordCount();
+
+  /**
+   * Sets the number of records that are known to be loaded in the repository.
+   *
+   * @param count The number of records that are known to be loaded in the
+   *              repository.
+   */
+  void setRecordCount(long count);
+
+  /**
+   * Gets the number of entities in the repository as of the last
+   * reconciliation.
+   *
+   * @return The number of entities in the repository as of the last
+   *         reconciliation, or <tt>null</tt> if the statistics have not been
+   *         reconciled.
+   */
+  @JsonInclude(NON_NULL)
+  Long getEntityCount();
+
+  /**
+   * Sets the number of entities in the repository as of the last
+   * reconciliation.
+   *
+   * @param count The number of entities in the repository as of the last
+   *              reconciliation, or <tt>null</tt> if the statistics have not
+   *              been reconciled.
+   */
+  void setEntityCount(Long count);
+
+  /**
+   * Gets the number of times a record has been added or replaced.
+   *
+   * @return The number of times a record has been added or replaced.
+   */
+  long getLoadCount();
+
+  /**
+   * Sets the number of times a record has been added or replaced.
+   *
+   * @param count The number of times a record has been added or replaced.
+   */
+  void setLoadCount(long count);
+
+  /**
+   * Gets the number of times a record has been deleted.
+   *
+   * @return The number of times a record has been deleted.
+   */
+  long getDeleteCount();
+
+  /**
+   * Sets the number of times a record has been deleted.
+   *
+   * @param count The number of times a record has been deleted.
+   */
+  void setDeleteCount(long count);
+
+  /**
+   * Gets the number of times a record or entity has been re-evaluated
+   * (including via redo processing).
+   *
+   * @return The number of times a record or entity has been re-evaluated
+   *         (including via redo processing).
+   */
+  long getReevaluateCount();
+
+  /**
+   * Sets the number of times a record or entity has been re-evaluated
+   * (including via redo processing).
+   *
+   * @param count The number of times a record or entity has been re-evaluated
+   *              (including via redo processing).
+   */
+  void setReevaluateCount(long count);
+
+  /**
+   * Gets the total number of affected entities reported by the info messages.
+   *
+   * @return The total number of affected entities reported by the info
+   *         messages.
+   */
+  long getAffectedEntityCount();
+
+  /**
+   * Sets the total number of affected entities reported by the info messages.
+   *
+   * @param count The total number of affected entities reported by the info
+   *              messages.
+   */
+  void setAffectedEntityCount(long count);
+
+  /**
+   * Gets the average number of affected entities per second over the last
+   * minute.
+   *
+   * @return The average number of affected entities per second over the last
+   *         minute.
+   */
+  double getAffectedEntityRate();
+
+  /**
+   * Sets the average number of affected entities per second over the last
+   * minute.
+   *
+   * @param rate The average number of affected entities per second over the
+   *             last minute.
+   */
+  void setAffectedEntityRate(double rate);
+
+  /**
+   * Gets whether or not the statistics are currently being reconciled against
+   * an entity export.
+   *
+   * @return Whether or not the statistics are currently being reconciled
+   *         against an entity export.
+   */
+  boolean isReconciling();
+
+  /**
+   * Sets whether or not the statistics are currently being reconciled against
+   * an entity export.
+   *
+   * @param reconciling Whether or not the statistics are currently being
+   *                    reconciled against an entity export.
+   */
+  void setReconciling(boolean reconciling);
+
+  /**
+   * Gets the timestamp when the statistics were last reconciled against an
+   * entity export.
+   *
+   * @return The timestamp when the statistics were last reconciled against an
+   *         entity export, or <tt>null</tt> if the statistics have never been
+   *         reconciled.
+   */
+  @JsonInclude(NON_NULL)
+  @JsonFormat(shape   = JsonFormat.Shape.STRING,
+      pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'",
+      locale  = "en_GB")
+  Date getLastReconciled();
+
+  /**
+   * Sets the timestamp when the statistics were last reconciled against an
+   * entity export.
+   *
+   * @param timestamp The timestamp when the statistics were last reconciled
+   *                  against an entity export, or <tt>null</tt> if the
+   *                  statistics have never been reconciled.
+   */
+  void setLastReconciled(Date timestamp);
+
+  /**
+   * Gets the timestamp when the statistics were last written to the snapshot
+   * file.
+   *
+   * @return The timestamp when the statistics were last written to the snapshot
+   *         file, or <tt>null</tt> if no snapshot has been written.
+   */
+  @JsonInclude(NON_NULL)
+  @JsonFormat(shape   = JsonFormat.Shape.STRING,
+      pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'",
+      locale  = "en_GB")
+  Date getLastSnapshot();
+
+  /**
+   * Sets the timestamp when the statistics were last written to the snapshot
+   * file.
+   *
+   * @param timestamp The timestamp when the statistics were last written to the
+   *                  snapshot file, or <tt>null</tt> if no snapshot has been
+   *                  written.
+   */
+  void setLastSnapshot(Date timestamp);
+
+  /**
+   * Gets the statistics for each data source ordered by data source code.
+   *
+   * @return The statistics for each data source ordered by data source code.
+   */
+  List<SzDataSourceStats> getDataSources();
+
+  /**
+   * Sets the statistics for each data source ordered by data source code.
+   *
+   * @param dataSources The statistics for each data source ordered by data
+   *                    source code.
+   */
+  void setDataSources(List<SzDataSourceStats> dataSources);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link SzRepositoryStats}.
+   */
+  interface Provider extends ModelProvider<SzRepositoryStats> {
+    /**
+     * Creates a new instance of {@link SzRepositoryStats}.
+     *
+     * @return The new instance of {@link SzRepositoryStats}
+     */
+    SzRepositoryStats create();
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzRepositoryStats} that produces instances of {@link
+   * SzRepositoryStatsImpl}.
+   */
+  class DefaultProvider extends AbstractModelProvider<SzRepositoryStats>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzRepositoryStats.class, SzRepositoryStatsImpl.class);
+    }
+
+    @Override
+    public SzRepositoryStats create() {
+      return new SzRepositoryStatsImpl();
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for {@link
+   * SzRepositoryStats}.
+   */
+  class Factory extends ModelFactory<SzRepositoryStats, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzRepositoryStats.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates a new instance of {@link SzRepositoryStats}.
+     * @return The new instance of {@link SzRepositoryStats}.
+     */
+    public SzRepositoryStats create()
+    {
+      return this.getProvider().create();
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+}
@@ -0,0 +1,148 @@
+package com.senzing.api.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.impl.SzRepositoryStatsResponseImpl;
+
+/**
+ * A response object that contains the repository statistics.
+ *
+ */
+@JsonDeserialize(using=SzRepositoryStatsResponse.Factory.class)
+public interface SzRepositoryStatsResponse extends SzBasicResponse {
+  /**
+   * Returns the {@link SzRepositoryStats} associated with this response.
+   *
+   * @return The data associated with this response.
+   */
+  SzRepositoryStats getData();
+
+  /**
+   * Sets the data associated with this response with an {@link
+   * SzRepositoryStats}.
+   *
+   * @param stats The {@link SzRepositoryStats} describing the repository.
+   */
+  void setData(SzRepositoryStats stats);
+
+  /**
+   * A {@link ModelProvider} for instances of {@link
+   * SzRepositoryStatsResponse}.
+   */
+  interface Provider extends ModelProvider<SzRepositoryStatsResponse> {
+    /**
+     * Creates an instance of {@link SzRepositoryStatsResponse} with the
+     * specified {@link SzMeta} and {@link SzLinks} instances.
+     *
+     * @param meta The response meta data.
+     *
+     * @param links The links for the response.
+     */
+    SzRepositoryStatsResponse create(SzMeta meta, SzLinks links);
+
+    /**
+     * Creates an instance of {@link SzRepositoryStatsResponse} with the
+     * specified {@link SzMeta}, {@link SzLinks} and {@link SzRepositoryStats}
+     * describing the repository.
+     *
+     * @param meta The response meta data.
+     *
+     * @param links The links for the response.
+     *
+     * @param stats The {@link SzRepositoryStats} describing the repository.
+     */
+    SzRepositoryStatsResponse create(SzMeta             meta,
+                                     SzLinks            links,
+                                     SzRepositoryStats  stats);
+  }
+
+  /**
+   * Provides a default {@link Provider} implementation for {@link
+   * SzRepositoryStatsResponse} that produces instances of
+   * {@link SzRepositoryStatsResponseImpl}.
+   */
+  class DefaultProvider
+      extends AbstractModelProvider<SzRepositoryStatsResponse>
+      implements Provider
+  {
+    /**
+     * Default constructor.
+     */
+    public DefaultProvider() {
+      super(SzRepositoryStatsResponse.class,
+            SzRepositoryStatsResponseImpl.class);
+    }
+
+    @Override
+    public SzRepositoryStatsResponse create(SzMeta meta, SzLinks links) {
+      return new SzRepositoryStatsResponseImpl(meta, links);
+    }
+
+    @Override
+    public SzRepositoryStatsResponse create(SzMeta             meta,
+                                            SzLinks            links,
+                                            SzRepositoryStats  stats)
+    {
+      return new SzRepositoryStatsResponseImpl(meta, links, stats);
+    }
+  }
+
+  /**
+   * Provides a {@link ModelFactory} implementation for
+   * {@link SzRepositoryStatsResponse}.
+   */
+  class Factory extends ModelFactory<SzRepositoryStatsResponse, Provider> {
+    /**
+     * Default constructor.  This is public and can only be called after the
+     * singleton master instance is created as it inherits the same state from
+     * the master instance.
+     */
+    public Factory() {
+      super(SzRepositoryStatsResponse.class);
+    }
+
+    /**
+     * Constructs with the default provider.  This constructor is private and
+     * is used for the master singleton instance.
+     * @param defaultProvider The default provider.
+     */
+    private Factory(Provider defaultProvider) {
+      super(defaultProvider);
+    }
+
+    /**
+     * Creates an instance of {@link SzRepositoryStatsResponse} with the
+     * specified {@link SzMeta} and {@link SzLinks} instances.
+     *
+     * @param meta The response meta data.
+     *
+     * @param links The links for the response.
+     */
+    public SzRepositoryStatsResponse create(SzMeta meta, SzLinks links) {
+      return this.getProvider().create(meta, links);
+    }
+
+    /**
+     * Creates an instance of {@link SzRepositoryStatsResponse} with the
+     * specified {@link SzMeta}, {@link SzLinks} and {@link SzRepositoryStats}
+     * describing the repository.
+     *
+     * @param meta The response meta data.
+     *
+     * @param links The links for the response.
+     *
+     * @param stats The {@link SzRepositoryStats} describing the repository.
+     */
+    public SzRepositoryStatsResponse create(SzMeta             meta,
+                                            SzLinks            links,
+                                            SzRepositoryStats  stats)
+    {
+      return this.getProvider().create(meta, links, stats);
+    }
+  }
+
+  /**
+   * The {@link Factory} instance for this interface.
+   */
+  Factory FACTORY = new Factory(new DefaultProvider());
+
+}
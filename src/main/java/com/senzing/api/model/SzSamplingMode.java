@@ -0,0 +1,22 @@
+package com.senzing.api.model;
+
+/**
+ * Enumerates the ways in which a sample of the bulk data records can be
+ * selected when analyzing bulk data without reading every record.
+ */
+public enum SzSamplingMode {
+  /**
+   * The sample consists of the records at the start of the bulk data up to
+   * the requested number of records or bytes.  The total record count is
+   * extrapolated from the number of bytes sampled relative to the total
+   * number of bytes.
+   */
+  PREFIX,
+
+  /**
+   * The sample is selected uniformly at random from all the records in the
+   * bulk data using reservoir sampling.  The total record count is exact and
+   * only the breakdown of the records is extrapolated.
+   */
+  RESERVOIR;
+}
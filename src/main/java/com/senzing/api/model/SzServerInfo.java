@@ -1,8 +1,11 @@
 package com.senzing.api.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.senzing.api.model.impl.SzServerInfoImpl;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
 /**
  * Describes the server features and state.
  */
@@ -137,6 +140,128 @@ public interface SzServerInfo {
    */
   void setInfoQueueConfigured(boolean configured);
 
+  /**
+   * Gets the {@link SzRedoProcessorStats} describing the background redo
+   * processor.  This returns <tt>null</tt> if the server is not processing
+   * redo records in the background.
+   *
+   * @return The {@link SzRedoProcessorStats} describing the background redo
+   *         processor, or <tt>null</tt> if there is none.
+   */
+  @JsonInclude(NON_NULL)
+  SzRedoProcessorStats getRedoProcessor();
+
+  /**
+   * Sets the {@link SzRedoProcessorStats} describing the background redo
+   * processor.
+   *
+   * @param stats The {@link SzRedoProcessorStats} describing the background
+   *              redo processor, or <tt>null</tt> if there is none.
+   */
+  void setRedoProcessor(SzRedoProcessorStats stats);
+
+  /**
+   * Gets the {@link SzInfoPublisherStats} describing the in-process queue
+   * through which info messages are asynchronously published.  This returns
+   * <tt>null</tt> if info messages are not published asynchronously.
+   *
+   * @return The {@link SzInfoPublisherStats} describing the info publish
+   *         queue, or <tt>null</tt> if there is none.
+   */
+  @JsonInclude(NON_NULL)
+  SzInfoPublisherStats getInfoPublisher();
+
+  /**
+   * Sets the {@link SzInfoPublisherStats} describing the in-process queue
+   * through which info messages are asynchronously published.
+   *
+   * @param stats The {@link SzInfoPublisherStats} describing the info publish
+   *              queue, or <tt>null</tt> if there is none.
+   */
+  void setInfoPublisher(SzInfoPublisherStats stats);
+
+  /**
+   * Gets the {@link SzInfoSpoolStats} describing the durable local spool
+   * through which info messages are forwarded to the info queue.  This
+   * returns <tt>null</tt> if info messages are not spooled.
+   *
+   * @return The {@link SzInfoSpoolStats} describing the info spool, or
+   *         <tt>null</tt> if there is none.
+   */
+  @JsonInclude(NON_NULL)
+  SzInfoSpoolStats getInfoSpool();
+
+  /**
+   * Sets the {@link SzInfoSpoolStats} describing the durable local spool
+   * through which info messages are forwarded to the info queue.
+   *
+   * @param stats The {@link SzInfoSpoolStats} describing the info spool, or
+   *              <tt>null</tt> if there is none.
+   */
+  void setInfoSpool(SzInfoSpoolStats stats);
+
+  /**
+   * Gets the {@link SzInfoAggregatorStats} describing the aggregator that
+   * packs info messages into aggregate messages before they are sent to the
+   * info queue.  This returns <tt>null</tt> if info messages are not
+   * aggregated.
+   *
+   * @return The {@link SzInfoAggregatorStats} describing the info
+   *         aggregator, or <tt>null</tt> if there is none.
+   */
+  @JsonInclude(NON_NULL)
+  SzInfoAggregatorStats getInfoAggregator();
+
+  /**
+   * Sets the {@link SzInfoAggregatorStats} describing the aggregator that
+   * packs info messages into aggregate messages before they are sent to the
+   * info queue.
+   *
+   * @param stats The {@link SzInfoAggregatorStats} describing the info
+   *              aggregator, or <tt>null</tt> if there is none.
+   */
+  void setInfoAggregator(SzInfoAggregatorStats stats);
+
+  /**
+   * Gets the {@link SzChangeFeedStats} describing the change feed that
+   * streams info messages to subscribers.  This returns <tt>null</tt> if the
+   * change feed is not enabled.
+   *
+   * @return The {@link SzChangeFeedStats} describing the change feed, or
+   *         <tt>null</tt> if there is none.
+   */
+  @JsonInclude(NON_NULL)
+  SzChangeFeedStats getChangeFeed();
+
+  /**
+   * Sets the {@link SzChangeFeedStats} describing the change feed that
+   * streams info messages to subscribers.
+   *
+   * @param stats The {@link SzChangeFeedStats} describing the change feed,
+   *              or <tt>null</tt> if there is none.
+   */
+  void setChangeFeed(SzChangeFeedStats stats);
+
+  /**
+   * Gets the {@link SzRecordConsumerStats} describing the consumer that loads
+   * and deletes the records received from the ingest queue.  This returns
+   * <tt>null</tt> if no ingest queue is configured.
+   *
+   * @return The {@link SzRecordConsumerStats} describing the record consumer,
+   *         or <tt>null</tt> if there is none.
+   */
+  @JsonInclude(NON_NULL)
+  SzRecordConsumerStats getRecordConsumer();
+
+  /**
+   * Sets the {@link SzRecordConsumerStats} describing the consumer that loads
+   * and deletes the records received from the ingest queue.
+   *
+   * @param stats The {@link SzRecordConsumerStats} describing the record
+   *              consumer, or <tt>null</tt> if there is none.
+   */
+  void setRecordConsumer(SzRecordConsumerStats stats);
+
   /**
    * A {@link ModelProvider} for instances of {@link SzServerInfo}.
    */
@@ -0,0 +1,232 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzAffinityBenchmark;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Provides the default implementation of {@link SzAffinityBenchmark}.
+ */
+@JsonDeserialize
+public class SzAffinityBenchmarkImpl implements SzAffinityBenchmark {
+  /**
+   * Whether or not the records were scheduled by their affinity key.
+   */
+  private boolean affinity;
+
+  /**
+   * The number of blocks of records that were loaded.
+   */
+  private int blockCount;
+
+  /**
+   * The number of records in the blocks that were loaded.
+   */
+  private long recordCount;
+
+  /**
+   * The total number of milliseconds spent loading the blocks.
+   */
+  private long elapsedMillis;
+
+  /**
+   * The number of records loaded per second across the blocks.
+   */
+  private double recordsPerSecond;
+
+  /**
+   * The number of retries reported by the engine statistics.
+   */
+  private long retryCount;
+
+  /**
+   * The {@link Map} of lock-wait statistics.
+   */
+  private Map<String, Long> lockWaits;
+
+  /**
+   * Default constructor.
+   */
+  public SzAffinityBenchmarkImpl() {
+    this.affinity         = false;
+    this.blockCount       = 0;
+    this.recordCount      = 0L;
+    this.elapsedMillis    = 0L;
+    this.recordsPerSecond = 0.0;
+    this.retryCount       = 0L;
+    this.lockWaits        = new TreeMap<>();
+  }
+
+  /**
+   * Checks if this describes the blocks of records that were scheduled by
+   * their affinity key.
+   *
+   * @return <tt>true</tt> if this describes the blocks of records that were
+   *         scheduled by their affinity key, or <tt>false</tt> if this
+   *         describes the blocks of records that were loaded by whichever
+   *         worker was next.
+   */
+  @Override
+  public boolean isAffinity() {
+    return this.affinity;
+  }
+
+  /**
+   * Sets whether or not this describes the blocks of records that were
+   * scheduled by their affinity key.
+   *
+   * @param affinity <tt>true</tt> if this describes the blocks of records
+   *                 that were scheduled by their affinity key, otherwise
+   *                 <tt>false</tt>.
+   */
+  @Override
+  public void setAffinity(boolean affinity) {
+    this.affinity = affinity;
+  }
+
+  /**
+   * Gets the number of blocks of records that were loaded.
+   *
+   * @return The number of blocks of records that were loaded.
+   */
+  @Override
+  public int getBlockCount() {
+    return this.blockCount;
+  }
+
+  /**
+   * Sets the number of blocks of records that were loaded.
+   *
+   * @param blockCount The number of blocks of records that were loaded.
+   */
+  @Override
+  public void setBlockCount(int blockCount) {
+    this.blockCount = blockCount;
+  }
+
+  /**
+   * Gets the number of records in the blocks that were loaded.
+   *
+   * @return The number of records in the blocks that were loaded.
+   */
+  @Override
+  public long getRecordCount() {
+    return this.recordCount;
+  }
+
+  /**
+   * Sets the number of records in the blocks that were loaded.
+   *
+   * @param recordCount The number of records in the blocks that were loaded.
+   */
+  @Override
+  public void setRecordCount(long recordCount) {
+    this.recordCount = recordCount;
+  }
+
+  /**
+   * Gets the total number of milliseconds spent loading the blocks.
+   *
+   * @return The total number of milliseconds spent loading the blocks.
+   */
+  @Override
+  public long getElapsedMillis() {
+    return this.elapsedMillis;
+  }
+
+  /**
+   * Sets the total number of milliseconds spent loading the blocks.
+   *
+   * @param elapsedMillis The total number of milliseconds spent loading the
+   *                      blocks.
+   */
+  @Override
+  public void setElapsedMillis(long elapsedMillis) {
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  /**
+   * Gets the number of records loaded per second across the blocks.
+   *
+   * @return The number of records loaded per second across the blocks.
+   */
+  @Override
+  public double getRecordsPerSecond() {
+    return this.recordsPerSecond;
+  }
+
+  /**
+   * Sets the number of records loaded per second across the blocks.
+   *
+   * @param recordsPerSecond The number of records loaded per second across
+   *                         the blocks.
+   */
+  @Override
+  public void setRecordsPerSecond(double recordsPerSecond) {
+    this.recordsPerSecond = recordsPerSecond;
+  }
+
+  /**
+   * Gets the number of retries reported by the engine statistics while the
+   * blocks were loaded.
+   *
+   * @return The number of retries reported by the engine statistics.
+   */
+  @Override
+  public long getRetryCount() {
+    return this.retryCount;
+  }
+
+  /**
+   * Sets the number of retries reported by the engine statistics while the
+   * blocks were loaded.
+   *
+   * @param retryCount The number of retries reported by the engine
+   *                   statistics.
+   */
+  @Override
+  public void setRetryCount(long retryCount) {
+    this.retryCount = retryCount;
+  }
+
+  /**
+   * Gets the <b>unmodifiable</b> {@link Map} of lock-wait statistics that
+   * were reported by the engine while the blocks were loaded.  The keys are
+   * the dot-separated paths of the statistics within the engine statistics
+   * and the values are summed across the blocks.
+   *
+   * @return The <b>unmodifiable</b> {@link Map} of lock-wait statistics.
+   */
+  @Override
+  public Map<String, Long> getLockWaits() {
+    return Collections.unmodifiableMap(this.lockWaits);
+  }
+
+  /**
+   * Sets the {@link Map} of lock-wait statistics that were reported by the
+   * engine while the blocks were loaded.
+   *
+   * @param lockWaits The {@link Map} of lock-wait statistics.
+   */
+  @Override
+  public void setLockWaits(Map<String, Long> lockWaits) {
+    this.lockWaits.clear();
+    if (lockWaits != null) this.lockWaits.putAll(lockWaits);
+  }
+
+  @Override
+  public String toString() {
+    return "SzAffinityBenchmark{" +
+        "affinity=" + affinity +
+        ", blockCount=" + blockCount +
+        ", recordCount=" + recordCount +
+        ", elapsedMillis=" + elapsedMillis +
+        ", recordsPerSecond=" + recordsPerSecond +
+        ", retryCount=" + retryCount +
+        ", lockWaits=" + lockWaits +
+        '}';
+  }
+}
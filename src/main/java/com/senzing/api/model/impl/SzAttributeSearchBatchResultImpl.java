@@ -0,0 +1,105 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzAttributeSearchBatchResult;
+import com.senzing.api.model.SzAttributeSearchResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Provides the default implementation of {@link
+ * SzAttributeSearchBatchResult}.
+ */
+@JsonDeserialize
+public class SzAttributeSearchBatchResultImpl
+    implements SzAttributeSearchBatchResult
+{
+  /**
+   * The zero-based index of the search criteria in the batch request.
+   */
+  private int index;
+
+  /**
+   * The HTTP status code describing the outcome for the search.
+   */
+  private int httpStatusCode;
+
+  /**
+   * The search results if the search succeeded.
+   */
+  private List<SzAttributeSearchResult> searchResults;
+
+  /**
+   * The error message if the search failed.
+   */
+  private String errorMessage;
+
+  /**
+   * Default constructor.
+   */
+  public SzAttributeSearchBatchResultImpl() {
+    this.index          = 0;
+    this.httpStatusCode = 0;
+    this.searchResults  = null;
+    this.errorMessage   = null;
+  }
+
+  @Override
+  public int getIndex() {
+    return this.index;
+  }
+
+  @Override
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  @Override
+  public int getHttpStatusCode() {
+    return this.httpStatusCode;
+  }
+
+  @Override
+  public void setHttpStatusCode(int statusCode) {
+    this.httpStatusCode = statusCode;
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public List<SzAttributeSearchResult> getSearchResults() {
+    if (this.searchResults == null) return null;
+    return Collections.unmodifiableList(this.searchResults);
+  }
+
+  @Override
+  public void setSearchResults(List<SzAttributeSearchResult> searchResults) {
+    this.searchResults = (searchResults == null)
+        ? null : new ArrayList<>(searchResults);
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public String getErrorMessage() {
+    return this.errorMessage;
+  }
+
+  @Override
+  public void setErrorMessage(String errorMessage) {
+    this.errorMessage = errorMessage;
+  }
+
+  @Override
+  public String toString() {
+    return "SzAttributeSearchBatchResult{" +
+        "index=" + index +
+        ", httpStatusCode=" + httpStatusCode +
+        ", searchResults=" + searchResults +
+        ", errorMessage='" + errorMessage + '\'' +
+        '}';
+  }
+}
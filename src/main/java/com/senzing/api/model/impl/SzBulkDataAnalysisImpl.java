@@ -51,6 +51,42 @@ public class SzBulkDataAnalysisImpl implements SzBulkDataAnalysis {
    */
   private int entityTypeCount;
 
+  /**
+   * The number of records having a duplicate record ID for their data source.
+   */
+  private int duplicateRecordIdCount;
+
+  /**
+   * Whether or not the duplicate record ID count is estimated.
+   */
+  private boolean duplicateCountEstimated;
+
+  /**
+   * The {@link SzRecordIdTracker} for detecting duplicate record ID's.
+   */
+  private SzRecordIdTracker recordIdTracker;
+
+  /**
+   * Flag indicating if record ID's have been tracked since the duplicate
+   * record ID counts were last updated.
+   */
+  private boolean duplicateCountsStale;
+
+  /**
+   * The sampling mode if the analyzed records were sampled.
+   */
+  private SzSamplingMode samplingMode;
+
+  /**
+   * The extrapolated total record count if the records were sampled.
+   */
+  private SzCountEstimate estimatedRecordCount;
+
+  /**
+   * The throughput for the processing once completed.
+   */
+  private SzBulkDataThroughput throughput;
+
   /**
    * Internal {@link Map} for tracking the analysis by data source.
    */
@@ -65,10 +101,29 @@ public class SzBulkDataAnalysisImpl implements SzBulkDataAnalysis {
    * Default constructor.
    */
   public SzBulkDataAnalysisImpl() {
-    this.recordCount      = 0;
-    this.recordIdCount    = 0;
-    this.dataSourceCount  = 0;
-    this.entityTypeCount  = 0;
+    this(SzRecordIdTracker.DEFAULT_MEMORY_BUDGET);
+  }
+
+  /**
+   * Constructs with the specified memory budget in bytes for exactly counting
+   * duplicate record ID's.  Once the budget is exhausted the duplicate counts
+   * are estimated.
+   *
+   * @param duplicateMemoryBudget The memory budget in bytes for exactly
+   *                              counting duplicate record ID's.
+   */
+  public SzBulkDataAnalysisImpl(long duplicateMemoryBudget) {
+    this.recordCount              = 0;
+    this.recordIdCount            = 0;
+    this.dataSourceCount          = 0;
+    this.entityTypeCount          = 0;
+    this.duplicateRecordIdCount   = 0;
+    this.duplicateCountEstimated  = false;
+    this.duplicateCountsStale     = false;
+    this.samplingMode             = null;
+    this.estimatedRecordCount     = null;
+    this.throughput               = null;
+    this.recordIdTracker = new SzRecordIdTracker(duplicateMemoryBudget);
     this.analysisByDataSource = new HashMap<>();
     this.analysisByEntityType = new HashMap<>();
     this.status = NOT_STARTED;
@@ -332,6 +387,179 @@ public class SzBulkDataAnalysisImpl implements SzBulkDataAnalysis {
     return this.entityTypeCount;
   }
 
+  /**
+   * Gets the number of records in the bulk data set that have a
+   * <tt>"RECORD_ID"</tt> that duplicates the <tt>"RECORD_ID"</tt> of an
+   * earlier record with the same data source.  This is an estimate if {@link
+   * #isDuplicateCountEstimated()} returns <tt>true</tt>.
+   *
+   * @return The number of records in the bulk data set that have a duplicate
+   *         <tt>"RECORD_ID"</tt> for their data source.
+   */
+  @Override
+  public int getDuplicateRecordIdCount() {
+    this.updateDuplicateCounts();
+    return this.duplicateRecordIdCount;
+  }
+
+  /**
+   * Sets the number of records in the bulk data set that have a
+   * <tt>"RECORD_ID"</tt> that duplicates the <tt>"RECORD_ID"</tt> of an
+   * earlier record with the same data source.
+   *
+   * @param duplicateCount The number of records in the bulk data set that
+   *                       have a duplicate <tt>"RECORD_ID"</tt> for their
+   *                       data source.
+   */
+  @Override
+  public void setDuplicateRecordIdCount(int duplicateCount) {
+    this.duplicateRecordIdCount = duplicateCount;
+  }
+
+  /**
+   * Checks if the {@linkplain #getDuplicateRecordIdCount() duplicate record
+   * ID count} is an estimate because the duplicate count for at least one
+   * data source is an estimate.
+   *
+   * @return <tt>true</tt> if the duplicate record ID count is an estimate,
+   *         otherwise <tt>false</tt>.
+   */
+  @Override
+  public boolean isDuplicateCountEstimated() {
+    this.updateDuplicateCounts();
+    return this.duplicateCountEstimated;
+  }
+
+  /**
+   * Sets whether or not the {@linkplain #getDuplicateRecordIdCount()
+   * duplicate record ID count} is an estimate.
+   *
+   * @param estimated <tt>true</tt> if the duplicate record ID count is an
+   *                  estimate, otherwise <tt>false</tt>.
+   */
+  @Override
+  public void setDuplicateCountEstimated(boolean estimated) {
+    this.duplicateCountEstimated = estimated;
+  }
+
+  /**
+   * Gets the {@link SzSamplingMode} describing how the analyzed records were
+   * sampled from the bulk data.  This returns <tt>null</tt> if all the records
+   * were analyzed, in which case the counts are exact.
+   *
+   * @return The {@link SzSamplingMode} describing how the records were
+   *         sampled, or <tt>null</tt> if the records were not sampled.
+   */
+  @JsonInclude(NON_NULL)
+  @Override
+  public SzSamplingMode getSamplingMode() {
+    return this.samplingMode;
+  }
+
+  /**
+   * Sets the {@link SzSamplingMode} describing how the analyzed records were
+   * sampled from the bulk data.
+   *
+   * @param samplingMode The {@link SzSamplingMode} describing how the records
+   *                     were sampled, or <tt>null</tt> if the records were
+   *                     not sampled.
+   */
+  @Override
+  public void setSamplingMode(SzSamplingMode samplingMode) {
+    this.samplingMode = samplingMode;
+  }
+
+  /**
+   * Gets the {@link SzCountEstimate} describing the total number of records
+   * in the bulk data as extrapolated from the sample.  This returns
+   * <tt>null</tt> if the records were not sampled.
+   *
+   * @return The {@link SzCountEstimate} describing the extrapolated total
+   *         record count, or <tt>null</tt> if the records were not sampled.
+   */
+  @JsonInclude(NON_NULL)
+  @Override
+  public SzCountEstimate getEstimatedRecordCount() {
+    return this.estimatedRecordCount;
+  }
+
+  /**
+   * Sets the {@link SzCountEstimate} describing the total number of records
+   * in the bulk data as extrapolated from the sample.
+   *
+   * @param estimate The {@link SzCountEstimate} describing the extrapolated
+   *                 total record count, or <tt>null</tt> if the records were
+   *                 not sampled.
+   */
+  @Override
+  public void setEstimatedRecordCount(SzCountEstimate estimate) {
+    this.estimatedRecordCount = estimate;
+  }
+
+  /**
+   * Gets the {@link SzBulkDataThroughput} describing the number of compressed
+   * and uncompressed bytes that were processed and the corresponding
+   * throughput.  This returns <tt>null</tt> if the processing has not
+   * completed.
+   *
+   * @return The {@link SzBulkDataThroughput} describing the bytes processed,
+   *         or <tt>null</tt> if the processing has not completed.
+   */
+  @JsonInclude(NON_NULL)
+  @Override
+  public SzBulkDataThroughput getThroughput() {
+    return this.throughput;
+  }
+
+  /**
+   * Sets the {@link SzBulkDataThroughput} describing the number of compressed
+   * and uncompressed bytes that were processed and the corresponding
+   * throughput.
+   *
+   * @param throughput The {@link SzBulkDataThroughput} describing the bytes
+   *                   processed, or <tt>null</tt> if the processing has not
+   *                   completed.
+   */
+  @Override
+  public void setThroughput(SzBulkDataThroughput throughput) {
+    this.throughput = throughput;
+  }
+
+  /**
+   * Updates the distinct and duplicate record ID counts for each data source
+   * and the overall duplicate record ID count from the {@link
+   * SzRecordIdTracker} if record ID's have been tracked since the last
+   * update.  The counts are updated lazily since computing an estimate
+   * requires a pass over the estimation registers.
+   */
+  private void updateDuplicateCounts() {
+    if (!this.duplicateCountsStale) return;
+    int     duplicateCount  = 0;
+    boolean estimated       = false;
+    for (String dataSource : this.recordIdTracker.getDataSources()) {
+      SzDataSourceRecordAnalysis analysis
+          = this.analysisByDataSource.get(dataSource);
+      if (analysis == null) continue;
+
+      int recordIdCount = analysis.getRecordsWithRecordIdCount();
+      long distinct = this.recordIdTracker.getDistinctCount(dataSource);
+
+      // an estimate can exceed the number of record ID's seen
+      int distinctCount = (int) Math.min(distinct, (long) recordIdCount);
+
+      analysis.setDistinctRecordIdCount(distinctCount);
+      analysis.setDuplicateRecordIdCount(recordIdCount - distinctCount);
+      analysis.setDuplicateCountEstimated(
+          this.recordIdTracker.isEstimated(dataSource));
+
+      duplicateCount += (recordIdCount - distinctCount);
+      estimated = estimated || analysis.isDuplicateCountEstimated();
+    }
+    this.duplicateRecordIdCount   = duplicateCount;
+    this.duplicateCountEstimated  = estimated;
+    this.duplicateCountsStale     = false;
+  }
+
   /**
    * Gets the list of {@link SzDataSourceRecordAnalysis} instances for the
    * bulk data describing the statistics by data source (including those with
@@ -343,6 +571,7 @@ public class SzBulkDataAnalysisImpl implements SzBulkDataAnalysis {
   @JsonInclude(NON_EMPTY)
   @Override
   public List<SzDataSourceRecordAnalysis> getAnalysisByDataSource() {
+    this.updateDuplicateCounts();
     List<SzDataSourceRecordAnalysis> list
         = new ArrayList<>(this.analysisByDataSource.values());
     list.sort((a1, a2) -> {
@@ -389,6 +618,15 @@ public class SzBulkDataAnalysisImpl implements SzBulkDataAnalysis {
         .sum();
     this.setRecordsWithRecordIdCount(recordIdCount);
 
+    // count the records having a duplicate record ID
+    int duplicateCount = analysisList.stream()
+        .mapToInt(SzDataSourceRecordAnalysis::getDuplicateRecordIdCount)
+        .sum();
+    this.setDuplicateRecordIdCount(duplicateCount);
+    this.setDuplicateCountEstimated(analysisList.stream().anyMatch(
+        SzDataSourceRecordAnalysis::isDuplicateCountEstimated));
+    this.duplicateCountsStale = false;
+
     // clear the current analysis map and repopulate it
     this.analysisByDataSource.clear();
     for (SzDataSourceRecordAnalysis analysis : analysisList) {
@@ -476,6 +714,16 @@ public class SzBulkDataAnalysisImpl implements SzBulkDataAnalysis {
   public void trackRecord(String dataSource, String entityType, String recordId)
   {
     this.trackRecords(1, dataSource, entityType, (recordId != null));
+
+    // check if we have a record ID to check for duplicates
+    if (recordId != null) {
+      // normalize the data source the same way as when tracking records
+      if (dataSource != null && dataSource.trim().length() == 0) {
+        dataSource = null;
+      }
+      this.recordIdTracker.trackRecordId(dataSource, recordId);
+      this.duplicateCountsStale = true;
+    }
   }
 
   /**
@@ -557,4 +805,55 @@ public class SzBulkDataAnalysisImpl implements SzBulkDataAnalysis {
     if (this.status == NOT_STARTED) this.status = IN_PROGRESS;
   }
 
+  /**
+   * Utility method for extrapolating the record counts for the entire bulk
+   * data after the records that have been tracked were sampled using the
+   * specified {@link SzSamplingMode}.  The estimated record count for each
+   * data source is its proportion of the sample applied to the total record
+   * count, with a normal-approximation confidence interval for the
+   * proportion applied to the bounds of the total record count.
+   *
+   * @param samplingMode The {@link SzSamplingMode} with which the records
+   *                     were sampled.
+   * @param totalRecordCount The {@link SzCountEstimate} describing the exact
+   *                         or estimated total number of records in the
+   *                         bulk data.
+   */
+  @Override
+  public void extrapolateFromSample(SzSamplingMode  samplingMode,
+                                    SzCountEstimate totalRecordCount)
+  {
+    this.samplingMode         = samplingMode;
+    this.estimatedRecordCount = totalRecordCount;
+
+    int sampleCount = this.recordCount;
+    for (SzDataSourceRecordAnalysis analysis
+        : this.analysisByDataSource.values())
+    {
+      int count = analysis.getRecordCount();
+      if (sampleCount == 0 || count == 0) {
+        analysis.setEstimatedRecordCount(null);
+        continue;
+      }
+      double proportion = ((double) count) / ((double) sampleCount);
+      double margin = SzCountEstimate.SAMPLE_CONFIDENCE_Z
+          * Math.sqrt(proportion * (1.0 - proportion) / sampleCount);
+
+      long estimate = Math.round(proportion * totalRecordCount.getEstimate());
+      long lower = (long) Math.floor(
+          Math.max(0.0, proportion - margin) * totalRecordCount.getLowerBound());
+      long upper = (long) Math.ceil(
+          Math.min(1.0, proportion + margin) * totalRecordCount.getUpperBound());
+
+      // the sampled records are known to exist
+      estimate  = Math.max(estimate, count);
+      lower     = Math.max(lower, count);
+      upper     = Math.max(upper, estimate);
+      lower     = Math.min(lower, estimate);
+
+      analysis.setEstimatedRecordCount(SzCountEstimate.FACTORY.create(
+          estimate, lower, upper, totalRecordCount.getConfidenceLevel()));
+    }
+  }
+
 }
@@ -0,0 +1,145 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzBulkDataCompression;
+import com.senzing.api.model.SzBulkDataThroughput;
+
+/**
+ * Provides a default implementation of {@link SzBulkDataThroughput}.
+ */
+@JsonDeserialize
+public class SzBulkDataThroughputImpl implements SzBulkDataThroughput {
+  /**
+   * The compression of the bulk data.
+   */
+  private SzBulkDataCompression compression;
+
+  /**
+   * The number of compressed bytes.
+   */
+  private long compressedByteCount;
+
+  /**
+   * The number of uncompressed bytes.
+   */
+  private long uncompressedByteCount;
+
+  /**
+   * The number of milliseconds elapsed.
+   */
+  private long elapsedMillis;
+
+  /**
+   * The number of compressed bytes per second.
+   */
+  private long compressedBytesPerSecond;
+
+  /**
+   * The number of uncompressed bytes per second.
+   */
+  private long uncompressedBytesPerSecond;
+
+  /**
+   * Default constructor.
+   */
+  public SzBulkDataThroughputImpl() {
+    this(SzBulkDataCompression.NONE, 0L, 0L, 0L);
+  }
+
+  /**
+   * Constructs with the specified parameters, computing the throughput from
+   * the byte counts and the elapsed time.
+   *
+   * @param compression The {@link SzBulkDataCompression} for the bulk data.
+   * @param compressedByteCount The number of compressed bytes.
+   * @param uncompressedByteCount The number of uncompressed bytes.
+   * @param elapsedMillis The number of milliseconds elapsed.
+   */
+  public SzBulkDataThroughputImpl(SzBulkDataCompression compression,
+                                  long                  compressedByteCount,
+                                  long                  uncompressedByteCount,
+                                  long                  elapsedMillis)
+  {
+    this.compression            = compression;
+    this.compressedByteCount    = compressedByteCount;
+    this.uncompressedByteCount  = uncompressedByteCount;
+    this.elapsedMillis          = elapsedMillis;
+
+    // avoid dividing by zero for very fast operations
+    long millis = Math.max(1L, elapsedMillis);
+    this.compressedBytesPerSecond   = (compressedByteCount * 1000L) / millis;
+    this.uncompressedBytesPerSecond = (uncompressedByteCount * 1000L) / millis;
+  }
+
+  @Override
+  public SzBulkDataCompression getCompression() {
+    return this.compression;
+  }
+
+  @Override
+  public void setCompression(SzBulkDataCompression compression) {
+    this.compression = compression;
+  }
+
+  @Override
+  public long getCompressedByteCount() {
+    return this.compressedByteCount;
+  }
+
+  @Override
+  public void setCompressedByteCount(long byteCount) {
+    this.compressedByteCount = byteCount;
+  }
+
+  @Override
+  public long getUncompressedByteCount() {
+    return this.uncompressedByteCount;
+  }
+
+  @Override
+  public void setUncompressedByteCount(long byteCount) {
+    this.uncompressedByteCount = byteCount;
+  }
+
+  @Override
+  public long getElapsedMillis() {
+    return this.elapsedMillis;
+  }
+
+  @Override
+  public void setElapsedMillis(long elapsedMillis) {
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  @Override
+  public long getCompressedBytesPerSecond() {
+    return this.compressedBytesPerSecond;
+  }
+
+  @Override
+  public void setCompressedBytesPerSecond(long bytesPerSecond) {
+    this.compressedBytesPerSecond = bytesPerSecond;
+  }
+
+  @Override
+  public long getUncompressedBytesPerSecond() {
+    return this.uncompressedBytesPerSecond;
+  }
+
+  @Override
+  public void setUncompressedBytesPerSecond(long bytesPerSecond) {
+    this.uncompressedBytesPerSecond = bytesPerSecond;
+  }
+
+  @Override
+  public String toString() {
+    return "SzBulkDataThroughput{" +
+        "compression=" + compression +
+        ", compressedByteCount=" + compressedByteCount +
+        ", uncompressedByteCount=" + uncompressedByteCount +
+        ", elapsedMillis=" + elapsedMillis +
+        ", compressedBytesPerSecond=" + compressedBytesPerSecond +
+        ", uncompressedBytesPerSecond=" + uncompressedBytesPerSecond +
+        '}';
+  }
+}
@@ -1,11 +1,13 @@
 package com.senzing.api.model.impl;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.senzing.api.model.*;
 import com.senzing.g2.engine.G2Fallible;
 
 import java.util.*;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 import static com.senzing.api.model.SzBulkDataStatus.IN_PROGRESS;
 import static com.senzing.api.model.SzBulkDataStatus.NOT_STARTED;
 
@@ -36,6 +38,31 @@ public class SzBulkLoadResultImpl extends SzBaseBulkLoadResultImpl
    */
   private int missingEntityTypeCount;
 
+  /**
+   * The number of records that were skipped because they are unchanged.
+   */
+  private int skippedRecordCount;
+
+  /**
+   * The throughput for the processing once completed.
+   */
+  private SzBulkDataThroughput throughput;
+
+  /**
+   * The concurrency for the processing if loaded concurrently.
+   */
+  private SzLoadConcurrency concurrency;
+
+  /**
+   * The affinity benchmark if the affinity was benchmarked.
+   */
+  private List<SzAffinityBenchmark> affinityBenchmark;
+
+  /**
+   * The retry statistics by error code if any records were retried.
+   */
+  private List<SzLoadRetryStats> retryStats;
+
   /**
    * The status of the bulk load.
    */
@@ -57,6 +84,11 @@ public class SzBulkLoadResultImpl extends SzBaseBulkLoadResultImpl
   public SzBulkLoadResultImpl() {
     this.missingDataSourceCount = 0;
     this.missingEntityTypeCount = 0;
+    this.skippedRecordCount = 0;
+    this.throughput = null;
+    this.concurrency = null;
+    this.affinityBenchmark = null;
+    this.retryStats = null;
     this.status = NOT_STARTED;
     this.resultsByDataSource = new HashMap<>();
     this.resultsByEntityType = new HashMap<>();
@@ -180,6 +212,157 @@ public class SzBulkLoadResultImpl extends SzBaseBulkLoadResultImpl
     return ++this.missingEntityTypeCount;
   }
 
+  /**
+   * Return the number of records that were skipped rather than loaded because
+   * they are unchanged since they were last loaded.
+   *
+   * @return The number of records that were skipped because they are
+   *         unchanged since they were last loaded.
+   */
+  public int getSkippedRecordCount() {
+    return this.skippedRecordCount;
+  }
+
+  /**
+   * Sets the number of records that were skipped rather than loaded because
+   * they are unchanged since they were last loaded.
+   *
+   * @param recordCount The number of records that were skipped because they
+   *                    are unchanged since they were last loaded.
+   */
+  protected void setSkippedRecordCount(int recordCount) {
+    this.skippedRecordCount = recordCount;
+  }
+
+  /**
+   * Increments the number of records that were skipped rather than loaded
+   * because they are unchanged since they were last loaded.
+   *
+   * @return The incremented count of skipped records.
+   */
+  protected int incrementSkippedRecordCount() {
+    return ++this.skippedRecordCount;
+  }
+
+  /**
+   * Gets the {@link SzBulkDataThroughput} describing the number of compressed
+   * and uncompressed bytes that were processed and the corresponding
+   * throughput.  This returns <tt>null</tt> if the processing has not
+   * completed.
+   *
+   * @return The {@link SzBulkDataThroughput} describing the bytes processed,
+   *         or <tt>null</tt> if the processing has not completed.
+   */
+  @JsonInclude(NON_NULL)
+  @Override
+  public SzBulkDataThroughput getThroughput() {
+    return this.throughput;
+  }
+
+  /**
+   * Sets the {@link SzBulkDataThroughput} describing the number of compressed
+   * and uncompressed bytes that were processed and the corresponding
+   * throughput.
+   *
+   * @param throughput The {@link SzBulkDataThroughput} describing the bytes
+   *                   processed, or <tt>null</tt> if the processing has not
+   *                   completed.
+   */
+  @Override
+  public void setThroughput(SzBulkDataThroughput throughput) {
+    this.throughput = throughput;
+  }
+
+  /**
+   * Gets the {@link SzLoadConcurrency} describing how the number of records
+   * in flight was adapted during the bulk load.  This returns <tt>null</tt>
+   * if the records were not loaded concurrently.
+   *
+   * @return The {@link SzLoadConcurrency} describing the number of records
+   *         in flight, or <tt>null</tt> if the records were not loaded
+   *         concurrently.
+   */
+  @JsonInclude(NON_NULL)
+  @Override
+  public SzLoadConcurrency getConcurrency() {
+    return this.concurrency;
+  }
+
+  /**
+   * Sets the {@link SzLoadConcurrency} describing how the number of records
+   * in flight was adapted during the bulk load.
+   *
+   * @param concurrency The {@link SzLoadConcurrency} describing the number
+   *                    of records in flight, or <tt>null</tt> if the records
+   *                    were not loaded concurrently.
+   */
+  @Override
+  public void setConcurrency(SzLoadConcurrency concurrency) {
+    this.concurrency = concurrency;
+  }
+
+  /**
+   * Gets the {@link List} of {@link SzAffinityBenchmark} instances comparing
+   * the blocks of records that were loaded with and without scheduling the
+   * records by their affinity key.  This returns <tt>null</tt> if the
+   * affinity was not benchmarked.
+   *
+   * @return The {@link List} of {@link SzAffinityBenchmark} instances, or
+   *         <tt>null</tt> if the affinity was not benchmarked.
+   */
+  @JsonInclude(NON_NULL)
+  @Override
+  public List<SzAffinityBenchmark> getAffinityBenchmark() {
+    return (this.affinityBenchmark == null) ? null
+        : Collections.unmodifiableList(this.affinityBenchmark);
+  }
+
+  /**
+   * Sets the {@link List} of {@link SzAffinityBenchmark} instances comparing
+   * the blocks of records that were loaded with and without scheduling the
+   * records by their affinity key.
+   *
+   * @param benchmark The {@link List} of {@link SzAffinityBenchmark}
+   *                  instances, or <tt>null</tt> if the affinity was not
+   *                  benchmarked.
+   */
+  @Override
+  public void setAffinityBenchmark(List<SzAffinityBenchmark> benchmark) {
+    this.affinityBenchmark = (benchmark == null) ? null
+        : new ArrayList<>(benchmark);
+  }
+
+  /**
+   * Gets the {@link List} of {@link SzLoadRetryStats} instances describing
+   * the retries of records that failed with transient engine errors and the
+   * eventual outcomes of those records by error code.  This returns
+   * <tt>null</tt> if no records were retried.
+   *
+   * @return The {@link List} of {@link SzLoadRetryStats} instances, or
+   *         <tt>null</tt> if no records were retried.
+   */
+  @JsonInclude(NON_NULL)
+  @Override
+  public List<SzLoadRetryStats> getRetryStats() {
+    return (this.retryStats == null) ? null
+        : Collections.unmodifiableList(this.retryStats);
+  }
+
+  /**
+   * Sets the {@link List} of {@link SzLoadRetryStats} instances describing
+   * the retries of records that failed with transient engine errors and the
+   * eventual outcomes of those records by error code.
+   *
+   * @param retryStats The {@link List} of {@link SzLoadRetryStats}
+   *                   instances, or <tt>null</tt> if no records were
+   *                   retried.
+   */
+  @Override
+  public void setRetryStats(List<SzLoadRetryStats> retryStats) {
+    this.retryStats = (retryStats == null) ? null
+        : new ArrayList<>(retryStats);
+  }
+
   /**
    * Internal method to help sort instances of {@link SzBaseBulkLoadResult}
    */
@@ -419,6 +602,34 @@ public class SzBulkLoadResultImpl extends SzBaseBulkLoadResultImpl
     if (this.status == NOT_STARTED) this.status = IN_PROGRESS;
   }
 
+  /**
+   * Utility method for tracking a record with the specified non-null data
+   * source that was skipped rather than loaded because it is unchanged since
+   * it was last loaded.
+   *
+   * @param dataSource The non-null data source for the record.
+   * @param entityType The non-null entity type for the record.
+   * @throws NullPointerException If the specified parameter is <tt>null</tt>.
+   */
+  public void trackSkippedRecord(String dataSource, String entityType) {
+    Objects.requireNonNull(dataSource, "The data source cannot be null");
+    Objects.requireNonNull(entityType, "The entity type cannot be null");
+
+    // get the results for that data source and entity type
+    SzDataSourceBulkLoadResult dsrcResult
+        = this.getDataSourceResult(dataSource);
+    SzEntityTypeBulkLoadResult etypeResult
+        = this.getEntityTypeResult(entityType);
+
+    // increment the record counts
+    dsrcResult.incrementRecordCount();
+    etypeResult.incrementRecordCount();
+    this.incrementRecordCount();
+
+    this.incrementSkippedRecordCount();
+    if (this.status == NOT_STARTED) this.status = IN_PROGRESS;
+  }
+
   /**
    * Tracks the occurrence of an incomplete record.
    */
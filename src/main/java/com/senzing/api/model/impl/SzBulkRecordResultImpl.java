@@ -0,0 +1,156 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzBulkRecordResult;
+import com.senzing.api.model.SzBulkRecordStatus;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Provides the default implementation of {@link SzBulkRecordResult}.
+ */
+@JsonDeserialize
+public class SzBulkRecordResultImpl implements SzBulkRecordResult {
+  /**
+   * The data source code for the record.
+   */
+  private String dataSource;
+
+  /**
+   * The record ID for the record.
+   */
+  private String recordId;
+
+  /**
+   * The status describing the outcome for the record.
+   */
+  private SzBulkRecordStatus status;
+
+  /**
+   * The return code for the record.
+   */
+  private int returnCode;
+
+  /**
+   * The error code if the record failed to load.
+   */
+  private String errorCode;
+
+  /**
+   * The error message if the record was not loaded.
+   */
+  private String errorMessage;
+
+  /**
+   * The entity ID's for the affected entities.
+   */
+  private Set<Long> affectedEntities;
+
+  /**
+   * Default constructor.
+   */
+  public SzBulkRecordResultImpl() {
+    this.dataSource       = null;
+    this.recordId         = null;
+    this.status           = null;
+    this.returnCode       = 0;
+    this.errorCode        = null;
+    this.errorMessage     = null;
+    this.affectedEntities = null;
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public String getDataSource() {
+    return this.dataSource;
+  }
+
+  @Override
+  public void setDataSource(String dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public String getRecordId() {
+    return this.recordId;
+  }
+
+  @Override
+  public void setRecordId(String recordId) {
+    this.recordId = recordId;
+  }
+
+  @Override
+  public SzBulkRecordStatus getStatus() {
+    return this.status;
+  }
+
+  @Override
+  public void setStatus(SzBulkRecordStatus status) {
+    this.status = status;
+  }
+
+  @Override
+  public int getReturnCode() {
+    return this.returnCode;
+  }
+
+  @Override
+  public void setReturnCode(int returnCode) {
+    this.returnCode = returnCode;
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public String getErrorCode() {
+    return this.errorCode;
+  }
+
+  @Override
+  public void setErrorCode(String errorCode) {
+    this.errorCode = errorCode;
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public String getErrorMessage() {
+    return this.errorMessage;
+  }
+
+  @Override
+  public void setErrorMessage(String errorMessage) {
+    this.errorMessage = errorMessage;
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public Set<Long> getAffectedEntities() {
+    return (this.affectedEntities == null) ? null
+        : Collections.unmodifiableSet(this.affectedEntities);
+  }
+
+  @Override
+  public void setAffectedEntities(Set<Long> affectedEntities) {
+    this.affectedEntities = (affectedEntities == null) ? null
+        : new LinkedHashSet<>(affectedEntities);
+  }
+
+  @Override
+  public String toString() {
+    return "SzBulkRecordResult{" +
+        "dataSource='" + dataSource + '\'' +
+        ", recordId='" + recordId + '\'' +
+        ", status=" + status +
+        ", returnCode=" + returnCode +
+        ", errorCode='" + errorCode + '\'' +
+        ", errorMessage='" + errorMessage + '\'' +
+        ", affectedEntities=" + affectedEntities +
+        '}';
+  }
+}
@@ -0,0 +1,212 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzChangeFeedStats;
+
+/**
+ * Provides the default implementation of {@link SzChangeFeedStats}.
+ */
+@JsonDeserialize
+public class SzChangeFeedStatsImpl implements SzChangeFeedStats {
+  /**
+   * The number of info messages retained in the ring buffer of the change feed.
+   */
+  private int capacity;
+
+  /**
+   * The sequence number of the most recently published info message, or zero
+   * (0) if none.
+   */
+  private long lastSequence;
+
+  /**
+   * The number of subscribers that are currently connected to the change feed.
+   */
+  private int subscriberCount;
+
+  /**
+   * The number of info messages that have been published to the change feed
+   * since the server started.
+   */
+  private long publishedCount;
+
+  /**
+   * The number of info messages that have been delivered to subscribers since
+   * the server started.
+   */
+  private long deliveredCount;
+
+  /**
+   * The number of subscribers that have been evicted for falling too far behind
+   * since the server started.
+   */
+  private long evictedCount;
+
+  /**
+   * Default constructor.
+   */
+  public SzChangeFeedStatsImpl() {
+    this.capacity        = 0;
+    this.lastSequence    = 0L;
+    this.subscriberCount = 0;
+    this.publishedCount  = 0L;
+    this.deliveredCount  = 0L;
+    this.evictedCount    = 0L;
+  }
+
+  /**
+   * Gets the number of info messages retained in the ring buffer of the change
+   * feed.
+   *
+   * @return The number of info messages retained in the ring buffer of the
+   *         change feed.
+   */
+  @Override
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Sets the number of info messages retained in the ring buffer of the change
+   * feed.
+   *
+   * @param capacity The number of info messages retained in the ring buffer of
+   *                 the change feed.
+   */
+  @Override
+  public void setCapacity(int capacity) {
+    this.capacity = capacity;
+  }
+
+  /**
+   * Gets the sequence number of the most recently published info message, or
+   * zero (0) if none.
+   *
+   * @return The sequence number of the most recently published info message, or
+   *         zero (0) if none.
+   */
+  @Override
+  public long getLastSequence() {
+    return this.lastSequence;
+  }
+
+  /**
+   * Sets the sequence number of the most recently published info message, or
+   * zero (0) if none.
+   *
+   * @param sequence The sequence number of the most recently published info
+   *                 message, or zero (0) if none.
+   */
+  @Override
+  public void setLastSequence(long sequence) {
+    this.lastSequence = sequence;
+  }
+
+  /**
+   * Gets the number of subscribers that are currently connected to the change
+   * feed.
+   *
+   * @return The number of subscribers that are currently connected to the
+   *         change feed.
+   */
+  @Override
+  public int getSubscriberCount() {
+    return this.subscriberCount;
+  }
+
+  /**
+   * Sets the number of subscribers that are currently connected to the change
+   * feed.
+   *
+   * @param count The number of subscribers that are currently connected to the
+   *              change feed.
+   */
+  @Override
+  public void setSubscriberCount(int count) {
+    this.subscriberCount = count;
+  }
+
+  /**
+   * Gets the number of info messages that have been published to the change
+   * feed since the server started.
+   *
+   * @return The number of info messages that have been published to the change
+   *         feed since the server started.
+   */
+  @Override
+  public long getPublishedCount() {
+    return this.publishedCount;
+  }
+
+  /**
+   * Sets the number of info messages that have been published to the change
+   * feed since the server started.
+   *
+   * @param count The number of info messages that have been published to the
+   *              change feed since the server started.
+   */
+  @Override
+  public void setPublishedCount(long count) {
+    this.publishedCount = count;
+  }
+
+  /**
+   * Gets the number of info messages that have been delivered to subscribers
+   * since the server started.
+   *
+   * @return The number of info messages that have been delivered to subscribers
+   *         since the server started.
+   */
+  @Override
+  public long getDeliveredCount() {
+    return this.deliveredCount;
+  }
+
+  /**
+   * Sets the number of info messages that have been delivered to subscribers
+   * since the server started.
+   *
+   * @param count The number of info messages that have been delivered to
+   *              subscribers since the server started.
+   */
+  @Override
+  public void setDeliveredCount(long count) {
+    this.deliveredCount = count;
+  }
+
+  /**
+   * Gets the number of subscribers that have been evicted for falling too far
+   * behind since the server started.
+   *
+   * @return The number of subscribers that have been evicted for falling too
+   *         far behind since the server started.
+   */
+  @Override
+  public long getEvictedCount() {
+    return this.evictedCount;
+  }
+
+  /**
+   * Sets the number of subscribers that have been evicted for falling too far
+   * behind since the server started.
+   *
+   * @param count The number of subscribers that have been evicted for falling
+   *              too far behind since the server started.
+   */
+  @Override
+  public void setEvictedCount(long count) {
+    this.evictedCount = count;
+  }
+
+  @Override
+  public String toString() {
+    return "SzChangeFeedStats{" +
+        "capacity=" + capacity +
+        ", lastSequence=" + lastSequence +
+        ", subscriberCount=" + subscriberCount +
+        ", publishedCount=" + publishedCount +
+        ", deliveredCount=" + deliveredCount +
+        ", evictedCount=" + evictedCount +
+        '}';
+  }
+}
@@ -0,0 +1,140 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzConcurrencySample;
+
+/**
+ * Provides the default implementation of {@link SzConcurrencySample}.
+ */
+@JsonDeserialize
+public class SzConcurrencySampleImpl implements SzConcurrencySample {
+  /**
+   * The number of milliseconds since the start of the bulk load.
+   */
+  private long elapsedMillis;
+
+  /**
+   * The number of records allowed in flight after the adjustment.
+   */
+  private int concurrency;
+
+  /**
+   * The average number of milliseconds to load each record.
+   */
+  private double averageLatencyMillis;
+
+  /**
+   * The fraction of the records that failed to load.
+   */
+  private double failureRate;
+
+  /**
+   * Default constructor.
+   */
+  public SzConcurrencySampleImpl() {
+    this.elapsedMillis        = 0L;
+    this.concurrency          = 0;
+    this.averageLatencyMillis = 0.0;
+    this.failureRate          = 0.0;
+  }
+
+  /**
+   * Gets the number of milliseconds since the start of the bulk load when
+   * the adjustment was made.
+   *
+   * @return The number of milliseconds since the start of the bulk load when
+   *         the adjustment was made.
+   */
+  @Override
+  public long getElapsedMillis() {
+    return this.elapsedMillis;
+  }
+
+  /**
+   * Sets the number of milliseconds since the start of the bulk load when
+   * the adjustment was made.
+   *
+   * @param elapsedMillis The number of milliseconds since the start of the
+   *                      bulk load when the adjustment was made.
+   */
+  @Override
+  public void setElapsedMillis(long elapsedMillis) {
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  /**
+   * Gets the number of records allowed in flight after the adjustment.
+   *
+   * @return The number of records allowed in flight after the adjustment.
+   */
+  @Override
+  public int getConcurrency() {
+    return this.concurrency;
+  }
+
+  /**
+   * Sets the number of records allowed in flight after the adjustment.
+   *
+   * @param concurrency The number of records allowed in flight after the
+   *                    adjustment.
+   */
+  @Override
+  public void setConcurrency(int concurrency) {
+    this.concurrency = concurrency;
+  }
+
+  /**
+   * Gets the average number of milliseconds to load each record over the
+   * window of records that led to the adjustment.
+   *
+   * @return The average number of milliseconds to load each record.
+   */
+  @Override
+  public double getAverageLatencyMillis() {
+    return this.averageLatencyMillis;
+  }
+
+  /**
+   * Sets the average number of milliseconds to load each record over the
+   * window of records that led to the adjustment.
+   *
+   * @param latencyMillis The average number of milliseconds to load each
+   *                      record.
+   */
+  @Override
+  public void setAverageLatencyMillis(double latencyMillis) {
+    this.averageLatencyMillis = latencyMillis;
+  }
+
+  /**
+   * Gets the fraction of the records in the window of records that led to
+   * the adjustment that failed to load.
+   *
+   * @return The fraction of the records that failed to load.
+   */
+  @Override
+  public double getFailureRate() {
+    return this.failureRate;
+  }
+
+  /**
+   * Sets the fraction of the records in the window of records that led to
+   * the adjustment that failed to load.
+   *
+   * @param failureRate The fraction of the records that failed to load.
+   */
+  @Override
+  public void setFailureRate(double failureRate) {
+    this.failureRate = failureRate;
+  }
+
+  @Override
+  public String toString() {
+    return "SzConcurrencySample{" +
+        "elapsedMillis=" + elapsedMillis +
+        ", concurrency=" + concurrency +
+        ", averageLatencyMillis=" + averageLatencyMillis +
+        ", failureRate=" + failureRate +
+        '}';
+  }
+}
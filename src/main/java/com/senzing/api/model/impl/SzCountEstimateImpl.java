@@ -0,0 +1,106 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzCountEstimate;
+
+/**
+ * Provides a default implementation of {@link SzCountEstimate}.
+ */
+@JsonDeserialize
+public class SzCountEstimateImpl implements SzCountEstimate {
+  /**
+   * The estimated count.
+   */
+  private long estimate;
+
+  /**
+   * The lower bound of the confidence interval.
+   */
+  private long lowerBound;
+
+  /**
+   * The upper bound of the confidence interval.
+   */
+  private long upperBound;
+
+  /**
+   * The confidence level of the confidence interval.
+   */
+  private double confidenceLevel;
+
+  /**
+   * Default constructor.
+   */
+  public SzCountEstimateImpl() {
+    this(0L, 0L, 0L, 0.0);
+  }
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param estimate The estimated count.
+   * @param lowerBound The lower bound of the confidence interval.
+   * @param upperBound The upper bound of the confidence interval.
+   * @param confidenceLevel The confidence level of the confidence interval.
+   */
+  public SzCountEstimateImpl(long   estimate,
+                             long   lowerBound,
+                             long   upperBound,
+                             double confidenceLevel)
+  {
+    this.estimate         = estimate;
+    this.lowerBound       = lowerBound;
+    this.upperBound       = upperBound;
+    this.confidenceLevel  = confidenceLevel;
+  }
+
+  @Override
+  public long getEstimate() {
+    return this.estimate;
+  }
+
+  @Override
+  public void setEstimate(long estimate) {
+    this.estimate = estimate;
+  }
+
+  @Override
+  public long getLowerBound() {
+    return this.lowerBound;
+  }
+
+  @Override
+  public void setLowerBound(long lowerBound) {
+    this.lowerBound = lowerBound;
+  }
+
+  @Override
+  public long getUpperBound() {
+    return this.upperBound;
+  }
+
+  @Override
+  public void setUpperBound(long upperBound) {
+    this.upperBound = upperBound;
+  }
+
+  @Override
+  public double getConfidenceLevel() {
+    return this.confidenceLevel;
+  }
+
+  @Override
+  public void setConfidenceLevel(double confidenceLevel) {
+    this.confidenceLevel = confidenceLevel;
+  }
+
+  @Override
+  public String toString() {
+    return "SzCountEstimate{" +
+        "estimate=" + estimate +
+        ", lowerBound=" + lowerBound +
+        ", upperBound=" + upperBound +
+        ", confidenceLevel=" + confidenceLevel +
+        '}';
+  }
+}
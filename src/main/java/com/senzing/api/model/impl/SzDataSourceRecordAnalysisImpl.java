@@ -1,8 +1,12 @@
 package com.senzing.api.model.impl;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzCountEstimate;
 import com.senzing.api.model.SzDataSourceRecordAnalysis;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
 /**
  * Provides a default implementation of {@link SzDataSourceRecordAnalysis}.
  */
@@ -32,6 +36,28 @@ public class SzDataSourceRecordAnalysisImpl
    */
   private int entityTypeCount;
 
+  /**
+   * The number of distinct <tt>"RECORD_ID"</tt> values among the records with
+   * the associated data source.
+   */
+  private int distinctRecordIdCount;
+
+  /**
+   * The number of records with the associated data source that have a
+   * duplicate <tt>"RECORD_ID"</tt>.
+   */
+  private int duplicateRecordIdCount;
+
+  /**
+   * Whether or not the distinct and duplicate record ID counts are estimated.
+   */
+  private boolean duplicateCountEstimated;
+
+  /**
+   * The extrapolated record count if the bulk data was sampled.
+   */
+  private SzCountEstimate estimatedRecordCount;
+
   /**
    * Default constructor that constructs with a <tt>null</tt> data source.
    */
@@ -47,10 +73,14 @@ public class SzDataSourceRecordAnalysisImpl
    *                   no data source.
    */
   public SzDataSourceRecordAnalysisImpl(String dataSource) {
-    this.dataSource       = dataSource;
-    this.recordCount      = 0;
-    this.recordIdCount    = 0;
-    this.entityTypeCount  = 0;
+    this.dataSource               = dataSource;
+    this.recordCount              = 0;
+    this.recordIdCount            = 0;
+    this.entityTypeCount          = 0;
+    this.distinctRecordIdCount    = 0;
+    this.duplicateRecordIdCount   = 0;
+    this.duplicateCountEstimated  = false;
+    this.estimatedRecordCount     = null;
   }
 
   /**
@@ -207,6 +237,113 @@ public class SzDataSourceRecordAnalysisImpl
     return this.entityTypeCount;
   }
 
+  /**
+   * Gets the number of distinct <tt>"RECORD_ID"</tt> values among the records
+   * that have the associated data source.  This is an estimate if {@link
+   * #isDuplicateCountEstimated()} returns <tt>true</tt>.
+   *
+   * @return The number of distinct <tt>"RECORD_ID"</tt> values among the
+   *         records that have the associated data source.
+   */
+  @Override
+  public int getDistinctRecordIdCount() {
+    return this.distinctRecordIdCount;
+  }
+
+  /**
+   * Sets the number of distinct <tt>"RECORD_ID"</tt> values among the records
+   * that have the associated data source.
+   *
+   * @param distinctCount The number of distinct <tt>"RECORD_ID"</tt> values
+   *                      among the records that have the associated data
+   *                      source.
+   */
+  @Override
+  public void setDistinctRecordIdCount(int distinctCount) {
+    this.distinctRecordIdCount = distinctCount;
+  }
+
+  /**
+   * Gets the number of records that have the associated data source and a
+   * <tt>"RECORD_ID"</tt> that duplicates the <tt>"RECORD_ID"</tt> of an
+   * earlier record with the same data source.  This is an estimate if {@link
+   * #isDuplicateCountEstimated()} returns <tt>true</tt>.
+   *
+   * @return The number of records that have the associated data source and a
+   *         duplicate <tt>"RECORD_ID"</tt>.
+   */
+  @Override
+  public int getDuplicateRecordIdCount() {
+    return this.duplicateRecordIdCount;
+  }
+
+  /**
+   * Sets the number of records that have the associated data source and a
+   * <tt>"RECORD_ID"</tt> that duplicates the <tt>"RECORD_ID"</tt> of an
+   * earlier record with the same data source.
+   *
+   * @param duplicateCount The number of records that have the associated data
+   *                       source and a duplicate <tt>"RECORD_ID"</tt>.
+   */
+  @Override
+  public void setDuplicateRecordIdCount(int duplicateCount) {
+    this.duplicateRecordIdCount = duplicateCount;
+  }
+
+  /**
+   * Checks if the {@linkplain #getDuplicateRecordIdCount() duplicate} and
+   * {@linkplain #getDistinctRecordIdCount() distinct} record ID counts are
+   * estimates rather than exact counts.
+   *
+   * @return <tt>true</tt> if the duplicate and distinct record ID counts are
+   *         estimates, otherwise <tt>false</tt>.
+   */
+  @Override
+  public boolean isDuplicateCountEstimated() {
+    return this.duplicateCountEstimated;
+  }
+
+  /**
+   * Sets whether or not the {@linkplain #getDuplicateRecordIdCount()
+   * duplicate} and {@linkplain #getDistinctRecordIdCount() distinct} record
+   * ID counts are estimates rather than exact counts.
+   *
+   * @param estimated <tt>true</tt> if the duplicate and distinct record ID
+   *                  counts are estimates, otherwise <tt>false</tt>.
+   */
+  @Override
+  public void setDuplicateCountEstimated(boolean estimated) {
+    this.duplicateCountEstimated = estimated;
+  }
+
+  /**
+   * Gets the {@link SzCountEstimate} describing the number of records with
+   * the associated data source in the entire bulk data as extrapolated from
+   * the sample.  This returns <tt>null</tt> if the bulk data was not sampled.
+   *
+   * @return The {@link SzCountEstimate} describing the extrapolated record
+   *         count, or <tt>null</tt> if the bulk data was not sampled.
+   */
+  @JsonInclude(NON_NULL)
+  @Override
+  public SzCountEstimate getEstimatedRecordCount() {
+    return this.estimatedRecordCount;
+  }
+
+  /**
+   * Sets the {@link SzCountEstimate} describing the number of records with
+   * the associated data source in the entire bulk data as extrapolated from
+   * the sample.
+   *
+   * @param estimate The {@link SzCountEstimate} describing the extrapolated
+   *                 record count, or <tt>null</tt> if the bulk data was not
+   *                 sampled.
+   */
+  @Override
+  public void setEstimatedRecordCount(SzCountEstimate estimate) {
+    this.estimatedRecordCount = estimate;
+  }
+
   @Override
   public String toString() {
     return "SzDataSourceRecordAnalysis{" +
@@ -214,6 +351,10 @@ public class SzDataSourceRecordAnalysisImpl
         ", recordCount=" + recordCount +
         ", recordIdCount=" + recordIdCount +
         ", entityTypeCount=" + entityTypeCount +
+        ", distinctRecordIdCount=" + distinctRecordIdCount +
+        ", duplicateRecordIdCount=" + duplicateRecordIdCount +
+        ", duplicateCountEstimated=" + duplicateCountEstimated +
+        ", estimatedRecordCount=" + estimatedRecordCount +
         '}';
   }
 }
@@ -0,0 +1,239 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzDataSourceStats;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Provides the default implementation of {@link SzDataSourceStats}.
+ */
+@JsonDeserialize
+public class SzDataSourceStatsImpl implements SzDataSourceStats {
+  /**
+   * The data source code.
+   */
+  private String dataSource;
+
+  /**
+   * The number of records that are known to be loaded for the data source.
+   */
+  private long recordCount;
+
+  /**
+   * The number of entities having at least one record from the data source as
+   * of the last reconciliation.
+   */
+  private Long entityCount;
+
+  /**
+   * The number of times a record from the data source has been added or
+   * replaced.
+   */
+  private long loadCount;
+
+  /**
+   * The number of times a record from the data source has been deleted.
+   */
+  private long deleteCount;
+
+  /**
+   * The number of times a record from the data source has been re-evaluated.
+   */
+  private long reevaluateCount;
+
+  /**
+   * The total number of affected entities reported by the info messages for
+   * records from the data source.
+   */
+  private long affectedEntityCount;
+
+  /**
+   * Default constructor.
+   */
+  public SzDataSourceStatsImpl() {
+    this.dataSource          = null;
+    this.recordCount         = 0L;
+    this.entityCount         = null;
+    this.loadCount           = 0L;
+    this.deleteCount         = 0L;
+    this.reevaluateCount     = 0L;
+    this.affectedEntityCount = 0L;
+  }
+
+  /**
+   * Gets the data source code.
+   *
+   * @return The data source code.
+   */
+  @Override
+  public String getDataSource() {
+    return this.dataSource;
+  }
+
+  /**
+   * Sets the data source code.
+   *
+   * @param dataSource The data source code.
+   */
+  @Override
+  public void setDataSource(String dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Gets the number of records that are known to be loaded for the data source.
+   *
+   * @return The number of records that are known to be loaded for the data
+   *         source.
+   */
+  @Override
+  public long getRecordCount() {
+    return this.recordCount;
+  }
+
+  /**
+   * Sets the number of records that are known to be loaded for the data source.
+   *
+   * @param count The number of records that are known to be loaded for the data
+   *              source.
+   */
+  @Override
+  public void setRecordCount(long count) {
+    this.recordCount = count;
+  }
+
+  /**
+   * Gets the number of entities having at least one record from the data source
+   * as of the last reconciliation.
+   *
+   * @return The number of entities having at least one record from the data
+   *         source as of the last reconciliation, or <tt>null</tt> if the
+   *         statistics have not been reconciled.
+   */
+  @Override
+  @JsonInclude(NON_NULL)
+  public Long getEntityCount() {
+    return this.entityCount;
+  }
+
+  /**
+   * Sets the number of entities having at least one record from the data source
+   * as of the last reconciliation.
+   *
+   * @param count The number of entities having at least one record from the
+   *              data source as of the last reconciliation, or <tt>null</tt> if
+   *              the statistics have not been reconciled.
+   */
+  @Override
+  public void setEntityCount(Long count) {
+    this.entityCount = count;
+  }
+
+  /**
+   * Gets the number of times a record from the data source has been added or
+   * replaced.
+   *
+   * @return The number of times a record from the data source has been added or
+   *         replaced.
+   */
+  @Override
+  public long getLoadCount() {
+    return this.loadCount;
+  }
+
+  /**
+   * Sets the number of times a record from the data source has been added or
+   * replaced.
+   *
+   * @param count The number of times a record from the data source has been
+   *              added or replaced.
+   */
+  @Override
+  public void setLoadCount(long count) {
+    this.loadCount = count;
+  }
+
+  /**
+   * Gets the number of times a record from the data source has been deleted.
+   *
+   * @return The number of times a record from the data source has been deleted.
+   */
+  @Override
+  public long getDeleteCount() {
+    return this.deleteCount;
+  }
+
+  /**
+   * Sets the number of times a record from the data source has been deleted.
+   *
+   * @param count The number of times a record from the data source has been
+   *              deleted.
+   */
+  @Override
+  public void setDeleteCount(long count) {
+    this.deleteCount = count;
+  }
+
+  /**
+   * Gets the number of times a record from the data source has been
+   * re-evaluated.
+   *
+   * @return The number of times a record from the data source has been
+   *         re-evaluated.
+   */
+  @Override
+  public long getReevaluateCount() {
+    return this.reevaluateCount;
+  }
+
+  /**
+   * Sets the number of times a record from the data source has been
+   * re-evaluated.
+   *
+   * @param count The number of times a record from the data source has been
+   *              re-evaluated.
+   */
+  @Override
+  public void setReevaluateCount(long count) {
+    this.reevaluateCount = count;
+  }
+
+  /**
+   * Gets the total number of affected entities reported by the info messages
+   * for records from the data source.
+   *
+   * @return The total number of affected entities reported by the info messages
+   *         for records from the data source.
+   */
+  @Override
+  public long getAffectedEntityCount() {
+    return this.affectedEntityCount;
+  }
+
+  /**
+   * Sets the total number of affected entities reported by the info messages
+   * for records from the data source.
+   *
+   * @param count The total number of affected entities reported by the info
+   *              messages for records from the data source.
+   */
+  @Override
+  public void setAffectedEntityCount(long count) {
+    this.affectedEntityCount = count;
+  }
+
+  @Override
+  public String toString() {
+    return "SzDataSourceStats{" +
+        "dataSource=" + dataSource +
+        ", recordCount=" + recordCount +
+        ", entityCount=" + entityCount +
+        ", loadCount=" + loadCount +
+        ", deleteCount=" + deleteCount +
+        ", reevaluateCount=" + reevaluateCount +
+        ", affectedEntityCount=" + affectedEntityCount +
+        '}';
+  }
+}
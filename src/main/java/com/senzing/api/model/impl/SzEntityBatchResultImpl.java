@@ -0,0 +1,150 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzEntityBatchResult;
+import com.senzing.api.model.SzEntityData;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Provides the default implementation of {@link SzEntityBatchResult}.
+ */
+@JsonDeserialize
+public class SzEntityBatchResultImpl implements SzEntityBatchResult {
+  /**
+   * The zero-based index of the item in the batch request.
+   */
+  private int index;
+
+  /**
+   * The entity ID that was requested.
+   */
+  private Long entityId;
+
+  /**
+   * The data source code of the record key that was requested.
+   */
+  private String dataSource;
+
+  /**
+   * The record ID of the record key that was requested.
+   */
+  private String recordId;
+
+  /**
+   * The HTTP status code describing the outcome for the item.
+   */
+  private int httpStatusCode;
+
+  /**
+   * The entity data if the entity was retrieved.
+   */
+  private SzEntityData entity;
+
+  /**
+   * The error message if the entity was not retrieved.
+   */
+  private String errorMessage;
+
+  /**
+   * Default constructor.
+   */
+  public SzEntityBatchResultImpl() {
+    this.index          = 0;
+    this.entityId       = null;
+    this.dataSource     = null;
+    this.recordId       = null;
+    this.httpStatusCode = 0;
+    this.entity         = null;
+    this.errorMessage   = null;
+  }
+
+  @Override
+  public int getIndex() {
+    return this.index;
+  }
+
+  @Override
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public Long getEntityId() {
+    return this.entityId;
+  }
+
+  @Override
+  public void setEntityId(Long entityId) {
+    this.entityId = entityId;
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public String getDataSource() {
+    return this.dataSource;
+  }
+
+  @Override
+  public void setDataSource(String dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public String getRecordId() {
+    return this.recordId;
+  }
+
+  @Override
+  public void setRecordId(String recordId) {
+    this.recordId = recordId;
+  }
+
+  @Override
+  public int getHttpStatusCode() {
+    return this.httpStatusCode;
+  }
+
+  @Override
+  public void setHttpStatusCode(int statusCode) {
+    this.httpStatusCode = statusCode;
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public SzEntityData getEntity() {
+    return this.entity;
+  }
+
+  @Override
+  public void setEntity(SzEntityData entity) {
+    this.entity = entity;
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public String getErrorMessage() {
+    return this.errorMessage;
+  }
+
+  @Override
+  public void setErrorMessage(String errorMessage) {
+    this.errorMessage = errorMessage;
+  }
+
+  @Override
+  public String toString() {
+    return "SzEntityBatchResult{" +
+        "index=" + index +
+        ", entityId=" + entityId +
+        ", dataSource='" + dataSource + '\'' +
+        ", recordId='" + recordId + '\'' +
+        ", httpStatusCode=" + httpStatusCode +
+        ", entity=" + entity +
+        ", errorMessage='" + errorMessage + '\'' +
+        '}';
+  }
+}
@@ -0,0 +1,341 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzInfoAggregatorStats;
+
+/**
+ * Provides the default implementation of {@link SzInfoAggregatorStats}.
+ */
+@JsonDeserialize
+public class SzInfoAggregatorStatsImpl implements SzInfoAggregatorStats {
+  /**
+   * The maximum number of info messages that are packed into a single aggregate
+   * message.
+   */
+  private int maxCount;
+
+  /**
+   * The maximum number of milliseconds that an info message waits for more info
+   * messages to join its aggregate message.
+   */
+  private long windowMillis;
+
+  /**
+   * Whether or not the bodies of the aggregate messages are gzip-compressed.
+   */
+  private boolean compressed;
+
+  /**
+   * The number of info messages that are waiting to be packed into an aggregate
+   * message.
+   */
+  private int pendingCount;
+
+  /**
+   * The number of info messages that have been packed into aggregate messages
+   * since the server started.
+   */
+  private long aggregatedCount;
+
+  /**
+   * The number of aggregate messages that have been sent since the server
+   * started.
+   */
+  private long aggregateCount;
+
+  /**
+   * The number of messages that could not be aggregated and were sent as they
+   * were.
+   */
+  private long passedThroughCount;
+
+  /**
+   * The number of info messages that were in aggregate messages that failed to
+   * send.
+   */
+  private long failedCount;
+
+  /**
+   * The number of bytes in the bodies of the info messages that have been
+   * aggregated.
+   */
+  private long inputBytes;
+
+  /**
+   * The number of bytes in the bodies of the aggregate messages that have been
+   * sent.
+   */
+  private long outputBytes;
+
+  /**
+   * Default constructor.
+   */
+  public SzInfoAggregatorStatsImpl() {
+    this.maxCount           = 0;
+    this.windowMillis       = 0L;
+    this.compressed         = false;
+    this.pendingCount       = 0;
+    this.aggregatedCount    = 0L;
+    this.aggregateCount     = 0L;
+    this.passedThroughCount = 0L;
+    this.failedCount        = 0L;
+    this.inputBytes         = 0L;
+    this.outputBytes        = 0L;
+  }
+
+  /**
+   * Gets the maximum number of info messages that are packed into a single
+   * aggregate message.
+   *
+   * @return The maximum number of info messages that are packed into a single
+   *         aggregate message.
+   */
+  @Override
+  public int getMaxCount() {
+    return this.maxCount;
+  }
+
+  /**
+   * Sets the maximum number of info messages that are packed into a single
+   * aggregate message.
+   *
+   * @param count The maximum number of info messages that are packed into a
+   *              single aggregate message.
+   */
+  @Override
+  public void setMaxCount(int count) {
+    this.maxCount = count;
+  }
+
+  /**
+   * Gets the maximum number of milliseconds that an info message waits for more
+   * info messages to join its aggregate message.
+   *
+   * @return The maximum number of milliseconds that an info message waits for
+   *         more info messages to join its aggregate message.
+   */
+  @Override
+  public long getWindowMillis() {
+    return this.windowMillis;
+  }
+
+  /**
+   * Sets the maximum number of milliseconds that an info message waits for more
+   * info messages to join its aggregate message.
+   *
+   * @param millis The maximum number of milliseconds that an info message waits
+   *               for more info messages to join its aggregate message.
+   */
+  @Override
+  public void setWindowMillis(long millis) {
+    this.windowMillis = millis;
+  }
+
+  /**
+   * Gets whether or not the bodies of the aggregate messages are
+   * gzip-compressed.
+   *
+   * @return Whether or not the bodies of the aggregate messages are
+   *         gzip-compressed.
+   */
+  @Override
+  public boolean isCompressed() {
+    return this.compressed;
+  }
+
+  /**
+   * Sets whether or not the bodies of the aggregate messages are
+   * gzip-compressed.
+   *
+   * @param compressed Whether or not the bodies of the aggregate messages are
+   *                   gzip-compressed.
+   */
+  @Override
+  public void setCompressed(boolean compressed) {
+    this.compressed = compressed;
+  }
+
+  /**
+   * Gets the number of info messages that are waiting to be packed into an
+   * aggregate message.
+   *
+   * @return The number of info messages that are waiting to be packed into an
+   *         aggregate message.
+   */
+  @Override
+  public int getPendingCount() {
+    return this.pendingCount;
+  }
+
+  /**
+   * Sets the number of info messages that are waiting to be packed into an
+   * aggregate message.
+   *
+   * @param count The number of info messages that are waiting to be packed into
+   *              an aggregate message.
+   */
+  @Override
+  public void setPendingCount(int count) {
+    this.pendingCount = count;
+  }
+
+  /**
+   * Gets the number of info messages that have been packed into aggregate
+   * messages since the server started.
+   *
+   * @return The number of info messages that have been packed into aggregate
+   *         messages since the server started.
+   */
+  @Override
+  public long getAggregatedCount() {
+    return this.aggregatedCount;
+  }
+
+  /**
+   * Sets the number of info messages that have been packed into aggregate
+   * messages since the server started.
+   *
+   * @param count The number of info messages that have been packed into
+   *              aggregate messages since the server started.
+   */
+  @Override
+  public void setAggregatedCount(long count) {
+    this.aggregatedCount = count;
+  }
+
+  /**
+   * Gets the number of aggregate messages that have been sent since the server
+   * started.
+   *
+   * @return The number of aggregate messages that have been sent since the
+   *         server started.
+   */
+  @Override
+  public long getAggregateCount() {
+    return this.aggregateCount;
+  }
+
+  /**
+   * Sets the number of aggregate messages that have been sent since the server
+   * started.
+   *
+   * @param count The number of aggregate messages that have been sent since the
+   *              server started.
+   */
+  @Override
+  public void setAggregateCount(long count) {
+    this.aggregateCount = count;
+  }
+
+  /**
+   * Gets the number of messages that could not be aggregated and were sent as
+   * they were.
+   *
+   * @return The number of messages that could not be aggregated and were sent
+   *         as they were.
+   */
+  @Override
+  public long getPassedThroughCount() {
+    return this.passedThroughCount;
+  }
+
+  /**
+   * Sets the number of messages that could not be aggregated and were sent as
+   * they were.
+   *
+   * @param count The number of messages that could not be aggregated and were
+   *              sent as they were.
+   */
+  @Override
+  public void setPassedThroughCount(long count) {
+    this.passedThroughCount = count;
+  }
+
+  /**
+   * Gets the number of info messages that were in aggregate messages that
+   * failed to send.
+   *
+   * @return The number of info messages that were in aggregate messages that
+   *         failed to send.
+   */
+  @Override
+  public long getFailedCount() {
+    return this.failedCount;
+  }
+
+  /**
+   * Sets the number of info messages that were in aggregate messages that
+   * failed to send.
+   *
+   * @param count The number of info messages that were in aggregate messages
+   *              that failed to send.
+   */
+  @Override
+  public void setFailedCount(long count) {
+    this.failedCount = count;
+  }
+
+  /**
+   * Gets the number of bytes in the bodies of the info messages that have been
+   * aggregated.
+   *
+   * @return The number of bytes in the bodies of the info messages that have
+   *         been aggregated.
+   */
+  @Override
+  public long getInputBytes() {
+    return this.inputBytes;
+  }
+
+  /**
+   * Sets the number of bytes in the bodies of the info messages that have been
+   * aggregated.
+   *
+   * @param byteCount The number of bytes in the bodies of the info messages
+   *                  that have been aggregated.
+   */
+  @Override
+  public void setInputBytes(long byteCount) {
+    this.inputBytes = byteCount;
+  }
+
+  /**
+   * Gets the number of bytes in the bodies of the aggregate messages that have
+   * been sent.
+   *
+   * @return The number of bytes in the bodies of the aggregate messages that
+   *         have been sent.
+   */
+  @Override
+  public long getOutputBytes() {
+    return this.outputBytes;
+  }
+
+  /**
+   * Sets the number of bytes in the bodies of the aggregate messages that have
+   * been sent.
+   *
+   * @param byteCount The number of bytes in the bodies of the aggregate
+   *                  messages that have been sent.
+   */
+  @Override
+  public void setOutputBytes(long byteCount) {
+    this.outputBytes = byteCount;
+  }
+
+  @Override
+  public String toString() {
+    return "SzInfoAggregatorStats{" +
+        "maxCount=" + maxCount +
+        ", windowMillis=" + windowMillis +
+        ", compressed=" + compressed +
+        ", pendingCount=" + pendingCount +
+        ", aggregatedCount=" + aggregatedCount +
+        ", aggregateCount=" + aggregateCount +
+        ", passedThroughCount=" + passedThroughCount +
+        ", failedCount=" + failedCount +
+        ", inputBytes=" + inputBytes +
+        ", outputBytes=" + outputBytes +
+        '}';
+  }
+}
@@ -0,0 +1,384 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzInfoPublisherStats;
+import com.senzing.api.model.SzOverflowPolicy;
+
+/**
+ * Provides the default implementation of {@link SzInfoPublisherStats}.
+ */
+@JsonDeserialize
+public class SzInfoPublisherStatsImpl implements SzInfoPublisherStats {
+  /**
+   * The {@link SzOverflowPolicy} describing how info messages are handled when
+   * the publish queue is full.
+   */
+  private SzOverflowPolicy overflowPolicy;
+
+  /**
+   * The number of threads publishing the queued info messages.
+   */
+  private int publisherCount;
+
+  /**
+   * The maximum number of info messages that can be held in the publish queue.
+   */
+  private int queueCapacity;
+
+  /**
+   * The number of info messages currently waiting in the publish queue.
+   */
+  private int queueDepth;
+
+  /**
+   * The number of info messages currently spilled to disk waiting to be moved
+   * back to the publish queue.
+   */
+  private long spillDepth;
+
+  /**
+   * The number of info messages that have been successfully published.
+   */
+  private long publishedCount;
+
+  /**
+   * The number of info messages that failed to publish.
+   */
+  private long failedCount;
+
+  /**
+   * The number of info messages that were dropped because the publish queue was
+   * full.
+   */
+  private long droppedCount;
+
+  /**
+   * The number of info messages that were spilled to disk because the publish
+   * queue was full.
+   */
+  private long spilledCount;
+
+  /**
+   * The number of batches in which the info messages were published.
+   */
+  private long batchCount;
+
+  /**
+   * The recent average number of milliseconds to publish a batch of info
+   * messages.
+   */
+  private double averagePublishMillis;
+
+  /**
+   * The maximum number of milliseconds taken to publish a batch of info
+   * messages.
+   */
+  private long maxPublishMillis;
+
+  /**
+   * Default constructor.
+   */
+  public SzInfoPublisherStatsImpl() {
+    this.overflowPolicy       = null;
+    this.publisherCount       = 0;
+    this.queueCapacity        = 0;
+    this.queueDepth           = 0;
+    this.spillDepth           = 0L;
+    this.publishedCount       = 0L;
+    this.failedCount          = 0L;
+    this.droppedCount         = 0L;
+    this.spilledCount         = 0L;
+    this.batchCount           = 0L;
+    this.averagePublishMillis = 0.0;
+    this.maxPublishMillis     = 0L;
+  }
+
+  /**
+   * Gets the {@link SzOverflowPolicy} describing how info messages are handled
+   * when the publish queue is full.
+   *
+   * @return The {@link SzOverflowPolicy} describing how info messages are
+   *         handled when the publish queue is full.
+   */
+  @Override
+  public SzOverflowPolicy getOverflowPolicy() {
+    return this.overflowPolicy;
+  }
+
+  /**
+   * Sets the {@link SzOverflowPolicy} describing how info messages are handled
+   * when the publish queue is full.
+   *
+   * @param policy The {@link SzOverflowPolicy} describing how info messages are
+   *               handled when the publish queue is full.
+   */
+  @Override
+  public void setOverflowPolicy(SzOverflowPolicy policy) {
+    this.overflowPolicy = policy;
+  }
+
+  /**
+   * Gets the number of threads publishing the queued info messages.
+   *
+   * @return The number of threads publishing the queued info messages.
+   */
+  @Override
+  public int getPublisherCount() {
+    return this.publisherCount;
+  }
+
+  /**
+   * Sets the number of threads publishing the queued info messages.
+   *
+   * @param count The number of threads publishing the queued info messages.
+   */
+  @Override
+  public void setPublisherCount(int count) {
+    this.publisherCount = count;
+  }
+
+  /**
+   * Gets the maximum number of info messages that can be held in the publish
+   * queue.
+   *
+   * @return The maximum number of info messages that can be held in the publish
+   *         queue.
+   */
+  @Override
+  public int getQueueCapacity() {
+    return this.queueCapacity;
+  }
+
+  /**
+   * Sets the maximum number of info messages that can be held in the publish
+   * queue.
+   *
+   * @param capacity The maximum number of info messages that can be held in the
+   *                 publish queue.
+   */
+  @Override
+  public void setQueueCapacity(int capacity) {
+    this.queueCapacity = capacity;
+  }
+
+  /**
+   * Gets the number of info messages currently waiting in the publish queue.
+   *
+   * @return The number of info messages currently waiting in the publish queue.
+   */
+  @Override
+  public int getQueueDepth() {
+    return this.queueDepth;
+  }
+
+  /**
+   * Sets the number of info messages currently waiting in the publish queue.
+   *
+   * @param depth The number of info messages currently waiting in the publish
+   *              queue.
+   */
+  @Override
+  public void setQueueDepth(int depth) {
+    this.queueDepth = depth;
+  }
+
+  /**
+   * Gets the number of info messages currently spilled to disk waiting to be
+   * moved back to the publish queue.
+   *
+   * @return The number of info messages currently spilled to disk waiting to be
+   *         moved back to the publish queue.
+   */
+  @Override
+  public long getSpillDepth() {
+    return this.spillDepth;
+  }
+
+  /**
+   * Sets the number of info messages currently spilled to disk waiting to be
+   * moved back to the publish queue.
+   *
+   * @param depth The number of info messages currently spilled to disk waiting
+   *              to be moved back to the publish queue.
+   */
+  @Override
+  public void setSpillDepth(long depth) {
+    this.spillDepth = depth;
+  }
+
+  /**
+   * Gets the number of info messages that have been successfully published.
+   *
+   * @return The number of info messages that have been successfully published.
+   */
+  @Override
+  public long getPublishedCount() {
+    return this.publishedCount;
+  }
+
+  /**
+   * Sets the number of info messages that have been successfully published.
+   *
+   * @param count The number of info messages that have been successfully
+   *              published.
+   */
+  @Override
+  public void setPublishedCount(long count) {
+    this.publishedCount = count;
+  }
+
+  /**
+   * Gets the number of info messages that failed to publish.
+   *
+   * @return The number of info messages that failed to publish.
+   */
+  @Override
+  public long getFailedCount() {
+    return this.failedCount;
+  }
+
+  /**
+   * Sets the number of info messages that failed to publish.
+   *
+   * @param count The number of info messages that failed to publish.
+   */
+  @Override
+  public void setFailedCount(long count) {
+    this.failedCount = count;
+  }
+
+  /**
+   * Gets the number of info messages that were dropped because the publish
+   * queue was full.
+   *
+   * @return The number of info messages that were dropped because the publish
+   *         queue was full.
+   */
+  @Override
+  public long getDroppedCount() {
+    return this.droppedCount;
+  }
+
+  /**
+   * Sets the number of info messages that were dropped because the publish
+   * queue was full.
+   *
+   * @param count The number of info messages that were dropped because the
+   *              publish queue was full.
+   */
+  @Override
+  public void setDroppedCount(long count) {
+    this.droppedCount = count;
+  }
+
+  /**
+   * Gets the number of info messages that were spilled to disk because the
+   * publish queue was full.
+   *
+   * @return The number of info messages that were spilled to disk because the
+   *         publish queue was full.
+   */
+  @Override
+  public long getSpilledCount() {
+    return this.spilledCount;
+  }
+
+  /**
+   * Sets the number of info messages that were spilled to disk because the
+   * publish queue was full.
+   *
+   * @param count The number of info messages that were spilled to disk because
+   *              the publish queue was full.
+   */
+  @Override
+  public void setSpilledCount(long count) {
+    this.spilledCount = count;
+  }
+
+  /**
+   * Gets the number of batches in which the info messages were published.
+   *
+   * @return The number of batches in which the info messages were published.
+   */
+  @Override
+  public long getBatchCount() {
+    return this.batchCount;
+  }
+
+  /**
+   * Sets the number of batches in which the info messages were published.
+   *
+   * @param count The number of batches in which the info messages were
+   *              published.
+   */
+  @Override
+  public void setBatchCount(long count) {
+    this.batchCount = count;
+  }
+
+  /**
+   * Gets the recent average number of milliseconds to publish a batch of info
+   * messages.
+   *
+   * @return The recent average number of milliseconds to publish a batch of
+   *         info messages.
+   */
+  @Override
+  public double getAveragePublishMillis() {
+    return this.averagePublishMillis;
+  }
+
+  /**
+   * Sets the recent average number of milliseconds to publish a batch of info
+   * messages.
+   *
+   * @param millis The recent average number of milliseconds to publish a batch
+   *               of info messages.
+   */
+  @Override
+  public void setAveragePublishMillis(double millis) {
+    this.averagePublishMillis = millis;
+  }
+
+  /**
+   * Gets the maximum number of milliseconds taken to publish a batch of info
+   * messages.
+   *
+   * @return The maximum number of milliseconds taken to publish a batch of info
+   *         messages.
+   */
+  @Override
+  public long getMaxPublishMillis() {
+    return this.maxPublishMillis;
+  }
+
+  /**
+   * Sets the maximum number of milliseconds taken to publish a batch of info
+   * messages.
+   *
+   * @param millis The maximum number of milliseconds taken to publish a batch
+   *               of info messages.
+   */
+  @Override
+  public void setMaxPublishMillis(long millis) {
+    this.maxPublishMillis = millis;
+  }
+
+  @Override
+  public String toString() {
+    return "SzInfoPublisherStats{" +
+        "overflowPolicy=" + overflowPolicy +
+        ", publisherCount=" + publisherCount +
+        ", queueCapacity=" + queueCapacity +
+        ", queueDepth=" + queueDepth +
+        ", spillDepth=" + spillDepth +
+        ", publishedCount=" + publishedCount +
+        ", failedCount=" + failedCount +
+        ", droppedCount=" + droppedCount +
+        ", spilledCount=" + spilledCount +
+        ", batchCount=" + batchCount +
+        ", averagePublishMillis=" + averagePublishMillis +
+        ", maxPublishMillis=" + maxPublishMillis +
+        '}';
+  }
+}
@@ -0,0 +1,332 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzInfoSpoolStats;
+
+/**
+ * Provides the default implementation of {@link SzInfoSpoolStats}.
+ */
+@JsonDeserialize
+public class SzInfoSpoolStatsImpl implements SzInfoSpoolStats {
+  /**
+   * The path to the directory holding the spool segment files.
+   */
+  private String directory;
+
+  /**
+   * The number of segment files currently in the spool.
+   */
+  private int segmentCount;
+
+  /**
+   * The number of info messages in the spool that have not yet been forwarded
+   * to the info queue.
+   */
+  private long pendingCount;
+
+  /**
+   * The number of bytes of spooled info messages that have not yet been
+   * forwarded to the info queue.
+   */
+  private long pendingBytes;
+
+  /**
+   * The spool offset up to which the info messages have been forwarded to the
+   * info queue.
+   */
+  private long acknowledgedOffset;
+
+  /**
+   * The number of info messages that have been appended to the spool since the
+   * server started.
+   */
+  private long appendedCount;
+
+  /**
+   * The number of info messages that have been forwarded to the info queue
+   * since the server started.
+   */
+  private long forwardedCount;
+
+  /**
+   * The number of info messages that failed to forward and were appended to the
+   * spool again to be retried.
+   */
+  private long requeuedCount;
+
+  /**
+   * The number of info messages that were dropped from the spool because they
+   * failed to forward too many times.
+   */
+  private long droppedCount;
+
+  /**
+   * The number of unforwarded info messages that were recovered from the spool
+   * when the server started.
+   */
+  private long recoveredCount;
+
+  /**
+   * Default constructor.
+   */
+  public SzInfoSpoolStatsImpl() {
+    this.directory          = null;
+    this.segmentCount       = 0;
+    this.pendingCount       = 0L;
+    this.pendingBytes       = 0L;
+    this.acknowledgedOffset = 0L;
+    this.appendedCount      = 0L;
+    this.forwardedCount     = 0L;
+    this.requeuedCount      = 0L;
+    this.droppedCount       = 0L;
+    this.recoveredCount     = 0L;
+  }
+
+  /**
+   * Gets the path to the directory holding the spool segment files.
+   *
+   * @return The path to the directory holding the spool segment files.
+   */
+  @Override
+  public String getDirectory() {
+    return this.directory;
+  }
+
+  /**
+   * Sets the path to the directory holding the spool segment files.
+   *
+   * @param directory The path to the directory holding the spool segment files.
+   */
+  @Override
+  public void setDirectory(String directory) {
+    this.directory = directory;
+  }
+
+  /**
+   * Gets the number of segment files currently in the spool.
+   *
+   * @return The number of segment files currently in the spool.
+   */
+  @Override
+  public int getSegmentCount() {
+    return this.segmentCount;
+  }
+
+  /**
+   * Sets the number of segment files currently in the spool.
+   *
+   * @param count The number of segment files currently in the spool.
+   */
+  @Override
+  public void setSegmentCount(int count) {
+    this.segmentCount = count;
+  }
+
+  /**
+   * Gets the number of info messages in the spool that have not yet been
+   * forwarded to the info queue.
+   *
+   * @return The number of info messages in the spool that have not yet been
+   *         forwarded to the info queue.
+   */
+  @Override
+  public long getPendingCount() {
+    return this.pendingCount;
+  }
+
+  /**
+   * Sets the number of info messages in the spool that have not yet been
+   * forwarded to the info queue.
+   *
+   * @param count The number of info messages in the spool that have not yet
+   *              been forwarded to the info queue.
+   */
+  @Override
+  public void setPendingCount(long count) {
+    this.pendingCount = count;
+  }
+
+  /**
+   * Gets the number of bytes of spooled info messages that have not yet been
+   * forwarded to the info queue.
+   *
+   * @return The number of bytes of spooled info messages that have not yet been
+   *         forwarded to the info queue.
+   */
+  @Override
+  public long getPendingBytes() {
+    return this.pendingBytes;
+  }
+
+  /**
+   * Sets the number of bytes of spooled info messages that have not yet been
+   * forwarded to the info queue.
+   *
+   * @param byteCount The number of bytes of spooled info messages that have not
+   *                  yet been forwarded to the info queue.
+   */
+  @Override
+  public void setPendingBytes(long byteCount) {
+    this.pendingBytes = byteCount;
+  }
+
+  /**
+   * Gets the spool offset up to which the info messages have been forwarded to
+   * the info queue.
+   *
+   * @return The spool offset up to which the info messages have been forwarded
+   *         to the info queue.
+   */
+  @Override
+  public long getAcknowledgedOffset() {
+    return this.acknowledgedOffset;
+  }
+
+  /**
+   * Sets the spool offset up to which the info messages have been forwarded to
+   * the info queue.
+   *
+   * @param offset The spool offset up to which the info messages have been
+   *               forwarded to the info queue.
+   */
+  @Override
+  public void setAcknowledgedOffset(long offset) {
+    this.acknowledgedOffset = offset;
+  }
+
+  /**
+   * Gets the number of info messages that have been appended to the spool since
+   * the server started.
+   *
+   * @return The number of info messages that have been appended to the spool
+   *         since the server started.
+   */
+  @Override
+  public long getAppendedCount() {
+    return this.appendedCount;
+  }
+
+  /**
+   * Sets the number of info messages that have been appended to the spool since
+   * the server started.
+   *
+   * @param count The number of info messages that have been appended to the
+   *              spool since the server started.
+   */
+  @Override
+  public void setAppendedCount(long count) {
+    this.appendedCount = count;
+  }
+
+  /**
+   * Gets the number of info messages that have been forwarded to the info queue
+   * since the server started.
+   *
+   * @return The number of info messages that have been forwarded to the info
+   *         queue since the server started.
+   */
+  @Override
+  public long getForwardedCount() {
+    return this.forwardedCount;
+  }
+
+  /**
+   * Sets the number of info messages that have been forwarded to the info queue
+   * since the server started.
+   *
+   * @param count The number of info messages that have been forwarded to the
+   *              info queue since the server started.
+   */
+  @Override
+  public void setForwardedCount(long count) {
+    this.forwardedCount = count;
+  }
+
+  /**
+   * Gets the number of info messages that failed to forward and were appended
+   * to the spool again to be retried.
+   *
+   * @return The number of info messages that failed to forward and were
+   *         appended to the spool again to be retried.
+   */
+  @Override
+  public long getRequeuedCount() {
+    return this.requeuedCount;
+  }
+
+  /**
+   * Sets the number of info messages that failed to forward and were appended
+   * to the spool again to be retried.
+   *
+   * @param count The number of info messages that failed to forward and were
+   *              appended to the spool again to be retried.
+   */
+  @Override
+  public void setRequeuedCount(long count) {
+    this.requeuedCount = count;
+  }
+
+  /**
+   * Gets the number of info messages that were dropped from the spool because
+   * they failed to forward too many times.
+   *
+   * @return The number of info messages that were dropped from the spool
+   *         because they failed to forward too many times.
+   */
+  @Override
+  public long getDroppedCount() {
+    return this.droppedCount;
+  }
+
+  /**
+   * Sets the number of info messages that were dropped from the spool because
+   * they failed to forward too many times.
+   *
+   * @param count The number of info messages that were dropped from the spool
+   *              because they failed to forward too many times.
+   */
+  @Override
+  public void setDroppedCount(long count) {
+    this.droppedCount = count;
+  }
+
+  /**
+   * Gets the number of unforwarded info messages that were recovered from the
+   * spool when the server started.
+   *
+   * @return The number of unforwarded info messages that were recovered from
+   *         the spool when the server started.
+   */
+  @Override
+  public long getRecoveredCount() {
+    return this.recoveredCount;
+  }
+
+  /**
+   * Sets the number of unforwarded info messages that were recovered from the
+   * spool when the server started.
+   *
+   * @param count The number of unforwarded info messages that were recovered
+   *              from the spool when the server started.
+   */
+  @Override
+  public void setRecoveredCount(long count) {
+    this.recoveredCount = count;
+  }
+
+  @Override
+  public String toString() {
+    return "SzInfoSpoolStats{" +
+        "directory=" + directory +
+        ", segmentCount=" + segmentCount +
+        ", pendingCount=" + pendingCount +
+        ", pendingBytes=" + pendingBytes +
+        ", acknowledgedOffset=" + acknowledgedOffset +
+        ", appendedCount=" + appendedCount +
+        ", forwardedCount=" + forwardedCount +
+        ", requeuedCount=" + requeuedCount +
+        ", droppedCount=" + droppedCount +
+        ", recoveredCount=" + recoveredCount +
+        '}';
+  }
+}
@@ -0,0 +1,218 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzConcurrencySample;
+import com.senzing.api.model.SzLoadConcurrency;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Provides the default implementation of {@link SzLoadConcurrency}.
+ */
+@JsonDeserialize
+public class SzLoadConcurrencyImpl implements SzLoadConcurrency {
+  /**
+   * The minimum number of records that may be in flight.
+   */
+  private int minConcurrency;
+
+  /**
+   * The maximum number of records that may be in flight.
+   */
+  private int maxConcurrency;
+
+  /**
+   * The number of records currently allowed in flight.
+   */
+  private int currentConcurrency;
+
+  /**
+   * The time-weighted average number of records allowed in flight.
+   */
+  private double averageConcurrency;
+
+  /**
+   * The total number of adjustments.
+   */
+  private int adjustmentCount;
+
+  /**
+   * The {@link List} of the most recent adjustments.
+   */
+  private List<SzConcurrencySample> adjustments;
+
+  /**
+   * Default constructor.
+   */
+  public SzLoadConcurrencyImpl() {
+    this.minConcurrency     = 0;
+    this.maxConcurrency     = 0;
+    this.currentConcurrency = 0;
+    this.averageConcurrency = 0.0;
+    this.adjustmentCount    = 0;
+    this.adjustments        = new ArrayList<>();
+  }
+
+  /**
+   * Gets the minimum number of records that the bulk load may have in
+   * flight.
+   *
+   * @return The minimum number of records that the bulk load may have in
+   *         flight.
+   */
+  @Override
+  public int getMinConcurrency() {
+    return this.minConcurrency;
+  }
+
+  /**
+   * Sets the minimum number of records that the bulk load may have in
+   * flight.
+   *
+   * @param concurrency The minimum number of records that the bulk load may
+   *                    have in flight.
+   */
+  @Override
+  public void setMinConcurrency(int concurrency) {
+    this.minConcurrency = concurrency;
+  }
+
+  /**
+   * Gets the maximum number of records that the bulk load may have in
+   * flight.
+   *
+   * @return The maximum number of records that the bulk load may have in
+   *         flight.
+   */
+  @Override
+  public int getMaxConcurrency() {
+    return this.maxConcurrency;
+  }
+
+  /**
+   * Sets the maximum number of records that the bulk load may have in
+   * flight.
+   *
+   * @param concurrency The maximum number of records that the bulk load may
+   *                    have in flight.
+   */
+  @Override
+  public void setMaxConcurrency(int concurrency) {
+    this.maxConcurrency = concurrency;
+  }
+
+  /**
+   * Gets the number of records that the bulk load currently allows in
+   * flight (or allowed in flight when it completed).
+   *
+   * @return The number of records that the bulk load currently allows in
+   *         flight.
+   */
+  @Override
+  public int getCurrentConcurrency() {
+    return this.currentConcurrency;
+  }
+
+  /**
+   * Sets the number of records that the bulk load currently allows in
+   * flight (or allowed in flight when it completed).
+   *
+   * @param concurrency The number of records that the bulk load currently
+   *                    allows in flight.
+   */
+  @Override
+  public void setCurrentConcurrency(int concurrency) {
+    this.currentConcurrency = concurrency;
+  }
+
+  /**
+   * Gets the time-weighted average number of records that the bulk load
+   * allowed in flight.
+   *
+   * @return The time-weighted average number of records that the bulk load
+   *         allowed in flight.
+   */
+  @Override
+  public double getAverageConcurrency() {
+    return this.averageConcurrency;
+  }
+
+  /**
+   * Sets the time-weighted average number of records that the bulk load
+   * allowed in flight.
+   *
+   * @param concurrency The time-weighted average number of records that the
+   *                    bulk load allowed in flight.
+   */
+  @Override
+  public void setAverageConcurrency(double concurrency) {
+    this.averageConcurrency = concurrency;
+  }
+
+  /**
+   * Gets the total number of adjustments made to the number of records in
+   * flight.  This may exceed the number of {@linkplain #getAdjustments()
+   * adjustments that are retained}.
+   *
+   * @return The total number of adjustments made to the number of records in
+   *         flight.
+   */
+  @Override
+  public int getAdjustmentCount() {
+    return this.adjustmentCount;
+  }
+
+  /**
+   * Sets the total number of adjustments made to the number of records in
+   * flight.
+   *
+   * @param count The total number of adjustments made to the number of
+   *              records in flight.
+   */
+  @Override
+  public void setAdjustmentCount(int count) {
+    this.adjustmentCount = count;
+  }
+
+  /**
+   * Gets the <b>unmodifiable</b> {@link List} of {@link SzConcurrencySample}
+   * instances describing the most recent adjustments to the number of
+   * records in flight in chronological order.
+   *
+   * @return The <b>unmodifiable</b> {@link List} of {@link
+   *         SzConcurrencySample} instances describing the most recent
+   *         adjustments.
+   */
+  @Override
+  public List<SzConcurrencySample> getAdjustments() {
+    return Collections.unmodifiableList(this.adjustments);
+  }
+
+  /**
+   * Sets the {@link List} of {@link SzConcurrencySample} instances
+   * describing the most recent adjustments to the number of records in
+   * flight in chronological order.
+   *
+   * @param adjustments The {@link List} of {@link SzConcurrencySample}
+   *                    instances describing the most recent adjustments.
+   */
+  @Override
+  public void setAdjustments(List<SzConcurrencySample> adjustments) {
+    this.adjustments.clear();
+    if (adjustments != null) this.adjustments.addAll(adjustments);
+  }
+
+  @Override
+  public String toString() {
+    return "SzLoadConcurrency{" +
+        "minConcurrency=" + minConcurrency +
+        ", maxConcurrency=" + maxConcurrency +
+        ", currentConcurrency=" + currentConcurrency +
+        ", averageConcurrency=" + averageConcurrency +
+        ", adjustmentCount=" + adjustmentCount +
+        ", adjustments=" + adjustments +
+        '}';
+  }
+}
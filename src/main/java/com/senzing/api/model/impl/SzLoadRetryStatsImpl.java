@@ -0,0 +1,144 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzLoadRetryStats;
+
+/**
+ * Provides the default implementation of {@link SzLoadRetryStats}.
+ */
+@JsonDeserialize
+public class SzLoadRetryStatsImpl implements SzLoadRetryStats {
+  /**
+   * The engine error code that caused the records to be retried.
+   */
+  private String errorCode;
+
+  /**
+   * The number of retry attempts made.
+   */
+  private int retryCount;
+
+  /**
+   * The number of records that were loaded by a retry.
+   */
+  private int recoveredCount;
+
+  /**
+   * The number of records that were not loaded.
+   */
+  private int failedCount;
+
+  /**
+   * Default constructor.
+   */
+  public SzLoadRetryStatsImpl() {
+    this.errorCode      = null;
+    this.retryCount     = 0;
+    this.recoveredCount = 0;
+    this.failedCount    = 0;
+  }
+
+  /**
+   * Gets the engine error code that caused the records to be retried.
+   *
+   * @return The engine error code that caused the records to be retried.
+   */
+  @Override
+  public String getErrorCode() {
+    return this.errorCode;
+  }
+
+  /**
+   * Sets the engine error code that caused the records to be retried.
+   *
+   * @param errorCode The engine error code that caused the records to be
+   *                  retried.
+   */
+  @Override
+  public void setErrorCode(String errorCode) {
+    this.errorCode = errorCode;
+  }
+
+  /**
+   * Gets the number of retry attempts made after failures with the error
+   * code.
+   *
+   * @return The number of retry attempts made after failures with the error
+   *         code.
+   */
+  @Override
+  public int getRetryCount() {
+    return this.retryCount;
+  }
+
+  /**
+   * Sets the number of retry attempts made after failures with the error
+   * code.
+   *
+   * @param retryCount The number of retry attempts made after failures with
+   *                   the error code.
+   */
+  @Override
+  public void setRetryCount(int retryCount) {
+    this.retryCount = retryCount;
+  }
+
+  /**
+   * Gets the number of records that were loaded by a retry after last
+   * failing with the error code.
+   *
+   * @return The number of records that were loaded by a retry after last
+   *         failing with the error code.
+   */
+  @Override
+  public int getRecoveredCount() {
+    return this.recoveredCount;
+  }
+
+  /**
+   * Sets the number of records that were loaded by a retry after last
+   * failing with the error code.
+   *
+   * @param recoveredCount The number of records that were loaded by a retry
+   *                       after last failing with the error code.
+   */
+  @Override
+  public void setRecoveredCount(int recoveredCount) {
+    this.recoveredCount = recoveredCount;
+  }
+
+  /**
+   * Gets the number of records that last failed with the error code and
+   * were not loaded, either because the retries were exhausted or because
+   * the following retry failed with an error that is not retried.
+   *
+   * @return The number of records that last failed with the error code and
+   *         were not loaded.
+   */
+  @Override
+  public int getFailedCount() {
+    return this.failedCount;
+  }
+
+  /**
+   * Sets the number of records that last failed with the error code and
+   * were not loaded.
+   *
+   * @param failedCount The number of records that last failed with the
+   *                    error code and were not loaded.
+   */
+  @Override
+  public void setFailedCount(int failedCount) {
+    this.failedCount = failedCount;
+  }
+
+  @Override
+  public String toString() {
+    return "SzLoadRetryStats{" +
+        "errorCode='" + errorCode + '\'' +
+        ", retryCount=" + retryCount +
+        ", recoveredCount=" + recoveredCount +
+        ", failedCount=" + failedCount +
+        '}';
+  }
+}
@@ -0,0 +1,72 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.*;
+
+/**
+ * Provides a default implementation of {@link SzRecordBatchResponse}.
+ */
+@JsonDeserialize
+public class SzRecordBatchResponseImpl extends SzBasicResponseImpl
+  implements SzRecordBatchResponse
+{
+  /**
+   * The {@link SzRecordBatchResult} describing the batch.
+   */
+  private SzRecordBatchResult batchResult;
+
+  /**
+   * Protected default constructor.
+   */
+  protected SzRecordBatchResponseImpl() {
+    this.batchResult = null;
+  }
+
+  /**
+   * Constructs with only the HTTP method and the self link, leaving the
+   * batch result to be initialized later.
+   *
+   * @param meta The response meta data.
+   *
+   * @param links The links for the response.
+   */
+  public SzRecordBatchResponseImpl(SzMeta meta, SzLinks links)
+  {
+    this(meta, links, null);
+  }
+
+  /**
+   * Constructs with the HTTP method, self link and the {@link
+   * SzRecordBatchResult} describing the batch.
+   *
+   * @param meta The response meta data.
+   *
+   * @param links The links for the response.
+   *
+   * @param batchResult The {@link SzRecordBatchResult} describing the result
+   *                    of the batch.
+   */
+  public SzRecordBatchResponseImpl(SzMeta               meta,
+                                   SzLinks              links,
+                                   SzRecordBatchResult  batchResult)
+  {
+    super(meta, links);
+    this.batchResult = batchResult;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SzRecordBatchResult getData() {
+    return this.batchResult;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setData(SzRecordBatchResult batchResult) {
+    this.batchResult = batchResult;
+  }
+}
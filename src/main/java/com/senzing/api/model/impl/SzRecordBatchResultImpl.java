@@ -0,0 +1,90 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzRecordBatchResult;
+import com.senzing.api.model.SzRecordOperationResult;
+
+import java.util.*;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Provides the default implementation of {@link SzRecordBatchResult}.
+ */
+@JsonDeserialize
+public class SzRecordBatchResultImpl implements SzRecordBatchResult {
+  /**
+   * The {@link List} of per-operation results.
+   */
+  private List<SzRecordOperationResult> results;
+
+  /**
+   * The number of operations that failed.
+   */
+  private int failedCount;
+
+  /**
+   * The {@link Set} of affected entity IDs, or <tt>null</tt> if resolution
+   * info was not requested.
+   */
+  private Set<Long> affectedEntities;
+
+  /**
+   * Default constructor.
+   */
+  public SzRecordBatchResultImpl() {
+    this.results          = new ArrayList<>();
+    this.failedCount      = 0;
+    this.affectedEntities = null;
+  }
+
+  @Override
+  public List<SzRecordOperationResult> getResults() {
+    return Collections.unmodifiableList(this.results);
+  }
+
+  @Override
+  public void setResults(List<SzRecordOperationResult> results) {
+    this.results.clear();
+    if (results != null) this.results.addAll(results);
+  }
+
+  @Override
+  public int getFailedCount() {
+    return this.failedCount;
+  }
+
+  @Override
+  public void setFailedCount(int failedCount) {
+    this.failedCount = failedCount;
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public Set<Long> getAffectedEntities() {
+    if (this.affectedEntities == null) return null;
+    return Collections.unmodifiableSet(this.affectedEntities);
+  }
+
+  @Override
+  public void setAffectedEntities(Collection<Long> affectedEntities) {
+    if (affectedEntities == null) {
+      this.affectedEntities = null;
+      return;
+    }
+    this.affectedEntities = new TreeSet<>();
+    for (Long entityId : affectedEntities) {
+      if (entityId != null) this.affectedEntities.add(entityId);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "SzRecordBatchResult{" +
+        "results=" + results +
+        ", failedCount=" + failedCount +
+        ", affectedEntities=" + affectedEntities +
+        '}';
+  }
+}
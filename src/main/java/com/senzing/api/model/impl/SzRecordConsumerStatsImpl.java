@@ -0,0 +1,331 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzRecordConsumerStats;
+
+/**
+ * Provides the default implementation of {@link SzRecordConsumerStats}.
+ */
+@JsonDeserialize
+public class SzRecordConsumerStatsImpl implements SzRecordConsumerStats {
+  /**
+   * The type of messaging provider from which the records are consumed.
+   */
+  private String providerType;
+
+  /**
+   * The maximum number of record messages that are processed concurrently.
+   */
+  private int concurrency;
+
+  /**
+   * The number of record messages currently being processed.
+   */
+  private int inFlightCount;
+
+  /**
+   * The number of record messages that have been received since the server
+   * started.
+   */
+  private long receivedCount;
+
+  /**
+   * The number of records that have been successfully added since the server
+   * started.
+   */
+  private long addedCount;
+
+  /**
+   * The number of records that have been successfully deleted since the server
+   * started.
+   */
+  private long deletedCount;
+
+  /**
+   * The number of times that a record message was retried after a failed
+   * attempt to process it.
+   */
+  private long retriedCount;
+
+  /**
+   * The number of record messages that could not be processed and were routed
+   * to the dead-letter destination.
+   */
+  private long deadLetteredCount;
+
+  /**
+   * The number of record messages that could not be processed and were
+   * discarded because no dead-letter destination is configured.
+   */
+  private long discardedCount;
+
+  /**
+   * The number of record messages that were released to be redelivered by the
+   * messaging provider.
+   */
+  private long releasedCount;
+
+  /**
+   * Default constructor.
+   */
+  public SzRecordConsumerStatsImpl() {
+    this.providerType      = null;
+    this.concurrency       = 0;
+    this.inFlightCount     = 0;
+    this.receivedCount     = 0L;
+    this.addedCount        = 0L;
+    this.deletedCount      = 0L;
+    this.retriedCount      = 0L;
+    this.deadLetteredCount = 0L;
+    this.discardedCount    = 0L;
+    this.releasedCount     = 0L;
+  }
+
+  /**
+   * Gets the type of messaging provider from which the records are consumed.
+   *
+   * @return The type of messaging provider from which the records are consumed.
+   */
+  @Override
+  public String getProviderType() {
+    return this.providerType;
+  }
+
+  /**
+   * Sets the type of messaging provider from which the records are consumed.
+   *
+   * @param providerType The type of messaging provider from which the records
+   *                     are consumed.
+   */
+  @Override
+  public void setProviderType(String providerType) {
+    this.providerType = providerType;
+  }
+
+  /**
+   * Gets the maximum number of record messages that are processed concurrently.
+   *
+   * @return The maximum number of record messages that are processed
+   *         concurrently.
+   */
+  @Override
+  public int getConcurrency() {
+    return this.concurrency;
+  }
+
+  /**
+   * Sets the maximum number of record messages that are processed concurrently.
+   *
+   * @param concurrency The maximum number of record messages that are processed
+   *                    concurrently.
+   */
+  @Override
+  public void setConcurrency(int concurrency) {
+    this.concurrency = concurrency;
+  }
+
+  /**
+   * Gets the number of record messages currently being processed.
+   *
+   * @return The number of record messages currently being processed.
+   */
+  @Override
+  public int getInFlightCount() {
+    return this.inFlightCount;
+  }
+
+  /**
+   * Sets the number of record messages currently being processed.
+   *
+   * @param count The number of record messages currently being processed.
+   */
+  @Override
+  public void setInFlightCount(int count) {
+    this.inFlightCount = count;
+  }
+
+  /**
+   * Gets the number of record messages that have been received since the server
+   * started.
+   *
+   * @return The number of record messages that have been received since the
+   *         server started.
+   */
+  @Override
+  public long getReceivedCount() {
+    return this.receivedCount;
+  }
+
+  /**
+   * Sets the number of record messages that have been received since the server
+   * started.
+   *
+   * @param count The number of record messages that have been received since
+   *              the server started.
+   */
+  @Override
+  public void setReceivedCount(long count) {
+    this.receivedCount = count;
+  }
+
+  /**
+   * Gets the number of records that have been successfully added since the
+   * server started.
+   *
+   * @return The number of records that have been successfully added since the
+   *         server started.
+   */
+  @Override
+  public long getAddedCount() {
+    return this.addedCount;
+  }
+
+  /**
+   * Sets the number of records that have been successfully added since the
+   * server started.
+   *
+   * @param count The number of records that have been successfully added since
+   *              the server started.
+   */
+  @Override
+  public void setAddedCount(long count) {
+    this.addedCount = count;
+  }
+
+  /**
+   * Gets the number of records that have been successfully deleted since the
+   * server started.
+   *
+   * @return The number of records that have been successfully deleted since the
+   *         server started.
+   */
+  @Override
+  public long getDeletedCount() {
+    return this.deletedCount;
+  }
+
+  /**
+   * Sets the number of records that have been successfully deleted since the
+   * server started.
+   *
+   * @param count The number of records that have been successfully deleted
+   *              since the server started.
+   */
+  @Override
+  public void setDeletedCount(long count) {
+    this.deletedCount = count;
+  }
+
+  /**
+   * Gets the number of times that a record message was retried after a failed
+   * attempt to process it.
+   *
+   * @return The number of times that a record message was retried after a
+   *         failed attempt to process it.
+   */
+  @Override
+  public long getRetriedCount() {
+    return this.retriedCount;
+  }
+
+  /**
+   * Sets the number of times that a record message was retried after a failed
+   * attempt to process it.
+   *
+   * @param count The number of times that a record message was retried after a
+   *              failed attempt to process it.
+   */
+  @Override
+  public void setRetriedCount(long count) {
+    this.retriedCount = count;
+  }
+
+  /**
+   * Gets the number of record messages that could not be processed and were
+   * routed to the dead-letter destination.
+   *
+   * @return The number of record messages that could not be processed and were
+   *         routed to the dead-letter destination.
+   */
+  @Override
+  public long getDeadLetteredCount() {
+    return this.deadLetteredCount;
+  }
+
+  /**
+   * Sets the number of record messages that could not be processed and were
+   * routed to the dead-letter destination.
+   *
+   * @param count The number of record messages that could not be processed and
+   *              were routed to the dead-letter destination.
+   */
+  @Override
+  public void setDeadLetteredCount(long count) {
+    this.deadLetteredCount = count;
+  }
+
+  /**
+   * Gets the number of record messages that could not be processed and were
+   * discarded because no dead-letter destination is configured.
+   *
+   * @return The number of record messages that could not be processed and were
+   *         discarded because no dead-letter destination is configured.
+   */
+  @Override
+  public long getDiscardedCount() {
+    return this.discardedCount;
+  }
+
+  /**
+   * Sets the number of record messages that could not be processed and were
+   * discarded because no dead-letter destination is configured.
+   *
+   * @param count The number of record messages that could not be processed and
+   *              were discarded because no dead-letter destination is
+   *              configured.
+   */
+  @Override
+  public void setDiscardedCount(long count) {
+    this.discardedCount = count;
+  }
+
+  /**
+   * Gets the number of record messages that were released to be redelivered by
+   * the messaging provider.
+   *
+   * @return The number of record messages that were released to be redelivered
+   *         by the messaging provider.
+   */
+  @Override
+  public long getReleasedCount() {
+    return this.releasedCount;
+  }
+
+  /**
+   * Sets the number of record messages that were released to be redelivered by
+   * the messaging provider.
+   *
+   * @param count The number of record messages that were released to be
+   *              redelivered by the messaging provider.
+   */
+  @Override
+  public void setReleasedCount(long count) {
+    this.releasedCount = count;
+  }
+
+  @Override
+  public String toString() {
+    return "SzRecordConsumerStats{" +
+        "providerType=" + providerType +
+        ", concurrency=" + concurrency +
+        ", inFlightCount=" + inFlightCount +
+        ", receivedCount=" + receivedCount +
+        ", addedCount=" + addedCount +
+        ", deletedCount=" + deletedCount +
+        ", retriedCount=" + retriedCount +
+        ", deadLetteredCount=" + deadLetteredCount +
+        ", discardedCount=" + discardedCount +
+        ", releasedCount=" + releasedCount +
+        '}';
+  }
+}
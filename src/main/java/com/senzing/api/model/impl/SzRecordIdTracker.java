@@ -0,0 +1,373 @@
+package com.senzing.api.model.impl;
+
+import java.util.*;
+
+/**
+ * A utility class for tracking the distinct record ID's encountered for each
+ * data source so that duplicate record ID's can be counted.  Each record ID
+ * is reduced to a 64-bit hash that is stored in a primitive open-addressing
+ * hash set so that duplicates are counted exactly.  Once the memory used by
+ * the hash sets would exceed the configured memory budget, the hash set for
+ * the data source that needs to grow is folded into a HyperLogLog sketch and
+ * the distinct count for that data source becomes an estimate with a
+ * standard error of approximately {@link #ESTIMATE_STANDARD_ERROR}.
+ */
+public class SzRecordIdTracker {
+  /**
+   * The default memory budget in bytes for the exact hash sets ({@value}).
+   */
+  public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024L * 1024L;
+
+  /**
+   * The number of bits of the hash used to select the HyperLogLog register.
+   */
+  private static final int HLL_PRECISION = 14;
+
+  /**
+   * The number of HyperLogLog registers.
+   */
+  private static final int HLL_REGISTER_COUNT = 1 << HLL_PRECISION;
+
+  /**
+   * The bias correction constant for the HyperLogLog estimate.
+   */
+  private static final double HLL_ALPHA
+      = 0.7213 / (1.0 + (1.079 / HLL_REGISTER_COUNT));
+
+  /**
+   * The relative standard error of the HyperLogLog distinct estimates.
+   */
+  public static final double ESTIMATE_STANDARD_ERROR
+      = 1.04 / Math.sqrt(HLL_REGISTER_COUNT);
+
+  /**
+   * The initial number of slots in each exact hash set.
+   */
+  private static final int INITIAL_CAPACITY = 1024;
+
+  /**
+   * The maximum load factor for the exact hash sets before they are grown.
+   */
+  private static final double MAX_LOAD_FACTOR = 0.7;
+
+  /**
+   * The memory budget in bytes for the exact hash sets.
+   */
+  private long memoryBudget;
+
+  /**
+   * The number of bytes currently used by the exact hash sets.
+   */
+  private long memoryUsed;
+
+  /**
+   * The {@link Map} of data source codes to {@link Sketch} instances.
+   */
+  private Map<String, Sketch> sketchMap;
+
+  /**
+   * Default constructor.  This constructs with the {@linkplain
+   * #DEFAULT_MEMORY_BUDGET default memory budget}.
+   */
+  public SzRecordIdTracker() {
+    this(DEFAULT_MEMORY_BUDGET);
+  }
+
+  /**
+   * Constructs with the specified memory budget in bytes for the exact hash
+   * sets.  A budget of zero (0) causes all distinct counts to be estimated.
+   *
+   * @param memoryBudget The memory budget in bytes for the exact hash sets.
+   *
+   * @throws IllegalArgumentException If the specified memory budget is
+   *                                  negative.
+   */
+  public SzRecordIdTracker(long memoryBudget) {
+    if (memoryBudget < 0L) {
+      throw new IllegalArgumentException(
+          "The memory budget cannot be negative: " + memoryBudget);
+    }
+    this.memoryBudget = memoryBudget;
+    this.memoryUsed   = 0L;
+    this.sketchMap    = new HashMap<>();
+  }
+
+  /**
+   * Gets the memory budget in bytes for the exact hash sets.
+   *
+   * @return The memory budget in bytes for the exact hash sets.
+   */
+  public long getMemoryBudget() {
+    return this.memoryBudget;
+  }
+
+  /**
+   * Gets the number of bytes currently used by the exact hash sets.
+   *
+   * @return The number of bytes currently used by the exact hash sets.
+   */
+  public long getMemoryUsed() {
+    return this.memoryUsed;
+  }
+
+  /**
+   * Gets the <b>unmodifiable</b> {@link Set} of data source codes for which
+   * record ID's have been tracked.  The returned {@link Set} may contain
+   * <tt>null</tt> for records that have no data source.
+   *
+   * @return The <b>unmodifiable</b> {@link Set} of data source codes for which
+   *         record ID's have been tracked.
+   */
+  public Set<String> getDataSources() {
+    return Collections.unmodifiableSet(this.sketchMap.keySet());
+  }
+
+  /**
+   * Tracks the specified record ID for the specified data source.
+   *
+   * @param dataSource The data source for the record, or <tt>null</tt> if the
+   *                   record has no data source.
+   * @param recordId The non-null record ID for the record.
+   *
+   * @return <tt>true</tt> if the record ID is known to be a duplicate for the
+   *         data source, otherwise <tt>false</tt> (including if duplicates
+   *         are only being estimated for the data source).
+   */
+  public boolean trackRecordId(String dataSource, String recordId) {
+    Objects.requireNonNull(recordId, "The record ID cannot be null");
+    Sketch sketch = this.sketchMap.get(dataSource);
+    if (sketch == null) {
+      sketch = new Sketch();
+      this.sketchMap.put(dataSource, sketch);
+    }
+    long hash = hash(recordId);
+
+    // check if we are already estimating
+    if (sketch.registers != null) {
+      sketch.addToRegisters(hash);
+      return false;
+    }
+
+    // check if the record ID is a duplicate
+    if (sketch.contains(hash)) return true;
+
+    // check if the hash set needs to grow
+    if (sketch.table == null || sketch.size + 1 > sketch.threshold) {
+      long current = (sketch.table == null) ? 0L : sketch.table.length * 8L;
+      long required = (sketch.table == null)
+          ? INITIAL_CAPACITY * 8L : current * 2L;
+      if (this.memoryUsed - current + required > this.memoryBudget) {
+        // fold the hash set into the registers and release the memory
+        sketch.convertToRegisters();
+        this.memoryUsed -= current;
+        sketch.addToRegisters(hash);
+        return false;
+      }
+      sketch.grow((int) (required / 8L));
+      this.memoryUsed += (required - current);
+    }
+    sketch.add(hash);
+    return false;
+  }
+
+  /**
+   * Gets the exact or estimated number of distinct record ID's that have been
+   * tracked for the specified data source.
+   *
+   * @param dataSource The data source, or <tt>null</tt> for the records that
+   *                   have no data source.
+   *
+   * @return The exact or estimated number of distinct record ID's.
+   */
+  public long getDistinctCount(String dataSource) {
+    Sketch sketch = this.sketchMap.get(dataSource);
+    return (sketch == null) ? 0L : sketch.distinctCount();
+  }
+
+  /**
+   * Checks if the distinct count for the specified data source is an
+   * estimate because the memory budget was exhausted.
+   *
+   * @param dataSource The data source, or <tt>null</tt> for the records that
+   *                   have no data source.
+   *
+   * @return <tt>true</tt> if the distinct count is estimated, otherwise
+   *         <tt>false</tt>.
+   */
+  public boolean isEstimated(String dataSource) {
+    Sketch sketch = this.sketchMap.get(dataSource);
+    return (sketch != null && sketch.registers != null);
+  }
+
+  /**
+   * Computes a well-distributed 64-bit hash of the specified record ID using
+   * FNV-1a followed by the MurmurHash3 finalization mix.
+   *
+   * @param recordId The record ID to hash.
+   *
+   * @return The 64-bit hash.
+   */
+  private static long hash(String recordId) {
+    long hash = 0xcbf29ce484222325L;
+    for (int index = 0; index < recordId.length(); index++) {
+      char c = recordId.charAt(index);
+      hash ^= (c & 0xFF);
+      hash *= 0x100000001b3L;
+      hash ^= (c >>> 8);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= (hash >>> 33);
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= (hash >>> 33);
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= (hash >>> 33);
+    return hash;
+  }
+
+  /**
+   * Tracks the record ID hashes for a single data source, either exactly in
+   * a linear-probing hash set or approximately in HyperLogLog registers.
+   */
+  private static class Sketch {
+    /**
+     * The slots of the exact hash set where zero (0) marks an empty slot, or
+     * <tt>null</tt> if no slots have been allocated or if estimating.
+     */
+    private long[] table = null;
+
+    /**
+     * The number of hashes stored in the exact hash set.
+     */
+    private int size = 0;
+
+    /**
+     * Whether or not the zero (0) hash is in the exact hash set since zero
+     * marks an empty slot.
+     */
+    private boolean containsZero = false;
+
+    /**
+     * The number of hashes the table may hold before it must grow.
+     */
+    private int threshold = 0;
+
+    /**
+     * The HyperLogLog registers, or <tt>null</tt> if counting exactly.
+     */
+    private byte[] registers = null;
+
+    /**
+     * Checks if the exact hash set contains the specified hash.
+     *
+     * @param hash The hash to check for.
+     *
+     * @return <tt>true</tt> if the hash is contained, otherwise <tt>false</tt>.
+     */
+    private boolean contains(long hash) {
+      if (hash == 0L) return this.containsZero;
+      if (this.table == null) return false;
+      int mask = this.table.length - 1;
+      for (int index = (int) hash & mask;
+           this.table[index] != 0L;
+           index = (index + 1) & mask)
+      {
+        if (this.table[index] == hash) return true;
+      }
+      return false;
+    }
+
+    /**
+     * Adds the specified hash to the exact hash set.  The caller must ensure
+     * the hash is not already contained and that the table has room.
+     *
+     * @param hash The hash to add.
+     */
+    private void add(long hash) {
+      this.size++;
+      if (hash == 0L) {
+        this.containsZero = true;
+        return;
+      }
+      int mask = this.table.length - 1;
+      int index = (int) hash & mask;
+      while (this.table[index] != 0L) index = (index + 1) & mask;
+      this.table[index] = hash;
+    }
+
+    /**
+     * Grows the exact hash set to the specified number of slots and rehashes
+     * the existing hashes.
+     *
+     * @param capacity The new number of slots which must be a power of two.
+     */
+    private void grow(int capacity) {
+      long[] oldTable = this.table;
+      this.table      = new long[capacity];
+      this.threshold  = (int) (capacity * MAX_LOAD_FACTOR);
+      if (oldTable == null) return;
+      int mask = capacity - 1;
+      for (long hash : oldTable) {
+        if (hash == 0L) continue;
+        int index = (int) hash & mask;
+        while (this.table[index] != 0L) index = (index + 1) & mask;
+        this.table[index] = hash;
+      }
+    }
+
+    /**
+     * Folds the hashes in the exact hash set into newly allocated HyperLogLog
+     * registers and releases the exact hash set.
+     */
+    private void convertToRegisters() {
+      this.registers = new byte[HLL_REGISTER_COUNT];
+      if (this.containsZero) this.addToRegisters(0L);
+      if (this.table != null) {
+        for (long hash : this.table) {
+          if (hash != 0L) this.addToRegisters(hash);
+        }
+      }
+      this.table        = null;
+      this.size         = 0;
+      this.threshold    = 0;
+      this.containsZero = false;
+    }
+
+    /**
+     * Adds the specified hash to the HyperLogLog registers.
+     *
+     * @param hash The hash to add.
+     */
+    private void addToRegisters(long hash) {
+      int index = (int) (hash >>> (64 - HLL_PRECISION));
+      long remainder = (hash << HLL_PRECISION) | (1L << (HLL_PRECISION - 1));
+      byte rank = (byte) (Long.numberOfLeadingZeros(remainder) + 1);
+      if (rank > this.registers[index]) this.registers[index] = rank;
+    }
+
+    /**
+     * Returns the exact distinct count if counting exactly, otherwise the
+     * HyperLogLog estimate of the distinct count.
+     *
+     * @return The exact or estimated distinct count.
+     */
+    private long distinctCount() {
+      if (this.registers == null) return this.size;
+
+      double sum = 0.0;
+      int zeroCount = 0;
+      for (byte register : this.registers) {
+        sum += 1.0 / (1L << register);
+        if (register == 0) zeroCount++;
+      }
+      double estimate
+          = HLL_ALPHA * HLL_REGISTER_COUNT * HLL_REGISTER_COUNT / sum;
+
+      // use linear counting for small cardinalities
+      if (estimate <= 2.5 * HLL_REGISTER_COUNT && zeroCount > 0) {
+        estimate = HLL_REGISTER_COUNT
+            * Math.log((double) HLL_REGISTER_COUNT / zeroCount);
+      }
+      return Math.round(estimate);
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzRecordOperation;
+import com.senzing.api.model.SzRecordOperationResult;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Provides the default implementation of {@link SzRecordOperationResult}.
+ */
+@JsonDeserialize
+public class SzRecordOperationResultImpl implements SzRecordOperationResult {
+  /**
+   * The zero-based index of the operation in the batch request.
+   */
+  private int index;
+
+  /**
+   * The operation that was requested.
+   */
+  private SzRecordOperation operation;
+
+  /**
+   * The data source code of the record for the operation.
+   */
+  private String dataSource;
+
+  /**
+   * The record ID of the record for the operation.
+   */
+  private String recordId;
+
+  /**
+   * The HTTP status code describing the outcome for the operation.
+   */
+  private int httpStatusCode;
+
+  /**
+   * Whether or not the operation was skipped because the record was
+   * unchanged.
+   */
+  private boolean skipped;
+
+  /**
+   * The error message if the operation failed.
+   */
+  private String errorMessage;
+
+  /**
+   * Default constructor.
+   */
+  public SzRecordOperationResultImpl() {
+    this.index          = 0;
+    this.operation      = null;
+    this.dataSource     = null;
+    this.recordId       = null;
+    this.httpStatusCode = 0;
+    this.skipped        = false;
+    this.errorMessage   = null;
+  }
+
+  @Override
+  public int getIndex() {
+    return this.index;
+  }
+
+  @Override
+  public void setIndex(int index) {
+    this.index = index;
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public SzRecordOperation getOperation() {
+    return this.operation;
+  }
+
+  @Override
+  public void setOperation(SzRecordOperation operation) {
+    this.operation = operation;
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public String getDataSource() {
+    return this.dataSource;
+  }
+
+  @Override
+  public void setDataSource(String dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public String getRecordId() {
+    return this.recordId;
+  }
+
+  @Override
+  public void setRecordId(String recordId) {
+    this.recordId = recordId;
+  }
+
+  @Override
+  public int getHttpStatusCode() {
+    return this.httpStatusCode;
+  }
+
+  @Override
+  public void setHttpStatusCode(int statusCode) {
+    this.httpStatusCode = statusCode;
+  }
+
+  @Override
+  public boolean isSkipped() {
+    return this.skipped;
+  }
+
+  @Override
+  public void setSkipped(boolean skipped) {
+    this.skipped = skipped;
+  }
+
+  @Override
+  @JsonInclude(NON_NULL)
+  public String getErrorMessage() {
+    return this.errorMessage;
+  }
+
+  @Override
+  public void setErrorMessage(String errorMessage) {
+    this.errorMessage = errorMessage;
+  }
+
+  @Override
+  public String toString() {
+    return "SzRecordOperationResult{" +
+        "index=" + index +
+        ", operation=" + operation +
+        ", dataSource='" + dataSource + '\'' +
+        ", recordId='" + recordId + '\'' +
+        ", httpStatusCode=" + httpStatusCode +
+        ", skipped=" + skipped +
+        ", errorMessage='" + errorMessage + '\'' +
+        '}';
+  }
+}
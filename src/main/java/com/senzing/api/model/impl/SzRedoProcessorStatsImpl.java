@@ -0,0 +1,225 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzRedoProcessorStats;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Provides the default implementation of {@link SzRedoProcessorStats}.
+ */
+@JsonDeserialize
+public class SzRedoProcessorStatsImpl implements SzRedoProcessorStats {
+  /**
+   * The number of threads processing redo records.
+   */
+  private int threadCount;
+
+  /**
+   * The approximate number of redo records that are pending.
+   */
+  private long redoBacklog;
+
+  /**
+   * The number of redo records that have been successfully processed.
+   */
+  private long processedCount;
+
+  /**
+   * The number of attempts to process a redo record that failed.
+   */
+  private long failedCount;
+
+  /**
+   * The recent number of redo records processed per second.
+   */
+  private double recordsPerSecond;
+
+  /**
+   * The estimated number of milliseconds until the backlog is processed.
+   */
+  private Long lagMillis;
+
+  /**
+   * The number of milliseconds each redo thread currently pauses.
+   */
+  private long throttleMillis;
+
+  /**
+   * Default constructor.
+   */
+  public SzRedoProcessorStatsImpl() {
+    this.threadCount      = 0;
+    this.redoBacklog      = 0L;
+    this.processedCount   = 0L;
+    this.failedCount      = 0L;
+    this.recordsPerSecond = 0.0;
+    this.lagMillis        = null;
+    this.throttleMillis   = 0L;
+  }
+
+  /**
+   * Gets the number of threads processing redo records.
+   *
+   * @return The number of threads processing redo records.
+   */
+  @Override
+  public int getThreadCount() {
+    return this.threadCount;
+  }
+
+  /**
+   * Sets the number of threads processing redo records.
+   *
+   * @param threadCount The number of threads processing redo records.
+   */
+  @Override
+  public void setThreadCount(int threadCount) {
+    this.threadCount = threadCount;
+  }
+
+  /**
+   * Gets the approximate number of redo records that are pending.
+   *
+   * @return The approximate number of redo records that are pending.
+   */
+  @Override
+  public long getRedoBacklog() {
+    return this.redoBacklog;
+  }
+
+  /**
+   * Sets the approximate number of redo records that are pending.
+   *
+   * @param backlog The approximate number of redo records that are pending.
+   */
+  @Override
+  public void setRedoBacklog(long backlog) {
+    this.redoBacklog = backlog;
+  }
+
+  /**
+   * Gets the number of redo records that have been successfully processed.
+   *
+   * @return The number of redo records that have been successfully processed.
+   */
+  @Override
+  public long getProcessedCount() {
+    return this.processedCount;
+  }
+
+  /**
+   * Sets the number of redo records that have been successfully processed.
+   *
+   * @param count The number of redo records that have been successfully
+   *              processed.
+   */
+  @Override
+  public void setProcessedCount(long count) {
+    this.processedCount = count;
+  }
+
+  /**
+   * Gets the number of attempts to process a redo record that failed.
+   *
+   * @return The number of attempts to process a redo record that failed.
+   */
+  @Override
+  public long getFailedCount() {
+    return this.failedCount;
+  }
+
+  /**
+   * Sets the number of attempts to process a redo record that failed.
+   *
+   * @param count The number of attempts to process a redo record that failed.
+   */
+  @Override
+  public void setFailedCount(long count) {
+    this.failedCount = count;
+  }
+
+  /**
+   * Gets the recent number of redo records processed per second.
+   *
+   * @return The recent number of redo records processed per second.
+   */
+  @Override
+  public double getRecordsPerSecond() {
+    return this.recordsPerSecond;
+  }
+
+  /**
+   * Sets the recent number of redo records processed per second.
+   *
+   * @param recordsPerSecond The recent number of redo records processed per
+   *                         second.
+   */
+  @Override
+  public void setRecordsPerSecond(double recordsPerSecond) {
+    this.recordsPerSecond = recordsPerSecond;
+  }
+
+  /**
+   * Gets the estimated number of milliseconds until the current redo backlog
+   * is processed at the recent throughput.
+   *
+   * @return The estimated number of milliseconds until the redo backlog is
+   *         processed, or <tt>null</tt> if it cannot be estimated.
+   */
+  @Override
+  @JsonInclude(NON_NULL)
+  public Long getLagMillis() {
+    return this.lagMillis;
+  }
+
+  /**
+   * Sets the estimated number of milliseconds until the current redo backlog
+   * is processed at the recent throughput.
+   *
+   * @param lagMillis The estimated number of milliseconds until the redo
+   *                  backlog is processed, or <tt>null</tt> if it cannot be
+   *                  estimated.
+   */
+  @Override
+  public void setLagMillis(Long lagMillis) {
+    this.lagMillis = lagMillis;
+  }
+
+  /**
+   * Gets the number of milliseconds each redo thread currently pauses before
+   * processing the next redo record.
+   *
+   * @return The number of milliseconds each redo thread currently pauses.
+   */
+  @Override
+  public long getThrottleMillis() {
+    return this.throttleMillis;
+  }
+
+  /**
+   * Sets the number of milliseconds each redo thread currently pauses before
+   * processing the next redo record.
+   *
+   * @param throttleMillis The number of milliseconds each redo thread
+   *                       currently pauses.
+   */
+  @Override
+  public void setThrottleMillis(long throttleMillis) {
+    this.throttleMillis = throttleMillis;
+  }
+
+  @Override
+  public String toString() {
+    return "SzRedoProcessorStats{" +
+        "threadCount=" + threadCount +
+        ", redoBacklog=" + redoBacklog +
+        ", processedCount=" + processedCount +
+        ", failedCount=" + failedCount +
+        ", recordsPerSecond=" + recordsPerSecond +
+        ", lagMillis=" + lagMillis +
+        ", throttleMillis=" + throttleMillis +
+        '}';
+  }
+}
@@ -0,0 +1,376 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzDataSourceStats;
+import com.senzing.api.model.SzRepositoryStats;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
+/**
+ * Provides the default implementation of {@link SzRepositoryStats}.
+ */
+@JsonDeserialize
+public class SzRepositoryStatsImpl implements SzRepositoryStats {
+  /**
+   * The number of records that are known to be loaded in the repository.
+   */
+  private long recordCount;
+
+  /**
+   * The number of entities in the repository as of the last reconciliation.
+   */
+  private Long entityCount;
+
+  /**
+   * The number of times a record has been added or replaced.
+   */
+  private long loadCount;
+
+  /**
+   * The number of times a record has been deleted.
+   */
+  private long deleteCount;
+
+  /**
+   * The number of times a record or entity has been re-evaluated (including via
+   * redo processing).
+   */
+  private long reevaluateCount;
+
+  /**
+   * The total number of affected entities reported by the info messages.
+   */
+  private long affectedEntityCount;
+
+  /**
+   * The average number of affected entities per second over the last minute.
+   */
+  private double affectedEntityRate;
+
+  /**
+   * Whether or not the statistics are currently being reconciled against an
+   * entity export.
+   */
+  private boolean reconciling;
+
+  /**
+   * The timestamp when the statistics were last reconciled against an entity
+   * export.
+   */
+  private Date lastReconciled;
+
+  /**
+   * The timestamp when the statistics were last written to the snapshot file.
+   */
+  private Date lastSnapshot;
+
+  /**
+   * The statistics for each data source ordered by data source code.
+   */
+  private List<SzDataSourceStats> dataSources;
+
+  /**
+   * Default constructor.
+   */
+  public SzRepositoryStatsImpl() {
+    this.recordCount         = 0L;
+    this.entityCount         = null;
+    this.loadCount           = 0L;
+    this.deleteCount         = 0L;
+    this.reevaluateCount     = 0L;
+    this.affectedEntityCount = 0L;
+    this.affectedEntityRate  = 0.0;
+    this.reconciling         = false;
+    this.lastReconciled      = null;
+    this.lastSnapshot        = null;
+    this.dataSources         = new LinkedList<>();
+  }
+
+  /**
+   * Gets the number of records that are known to be loaded in the repository.
+   *
+   * @return The number of records that are known to be loaded in the
+   *         repository.
+   */
+  @Override
+  public long getRecordCount() {
+    return this.recordCount;
+  }
+
+  /**
+   * Sets the number of records that are known to be loaded in the repository.
+   *
+   * @param count The number of records that are known to be loaded in the
+   *              repository.
+   */
+  @Override
+  public void setRecordCount(long count) {
+    this.recordCount = count;
+  }
+
+  /**
+   * Gets the number of entities in the repository as of the last
+   * reconciliation.
+   *
+   * @return The number of entities in the repository as of the last
+   *         reconciliation, or <tt>null</tt> if the statistics have not been
+   *         reconciled.
+   */
+  @Override
+  @JsonInclude(NON_NULL)
+  public Long getEntityCount() {
+    return this.entityCount;
+  }
+
+  /**
+   * Sets the number of entities in the repository as of the last
+   * reconciliation.
+   *
+   * @param count The number of entities in the repository as of the last
+   *              reconciliation, or <tt>null</tt> if the statistics have not
+   *              been reconciled.
+   */
+  @Override
+  public void setEntityCount(Long count) {
+    this.entityCount = count;
+  }
+
+  /**
+   * Gets the number of times a record has been added or replaced.
+   *
+   * @return The number of times a record has been added or replaced.
+   */
+  @Override
+  public long getLoadCount() {
+    return this.loadCount;
+  }
+
+  /**
+   * Sets the number of times a record has been added or replaced.
+   *
+   * @param count The number of times a record has been added or replaced.
+   */
+  @Override
+  public void setLoadCount(long count) {
+    this.loadCount = count;
+  }
+
+  /**
+   * Gets the number of times a record has been deleted.
+   *
+   * @return The number of times a record has been deleted.
+   */
+  @Override
+  public long getDeleteCount() {
+    return this.deleteCount;
+  }
+
+  /**
+   * Sets the number of times a record has been deleted.
+   *
+   * @param count The number of times a record has been deleted.
+   */
+  @Override
+  public void setDeleteCount(long count) {
+    this.deleteCount = count;
+  }
+
+  /**
+   * Gets the number of times a record or entity has been re-evaluated
+   * (including via redo processing).
+   *
+   * @return The number of times a record or entity has been re-evaluated
+   *         (including via redo processing).
+   */
+  @Override
+  public long getReevaluateCount() {
+    return this.reevaluateCount;
+  }
+
+  /**
+   * Sets the number of times a record or entity has been re-evaluated
+   * (including via redo processing).
+   *
+   * @param count The number of times a record or entity has been re-evaluated
+   *              (including via redo processing).
+   */
+  @Override
+  public void setReevaluateCount(long count) {
+    this.reevaluateCount = count;
+  }
+
+  /**
+   * Gets the total number of affected entities reported by the info messages.
+   *
+   * @return The total number of affected entities reported by the info
+   *         messages.
+   */
+  @Override
+  public long getAffectedEntityCount() {
+    return this.affectedEntityCount;
+  }
+
+  /**
+   * Sets the total number of affected entities reported by the info messages.
+   *
+   * @param count The total number of affected entities reported by the info
+   *              messages.
+   */
+  @Override
+  public void setAffectedEntityCount(long count) {
+    this.affectedEntityCount = count;
+  }
+
+  /**
+   * Gets the average number of affected entities per second over the last
+   * minute.
+   *
+   * @return The average number of affected entities per second over the last
+   *         minute.
+   */
+  @Override
+  public double getAffectedEntityRate() {
+    return this.affectedEntityRate;
+  }
+
+  /**
+   * Sets the average number of affected entities per second over the last
+   * minute.
+   *
+   * @param rate The average number of affected entities per second over the
+   *             last minute.
+   */
+  @Override
+  public void setAffectedEntityRate(double rate) {
+    this.affectedEntityRate = rate;
+  }
+
+  /**
+   * Gets whether or not the statistics are currently being reconciled against
+   * an entity export.
+   *
+   * @return Whether or not the statistics are currently being reconciled
+   *         against an entity export.
+   */
+  @Override
+  public boolean isReconciling() {
+    return this.reconciling;
+  }
+
+  /**
+   * Sets whether or not the statistics are currently being reconciled against
+   * an entity export.
+   *
+   * @param reconciling Whether or not the statistics are currently being
+   *                    reconciled against an entity export.
+   */
+  @Override
+  public void setReconciling(boolean reconciling) {
+    this.reconciling = reconciling;
+  }
+
+  /**
+   * Gets the timestamp when the statistics were last reconciled against an
+   * entity export.
+   *
+   * @return The timestamp when the statistics were last reconciled against an
+   *         entity export, or <tt>null</tt> if the statistics have never been
+   *         reconciled.
+   */
+  @Override
+  @JsonInclude(NON_NULL)
+  @JsonFormat(shape   = JsonFormat.Shape.STRING,
+      pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'",
+      locale  = "en_GB")
+  public Date getLastReconciled() {
+    return this.lastReconciled;
+  }
+
+  /**
+   * Sets the timestamp when the statistics were last reconciled against an
+   * entity export.
+   *
+   * @param timestamp The timestamp when the statistics were last reconciled
+   *                  against an entity export, or <tt>null</tt> if the
+   *                  statistics have never been reconciled.
+   */
+  @Override
+  public void setLastReconciled(Date timestamp) {
+    this.lastReconciled = timestamp;
+  }
+
+  /**
+   * Gets the timestamp when the statistics were last written to the snapshot
+   * file.
+   *
+   * @return The timestamp when the statistics were last written to the snapshot
+   *         file, or <tt>null</tt> if no snapshot has been written.
+   */
+  @Override
+  @JsonInclude(NON_NULL)
+  @JsonFormat(shape   = JsonFormat.Shape.STRING,
+      pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'",
+      locale  = "en_GB")
+  public Date getLastSnapshot() {
+    return this.lastSnapshot;
+  }
+
+  /**
+   * Sets the timestamp when the statistics were last written to the snapshot
+   * file.
+   *
+   * @param timestamp The timestamp when the statistics were last written to the
+   *                  snapshot file, or <tt>null</tt> if no snapshot has been
+   *                  written.
+   */
+  @Override
+  public void setLastSnapshot(Date timestamp) {
+    this.lastSnapshot = timestamp;
+  }
+
+  /**
+   * Gets the statistics for each data source ordered by data source code.
+   *
+   * @return The statistics for each data source ordered by data source code.
+   */
+  @Override
+  public List<SzDataSourceStats> getDataSources() {
+    return Collections.unmodifiableList(this.dataSources);
+  }
+
+  /**
+   * Sets the statistics for each data source ordered by data source code.
+   *
+   * @param dataSources The statistics for each data source ordered by data
+   *                    source code.
+   */
+  @Override
+  public void setDataSources(List<SzDataSourceStats> dataSources) {
+    this.dataSources.clear();
+    if (dataSources != null) this.dataSources.addAll(dataSources);
+  }
+
+  @Override
+  public String toString() {
+    return "SzRepositoryStats{" +
+        "recordCount=" + recordCount +
+        ", entityCount=" + entityCount +
+        ", loadCount=" + loadCount +
+        ", deleteCount=" + deleteCount +
+        ", reevaluateCount=" + reevaluateCount +
+        ", affectedEntityCount=" + affectedEntityCount +
+        ", affectedEntityRate=" + affectedEntityRate +
+        ", reconciling=" + reconciling +
+        ", lastReconciled=" + lastReconciled +
+        ", lastSnapshot=" + lastSnapshot +
+        ", dataSources=" + dataSources +
+        '}';
+  }
+}
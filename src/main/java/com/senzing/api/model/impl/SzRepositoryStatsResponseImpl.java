@@ -0,0 +1,71 @@
+package com.senzing.api.model.impl;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.*;
+
+/**
+ * Provides a default implementation of {@link SzRepositoryStatsResponse}.
+ */
+@JsonDeserialize
+public class SzRepositoryStatsResponseImpl extends SzBasicResponseImpl
+  implements SzRepositoryStatsResponse
+{
+  /**
+   * The data for this instance.
+   */
+  private SzRepositoryStats stats = null;
+
+  /**
+   * Default constructor.
+   */
+  protected SzRepositoryStatsResponseImpl() {
+    this.stats = null;
+  }
+
+  /**
+   * Constructs with only the HTTP method and the self link, leaving the
+   * repository statistics to be initialized later.
+   *
+   * @param meta The response meta data.
+   *
+   * @param links The links for the response.
+   */
+  public SzRepositoryStatsResponseImpl(SzMeta meta, SzLinks links)
+  {
+    this(meta, links, null);
+  }
+
+  /**
+   * Constructs with the HTTP method, self link and the {@link
+   * SzRepositoryStats} describing the repository.
+   *
+   * @param meta The response meta data.
+   *
+   * @param links The links for the response.
+   *
+   * @param stats The {@link SzRepositoryStats} describing the repository.
+   */
+  public SzRepositoryStatsResponseImpl(SzMeta             meta,
+                                       SzLinks            links,
+                                       SzRepositoryStats  stats)
+  {
+    super(meta, links);
+    this.stats = stats;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SzRepositoryStats getData() {
+    return this.stats;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setData(SzRepositoryStats stats) {
+    this.stats = stats;
+  }
+}
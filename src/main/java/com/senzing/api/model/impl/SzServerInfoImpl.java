@@ -1,8 +1,17 @@
 package com.senzing.api.model.impl;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.senzing.api.model.SzChangeFeedStats;
+import com.senzing.api.model.SzInfoAggregatorStats;
+import com.senzing.api.model.SzInfoPublisherStats;
+import com.senzing.api.model.SzInfoSpoolStats;
+import com.senzing.api.model.SzRecordConsumerStats;
+import com.senzing.api.model.SzRedoProcessorStats;
 import com.senzing.api.model.SzServerInfo;
 
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+
 /**
  * Provides the default implementation of {@link SzServerInfo}.
  */
@@ -47,6 +56,36 @@ public class SzServerInfoImpl implements SzServerInfo  {
    */
   private boolean infoQueueConfigured;
 
+  /**
+   * The stats for the background redo processor, or <tt>null</tt> if none.
+   */
+  private SzRedoProcessorStats redoProcessor;
+
+  /**
+   * The stats for the info publish queue, or <tt>null</tt> if none.
+   */
+  private SzInfoPublisherStats infoPublisher;
+
+  /**
+   * The stats for the info spool, or <tt>null</tt> if none.
+   */
+  private SzInfoSpoolStats infoSpool;
+
+  /**
+   * The stats for the info aggregator, or <tt>null</tt> if none.
+   */
+  private SzInfoAggregatorStats infoAggregator;
+
+  /**
+   * The stats for the change feed, or <tt>null</tt> if none.
+   */
+  private SzChangeFeedStats changeFeed;
+
+  /**
+   * The stats for the record consumer, or <tt>null</tt> if none.
+   */
+  private SzRecordConsumerStats recordConsumer;
+
   /**
    * Default constructor.
    */
@@ -58,6 +97,12 @@ public class SzServerInfoImpl implements SzServerInfo  {
     this.adminEnabled             = false;
     this.webSocketsMessageMaxSize = 0;
     this.infoQueueConfigured      = false;
+    this.redoProcessor            = null;
+    this.infoPublisher            = null;
+    this.infoSpool                = null;
+    this.infoAggregator           = null;
+    this.changeFeed               = null;
+    this.recordConsumer           = null;
   }
 
   /**
@@ -231,4 +276,162 @@ public class SzServerInfoImpl implements SzServerInfo  {
     this.infoQueueConfigured = configured;
   }
 
+  /**
+   * Gets the {@link SzRedoProcessorStats} describing the background redo
+   * processor.  This returns <tt>null</tt> if the server is not processing
+   * redo records in the background.
+   *
+   * @return The {@link SzRedoProcessorStats} describing the background redo
+   *         processor, or <tt>null</tt> if there is none.
+   */
+  @Override
+  @JsonInclude(NON_NULL)
+  public SzRedoProcessorStats getRedoProcessor() {
+    return this.redoProcessor;
+  }
+
+  /**
+   * Sets the {@link SzRedoProcessorStats} describing the background redo
+   * processor.
+   *
+   * @param stats The {@link SzRedoProcessorStats} describing the background
+   *              redo processor, or <tt>null</tt> if there is none.
+   */
+  @Override
+  public void setRedoProcessor(SzRedoProcessorStats stats) {
+    this.redoProcessor = stats;
+  }
+
+  /**
+   * Gets the {@link SzInfoPublisherStats} describing the in-process queue
+   * through which info messages are asynchronously published.  This returns
+   * <tt>null</tt> if info messages are not published asynchronously.
+   *
+   * @return The {@link SzInfoPublisherStats} describing the info publish
+   *         queue, or <tt>null</tt> if there is none.
+   */
+  @Override
+  @JsonInclude(NON_NULL)
+  public SzInfoPublisherStats getInfoPublisher() {
+    return this.infoPublisher;
+  }
+
+  /**
+   * Sets the {@link SzInfoPublisherStats} describing the in-process queue
+   * through which info messages are asynchronously published.
+   *
+   * @param stats The {@link SzInfoPublisherStats} describing the info publish
+   *              queue, or <tt>null</tt> if there is none.
+   */
+  @Override
+  public void setInfoPublisher(SzInfoPublisherStats stats) {
+    this.infoPublisher = stats;
+  }
+
+  /**
+   * Gets the {@link SzInfoSpoolStats} describing the durable local spool
+   * through which info messages are forwarded to the info queue.  This
+   * returns <tt>null</tt> if info messages are not spooled.
+   *
+   * @return The {@link SzInfoSpoolStats} describing the info spool, or
+   *         <tt>null</tt> if there is none.
+   */
+  @Override
+  @JsonInclude(NON_NULL)
+  public SzInfoSpoolStats getInfoSpool() {
+    return this.infoSpool;
+  }
+
+  /**
+   * Sets the {@link SzInfoSpoolStats} describing the durable local spool
+   * through which info messages are forwarded to the info queue.
+   *
+   * @param stats The {@link SzInfoSpoolStats} describing the info spool, or
+   *              <tt>null</tt> if there is none.
+   */
+  @Override
+  public void setInfoSpool(SzInfoSpoolStats stats) {
+    this.infoSpool = stats;
+  }
+
+  /**
+   * Gets the {@link SzInfoAggregatorStats} describing the aggregator that
+   * packs info messages into aggregate messages before they are sent to the
+   * info queue.  This returns <tt>null</tt> if info messages are not
+   * aggregated.
+   *
+   * @return The {@link SzInfoAggregatorStats} describing the info
+   *         aggregator, or <tt>null</tt> if there is none.
+   */
+  @Override
+  @JsonInclude(NON_NULL)
+  public SzInfoAggregatorStats getInfoAggregator() {
+    return this.infoAggregator;
+  }
+
+  /**
+   * Sets the {@link SzInfoAggregatorStats} describing the aggregator that
+   * packs info messages into aggregate messages before they are sent to the
+   * info queue.
+   *
+   * @param stats The {@link SzInfoAggregatorStats} describing the info
+   *              aggregator, or <tt>null</tt> if there is none.
+   */
+  @Override
+  public void setInfoAggregator(SzInfoAggregatorStats stats) {
+    this.infoAggregator = stats;
+  }
+
+  /**
+   * Gets the {@link SzChangeFeedStats} describing the change feed that
+   * streams info messages to subscribers.  This returns <tt>null</tt> if the
+   * change feed is not enabled.
+   *
+   * @return The {@link SzChangeFeedStats} describing the change feed, or
+   *         <tt>null</tt> if there is none.
+   */
+  @Override
+  @JsonInclude(NON_NULL)
+  public SzChangeFeedStats getChangeFeed() {
+    return this.changeFeed;
+  }
+
+  /**
+   * Sets the {@link SzChangeFeedStats} describing the change feed that
+   * streams info messages to subscribers.
+   *
+   * @param stats The {@link SzChangeFeedStats} describing the change feed,
+   *              or <tt>null</tt> if there is none.
+   */
+  @Override
+  public void setChangeFeed(SzChangeFeedStats stats) {
+    this.changeFeed = stats;
+  }
+
+  /**
+   * Gets the {@link SzRecordConsumerStats} describing the consumer that loads
+   * and deletes the records received from the ingest queue.  This returns
+   * <tt>null</tt> if no ingest queue is configured.
+   *
+   * @return The {@link SzRecordConsumerStats} describing the record consumer,
+   *         or <tt>null</tt> if there is none.
+   */
+  @Override
+  @JsonInclude(NON_NULL)
+  public SzRecordConsumerStats getRecordConsumer() {
+    return this.recordConsumer;
+  }
+
+  /**
+   * Sets the {@link SzRecordConsumerStats} describing the consumer that loads
+   * and deletes the records received from the ingest queue.
+   *
+   * @param stats The {@link SzRecordConsumerStats} describing the record
+   *              consumer, or <tt>null</tt> if there is none.
+   */
+  @Override
+  public void setRecordConsumer(SzRecordConsumerStats stats) {
+    this.recordConsumer = stats;
+  }
+
 }
@@ -0,0 +1,813 @@
+package com.senzing.api.server;
+
+import com.senzing.api.model.SzRecordConsumerStats;
+import com.senzing.api.server.mq.SzMessageSource;
+import com.senzing.api.server.mq.SzMessageSource.Delivery;
+import com.senzing.api.server.mq.SzMessagingEndpoint;
+import com.senzing.api.services.AffinityWorkerPool;
+import com.senzing.api.services.BulkDataSupport;
+import com.senzing.api.services.ConcurrencyLimiter;
+import com.senzing.api.services.RetryQueue;
+import com.senzing.api.services.ServicesUtil;
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink;
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.util.JsonUtils;
+import com.senzing.util.Timers;
+
+import javax.json.JsonObject;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+
+import static com.senzing.api.services.BulkDataSupport.AddRecordResult;
+import static com.senzing.api.services.ServicesUtil.*;
+import static com.senzing.util.LoggingUtilities.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Consumes record add and delete messages from an {@link SzMessageSource}
+ * and applies them to the repository via a {@link RecordHandler}.  At most
+ * the configured number of messages are processed concurrently and a message
+ * is only acknowledged after it has been successfully processed, so messages
+ * are redelivered by the broker if the server stops before processing them.
+ * A message that fails is retried with a growing delay up to the configured
+ * maximum number of attempts.  Messages that cannot be parsed or that still
+ * fail after the final attempt are routed to the dead-letter endpoint (if
+ * one is configured) with a {@link #FAILURE_REASON_PROPERTY} property
+ * describing the failure.
+ * <p>
+ * The messages are processed by a fixed set of workers that each process
+ * their messages in the order they were received.  Each message is given to
+ * the worker chosen by the data source and record ID of its record so that
+ * the messages for the same record (e.g.: an add followed by a delete) are
+ * always applied in the order they were received.
+ * <p>
+ * The body of each message is the JSON record.  The {@link #ACTION_PROPERTY}
+ * message property selects between {@link #ADD_ACTION} (the default) and
+ * {@link #DELETE_ACTION}.
+ */
+class RecordConsumer {
+  /**
+   * The message property that identifies the action to perform for the
+   * record ({@value}).
+   */
+  static final String ACTION_PROPERTY = "action";
+
+  /**
+   * The {@link #ACTION_PROPERTY} value for adding or replacing the record
+   * ({@value}).  This is the default if no action is specified.
+   */
+  static final String ADD_ACTION = "add";
+
+  /**
+   * The {@link #ACTION_PROPERTY} value for deleting the record ({@value}).
+   */
+  static final String DELETE_ACTION = "delete";
+
+  /**
+   * The message property added to a dead-lettered message to describe why
+   * it could not be processed ({@value}).
+   */
+  static final String FAILURE_REASON_PROPERTY = "failure-reason";
+
+  /**
+   * The maximum number of milliseconds to wait for messages on each call to
+   * {@link SzMessageSource#receive(int, long)} ({@value}).
+   */
+  static final long POLL_TIMEOUT_MILLIS = 1000L;
+
+  /**
+   * The number of milliseconds to wait before retrying a failed attempt to
+   * receive messages ({@value}).
+   */
+  static final long RECEIVE_RETRY_MILLIS = 5000L;
+
+  /**
+   * The number of milliseconds to wait before the first retry of a failed
+   * message ({@value}).  The delay doubles with each subsequent retry up to
+   * {@link #MAX_RETRY_DELAY_MILLIS}.
+   */
+  static final long RETRY_DELAY_MILLIS = 500L;
+
+  /**
+   * The maximum number of milliseconds to wait before retrying a failed
+   * message ({@value}).
+   */
+  static final long MAX_RETRY_DELAY_MILLIS = 10000L;
+
+  /**
+   * The maximum number of milliseconds to wait for the dead-letter endpoint
+   * to confirm that a dead-lettered message was sent ({@value}).  The
+   * message is released for redelivery if it is not confirmed in time.
+   */
+  static final long DEAD_LETTER_TIMEOUT_MILLIS = 30000L;
+
+  /**
+   * Handles the records consumed by a {@link RecordConsumer}.  Implementations
+   * should throw an {@link IllegalArgumentException} if the record can never
+   * be processed so that it is dead-lettered without being retried.
+   */
+  interface RecordHandler {
+    /**
+     * Adds or replaces the specified record.
+     *
+     * @param dataSource The data source code for the record.
+     * @param recordId The record ID for the record, or <tt>null</tt> if the
+     *                 record has no record ID.
+     * @param record The {@link JsonObject} describing the record.
+     *
+     * @throws Exception If a failure occurs.
+     */
+    void addRecord(String dataSource, String recordId, JsonObject record)
+        throws Exception;
+
+    /**
+     * Deletes the record identified by the specified data source and record
+     * ID.  Deleting a record that does not exist is <b>not</b> a failure.
+     *
+     * @param dataSource The data source code for the record.
+     * @param recordId The record ID for the record.
+     *
+     * @throws Exception If a failure occurs.
+     */
+    void deleteRecord(String dataSource, String recordId) throws Exception;
+  }
+
+  /**
+   * Describes a received message after its record has been parsed.  If the
+   * message cannot be processed then only the reason is set.
+   */
+  private static class RecordMessage {
+    /**
+     * The action to perform for the record.
+     */
+    private String action;
+
+    /**
+     * The data source code for the record.
+     */
+    private String dataSource;
+
+    /**
+     * The record ID for the record, or <tt>null</tt> if none.
+     */
+    private String recordId;
+
+    /**
+     * The {@link JsonObject} describing the record.
+     */
+    private JsonObject record;
+
+    /**
+     * The reason the message cannot be processed, or <tt>null</tt> if it
+     * can be processed.
+     */
+    private String invalidReason;
+
+    /**
+     * Gets the hash that selects the worker for the message, or
+     * <tt>null</tt> if the message has no record ID and may be processed by
+     * any worker.
+     *
+     * @return The hash that selects the worker, or <tt>null</tt> if none.
+     */
+    private Long getPartitionHash() {
+      if (this.recordId == null) return null;
+      return (long) (this.dataSource + ":" + this.recordId).hashCode();
+    }
+  }
+
+  /**
+   * The {@link SzMessageSource} from which messages are consumed.
+   */
+  private SzMessageSource source;
+
+  /**
+   * The {@link SzMessagingEndpoint} to which messages that cannot be
+   * processed are routed, or <tt>null</tt> if none.
+   */
+  private SzMessagingEndpoint deadLetterEndpoint;
+
+  /**
+   * The {@link RecordHandler} that processes the records.
+   */
+  private RecordHandler handler;
+
+  /**
+   * The maximum number of messages to process concurrently.
+   */
+  private int concurrency;
+
+  /**
+   * The maximum number of attempts to process a message before it is
+   * dead-lettered.
+   */
+  private int maxAttempts;
+
+  /**
+   * The {@link Semaphore} with a permit for each message that may be
+   * in-flight.
+   */
+  private Semaphore permits;
+
+  /**
+   * The thread that receives messages from the source.
+   */
+  private Thread poller;
+
+  /**
+   * The {@link AffinityWorkerPool} that processes the received messages,
+   * partitioned by record.
+   */
+  private AffinityWorkerPool workers;
+
+  /**
+   * Flag indicating if the consumer should complete.
+   */
+  private boolean complete = false;
+
+  /**
+   * The number of messages received.
+   */
+  private long receivedCount = 0L;
+
+  /**
+   * The number of records successfully added.
+   */
+  private long addedCount = 0L;
+
+  /**
+   * The number of records successfully deleted.
+   */
+  private long deletedCount = 0L;
+
+  /**
+   * The number of times a failed message was retried.
+   */
+  private long retriedCount = 0L;
+
+  /**
+   * The number of messages routed to the dead-letter endpoint.
+   */
+  private long deadLetteredCount = 0L;
+
+  /**
+   * The number of messages that could not be processed and were discarded
+   * because there is no dead-letter endpoint.
+   */
+  private long discardedCount = 0L;
+
+  /**
+   * The number of messages that were released for redelivery.
+   */
+  private long releasedCount = 0L;
+
+  /**
+   * Constructs with the specified parameters and starts consuming messages.
+   *
+   * @param source The {@link SzMessageSource} to consume messages from.
+   * @param deadLetterEndpoint The {@link SzMessagingEndpoint} to which
+   *                           messages that cannot be processed are routed,
+   *                           or <tt>null</tt> if none.
+   * @param handler The {@link RecordHandler} to process the records.
+   * @param concurrency The maximum number of messages to process
+   *                    concurrently.
+   * @param maxAttempts The maximum number of attempts to process a message
+   *                    before it is dead-lettered.
+   */
+  RecordConsumer(SzMessageSource      source,
+                 SzMessagingEndpoint  deadLetterEndpoint,
+                 RecordHandler        handler,
+                 int                  concurrency,
+                 int                  maxAttempts)
+  {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException(
+          "The concurrency must be positive: " + concurrency);
+    }
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException(
+          "The maximum number of attempts must be positive: " + maxAttempts);
+    }
+    this.source             = source;
+    this.deadLetterEndpoint = deadLetterEndpoint;
+    this.handler            = handler;
+    this.concurrency        = concurrency;
+    this.maxAttempts        = maxAttempts;
+    this.permits            = new Semaphore(concurrency);
+    this.workers = new AffinityWorkerPool("record-consumer", concurrency);
+
+    this.poller = new Thread(this::pollMessages, "record-consumer-poller");
+    this.poller.setDaemon(true);
+    this.poller.start();
+  }
+
+  /**
+   * Signals the consumer to stop receiving messages, waits for the in-flight
+   * messages to be processed (or released if waiting to be retried) and then
+   * closes the source and the dead-letter endpoint.
+   */
+  void complete() {
+    synchronized (this) {
+      if (this.complete) return;
+      this.complete = true;
+      this.notifyAll();
+    }
+    try {
+      this.poller.join();
+    } catch (InterruptedException ignore) {
+      // ignore the exception
+    }
+    this.workers.close();
+    try {
+      this.source.close();
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+    if (this.deadLetterEndpoint != null) {
+      try {
+        this.deadLetterEndpoint.close();
+      } catch (Exception e) {
+        e.printStackTrace();
+      }
+    }
+  }
+
+  /**
+   * Checks if the consumer has been signaled to complete.
+   *
+   * @return <tt>true</tt> if the completion signal has been received,
+   *         otherwise <tt>false</tt>.
+   */
+  synchronized boolean isComplete() {
+    return this.complete;
+  }
+
+  /**
+   * Waits up to the specified number of milliseconds or until signaled to
+   * complete.
+   *
+   * @param millis The maximum number of milliseconds to wait.
+   */
+  private synchronized void pause(long millis) {
+    if (this.complete || millis <= 0L) return;
+    try {
+      this.wait(millis);
+    } catch (InterruptedException ignore) {
+      // ignore the exception
+    }
+  }
+
+  /**
+   * The main loop for the poller thread.  This only receives as many
+   * messages as there are free permits so that messages are not buffered
+   * beyond what can be processed, and parses each message to hand it to the
+   * worker for its record.
+   */
+  private void pollMessages() {
+    while (!this.isComplete()) {
+      // wait for at least one message to be processable
+      try {
+        if (!this.permits.tryAcquire(POLL_TIMEOUT_MILLIS, MILLISECONDS)) {
+          continue;
+        }
+      } catch (InterruptedException ignore) {
+        continue;
+      }
+      int available = 1 + this.permits.drainPermits();
+
+      List<Delivery> deliveries;
+      try {
+        deliveries = this.source.receive(available, POLL_TIMEOUT_MILLIS);
+
+      } catch (Exception e) {
+        System.err.println("Failed to receive record messages from "
+                               + this.source.getProviderType() + ":");
+        e.printStackTrace();
+        this.permits.release(available);
+        this.pause(RECEIVE_RETRY_MILLIS);
+        continue;
+      }
+
+      // release the permits that were not used
+      if (deliveries.size() < available) {
+        this.permits.release(available - deliveries.size());
+      }
+
+      synchronized (this) {
+        this.receivedCount += deliveries.size();
+      }
+      for (Delivery delivery : deliveries) {
+        RecordMessage recordMessage = this.parseMessage(delivery);
+        this.workers.execute(recordMessage.getPartitionHash(), (timers) -> {
+          try {
+            this.processMessage(delivery, recordMessage);
+          } finally {
+            this.permits.release();
+          }
+        });
+      }
+    }
+  }
+
+  /**
+   * Parses the record from the message of the specified {@link Delivery}.
+   *
+   * @param delivery The {@link Delivery} to parse.
+   *
+   * @return The {@link RecordMessage} describing the record, or the reason
+   *         the message cannot be processed.
+   */
+  private RecordMessage parseMessage(Delivery delivery) {
+    SzMessage     message = delivery.getMessage();
+    RecordMessage result  = new RecordMessage();
+    String action;
+    String dataSource;
+    String recordId;
+    JsonObject record;
+    try {
+      String body = message.getBody();
+      if (body == null || body.trim().length() == 0) {
+        throw new IllegalArgumentException("The message body is empty.");
+      }
+      try {
+        record = JsonUtils.parseJsonObject(body);
+      } catch (Exception e) {
+        throw new IllegalArgumentException(
+            "The message body is not a JSON object: " + e.getMessage());
+      }
+      action = message.getProperty(ACTION_PROPERTY);
+      action = (action == null) ? ADD_ACTION : action.trim().toLowerCase();
+      if (!ADD_ACTION.equals(action) && !DELETE_ACTION.equals(action)) {
+        throw new IllegalArgumentException(
+            "Unrecognized " + ACTION_PROPERTY + " property: " + action);
+      }
+      dataSource = JsonUtils.getString(record, "DATA_SOURCE");
+      if (dataSource == null || dataSource.trim().length() == 0) {
+        throw new IllegalArgumentException(
+            "The record does not specify a DATA_SOURCE.");
+      }
+      dataSource = dataSource.trim().toUpperCase();
+      recordId = JsonUtils.getString(record, "RECORD_ID");
+      if (recordId != null && recordId.trim().length() == 0) recordId = null;
+      if (DELETE_ACTION.equals(action) && recordId == null) {
+        throw new IllegalArgumentException(
+            "The record to delete does not specify a RECORD_ID.");
+      }
+
+    } catch (IllegalArgumentException e) {
+      result.invalidReason = e.getMessage();
+      return result;
+    }
+    result.action     = action;
+    result.dataSource = dataSource;
+    result.recordId   = recordId;
+    result.record     = record;
+    return result;
+  }
+
+  /**
+   * Processes the specified {@link Delivery}, retrying on failure and
+   * dead-lettering the message if it cannot be processed.
+   *
+   * @param delivery The {@link Delivery} to process.
+   * @param recordMessage The {@link RecordMessage} parsed from the message.
+   */
+  private void processMessage(Delivery delivery, RecordMessage recordMessage)
+  {
+    SzMessage   message     = delivery.getMessage();
+    String      action      = recordMessage.action;
+    String      dataSource  = recordMessage.dataSource;
+    String      recordId    = recordMessage.recordId;
+    JsonObject  record      = recordMessage.record;
+    if (recordMessage.invalidReason != null) {
+      this.deadLetter(delivery, recordMessage.invalidReason);
+      return;
+    }
+
+    for (int attempt = 1; true; attempt++) {
+      try {
+        if (DELETE_ACTION.equals(action)) {
+          this.handler.deleteRecord(dataSource, recordId);
+        } else {
+          this.handler.addRecord(dataSource, recordId, record);
+        }
+
+      } catch (IllegalArgumentException e) {
+        this.deadLetter(delivery, e.getMessage());
+        return;
+
+      } catch (Exception e) {
+        if (attempt >= this.maxAttempts) {
+          String reason = (e.getMessage() == null) ? e.toString()
+              : e.getMessage();
+          this.deadLetter(delivery, "Failed after " + attempt
+              + " attempt(s): " + reason);
+          return;
+        }
+
+        // wait before retrying unless completing
+        long delay = Math.min(MAX_RETRY_DELAY_MILLIS,
+                              RETRY_DELAY_MILLIS << (attempt - 1));
+        this.pause(delay);
+        if (this.isComplete()) {
+          this.release(delivery);
+          return;
+        }
+        synchronized (this) {
+          this.retriedCount++;
+        }
+        continue;
+      }
+
+      // acknowledge only after the record was successfully processed
+      try {
+        delivery.acknowledge();
+      } catch (Exception e) {
+        System.err.println("Failed to acknowledge record message: " + message);
+        e.printStackTrace();
+      }
+      synchronized (this) {
+        if (DELETE_ACTION.equals(action)) {
+          this.deletedCount++;
+        } else {
+          this.addedCount++;
+        }
+      }
+      return;
+    }
+  }
+
+  /**
+   * Routes the specified {@link Delivery} to the dead-letter endpoint with
+   * the specified failure reason and acknowledges it once the dead-letter
+   * endpoint confirms that it was sent.  If there is no dead-letter endpoint
+   * then the message is logged and discarded.  If the message cannot be sent
+   * to the dead-letter endpoint, or is not confirmed within {@link
+   * #DEAD_LETTER_TIMEOUT_MILLIS} milliseconds, then it is released for
+   * redelivery.
+   *
+   * @param delivery The {@link Delivery} to dead-letter.
+   * @param reason The reason the message could not be processed.
+   */
+  private void deadLetter(Delivery delivery, String reason) {
+    SzMessage original = delivery.getMessage();
+    if (this.deadLetterEndpoint == null) {
+      System.err.println("Discarding record message (" + reason + "): "
+                             + original);
+      synchronized (this) {
+        this.discardedCount++;
+      }
+    } else {
+      SzMessage message = new SzMessage(original.getBody());
+      original.getProperties().forEach(message::setProperty);
+      message.setProperty(FAILURE_REASON_PROPERTY, reason);
+
+      SzMessageSink sink = null;
+      CompletableFuture<Void> confirmed;
+      try {
+        sink = this.deadLetterEndpoint.acquireMessageSink();
+        confirmed = sink.sendConfirmed(message);
+
+      } catch (Exception e) {
+        confirmed = CompletableFuture.failedFuture(e);
+
+      } finally {
+        if (sink != null) this.deadLetterEndpoint.releaseMessageSink(sink);
+      }
+
+      // wait for the send to be confirmed before acknowledging
+      try {
+        confirmed.get(DEAD_LETTER_TIMEOUT_MILLIS, MILLISECONDS);
+
+      } catch (Exception e) {
+        Throwable cause = (e instanceof ExecutionException)
+            ? e.getCause() : e;
+        System.err.println("Failed to dead-letter record message ("
+                               + reason + "): " + original);
+        cause.printStackTrace();
+        this.release(delivery);
+        return;
+      }
+      synchronized (this) {
+        this.deadLetteredCount++;
+      }
+    }
+
+    try {
+      delivery.acknowledge();
+    } catch (Exception e) {
+      System.err.println("Failed to acknowledge record message: " + original);
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Releases the specified {@link Delivery} for redelivery.
+   *
+   * @param delivery The {@link Delivery} to release.
+   */
+  private void release(Delivery delivery) {
+    try {
+      delivery.release();
+    } catch (Exception e) {
+      System.err.println("Failed to release record message: "
+                             + delivery.getMessage());
+      e.printStackTrace();
+    }
+    synchronized (this) {
+      this.releasedCount++;
+    }
+  }
+
+  /**
+   * Creates a new {@link SzRecordConsumerStats} describing the current state
+   * of this instance.
+   *
+   * @return A new {@link SzRecordConsumerStats} describing this instance.
+   */
+  synchronized SzRecordConsumerStats getStats() {
+    SzRecordConsumerStats stats = SzRecordConsumerStats.FACTORY.create();
+    stats.setProviderType(this.source.getProviderType());
+    stats.setConcurrency(this.concurrency);
+    stats.setInFlightCount(
+        Math.max(0, this.concurrency - this.permits.availablePermits()));
+    stats.setReceivedCount(this.receivedCount);
+    stats.setAddedCount(this.addedCount);
+    stats.setDeletedCount(this.deletedCount);
+    stats.setRetriedCount(this.retriedCount);
+    stats.setDeadLetteredCount(this.deadLetteredCount);
+    stats.setDiscardedCount(this.discardedCount);
+    stats.setReleasedCount(this.releasedCount);
+    return stats;
+  }
+
+  /**
+   * Provides a {@link RecordHandler} that applies the records to the
+   * repository of an {@link SzApiServer} in the same way as the bulk loading
+   * and record deletion services, including skipping unchanged records and
+   * sending info messages to the info sink.  Records are loaded on the engine
+   * thread pool under a {@link ConcurrencyLimiter} and records that fail with
+   * transient errors are retried via a {@link RetryQueue} just as they are
+   * for bulk loading.
+   */
+  static class EngineRecordHandler implements RecordHandler, BulkDataSupport
+  {
+    /**
+     * The {@link SzApiServer} whose repository is updated.
+     */
+    private SzApiServer apiServer;
+
+    /**
+     * The {@link ConcurrencyLimiter} for the records being loaded.
+     */
+    private ConcurrencyLimiter limiter;
+
+    /**
+     * The {@link RetryQueue} for retrying records that fail with transient
+     * errors, or <tt>null</tt> if records are not retried.
+     */
+    private RetryQueue retryQueue;
+
+    /**
+     * Constructs with the specified {@link SzApiServer}.
+     *
+     * @param apiServer The {@link SzApiServer} whose repository is updated.
+     */
+    EngineRecordHandler(SzApiServer apiServer) {
+      this.apiServer = apiServer;
+
+      int concurrency = apiServer.getConcurrency();
+      this.limiter = new ConcurrencyLimiter(
+          Math.min(apiServer.getMinLoadConcurrency(), concurrency),
+          concurrency);
+
+      int maxRetries = apiServer.getLoadMaxRetries();
+      this.retryQueue = (maxRetries > 0)
+          ? new RetryQueue(maxRetries, apiServer, this.limiter) : null;
+    }
+
+    /**
+     * Checks that the specified data source is configured.
+     *
+     * @param dataSource The data source code to check.
+     *
+     * @throws IllegalArgumentException If the data source is not configured.
+     */
+    private void checkDataSource(String dataSource) {
+      Set<String> dataSources = this.apiServer.getDataSources(dataSource);
+      if (!dataSources.contains(dataSource)) {
+        throw new IllegalArgumentException(
+            "The specified data source is not recognized: " + dataSource);
+      }
+    }
+
+    @Override
+    public void addRecord(String dataSource, String recordId, JsonObject record)
+        throws Exception
+    {
+      this.checkDataSource(dataSource);
+      Long    fingerprint = this.fingerprintRecord(this.apiServer, record);
+      String  recordJSON  = JsonUtils.toJsonText(record);
+
+      AddRecordResult result = null;
+      this.limiter.acquire();
+      long start = System.nanoTime();
+      try {
+        result = this.loadRecord(this.apiServer,
+                                 new Timers(),
+                                 dataSource,
+                                 null,
+                                 recordId,
+                                 recordJSON,
+                                 fingerprint,
+                                 null,
+                                 null);
+      } finally {
+        this.limiter.release(result, System.nanoTime() - start);
+      }
+
+      // retry transient failures and wait for the final outcome
+      if (this.retryQueue != null && this.retryQueue.isRetryable(result)) {
+        CompletableFuture<AddRecordResult> retried = new CompletableFuture<>();
+        this.retryQueue.retry(
+            result,
+            (timers) -> this.loadRecordInThread(this.apiServer,
+                                                timers,
+                                                dataSource,
+                                                null,
+                                                recordId,
+                                                recordJSON,
+                                                fingerprint,
+                                                null,
+                                                null),
+            retried::complete,
+            retried::completeExceptionally);
+        try {
+          result = retried.get();
+        } catch (ExecutionException e) {
+          throw (Exception) e.getCause();
+        }
+      }
+
+      if (result.isFailed()) {
+        throw new IllegalStateException(
+            "Failed to add record via G2Engine.addRecord().  errorCode=[ "
+            + result.getErrorCode() + " ], errorMessage=[ "
+            + result.getErrorMessage() + " ]");
+      }
+    }
+
+    @Override
+    public void deleteRecord(String dataSource, String recordId) {
+      this.checkDataSource(dataSource);
+      boolean asyncInfo = this.apiServer.hasInfoSink();
+      String rawInfo = this.apiServer.executeInThread(() -> {
+        G2Engine engineApi = this.apiServer.getEngineApi();
+        StringBuffer sb = new StringBuffer();
+        int returnCode;
+        if (asyncInfo) {
+          returnCode = engineApi.deleteRecordWithInfo(
+              dataSource, recordId, null, 0, sb);
+        } else {
+          returnCode = engineApi.deleteRecord(dataSource, recordId, null);
+        }
+
+        // forget the fingerprint since the record may no longer be loaded
+        if (this.apiServer.getRecordFingerprints() != null) {
+          this.apiServer.getRecordFingerprints().remove(dataSource, recordId);
+        }
+
+        // deleting a record that was not found is not a failure
+        if (returnCode != 0) {
+          if (engineApi.getLastExceptionCode() == RECORD_NOT_FOUND_CODE) {
+            return null;
+          }
+          throw new IllegalStateException(formatError(
+              (asyncInfo) ? "G2Engine.deleteRecordWithInfo()"
+                          : "G2Engine.deleteRecord()",
+              engineApi));
+        }
+        return sb.toString();
+      });
+
+      // send the info message if we have one
+      if (asyncInfo && rawInfo != null && rawInfo.trim().length() > 0) {
+        SzMessageSink infoSink = this.apiServer.acquireInfoSink();
+        SzMessage message = newInfoMessage(rawInfo, DELETE_OPERATION);
+        try {
+          infoSink.send(message, ServicesUtil::logFailedAsyncInfo);
+
+        } catch (Exception e) {
+          logFailedAsyncInfo(e, message);
+
+        } finally {
+          this.apiServer.releaseInfoSink(infoSink);
+        }
+      }
+    }
+  }
+}
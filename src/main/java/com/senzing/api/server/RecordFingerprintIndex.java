@@ -0,0 +1,590 @@
+package com.senzing.api.server;
+
+import com.senzing.api.services.SzRecordFingerprints;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Provides a persistent implementation of {@link SzRecordFingerprints} that
+ * is backed by a memory-mapped file containing an open-addressing hash table
+ * with linear probing.  Each slot in the table holds the 64-bit key hash for
+ * the data source code and record ID and the 64-bit fingerprint of the record.
+ * Slots with a key hash of zero (0) are empty.  The table is doubled in size
+ * (by rehashing into a new file) when it exceeds its maximum load factor.
+ * <p>
+ * <b>NOTE:</b> Only the key hash is stored so two distinct records with
+ * colliding 64-bit key hashes would share a slot.  The probability of this is
+ * negligible for any realistic number of records.
+ */
+public class RecordFingerprintIndex implements SzRecordFingerprints {
+  /**
+   * The magic number identifying a record fingerprint file.
+   */
+  private static final long MAGIC = 0x537A46696E676572L;
+
+  /**
+   * The version of the file format.
+   */
+  private static final int VERSION = 1;
+
+  /**
+   * The number of bytes reserved for the file header.
+   */
+  private static final int HEADER_SIZE = 64;
+
+  /**
+   * The offset of the capacity in the header.
+   */
+  private static final int CAPACITY_OFFSET = 16;
+
+  /**
+   * The offset of the record count in the header.
+   */
+  private static final int COUNT_OFFSET = 24;
+
+  /**
+   * The offset of the repository tag in the header.
+   */
+  private static final int REPOSITORY_TAG_OFFSET = 32;
+
+  /**
+   * The number of bytes for each slot in the table.
+   */
+  private static final int SLOT_SIZE = 16;
+
+  /**
+   * The base-2 logarithm of the number of slots that are mapped in each
+   * segment of the file.
+   */
+  private static final int SEGMENT_SHIFT = 26;
+
+  /**
+   * The maximum number of slots in each mapped segment ({@value}).  This keeps
+   * each mapped segment to one gigabyte.
+   */
+  private static final long SEGMENT_SLOTS = 1L << SEGMENT_SHIFT;
+
+  /**
+   * The default initial number of slots in the table ({@value}).
+   */
+  public static final long DEFAULT_INITIAL_CAPACITY = 1L << 20;
+
+  /**
+   * The maximum load factor for the table before it is grown.
+   */
+  private static final double MAX_LOAD_FACTOR = 0.7;
+
+  /**
+   * The {@link File} backing the table.
+   */
+  private File file;
+
+  /**
+   * The tag identifying the repository that the fingerprints pertain to.
+   */
+  private long repositoryTag;
+
+  /**
+   * The number of slots for the table when it is initialized.
+   */
+  private long initialCapacity;
+
+  /**
+   * The {@link RandomAccessFile} for the backing file.
+   */
+  private RandomAccessFile randomAccessFile;
+
+  /**
+   * The {@link FileLock} preventing other processes from using the file.
+   */
+  private FileLock fileLock;
+
+  /**
+   * The {@link MappedByteBuffer} for the header.
+   */
+  private MappedByteBuffer header;
+
+  /**
+   * The array of {@link MappedByteBuffer} segments for the slots.
+   */
+  private MappedByteBuffer[] segments;
+
+  /**
+   * The number of slots in the table (always a power of two).
+   */
+  private long capacity;
+
+  /**
+   * The number of fingerprints stored in the table.
+   */
+  private long count;
+
+  /**
+   * The {@link ReadWriteLock} for accessing the table.
+   */
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /**
+   * Opens the index backed by the specified {@link File}, creating it if it
+   * does not exist.  If the file exists but was created for a different
+   * repository (as identified by the specified tag) or is not a valid
+   * fingerprint file then it is reinitialized as empty.
+   *
+   * @param file The {@link File} backing the index.
+   * @param repositoryTag The tag identifying the repository for which the
+   *                      fingerprints are being stored.
+   *
+   * @throws IOException If an I/O failure occurs.
+   * @throws IllegalStateException If the file is locked by another process.
+   */
+  public RecordFingerprintIndex(File file, long repositoryTag)
+    throws IOException
+  {
+    this(file, repositoryTag, DEFAULT_INITIAL_CAPACITY);
+  }
+
+  /**
+   * Opens the index backed by the specified {@link File} in the same way as
+   * {@link #RecordFingerprintIndex(File, long)}, but initializing a new or
+   * invalid file with the specified number of slots.
+   *
+   * @param file The {@link File} backing the index.
+   * @param repositoryTag The tag identifying the repository for which the
+   *                      fingerprints are being stored.
+   * @param initialCapacity The number of slots for a new table, which must
+   *                        be a power of two.
+   *
+   * @throws IOException If an I/O failure occurs.
+   * @throws IllegalStateException If the file is locked by another process.
+   */
+  RecordFingerprintIndex(File file, long repositoryTag, long initialCapacity)
+    throws IOException
+  {
+    if (initialCapacity <= 0L || Long.bitCount(initialCapacity) != 1) {
+      throw new IllegalArgumentException(
+          "The initial capacity must be a power of two: " + initialCapacity);
+    }
+    this.file             = file;
+    this.repositoryTag    = repositoryTag;
+    this.initialCapacity  = initialCapacity;
+    this.open(initialCapacity);
+  }
+
+  /**
+   * Returns the {@link File} backing this index.
+   *
+   * @return The {@link File} backing this index.
+   */
+  public File getFile() {
+    return this.file;
+  }
+
+  /**
+   * Opens the backing file and maps it, initializing it with the specified
+   * capacity if it is new or invalid.
+   *
+   * @param initialCapacity The capacity to use if initializing the file.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  private void open(long initialCapacity) throws IOException {
+    this.randomAccessFile = new RandomAccessFile(this.file, "rw");
+    FileChannel channel = this.randomAccessFile.getChannel();
+    this.fileLock = channel.tryLock();
+    if (this.fileLock == null) {
+      this.randomAccessFile.close();
+      throw new IllegalStateException(
+          "The record fingerprint file is in use by another process: "
+          + this.file);
+    }
+
+    boolean valid = false;
+    if (channel.size() >= HEADER_SIZE) {
+      this.header = channel.map(READ_WRITE, 0, HEADER_SIZE);
+      long capacity = this.header.getLong(CAPACITY_OFFSET);
+      valid = (this.header.getLong(0) == MAGIC)
+          && (this.header.getInt(8) == VERSION)
+          && (this.header.getLong(REPOSITORY_TAG_OFFSET) == this.repositoryTag)
+          && (capacity > 0) && (Long.bitCount(capacity) == 1)
+          && (channel.size() == HEADER_SIZE + (capacity * SLOT_SIZE));
+    }
+
+    if (valid) {
+      this.capacity = this.header.getLong(CAPACITY_OFFSET);
+      this.count    = this.header.getLong(COUNT_OFFSET);
+      this.mapSegments(channel);
+
+    } else {
+      this.initialize(channel, initialCapacity);
+    }
+  }
+
+  /**
+   * Initializes the file on the specified {@link FileChannel} as an empty
+   * table with the specified capacity.
+   *
+   * @param channel The {@link FileChannel} for the file.
+   * @param capacity The number of slots for the table.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  private void initialize(FileChannel channel, long capacity)
+    throws IOException
+  {
+    // truncate first so that all slots are zero-filled
+    channel.truncate(0L);
+    this.randomAccessFile.setLength(HEADER_SIZE + (capacity * SLOT_SIZE));
+    this.header = channel.map(READ_WRITE, 0, HEADER_SIZE);
+    this.header.putLong(0, MAGIC);
+    this.header.putInt(8, VERSION);
+    this.header.putLong(CAPACITY_OFFSET, capacity);
+    this.header.putLong(COUNT_OFFSET, 0L);
+    this.header.putLong(REPOSITORY_TAG_OFFSET, this.repositoryTag);
+    this.capacity = capacity;
+    this.count    = 0L;
+    this.mapSegments(channel);
+  }
+
+  /**
+   * Maps the slot segments of the file on the specified {@link FileChannel}.
+   *
+   * @param channel The {@link FileChannel} for the file.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  private void mapSegments(FileChannel channel) throws IOException {
+    int segmentCount = (int) ((this.capacity + SEGMENT_SLOTS - 1) / SEGMENT_SLOTS);
+    this.segments = new MappedByteBuffer[segmentCount];
+    for (int index = 0; index < segmentCount; index++) {
+      long firstSlot  = ((long) index) << SEGMENT_SHIFT;
+      long slotCount  = Math.min(SEGMENT_SLOTS, this.capacity - firstSlot);
+      this.segments[index] = channel.map(READ_WRITE,
+                                         HEADER_SIZE + (firstSlot * SLOT_SIZE),
+                                         slotCount * SLOT_SIZE);
+    }
+  }
+
+  /**
+   * Gets the key hash stored in the specified slot.
+   *
+   * @param slot The slot index.
+   * @return The key hash in the slot, or zero (0) if the slot is empty.
+   */
+  private long getKey(long slot) {
+    MappedByteBuffer segment = this.segments[(int) (slot >>> SEGMENT_SHIFT)];
+    return segment.getLong((int) ((slot & (SEGMENT_SLOTS - 1)) * SLOT_SIZE));
+  }
+
+  /**
+   * Gets the fingerprint stored in the specified slot.
+   *
+   * @param slot The slot index.
+   * @return The fingerprint in the slot.
+   */
+  private long getFingerprint(long slot) {
+    MappedByteBuffer segment = this.segments[(int) (slot >>> SEGMENT_SHIFT)];
+    return segment.getLong(
+        (int) ((slot & (SEGMENT_SLOTS - 1)) * SLOT_SIZE) + 8);
+  }
+
+  /**
+   * Sets the key hash and fingerprint for the specified slot.
+   *
+   * @param slot The slot index.
+   * @param key The key hash, or zero (0) to clear the slot.
+   * @param fingerprint The fingerprint.
+   */
+  private void setSlot(long slot, long key, long fingerprint) {
+    MappedByteBuffer segment = this.segments[(int) (slot >>> SEGMENT_SHIFT)];
+    int offset = (int) ((slot & (SEGMENT_SLOTS - 1)) * SLOT_SIZE);
+    // write the fingerprint first so a partial write never pairs a key with
+    // the fingerprint of a different record
+    segment.putLong(offset + 8, fingerprint);
+    segment.putLong(offset, key);
+  }
+
+  /**
+   * Finds the slot for the specified key hash.  This returns either the slot
+   * containing the key hash or the empty slot where it would be inserted.
+   *
+   * @param key The key hash.
+   * @return The slot index.
+   */
+  private long findSlot(long key) {
+    long mask = this.capacity - 1;
+    long slot = key & mask;
+    for (long slotKey = this.getKey(slot);
+         slotKey != 0L && slotKey != key;
+         slotKey = this.getKey(slot))
+    {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  @Override
+  public boolean isUnchanged(String dataSource,
+                             String recordId,
+                             long   fingerprint)
+  {
+    long key = SzRecordFingerprints.keyHash(dataSource, recordId);
+    this.lock.readLock().lock();
+    try {
+      this.assertOpen();
+      long slot = this.findSlot(key);
+      return (this.getKey(slot) == key)
+          && (this.getFingerprint(slot) == fingerprint);
+
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void update(String dataSource, String recordId, long fingerprint) {
+    long key = SzRecordFingerprints.keyHash(dataSource, recordId);
+    this.lock.writeLock().lock();
+    try {
+      this.assertOpen();
+      long slot = this.findSlot(key);
+      if (this.getKey(slot) == key) {
+        this.setSlot(slot, key, fingerprint);
+        return;
+      }
+
+      // check if we need to grow before adding a new key
+      if ((this.count + 1) > (long) (this.capacity * MAX_LOAD_FACTOR)) {
+        this.grow();
+        slot = this.findSlot(key);
+      }
+      this.setSlot(slot, key, fingerprint);
+      this.header.putLong(COUNT_OFFSET, ++this.count);
+
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void remove(String dataSource, String recordId) {
+    long key = SzRecordFingerprints.keyHash(dataSource, recordId);
+    this.lock.writeLock().lock();
+    try {
+      this.assertOpen();
+      long slot = this.findSlot(key);
+      if (this.getKey(slot) != key) return;
+
+      // use backward-shift deletion so no tombstones are required
+      long mask = this.capacity - 1;
+      long next = (slot + 1) & mask;
+      for (long nextKey = this.getKey(next);
+           nextKey != 0L;
+           next = (next + 1) & mask, nextKey = this.getKey(next))
+      {
+        long home = nextKey & mask;
+        // check if the home slot of the next key is cyclically outside the
+        // range (slot, next] in which case it can be shifted back
+        boolean shift = (slot <= next)
+            ? ((home <= slot) || (home > next))
+            : ((home <= slot) && (home > next));
+        if (shift) {
+          this.setSlot(slot, nextKey, this.getFingerprint(next));
+          slot = next;
+        }
+      }
+      this.setSlot(slot, 0L, 0L);
+      this.header.putLong(COUNT_OFFSET, --this.count);
+
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    this.lock.writeLock().lock();
+    try {
+      this.assertOpen();
+      this.releaseMapping();
+      this.initialize(this.randomAccessFile.getChannel(),
+                      this.initialCapacity);
+
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public long size() {
+    this.lock.readLock().lock();
+    try {
+      return this.count;
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Doubles the capacity of the table by rehashing into a new temporary file
+   * and then replacing the backing file with the new file.  The new file is
+   * fully built, locked and mapped before it replaces the backing file, and
+   * only then is the old file released, so if any step fails this index is
+   * left open on its existing table.  This must be called while holding the
+   * write lock.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  private void grow() throws IOException {
+    File tempFile = new File(this.file.getPath() + ".tmp");
+    Files.deleteIfExists(tempFile.toPath());
+
+    RecordFingerprintIndex bigger
+        = new RecordFingerprintIndex(tempFile, this.repositoryTag, true);
+    try {
+      FileChannel channel = bigger.randomAccessFile.getChannel();
+      bigger.fileLock = channel.tryLock();
+      if (bigger.fileLock == null) {
+        throw new IOException(
+            "Failed to lock the new record fingerprint file: " + tempFile);
+      }
+      bigger.initialize(channel, this.capacity * 2);
+      for (long slot = 0; slot < this.capacity; slot++) {
+        long key = this.getKey(slot);
+        if (key == 0L) continue;
+        bigger.setSlot(bigger.findSlot(key), key, this.getFingerprint(slot));
+      }
+      bigger.count = this.count;
+      bigger.header.putLong(COUNT_OFFSET, this.count);
+      bigger.flush();
+
+      // replace the backing file while both files are still open
+      Files.move(tempFile.toPath(), this.file.toPath(),
+                 REPLACE_EXISTING, ATOMIC_MOVE);
+
+    } catch (IOException | RuntimeException e) {
+      try {
+        bigger.close();
+        Files.deleteIfExists(tempFile.toPath());
+      } catch (IOException ignore) {
+        // ignore
+      }
+      throw e;
+    }
+
+    // release the old file and adopt the new one
+    RandomAccessFile  oldFile = this.randomAccessFile;
+    FileLock          oldLock = this.fileLock;
+    this.header           = bigger.header;
+    this.segments         = bigger.segments;
+    this.capacity         = bigger.capacity;
+    this.count            = bigger.count;
+    this.randomAccessFile = bigger.randomAccessFile;
+    this.fileLock         = bigger.fileLock;
+    try {
+      if (oldLock != null) oldLock.release();
+      oldFile.close();
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Private constructor for creating an unmapped instance used when growing
+   * the table.
+   *
+   * @param file The {@link File} backing the index.
+   * @param repositoryTag The repository tag.
+   * @param unused Parameter to distinguish from the public constructor.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  private RecordFingerprintIndex(File file, long repositoryTag, boolean unused)
+    throws IOException
+  {
+    this.file             = file;
+    this.repositoryTag    = repositoryTag;
+    this.randomAccessFile = new RandomAccessFile(this.file, "rw");
+  }
+
+  /**
+   * Forces the contents of the mapped buffers to the backing file.
+   */
+  public void flush() {
+    this.lock.writeLock().lock();
+    try {
+      if (this.segments == null) return;
+      this.header.force();
+      for (MappedByteBuffer segment : this.segments) {
+        segment.force();
+      }
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Flushes the table to disk and closes the backing file.  This instance may
+   * not be used after it is closed.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  public void close() throws IOException {
+    this.lock.writeLock().lock();
+    try {
+      if (this.randomAccessFile == null) return;
+      this.flush();
+      this.releaseMapping();
+      if (this.fileLock != null) this.fileLock.release();
+      this.fileLock = null;
+      this.randomAccessFile.close();
+      this.randomAccessFile = null;
+
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Drops the references to the mapped buffers after forcing them to disk.
+   */
+  private void releaseMapping() {
+    if (this.segments != null) {
+      this.header.force();
+      for (MappedByteBuffer segment : this.segments) {
+        segment.force();
+      }
+    }
+    this.header   = null;
+    this.segments = null;
+  }
+
+  /**
+   * Ensures this instance has not been closed.
+   *
+   * @throws IllegalStateException If this instance has been closed.
+   */
+  private void assertOpen() {
+    if (this.segments == null) {
+      throw new IllegalStateException(
+          "The record fingerprint index has been closed: " + this.file);
+    }
+  }
+}
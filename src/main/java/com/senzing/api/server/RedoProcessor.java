@@ -0,0 +1,400 @@
+package com.senzing.api.server;
+
+import com.senzing.api.model.SzRedoProcessorStats;
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.ServicesUtil;
+import com.senzing.api.services.SzMessageSink;
+import com.senzing.g2.engine.G2Engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.senzing.api.services.ServicesUtil.*;
+import static com.senzing.util.LoggingUtilities.*;
+
+/**
+ * Background threads that process the redo records in the repository while
+ * the API server is running.  Each redo record is processed on the engine
+ * thread pool of the API server so that the redo processing never adds to
+ * the number of concurrent engine calls, and a redo record is only handed
+ * to the pool when it has an idle thread.  The threads yield to interactive
+ * requests by pausing between redo records whenever other tasks are pending
+ * on the engine thread pool.  The pause doubles each time other tasks are
+ * found pending (up to {@link #MAX_THROTTLE_MILLIS}) and halves each time
+ * none are found.  If an info sink is configured then the info messages for
+ * the processed redo records are sent to it.
+ */
+class RedoProcessor {
+  /**
+   * The maximum number of milliseconds to pause between redo records when
+   * the engine thread pool is saturated ({@value}).
+   */
+  static final long MAX_THROTTLE_MILLIS = 2000L;
+
+  /**
+   * The number of milliseconds to wait before checking for new redo records
+   * when there are none to process ({@value}).
+   */
+  static final long IDLE_WAIT_MILLIS = 5000L;
+
+  /**
+   * The minimum number of milliseconds between counting the redo records in
+   * the repository to sample the backlog ({@value}).
+   */
+  static final long BACKLOG_SAMPLE_MILLIS = 30000L;
+
+  /**
+   * The number of milliseconds over which the throughput is measured before
+   * it is folded into the recent throughput ({@value}).
+   */
+  static final long THROUGHPUT_WINDOW_MILLIS = 1000L;
+
+  /**
+   * The weight given to the latest throughput measurement when folding it
+   * into the recent throughput ({@value}).
+   */
+  static final double THROUGHPUT_SMOOTHING = 0.25;
+
+  /**
+   * The {@link SzApiServer} that owns this instance.
+   */
+  private SzApiServer apiServer;
+
+  /**
+   * The {@link G2Engine} API used to process the redo records.
+   */
+  private G2Engine engineApi;
+
+  /**
+   * The processing threads.
+   */
+  private List<Thread> threads;
+
+  /**
+   * Flag indicating if the threads should complete.
+   */
+  private boolean complete = false;
+
+  /**
+   * The number of redo records successfully processed.
+   */
+  private long processedCount = 0L;
+
+  /**
+   * The number of failed attempts to process a redo record.
+   */
+  private long failedCount = 0L;
+
+  /**
+   * The number of redo records in the repository when last sampled.
+   */
+  private long sampledBacklog = 0L;
+
+  /**
+   * The number of redo records processed when the backlog was last sampled.
+   */
+  private long processedAtSample = 0L;
+
+  /**
+   * The time in milliseconds when the backlog was last sampled, or negative
+   * one (-1) if never sampled.
+   */
+  private long sampleTime = -1L;
+
+  /**
+   * The number of milliseconds to pause between redo records.
+   */
+  private long throttleMillis = 0L;
+
+  /**
+   * The number of redo records that have been handed to the engine thread
+   * pool and have not yet completed.
+   */
+  private int activeCount = 0;
+
+  /**
+   * The time in milliseconds when the current throughput window began.
+   */
+  private long windowStart;
+
+  /**
+   * The number of redo records processed in the current throughput window.
+   */
+  private long windowCount = 0L;
+
+  /**
+   * The recent number of redo records processed per second.
+   */
+  private double recordsPerSecond = 0.0;
+
+  /**
+   * Constructs with the specified {@link SzApiServer}, {@link G2Engine} and
+   * thread count, and starts the processing threads.
+   *
+   * @param apiServer The {@link SzApiServer} that owns this instance.
+   * @param engineApi The {@link G2Engine} API to process redo records with.
+   * @param threadCount The number of threads to process redo records.
+   */
+  RedoProcessor(SzApiServer apiServer, G2Engine engineApi, int threadCount)
+  {
+    this.apiServer    = apiServer;
+    this.engineApi    = engineApi;
+    this.windowStart  = System.currentTimeMillis();
+    this.threads      = new ArrayList<>(threadCount);
+    for (int index = 0; index < threadCount; index++) {
+      Thread thread = new Thread(this::processRedos, "redo-processor-" + index);
+      thread.setDaemon(true);
+      this.threads.add(thread);
+    }
+    for (Thread thread : this.threads) {
+      thread.start();
+    }
+  }
+
+  /**
+   * Signals the processing threads to complete and waits for them to do so.
+   */
+  void complete() {
+    synchronized (this) {
+      if (this.complete) return;
+      this.complete = true;
+      this.notifyAll();
+    }
+    for (Thread thread : this.threads) {
+      try {
+        thread.join();
+      } catch (InterruptedException ignore) {
+        // ignore the exception
+      }
+    }
+  }
+
+  /**
+   * Checks if the processing threads have been signaled to complete.
+   *
+   * @return <tt>true</tt> if the completion signal has been received,
+   *         otherwise <tt>false</tt>.
+   */
+  synchronized boolean isComplete() {
+    return this.complete;
+  }
+
+  /**
+   * Waits up to the specified number of milliseconds or until signaled to
+   * complete.
+   *
+   * @param millis The maximum number of milliseconds to wait.
+   */
+  private synchronized void pause(long millis) {
+    if (this.complete || millis <= 0L) return;
+    try {
+      this.wait(millis);
+    } catch (InterruptedException ignore) {
+      // ignore the exception
+    }
+  }
+
+  /**
+   * Adjusts the throttle according to whether tasks other than the redo
+   * records are pending on the engine thread pool of the API server and
+   * returns the number of milliseconds to pause before processing the next
+   * redo record.
+   *
+   * @return The number of milliseconds to pause.
+   */
+  private synchronized long adjustThrottle() {
+    int pending = this.apiServer.getPendingTaskCount() - this.activeCount;
+    if (pending > 0) {
+      this.throttleMillis = Math.min(
+          MAX_THROTTLE_MILLIS, Math.max(1L, this.throttleMillis * 2L));
+    } else {
+      this.throttleMillis /= 2L;
+    }
+    return this.throttleMillis;
+  }
+
+  /**
+   * Reserves an idle thread of the engine thread pool of the API server for
+   * a redo record.  This fails if every engine thread is already busy.
+   *
+   * @return <tt>true</tt> if an engine thread was reserved, otherwise
+   *         <tt>false</tt>.
+   */
+  private synchronized boolean reserveEngineThread() {
+    int pending = Math.max(this.apiServer.getPendingTaskCount(),
+                           this.activeCount);
+    if (pending >= this.apiServer.getConcurrency()) return false;
+    this.activeCount++;
+    return true;
+  }
+
+  /**
+   * Releases an engine thread that was {@linkplain #reserveEngineThread()
+   * reserved} for a redo record.
+   */
+  private synchronized void releaseEngineThread() {
+    this.activeCount--;
+  }
+
+  /**
+   * Samples the number of redo records in the repository if it has not been
+   * sampled within the last {@link #BACKLOG_SAMPLE_MILLIS} milliseconds.
+   * Between samples the backlog is estimated from the number of redo records
+   * processed so the redo records are not counted on every iteration.
+   */
+  private void sampleBacklog() {
+    long now = System.currentTimeMillis();
+    synchronized (this) {
+      if (this.sampleTime >= 0L
+          && (now - this.sampleTime) < BACKLOG_SAMPLE_MILLIS)
+      {
+        return;
+      }
+      this.sampleTime = now;
+    }
+    long count = this.engineApi.countRedoRecords();
+    synchronized (this) {
+      if (count >= 0L) {
+        this.sampledBacklog     = count;
+        this.processedAtSample  = this.processedCount;
+      }
+    }
+  }
+
+  /**
+   * Records that a redo record was successfully processed and updates the
+   * recent throughput.
+   */
+  private synchronized void recordProcessed() {
+    this.processedCount++;
+    this.windowCount++;
+    long now = System.currentTimeMillis();
+    long elapsed = now - this.windowStart;
+    if (elapsed >= THROUGHPUT_WINDOW_MILLIS) {
+      double rate = (this.windowCount * 1000.0) / elapsed;
+      this.recordsPerSecond = (this.recordsPerSecond == 0.0) ? rate
+          : (THROUGHPUT_SMOOTHING * rate)
+            + ((1.0 - THROUGHPUT_SMOOTHING) * this.recordsPerSecond);
+      this.windowStart = now;
+      this.windowCount = 0L;
+    }
+  }
+
+  /**
+   * Records that an attempt to process a redo record failed.
+   */
+  private synchronized void recordFailed() {
+    this.failedCount++;
+  }
+
+  /**
+   * Records that no redo records remain to be processed.
+   */
+  private synchronized void recordIdle() {
+    this.sampledBacklog     = 0L;
+    this.processedAtSample  = this.processedCount;
+    this.sampleTime         = System.currentTimeMillis();
+  }
+
+  /**
+   * The main loop for each processing thread.
+   */
+  private void processRedos() {
+    boolean withInfo = this.apiServer.hasInfoSink();
+    while (!this.isComplete()) {
+      // yield to interactive requests if the engine threads are busy
+      this.pause(this.adjustThrottle());
+      if (this.isComplete()) break;
+      if (!this.reserveEngineThread()) continue;
+
+      StringBuffer redoRecord = new StringBuffer();
+      StringBuffer info       = new StringBuffer();
+      int returnCode;
+      try {
+        returnCode = this.apiServer.executeInThread(() -> {
+          this.sampleBacklog();
+          int result = (withInfo)
+              ? this.engineApi.processRedoRecordWithInfo(0, redoRecord, info)
+              : this.engineApi.processRedoRecord(redoRecord);
+
+          if (result != 0) {
+            System.err.println(formatError(
+                (withInfo) ? "G2Engine.processRedoRecordWithInfo()"
+                           : "G2Engine.processRedoRecord()",
+                this.engineApi));
+          }
+          return result;
+        });
+
+      } catch (Exception e) {
+        // the engine thread pool already logged the failure
+        returnCode = -1;
+
+      } finally {
+        this.releaseEngineThread();
+      }
+
+      // check if the redo record failed
+      if (returnCode != 0) {
+        this.recordFailed();
+        this.pause(IDLE_WAIT_MILLIS);
+        continue;
+      }
+
+      // check if there were no redo records to process
+      if (redoRecord.length() == 0) {
+        this.recordIdle();
+        this.pause(IDLE_WAIT_MILLIS);
+        continue;
+      }
+
+      this.recordProcessed();
+
+      // send the info message if we have one
+      String rawInfo = info.toString();
+      if (withInfo && rawInfo.trim().length() > 0) {
+        SzMessageSink infoSink = this.apiServer.acquireInfoSink();
+        SzMessage message = newInfoMessage(rawInfo, REEVALUATE_OPERATION);
+        try {
+          infoSink.send(message, ServicesUtil::logFailedAsyncInfo);
+
+        } catch (Exception e) {
+          logFailedAsyncInfo(e, message);
+
+        } finally {
+          this.apiServer.releaseInfoSink(infoSink);
+        }
+      }
+    }
+  }
+
+  /**
+   * Creates a new {@link SzRedoProcessorStats} describing the current state
+   * of this instance.
+   *
+   * @return A new {@link SzRedoProcessorStats} describing this instance.
+   */
+  synchronized SzRedoProcessorStats getStats() {
+    long now = System.currentTimeMillis();
+    long backlog = Math.max(
+        0L, this.sampledBacklog - (this.processedCount - this.processedAtSample));
+
+    // the throughput is stale if nothing was processed for a while
+    double rate = ((now - this.windowStart) > (THROUGHPUT_WINDOW_MILLIS * 5L))
+        ? 0.0 : this.recordsPerSecond;
+
+    Long lag = (backlog == 0L) ? Long.valueOf(0L)
+        : ((rate > 0.0) ? Long.valueOf(Math.round(backlog * 1000.0 / rate))
+                        : null);
+
+    SzRedoProcessorStats stats = SzRedoProcessorStats.FACTORY.create();
+    stats.setThreadCount(this.threads.size());
+    stats.setRedoBacklog(backlog);
+    stats.setProcessedCount(this.processedCount);
+    stats.setFailedCount(this.failedCount);
+    stats.setRecordsPerSecond(rate);
+    stats.setLagMillis(lag);
+    stats.setThrottleMillis(this.throttleMillis);
+    return stats;
+  }
+}
@@ -11,20 +11,41 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import com.senzing.api.BuildInfo;
+import com.senzing.api.server.mq.AggregatingEndpoint;
+import com.senzing.api.server.mq.AsyncPublishingEndpoint;
+import com.senzing.api.server.mq.ChangeFeedEndpoint;
+import com.senzing.api.server.mq.DurableSpoolEndpoint;
+import com.senzing.api.server.mq.FileEndpoint;
+import com.senzing.api.server.mq.RepositoryStatsEndpoint;
 import com.senzing.api.server.mq.SzMessagingEndpoint;
 import com.senzing.api.server.mq.SzMessagingEndpointFactory;
+import com.senzing.api.server.mq.SzMessageSource;
+import com.senzing.api.server.mq.SzMessageSourceFactory;
 import com.senzing.api.services.SzMessageSink;
+import com.senzing.api.services.SzRecordFingerprints;
+import com.senzing.api.model.SzChangeFeedStats;
+import com.senzing.api.model.SzInfoAggregatorStats;
+import com.senzing.api.model.SzInfoPublisherStats;
+import com.senzing.api.model.SzInfoSpoolStats;
+import com.senzing.api.model.SzOverflowPolicy;
+import com.senzing.api.model.SzRecordConsumerStats;
+import com.senzing.api.model.SzRedoProcessorStats;
+import com.senzing.api.model.SzRepositoryStats;
 import com.senzing.api.model.SzVersionInfo;
 import com.senzing.api.websocket.WebSocketFilter;
 import com.senzing.cmdline.*;
 import com.senzing.nativeapi.EngineStatsLoggingHandler;
 import com.senzing.nativeapi.NativeApiFactory;
 import com.senzing.api.services.SzApiProvider;
+import com.senzing.api.services.SzChangeFeed;
+import com.senzing.api.services.SzRepositoryStatistics;
 import com.senzing.api.model.SzLicenseInfo;
 import com.senzing.configmgr.ConfigurationManager;
 import com.senzing.g2.engine.*;
@@ -63,6 +84,8 @@ import static com.senzing.util.LoggingUtilities.*;
 import static com.senzing.api.server.SzApiServerConstants.*;
 import static com.senzing.cmdline.CommandLineSource.*;
 import static javax.ws.rs.core.MediaType.*;
+import static com.senzing.api.services.BulkDataSupport.APPLICATION_JSONLINES;
+import static com.senzing.api.services.BulkDataSupport.TEXT_CSV;
 
 /**
  * Implements the Senzing REST API specification in Java in an HTTP server.
@@ -248,6 +271,34 @@ public class SzApiServer implements SzApiProvider {
    */
   protected int concurrency;
 
+  /**
+   * The minimum number of records that a bulk load may have in flight.
+   */
+  protected int minLoadConcurrency;
+
+  /**
+   * The JSON property names whose values form the affinity key of each
+   * bulk-loaded record, or <tt>null</tt> if records are not scheduled by
+   * affinity.
+   */
+  protected List<String> loadAffinityKeys;
+
+  /**
+   * Whether or not bulk loads should benchmark the affinity.
+   */
+  protected boolean loadAffinityBenchmark;
+
+  /**
+   * The maximum number of times a bulk-loaded record that fails with a
+   * transient engine error is retried.
+   */
+  protected int loadMaxRetries;
+
+  /**
+   * The maximum number of entity exports that may run concurrently.
+   */
+  protected int exportConcurrency;
+
   /**
    * The maximum number of threads for the HTTP server thread pool.
    */
@@ -275,9 +326,74 @@ public class SzApiServer implements SzApiProvider {
 
   /**
    * The {@link SzMessagingEndpoint} to use for asynchronous info messages.
+   * This is an {@link AsyncPublishingEndpoint} wrapping the configured info
+   * queue endpoint (or the {@linkplain #infoSpool info spool} or the
+   * {@linkplain #infoAggregator info aggregator}) unless info messages are
+   * published synchronously.  If the {@linkplain #repositoryStats repository
+   * statistics} or the {@linkplain #changeFeed change feed} are enabled then
+   * they wrap all of these (in that order) or are the only endpoints if there
+   * is no info queue.
    */
   protected SzMessagingEndpoint infoEndpoint;
 
+  /**
+   * The {@link AsyncPublishingEndpoint} through which info messages are
+   * published, or <tt>null</tt> if info messages are published synchronously.
+   */
+  protected AsyncPublishingEndpoint infoPublisher;
+
+  /**
+   * The {@link DurableSpoolEndpoint} through which info messages are
+   * forwarded to the configured info queue endpoint, or <tt>null</tt> if info
+   * messages are not spooled.
+   */
+  protected DurableSpoolEndpoint infoSpool;
+
+  /**
+   * The {@link AggregatingEndpoint} that packs info messages into aggregate
+   * info messages before they are spooled or sent to the configured info
+   * queue endpoint, or <tt>null</tt> if info messages are not aggregated.
+   */
+  protected AggregatingEndpoint infoAggregator;
+
+  /**
+   * The {@link ChangeFeedEndpoint} that pushes info messages to the
+   * subscribers of <tt>GET /changes</tt>, or <tt>null</tt> if the change feed
+   * is not enabled.
+   */
+  protected ChangeFeedEndpoint changeFeed;
+
+  /**
+   * The {@link RepositoryStatsEndpoint} that maintains the repository
+   * statistics from the info messages, or <tt>null</tt> if the repository
+   * statistics are not enabled.
+   */
+  protected RepositoryStatsEndpoint repositoryStats;
+
+  /**
+   * The {@link RecordFingerprintIndex} for skipping unchanged records, or
+   * <tt>null</tt> if unchanged records are not being skipped.
+   */
+  protected RecordFingerprintIndex recordFingerprints = null;
+
+  /**
+   * The {@link RedoProcessor} for processing redo records in the background,
+   * or <tt>null</tt> if redo records are not being processed.
+   */
+  protected RedoProcessor redoProcessor = null;
+
+  /**
+   * The {@link RecordConsumer} for loading and deleting the records received
+   * from the ingest queue, or <tt>null</tt> if no ingest queue is configured.
+   */
+  protected RecordConsumer recordConsumer = null;
+
+  /**
+   * The number of tasks that are queued or executing in the {@link
+   * WorkerThreadPool}.
+   */
+  protected final AtomicInteger pendingTaskCount = new AtomicInteger(0);
+
   /**
    * The {@link G2EngineRetryHandler} backing the proxied
    * retry version of {@link G2Engine}.
@@ -640,6 +756,39 @@ public class SzApiServer implements SzApiProvider {
     return this.workerThreadPool.size();
   }
 
+  /**
+   * Returns the minimum number of records that a bulk load may have in
+   * flight.  This is the same as the {@linkplain #getConcurrency()
+   * concurrency} unless the number of records in flight is being adapted.
+   *
+   * @return The minimum number of records that a bulk load may have in
+   *         flight.
+   */
+  @Override
+  public int getMinLoadConcurrency() {
+    return Math.min(this.minLoadConcurrency, this.getConcurrency());
+  }
+
+  @Override
+  public List<String> getLoadAffinityKeys() {
+    return this.loadAffinityKeys;
+  }
+
+  @Override
+  public boolean isBenchmarkingLoadAffinity() {
+    return this.loadAffinityBenchmark;
+  }
+
+  @Override
+  public int getLoadMaxRetries() {
+    return this.loadMaxRetries;
+  }
+
+  @Override
+  public int getExportConcurrency() {
+    return this.exportConcurrency;
+  }
+
   @Override
   public String getBasePath() {
     return this.basePath;
@@ -650,6 +799,63 @@ public class SzApiServer implements SzApiProvider {
     return WEB_SOCKETS_MESSAGE_MAX_SIZE;
   }
 
+  @Override
+  public SzRecordFingerprints getRecordFingerprints() {
+    return this.recordFingerprints;
+  }
+
+  @Override
+  public SzRedoProcessorStats getRedoProcessorStats() {
+    return (this.redoProcessor == null) ? null : this.redoProcessor.getStats();
+  }
+
+  @Override
+  public SzRecordConsumerStats getRecordConsumerStats() {
+    return (this.recordConsumer == null) ? null
+        : this.recordConsumer.getStats();
+  }
+
+  @Override
+  public SzInfoPublisherStats getInfoPublisherStats() {
+    return (this.infoPublisher == null) ? null : this.infoPublisher.getStats();
+  }
+
+  @Override
+  public SzInfoSpoolStats getInfoSpoolStats() {
+    return (this.infoSpool == null) ? null : this.infoSpool.getStats();
+  }
+
+  @Override
+  public SzInfoAggregatorStats getInfoAggregatorStats() {
+    return (this.infoAggregator == null) ? null
+        : this.infoAggregator.getStats();
+  }
+
+  @Override
+  public SzChangeFeed getChangeFeed() {
+    return this.changeFeed;
+  }
+
+  @Override
+  public SzChangeFeedStats getChangeFeedStats() {
+    return (this.changeFeed == null) ? null : this.changeFeed.getStats();
+  }
+
+  @Override
+  public SzRepositoryStatistics getRepositoryStatistics() {
+    return this.repositoryStats;
+  }
+
+  /**
+   * Gets the number of tasks that are currently queued or executing in the
+   * engine thread pool via {@link #executeInThread(Task)}.
+   *
+   * @return The number of tasks that are queued or executing.
+   */
+  public int getPendingTaskCount() {
+    return this.pendingTaskCount.get();
+  }
+
   @Override
   public boolean hasInfoSink() {
     return (this.infoEndpoint != null);
@@ -1099,6 +1305,51 @@ public class SzApiServer implements SzApiProvider {
             + DEFAULT_CONCURRENCY + ".",
         "        --> VIA ENVIRONMENT: " + CONCURRENCY.getEnvironmentVariable(),
         "",
+        "   --min-load-concurrency <record-count>",
+        "        Also -minLoadConcurrency.  Sets the minimum number of records that",
+        "        a bulk load may have in flight.  If specified and less than the",
+        "        concurrency then each bulk load adapts the number of records it has",
+        "        in flight between this minimum and the concurrency according to the",
+        "        latency and failure rate of the records being loaded.  If not",
+        "        specified then each bulk load always has as many records in flight",
+        "        as the concurrency.",
+        "        --> VIA ENVIRONMENT: " + MIN_LOAD_CONCURRENCY.getEnvironmentVariable(),
+        "",
+        "   --load-affinity-key <property-name>[,<property-name>]*",
+        "        Also -loadAffinityKey.  Sets the comma-separated JSON property names",
+        "        whose values form the affinity key of each bulk-loaded record (e.g.:",
+        "        RECORD_ID or NAME_FULL,DATE_OF_BIRTH or PHONE_NUMBER).  If specified",
+        "        then records with the same normalized affinity key are loaded by the",
+        "        same worker one after the other rather than concurrently.  If not",
+        "        specified then records are loaded by whichever worker is free.",
+        "        --> VIA ENVIRONMENT: " + LOAD_AFFINITY_KEY.getEnvironmentVariable(),
+        "",
+        "   --load-affinity-benchmark [true|false]",
+        "        Also -loadAffinityBenchmark.  If specified then each bulk load",
+        "        alternates between blocks of records loaded with and without the",
+        "        affinity key and reports the throughput and the engine lock-wait",
+        "        statistics for each.  Requires --load-affinity-key.  The true/false",
+        "        parameter is optional, if not specified then true is assumed.",
+        "        --> VIA ENVIRONMENT: " + LOAD_AFFINITY_BENCHMARK.getEnvironmentVariable(),
+        "",
+        "   --load-max-retries <retry-count>",
+        "        Also -loadMaxRetries.  Sets the maximum number of times a bulk-loaded",
+        "        record that fails with a transient engine error (e.g.: a database",
+        "        deadlock or lost connection) is retried with jittered exponential",
+        "        backoff before it is counted as failed.  A pending retry is dropped",
+        "        if a later version of the same record is loaded first.  Specify zero",
+        "        (0) to disable the retries.  If not specified, then this defaults to "
+            + DEFAULT_LOAD_MAX_RETRIES + ".",
+        "        --> VIA ENVIRONMENT: " + LOAD_MAX_RETRIES.getEnvironmentVariable(),
+        "",
+        "   --export-concurrency <export-count>",
+        "        Also -exportConcurrency.  Sets the maximum number of entity exports",
+        "        that may run concurrently.  Each export runs on its own dedicated",
+        "        thread rather than the engine thread pool and exports requested",
+        "        beyond this limit are rejected.  If not specified, then this",
+        "        defaults to " + DEFAULT_EXPORT_CONCURRENCY + ".",
+        "        --> VIA ENVIRONMENT: " + EXPORT_CONCURRENCY.getEnvironmentVariable(),
+        "",
         "   --http-concurrency <thread-count>",
         "        Also -httpConcurrency.  Sets the maximum number of threads available",
         "        for the HTTP server.  The single parameter to this option should be",
@@ -1191,6 +1442,130 @@ public class SzApiServer implements SzApiProvider {
         "        overrides any environment variable.",
         "        --> VIA ENVIRONMENT: " + SKIP_ENGINE_PRIMING.getEnvironmentVariable(),
         "",
+        "   --skip-unchanged-records [true|false]",
+        "        Also -skipUnchangedRecords.  If specified then the API Server keeps a",
+        "        persistent index of record fingerprints in the file named",
+        "        " + RECORD_FINGERPRINTS_FILE_NAME + " in its working directory and skips",
+        "        loading records that are unchanged since they were last loaded by the",
+        "        API Server.  The fingerprints are cleared when the repository is",
+        "        purged via the API Server, but NOT if the repository is restored from",
+        "        a backup or its records are changed by other processes, so use",
+        "        --reset-record-fingerprints (or delete the file) in that case.  The",
+        "        true/false parameter is optional, if not specified then true is",
+        "        assumed.  If specified as false then it is the same as omitting the",
+        "        option with the exception that omission falls back to the environment",
+        "        variable setting whereas an explicit false overrides any environment",
+        "        variable.",
+        "        --> VIA ENVIRONMENT: " + SKIP_UNCHANGED_RECORDS.getEnvironmentVariable(),
+        "",
+        "   --reset-record-fingerprints [true|false]",
+        "        Also -resetRecordFingerprints.  If specified then the API Server",
+        "        discards the record fingerprints kept by --skip-unchanged-records",
+        "        when it starts so that every record is loaded again.  Requires the",
+        "        --skip-unchanged-records option.  The true/false parameter is",
+        "        optional, if not specified then true is assumed.",
+        "        --> VIA ENVIRONMENT: " + RESET_RECORD_FINGERPRINTS.getEnvironmentVariable(),
+        "",
+        "   --redo-threads <thread-count>",
+        "        Also -redoThreads.  Sets the number of background threads that process",
+        "        the redo records in the repository while the API Server is running.",
+        "        The redo records are processed on the engine threads only when one is",
+        "        idle, and the redo threads pause to yield to requests whenever other",
+        "        engine tasks are pending.  If an info queue is configured then the",
+        "        info messages for the redo records are sent to it.  This option is",
+        "        ignored in read-only mode.  The default is 0 (no redo processing).",
+        "        --> VIA ENVIRONMENT: " + REDO_THREADS.getEnvironmentVariable(),
+        "",
+        "   --info-publish-capacity <message-count>",
+        "        Also -infoPublishCapacity.  Sets the maximum number of info messages",
+        "        that may be waiting in the in-process queue from which dedicated",
+        "        threads publish them in batches to the configured info queue.  If 0",
+        "        then info messages are published synchronously by the threads that",
+        "        load the records.  This option is ignored if there is no info queue.",
+        "        The default is " + DEFAULT_INFO_PUBLISH_CAPACITY + ".",
+        "        --> VIA ENVIRONMENT: " + INFO_PUBLISH_CAPACITY.getEnvironmentVariable(),
+        "",
+        "   --info-publish-overflow <BLOCK|DROP_OLDEST|SPILL>",
+        "        Also -infoPublishOverflow.  Sets how info messages are handled when",
+        "        the info publish queue is full: BLOCK waits for room in the queue,",
+        "        DROP_OLDEST discards the oldest queued message and SPILL writes the",
+        "        message to a temporary file on disk until there is room.  The",
+        "        default is " + DEFAULT_INFO_PUBLISH_OVERFLOW + ".",
+        "        --> VIA ENVIRONMENT: " + INFO_PUBLISH_OVERFLOW.getEnvironmentVariable(),
+        "",
+        "   --info-publish-threads <thread-count>",
+        "        Also -infoPublishThreads.  Sets the number of threads that publish",
+        "        the queued info messages to the info queue.  The messages are",
+        "        partitioned among the threads by record so that the messages for",
+        "        the same record are published in order.  The default is "
+            + DEFAULT_INFO_PUBLISH_THREADS + ".",
+        "        --> VIA ENVIRONMENT: " + INFO_PUBLISH_THREADS.getEnvironmentVariable(),
+        "",
+        "   --info-spool-dir <directory-path>",
+        "        Also -infoSpoolDir.  Specifies a directory for a durable local spool",
+        "        to which every info message is written before it is forwarded to",
+        "        the info queue.  Messages that cannot be forwarded stay in the",
+        "        spool and are retried, including after a restart.  If not",
+        "        specified then info messages are not spooled.  This option is",
+        "        ignored if there is no info queue.",
+        "        --> VIA ENVIRONMENT: " + INFO_SPOOL_DIR.getEnvironmentVariable(),
+        "",
+        "   --info-spool-segment-size <megabytes>",
+        "        Also -infoSpoolSegmentSize.  Sets the size of each segment file of",
+        "        the info spool in megabytes.  The default is "
+            + DEFAULT_INFO_SPOOL_SEGMENT_SIZE + ".",
+        "        --> VIA ENVIRONMENT: " + INFO_SPOOL_SEGMENT_SIZE.getEnvironmentVariable(),
+        "",
+        "   --info-aggregate-count <count>",
+        "        Also -infoAggregateCount.  Sets the maximum number of info messages",
+        "        packed into a single aggregate info message with the affected",
+        "        entities merged and deduplicated.  Aggregate messages have the",
+        "        \"" + AggregatingEndpoint.FORMAT_PROPERTY + "\" message property.  Zero (0)",
+        "        disables aggregation.  The default is "
+            + DEFAULT_INFO_AGGREGATE_COUNT + ".",
+        "        --> VIA ENVIRONMENT: " + INFO_AGGREGATE_COUNT.getEnvironmentVariable(),
+        "",
+        "   --info-aggregate-window <milliseconds>",
+        "        Also -infoAggregateWindow.  Sets the maximum number of milliseconds",
+        "        an info message waits for more info messages to join its aggregate",
+        "        info message.  The default is "
+            + DEFAULT_INFO_AGGREGATE_WINDOW + ".",
+        "        --> VIA ENVIRONMENT: " + INFO_AGGREGATE_WINDOW.getEnvironmentVariable(),
+        "",
+        "   --info-aggregate-gzip [true|false]",
+        "        Also -infoAggregateGzip.  If specified then the body of each aggregate",
+        "        info message is gzip-compressed and Base64-encoded.  Compressed",
+        "        aggregate messages are not keyed by entity on Kafka.",
+        "        --> VIA ENVIRONMENT: " + INFO_AGGREGATE_GZIP.getEnvironmentVariable(),
+        "",
+        "   --change-feed-capacity <count>",
+        "        Also -changeFeedCapacity.  Enables the GET /changes feed (SSE or",
+        "        Web Sockets) that pushes info messages to subscribers and sets the",
+        "        number of info messages retained for subscribers that fall behind",
+        "        or reconnect.  Subscribers that fall further behind are evicted.",
+        "        Info messages are produced even without an info queue when this is",
+        "        enabled.  Zero (0) disables the feed.  The default is "
+            + DEFAULT_CHANGE_FEED_CAPACITY + ".",
+        "        --> VIA ENVIRONMENT: " + CHANGE_FEED_CAPACITY.getEnvironmentVariable(),
+        "",
+        "   --repository-stats [true|false]",
+        "        Also -repositoryStats.  Maintains the GET /repository-stats",
+        "        statistics incrementally from the info messages and persists them",
+        "        to " + REPOSITORY_STATS_FILE_NAME + " in its working directory.",
+        "        Info messages are produced even without an info queue when this is",
+        "        enabled.  The true/false parameter is optional, if not specified",
+        "        then true is assumed.",
+        "        --> VIA ENVIRONMENT: " + REPOSITORY_STATS.getEnvironmentVariable(),
+        "",
+        "   --repository-stats-snapshot-period <milliseconds>",
+        "        Also -repositoryStatsSnapshotPeriod.  Sets the number of",
+        "        milliseconds between writing the repository statistics to their",
+        "        snapshot file if changed.  Zero (0) only writes the snapshot file",
+        "        on shutdown.  Ignored unless --repository-stats is specified.  The",
+        "        default is " + DEFAULT_REPOSITORY_STATS_SNAPSHOT_PERIOD + ".",
+        "        --> VIA ENVIRONMENT: "
+            + REPOSITORY_STATS_SNAPSHOT_PERIOD.getEnvironmentVariable(),
+        "",
         "   --verbose [true|false]",
         "        Also -verbose.  If specified then initialize in verbose mode.  The",
         "        true/false parameter is optional, if not specified then true is assumed.",
@@ -1302,6 +1677,17 @@ public class SzApiServer implements SzApiProvider {
         "        Also -sqsInfoUrl.  Specifies an Amazon SQS queue URL as the info queue.",
         "        --> VIA ENVIRONMENT: " + SQS_INFO_URL.getEnvironmentVariable(),
         "",
+        "   --file-info-url <url>",
+        "        Also -fileInfoUrl.  Specifies a file: URL for a local directory to",
+        "        which info messages are written as newline-delimited JSON instead",
+        "        of an info queue.  The URL may have the optional query parameters",
+        "        rotateBytes=<bytes> (default " + FileEndpoint.DEFAULT_ROTATE_BYTES + "),",
+        "        rotateSeconds=<seconds> (default "
+            + FileEndpoint.DEFAULT_ROTATE_SECONDS + "), gzip=<true|false> to",
+        "        compress rotated files and fsync=<true|false> to force each group",
+        "        of written messages to disk.",
+        "        --> VIA ENVIRONMENT: " + FILE_INFO_URL.getEnvironmentVariable(),
+        "",
         "   --rabbit-info-host <hostname>",
         "        Also -rabbitInfoHost.  Used to specify the hostname for connecting to",
         "        RabbitMQ as part of specifying a RabbitMQ info queue.",
@@ -1375,6 +1761,156 @@ public class SzApiServer implements SzApiProvider {
         "        Also -kafkaInfoTopic.  Used to specify the topic name for connecting to",
         "        Kafka as part of specifying a Kafka info topic.",
         "        --> VIA ENVIRONMENT: " + KAFKA_INFO_TOPIC.getEnvironmentVariable(),
+        "",
+        "   --kafka-info-acks <0|1|all>",
+        "        Also -kafkaInfoAcks.  Sets the number of broker acknowledgements the",
+        "        Kafka producer waits for when sending an info message.",
+        "        --> VIA ENVIRONMENT: " + KAFKA_INFO_ACKS.getEnvironmentVariable(),
+        "",
+        "   --kafka-info-batch-size <byte-count>",
+        "        Also -kafkaInfoBatchSize.  Sets the maximum number of bytes the Kafka",
+        "        producer batches together for a partition.",
+        "        --> VIA ENVIRONMENT: " + KAFKA_INFO_BATCH_SIZE.getEnvironmentVariable(),
+        "",
+        "   --kafka-info-linger-ms <milliseconds>",
+        "        Also -kafkaInfoLingerMs.  Sets how long the Kafka producer waits for",
+        "        more info messages to join a batch before sending it.",
+        "        --> VIA ENVIRONMENT: " + KAFKA_INFO_LINGER.getEnvironmentVariable(),
+        "",
+        "   --kafka-info-compression <none|gzip|snappy|lz4|zstd>",
+        "        Also -kafkaInfoCompression.  Sets the compression the Kafka producer",
+        "        applies to batches of info messages.",
+        "        --> VIA ENVIRONMENT: " + KAFKA_INFO_COMPRESSION.getEnvironmentVariable(),
+        "",
+        "   --kafka-info-max-in-flight <request-count>",
+        "        Also -kafkaInfoMaxInFlight.  Sets the maximum number of unacknowledged",
+        "        requests the Kafka producer sends on each connection.",
+        "        --> VIA ENVIRONMENT: " + KAFKA_INFO_MAX_IN_FLIGHT.getEnvironmentVariable(),
+        "",
+        "   --kafka-info-key-by-entity [true|false]",
+        "        Also -kafkaInfoKeyByEntity.  Keys the Kafka records by the lowest",
+        "        affected entity ID for best-effort partition locality.  This does",
+        "        NOT guarantee per-entity ordering of the info messages.",
+        "        --> VIA ENVIRONMENT: " + KAFKA_INFO_KEY_BY_ENTITY.getEnvironmentVariable(),
+        "",
+        "   --kafka-info-producer-properties <query-string>",
+        "        Also -kafkaInfoProducerProperties.  Specifies additional Kafka",
+        "        producer properties as a URL query string of the form",
+        "        {prop1}={value1}&{prop2}={value2}.",
+        "        --> VIA ENVIRONMENT: "
+            + KAFKA_INFO_PRODUCER_PROPERTIES.getEnvironmentVariable(),
+        ""));
+  }
+
+  /**
+   * Prints the ingest-queue options usage to the specified {@link
+   * PrintWriter}.
+   *
+   * @param pw The {@link PrintWriter} to write the ingest-queue options usage.
+   */
+  protected static void printIngestQueueOptionsUsage(PrintWriter pw) {
+    pw.println(multilineFormat(
+        "[ Ingest Queue Options ]",
+        "   The following options pertain to configuring a message queue (or",
+        "   topic) from which record messages are consumed and loaded into the",
+        "   repository.  At most one such queue can be configured and none can be",
+        "   configured in read-only mode.  The body of each message is the JSON",
+        "   record and the \"action\" message property may be \"add\" (the default)",
+        "   or \"delete\".  Each message is acknowledged only after the record has",
+        "   been processed.  Messages that cannot be processed are routed to the",
+        "   optional dead-letter destination with a \"failure-reason\" property.",
+        "",
+        "   --ingest-concurrency <thread-count>",
+        "        Also -ingestConcurrency.  Sets the maximum number of record messages",
+        "        that are processed concurrently.  The default is "
+            + DEFAULT_INGEST_CONCURRENCY + ".",
+        "        --> VIA ENVIRONMENT: " + INGEST_CONCURRENCY.getEnvironmentVariable(),
+        "",
+        "   --ingest-max-attempts <attempt-count>",
+        "        Also -ingestMaxAttempts.  Sets the maximum number of attempts to",
+        "        process a record message before it is routed to the dead-letter",
+        "        destination.  The default is " + DEFAULT_INGEST_MAX_ATTEMPTS + ".",
+        "        --> VIA ENVIRONMENT: " + INGEST_MAX_ATTEMPTS.getEnvironmentVariable(),
+        "",
+        "   --sqs-ingest-url <url>",
+        "        Also -sqsIngestUrl.  Specifies an Amazon SQS queue URL as the ingest",
+        "        queue.",
+        "        --> VIA ENVIRONMENT: " + SQS_INGEST_URL.getEnvironmentVariable(),
+        "",
+        "   --sqs-ingest-dead-letter-url <url>",
+        "        Also -sqsIngestDeadLetterUrl.  Specifies an Amazon SQS queue URL to",
+        "        which record messages that cannot be processed are routed.",
+        "        --> VIA ENVIRONMENT: "
+            + SQS_INGEST_DEAD_LETTER_URL.getEnvironmentVariable(),
+        "",
+        "   --rabbit-ingest-host <hostname>",
+        "        Also -rabbitIngestHost.  Used to specify the hostname for connecting",
+        "        to RabbitMQ as part of specifying a RabbitMQ ingest queue.",
+        "        --> VIA ENVIRONMENT: " + RABBIT_INGEST_HOST.getEnvironmentVariable(),
+        "",
+        "   --rabbit-ingest-port <port>",
+        "        Also -rabbitIngestPort.  Used to specify the port number for",
+        "        connecting to RabbitMQ as part of specifying a RabbitMQ ingest queue.",
+        "        --> VIA ENVIRONMENT: " + RABBIT_INGEST_PORT.getEnvironmentVariable(),
+        "",
+        "   --rabbit-ingest-user <user name>",
+        "        Also -rabbitIngestUser.  Used to specify the user name for connecting",
+        "        to RabbitMQ as part of specifying a RabbitMQ ingest queue.",
+        "        --> VIA ENVIRONMENT: " + RABBIT_INGEST_USER.getEnvironmentVariable(),
+        "",
+        "   --rabbit-ingest-password <password>",
+        "        Also -rabbitIngestPassword.  Used to specify the password for",
+        "        connecting to RabbitMQ as part of specifying a RabbitMQ ingest queue.",
+        "        --> VIA ENVIRONMENT: "
+            + RABBIT_INGEST_PASSWORD.getEnvironmentVariable(),
+        "",
+        "   --rabbit-ingest-virtual-host <virtual host>",
+        "        Also -rabbitIngestVirtualHost.  Used to specify the virtual host for",
+        "        connecting to RabbitMQ as part of specifying a RabbitMQ ingest queue.",
+        "        --> VIA ENVIRONMENT: "
+            + RABBIT_INGEST_VIRTUAL_HOST.getEnvironmentVariable(),
+        "",
+        "   --rabbit-ingest-queue <queue name>",
+        "        Also -rabbitIngestQueue.  Used to specify the name of the existing",
+        "        RabbitMQ queue from which record messages are consumed.",
+        "        --> VIA ENVIRONMENT: " + RABBIT_INGEST_QUEUE.getEnvironmentVariable(),
+        "",
+        "   --rabbit-ingest-dead-letter-exchange <exchange>",
+        "        Also -rabbitIngestDeadLetterExchange.  Used to specify the exchange",
+        "        on the ingest broker to which record messages that cannot be",
+        "        processed are routed.",
+        "        --> VIA ENVIRONMENT: "
+            + RABBIT_INGEST_DEAD_LETTER_EXCHANGE.getEnvironmentVariable(),
+        "",
+        "   --rabbit-ingest-dead-letter-routing-key <routing key>",
+        "        Also -rabbitIngestDeadLetterRoutingKey.  Used to specify the routing",
+        "        key for the dead-letter exchange.  The default is an empty routing",
+        "        key.",
+        "        --> VIA ENVIRONMENT: "
+            + RABBIT_INGEST_DEAD_LETTER_ROUTING_KEY.getEnvironmentVariable(),
+        "",
+        "   --kafka-ingest-bootstrap-server <bootstrap servers>",
+        "        Also -kafkaIngestBootstrapServer.  Used to specify the bootstrap",
+        "        servers for connecting to Kafka as part of specifying a Kafka ingest",
+        "        topic.",
+        "        --> VIA ENVIRONMENT: "
+            + KAFKA_INGEST_BOOTSTRAP_SERVER.getEnvironmentVariable(),
+        "",
+        "   --kafka-ingest-group <group id>",
+        "        Also -kafkaIngestGroup.  Used to specify the consumer group ID with",
+        "        which the offsets of the processed record messages are committed.",
+        "        --> VIA ENVIRONMENT: " + KAFKA_INGEST_GROUP.getEnvironmentVariable(),
+        "",
+        "   --kafka-ingest-topic <topic>",
+        "        Also -kafkaIngestTopic.  Used to specify the topic from which record",
+        "        messages are consumed.",
+        "        --> VIA ENVIRONMENT: " + KAFKA_INGEST_TOPIC.getEnvironmentVariable(),
+        "",
+        "   --kafka-ingest-dead-letter-topic <topic>",
+        "        Also -kafkaIngestDeadLetterTopic.  Used to specify the topic to which",
+        "        record messages that cannot be processed are routed.",
+        "        --> VIA ENVIRONMENT: "
+            + KAFKA_INGEST_DEAD_LETTER_TOPIC.getEnvironmentVariable(),
         ""));
   }
 
@@ -1406,6 +1942,7 @@ public class SzApiServer implements SzApiProvider {
     printStandardOptionsUsage(pw);
     printSslOptionsUsage(pw);
     printInfoQueueOptionsUsage(pw);
+    printIngestQueueOptionsUsage(pw);
     printAdvancedOptionsUsage(pw);
 
     pw.println();
@@ -2004,6 +2541,26 @@ public class SzApiServer implements SzApiProvider {
       this.concurrency = (Integer) options.get(CONCURRENCY);
     }
 
+    this.minLoadConcurrency = this.concurrency;
+    if (options.containsKey(MIN_LOAD_CONCURRENCY)) {
+      this.minLoadConcurrency = Math.min(
+          this.concurrency, (Integer) options.get(MIN_LOAD_CONCURRENCY));
+    }
+
+    this.loadAffinityKeys = (List<String>) options.get(LOAD_AFFINITY_KEY);
+    this.loadAffinityBenchmark = (this.loadAffinityKeys != null)
+        && Boolean.TRUE.equals(options.get(LOAD_AFFINITY_BENCHMARK));
+
+    this.loadMaxRetries = DEFAULT_LOAD_MAX_RETRIES;
+    if (options.containsKey(LOAD_MAX_RETRIES)) {
+      this.loadMaxRetries = (Integer) options.get(LOAD_MAX_RETRIES);
+    }
+
+    this.exportConcurrency = DEFAULT_EXPORT_CONCURRENCY;
+    if (options.containsKey(EXPORT_CONCURRENCY)) {
+      this.exportConcurrency = (Integer) options.get(EXPORT_CONCURRENCY);
+    }
+
     this.httpConcurrency = DEFAULT_HTTP_CONCURRENCY;
     if (options.containsKey(HTTP_CONCURRENCY)) {
       this.httpConcurrency = (Integer) options.get(HTTP_CONCURRENCY);
@@ -2220,6 +2777,81 @@ public class SzApiServer implements SzApiProvider {
         : SzMessagingEndpointFactory.createEndpoint(infoQueueProps,
                                                     this.concurrency);
 
+    // check if spooling the info messages to local disk
+    File infoSpoolDir = (File) options.get(INFO_SPOOL_DIR);
+    if (this.infoEndpoint != null && infoSpoolDir != null) {
+      Integer segmentSize = (Integer) options.get(INFO_SPOOL_SEGMENT_SIZE);
+      if (segmentSize == null) segmentSize = DEFAULT_INFO_SPOOL_SEGMENT_SIZE;
+      this.infoSpool = new DurableSpoolEndpoint(this.infoEndpoint,
+                                                infoSpoolDir,
+                                                segmentSize * 1024 * 1024);
+      this.infoEndpoint = this.infoSpool;
+    }
+
+    // check if packing the info messages into aggregate info messages
+    Integer aggregateCount = (Integer) options.get(INFO_AGGREGATE_COUNT);
+    if (aggregateCount == null) aggregateCount = DEFAULT_INFO_AGGREGATE_COUNT;
+    if (this.infoEndpoint != null && aggregateCount > 1) {
+      Long aggregateWindow = (Long) options.get(INFO_AGGREGATE_WINDOW);
+      if (aggregateWindow == null) {
+        aggregateWindow = DEFAULT_INFO_AGGREGATE_WINDOW;
+      }
+      Boolean aggregateGzip = (Boolean) options.get(INFO_AGGREGATE_GZIP);
+      this.infoAggregator = new AggregatingEndpoint(
+          this.infoEndpoint,
+          aggregateCount,
+          aggregateWindow,
+          Boolean.TRUE.equals(aggregateGzip));
+      this.infoEndpoint = this.infoAggregator;
+    }
+
+    // check if publishing the info messages asynchronously
+    Integer infoCapacity = (Integer) options.get(INFO_PUBLISH_CAPACITY);
+    if (infoCapacity == null) infoCapacity = DEFAULT_INFO_PUBLISH_CAPACITY;
+    if (this.infoEndpoint != null && infoCapacity > 0) {
+      SzOverflowPolicy overflowPolicy
+          = (SzOverflowPolicy) options.get(INFO_PUBLISH_OVERFLOW);
+      if (overflowPolicy == null) {
+        overflowPolicy = DEFAULT_INFO_PUBLISH_OVERFLOW;
+      }
+      Integer publishThreads = (Integer) options.get(INFO_PUBLISH_THREADS);
+      if (publishThreads == null) {
+        publishThreads = DEFAULT_INFO_PUBLISH_THREADS;
+      }
+      this.infoPublisher = new AsyncPublishingEndpoint(this.infoEndpoint,
+                                                       infoCapacity,
+                                                       overflowPolicy,
+                                                       publishThreads);
+      this.infoEndpoint = this.infoPublisher;
+    }
+
+    // check if maintaining the repository statistics from the info messages
+    Boolean repositoryStats = (Boolean) options.get(REPOSITORY_STATS);
+    if (Boolean.TRUE.equals(repositoryStats)) {
+      Long snapshotPeriod
+          = (Long) options.get(REPOSITORY_STATS_SNAPSHOT_PERIOD);
+      if (snapshotPeriod == null) {
+        snapshotPeriod = DEFAULT_REPOSITORY_STATS_SNAPSHOT_PERIOD;
+      }
+      File statsFile = new File(System.getProperty("user.dir"),
+                                REPOSITORY_STATS_FILE_NAME);
+      this.repositoryStats = new RepositoryStatsEndpoint(
+          this.infoEndpoint,
+          statsFile,
+          this.getRepositoryTag(),
+          snapshotPeriod,
+          this::exportEntities);
+      this.infoEndpoint = this.repositoryStats;
+    }
+
+    // check if pushing the info messages to change feed subscribers
+    Integer feedCapacity = (Integer) options.get(CHANGE_FEED_CAPACITY);
+    if (feedCapacity == null) feedCapacity = DEFAULT_CHANGE_FEED_CAPACITY;
+    if (feedCapacity > 0) {
+      this.changeFeed = new ChangeFeedEndpoint(this.infoEndpoint, feedCapacity);
+      this.infoEndpoint = this.changeFeed;
+    }
+
     this.autoRefreshPeriod = (Long) options.get(AUTO_REFRESH_PERIOD);
     if (this.autoRefreshPeriod != null) {
       this.autoRefreshPeriod *= 1000;
@@ -2239,6 +2871,30 @@ public class SzApiServer implements SzApiProvider {
     this.echo("Created Senzing engine thread pool with " + this.concurrency
                   + " thread(s).");
 
+    // check if we are skipping unchanged records
+    Boolean skipUnchanged = (Boolean) options.get(SKIP_UNCHANGED_RECORDS);
+    if (Boolean.TRUE.equals(skipUnchanged)) {
+      File fingerprintFile = new File(System.getProperty("user.dir"),
+                                      RECORD_FINGERPRINTS_FILE_NAME);
+
+      // tag the fingerprints with the repository so that stale fingerprints
+      // from another repository are discarded
+      this.recordFingerprints = new RecordFingerprintIndex(
+          fingerprintFile, this.getRepositoryTag());
+
+      // discard the fingerprints if the repository may have been changed
+      // without the API server (e.g.: restored from a backup)
+      Boolean reset = (Boolean) options.get(RESET_RECORD_FINGERPRINTS);
+      if (Boolean.TRUE.equals(reset)) {
+        this.recordFingerprints.clear();
+        this.echo("Discarded the record fingerprints from: "
+                      + fingerprintFile);
+      }
+
+      this.echo("Skipping unchanged records using " + this.recordFingerprints.size()
+                    + " record fingerprint(s) from: " + fingerprintFile);
+    }
+
     if (this.configMgrApi != null) {
       // check if the auto refresh period is null
       if (this.autoRefreshPeriod == null) {
@@ -2272,6 +2928,54 @@ public class SzApiServer implements SzApiProvider {
       System.out.println("Engine priming deferred.");
     }
 
+    // check if processing redo records in the background
+    Integer redoThreads = (Integer) options.get(REDO_THREADS);
+    if (redoThreads != null && redoThreads > 0) {
+      if (this.readOnly) {
+        this.echo("Ignoring " + REDO_THREADS.getCommandLineFlag()
+                      + " in read-only mode.");
+      } else {
+        this.redoProcessor
+            = new RedoProcessor(this, this.engineApi, redoThreads);
+        this.echo("Processing redo records with " + redoThreads
+                      + " background thread(s).");
+      }
+    }
+
+    // check if consuming records from an ingest queue
+    Map<String, Object> ingestQueueProps = null;
+    for (String key : INGEST_QUEUE_GROUPS) {
+      if (!optionGroups.containsKey(key)) continue;
+      ingestQueueProps = optionGroups.get(key);
+      break;
+    }
+    if (ingestQueueProps != null) {
+      if (this.readOnly) {
+        this.echo("Ignoring the ingest queue options in read-only mode.");
+      } else {
+        Integer ingestConcurrency = (Integer) options.get(INGEST_CONCURRENCY);
+        if (ingestConcurrency == null) {
+          ingestConcurrency = DEFAULT_INGEST_CONCURRENCY;
+        }
+        Integer maxAttempts = (Integer) options.get(INGEST_MAX_ATTEMPTS);
+        if (maxAttempts == null) maxAttempts = DEFAULT_INGEST_MAX_ATTEMPTS;
+
+        SzMessagingEndpoint deadLetterEndpoint
+            = SzMessageSourceFactory.createDeadLetterEndpoint(ingestQueueProps);
+        SzMessageSource ingestSource = SzMessageSourceFactory.createSource(
+            ingestQueueProps, ingestConcurrency);
+
+        this.recordConsumer = new RecordConsumer(
+            ingestSource,
+            deadLetterEndpoint,
+            new RecordConsumer.EngineRecordHandler(this),
+            ingestConcurrency,
+            maxAttempts);
+        this.echo("Consuming records from " + ingestSource.getProviderType()
+                      + " with a concurrency of " + ingestConcurrency + ".");
+      }
+    }
+
     // setup a servlet context handler
     this.servletContext = new ServletContextHandler(ServletContextHandler.SESSIONS);
     this.servletContext.setContextPath(this.basePath);
@@ -2335,7 +3039,8 @@ public class SzApiServer implements SzApiProvider {
     gzipHandler.setIncludedMethods("GET", "POST", "PUT", "DELETE");
     gzipHandler.setInflateBufferSize(GZIP_INFLATE_BUFFER_SIZE);
     gzipHandler.setIncludedMimeTypes(
-        APPLICATION_JSON, TEXT_HTML, TEXT_PLAIN, TEXT_XML);
+        APPLICATION_JSON, TEXT_HTML, TEXT_PLAIN, TEXT_XML,
+        APPLICATION_JSONLINES, TEXT_CSV);
     gzipHandler.setHandler(rewriteHandler);
 
     // create our server (TODO: add connectors for HTTP + HTTPS)
@@ -2517,6 +3222,52 @@ public class SzApiServer implements SzApiProvider {
     thread.start();
   }
 
+  /**
+   * Gets the repository tag that identifies the repository by hashing its
+   * connection string from the initialization JSON so that state persisted
+   * in the working directory for another repository can be discarded.  The
+   * tag does <b>not</b> change if the repository is restored from a backup
+   * or modified by other processes, which is why the {@link
+   * SzApiServerOption#RESET_RECORD_FINGERPRINTS} option is provided.
+   *
+   * @return The repository tag.
+   */
+  protected long getRepositoryTag() {
+    JsonObject sqlSection = JsonUtils.getJsonObject(this.initJson, "SQL");
+    String connection = (sqlSection == null) ? null
+        : JsonUtils.getString(sqlSection, "CONNECTION");
+    return SzRecordFingerprints.hash((connection == null) ? "" : connection);
+  }
+
+  /**
+   * Runs a native JSON entity export including the record data of every
+   * entity, passing each exported entity to the specified handler until the
+   * export is exhausted or the handler returns <tt>false</tt>.  This is used
+   * to reconcile the {@link RepositoryStatsEndpoint}.
+   *
+   * @param handler The {@link Predicate} to handle each exported entity.
+   */
+  protected void exportEntities(Predicate<String> handler) {
+    G2Engine engine = this.getEngineApi();
+    long handle = engine.exportJSONEntityReport(
+        G2Engine.G2_EXPORT_INCLUDE_ALL_ENTITIES
+            | G2Engine.G2_ENTITY_INCLUDE_RECORD_DATA);
+    if (handle < 0L) {
+      throw new IllegalStateException(
+          formatError("G2Engine.exportJSONEntityReport()", engine));
+    }
+    try {
+      for (String line = engine.fetchNext(handle);
+           line != null && handler.test(line);
+           line = engine.fetchNext(handle))
+      {
+        // keep fetching
+      }
+    } finally {
+      engine.closeExport(handle);
+    }
+  }
+
   /**
    * Purges the repository and recreates the worker thread pool.
    *
@@ -2536,6 +3287,14 @@ public class SzApiServer implements SzApiProvider {
       this.workerThreadPool
           = new WorkerThreadPool(this.getClass().getName(), this.concurrency);
 
+      // the purged records are no longer loaded
+      if (this.recordFingerprints != null) {
+        this.recordFingerprints.clear();
+      }
+      if (this.repositoryStats != null) {
+        this.repositoryStats.clear();
+      }
+
     } finally {
       this.purgeLock.writeLock().unlock();
     }
@@ -2847,6 +3606,34 @@ public class SzApiServer implements SzApiProvider {
     // shutdown the reinitializer
     this.joinReinitializer();
 
+    // stop consuming records from the ingest queue
+    if (this.recordConsumer != null) {
+      this.recordConsumer.complete();
+    }
+
+    // stop processing redo records
+    if (this.redoProcessor != null) {
+      this.redoProcessor.complete();
+    }
+
+    // publish any queued info messages and close the info endpoint
+    if (this.infoEndpoint != null) {
+      try {
+        this.infoEndpoint.close();
+      } catch (Exception e) {
+        e.printStackTrace();
+      }
+    }
+
+    // close the record fingerprints
+    if (this.recordFingerprints != null) {
+      try {
+        this.recordFingerprints.close();
+      } catch (Exception e) {
+        e.printStackTrace();
+      }
+    }
+
     // uninitialize
     synchronized (SzApiServer.class) {
       if (SzApiServer.INSTANCE == this) {
@@ -2886,6 +3673,7 @@ public class SzApiServer implements SzApiProvider {
     throws E
   {
     this.purgeLock.readLock().lock();
+    this.pendingTaskCount.incrementAndGet();
     try {
       return this.workerThreadPool.execute(task);
 
@@ -2901,6 +3689,7 @@ public class SzApiServer implements SzApiProvider {
       throw e;
 
     } finally {
+      this.pendingTaskCount.decrementAndGet();
       this.purgeLock.readLock().unlock();
     }
   }
@@ -1,5 +1,7 @@
 package com.senzing.api.server;
 
+import com.senzing.api.model.SzOverflowPolicy;
+
 import java.util.Set;
 
 /**
@@ -83,6 +85,160 @@ public final class SzApiServerConstants {
   static final String DEFAULT_STATS_INTERVAL_PARAM
       = String.valueOf(DEFAULT_STATS_INTERVAL);
 
+  /**
+   * The default maximum number of times a bulk-loaded record that fails with
+   * a transient engine error is retried.  The default value is {@value} so
+   * that the retries, which may complete after later records in the same
+   * load, are only made if explicitly enabled.
+   */
+  public static final int DEFAULT_LOAD_MAX_RETRIES = 0;
+
+  /**
+   * The default maximum number of load retries as a string.
+   */
+  static final String DEFAULT_LOAD_MAX_RETRIES_PARAM
+      = String.valueOf(DEFAULT_LOAD_MAX_RETRIES);
+
+  /**
+   * The default maximum number of entity exports that may run concurrently.
+   * The default value is {@value}.
+   */
+  public static final int DEFAULT_EXPORT_CONCURRENCY = 1;
+
+  /**
+   * The default maximum number of concurrent entity exports as a string.
+   */
+  static final String DEFAULT_EXPORT_CONCURRENCY_PARAM
+      = String.valueOf(DEFAULT_EXPORT_CONCURRENCY);
+
+  /**
+   * The default maximum number of info messages that may be waiting in the
+   * in-process publish queue.  The default value is {@value} so that info
+   * messages are published synchronously unless asynchronous publishing is
+   * explicitly enabled.
+   */
+  public static final int DEFAULT_INFO_PUBLISH_CAPACITY = 0;
+
+  /**
+   * The default info publish queue capacity as a string.
+   */
+  static final String DEFAULT_INFO_PUBLISH_CAPACITY_PARAM
+      = String.valueOf(DEFAULT_INFO_PUBLISH_CAPACITY);
+
+  /**
+   * The default number of threads that publish the queued info messages.
+   * The default value is {@value}.
+   */
+  public static final int DEFAULT_INFO_PUBLISH_THREADS = 2;
+
+  /**
+   * The default number of info publisher threads as a string.
+   */
+  static final String DEFAULT_INFO_PUBLISH_THREADS_PARAM
+      = String.valueOf(DEFAULT_INFO_PUBLISH_THREADS);
+
+  /**
+   * The default policy for handling info messages when the in-process publish
+   * queue is full.
+   */
+  public static final SzOverflowPolicy DEFAULT_INFO_PUBLISH_OVERFLOW
+      = SzOverflowPolicy.BLOCK;
+
+  /**
+   * The default info publish overflow policy as a string.
+   */
+  static final String DEFAULT_INFO_PUBLISH_OVERFLOW_PARAM
+      = DEFAULT_INFO_PUBLISH_OVERFLOW.toString();
+
+  /**
+   * The default number of megabytes in each segment file of the info spool.
+   * The default value is {@value}.
+   */
+  public static final int DEFAULT_INFO_SPOOL_SEGMENT_SIZE = 64;
+
+  /**
+   * The default info spool segment size as a string.
+   */
+  static final String DEFAULT_INFO_SPOOL_SEGMENT_SIZE_PARAM
+      = String.valueOf(DEFAULT_INFO_SPOOL_SEGMENT_SIZE);
+
+  /**
+   * The default maximum number of info messages packed into a single
+   * aggregate info message.  The default value is {@value}, which disables
+   * aggregation.
+   */
+  public static final int DEFAULT_INFO_AGGREGATE_COUNT = 0;
+
+  /**
+   * The default info aggregate count as a string.
+   */
+  static final String DEFAULT_INFO_AGGREGATE_COUNT_PARAM
+      = String.valueOf(DEFAULT_INFO_AGGREGATE_COUNT);
+
+  /**
+   * The default maximum number of milliseconds that an info message waits
+   * for more info messages to join its aggregate info message.  The default
+   * value is {@value}.
+   */
+  public static final long DEFAULT_INFO_AGGREGATE_WINDOW = 100L;
+
+  /**
+   * The default info aggregate window as a string.
+   */
+  static final String DEFAULT_INFO_AGGREGATE_WINDOW_PARAM
+      = String.valueOf(DEFAULT_INFO_AGGREGATE_WINDOW);
+
+  /**
+   * The default number of info messages retained by the change feed for
+   * its subscribers.  The default value is {@value}, which disables the
+   * change feed.
+   */
+  public static final int DEFAULT_CHANGE_FEED_CAPACITY = 0;
+
+  /**
+   * The default change feed capacity as a string.
+   */
+  static final String DEFAULT_CHANGE_FEED_CAPACITY_PARAM
+      = String.valueOf(DEFAULT_CHANGE_FEED_CAPACITY);
+
+  /**
+   * The default number of milliseconds between writing the repository
+   * statistics to their snapshot file.  The default is every five minutes.
+   */
+  public static final long DEFAULT_REPOSITORY_STATS_SNAPSHOT_PERIOD
+      = 1000L * 60L * 5L;
+
+  /**
+   * The default repository stats snapshot period as a string.
+   */
+  static final String DEFAULT_REPOSITORY_STATS_SNAPSHOT_PERIOD_PARAM
+      = String.valueOf(DEFAULT_REPOSITORY_STATS_SNAPSHOT_PERIOD);
+
+  /**
+   * The default maximum number of record messages from the ingest queue that
+   * are processed concurrently.  The default value is {@value}.
+   */
+  public static final int DEFAULT_INGEST_CONCURRENCY = 4;
+
+  /**
+   * The default ingest concurrency as a string.
+   */
+  static final String DEFAULT_INGEST_CONCURRENCY_PARAM
+      = String.valueOf(DEFAULT_INGEST_CONCURRENCY);
+
+  /**
+   * The default maximum number of attempts to process a record message from
+   * the ingest queue before it is routed to the dead-letter destination.  The
+   * default value is {@value}.
+   */
+  public static final int DEFAULT_INGEST_MAX_ATTEMPTS = 3;
+
+  /**
+   * The default maximum ingest attempts as a string.
+   */
+  static final String DEFAULT_INGEST_MAX_ATTEMPTS_PARAM
+      = String.valueOf(DEFAULT_INGEST_MAX_ATTEMPTS);
+
   /**
    * The number of milliseconds to wait in between checking for changes in the
    * configuration and automatically refreshing the configuration.
@@ -100,6 +256,22 @@ public final class SzApiServerConstants {
   static final String DEFAULT_CONFIG_REFRESH_PERIOD_PARAM
       = String.valueOf(DEFAULT_CONFIG_REFRESH_PERIOD);
 
+  /**
+   * The name of the file in the working directory of the API Server in which
+   * the record fingerprints are persisted when skipping unchanged records is
+   * enabled ({@value}).
+   */
+  public static final String RECORD_FINGERPRINTS_FILE_NAME
+      = "senzing-record-fingerprints.dat";
+
+  /**
+   * The name of the file in the working directory of the API Server to which
+   * the repository statistics are persisted when they are enabled
+   * ({@value}).
+   */
+  public static final String REPOSITORY_STATS_FILE_NAME
+      = "senzing-repository-stats.dat";
+
   /**
    * The {@link SzApiServerOption} group for the RabbitMQ info queue options.
    */
@@ -115,11 +287,41 @@ public final class SzApiServerConstants {
    */
   static final String SQS_INFO_QUEUE_GROUP = "sqs-info";
 
+  /**
+   * The {@link SzApiServerOption} group for the local file info options.
+   */
+  static final String FILE_INFO_QUEUE_GROUP = "file-info";
+
   /***
    * The <b>unmodifiable</b> {@link Set} of group names for info queue groups.
    */
   static final Set<String> INFO_QUEUE_GROUPS = Set.of(
-      RABBITMQ_INFO_QUEUE_GROUP, KAFKA_INFO_QUEUE_GROUP, SQS_INFO_QUEUE_GROUP);
+      RABBITMQ_INFO_QUEUE_GROUP, KAFKA_INFO_QUEUE_GROUP, SQS_INFO_QUEUE_GROUP,
+      FILE_INFO_QUEUE_GROUP);
+
+  /**
+   * The {@link SzApiServerOption} group for the RabbitMQ ingest queue options.
+   */
+  static final String RABBITMQ_INGEST_QUEUE_GROUP = "rabbitmq-ingest";
+
+  /**
+   * The {@link SzApiServerOption} group for the Kafka ingest queue options.
+   */
+  static final String KAFKA_INGEST_QUEUE_GROUP = "kafka-ingest";
+
+  /**
+   * The {@link SzApiServerOption} group for the SQS ingest queue options.
+   */
+  static final String SQS_INGEST_QUEUE_GROUP = "sqs-ingest";
+
+  /***
+   * The <b>unmodifiable</b> {@link Set} of group names for ingest queue
+   * groups.
+   */
+  static final Set<String> INGEST_QUEUE_GROUPS = Set.of(
+      RABBITMQ_INGEST_QUEUE_GROUP,
+      KAFKA_INGEST_QUEUE_GROUP,
+      SQS_INGEST_QUEUE_GROUP);
 
   /**
    * The prefix for environment variables used that are specific to the
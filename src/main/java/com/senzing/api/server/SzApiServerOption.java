@@ -1,5 +1,10 @@
 package com.senzing.api.server;
 
+import com.senzing.api.model.SzOverflowPolicy;
+import com.senzing.api.server.mq.FileEndpoint;
+import com.senzing.api.server.mq.KafkaSource;
+import com.senzing.api.server.mq.RabbitSource;
+import com.senzing.api.server.mq.SqsSource;
 import com.senzing.cmdline.CommandLineOption;
 import com.senzing.cmdline.ParameterProcessor;
 import com.senzing.util.JsonUtils;
@@ -510,6 +515,125 @@ public enum SzApiServerOption
               ENV_PREFIX + "CONCURRENCY", null,
               1, DEFAULT_CONCURRENCY_PARAM),
 
+  /**
+   * <p>
+   * This option sets the minimum number of records that a bulk load may have
+   * in flight.  The single parameter to this option should be a positive
+   * integer.  If specified and less than the {@linkplain #CONCURRENCY
+   * concurrency} then each bulk load adapts the number of records it has in
+   * flight between this minimum and the concurrency according to the latency
+   * and failure rate of the records being loaded.  If not specified, then
+   * each bulk load always has as many records in flight as the concurrency.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--min-load-concurrency {record-count}</code></li>
+   *   <li>Command Line: <code>-minLoadConcurrency {record-count}</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_MIN_LOAD_CONCURRENCY="{record-count}"</code></li>
+   * </ul>
+   * </p>
+   */
+  MIN_LOAD_CONCURRENCY("--min-load-concurrency",
+                       Set.of("-minLoadConcurrency"),
+                       ENV_PREFIX + "MIN_LOAD_CONCURRENCY", null,
+                       1),
+
+  /**
+   * <p>
+   * This option sets the comma-separated JSON property names whose values
+   * form the affinity key of each bulk-loaded record (e.g.:
+   * <code>RECORD_ID</code> or <code>NAME_FULL,DATE_OF_BIRTH</code> or
+   * <code>PHONE_NUMBER</code>).  If specified, then each bulk load hashes the
+   * normalized affinity key of each record to choose the worker queue for
+   * the record so that records likely to resolve to the same entities are
+   * loaded one after the other rather than concurrently.  If not specified,
+   * then records are loaded by whichever worker is free.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--load-affinity-key {property-name}[,{property-name}]*</code></li>
+   *   <li>Command Line: <code>-loadAffinityKey {property-name}[,{property-name}]*</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_LOAD_AFFINITY_KEY="{property-name}[,{property-name}]*"</code></li>
+   * </ul>
+   * </p>
+   */
+  LOAD_AFFINITY_KEY("--load-affinity-key", Set.of("-loadAffinityKey"),
+                    ENV_PREFIX + "LOAD_AFFINITY_KEY", null,
+                    1),
+
+  /**
+   * <p>
+   * The presence of this option causes each bulk load to alternate between
+   * blocks of records loaded with and without the {@linkplain
+   * #LOAD_AFFINITY_KEY affinity key} and to report the throughput and the
+   * lock-wait statistics from the engine for each.  A single parameter may
+   * optionally be specified as <code>true</code> or <code>false</code> with
+   * <code>false</code> simulating the absence of the option.  This option
+   * requires the {@link #LOAD_AFFINITY_KEY} option.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--load-affinity-benchmark [true|false]</code></li>
+   *   <li>Command Line: <code>-loadAffinityBenchmark [true|false]</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_LOAD_AFFINITY_BENCHMARK="{true|false}"</code></li>
+   * </ul>
+   * </p>
+   */
+  LOAD_AFFINITY_BENCHMARK("--load-affinity-benchmark",
+                          Set.of("-loadAffinityBenchmark"),
+                          ENV_PREFIX + "LOAD_AFFINITY_BENCHMARK", null,
+                          0, "false"),
+
+  /**
+   * <p>
+   * This option sets the maximum number of times a bulk-loaded record that
+   * fails with a transient engine error (e.g.: a database deadlock or a lost
+   * database connection) is retried with jittered exponential backoff before
+   * it is counted as failed.  The single parameter to this option should be
+   * a non-negative integer.  If not specified, then this defaults to {@link
+   * SzApiServerConstants#DEFAULT_LOAD_MAX_RETRIES}, which disables the
+   * retries.  A pending retry of a record is dropped if a later version of
+   * the same record is loaded before the retry is attempted.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--load-max-retries {retry-count}</code></li>
+   *   <li>Command Line: <code>-loadMaxRetries {retry-count}</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_LOAD_MAX_RETRIES="{retry-count}"</code></li>
+   * </ul>
+   * </p>
+   */
+  LOAD_MAX_RETRIES("--load-max-retries", Set.of("-loadMaxRetries"),
+                   ENV_PREFIX + "LOAD_MAX_RETRIES", null,
+                   1, DEFAULT_LOAD_MAX_RETRIES_PARAM),
+
+  /**
+   * <p>
+   * This option sets the maximum number of entity exports that may run
+   * concurrently.  Each export drives the native export handle on its own
+   * dedicated thread rather than on the engine thread pool so that it does
+   * not starve interactive requests, and exports requested beyond this limit
+   * are rejected as unavailable.  The single parameter to this option should
+   * be a positive integer.  If not specified, then this defaults to {@link
+   * SzApiServerConstants#DEFAULT_EXPORT_CONCURRENCY}.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--export-concurrency {export-count}</code></li>
+   *   <li>Command Line: <code>-exportConcurrency {export-count}</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_EXPORT_CONCURRENCY="{export-count}"</code></li>
+   * </ul>
+   * </p>
+   */
+  EXPORT_CONCURRENCY("--export-concurrency", Set.of("-exportConcurrency"),
+                     ENV_PREFIX + "EXPORT_CONCURRENCY", null,
+                     1, DEFAULT_EXPORT_CONCURRENCY_PARAM),
+
   /**
    * <p>
    * This option sets the maximum number of threads available for the HTTP
@@ -641,6 +765,355 @@ public enum SzApiServerOption
                       ENV_PREFIX + "SKIP_ENGINE_PRIMING", null,
                       0, "false"),
 
+  /**
+   * <p>
+   * The presence of this option causes the API Server to maintain a persistent
+   * index of record fingerprints in its working directory (see {@link
+   * SzApiServerConstants#RECORD_FINGERPRINTS_FILE_NAME}) and to skip loading
+   * records that are unchanged since they were last loaded.  A single parameter
+   * may optionally be specified as <code>true</code> or <code>false</code> with
+   * <code>false</code> simulating the absence of the option.
+   * </p>
+   * <p>
+   * <b>NOTE:</b> The fingerprints are tagged with the database connection of
+   * the repository and are cleared when the repository is purged via the API
+   * Server, but they cannot detect a repository that was restored from a
+   * backup or records that were deleted or modified by other processes.  In
+   * that case stale fingerprints would cause changed records to be skipped,
+   * so specify the {@link #RESET_RECORD_FINGERPRINTS} option (or delete the
+   * fingerprint file) when starting the API Server.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--skip-unchanged-records [true|false]</code></li>
+   *   <li>Command Line: <code>-skipUnchangedRecords [true|false]</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_SKIP_UNCHANGED_RECORDS="{true|false}"</code></li>
+   * </ul>
+   * </p>
+   */
+  SKIP_UNCHANGED_RECORDS("--skip-unchanged-records",
+                         Set.of("-skipUnchangedRecords"),
+                         ENV_PREFIX + "SKIP_UNCHANGED_RECORDS", null,
+                         0, "false"),
+
+  /**
+   * <p>
+   * The presence of this option causes the API Server to discard the record
+   * fingerprints that were persisted by the {@link #SKIP_UNCHANGED_RECORDS}
+   * option when it starts, so that every record is loaded again.  This should
+   * be specified whenever the repository may have changed without the API
+   * Server (e.g.: it was restored from a backup).  A single parameter may
+   * optionally be specified as <code>true</code> or <code>false</code> with
+   * <code>false</code> simulating the absence of the option.  This option
+   * requires the {@link #SKIP_UNCHANGED_RECORDS} option.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--reset-record-fingerprints [true|false]</code></li>
+   *   <li>Command Line: <code>-resetRecordFingerprints [true|false]</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_RESET_RECORD_FINGERPRINTS="{true|false}"</code></li>
+   * </ul>
+   * </p>
+   */
+  RESET_RECORD_FINGERPRINTS("--reset-record-fingerprints",
+                            Set.of("-resetRecordFingerprints"),
+                            ENV_PREFIX + "RESET_RECORD_FINGERPRINTS", null,
+                            0, "false"),
+
+  /**
+   * <p>
+   * This option sets the number of background threads that process the redo
+   * records in the repository while the API server is running.  The single
+   * parameter to this option should be a non-negative integer.  If not
+   * specified, then this defaults to zero (0) and redo records are not
+   * processed by the API server.  The redo threads yield to the threads
+   * handling requests.  This option is ignored in read-only mode.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--redo-threads {thread-count}</code></li>
+   *   <li>Command Line: <code>-redoThreads {thread-count}</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_REDO_THREADS="{thread-count}"</code></li>
+   * </ul>
+   * </p>
+   */
+  REDO_THREADS("--redo-threads", Set.of("-redoThreads"),
+               ENV_PREFIX + "REDO_THREADS", null,
+               1, "0"),
+
+  /**
+   * <p>
+   * This option sets the maximum number of info messages that may be waiting
+   * in the in-process queue from which they are published to the configured
+   * info queue by dedicated publisher threads.  This decouples the threads
+   * loading records from the latency of the info queue.  The single parameter
+   * to this option should be a non-negative integer.  If zero (0) then info
+   * messages are published synchronously by the threads loading the records.
+   * If not specified, then this defaults to {@link
+   * SzApiServerConstants#DEFAULT_INFO_PUBLISH_CAPACITY}.  This option is
+   * ignored if no info queue is configured.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--info-publish-capacity {message-count}</code></li>
+   *   <li>Command Line: <code>-infoPublishCapacity {message-count}</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_INFO_PUBLISH_CAPACITY="{message-count}"</code></li>
+   * </ul>
+   * </p>
+   */
+  INFO_PUBLISH_CAPACITY("--info-publish-capacity",
+                        Set.of("-infoPublishCapacity"),
+                        ENV_PREFIX + "INFO_PUBLISH_CAPACITY", null,
+                        1, DEFAULT_INFO_PUBLISH_CAPACITY_PARAM),
+
+  /**
+   * <p>
+   * This option sets how an info message is handled when the in-process info
+   * publish queue is full.  The single parameter to this option should be one
+   * of <code>BLOCK</code> (wait for room in the queue),
+   * <code>DROP_OLDEST</code> (discard the oldest queued message) or
+   * <code>SPILL</code> (spill the message to disk).  If not specified, then
+   * this defaults to {@link
+   * SzApiServerConstants#DEFAULT_INFO_PUBLISH_OVERFLOW}.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--info-publish-overflow {policy}</code></li>
+   *   <li>Command Line: <code>-infoPublishOverflow {policy}</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_INFO_PUBLISH_OVERFLOW="{policy}"</code></li>
+   * </ul>
+   * </p>
+   */
+  INFO_PUBLISH_OVERFLOW("--info-publish-overflow",
+                        Set.of("-infoPublishOverflow"),
+                        ENV_PREFIX + "INFO_PUBLISH_OVERFLOW", null,
+                        1, DEFAULT_INFO_PUBLISH_OVERFLOW_PARAM),
+
+  /**
+   * <p>
+   * This option sets the number of threads that take batches of info
+   * messages from the in-process info publish queue and publish them to the
+   * configured info queue.  Each thread has its own share of the queue
+   * capacity and the info messages are partitioned among the threads by
+   * record so the messages for the same record are published in order.  The
+   * single parameter to this option should be a positive integer.  If not
+   * specified, then this defaults to {@link
+   * SzApiServerConstants#DEFAULT_INFO_PUBLISH_THREADS}.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--info-publish-threads {thread-count}</code></li>
+   *   <li>Command Line: <code>-infoPublishThreads {thread-count}</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_INFO_PUBLISH_THREADS="{thread-count}"</code></li>
+   * </ul>
+   * </p>
+   */
+  INFO_PUBLISH_THREADS("--info-publish-threads",
+                       Set.of("-infoPublishThreads"),
+                       ENV_PREFIX + "INFO_PUBLISH_THREADS", null,
+                       1, DEFAULT_INFO_PUBLISH_THREADS_PARAM),
+
+  /**
+   * <p>
+   * This option sets the directory of a durable local spool to which every
+   * info message is written before a dedicated thread forwards it to the
+   * configured info queue.  Info messages that cannot be forwarded remain in
+   * the spool and are retried (including after a restart) so they are
+   * delivered at least once.  The single parameter to this option is the
+   * path to the spool directory, which is created if it does not exist.  If
+   * not specified, then info messages are not spooled.  This option is
+   * ignored if no info queue is configured.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--info-spool-dir {directory-path}</code></li>
+   *   <li>Command Line: <code>-infoSpoolDir {directory-path}</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_INFO_SPOOL_DIR="{directory-path}"</code></li>
+   * </ul>
+   * </p>
+   */
+  INFO_SPOOL_DIR("--info-spool-dir", Set.of("-infoSpoolDir"),
+                 ENV_PREFIX + "INFO_SPOOL_DIR", null, 1),
+
+  /**
+   * <p>
+   * This option sets the number of megabytes in each segment file of the
+   * info spool.  The single parameter to this option should be a positive
+   * integer less than 2048.  If not specified, then this defaults to {@link
+   * SzApiServerConstants#DEFAULT_INFO_SPOOL_SEGMENT_SIZE}.  This option is
+   * ignored if the {@link #INFO_SPOOL_DIR} option is not specified.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--info-spool-segment-size {megabytes}</code></li>
+   *   <li>Command Line: <code>-infoSpoolSegmentSize {megabytes}</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_INFO_SPOOL_SEGMENT_SIZE="{megabytes}"</code></li>
+   * </ul>
+   * </p>
+   */
+  INFO_SPOOL_SEGMENT_SIZE("--info-spool-segment-size",
+                          Set.of("-infoSpoolSegmentSize"),
+                          ENV_PREFIX + "INFO_SPOOL_SEGMENT_SIZE", null,
+                          1, DEFAULT_INFO_SPOOL_SEGMENT_SIZE_PARAM),
+
+  /**
+   * <p>
+   * This option sets the maximum number of info messages that are packed
+   * into a single aggregate info message before it is sent to the configured
+   * info queue.  The affected entities of the packed info messages are merged
+   * with duplicates removed.  The single parameter to this option should be
+   * zero (0) to disable aggregation or an integer of at least two (2).  If
+   * not specified, then this defaults to {@link
+   * SzApiServerConstants#DEFAULT_INFO_AGGREGATE_COUNT}.  This option is
+   * ignored if no info queue is configured.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--info-aggregate-count {count}</code></li>
+   *   <li>Command Line: <code>-infoAggregateCount {count}</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_INFO_AGGREGATE_COUNT="{count}"</code></li>
+   * </ul>
+   * </p>
+   */
+  INFO_AGGREGATE_COUNT("--info-aggregate-count",
+                       Set.of("-infoAggregateCount"),
+                       ENV_PREFIX + "INFO_AGGREGATE_COUNT", null,
+                       1, DEFAULT_INFO_AGGREGATE_COUNT_PARAM),
+
+  /**
+   * <p>
+   * This option sets the maximum number of milliseconds that an info message
+   * waits for more info messages to join its aggregate info message.  The
+   * single parameter to this option should be a positive integer.  If not
+   * specified, then this defaults to {@link
+   * SzApiServerConstants#DEFAULT_INFO_AGGREGATE_WINDOW}.  This option is
+   * ignored if the {@link #INFO_AGGREGATE_COUNT} option does not enable
+   * aggregation.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--info-aggregate-window {milliseconds}</code></li>
+   *   <li>Command Line: <code>-infoAggregateWindow {milliseconds}</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_INFO_AGGREGATE_WINDOW="{milliseconds}"</code></li>
+   * </ul>
+   * </p>
+   */
+  INFO_AGGREGATE_WINDOW("--info-aggregate-window",
+                        Set.of("-infoAggregateWindow"),
+                        ENV_PREFIX + "INFO_AGGREGATE_WINDOW", null,
+                        1, DEFAULT_INFO_AGGREGATE_WINDOW_PARAM),
+
+  /**
+   * <p>
+   * The presence of this option causes the body of each aggregate info
+   * message to be gzip-compressed and then Base64-encoded.  A single parameter
+   * may optionally be specified as <code>true</code> or <code>false</code>
+   * with <code>false</code> simulating the absence of the option.  This
+   * option is ignored if the {@link #INFO_AGGREGATE_COUNT} option does not
+   * enable aggregation.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--info-aggregate-gzip [true|false]</code></li>
+   *   <li>Command Line: <code>-infoAggregateGzip [true|false]</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_INFO_AGGREGATE_GZIP="{true|false}"</code></li>
+   * </ul>
+   * </p>
+   */
+  INFO_AGGREGATE_GZIP("--info-aggregate-gzip",
+                      Set.of("-infoAggregateGzip"),
+                      ENV_PREFIX + "INFO_AGGREGATE_GZIP", null,
+                      0, "false"),
+
+  /**
+   * <p>
+   * This option enables the change feed at <tt>GET /changes</tt> (via SSE or
+   * Web Sockets) that pushes every info message to its subscribers and sets
+   * the number of info messages the feed retains for subscribers that fall
+   * behind or reconnect.  Subscribers that fall further behind than this are
+   * evicted.  Enabling the change feed causes info messages to be produced
+   * even if no info queue is configured.  The single parameter to this
+   * option should be zero (0) to disable the change feed or a positive
+   * integer.  If not specified, then this defaults to {@link
+   * SzApiServerConstants#DEFAULT_CHANGE_FEED_CAPACITY}.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--change-feed-capacity {count}</code></li>
+   *   <li>Command Line: <code>-changeFeedCapacity {count}</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_CHANGE_FEED_CAPACITY="{count}"</code></li>
+   * </ul>
+   * </p>
+   */
+  CHANGE_FEED_CAPACITY("--change-feed-capacity",
+                       Set.of("-changeFeedCapacity"),
+                       ENV_PREFIX + "CHANGE_FEED_CAPACITY", null,
+                       1, DEFAULT_CHANGE_FEED_CAPACITY_PARAM),
+
+  /**
+   * <p>
+   * The presence of this option causes the API Server to maintain the
+   * repository statistics at <tt>GET /repository-stats</tt> incrementally
+   * from the info messages and to persist them to a snapshot file in its
+   * working directory (see {@link
+   * SzApiServerConstants#REPOSITORY_STATS_FILE_NAME}).  Enabling the
+   * repository statistics causes info messages to be produced even if no
+   * info queue is configured.  A single parameter may optionally be specified
+   * as <code>true</code> or <code>false</code> with <code>false</code>
+   * simulating the absence of the option.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--repository-stats [true|false]</code></li>
+   *   <li>Command Line: <code>-repositoryStats [true|false]</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_REPOSITORY_STATS="{true|false}"</code></li>
+   * </ul>
+   * </p>
+   */
+  REPOSITORY_STATS("--repository-stats",
+                   Set.of("-repositoryStats"),
+                   ENV_PREFIX + "REPOSITORY_STATS", null,
+                   0, "false"),
+
+  /**
+   * <p>
+   * This option sets the number of milliseconds between writing the
+   * repository statistics to their snapshot file, which is only done if they
+   * have changed.  The single parameter to this option should be a
+   * non-negative integer.  If zero (0) then the snapshot file is only written
+   * when the API Server shuts down.  If not specified, then this defaults to
+   * {@link SzApiServerConstants#DEFAULT_REPOSITORY_STATS_SNAPSHOT_PERIOD}.
+   * This option is ignored if the {@link #REPOSITORY_STATS} option is not
+   * specified.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--repository-stats-snapshot-period {milliseconds}</code></li>
+   *   <li>Command Line: <code>-repositoryStatsSnapshotPeriod {milliseconds}</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_REPOSITORY_STATS_SNAPSHOT_PERIOD="{milliseconds}"</code></li>
+   * </ul>
+   * </p>
+   */
+  REPOSITORY_STATS_SNAPSHOT_PERIOD(
+      "--repository-stats-snapshot-period",
+      Set.of("-repositoryStatsSnapshotPeriod"),
+      ENV_PREFIX + "REPOSITORY_STATS_SNAPSHOT_PERIOD", null,
+      1, DEFAULT_REPOSITORY_STATS_SNAPSHOT_PERIOD_PARAM),
+
   /**
    * <p>
    * This option is used to specify the URL to an Amazon SQS queue to be used
@@ -662,6 +1135,31 @@ public enum SzApiServerOption
       "SENZING_SQS_INFO_QUEUE_URL", null, 1,
       SQS_INFO_QUEUE_GROUP, URL_PROPERTY_KEY, false),
 
+  /**
+   * <p>
+   * This option is used to specify a <code>file:</code> URL for a local
+   * directory to which info messages are written as newline-delimited JSON
+   * rather than sent to a message queue.  The single parameter to this option
+   * is the URL, which may have the optional query parameters
+   * <code>rotateBytes</code>, <code>rotateSeconds</code>, <code>gzip</code>
+   * and <code>fsync</code> (see {@link FileEndpoint}).  If this option is
+   * specified then the info queue parameters for SQS, RabbitMQ and Kafka are
+   * not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--file-info-url {url}</code></li>
+   *   <li>Command Line: <code>-fileInfoUrl {url}</code></li>
+   *   <li>Environment: <code>SENZING_FILE_INFO_URL="{url}"</code></li>
+   * </ul>
+   * </p>
+   */
+  FILE_INFO_URL(
+      "--file-info-url", Set.of("-fileInfoUrl"),
+      "SENZING_FILE_INFO_URL", null, 1,
+      FILE_INFO_QUEUE_GROUP, FileEndpoint.URL_PROPERTY_KEY, false),
+
   /**
    * <p>
    * This option is used to specify the user name for connecting to RabbitMQ as
@@ -760,147 +1258,685 @@ public enum SzApiServerOption
 
   /**
    * <p>
-   * This option is used to specify the virtual host for connecting to RabbitMQ
-   * as part of specifying a RabbitMQ info queue.  The single parameter to this
-   * option is a virtual host name.  If this option is specified then the other
-   * options required for a RabbitMQ info queue are required and the info queue
-   * parameters pertaining to SQS and Kafka are not allowed.
+   * This option is used to specify the virtual host for connecting to RabbitMQ
+   * as part of specifying a RabbitMQ info queue.  The single parameter to this
+   * option is a virtual host name.  If this option is specified then the other
+   * options required for a RabbitMQ info queue are required and the info queue
+   * parameters pertaining to SQS and Kafka are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--rabbit-info-virtual-host {virtual-host}</code></li>
+   *   <li>Command Line: <code>-rabbitInfoVirtualHost {virtual-host}</code></li>
+   *   <li>Environment: <code>SENZING_RABBITMQ_INFO_VIRTUAL_HOST="{virtual-host}"</code></li>
+   *   <li>Environment: <code>SENZING_RABBITMQ_VIRTUAL_HOST="{virtual-host}" (fallback)</code></li>
+   * </ul>
+   * </p>
+   */
+  RABBIT_INFO_VIRTUAL_HOST(
+      "--rabbit-info-virtual-host", Set.of("-rabbitInfoVirtualHost"),
+      "SENZING_RABBITMQ_INFO_VIRTUAL_HOST",
+      List.of("SENZING_RABBITMQ_VIRTUAL_HOST"), 1,
+      RABBITMQ_INFO_QUEUE_GROUP, VIRTUAL_HOST_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the exchange for connecting to RabbitMQ
+   * as part of specifying a RabbitMQ info queue.  The single parameter to this
+   * option is an exchange name.  If this option is specified then the other
+   * options required for a RabbitMQ info queue are required and the info queue
+   * parameters pertaining to SQS and Kafka are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--rabbit-info-exchange {exchange}</code></li>
+   *   <li>Command Line: <code>-rabbitInfoExchange {exchange}</code></li>
+   *   <li>Environment: <code>SENZING_RABBITMQ_INFO_EXCHANGE="{exchange}"</code></li>
+   *   <li>Environment: <code>SENZING_RABBITMQ_EXCHANGE="{exchange}" (fallback)</code></li>
+   * </ul>
+   * </p>
+   */
+  RABBIT_INFO_EXCHANGE(
+      "--rabbit-info-exchange", Set.of("-rabbitInfoExchange"),
+      "SENZING_RABBITMQ_INFO_EXCHANGE",
+      List.of("SENZING_RABBITMQ_EXCHANGE"), 1,
+      RABBITMQ_INFO_QUEUE_GROUP, EXCHANGE_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the routing key for connecting to RabbitMQ
+   * as part of specifying a RabbitMQ info queue.  The single parameter to this
+   * option is a routing key.  If this option is specified then the other
+   * options required for a RabbitMQ info queue are required and the info queue
+   * parameters pertaining to SQS and Kafka are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--rabbit-info-routing-key {routing-key}</code></li>
+   *   <li>Command Line: <code>-rabbitInfoRoutingKey {routing-key}</code></li>
+   *   <li>Environment: <code>SENZING_RABBITMQ_INFO_ROUTING_KEY="{routing-key}"</code></li>
+   * </ul>
+   * </p>
+   */
+  RABBIT_INFO_ROUTING_KEY(
+      "--rabbit-info-routing-key", Set.of("-rabbitInfoRoutingKey"),
+      "SENZING_RABBITMQ_INFO_ROUTING_KEY",
+      null, 1,
+      RABBITMQ_INFO_QUEUE_GROUP, ROUTING_KEY_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the bootstrap servers for connecting to
+   * Kafka as part of specifying a Kafka info topic.  The single parameter to
+   * this option is the Kafka bootstrap servers specification (typically a
+   * hostname or IP address and port number separated by a colon).  If this
+   * option is specified then the {@link #KAFKA_INFO_TOPIC} option is required
+   * and the info queue parameters pertaining to RabbitMQ and SQS are not
+   * allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--kafka-info-bootstrap-servers {bootstrap-servers}</code></li>
+   *   <li>Command Line: <code>-kafkaInfoBootstrapServers {bootstrap-servers}</code></li>
+   *   <li>Environment: <code>SENZING_KAFKA_INFO_BOOTSTRAP_SERVER="{bootstrap-servers}"</code></li>
+   *   <li>Environment: <code>SENZING_KAFKA_BOOTSTRAP_SERVER="{bootstrap-servers}" (fallback)</code></li>
+   * </ul>
+   * </p>
+   */
+  KAFKA_INFO_BOOTSTRAP_SERVER(
+      "--kafka-info-bootstrap-server", Set.of("-kafkaInfoBootstrapServer"),
+      "SENZING_KAFKA_INFO_BOOTSTRAP_SERVER",
+      List.of("SENZING_KAFKA_BOOTSTRAP_SERVER"), 1,
+      KAFKA_INFO_QUEUE_GROUP, BOOTSTRAP_SERVERS_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the <b>optional</b> group ID to set when
+   * connecting to Kafka as part of specifying a Kafka info topic.  The single
+   * parameter to this option is the Kafka group ID.  If this option is
+   * specified then the {@link #KAFKA_INFO_BOOTSTRAP_SERVER} and {@link
+   * #KAFKA_INFO_TOPIC} options are required and the info queue parameters
+   * pertaining to RabbitMQ and SQS are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--kafka-info-group {group-id}</code></li>
+   *   <li>Command Line: <code>-kafkaInfoGroup {group-id}</code></li>
+   *   <li>Environment: <code>SENZING_KAFKA_INFO_GROUP="{group-id}"</code></li>
+   *   <li>Environment: <code>SENZING_KAFKA_GROUP="{group-id}" (fallback)</code></li>
+   * </ul>
+   * </p>
+   */
+  KAFKA_INFO_GROUP(
+      "--kafka-info-group", Set.of("-kafkaInfoGroup"),
+      "SENZING_KAFKA_INFO_GROUP",
+      List.of("SENZING_KAFKA_GROUP"), 1, KAFKA_INFO_QUEUE_GROUP,
+      GROUP_ID_PROPERTY_KEY, true),
+
+  /**
+   * <p>
+   * This option is used to specify the topic when connecting to Kafka as part
+   * of specifying a Kafka info topic.  The single parameter to this option is
+   * the Kafka topic.  If this option is specified then the {@link
+   * #KAFKA_INFO_BOOTSTRAP_SERVER} option is required and the info queue
+   * parameters pertaining to RabbitMQ and SQS are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--kafka-info-topic {topic-name}</code></li>
+   *   <li>Command Line: <code>-kafkaInfoTopic {topic-name}</code></li>
+   *   <li>Environment: <code>SENZING_KAFKA_INFO_TOPIC="{topic-name}"</code></li>
+   * </ul>
+   * </p>
+   */
+  KAFKA_INFO_TOPIC(
+      "--kafka-info-topic", Set.of("-kafkaInfoTopic"),
+      "SENZING_KAFKA_INFO_TOPIC", null, 1,
+      KAFKA_INFO_QUEUE_GROUP, TOPIC_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the <b>optional</b> number of broker
+   * acknowledgements the Kafka producer waits for before considering an info
+   * message sent (the producer <tt>"acks"</tt> setting).  The single
+   * parameter to this option is one of <code>0</code>, <code>1</code> or
+   * <code>all</code>.  If this option is specified then the {@link
+   * #KAFKA_INFO_BOOTSTRAP_SERVER} and {@link #KAFKA_INFO_TOPIC} options are
+   * required and the info queue parameters pertaining to RabbitMQ and SQS
+   * are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--kafka-info-acks {0|1|all}</code></li>
+   *   <li>Command Line: <code>-kafkaInfoAcks {0|1|all}</code></li>
+   *   <li>Environment: <code>SENZING_KAFKA_INFO_ACKS="{0|1|all}"</code></li>
+   * </ul>
+   * </p>
+   */
+  KAFKA_INFO_ACKS(
+      "--kafka-info-acks", Set.of("-kafkaInfoAcks"),
+      "SENZING_KAFKA_INFO_ACKS", null, 1,
+      KAFKA_INFO_QUEUE_GROUP, ACKS_PROPERTY_KEY, true),
+  /**
+   * <p>
+   * This option is used to specify the <b>optional</b> maximum number of bytes
+   * that the Kafka producer batches together for a partition (the producer
+   * <tt>"batch.size"</tt> setting).  The single parameter to this option is a
+   * non-negative integer.  If this option is specified then the {@link
+   * #KAFKA_INFO_BOOTSTRAP_SERVER} and {@link #KAFKA_INFO_TOPIC} options are
+   * required and the info queue parameters pertaining to RabbitMQ and SQS are
+   * not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--kafka-info-batch-size {byte-count}</code></li>
+   *   <li>Command Line: <code>-kafkaInfoBatchSize {byte-count}</code></li>
+   *   <li>Environment: <code>SENZING_KAFKA_INFO_BATCH_SIZE="{byte-count}"</code></li>
+   * </ul>
+   * </p>
+   */
+  KAFKA_INFO_BATCH_SIZE(
+      "--kafka-info-batch-size", Set.of("-kafkaInfoBatchSize"),
+      "SENZING_KAFKA_INFO_BATCH_SIZE", null, 1,
+      KAFKA_INFO_QUEUE_GROUP, BATCH_SIZE_PROPERTY_KEY, true),
+  /**
+   * <p>
+   * This option is used to specify the <b>optional</b> number of
+   * milliseconds that the Kafka producer waits for more info messages to
+   * join a batch before sending it (the producer <tt>"linger.ms"</tt>
+   * setting).  The single parameter to this option is a non-negative
+   * integer.  If this option is specified then the {@link
+   * #KAFKA_INFO_BOOTSTRAP_SERVER} and {@link #KAFKA_INFO_TOPIC} options are
+   * required and the info queue parameters pertaining to RabbitMQ and SQS
+   * are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--kafka-info-linger-ms {milliseconds}</code></li>
+   *   <li>Command Line: <code>-kafkaInfoLingerMs {milliseconds}</code></li>
+   *   <li>Environment: <code>SENZING_KAFKA_INFO_LINGER_MS="{milliseconds}"</code></li>
+   * </ul>
+   * </p>
+   */
+  KAFKA_INFO_LINGER(
+      "--kafka-info-linger-ms", Set.of("-kafkaInfoLingerMs"),
+      "SENZING_KAFKA_INFO_LINGER_MS", null, 1,
+      KAFKA_INFO_QUEUE_GROUP, LINGER_PROPERTY_KEY, true),
+  /**
+   * <p>
+   * This option is used to specify the <b>optional</b> compression that the
+   * Kafka producer applies to batches of info messages (the producer
+   * <tt>"compression.type"</tt> setting).  The single parameter to this option
+   * is one of <code>none</code>, <code>gzip</code>, <code>snappy</code>,
+   * <code>lz4</code> or <code>zstd</code>.  If this option is specified then
+   * the {@link #KAFKA_INFO_BOOTSTRAP_SERVER} and {@link #KAFKA_INFO_TOPIC}
+   * options are required and the info queue parameters pertaining to RabbitMQ
+   * and SQS are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--kafka-info-compression {compression-type}</code></li>
+   *   <li>Command Line: <code>-kafkaInfoCompression {compression-type}</code></li>
+   *   <li>Environment: <code>SENZING_KAFKA_INFO_COMPRESSION="{compression-type}"</code></li>
+   * </ul>
+   * </p>
+   */
+  KAFKA_INFO_COMPRESSION(
+      "--kafka-info-compression", Set.of("-kafkaInfoCompression"),
+      "SENZING_KAFKA_INFO_COMPRESSION", null, 1,
+      KAFKA_INFO_QUEUE_GROUP, COMPRESSION_PROPERTY_KEY, true),
+  /**
+   * <p>
+   * This option is used to specify the <b>optional</b> maximum number of
+   * unacknowledged requests the Kafka producer sends on each connection (the
+   * producer <tt>"max.in.flight.requests.per.connection"</tt> setting).  The
+   * single parameter to this option is a positive integer.  If this option is
+   * specified then the {@link #KAFKA_INFO_BOOTSTRAP_SERVER} and {@link
+   * #KAFKA_INFO_TOPIC} options are required and the info queue parameters
+   * pertaining to RabbitMQ and SQS are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--kafka-info-max-in-flight {request-count}</code></li>
+   *   <li>Command Line: <code>-kafkaInfoMaxInFlight {request-count}</code></li>
+   *   <li>Environment: <code>SENZING_KAFKA_INFO_MAX_IN_FLIGHT="{request-count}"</code></li>
+   * </ul>
+   * </p>
+   */
+  KAFKA_INFO_MAX_IN_FLIGHT(
+      "--kafka-info-max-in-flight", Set.of("-kafkaInfoMaxInFlight"),
+      "SENZING_KAFKA_INFO_MAX_IN_FLIGHT", null, 1,
+      KAFKA_INFO_QUEUE_GROUP, MAX_IN_FLIGHT_PROPERTY_KEY, true),
+  /**
+   * <p>
+   * This option is used to <b>optionally</b> key the Kafka records for info
+   * messages by the lowest affected entity ID for best-effort locality of
+   * the info messages on the partitions.  This does <b>not</b> guarantee
+   * that the info messages affecting an entity are consumed in order.
+   * This option takes an optional parameter of <code>true</code> or
+   * <code>false</code> and defaults to <code>true</code> if specified
+   * without a parameter.  If this option is specified then the {@link
+   * #KAFKA_INFO_BOOTSTRAP_SERVER} and {@link #KAFKA_INFO_TOPIC} options are
+   * required and the info queue parameters pertaining to RabbitMQ and SQS
+   * are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--kafka-info-key-by-entity [true|false]</code></li>
+   *   <li>Command Line: <code>-kafkaInfoKeyByEntity [true|false]</code></li>
+   *   <li>Environment: <code>SENZING_KAFKA_INFO_KEY_BY_ENTITY="[true|false]"</code></li>
+   * </ul>
+   * </p>
+   */
+  KAFKA_INFO_KEY_BY_ENTITY(
+      "--kafka-info-key-by-entity", Set.of("-kafkaInfoKeyByEntity"),
+      "SENZING_KAFKA_INFO_KEY_BY_ENTITY", null, false, 0, 1, false,
+      KAFKA_INFO_QUEUE_GROUP, KEY_BY_ENTITY_PROPERTY_KEY, true),
+  /**
+   * <p>
+   * This option is used to specify <b>optional</b> additional properties for
+   * the Kafka producer formatted as a URL query string.  The single parameter
+   * to this option has the form
+   * <code>{prop1}={value1}&amp;{prop2}={value2}</code> with URL-encoded
+   * names and values.  The dedicated Kafka info options take precedence over
+   * these properties.  If this option is specified then the {@link
+   * #KAFKA_INFO_BOOTSTRAP_SERVER} and {@link #KAFKA_INFO_TOPIC} options are
+   * required and the info queue parameters pertaining to RabbitMQ and SQS
+   * are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--kafka-info-producer-properties {query-string}</code></li>
+   *   <li>Command Line: <code>-kafkaInfoProducerProperties {query-string}</code></li>
+   *   <li>Environment: <code>SENZING_KAFKA_INFO_PRODUCER_PROPERTIES="{query-string}"</code></li>
+   * </ul>
+   * </p>
+   */
+  KAFKA_INFO_PRODUCER_PROPERTIES(
+      "--kafka-info-producer-properties",
+      Set.of("-kafkaInfoProducerProperties"),
+      "SENZING_KAFKA_INFO_PRODUCER_PROPERTIES", null, 1,
+      KAFKA_INFO_QUEUE_GROUP, PRODUCER_PROPERTIES_PROPERTY_KEY, true),
+
+  /**
+   * <p>
+   * This option sets the maximum number of record messages from the ingest
+   * queue that are processed concurrently.  No more messages than this are
+   * received from the ingest queue until earlier ones have been processed.
+   * The single parameter to this option should be a positive integer.  If
+   * not specified, then this defaults to {@link
+   * SzApiServerConstants#DEFAULT_INGEST_CONCURRENCY}.  This option is ignored
+   * if no ingest queue is configured.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--ingest-concurrency {thread-count}</code></li>
+   *   <li>Command Line: <code>-ingestConcurrency {thread-count}</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_INGEST_CONCURRENCY="{thread-count}"</code></li>
+   * </ul>
+   * </p>
+   */
+  INGEST_CONCURRENCY("--ingest-concurrency", Set.of("-ingestConcurrency"),
+                     ENV_PREFIX + "INGEST_CONCURRENCY", null,
+                     1, DEFAULT_INGEST_CONCURRENCY_PARAM),
+
+  /**
+   * <p>
+   * This option sets the maximum number of attempts to process a record
+   * message from the ingest queue before it is routed to the dead-letter
+   * destination.  The single parameter to this option should be a positive
+   * integer.  If not specified, then this defaults to {@link
+   * SzApiServerConstants#DEFAULT_INGEST_MAX_ATTEMPTS}.  This option is
+   * ignored if no ingest queue is configured.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--ingest-max-attempts {attempt-count}</code></li>
+   *   <li>Command Line: <code>-ingestMaxAttempts {attempt-count}</code></li>
+   *   <li>Environment: <code>SENZING_API_SERVER_INGEST_MAX_ATTEMPTS="{attempt-count}"</code></li>
+   * </ul>
+   * </p>
+   */
+  INGEST_MAX_ATTEMPTS("--ingest-max-attempts", Set.of("-ingestMaxAttempts"),
+                      ENV_PREFIX + "INGEST_MAX_ATTEMPTS", null,
+                      1, DEFAULT_INGEST_MAX_ATTEMPTS_PARAM),
+
+  /**
+   * <p>
+   * This option is used to specify the URL to an Amazon SQS queue from which
+   * record messages are consumed and loaded.  The single parameter to this
+   * option is the URL.  If this option is specified then the ingest queue
+   * parameters for RabbitMQ and Kafka are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--sqs-ingest-url {url}</code></li>
+   *   <li>Command Line: <code>-sqsIngestUrl {url}</code></li>
+   *   <li>Environment: <code>SENZING_SQS_INGEST_QUEUE_URL="{url}"</code></li>
+   * </ul>
+   * </p>
+   */
+  SQS_INGEST_URL(
+      "--sqs-ingest-url", Set.of("-sqsIngestUrl"),
+      "SENZING_SQS_INGEST_QUEUE_URL", null, 1,
+      SQS_INGEST_QUEUE_GROUP, URL_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the <b>optional</b> URL to an Amazon SQS
+   * queue to which record messages that cannot be processed are routed.  The
+   * single parameter to this option is the URL.  If this option is specified
+   * then the {@link #SQS_INGEST_URL} option is required.  If not specified then
+   * record messages that cannot be processed are logged and discarded.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--sqs-ingest-dead-letter-url {url}</code></li>
+   *   <li>Command Line: <code>-sqsIngestDeadLetterUrl {url}</code></li>
+   *   <li>Environment: <code>SENZING_SQS_INGEST_DEAD_LETTER_QUEUE_URL="{url}"</code></li>
+   * </ul>
+   * </p>
+   */
+  SQS_INGEST_DEAD_LETTER_URL(
+      "--sqs-ingest-dead-letter-url", Set.of("-sqsIngestDeadLetterUrl"),
+      "SENZING_SQS_INGEST_DEAD_LETTER_QUEUE_URL", null, 1,
+      SQS_INGEST_QUEUE_GROUP, SqsSource.DEAD_LETTER_URL_PROPERTY_KEY, true),
+
+  /**
+   * <p>
+   * This option is used to specify the user name for connecting to RabbitMQ as
+   * part of specifying a RabbitMQ ingest queue.  The single parameter to this
+   * option is a user name.  If this option is specified then the other options
+   * required for a RabbitMQ ingest queue are required and the ingest queue
+   * parameters pertaining to SQS and Kafka are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--rabbit-ingest-user {username}</code></li>
+   *   <li>Command Line: <code>-rabbitIngestUser {username}</code></li>
+   *   <li>Environment: <code>SENZING_RABBITMQ_INGEST_USERNAME="{username}"</code></li>
+   * </ul>
+   * </p>
+   */
+  RABBIT_INGEST_USER(
+      "--rabbit-ingest-user", Set.of("-rabbitIngestUser"),
+      "SENZING_RABBITMQ_INGEST_USERNAME", null, 1,
+      RABBITMQ_INGEST_QUEUE_GROUP, USER_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the password for connecting to RabbitMQ as
+   * part of specifying a RabbitMQ ingest queue.  The single parameter to this
+   * option is a password.  If this option is specified then the other options
+   * required for a RabbitMQ ingest queue are required and the ingest queue
+   * parameters pertaining to SQS and Kafka are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--rabbit-ingest-password {password}</code></li>
+   *   <li>Command Line: <code>-rabbitIngestPassword {password}</code></li>
+   *   <li>Environment: <code>SENZING_RABBITMQ_INGEST_PASSWORD="{password}"</code></li>
+   * </ul>
+   * </p>
+   */
+  RABBIT_INGEST_PASSWORD(
+      "--rabbit-ingest-password", Set.of("-rabbitIngestPassword"),
+      "SENZING_RABBITMQ_INGEST_PASSWORD", null, 1,
+      RABBITMQ_INGEST_QUEUE_GROUP, PASSWORD_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the hostname for connecting to RabbitMQ as
+   * part of specifying a RabbitMQ ingest queue.  The single parameter to this
+   * option is a hostname or IP address.  If this option is specified then the
+   * other options required for a RabbitMQ ingest queue are required and the
+   * ingest queue parameters pertaining to SQS and Kafka are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--rabbit-ingest-host {hostname}</code></li>
+   *   <li>Command Line: <code>-rabbitIngestHost {hostname}</code></li>
+   *   <li>Environment: <code>SENZING_RABBITMQ_INGEST_HOST="{hostname}"</code></li>
+   * </ul>
+   * </p>
+   */
+  RABBIT_INGEST_HOST(
+      "--rabbit-ingest-host", Set.of("-rabbitIngestHost"),
+      "SENZING_RABBITMQ_INGEST_HOST", null, 1,
+      RABBITMQ_INGEST_QUEUE_GROUP, HOST_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the port number for connecting to RabbitMQ
+   * as part of specifying a RabbitMQ ingest queue.  The single parameter to
+   * this option is a port number.  If this option is specified then the other
+   * options required for a RabbitMQ ingest queue are required and the ingest
+   * queue parameters pertaining to SQS and Kafka are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--rabbit-ingest-port {port}</code></li>
+   *   <li>Command Line: <code>-rabbitIngestPort {port}</code></li>
+   *   <li>Environment: <code>SENZING_RABBITMQ_INGEST_PORT="{port}"</code></li>
+   * </ul>
+   * </p>
+   */
+  RABBIT_INGEST_PORT(
+      "--rabbit-ingest-port", Set.of("-rabbitIngestPort"),
+      "SENZING_RABBITMQ_INGEST_PORT", null, 1,
+      RABBITMQ_INGEST_QUEUE_GROUP, PORT_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the virtual host for connecting to RabbitMQ
+   * as part of specifying a RabbitMQ ingest queue.  The single parameter to
+   * this option is a virtual host name.  If this option is specified then the
+   * other options required for a RabbitMQ ingest queue are required and the
+   * ingest queue parameters pertaining to SQS and Kafka are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--rabbit-ingest-virtual-host {virtual-host}</code></li>
+   *   <li>Command Line: <code>-rabbitIngestVirtualHost {virtual-host}</code></li>
+   *   <li>Environment: <code>SENZING_RABBITMQ_INGEST_VIRTUAL_HOST="{virtual-host}"</code></li>
+   * </ul>
+   * </p>
+   */
+  RABBIT_INGEST_VIRTUAL_HOST(
+      "--rabbit-ingest-virtual-host", Set.of("-rabbitIngestVirtualHost"),
+      "SENZING_RABBITMQ_INGEST_VIRTUAL_HOST", null, 1,
+      RABBITMQ_INGEST_QUEUE_GROUP, VIRTUAL_HOST_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the name of the queue from which record
+   * messages are consumed as part of specifying a RabbitMQ ingest queue.  The
+   * single parameter to this option is the name of an existing queue.  If this
+   * option is specified then the other options required for a RabbitMQ ingest
+   * queue are required and the ingest queue parameters pertaining to SQS and
+   * Kafka are not allowed.
    * </p>
    * <p>
    * This option can be specified in the following ways:
    * <ul>
-   *   <li>Command Line: <code>--rabbit-info-virtual-host {virtual-host}</code></li>
-   *   <li>Command Line: <code>-rabbitInfoVirtualHost {virtual-host}</code></li>
-   *   <li>Environment: <code>SENZING_RABBITMQ_INFO_VIRTUAL_HOST="{virtual-host}"</code></li>
-   *   <li>Environment: <code>SENZING_RABBITMQ_VIRTUAL_HOST="{virtual-host}" (fallback)</code></li>
+   *   <li>Command Line: <code>--rabbit-ingest-queue {queue-name}</code></li>
+   *   <li>Command Line: <code>-rabbitIngestQueue {queue-name}</code></li>
+   *   <li>Environment: <code>SENZING_RABBITMQ_INGEST_QUEUE="{queue-name}"</code></li>
    * </ul>
    * </p>
    */
-  RABBIT_INFO_VIRTUAL_HOST(
-      "--rabbit-info-virtual-host", Set.of("-rabbitInfoVirtualHost"),
-      "SENZING_RABBITMQ_INFO_VIRTUAL_HOST",
-      List.of("SENZING_RABBITMQ_VIRTUAL_HOST"), 1,
-      RABBITMQ_INFO_QUEUE_GROUP, VIRTUAL_HOST_PROPERTY_KEY, false),
+  RABBIT_INGEST_QUEUE(
+      "--rabbit-ingest-queue", Set.of("-rabbitIngestQueue"),
+      "SENZING_RABBITMQ_INGEST_QUEUE", null, 1,
+      RABBITMQ_INGEST_QUEUE_GROUP, RabbitSource.QUEUE_PROPERTY_KEY, false),
 
   /**
    * <p>
-   * This option is used to specify the exchange for connecting to RabbitMQ
-   * as part of specifying a RabbitMQ info queue.  The single parameter to this
-   * option is an exchange name.  If this option is specified then the other
-   * options required for a RabbitMQ info queue are required and the info queue
-   * parameters pertaining to SQS and Kafka are not allowed.
+   * This option is used to specify the <b>optional</b> exchange on the RabbitMQ
+   * ingest broker to which record messages that cannot be processed are routed.
+   * The single parameter to this option is an exchange name.  If not specified
+   * then record messages that cannot be processed are logged and discarded.  If
+   * this option is specified then the other options required for a RabbitMQ
+   * ingest queue are required and the ingest queue parameters pertaining to SQS
+   * and Kafka are not allowed.
    * </p>
    * <p>
    * This option can be specified in the following ways:
    * <ul>
-   *   <li>Command Line: <code>--rabbit-info-exchange {exchange}</code></li>
-   *   <li>Command Line: <code>-rabbitInfoExchange {exchange}</code></li>
-   *   <li>Environment: <code>SENZING_RABBITMQ_INFO_EXCHANGE="{exchange}"</code></li>
-   *   <li>Environment: <code>SENZING_RABBITMQ_EXCHANGE="{exchange}" (fallback)</code></li>
+   *   <li>Command Line: <code>--rabbit-ingest-dead-letter-exchange {exchange}</code></li>
+   *   <li>Command Line: <code>-rabbitIngestDeadLetterExchange {exchange}</code></li>
+   *   <li>Environment: <code>SENZING_RABBITMQ_INGEST_DEAD_LETTER_EXCHANGE="{exchange}"</code></li>
    * </ul>
    * </p>
    */
-  RABBIT_INFO_EXCHANGE(
-      "--rabbit-info-exchange", Set.of("-rabbitInfoExchange"),
-      "SENZING_RABBITMQ_INFO_EXCHANGE",
-      List.of("SENZING_RABBITMQ_EXCHANGE"), 1,
-      RABBITMQ_INFO_QUEUE_GROUP, EXCHANGE_PROPERTY_KEY, false),
+  RABBIT_INGEST_DEAD_LETTER_EXCHANGE(
+      "--rabbit-ingest-dead-letter-exchange",
+      Set.of("-rabbitIngestDeadLetterExchange"),
+      "SENZING_RABBITMQ_INGEST_DEAD_LETTER_EXCHANGE", null, 1,
+      RABBITMQ_INGEST_QUEUE_GROUP,
+      RabbitSource.DEAD_LETTER_EXCHANGE_PROPERTY_KEY, true),
 
   /**
    * <p>
-   * This option is used to specify the routing key for connecting to RabbitMQ
-   * as part of specifying a RabbitMQ info queue.  The single parameter to this
-   * option is a routing key.  If this option is specified then the other
-   * options required for a RabbitMQ info queue are required and the info queue
-   * parameters pertaining to SQS and Kafka are not allowed.
+   * This option is used to specify the <b>optional</b> routing key with which
+   * record messages that cannot be processed are routed to the {@link
+   * #RABBIT_INGEST_DEAD_LETTER_EXCHANGE} exchange.  The single parameter to
+   * this option is a routing key.  If not specified then an empty routing key
+   * is used.  If this option is specified then the other options required for a
+   * RabbitMQ ingest queue are required and the ingest queue parameters
+   * pertaining to SQS and Kafka are not allowed.
    * </p>
    * <p>
    * This option can be specified in the following ways:
    * <ul>
-   *   <li>Command Line: <code>--rabbit-info-routing-key {routing-key}</code></li>
-   *   <li>Command Line: <code>-rabbitInfoRoutingKey {routing-key}</code></li>
-   *   <li>Environment: <code>SENZING_RABBITMQ_INFO_ROUTING_KEY="{routing-key}"</code></li>
+   *   <li>Command Line: <code>--rabbit-ingest-dead-letter-routing-key {routing-key}</code></li>
+   *   <li>Command Line: <code>-rabbitIngestDeadLetterRoutingKey {routing-key}</code></li>
+   *   <li>Environment: <code>SENZING_RABBITMQ_INGEST_DEAD_LETTER_ROUTING_KEY="{routing-key}"</code></li>
    * </ul>
    * </p>
    */
-  RABBIT_INFO_ROUTING_KEY(
-      "--rabbit-info-routing-key", Set.of("-rabbitInfoRoutingKey"),
-      "SENZING_RABBITMQ_INFO_ROUTING_KEY",
-      null, 1,
-      RABBITMQ_INFO_QUEUE_GROUP, ROUTING_KEY_PROPERTY_KEY, false),
+  RABBIT_INGEST_DEAD_LETTER_ROUTING_KEY(
+      "--rabbit-ingest-dead-letter-routing-key",
+      Set.of("-rabbitIngestDeadLetterRoutingKey"),
+      "SENZING_RABBITMQ_INGEST_DEAD_LETTER_ROUTING_KEY", null, 1,
+      RABBITMQ_INGEST_QUEUE_GROUP,
+      RabbitSource.DEAD_LETTER_ROUTING_KEY_PROPERTY_KEY, true),
 
   /**
    * <p>
    * This option is used to specify the bootstrap servers for connecting to
-   * Kafka as part of specifying a Kafka info topic.  The single parameter to
+   * Kafka as part of specifying a Kafka ingest topic.  The single parameter to
    * this option is the Kafka bootstrap servers specification (typically a
    * hostname or IP address and port number separated by a colon).  If this
-   * option is specified then the {@link #KAFKA_INFO_TOPIC} option is required
-   * and the info queue parameters pertaining to RabbitMQ and SQS are not
-   * allowed.
+   * option is specified then the other options required for a Kafka ingest
+   * topic are required and the ingest queue parameters pertaining to RabbitMQ
+   * and SQS are not allowed.
    * </p>
    * <p>
    * This option can be specified in the following ways:
    * <ul>
-   *   <li>Command Line: <code>--kafka-info-bootstrap-servers {bootstrap-servers}</code></li>
-   *   <li>Command Line: <code>-kafkaInfoBootstrapServers {bootstrap-servers}</code></li>
-   *   <li>Environment: <code>SENZING_KAFKA_INFO_BOOTSTRAP_SERVER="{bootstrap-servers}"</code></li>
-   *   <li>Environment: <code>SENZING_KAFKA_BOOTSTRAP_SERVER="{bootstrap-servers}" (fallback)</code></li>
+   *   <li>Command Line: <code>--kafka-ingest-bootstrap-server {bootstrap-servers}</code></li>
+   *   <li>Command Line: <code>-kafkaIngestBootstrapServer {bootstrap-servers}</code></li>
+   *   <li>Environment: <code>SENZING_KAFKA_INGEST_BOOTSTRAP_SERVER="{bootstrap-servers}"</code></li>
    * </ul>
    * </p>
    */
-  KAFKA_INFO_BOOTSTRAP_SERVER(
-      "--kafka-info-bootstrap-server", Set.of("-kafkaInfoBootstrapServer"),
-      "SENZING_KAFKA_INFO_BOOTSTRAP_SERVER",
-      List.of("SENZING_KAFKA_BOOTSTRAP_SERVER"), 1,
-      KAFKA_INFO_QUEUE_GROUP, BOOTSTRAP_SERVERS_PROPERTY_KEY, false),
+  KAFKA_INGEST_BOOTSTRAP_SERVER(
+      "--kafka-ingest-bootstrap-server", Set.of("-kafkaIngestBootstrapServer"),
+      "SENZING_KAFKA_INGEST_BOOTSTRAP_SERVER", null, 1,
+      KAFKA_INGEST_QUEUE_GROUP, BOOTSTRAP_SERVERS_PROPERTY_KEY, false),
 
   /**
    * <p>
-   * This option is used to specify the <b>optional</b> group ID to set when
-   * connecting to Kafka as part of specifying a Kafka info topic.  The single
-   * parameter to this option is the Kafka group ID.  If this option is
-   * specified then the {@link #KAFKA_INFO_BOOTSTRAP_SERVER} and {@link
-   * #KAFKA_INFO_TOPIC} options are required and the info queue parameters
-   * pertaining to RabbitMQ and SQS are not allowed.
+   * This option is used to specify the consumer group ID with which the offsets
+   * of the processed record messages are committed as part of specifying a
+   * Kafka ingest topic.  The single parameter to this option is the Kafka group
+   * ID.  If this option is specified then the other options required for a
+   * Kafka ingest topic are required and the ingest queue parameters pertaining
+   * to RabbitMQ and SQS are not allowed.
    * </p>
    * <p>
    * This option can be specified in the following ways:
    * <ul>
-   *   <li>Command Line: <code>--kafka-info-group {group-id}</code></li>
-   *   <li>Command Line: <code>-kafkaInfoGroup {group-id}</code></li>
-   *   <li>Environment: <code>SENZING_KAFKA_INFO_GROUP="{group-id}"</code></li>
-   *   <li>Environment: <code>SENZING_KAFKA_GROUP="{group-id}" (fallback)</code></li>
+   *   <li>Command Line: <code>--kafka-ingest-group {group-id}</code></li>
+   *   <li>Command Line: <code>-kafkaIngestGroup {group-id}</code></li>
+   *   <li>Environment: <code>SENZING_KAFKA_INGEST_GROUP="{group-id}"</code></li>
    * </ul>
    * </p>
    */
-  KAFKA_INFO_GROUP(
-      "--kafka-info-group", Set.of("-kafkaInfoGroup"),
-      "SENZING_KAFKA_INFO_GROUP",
-      List.of("SENZING_KAFKA_GROUP"), 1, KAFKA_INFO_QUEUE_GROUP,
-      GROUP_ID_PROPERTY_KEY, true),
+  KAFKA_INGEST_GROUP(
+      "--kafka-ingest-group", Set.of("-kafkaIngestGroup"),
+      "SENZING_KAFKA_INGEST_GROUP", null, 1,
+      KAFKA_INGEST_QUEUE_GROUP, GROUP_ID_PROPERTY_KEY, false),
 
   /**
    * <p>
-   * This option is used to specify the topic when connecting to Kafka as part
-   * of specifying a Kafka info topic.  The single parameter to this option is
-   * the Kafka topic.  If this option is specified then the {@link
-   * #KAFKA_INFO_BOOTSTRAP_SERVER} option is required and the info queue
-   * parameters pertaining to RabbitMQ and SQS are not allowed.
+   * This option is used to specify the topic from which record messages are
+   * consumed as part of specifying a Kafka ingest topic.  The single parameter
+   * to this option is the Kafka topic.  If this option is specified then the
+   * other options required for a Kafka ingest topic are required and the ingest
+   * queue parameters pertaining to RabbitMQ and SQS are not allowed.
    * </p>
    * <p>
    * This option can be specified in the following ways:
    * <ul>
-   *   <li>Command Line: <code>--kafka-info-topic {topic-name}</code></li>
-   *   <li>Command Line: <code>-kafkaInfoTopic {topic-name}</code></li>
-   *   <li>Environment: <code>SENZING_KAFKA_INFO_TOPIC="{topic-name}"</code></li>
+   *   <li>Command Line: <code>--kafka-ingest-topic {topic-name}</code></li>
+   *   <li>Command Line: <code>-kafkaIngestTopic {topic-name}</code></li>
+   *   <li>Environment: <code>SENZING_KAFKA_INGEST_TOPIC="{topic-name}"</code></li>
    * </ul>
    * </p>
    */
-  KAFKA_INFO_TOPIC(
-      "--kafka-info-topic", Set.of("-kafkaInfoTopic"),
-      "SENZING_KAFKA_INFO_TOPIC", null, 1,
-      KAFKA_INFO_QUEUE_GROUP, TOPIC_PROPERTY_KEY, false);
+  KAFKA_INGEST_TOPIC(
+      "--kafka-ingest-topic", Set.of("-kafkaIngestTopic"),
+      "SENZING_KAFKA_INGEST_TOPIC", null, 1,
+      KAFKA_INGEST_QUEUE_GROUP, TOPIC_PROPERTY_KEY, false),
+
+  /**
+   * <p>
+   * This option is used to specify the <b>optional</b> topic on the Kafka
+   * ingest cluster to which record messages that cannot be processed are
+   * routed.  The single parameter to this option is the Kafka topic.  If not
+   * specified then record messages that cannot be processed are logged and
+   * discarded.  If this option is specified then the other options required for
+   * a Kafka ingest topic are required and the ingest queue parameters
+   * pertaining to RabbitMQ and SQS are not allowed.
+   * </p>
+   * <p>
+   * This option can be specified in the following ways:
+   * <ul>
+   *   <li>Command Line: <code>--kafka-ingest-dead-letter-topic {topic-name}</code></li>
+   *   <li>Command Line: <code>-kafkaIngestDeadLetterTopic {topic-name}</code></li>
+   *   <li>Environment: <code>SENZING_KAFKA_INGEST_DEAD_LETTER_TOPIC="{topic-name}"</code></li>
+   * </ul>
+   * </p>
+   */
+  KAFKA_INGEST_DEAD_LETTER_TOPIC(
+      "--kafka-ingest-dead-letter-topic", Set.of("-kafkaIngestDeadLetterTopic"),
+      "SENZING_KAFKA_INGEST_DEAD_LETTER_TOPIC", null, 1,
+      KAFKA_INGEST_QUEUE_GROUP,
+      KafkaSource.DEAD_LETTER_TOPIC_PROPERTY_KEY, true);
 
   /**
    * The {@link Map} of {@link SzApiServerOption} keys to unmodifiable
@@ -1438,7 +2474,14 @@ public enum SzApiServerOption
       Set<SzApiServerOption> kafkaInfoOptions = Set.of(
           KAFKA_INFO_BOOTSTRAP_SERVER,
           KAFKA_INFO_GROUP,
-          KAFKA_INFO_TOPIC);
+          KAFKA_INFO_TOPIC,
+          KAFKA_INFO_ACKS,
+          KAFKA_INFO_BATCH_SIZE,
+          KAFKA_INFO_LINGER,
+          KAFKA_INFO_COMPRESSION,
+          KAFKA_INFO_MAX_IN_FLIGHT,
+          KAFKA_INFO_KEY_BY_ENTITY,
+          KAFKA_INFO_PRODUCER_PROPERTIES);
 
       Set<SzApiServerOption> rabbitInfoOptions = Set.of(
           RABBIT_INFO_USER,
@@ -1451,27 +2494,77 @@ public enum SzApiServerOption
 
       Set<SzApiServerOption> sqsInfoOptions = Set.of(SQS_INFO_URL);
 
+      Set<SzApiServerOption> fileInfoOptions = Set.of(FILE_INFO_URL);
+
       // enforce that we only have one info queue
       for (SzApiServerOption option: kafkaInfoOptions) {
         Set<CommandLineOption> conflictSet = conflictMap.get(option);
         conflictSet.addAll(rabbitInfoOptions);
         conflictSet.addAll(sqsInfoOptions);
+        conflictSet.addAll(fileInfoOptions);
       }
       for (SzApiServerOption option: rabbitInfoOptions) {
         Set<CommandLineOption> conflictSet = conflictMap.get(option);
         conflictSet.addAll(kafkaInfoOptions);
         conflictSet.addAll(sqsInfoOptions);
+        conflictSet.addAll(fileInfoOptions);
       }
       for (SzApiServerOption option: sqsInfoOptions) {
         Set<CommandLineOption> conflictSet = conflictMap.get(option);
         conflictSet.addAll(kafkaInfoOptions);
         conflictSet.addAll(rabbitInfoOptions);
+        conflictSet.addAll(fileInfoOptions);
+      }
+      for (SzApiServerOption option: fileInfoOptions) {
+        Set<CommandLineOption> conflictSet = conflictMap.get(option);
+        conflictSet.addAll(kafkaInfoOptions);
+        conflictSet.addAll(rabbitInfoOptions);
+        conflictSet.addAll(sqsInfoOptions);
+      }
+
+      Set<SzApiServerOption> kafkaIngestOptions = Set.of(
+          KAFKA_INGEST_BOOTSTRAP_SERVER,
+          KAFKA_INGEST_GROUP,
+          KAFKA_INGEST_TOPIC,
+          KAFKA_INGEST_DEAD_LETTER_TOPIC);
+
+      Set<SzApiServerOption> rabbitIngestOptions = Set.of(
+          RABBIT_INGEST_USER,
+          RABBIT_INGEST_PASSWORD,
+          RABBIT_INGEST_HOST,
+          RABBIT_INGEST_PORT,
+          RABBIT_INGEST_VIRTUAL_HOST,
+          RABBIT_INGEST_QUEUE,
+          RABBIT_INGEST_DEAD_LETTER_EXCHANGE,
+          RABBIT_INGEST_DEAD_LETTER_ROUTING_KEY);
+
+      Set<SzApiServerOption> sqsIngestOptions = Set.of(
+          SQS_INGEST_URL, SQS_INGEST_DEAD_LETTER_URL);
+
+      // enforce that we only have one ingest queue
+      for (SzApiServerOption option: kafkaIngestOptions) {
+        Set<CommandLineOption> conflictSet = conflictMap.get(option);
+        conflictSet.addAll(rabbitIngestOptions);
+        conflictSet.addAll(sqsIngestOptions);
+      }
+      for (SzApiServerOption option: rabbitIngestOptions) {
+        Set<CommandLineOption> conflictSet = conflictMap.get(option);
+        conflictSet.addAll(kafkaIngestOptions);
+        conflictSet.addAll(sqsIngestOptions);
+      }
+      for (SzApiServerOption option: sqsIngestOptions) {
+        Set<CommandLineOption> conflictSet = conflictMap.get(option);
+        conflictSet.addAll(kafkaIngestOptions);
+        conflictSet.addAll(rabbitIngestOptions);
       }
 
       Set<CommandLineOption> readOnlyConflicts = conflictMap.get(READ_ONLY);
       readOnlyConflicts.addAll(kafkaInfoOptions);
       readOnlyConflicts.addAll(rabbitInfoOptions);
       readOnlyConflicts.addAll(sqsInfoOptions);
+      readOnlyConflicts.addAll(kafkaIngestOptions);
+      readOnlyConflicts.addAll(rabbitIngestOptions);
+      readOnlyConflicts.addAll(sqsIngestOptions);
 
       Set<SzApiServerOption> iniAlts = altMap.get(INI_FILE);
       iniAlts.add(INIT_ENV_VAR);
@@ -1537,6 +2630,12 @@ public enum SzApiServerOption
           Set.of(Set.of(
               HTTPS_PORT, KEY_STORE, KEY_STORE_PASSWORD, CLIENT_KEY_STORE)));
 
+      dependencyMap.put(LOAD_AFFINITY_BENCHMARK,
+                        Set.of(Set.of(LOAD_AFFINITY_KEY)));
+
+      dependencyMap.put(RESET_RECORD_FINGERPRINTS,
+                        Set.of(Set.of(SKIP_UNCHANGED_RECORDS)));
+
       conflictMap.get(CLIENT_KEY_STORE).add(HTTP_PORT);
       conflictMap.get(CLIENT_KEY_STORE_PASSWORD).add(HTTP_PORT);
       conflictMap.get(HTTP_PORT).add(CLIENT_KEY_STORE);
@@ -1647,6 +2746,290 @@ public enum SzApiServerOption
           return threadCount;
         }
 
+        case MIN_LOAD_CONCURRENCY: {
+          int recordCount;
+          try {
+            recordCount = Integer.parseInt(params.get(0));
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "Minimum load concurrency must be an integer: "
+                + params.get(0));
+          }
+          if (recordCount <= 0) {
+            throw new IllegalArgumentException(
+                "Minimum load concurrency must be positive: " + recordCount);
+          }
+          return recordCount;
+        }
+
+        case LOAD_AFFINITY_KEY: {
+          List<String> keys = new ArrayList<>();
+          for (String key : params.get(0).split(",")) {
+            if (key.trim().length() > 0) keys.add(key.trim());
+          }
+          if (keys.size() == 0) {
+            throw new IllegalArgumentException(
+                "At least one property name must be specified for "
+                    + option.getCommandLineFlag() + ": " + params.get(0));
+          }
+          return Collections.unmodifiableList(keys);
+        }
+
+        case LOAD_MAX_RETRIES: {
+          int retryCount;
+          try {
+            retryCount = Integer.parseInt(params.get(0));
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "Maximum load retries must be an integer: " + params.get(0));
+          }
+          if (retryCount < 0) {
+            throw new IllegalArgumentException(
+                "Negative retry counts are not allowed: " + retryCount);
+          }
+          return retryCount;
+        }
+
+        case EXPORT_CONCURRENCY: {
+          int exportCount;
+          try {
+            exportCount = Integer.parseInt(params.get(0));
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "Export concurrency must be an integer: " + params.get(0));
+          }
+          if (exportCount <= 0) {
+            throw new IllegalArgumentException(
+                "Negative or zero export concurrency is not allowed: "
+                    + exportCount);
+          }
+          return exportCount;
+        }
+
+        case REDO_THREADS: {
+          int threadCount;
+          try {
+            threadCount = Integer.parseInt(params.get(0));
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "Redo thread count must be an integer: " + params.get(0));
+          }
+          if (threadCount < 0) {
+            throw new IllegalArgumentException(
+                "Negative thread counts are not allowed: " + threadCount);
+          }
+          return threadCount;
+        }
+
+        case INFO_PUBLISH_CAPACITY: {
+          int capacity;
+          try {
+            capacity = Integer.parseInt(params.get(0));
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "Info publish capacity must be an integer: " + params.get(0));
+          }
+          if (capacity < 0) {
+            throw new IllegalArgumentException(
+                "Negative info publish capacity is not allowed: " + capacity);
+          }
+          return capacity;
+        }
+
+        case INFO_PUBLISH_OVERFLOW: {
+          try {
+            return SzOverflowPolicy.valueOf(params.get(0).trim().toUpperCase());
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "Info publish overflow policy must be one of "
+                    + Arrays.toString(SzOverflowPolicy.values()) + ": "
+                    + params.get(0));
+          }
+        }
+
+        case INFO_PUBLISH_THREADS: {
+          int threadCount;
+          try {
+            threadCount = Integer.parseInt(params.get(0));
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "Info publish thread count must be an integer: "
+                    + params.get(0));
+          }
+          if (threadCount <= 0) {
+            throw new IllegalArgumentException(
+                "Negative or zero info publish thread counts are not allowed: "
+                    + threadCount);
+          }
+          return threadCount;
+        }
+
+        case KAFKA_INFO_ACKS: {
+          String acks = params.get(0).trim().toLowerCase();
+          if (!Set.of("0", "1", "-1", "all").contains(acks)) {
+            throw new IllegalArgumentException(
+                "Kafka info acks must be one of 0, 1 or all: "
+                    + params.get(0));
+          }
+          return acks;
+        }
+
+        case KAFKA_INFO_BATCH_SIZE:
+        case KAFKA_INFO_LINGER:
+        case KAFKA_INFO_MAX_IN_FLIGHT: {
+          int value;
+          try {
+            value = Integer.parseInt(params.get(0));
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "The " + option.getCommandLineFlag() + " value must be an "
+                    + "integer: " + params.get(0));
+          }
+          int minimum = (serverOption == KAFKA_INFO_MAX_IN_FLIGHT) ? 1 : 0;
+          if (value < minimum) {
+            throw new IllegalArgumentException(
+                "The " + option.getCommandLineFlag() + " value must be at "
+                    + "least " + minimum + ": " + value);
+          }
+          return value;
+        }
+
+        case KAFKA_INFO_COMPRESSION: {
+          String compression = params.get(0).trim().toLowerCase();
+          if (!Set.of("none", "gzip", "snappy", "lz4", "zstd")
+              .contains(compression))
+          {
+            throw new IllegalArgumentException(
+                "Kafka info compression must be one of none, gzip, snappy, "
+                    + "lz4 or zstd: " + params.get(0));
+          }
+          return compression;
+        }
+
+        case INFO_SPOOL_DIR: {
+          File spoolDir = new File(params.get(0));
+          if (spoolDir.exists() && !spoolDir.isDirectory()) {
+            throw new IllegalArgumentException(
+                "Specified info spool directory is not a directory: "
+                    + spoolDir);
+          }
+          return spoolDir;
+        }
+
+        case INFO_SPOOL_SEGMENT_SIZE: {
+          int segmentSize;
+          try {
+            segmentSize = Integer.parseInt(params.get(0));
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "Info spool segment size must be an integer: "
+                    + params.get(0));
+          }
+          if (segmentSize <= 0 || segmentSize >= 2048) {
+            throw new IllegalArgumentException(
+                "Info spool segment size must be at least 1 and less than "
+                    + "2048 megabytes: " + segmentSize);
+          }
+          return segmentSize;
+        }
+
+        case INFO_AGGREGATE_COUNT: {
+          int count;
+          try {
+            count = Integer.parseInt(params.get(0));
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "Info aggregate count must be an integer: " + params.get(0));
+          }
+          if (count < 0 || count == 1) {
+            throw new IllegalArgumentException(
+                "Info aggregate count must be zero (0) or at least two (2): "
+                    + count);
+          }
+          return count;
+        }
+
+        case INFO_AGGREGATE_WINDOW: {
+          long window;
+          try {
+            window = Long.parseLong(params.get(0));
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "Info aggregate window must be an integer: " + params.get(0));
+          }
+          if (window <= 0L) {
+            throw new IllegalArgumentException(
+                "Info aggregate window must be a positive number of "
+                    + "milliseconds: " + window);
+          }
+          return window;
+        }
+
+        case CHANGE_FEED_CAPACITY: {
+          int capacity;
+          try {
+            capacity = Integer.parseInt(params.get(0));
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "Change feed capacity must be an integer: " + params.get(0));
+          }
+          if (capacity < 0) {
+            throw new IllegalArgumentException(
+                "Change feed capacity must be non-negative: " + capacity);
+          }
+          return capacity;
+        }
+
+        case REPOSITORY_STATS_SNAPSHOT_PERIOD: {
+          long period;
+          try {
+            period = Long.parseLong(params.get(0));
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "Repository stats snapshot period must be an integer: "
+                    + params.get(0));
+          }
+          if (period < 0L) {
+            throw new IllegalArgumentException(
+                "Repository stats snapshot period must be a non-negative "
+                    + "number of milliseconds: " + period);
+          }
+          return period;
+        }
+
+        case INGEST_CONCURRENCY: {
+          int concurrency;
+          try {
+            concurrency = Integer.parseInt(params.get(0));
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "Ingest concurrency must be an integer: " + params.get(0));
+          }
+          if (concurrency <= 0) {
+            throw new IllegalArgumentException(
+                "Negative or zero ingest concurrency is not allowed: "
+                    + concurrency);
+          }
+          return concurrency;
+        }
+
+        case INGEST_MAX_ATTEMPTS: {
+          int attempts;
+          try {
+            attempts = Integer.parseInt(params.get(0));
+          } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                "Ingest maximum attempts must be an integer: "
+                    + params.get(0));
+          }
+          if (attempts <= 0) {
+            throw new IllegalArgumentException(
+                "Negative or zero ingest maximum attempts is not allowed: "
+                    + attempts);
+          }
+          return attempts;
+        }
+
         case HTTP_CONCURRENCY: {
           int threadCount;
           try {
@@ -1674,12 +3057,28 @@ public enum SzApiServerOption
         case RABBIT_INFO_EXCHANGE:
         case RABBIT_INFO_ROUTING_KEY:
         case SQS_INFO_URL:
+        case FILE_INFO_URL:
+        case KAFKA_INFO_PRODUCER_PROPERTIES:
+        case KAFKA_INGEST_BOOTSTRAP_SERVER:
+        case KAFKA_INGEST_GROUP:
+        case KAFKA_INGEST_TOPIC:
+        case KAFKA_INGEST_DEAD_LETTER_TOPIC:
+        case RABBIT_INGEST_HOST:
+        case RABBIT_INGEST_USER:
+        case RABBIT_INGEST_PASSWORD:
+        case RABBIT_INGEST_VIRTUAL_HOST:
+        case RABBIT_INGEST_QUEUE:
+        case RABBIT_INGEST_DEAD_LETTER_EXCHANGE:
+        case RABBIT_INGEST_DEAD_LETTER_ROUTING_KEY:
+        case SQS_INGEST_URL:
+        case SQS_INGEST_DEAD_LETTER_URL:
         case KEY_ALIAS:
         case KEY_STORE_PASSWORD:
         case CLIENT_KEY_STORE_PASSWORD:
           return params.get(0);
 
-        case RABBIT_INFO_PORT: {
+        case RABBIT_INFO_PORT:
+        case RABBIT_INGEST_PORT: {
           int port = Integer.parseInt(params.get(0));
           if (port < 0) {
             throw new IllegalArgumentException(
@@ -1782,6 +3181,12 @@ public enum SzApiServerOption
         case DEBUG_LOGGING:
         case SKIP_STARTUP_PERF:
         case SKIP_ENGINE_PRIMING:
+        case SKIP_UNCHANGED_RECORDS:
+        case RESET_RECORD_FINGERPRINTS:
+        case LOAD_AFFINITY_BENCHMARK:
+        case KAFKA_INFO_KEY_BY_ENTITY:
+        case INFO_AGGREGATE_GZIP:
+        case REPOSITORY_STATS:
           if (params.size() == 0) return Boolean.TRUE;
           String boolText = params.get(0);
           if ("false".equalsIgnoreCase(boolText)) {
@@ -1,12 +1,16 @@
 package com.senzing.api.server;
 
+import com.senzing.api.model.SzOverflowPolicy;
 import com.senzing.cmdline.CommandLineOption;
 import com.senzing.util.JsonUtils;
 
 import javax.json.JsonObject;
 import java.io.File;
 import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -29,6 +33,7 @@ public class SzApiServerOptions {
   private String      clientKeyStorePassword    = null;
   private String      urlBasePath               = null;
   private int         concurrency               = DEFAULT_CONCURRENCY;
+  private Integer     minLoadConcurrency        = null;
   private int         httpConcurrency           = DEFAULT_HTTP_CONCURRENCY;
   private String      moduleName                = DEFAULT_MODULE_NAME;
   private boolean     verbose                   = false;
@@ -37,6 +42,25 @@ public class SzApiServerOptions {
   private boolean     adminEnabled              = false;
   private boolean     skipStartupPerf           = false;
   private boolean     skipEnginePriming         = false;
+  private boolean     skipUnchangedRecords      = false;
+  private boolean     resetRecordFingerprints   = false;
+  private List<String> loadAffinityKeys        = null;
+  private boolean     loadAffinityBenchmark     = false;
+  private int         loadMaxRetries            = DEFAULT_LOAD_MAX_RETRIES;
+  private int         exportConcurrency         = DEFAULT_EXPORT_CONCURRENCY;
+  private int         redoThreads               = 0;
+  private int         infoPublishCapacity       = DEFAULT_INFO_PUBLISH_CAPACITY;
+  private SzOverflowPolicy infoPublishOverflow  = DEFAULT_INFO_PUBLISH_OVERFLOW;
+  private int         infoPublishThreads        = DEFAULT_INFO_PUBLISH_THREADS;
+  private File        infoSpoolDir              = null;
+  private int         infoSpoolSegmentSize  = DEFAULT_INFO_SPOOL_SEGMENT_SIZE;
+  private int         infoAggregateCount        = DEFAULT_INFO_AGGREGATE_COUNT;
+  private long        infoAggregateWindow     = DEFAULT_INFO_AGGREGATE_WINDOW;
+  private boolean     infoAggregateGzip         = false;
+  private int         changeFeedCapacity        = DEFAULT_CHANGE_FEED_CAPACITY;
+  private boolean     repositoryStats           = false;
+  private long        repositoryStatsSnapshotPeriod
+      = DEFAULT_REPOSITORY_STATS_SNAPSHOT_PERIOD;
   private boolean     debugLogging              = false;
   private long        statsInterval             = DEFAULT_STATS_INTERVAL;
   private String      allowedOrigins            = null;
@@ -47,6 +71,13 @@ public class SzApiServerOptions {
   private String      kafkaInfoServers          = null;
   private String      kafkaInfoGroupId          = null;
   private String      kafkaInfoTopic            = null;
+  private String      kafkaInfoAcks             = null;
+  private Integer     kafkaInfoBatchSize        = null;
+  private Integer     kafkaInfoLingerMillis     = null;
+  private String      kafkaInfoCompression      = null;
+  private Integer     kafkaInfoMaxInFlight      = null;
+  private boolean     kafkaInfoKeyByEntity      = false;
+  private String      kafkaInfoProducerProps    = null;
   private String      rabbitInfoUser            = null;
   private String      rabbitInfoPassword        = null;
   private String      rabbitInfoHost            = null;
@@ -55,6 +86,23 @@ public class SzApiServerOptions {
   private String      rabbitInfoExchange        = null;
   private String      rabbitInfoRoutingKey      = null;
   private String      sqsInfoUrl                = null;
+  private String      fileInfoUrl               = null;
+  private int         ingestConcurrency         = DEFAULT_INGEST_CONCURRENCY;
+  private int         ingestMaxAttempts         = DEFAULT_INGEST_MAX_ATTEMPTS;
+  private String      kafkaIngestServers        = null;
+  private String      kafkaIngestGroupId        = null;
+  private String      kafkaIngestTopic          = null;
+  private String      kafkaIngestDLTopic        = null;
+  private String      rabbitIngestUser          = null;
+  private String      rabbitIngestPassword      = null;
+  private String      rabbitIngestHost          = null;
+  private Integer     rabbitIngestPort          = null;
+  private String      rabbitIngestVHost         = null;
+  private String      rabbitIngestQueue         = null;
+  private String      rabbitIngestDLExchange    = null;
+  private String      rabbitIngestDLRoutingKey  = null;
+  private String      sqsIngestUrl              = null;
+  private String      sqsIngestDLUrl            = null;
 
   /**
    * Constructs with the native Senzing JSON initialization parameters as a
@@ -339,6 +387,177 @@ public class SzApiServerOptions {
     return this;
   }
 
+  /**
+   * Gets the minimum number of records that a bulk load may have in flight.
+   * If <tt>null</tt> or not less than the {@linkplain #getConcurrency()
+   * concurrency} then each bulk load always has as many records in flight as
+   * the concurrency, otherwise each bulk load adapts the number of records in
+   * flight between this minimum and the concurrency.
+   *
+   * @return The minimum number of records that a bulk load may have in
+   *         flight, or <tt>null</tt> if the number of records in flight is
+   *         not adapted.
+   */
+  public Integer getMinLoadConcurrency() {
+    return this.minLoadConcurrency;
+  }
+
+  /**
+   * Sets the minimum number of records that a bulk load may have in flight.
+   * Set to <tt>null</tt> to have each bulk load always keep as many records
+   * in flight as the {@linkplain #getConcurrency() concurrency}.
+   *
+   * @param recordCount The minimum number of records that a bulk load may
+   *                    have in flight, or <tt>null</tt> if the number of
+   *                    records in flight should not be adapted.
+   *
+   * @return A reference to this instance.
+   *
+   * @throws IllegalArgumentException If the specified record count is not
+   *                                  positive.
+   */
+  public SzApiServerOptions setMinLoadConcurrency(Integer recordCount) {
+    if (recordCount != null && recordCount <= 0) {
+      throw new IllegalArgumentException(
+          "The minimum load concurrency must be positive: " + recordCount);
+    }
+    this.minLoadConcurrency = recordCount;
+    return this;
+  }
+
+  /**
+   * Gets the <b>unmodifiable</b> {@link List} of JSON property names whose
+   * values form the affinity key used to choose the worker queue for each
+   * bulk-loaded record.  If <tt>null</tt> then records are loaded by
+   * whichever worker is free.
+   *
+   * @return The <b>unmodifiable</b> {@link List} of JSON property names whose
+   *         values form the affinity key, or <tt>null</tt> if records are not
+   *         scheduled by affinity.
+   */
+  public List<String> getLoadAffinityKeys() {
+    return this.loadAffinityKeys;
+  }
+
+  /**
+   * Sets the JSON property names whose values form the affinity key used to
+   * choose the worker queue for each bulk-loaded record.  Set to
+   * <tt>null</tt> or an empty {@link List} to have records loaded by
+   * whichever worker is free.
+   *
+   * @param keys The {@link List} of JSON property names whose values form
+   *             the affinity key, or <tt>null</tt> if records should not be
+   *             scheduled by affinity.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setLoadAffinityKeys(List<String> keys) {
+    this.loadAffinityKeys = (keys == null || keys.size() == 0) ? null
+        : Collections.unmodifiableList(new ArrayList<>(keys));
+    return this;
+  }
+
+  /**
+   * Checks whether or not each bulk load should alternate between blocks of
+   * records loaded with and without the {@linkplain #getLoadAffinityKeys()
+   * affinity key} to benchmark the effect of the affinity.
+   *
+   * @return <tt>true</tt> if bulk loads should benchmark the affinity, and
+   *         <tt>false</tt> if not.
+   */
+  public boolean isBenchmarkingLoadAffinity() {
+    return this.loadAffinityBenchmark;
+  }
+
+  /**
+   * Sets whether or not each bulk load should alternate between blocks of
+   * records loaded with and without the {@linkplain #getLoadAffinityKeys()
+   * affinity key} to benchmark the effect of the affinity.  This has no
+   * effect unless the affinity key is set.
+   *
+   * @param benchmarking <tt>true</tt> if bulk loads should benchmark the
+   *                     affinity, and <tt>false</tt> if not.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setBenchmarkingLoadAffinity(boolean benchmarking)
+  {
+    this.loadAffinityBenchmark = benchmarking;
+    return this;
+  }
+
+  /**
+   * Gets the maximum number of times a bulk-loaded record that fails with a
+   * transient engine error is retried before it is counted as failed.  If
+   * the value has not been {@linkplain #setLoadMaxRetries(Integer) explicitly
+   * set} then {@link SzApiServerConstants#DEFAULT_LOAD_MAX_RETRIES} is
+   * returned.
+   *
+   * @return The maximum number of times a bulk-loaded record is retried.
+   */
+  public int getLoadMaxRetries() {
+    return this.loadMaxRetries;
+  }
+
+  /**
+   * Sets the maximum number of times a bulk-loaded record that fails with a
+   * transient engine error is retried before it is counted as failed.  Set
+   * to zero (0) to disable the retries or <tt>null</tt> to use the
+   * {@linkplain SzApiServerConstants#DEFAULT_LOAD_MAX_RETRIES default}.
+   *
+   * @param retryCount The maximum number of times a bulk-loaded record is
+   *                   retried, or <tt>null</tt> for the default.
+   *
+   * @return A reference to this instance.
+   *
+   * @throws IllegalArgumentException If the specified retry count is
+   *                                  negative.
+   */
+  public SzApiServerOptions setLoadMaxRetries(Integer retryCount) {
+    if (retryCount != null && retryCount < 0) {
+      throw new IllegalArgumentException(
+          "The maximum load retries cannot be negative: " + retryCount);
+    }
+    this.loadMaxRetries = (retryCount != null)
+        ? retryCount : DEFAULT_LOAD_MAX_RETRIES;
+    return this;
+  }
+
+  /**
+   * Gets the maximum number of entity exports that may run concurrently.  If
+   * the value has not been {@linkplain #setExportConcurrency(Integer)
+   * explicitly set} then {@link
+   * SzApiServerConstants#DEFAULT_EXPORT_CONCURRENCY} is returned.
+   *
+   * @return The maximum number of entity exports that may run concurrently.
+   */
+  public int getExportConcurrency() {
+    return this.exportConcurrency;
+  }
+
+  /**
+   * Sets the maximum number of entity exports that may run concurrently.  Set
+   * to <tt>null</tt> to use the {@linkplain
+   * SzApiServerConstants#DEFAULT_EXPORT_CONCURRENCY default}.
+   *
+   * @param exportCount The maximum number of entity exports that may run
+   *                    concurrently, or <tt>null</tt> for the default.
+   *
+   * @return A reference to this instance.
+   *
+   * @throws IllegalArgumentException If the specified export count is not
+   *                                  positive.
+   */
+  public SzApiServerOptions setExportConcurrency(Integer exportCount) {
+    if (exportCount != null && exportCount <= 0) {
+      throw new IllegalArgumentException(
+          "The export concurrency must be positive: " + exportCount);
+    }
+    this.exportConcurrency = (exportCount != null)
+        ? exportCount : DEFAULT_EXPORT_CONCURRENCY;
+    return this;
+  }
+
   /**
    * Gets the maximum number of threads that will be used for the web server
    * thread pool.  If the value is not {@linkplain #setHttpConcurrency(Integer)
@@ -739,278 +958,1387 @@ public class SzApiServerOptions {
   }
 
   /**
-   * Returns the Kafka bootstrap servers to connect to for the "info" queue.
-   * This is part of the info queue configuration to push "info" messages when
-   * records are loaded or deleted or entities are reevaluated.
+   * Checks whether or not the API server should maintain a persistent index
+   * of record fingerprints and skip loading records that are unchanged since
+   * they were last loaded.
    *
-   * @return The Kafka boostrap servers for the "info" queue.
+   * @return <tt>true</tt> if the API server should skip loading unchanged
+   *         records, and <tt>false</tt> if not.
    */
-  public String getKafkaInfoBootstrapServers() {
-    return this.kafkaInfoServers;
+  public boolean isSkippingUnchangedRecords() {
+    return this.skipUnchangedRecords;
   }
 
   /**
-   * Sets the Kafka server to connect to for the "info" queue.  This is part
-   * of the info queue configuration to push "info" messages when records are
-   * loaded or deleted or entities are reevaluated.
+   * Sets whether or not the API server should maintain a persistent index
+   * of record fingerprints and skip loading records that are unchanged since
+   * they were last loaded.
    *
-   * @param servers The Kafka bootstrap servers for the "info" queue.
+   * @param skipping <tt>true</tt> if the API server should skip loading
+   *                 unchanged records, and <tt>false</tt> if not.
    *
    * @return A reference to this instance.
    */
-  public SzApiServerOptions setKafkaInfoBootstrapServers(String servers)
+  public SzApiServerOptions setSkippingUnchangedRecords(boolean skipping) {
+    this.skipUnchangedRecords = skipping;
+    return this;
+  }
+
+  /**
+   * Checks whether or not the API server should discard the persisted record
+   * fingerprints when it starts so that every record is loaded again.  This
+   * has no effect unless {@linkplain #isSkippingUnchangedRecords() skipping
+   * unchanged records}.
+   *
+   * @return <tt>true</tt> if the API server should discard the persisted
+   *         record fingerprints, and <tt>false</tt> if not.
+   */
+  public boolean isResettingRecordFingerprints() {
+    return this.resetRecordFingerprints;
+  }
+
+  /**
+   * Sets whether or not the API server should discard the persisted record
+   * fingerprints when it starts so that every record is loaded again.  This
+   * has no effect unless {@linkplain #isSkippingUnchangedRecords() skipping
+   * unchanged records}.
+   *
+   * @param resetting <tt>true</tt> if the API server should discard the
+   *                  persisted record fingerprints, and <tt>false</tt> if
+   *                  not.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setResettingRecordFingerprints(boolean resetting)
   {
-    this.kafkaInfoServers = servers;
+    this.resetRecordFingerprints = resetting;
     return this;
   }
 
   /**
-   * Returns the Kafka group ID to for the "info" queue.  This is part of the
-   * info queue configuration to push "info" messages when records are loaded
-   * or deleted or entities are reevaluated.
+   * Returns the number of background threads that the API server should use
+   * to process the redo records in the repository.  If zero (0) then the API
+   * server does not process redo records.
    *
-   * @return The Kafka group ID for the "info" queue.
+   * @return The number of background threads to process redo records.
    */
-  public String getKafkaInfoGroupId() {
-    return this.kafkaInfoGroupId;
+  public int getRedoThreads() {
+    return this.redoThreads;
   }
 
   /**
-   * Sets the Kafka group ID to for the "info" queue.  This is part of the info
-   * queue configuration to push "info" messages when records are loaded or
-   * deleted or entities are reevaluated.
+   * Sets the number of background threads that the API server should use
+   * to process the redo records in the repository.  Set to zero (0) to
+   * disable background redo processing.
    *
-   * @param groupId The Kafka group ID for the "info" queue.
+   * @param threadCount The number of background threads to process redo
+   *                    records.
    *
    * @return A reference to this instance.
+   *
+   * @throws IllegalArgumentException If the specified thread count is
+   *                                  negative.
    */
-  public SzApiServerOptions setKafkaInfoGroupId(String groupId) {
-    this.kafkaInfoGroupId = groupId;
+  public SzApiServerOptions setRedoThreads(int threadCount) {
+    if (threadCount < 0) {
+      throw new IllegalArgumentException(
+          "The redo thread count cannot be negative: " + threadCount);
+    }
+    this.redoThreads = threadCount;
     return this;
   }
 
   /**
-   * Returns the Kafka topic for the "info" queue.  This is part of the info
-   * queue configuration to push "info" messages when records are loaded or
-   * deleted or entities are reevaluated.
+   * Gets the maximum number of info messages that may be waiting in the
+   * in-process queue from which they are published to the info queue.  If
+   * zero (0) then info messages are published synchronously.  If the value
+   * has not been {@linkplain #setInfoPublishCapacity(Integer) explicitly
+   * set} then {@link SzApiServerConstants#DEFAULT_INFO_PUBLISH_CAPACITY} is
+   * returned.
    *
-   * @return The Kafka topic for the "info" queue.
+   * @return The maximum number of info messages that may be waiting in the
+   *         info publish queue.
    */
-  public String getKafkaInfoTopic() {
-    return this.kafkaInfoTopic;
+  public int getInfoPublishCapacity() {
+    return this.infoPublishCapacity;
   }
 
   /**
-   * Sets the Kafka topic for the "info" queue.  This is part of the info
-   * queue configuration to push "info" messages when records are loaded or
-   * deleted or entities are reevaluated.
+   * Sets the maximum number of info messages that may be waiting in the
+   * in-process queue from which they are published to the info queue.  Set
+   * to zero (0) to publish info messages synchronously, or to <tt>null</tt>
+   * to use the {@linkplain SzApiServerConstants#DEFAULT_INFO_PUBLISH_CAPACITY
+   * default}.
    *
-   * @param topic The Kafka topic for the "info" queue.
+   * @param capacity The maximum number of info messages that may be waiting
+   *                 in the info publish queue, or <tt>null</tt> for the
+   *                 default.
    *
    * @return A reference to this instance.
+   *
+   * @throws IllegalArgumentException If the specified capacity is negative.
    */
-  public SzApiServerOptions setKafkaInfoTopic(String topic) {
-    this.kafkaInfoTopic = topic;
+  public SzApiServerOptions setInfoPublishCapacity(Integer capacity) {
+    if (capacity != null && capacity < 0) {
+      throw new IllegalArgumentException(
+          "The info publish capacity cannot be negative: " + capacity);
+    }
+    this.infoPublishCapacity = (capacity != null)
+        ? capacity : DEFAULT_INFO_PUBLISH_CAPACITY;
     return this;
   }
 
   /**
-   * Returns the RabbitMQ user for the "info" queue.  This is part of the info
-   * queue configuration to push "info" messages when records are loaded or
-   * deleted or entities are reevaluated.
+   * Gets the {@link SzOverflowPolicy} for handling info messages when the
+   * in-process info publish queue is full.  If the value has not been
+   * {@linkplain #setInfoPublishOverflow(SzOverflowPolicy) explicitly set}
+   * then {@link SzApiServerConstants#DEFAULT_INFO_PUBLISH_OVERFLOW} is
+   * returned.
    *
-   * @return The RabbitMQ user for the "info" queue.
+   * @return The {@link SzOverflowPolicy} for when the info publish queue is
+   *         full.
    */
-  public String getRabbitInfoUser() {
-    return this.rabbitInfoUser;
+  public SzOverflowPolicy getInfoPublishOverflow() {
+    return this.infoPublishOverflow;
   }
 
   /**
-   * Sets the RabbitMQ user for the "info" queue.  This is part of the info
-   * queue configuration to push "info" messages when records are loaded or
-   * deleted or entities are reevaluated.
+   * Sets the {@link SzOverflowPolicy} for handling info messages when the
+   * in-process info publish queue is full.  Set to <tt>null</tt> to use the
+   * {@linkplain SzApiServerConstants#DEFAULT_INFO_PUBLISH_OVERFLOW default}.
    *
-   * @param user The RabbitMQ user for the "info" queue.
+   * @param policy The {@link SzOverflowPolicy} for when the info publish
+   *               queue is full, or <tt>null</tt> for the default.
    *
    * @return A reference to this instance.
    */
-  public SzApiServerOptions setRabbitInfoUser(String user) {
-    this.rabbitInfoUser = user;
+  public SzApiServerOptions setInfoPublishOverflow(SzOverflowPolicy policy) {
+    this.infoPublishOverflow = (policy != null)
+        ? policy : DEFAULT_INFO_PUBLISH_OVERFLOW;
     return this;
   }
 
   /**
-   * Returns the RabbitMQ password for the "info" queue.  This is part of the
-   * info queue configuration to push "info" messages when records are loaded
-   * or deleted or entities are reevaluated.
+   * Gets the number of threads that publish the info messages from the
+   * in-process info publish queue.  If the value has not been {@linkplain
+   * #setInfoPublishThreads(Integer) explicitly set} then {@link
+   * SzApiServerConstants#DEFAULT_INFO_PUBLISH_THREADS} is returned.
    *
-   * @return The RabbitMQ password for the "info" queue.
+   * @return The number of threads that publish the queued info messages.
    */
-  public String getRabbitInfoPassword() {
-    return this.rabbitInfoPassword;
+  public int getInfoPublishThreads() {
+    return this.infoPublishThreads;
   }
 
   /**
-   * Sets the RabbitMQ password for the "info" queue.  This is part of the info
-   * queue configuration to push "info" messages when records are loaded or
-   * deleted or entities are reevaluated.
+   * Sets the number of threads that publish the info messages from the
+   * in-process info publish queue.  Set to <tt>null</tt> to use the
+   * {@linkplain SzApiServerConstants#DEFAULT_INFO_PUBLISH_THREADS default}.
    *
-   * @param password The RabbitMQ password for the "info" queue.
+   * @param threadCount The number of threads that publish the queued info
+   *                    messages, or <tt>null</tt> for the default.
    *
    * @return A reference to this instance.
+   *
+   * @throws IllegalArgumentException If the specified thread count is not
+   *                                  positive.
    */
-  public SzApiServerOptions setRabbitInfoPassword(String password) {
-    this.rabbitInfoPassword = password;
+  public SzApiServerOptions setInfoPublishThreads(Integer threadCount) {
+    if (threadCount != null && threadCount <= 0) {
+      throw new IllegalArgumentException(
+          "The info publish thread count must be positive: " + threadCount);
+    }
+    this.infoPublishThreads = (threadCount != null)
+        ? threadCount : DEFAULT_INFO_PUBLISH_THREADS;
     return this;
   }
 
   /**
-   * Returns the RabbitMQ host for the "info" queue.  This is part of the
-   * info queue configuration to push "info" messages when records are loaded
-   * or deleted or entities are reevaluated.
+   * Gets the directory of the durable local spool to which info messages are
+   * written before being forwarded to the info queue.  This returns
+   * <tt>null</tt> if info messages are not spooled.
    *
-   * @return The RabbitMQ host for the "info" queue.
+   * @return The directory of the info spool, or <tt>null</tt> if info
+   *         messages are not spooled.
    */
-  public String getRabbitInfoHost() {
-    return this.rabbitInfoHost;
+  public File getInfoSpoolDirectory() {
+    return this.infoSpoolDir;
   }
 
   /**
-   * Sets the RabbitMQ host for the "info" queue.  This is part of the info
-   * queue configuration to push "info" messages when records are loaded or
-   * deleted or entities are reevaluated.
+   * Sets the directory of the durable local spool to which info messages are
+   * written before being forwarded to the info queue.  Set this to
+   * <tt>null</tt> if info messages should not be spooled.
    *
-   * @param host The RabbitMQ host for the "info" queue.
+   * @param directory The directory of the info spool, or <tt>null</tt> if
+   *                  info messages should not be spooled.
    *
    * @return A reference to this instance.
    */
-  public SzApiServerOptions setRabbitInfoHost(String host) {
-    this.rabbitInfoHost = host;
+  public SzApiServerOptions setInfoSpoolDirectory(File directory) {
+    this.infoSpoolDir = directory;
     return this;
   }
 
   /**
-   * Returns the RabbitMQ port for the "info" queue.  This is part of the
-   * info queue configuration to push "info" messages when records are loaded
-   * or deleted or entities are reevaluated.
+   * Gets the number of megabytes in each segment file of the info spool.  If
+   * the value has not been {@linkplain #setInfoSpoolSegmentSize(Integer)
+   * explicitly set} then {@link
+   * SzApiServerConstants#DEFAULT_INFO_SPOOL_SEGMENT_SIZE} is returned.
    *
-   * @return The RabbitMQ port for the "info" queue.
+   * @return The number of megabytes in each segment file of the info spool.
    */
-  public Integer getRabbitInfoPort() {
-    return this.rabbitInfoPort;
+  public int getInfoSpoolSegmentSize() {
+    return this.infoSpoolSegmentSize;
   }
 
   /**
-   * Sets the RabbitMQ port for the "info" queue.  This is part of the info
-   * queue configuration to push "info" messages when records are loaded or
-   * deleted or entities are reevaluated.
+   * Sets the number of megabytes in each segment file of the info spool.
+   * Set to <tt>null</tt> to use the {@linkplain
+   * SzApiServerConstants#DEFAULT_INFO_SPOOL_SEGMENT_SIZE default}.
    *
-   * @param port The RabbitMQ port for the "info" queue.
+   * @param megabytes The number of megabytes in each segment file of the
+   *                  info spool, or <tt>null</tt> for the default.
    *
    * @return A reference to this instance.
+   *
+   * @throws IllegalArgumentException If the specified size is not positive
+   *                                  or is 2048 megabytes or more.
    */
-  public SzApiServerOptions setRabbitInfoPort(Integer port) {
-    this.rabbitInfoPort = port;
+  public SzApiServerOptions setInfoSpoolSegmentSize(Integer megabytes) {
+    if (megabytes != null && (megabytes <= 0 || megabytes >= 2048)) {
+      throw new IllegalArgumentException(
+          "The info spool segment size must be at least 1 and less than 2048 "
+          + "megabytes: " + megabytes);
+    }
+    this.infoSpoolSegmentSize = (megabytes != null)
+        ? megabytes : DEFAULT_INFO_SPOOL_SEGMENT_SIZE;
     return this;
   }
 
   /**
-   * Returns the RabbitMQ virtual host for the "info" queue.  This is part of
-   * the info queue configuration to push "info" messages when records are
-   * loaded or deleted or entities are reevaluated.
+   * Gets the maximum number of info messages that are packed into a single
+   * aggregate info message.  If the value has not been {@linkplain
+   * #setInfoAggregateCount(Integer) explicitly set} then {@link
+   * SzApiServerConstants#DEFAULT_INFO_AGGREGATE_COUNT} is returned.  A value
+   * of zero (0) indicates that info messages are not aggregated.
    *
-   * @return The RabbitMQ virtual host for the "info" queue.
+   * @return The maximum number of info messages that are packed into a
+   *         single aggregate info message, or zero (0) if info messages are
+   *         not aggregated.
    */
-  public String getRabbitInfoVirtualHost() {
-    return this.rabbitInfoVHost;
+  public int getInfoAggregateCount() {
+    return this.infoAggregateCount;
   }
 
   /**
-   * Sets the RabbitMQ virtual host for the "info" queue.  This is part of the
-   * info queue configuration to push "info" messages when records are loaded
-   * or deleted or entities are reevaluated.
+   * Sets the maximum number of info messages that are packed into a single
+   * aggregate info message.  Set to zero (0) to disable aggregation or to
+   * <tt>null</tt> to use the {@linkplain
+   * SzApiServerConstants#DEFAULT_INFO_AGGREGATE_COUNT default}.
    *
-   * @param virtualHost The RabbitMQ virtual host for the "info" queue.
+   * @param count The maximum number of info messages that are packed into a
+   *              single aggregate info message, zero (0) to disable
+   *              aggregation or <tt>null</tt> for the default.
    *
    * @return A reference to this instance.
+   *
+   * @throws IllegalArgumentException If the specified count is negative or
+   *                                  is one (1).
    */
-  public SzApiServerOptions setRabbitInfoVirtualHost(String virtualHost) {
-    this.rabbitInfoVHost = virtualHost;
+  public SzApiServerOptions setInfoAggregateCount(Integer count) {
+    if (count != null && (count < 0 || count == 1)) {
+      throw new IllegalArgumentException(
+          "The info aggregate count must be zero (0) or at least two (2): "
+          + count);
+    }
+    this.infoAggregateCount = (count != null)
+        ? count : DEFAULT_INFO_AGGREGATE_COUNT;
     return this;
   }
 
   /**
-   * Returns the RabbitMQ exchange for the "info" queue.  This is part of
-   * the info queue configuration to push "info" messages when records are
-   * loaded or deleted or entities are reevaluated.
+   * Gets the maximum number of milliseconds that an info message waits for
+   * more info messages to join its aggregate info message.  If the value has
+   * not been {@linkplain #setInfoAggregateWindow(Long) explicitly set} then
+   * {@link SzApiServerConstants#DEFAULT_INFO_AGGREGATE_WINDOW} is returned.
    *
-   * @return The RabbitMQ exchange for the "info" queue.
+   * @return The maximum number of milliseconds that an info message waits
+   *         for more info messages to join its aggregate info message.
    */
-  public String getRabbitInfoExchange() {
-    return this.rabbitInfoExchange;
+  public long getInfoAggregateWindow() {
+    return this.infoAggregateWindow;
   }
 
   /**
-   * Sets the RabbitMQ exchange for the "info" queue.  This is part of the
-   * info queue configuration to push "info" messages when records are loaded
-   * or deleted or entities are reevaluated.
+   * Sets the maximum number of milliseconds that an info message waits for
+   * more info messages to join its aggregate info message.  Set to
+   * <tt>null</tt> to use the {@linkplain
+   * SzApiServerConstants#DEFAULT_INFO_AGGREGATE_WINDOW default}.
    *
-   * @param exchange The RabbitMQ exchange for the "info" queue.
+   * @param millis The maximum number of milliseconds that an info message
+   *               waits for more info messages to join its aggregate info
+   *               message, or <tt>null</tt> for the default.
    *
    * @return A reference to this instance.
+   *
+   * @throws IllegalArgumentException If the specified window is not
+   *                                  positive.
    */
-  public SzApiServerOptions setRabbitInfoExchange(String exchange) {
-    this.rabbitInfoExchange = exchange;
+  public SzApiServerOptions setInfoAggregateWindow(Long millis) {
+    if (millis != null && millis <= 0L) {
+      throw new IllegalArgumentException(
+          "The info aggregate window must be a positive number of "
+          + "milliseconds: " + millis);
+    }
+    this.infoAggregateWindow = (millis != null)
+        ? millis : DEFAULT_INFO_AGGREGATE_WINDOW;
     return this;
   }
 
   /**
-   * Returns the RabbitMQ routing key for the "info" queue.  This is part of
-   * the info queue configuration to push "info" messages when records are
-   * loaded or deleted or entities are reevaluated.
+   * Checks whether the bodies of the aggregate info messages are
+   * gzip-compressed and Base64-encoded.
    *
-   * @return The RabbitMQ routing key for the "info" queue.
+   * @return <tt>true</tt> if the aggregate info message bodies are
+   *         compressed, otherwise <tt>false</tt>.
    */
-  public String getRabbitInfoRoutingKey() {
-    return this.rabbitInfoRoutingKey;
+  public boolean isInfoAggregateGzip() {
+    return this.infoAggregateGzip;
   }
 
   /**
-   * Sets the RabbitMQ routing key for the "info" queue.  This is part of the
-   * info queue configuration to push "info" messages when records are loaded
-   * or deleted or entities are reevaluated.
+   * Sets whether the bodies of the aggregate info messages are
+   * gzip-compressed and Base64-encoded.
    *
-   * @param routingKey The RabbitMQ routing key for the "info" queue.
+   * @param gzip <tt>true</tt> if the aggregate info message bodies should be
+   *             compressed, otherwise <tt>false</tt>.
    *
    * @return A reference to this instance.
    */
-  public SzApiServerOptions setRabbitInfoRoutingKey(String routingKey) {
-    this.rabbitInfoRoutingKey = routingKey;
+  public SzApiServerOptions setInfoAggregateGzip(boolean gzip) {
+    this.infoAggregateGzip = gzip;
     return this;
   }
 
   /**
-   * Returns the SQS URL for the "info" queue.  This is part of
-   * the info queue configuration to push "info" messages when records are
-   * loaded or deleted or entities are reevaluated.
+   * Gets the number of info messages retained by the change feed for its
+   * subscribers.  If the value has not been {@linkplain
+   * #setChangeFeedCapacity(Integer) explicitly set} then {@link
+   * SzApiServerConstants#DEFAULT_CHANGE_FEED_CAPACITY} is returned.  A value
+   * of zero (0) indicates that the change feed is disabled.
    *
-   * @return The SQS URL for the "info" queue.
+   * @return The number of info messages retained by the change feed, or zero
+   *         (0) if the change feed is disabled.
    */
-  public String getSqsInfoUrl() {
-    return sqsInfoUrl;
+  public int getChangeFeedCapacity() {
+    return this.changeFeedCapacity;
   }
 
   /**
-   * Sets the SQS URL for the "info" queue.  This is part of the info queue
-   * configuration to push "info" messages when records are loaded or deleted
-   * or entities are reevaluated.
+   * Sets the number of info messages retained by the change feed for its
+   * subscribers.  Set to zero (0) to disable the change feed or to
+   * <tt>null</tt> to use the {@linkplain
+   * SzApiServerConstants#DEFAULT_CHANGE_FEED_CAPACITY default}.
    *
-   * @param url The SQS URL for the "info" queue.
+   * @param capacity The number of info messages retained by the change feed,
+   *                 zero (0) to disable the change feed or <tt>null</tt> for
+   *                 the default.
    *
    * @return A reference to this instance.
+   *
+   * @throws IllegalArgumentException If the specified capacity is negative.
    */
-  public SzApiServerOptions setSqsInfoUrl(String url) {
-    this.sqsInfoUrl = url;
+  public SzApiServerOptions setChangeFeedCapacity(Integer capacity) {
+    if (capacity != null && capacity < 0) {
+      throw new IllegalArgumentException(
+          "The change feed capacity must be non-negative: " + capacity);
+    }
+    this.changeFeedCapacity = (capacity != null)
+        ? capacity : DEFAULT_CHANGE_FEED_CAPACITY;
+    return this;
+  }
+
+  /**
+   * Checks if the repository statistics should be maintained incrementally
+   * from the info messages.
+   *
+   * @return <tt>true</tt> if the repository statistics should be maintained,
+   *         otherwise <tt>false</tt>.
+   */
+  public boolean isMaintainingRepositoryStats() {
+    return this.repositoryStats;
+  }
+
+  /**
+   * Sets whether or not the repository statistics should be maintained
+   * incrementally from the info messages.
+   *
+   * @param enabled <tt>true</tt> if the repository statistics should be
+   *                maintained, otherwise <tt>false</tt>.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setMaintainingRepositoryStats(boolean enabled) {
+    this.repositoryStats = enabled;
+    return this;
+  }
+
+  /**
+   * Gets the number of milliseconds between writing the repository
+   * statistics to their snapshot file.  If the value has not been
+   * {@linkplain #setRepositoryStatsSnapshotPeriod(Long) explicitly set} then
+   * {@link SzApiServerConstants#DEFAULT_REPOSITORY_STATS_SNAPSHOT_PERIOD} is
+   * returned.  A value of zero (0) indicates that the snapshot file is only
+   * written on shutdown.
+   *
+   * @return The number of milliseconds between writing the repository
+   *         statistics to their snapshot file.
+   */
+  public long getRepositoryStatsSnapshotPeriod() {
+    return this.repositoryStatsSnapshotPeriod;
+  }
+
+  /**
+   * Sets the number of milliseconds between writing the repository
+   * statistics to their snapshot file.  Set to zero (0) to only write the
+   * snapshot file on shutdown or to <tt>null</tt> to use the {@linkplain
+   * SzApiServerConstants#DEFAULT_REPOSITORY_STATS_SNAPSHOT_PERIOD default}.
+   *
+   * @param millis The number of milliseconds between snapshots, zero (0) to
+   *               only write on shutdown or <tt>null</tt> for the default.
+   *
+   * @return A reference to this instance.
+   *
+   * @throws IllegalArgumentException If the specified period is negative.
+   */
+  public SzApiServerOptions setRepositoryStatsSnapshotPeriod(Long millis) {
+    if (millis != null && millis < 0L) {
+      throw new IllegalArgumentException(
+          "The repository stats snapshot period must be a non-negative "
+          + "number of milliseconds: " + millis);
+    }
+    this.repositoryStatsSnapshotPeriod = (millis != null)
+        ? millis : DEFAULT_REPOSITORY_STATS_SNAPSHOT_PERIOD;
+    return this;
+  }
+
+  /**
+   * Returns the Kafka bootstrap servers to connect to for the "info" queue.
+   * This is part of the info queue configuration to push "info" messages when
+   * records are loaded or deleted or entities are reevaluated.
+   *
+   * @return The Kafka boostrap servers for the "info" queue.
+   */
+  public String getKafkaInfoBootstrapServers() {
+    return this.kafkaInfoServers;
+  }
+
+  /**
+   * Sets the Kafka server to connect to for the "info" queue.  This is part
+   * of the info queue configuration to push "info" messages when records are
+   * loaded or deleted or entities are reevaluated.
+   *
+   * @param servers The Kafka bootstrap servers for the "info" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaInfoBootstrapServers(String servers)
+  {
+    this.kafkaInfoServers = servers;
+    return this;
+  }
+
+  /**
+   * Returns the Kafka group ID to for the "info" queue.  This is part of the
+   * info queue configuration to push "info" messages when records are loaded
+   * or deleted or entities are reevaluated.
+   *
+   * @return The Kafka group ID for the "info" queue.
+   */
+  public String getKafkaInfoGroupId() {
+    return this.kafkaInfoGroupId;
+  }
+
+  /**
+   * Sets the Kafka group ID to for the "info" queue.  This is part of the info
+   * queue configuration to push "info" messages when records are loaded or
+   * deleted or entities are reevaluated.
+   *
+   * @param groupId The Kafka group ID for the "info" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaInfoGroupId(String groupId) {
+    this.kafkaInfoGroupId = groupId;
+    return this;
+  }
+
+  /**
+   * Returns the Kafka topic for the "info" queue.  This is part of the info
+   * queue configuration to push "info" messages when records are loaded or
+   * deleted or entities are reevaluated.
+   *
+   * @return The Kafka topic for the "info" queue.
+   */
+  public String getKafkaInfoTopic() {
+    return this.kafkaInfoTopic;
+  }
+
+  /**
+   * Sets the Kafka topic for the "info" queue.  This is part of the info
+   * queue configuration to push "info" messages when records are loaded or
+   * deleted or entities are reevaluated.
+   *
+   * @param topic The Kafka topic for the "info" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaInfoTopic(String topic) {
+    this.kafkaInfoTopic = topic;
+    return this;
+  }
+
+  /**
+   * Returns the Kafka producer acknowledgement setting (<tt>"0"</tt>,
+   * <tt>"1"</tt> or <tt>"all"</tt>) for the "info" topic.  This returns
+   * <tt>null</tt> if the Kafka producer default is used.
+   *
+   * @return The Kafka producer acknowledgement setting (<tt>"0"</tt>,
+   *         <tt>"1"</tt> or <tt>"all"</tt>), or <tt>null</tt> for the Kafka
+   *         producer default.
+   */
+  public String getKafkaInfoAcks() {
+    return this.kafkaInfoAcks;
+  }
+
+  /**
+   * Sets the Kafka producer acknowledgement setting (<tt>"0"</tt>, <tt>"1"</tt>
+   * or <tt>"all"</tt>) for the "info" topic.  This is part of the info queue
+   * configuration.
+   *
+   * @param acks The Kafka producer acknowledgement setting (<tt>"0"</tt>,
+   *             <tt>"1"</tt> or <tt>"all"</tt>), or <tt>null</tt> to use the
+   *             Kafka producer default.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaInfoAcks(String acks) {
+    this.kafkaInfoAcks = acks;
+    return this;
+  }
+
+  /**
+   * Returns the Kafka producer batch size in bytes for the "info" topic.  This
+   * returns <tt>null</tt> if the Kafka producer default is used.
+   *
+   * @return The Kafka producer batch size in bytes, or <tt>null</tt> for the
+   *         Kafka producer default.
+   */
+  public Integer getKafkaInfoBatchSize() {
+    return this.kafkaInfoBatchSize;
+  }
+
+  /**
+   * Sets the Kafka producer batch size in bytes for the "info" topic.  This is
+   * part of the info queue configuration.
+   *
+   * @param byteCount The Kafka producer batch size in bytes, or <tt>null</tt>
+   *                  to use the Kafka producer default.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaInfoBatchSize(Integer byteCount) {
+    this.kafkaInfoBatchSize = byteCount;
+    return this;
+  }
+
+  /**
+   * Returns the Kafka producer linger time in milliseconds for the "info"
+   * topic.  This returns <tt>null</tt> if the Kafka producer default is used.
+   *
+   * @return The Kafka producer linger time in milliseconds, or <tt>null</tt>
+   *         for the Kafka producer default.
+   */
+  public Integer getKafkaInfoLingerMillis() {
+    return this.kafkaInfoLingerMillis;
+  }
+
+  /**
+   * Sets the Kafka producer linger time in milliseconds for the "info"
+   * topic.  This is part of the info queue configuration.
+   *
+   * @param millis The Kafka producer linger time in milliseconds, or
+   *               <tt>null</tt> to use the Kafka producer default.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaInfoLingerMillis(Integer millis) {
+    this.kafkaInfoLingerMillis = millis;
+    return this;
+  }
+
+  /**
+   * Returns the Kafka producer compression type for the "info" topic.  This
+   * returns <tt>null</tt> if the Kafka producer default is used.
+   *
+   * @return The Kafka producer compression type, or <tt>null</tt> for the Kafka
+   *         producer default.
+   */
+  public String getKafkaInfoCompression() {
+    return this.kafkaInfoCompression;
+  }
+
+  /**
+   * Sets the Kafka producer compression type for the "info" topic.  This is
+   * part of the info queue configuration.
+   *
+   * @param compression The Kafka producer compression type, or <tt>null</tt> to
+   *                    use the Kafka producer default.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaInfoCompression(String compression) {
+    this.kafkaInfoCompression = compression;
+    return this;
+  }
+
+  /**
+   * Returns the Kafka producer maximum number of in-flight requests per
+   * connection for the "info" topic.  This returns <tt>null</tt> if the Kafka
+   * producer default is used.
+   *
+   * @return The Kafka producer maximum number of in-flight requests per
+   *         connection, or <tt>null</tt> for the Kafka producer default.
+   */
+  public Integer getKafkaInfoMaxInFlight() {
+    return this.kafkaInfoMaxInFlight;
+  }
+
+  /**
+   * Sets the Kafka producer maximum number of in-flight requests per connection
+   * for the "info" topic.  This is part of the info queue configuration.
+   *
+   * @param requestCount The Kafka producer maximum number of in-flight requests
+   *                     per connection, or <tt>null</tt> to use the Kafka
+   *                     producer default.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaInfoMaxInFlight(Integer requestCount) {
+    this.kafkaInfoMaxInFlight = requestCount;
+    return this;
+  }
+
+  /**
+   * Checks whether the Kafka records for the "info" topic are keyed by the
+   * lowest affected entity ID so that the info messages for an entity are
+   * consumed in order.
+   *
+   * @return <tt>true</tt> if the records are keyed by entity ID, otherwise
+   *         <tt>false</tt>.
+   */
+  public boolean isKafkaInfoKeyByEntity() {
+    return this.kafkaInfoKeyByEntity;
+  }
+
+  /**
+   * Sets whether the Kafka records for the "info" topic are keyed by the
+   * lowest affected entity ID so that the info messages for an entity are
+   * consumed in order.
+   *
+   * @param keyByEntity <tt>true</tt> if the records should be keyed by
+   *                    entity ID, otherwise <tt>false</tt>.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaInfoKeyByEntity(boolean keyByEntity) {
+    this.kafkaInfoKeyByEntity = keyByEntity;
+    return this;
+  }
+
+  /**
+   * Returns the additional Kafka producer properties for the "info" topic
+   * formatted as a URL query string.  This returns <tt>null</tt> if there
+   * are no additional properties.
+   *
+   * @return The additional Kafka producer properties, or <tt>null</tt> if
+   *         none.
+   */
+  public String getKafkaInfoProducerProperties() {
+    return this.kafkaInfoProducerProps;
+  }
+
+  /**
+   * Sets the additional Kafka producer properties for the "info" topic
+   * formatted as a URL query string (e.g.:
+   * <tt>"{prop1}={value1}&amp;{prop2}={value2}"</tt>).  This is part of the
+   * info queue configuration.
+   *
+   * @param properties The additional Kafka producer properties, or
+   *                   <tt>null</tt> if none.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaInfoProducerProperties(String properties)
+  {
+    this.kafkaInfoProducerProps = properties;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ user for the "info" queue.  This is part of the info
+   * queue configuration to push "info" messages when records are loaded or
+   * deleted or entities are reevaluated.
+   *
+   * @return The RabbitMQ user for the "info" queue.
+   */
+  public String getRabbitInfoUser() {
+    return this.rabbitInfoUser;
+  }
+
+  /**
+   * Sets the RabbitMQ user for the "info" queue.  This is part of the info
+   * queue configuration to push "info" messages when records are loaded or
+   * deleted or entities are reevaluated.
+   *
+   * @param user The RabbitMQ user for the "info" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitInfoUser(String user) {
+    this.rabbitInfoUser = user;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ password for the "info" queue.  This is part of the
+   * info queue configuration to push "info" messages when records are loaded
+   * or deleted or entities are reevaluated.
+   *
+   * @return The RabbitMQ password for the "info" queue.
+   */
+  public String getRabbitInfoPassword() {
+    return this.rabbitInfoPassword;
+  }
+
+  /**
+   * Sets the RabbitMQ password for the "info" queue.  This is part of the info
+   * queue configuration to push "info" messages when records are loaded or
+   * deleted or entities are reevaluated.
+   *
+   * @param password The RabbitMQ password for the "info" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitInfoPassword(String password) {
+    this.rabbitInfoPassword = password;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ host for the "info" queue.  This is part of the
+   * info queue configuration to push "info" messages when records are loaded
+   * or deleted or entities are reevaluated.
+   *
+   * @return The RabbitMQ host for the "info" queue.
+   */
+  public String getRabbitInfoHost() {
+    return this.rabbitInfoHost;
+  }
+
+  /**
+   * Sets the RabbitMQ host for the "info" queue.  This is part of the info
+   * queue configuration to push "info" messages when records are loaded or
+   * deleted or entities are reevaluated.
+   *
+   * @param host The RabbitMQ host for the "info" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitInfoHost(String host) {
+    this.rabbitInfoHost = host;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ port for the "info" queue.  This is part of the
+   * info queue configuration to push "info" messages when records are loaded
+   * or deleted or entities are reevaluated.
+   *
+   * @return The RabbitMQ port for the "info" queue.
+   */
+  public Integer getRabbitInfoPort() {
+    return this.rabbitInfoPort;
+  }
+
+  /**
+   * Sets the RabbitMQ port for the "info" queue.  This is part of the info
+   * queue configuration to push "info" messages when records are loaded or
+   * deleted or entities are reevaluated.
+   *
+   * @param port The RabbitMQ port for the "info" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitInfoPort(Integer port) {
+    this.rabbitInfoPort = port;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ virtual host for the "info" queue.  This is part of
+   * the info queue configuration to push "info" messages when records are
+   * loaded or deleted or entities are reevaluated.
+   *
+   * @return The RabbitMQ virtual host for the "info" queue.
+   */
+  public String getRabbitInfoVirtualHost() {
+    return this.rabbitInfoVHost;
+  }
+
+  /**
+   * Sets the RabbitMQ virtual host for the "info" queue.  This is part of the
+   * info queue configuration to push "info" messages when records are loaded
+   * or deleted or entities are reevaluated.
+   *
+   * @param virtualHost The RabbitMQ virtual host for the "info" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitInfoVirtualHost(String virtualHost) {
+    this.rabbitInfoVHost = virtualHost;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ exchange for the "info" queue.  This is part of
+   * the info queue configuration to push "info" messages when records are
+   * loaded or deleted or entities are reevaluated.
+   *
+   * @return The RabbitMQ exchange for the "info" queue.
+   */
+  public String getRabbitInfoExchange() {
+    return this.rabbitInfoExchange;
+  }
+
+  /**
+   * Sets the RabbitMQ exchange for the "info" queue.  This is part of the
+   * info queue configuration to push "info" messages when records are loaded
+   * or deleted or entities are reevaluated.
+   *
+   * @param exchange The RabbitMQ exchange for the "info" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitInfoExchange(String exchange) {
+    this.rabbitInfoExchange = exchange;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ routing key for the "info" queue.  This is part of
+   * the info queue configuration to push "info" messages when records are
+   * loaded or deleted or entities are reevaluated.
+   *
+   * @return The RabbitMQ routing key for the "info" queue.
+   */
+  public String getRabbitInfoRoutingKey() {
+    return this.rabbitInfoRoutingKey;
+  }
+
+  /**
+   * Sets the RabbitMQ routing key for the "info" queue.  This is part of the
+   * info queue configuration to push "info" messages when records are loaded
+   * or deleted or entities are reevaluated.
+   *
+   * @param routingKey The RabbitMQ routing key for the "info" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitInfoRoutingKey(String routingKey) {
+    this.rabbitInfoRoutingKey = routingKey;
+    return this;
+  }
+
+  /**
+   * Returns the SQS URL for the "info" queue.  This is part of
+   * the info queue configuration to push "info" messages when records are
+   * loaded or deleted or entities are reevaluated.
+   *
+   * @return The SQS URL for the "info" queue.
+   */
+  public String getSqsInfoUrl() {
+    return sqsInfoUrl;
+  }
+
+  /**
+   * Sets the SQS URL for the "info" queue.  This is part of the info queue
+   * configuration to push "info" messages when records are loaded or deleted
+   * or entities are reevaluated.
+   *
+   * @param url The SQS URL for the "info" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setSqsInfoUrl(String url) {
+    this.sqsInfoUrl = url;
+    return this;
+  }
+
+  /**
+   * Returns the <tt>file:</tt> URL for the local directory to which "info"
+   * messages are written as newline-delimited JSON.  This is an alternative
+   * to an info queue for pushing "info" messages when records are loaded or
+   * deleted or entities are reevaluated.
+   *
+   * @return The <tt>file:</tt> URL for the "info" message directory.
+   */
+  public String getFileInfoUrl() {
+    return fileInfoUrl;
+  }
+
+  /**
+   * Sets the <tt>file:</tt> URL for the local directory to which "info"
+   * messages are written as newline-delimited JSON.  This is an alternative
+   * to an info queue for pushing "info" messages when records are loaded or
+   * deleted or entities are reevaluated.
+   *
+   * @param url The <tt>file:</tt> URL for the "info" message directory.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setFileInfoUrl(String url) {
+    this.fileInfoUrl = url;
+    return this;
+  }
+
+  /**
+   * Gets the maximum number of record messages from the ingest queue that are
+   * processed concurrently.  If the value has not been {@linkplain
+   * #setIngestConcurrency(Integer) explicitly set} then {@link
+   * SzApiServerConstants#DEFAULT_INGEST_CONCURRENCY} is returned.
+   *
+   * @return The maximum number of record messages from the ingest queue that
+   *         are processed concurrently.
+   */
+  public int getIngestConcurrency() {
+    return this.ingestConcurrency;
+  }
+
+  /**
+   * Sets the maximum number of record messages from the ingest queue that are
+   * processed concurrently.  Set to <tt>null</tt> to use the {@linkplain
+   * SzApiServerConstants#DEFAULT_INGEST_CONCURRENCY default}.
+   *
+   * @param concurrency The maximum number of record messages from the ingest
+   *                    queue that are processed concurrently, or
+   *                    <tt>null</tt> for the default.
+   *
+   * @return A reference to this instance.
+   *
+   * @throws IllegalArgumentException If the specified concurrency is not
+   *                                  positive.
+   */
+  public SzApiServerOptions setIngestConcurrency(Integer concurrency) {
+    if (concurrency != null && concurrency <= 0) {
+      throw new IllegalArgumentException(
+          "The ingest concurrency must be positive: " + concurrency);
+    }
+    this.ingestConcurrency = (concurrency != null)
+        ? concurrency : DEFAULT_INGEST_CONCURRENCY;
+    return this;
+  }
+
+  /**
+   * Gets the maximum number of attempts to process a record message from the
+   * ingest queue before it is routed to the dead-letter destination.  If the
+   * value has not been {@linkplain #setIngestMaxAttempts(Integer) explicitly
+   * set} then {@link SzApiServerConstants#DEFAULT_INGEST_MAX_ATTEMPTS} is
+   * returned.
+   *
+   * @return The maximum number of attempts to process a record message from
+   *         the ingest queue.
+   */
+  public int getIngestMaxAttempts() {
+    return this.ingestMaxAttempts;
+  }
+
+  /**
+   * Sets the maximum number of attempts to process a record message from the
+   * ingest queue before it is routed to the dead-letter destination.  Set to
+   * <tt>null</tt> to use the {@linkplain
+   * SzApiServerConstants#DEFAULT_INGEST_MAX_ATTEMPTS default}.
+   *
+   * @param attempts The maximum number of attempts to process a record
+   *                 message from the ingest queue, or <tt>null</tt> for the
+   *                 default.
+   *
+   * @return A reference to this instance.
+   *
+   * @throws IllegalArgumentException If the specified number of attempts is
+   *                                  not positive.
+   */
+  public SzApiServerOptions setIngestMaxAttempts(Integer attempts) {
+    if (attempts != null && attempts <= 0) {
+      throw new IllegalArgumentException(
+          "The ingest maximum attempts must be positive: " + attempts);
+    }
+    this.ingestMaxAttempts = (attempts != null)
+        ? attempts : DEFAULT_INGEST_MAX_ATTEMPTS;
+    return this;
+  }
+
+  /**
+   * Returns the Kafka bootstrap servers for the "ingest" topic.  This is part
+   * of the ingest queue configuration to consume record messages to be loaded
+   * or deleted.
+   *
+   * @return The Kafka bootstrap servers for the "ingest" topic.
+   */
+  public String getKafkaIngestBootstrapServers() {
+    return this.kafkaIngestServers;
+  }
+
+  /**
+   * Sets the Kafka bootstrap servers for the "ingest" topic.  This is part of
+   * the ingest queue configuration to consume record messages to be loaded or
+   * deleted.
+   *
+   * @param servers The Kafka bootstrap servers for the "ingest" topic.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaIngestBootstrapServers(String servers) {
+    this.kafkaIngestServers = servers;
+    return this;
+  }
+
+  /**
+   * Returns the Kafka consumer group ID for the "ingest" topic.  This is part
+   * of the ingest queue configuration to consume record messages to be loaded
+   * or deleted.
+   *
+   * @return The Kafka consumer group ID for the "ingest" topic.
+   */
+  public String getKafkaIngestGroupId() {
+    return this.kafkaIngestGroupId;
+  }
+
+  /**
+   * Sets the Kafka consumer group ID for the "ingest" topic.  This is part of
+   * the ingest queue configuration to consume record messages to be loaded or
+   * deleted.
+   *
+   * @param groupId The Kafka consumer group ID for the "ingest" topic.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaIngestGroupId(String groupId) {
+    this.kafkaIngestGroupId = groupId;
+    return this;
+  }
+
+  /**
+   * Returns the Kafka topic for the "ingest" topic.  This is part of the ingest
+   * queue configuration to consume record messages to be loaded or deleted.
+   *
+   * @return The Kafka topic for the "ingest" topic.
+   */
+  public String getKafkaIngestTopic() {
+    return this.kafkaIngestTopic;
+  }
+
+  /**
+   * Sets the Kafka topic for the "ingest" topic.  This is part of the ingest
+   * queue configuration to consume record messages to be loaded or deleted.
+   *
+   * @param topic The Kafka topic for the "ingest" topic.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaIngestTopic(String topic) {
+    this.kafkaIngestTopic = topic;
+    return this;
+  }
+
+  /**
+   * Returns the optional Kafka topic to which "ingest" record messages that
+   * cannot be processed are routed.  This is part of the ingest queue
+   * configuration to consume record messages to be loaded or deleted.
+   *
+   * @return The optional Kafka topic to which "ingest" record messages that
+   *         cannot be processed are routed.
+   */
+  public String getKafkaIngestDeadLetterTopic() {
+    return this.kafkaIngestDLTopic;
+  }
+
+  /**
+   * Sets the optional Kafka topic to which "ingest" record messages that cannot
+   * be processed are routed.  This is part of the ingest queue configuration to
+   * consume record messages to be loaded or deleted.
+   *
+   * @param topic The optional Kafka topic to which "ingest" record messages
+   *              that cannot be processed are routed.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setKafkaIngestDeadLetterTopic(String topic) {
+    this.kafkaIngestDLTopic = topic;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ user name for the "ingest" queue.  This is part of the
+   * ingest queue configuration to consume record messages to be loaded or
+   * deleted.
+   *
+   * @return The RabbitMQ user name for the "ingest" queue.
+   */
+  public String getRabbitIngestUser() {
+    return this.rabbitIngestUser;
+  }
+
+  /**
+   * Sets the RabbitMQ user name for the "ingest" queue.  This is part of the
+   * ingest queue configuration to consume record messages to be loaded or
+   * deleted.
+   *
+   * @param user The RabbitMQ user name for the "ingest" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitIngestUser(String user) {
+    this.rabbitIngestUser = user;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ password for the "ingest" queue.  This is part of the
+   * ingest queue configuration to consume record messages to be loaded or
+   * deleted.
+   *
+   * @return The RabbitMQ password for the "ingest" queue.
+   */
+  public String getRabbitIngestPassword() {
+    return this.rabbitIngestPassword;
+  }
+
+  /**
+   * Sets the RabbitMQ password for the "ingest" queue.  This is part of the
+   * ingest queue configuration to consume record messages to be loaded or
+   * deleted.
+   *
+   * @param password The RabbitMQ password for the "ingest" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitIngestPassword(String password) {
+    this.rabbitIngestPassword = password;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ host for the "ingest" queue.  This is part of the
+   * ingest queue configuration to consume record messages to be loaded or
+   * deleted.
+   *
+   * @return The RabbitMQ host for the "ingest" queue.
+   */
+  public String getRabbitIngestHost() {
+    return this.rabbitIngestHost;
+  }
+
+  /**
+   * Sets the RabbitMQ host for the "ingest" queue.  This is part of the ingest
+   * queue configuration to consume record messages to be loaded or deleted.
+   *
+   * @param host The RabbitMQ host for the "ingest" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitIngestHost(String host) {
+    this.rabbitIngestHost = host;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ port for the "ingest" queue.  This is part of the
+   * ingest queue configuration to consume record messages to be loaded or
+   * deleted.
+   *
+   * @return The RabbitMQ port for the "ingest" queue.
+   */
+  public Integer getRabbitIngestPort() {
+    return this.rabbitIngestPort;
+  }
+
+  /**
+   * Sets the RabbitMQ port for the "ingest" queue.  This is part of the ingest
+   * queue configuration to consume record messages to be loaded or deleted.
+   *
+   * @param port The RabbitMQ port for the "ingest" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitIngestPort(Integer port) {
+    this.rabbitIngestPort = port;
+    return this;
+  }
+
+  /**
+   * Returns the RabbitMQ virtual host for the "ingest" queue.  This is part of
+   * the ingest queue configuration to consume record messages to be loaded or
+   * deleted.
+   *
+   * @return The RabbitMQ virtual host for the "ingest" queue.
+   */
+  public String getRabbitIngestVirtualHost() {
+    return this.rabbitIngestVHost;
+  }
+
+  /**
+   * Sets the RabbitMQ virtual host for the "ingest" queue.  This is part of the
+   * ingest queue configuration to consume record messages to be loaded or
+   * deleted.
+   *
+   * @param virtualHost The RabbitMQ virtual host for the "ingest" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitIngestVirtualHost(String virtualHost) {
+    this.rabbitIngestVHost = virtualHost;
+    return this;
+  }
+
+  /**
+   * Returns the name of the RabbitMQ "ingest" queue.  This is part of the
+   * ingest queue configuration to consume record messages to be loaded or
+   * deleted.
+   *
+   * @return The name of the RabbitMQ "ingest" queue.
+   */
+  public String getRabbitIngestQueue() {
+    return this.rabbitIngestQueue;
+  }
+
+  /**
+   * Sets the name of the RabbitMQ "ingest" queue.  This is part of the ingest
+   * queue configuration to consume record messages to be loaded or deleted.
+   *
+   * @param queue The name of the RabbitMQ "ingest" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitIngestQueue(String queue) {
+    this.rabbitIngestQueue = queue;
+    return this;
+  }
+
+  /**
+   * Returns the optional RabbitMQ exchange to which "ingest" record messages
+   * that cannot be processed are routed.  This is part of the ingest queue
+   * configuration to consume record messages to be loaded or deleted.
+   *
+   * @return The optional RabbitMQ exchange to which "ingest" record messages
+   *         that cannot be processed are routed.
+   */
+  public String getRabbitIngestDeadLetterExchange() {
+    return this.rabbitIngestDLExchange;
+  }
+
+  /**
+   * Sets the optional RabbitMQ exchange to which "ingest" record messages that
+   * cannot be processed are routed.  This is part of the ingest queue
+   * configuration to consume record messages to be loaded or deleted.
+   *
+   * @param exchange The optional RabbitMQ exchange to which "ingest" record
+   *                 messages that cannot be processed are routed.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitIngestDeadLetterExchange(String exchange) {
+    this.rabbitIngestDLExchange = exchange;
+    return this;
+  }
+
+  /**
+   * Returns the optional RabbitMQ routing key with which "ingest" record
+   * messages that cannot be processed are routed.  This is part of the ingest
+   * queue configuration to consume record messages to be loaded or deleted.
+   *
+   * @return The optional RabbitMQ routing key with which "ingest" record
+   *         messages that cannot be processed are routed.
+   */
+  public String getRabbitIngestDeadLetterRoutingKey() {
+    return this.rabbitIngestDLRoutingKey;
+  }
+
+  /**
+   * Sets the optional RabbitMQ routing key with which "ingest" record messages
+   * that cannot be processed are routed.  This is part of the ingest queue
+   * configuration to consume record messages to be loaded or deleted.
+   *
+   * @param routingKey The optional RabbitMQ routing key with which "ingest"
+   *                   record messages that cannot be processed are routed.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setRabbitIngestDeadLetterRoutingKey(
+      String routingKey)
+  {
+    this.rabbitIngestDLRoutingKey = routingKey;
+    return this;
+  }
+
+  /**
+   * Returns the SQS URL for the "ingest" queue.  This is part of the ingest
+   * queue configuration to consume record messages to be loaded or deleted.
+   *
+   * @return The SQS URL for the "ingest" queue.
+   */
+  public String getSqsIngestUrl() {
+    return this.sqsIngestUrl;
+  }
+
+  /**
+   * Sets the SQS URL for the "ingest" queue.  This is part of the ingest queue
+   * configuration to consume record messages to be loaded or deleted.
+   *
+   * @param url The SQS URL for the "ingest" queue.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setSqsIngestUrl(String url) {
+    this.sqsIngestUrl = url;
+    return this;
+  }
+
+  /**
+   * Returns the optional SQS URL to which "ingest" record messages that cannot
+   * be processed are routed.  This is part of the ingest queue configuration to
+   * consume record messages to be loaded or deleted.
+   *
+   * @return The optional SQS URL to which "ingest" record messages that cannot
+   *         be processed are routed.
+   */
+  public String getSqsIngestDeadLetterUrl() {
+    return this.sqsIngestDLUrl;
+  }
+
+  /**
+   * Sets the optional SQS URL to which "ingest" record messages that cannot be
+   * processed are routed.  This is part of the ingest queue configuration to
+   * consume record messages to be loaded or deleted.
+   *
+   * @param url The optional SQS URL to which "ingest" record messages that
+   *            cannot be processed are routed.
+   *
+   * @return A reference to this instance.
+   */
+  public SzApiServerOptions setSqsIngestDeadLetterUrl(String url) {
+    this.sqsIngestDLUrl = url;
     return this;
   }
 
@@ -1033,6 +2361,7 @@ public class SzApiServerOptions {
     put(map, CLIENT_KEY_STORE_PASSWORD,    this.getClientKeyStorePassword());
     put(map, URL_BASE_PATH,                this.getUrlBasePath());
     put(map, CONCURRENCY,                  this.getConcurrency());
+    put(map, MIN_LOAD_CONCURRENCY,         this.getMinLoadConcurrency());
     put(map, HTTP_CONCURRENCY,             this.getHttpConcurrency());
     put(map, MODULE_NAME,                  this.getModuleName());
     put(map, VERBOSE,                      this.isVerbose());
@@ -1047,9 +2376,40 @@ public class SzApiServerOptions {
     put(map, STATS_INTERVAL,               this.getStatsInterval());
     put(map, SKIP_STARTUP_PERF,            this.isSkippingStartupPerformance());
     put(map, SKIP_ENGINE_PRIMING,          this.isSkippingEnginePriming());
+    put(map, SKIP_UNCHANGED_RECORDS,       this.isSkippingUnchangedRecords());
+    put(map, RESET_RECORD_FINGERPRINTS,
+        this.isResettingRecordFingerprints() ? Boolean.TRUE : null);
+    put(map, LOAD_AFFINITY_KEY,            this.getLoadAffinityKeys());
+    put(map, LOAD_AFFINITY_BENCHMARK,      this.isBenchmarkingLoadAffinity());
+    put(map, LOAD_MAX_RETRIES,             this.getLoadMaxRetries());
+    put(map, EXPORT_CONCURRENCY,           this.getExportConcurrency());
+    put(map, REDO_THREADS,                 this.getRedoThreads());
+    put(map, INFO_PUBLISH_CAPACITY,        this.getInfoPublishCapacity());
+    put(map, INFO_PUBLISH_OVERFLOW,        this.getInfoPublishOverflow());
+    put(map, INFO_PUBLISH_THREADS,         this.getInfoPublishThreads());
+    put(map, INFO_SPOOL_DIR,               this.getInfoSpoolDirectory());
+    put(map, INFO_SPOOL_SEGMENT_SIZE,      this.getInfoSpoolSegmentSize());
+    put(map, INFO_AGGREGATE_COUNT,         this.getInfoAggregateCount());
+    put(map, INFO_AGGREGATE_WINDOW,        this.getInfoAggregateWindow());
+    put(map, INFO_AGGREGATE_GZIP,
+        this.isInfoAggregateGzip() ? Boolean.TRUE : null);
+    put(map, CHANGE_FEED_CAPACITY,         this.getChangeFeedCapacity());
+    put(map, REPOSITORY_STATS,
+        this.isMaintainingRepositoryStats() ? Boolean.TRUE : null);
+    put(map, REPOSITORY_STATS_SNAPSHOT_PERIOD,
+        this.getRepositoryStatsSnapshotPeriod());
     put(map, KAFKA_INFO_BOOTSTRAP_SERVER,  this.getKafkaInfoBootstrapServers());
     put(map, KAFKA_INFO_GROUP,             this.getKafkaInfoGroupId());
     put(map, KAFKA_INFO_TOPIC,             this.getKafkaInfoTopic());
+    put(map, KAFKA_INFO_ACKS,              this.getKafkaInfoAcks());
+    put(map, KAFKA_INFO_BATCH_SIZE,        this.getKafkaInfoBatchSize());
+    put(map, KAFKA_INFO_LINGER,            this.getKafkaInfoLingerMillis());
+    put(map, KAFKA_INFO_COMPRESSION,       this.getKafkaInfoCompression());
+    put(map, KAFKA_INFO_MAX_IN_FLIGHT,     this.getKafkaInfoMaxInFlight());
+    put(map, KAFKA_INFO_KEY_BY_ENTITY,
+        this.isKafkaInfoKeyByEntity() ? Boolean.TRUE : null);
+    put(map, KAFKA_INFO_PRODUCER_PROPERTIES,
+        this.getKafkaInfoProducerProperties());
     put(map, RABBIT_INFO_USER,             this.getRabbitInfoUser());
     put(map, RABBIT_INFO_PASSWORD,         this.getRabbitInfoPassword());
     put(map, RABBIT_INFO_HOST,             this.getRabbitInfoHost());
@@ -1058,6 +2418,27 @@ public class SzApiServerOptions {
     put(map, RABBIT_INFO_EXCHANGE,         this.getRabbitInfoExchange());
     put(map, RABBIT_INFO_ROUTING_KEY,      this.getRabbitInfoRoutingKey());
     put(map, SQS_INFO_URL,                 this.getSqsInfoUrl());
+    put(map, FILE_INFO_URL,                this.getFileInfoUrl());
+    put(map, INGEST_CONCURRENCY,           this.getIngestConcurrency());
+    put(map, INGEST_MAX_ATTEMPTS,          this.getIngestMaxAttempts());
+    put(map, KAFKA_INGEST_BOOTSTRAP_SERVER,
+        this.getKafkaIngestBootstrapServers());
+    put(map, KAFKA_INGEST_GROUP,           this.getKafkaIngestGroupId());
+    put(map, KAFKA_INGEST_TOPIC,           this.getKafkaIngestTopic());
+    put(map, KAFKA_INGEST_DEAD_LETTER_TOPIC,
+        this.getKafkaIngestDeadLetterTopic());
+    put(map, RABBIT_INGEST_USER,           this.getRabbitIngestUser());
+    put(map, RABBIT_INGEST_PASSWORD,       this.getRabbitIngestPassword());
+    put(map, RABBIT_INGEST_HOST,           this.getRabbitIngestHost());
+    put(map, RABBIT_INGEST_PORT,           this.getRabbitIngestPort());
+    put(map, RABBIT_INGEST_VIRTUAL_HOST,   this.getRabbitIngestVirtualHost());
+    put(map, RABBIT_INGEST_QUEUE,          this.getRabbitIngestQueue());
+    put(map, RABBIT_INGEST_DEAD_LETTER_EXCHANGE,
+        this.getRabbitIngestDeadLetterExchange());
+    put(map, RABBIT_INGEST_DEAD_LETTER_ROUTING_KEY,
+        this.getRabbitIngestDeadLetterRoutingKey());
+    put(map, SQS_INGEST_URL,               this.getSqsIngestUrl());
+    put(map, SQS_INGEST_DEAD_LETTER_URL,   this.getSqsIngestDeadLetterUrl());
     return map;
   }
 
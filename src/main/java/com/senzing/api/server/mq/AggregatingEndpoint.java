@@ -0,0 +1,664 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.model.SzInfoAggregatorStats;
+import com.senzing.api.services.ServicesUtil;
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink;
+import com.senzing.util.JsonUtils;
+
+import javax.json.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.zip.GZIPOutputStream;
+
+import static com.senzing.api.services.ServicesUtil.INFO_OPERATION_PROPERTY;
+import static com.senzing.io.IOUtilities.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Provides an {@link SzMessagingEndpoint} that packs info messages into
+ * aggregate messages before sending them to the underlying {@link
+ * SzMessagingEndpoint}, so that a bulk load sends one message for many
+ * records rather than one message per record.  Info messages are accumulated
+ * until there are {@linkplain #getMaxCount() the maximum number} of them, the
+ * first of them has waited {@linkplain #getWindowMillis() the window period}
+ * or the accumulated bodies reach {@link #MAX_AGGREGATE_BYTES} bytes.  The
+ * body of an aggregate message is a JSON object of the form:
+ * <pre>
+ *   {
+ *     "INFO_COUNT": 2,
+ *     "RECORDS": [
+ *       { "DATA_SOURCE": "TEST", "RECORD_ID": "ABC", ... },
+ *       { "DATA_SOURCE": "TEST", "RECORD_ID": "DEF", ... }
+ *     ],
+ *     "AFFECTED_ENTITIES": [
+ *       { "ENTITY_ID": 1, ... },
+ *       { "ENTITY_ID": 2, ... }
+ *     ]
+ *   }
+ * </pre>
+ * Each element of <tt>"RECORDS"</tt> holds the fields of an info message
+ * other than its <tt>"AFFECTED_ENTITIES"</tt>, which are merged across all of
+ * the info messages with duplicates removed.  If configured to compress then
+ * the body is instead the Base64 encoding of the gzip-compressed JSON text.
+ * The {@link #FORMAT_PROPERTY} message property of an aggregate message is
+ * set to {@link #BATCH_FORMAT} or {@link #GZIP_BATCH_FORMAT} so consumers can
+ * tell how to read the body.
+ * <p>
+ * Only info messages with the same {@link
+ * ServicesUtil#INFO_OPERATION_PROPERTY} are packed into the same aggregate
+ * message, which carries that property.  An info message whose operation
+ * differs from that of the accumulated info messages causes them to be sent
+ * and starts a new aggregate.  Messages that have any other message
+ * properties or whose bodies are not JSON objects are sent as they are,
+ * after any accumulated info messages.  Since info
+ * messages are sent after they have been accumulated, failures to send them
+ * are reported to the {@link FailureHandler} for each info message in the
+ * failed aggregate message rather than thrown.
+ */
+public class AggregatingEndpoint extends SzAbstractMessagingEndpoint {
+  /**
+   * The message property that identifies the format of an aggregate message
+   * body.  The value is {@value}.
+   */
+  public static final String FORMAT_PROPERTY = "info-format";
+
+  /**
+   * The {@link #FORMAT_PROPERTY} value for an aggregate message body that is
+   * JSON text.  The value is {@value}.
+   */
+  public static final String BATCH_FORMAT = "batch";
+
+  /**
+   * The {@link #FORMAT_PROPERTY} value for an aggregate message body that is
+   * the Base64 encoding of gzip-compressed JSON text.  The value is {@value}.
+   */
+  public static final String GZIP_BATCH_FORMAT = "batch+gzip+base64";
+
+  /**
+   * The maximum number of bytes ({@value}) in the bodies of the info messages
+   * packed into a single aggregate message.  This keeps the aggregate
+   * messages within the message size limits of the supported brokers.
+   */
+  public static final int MAX_AGGREGATE_BYTES = 192 * 1024;
+
+  /**
+   * The field of the aggregate message holding the number of info messages.
+   */
+  private static final String INFO_COUNT_KEY = "INFO_COUNT";
+
+  /**
+   * The field of the aggregate message holding the records.
+   */
+  private static final String RECORDS_KEY = "RECORDS";
+
+  /**
+   * The field of the info messages and the aggregate message holding the
+   * affected entities.
+   */
+  private static final String AFFECTED_ENTITIES_KEY = "AFFECTED_ENTITIES";
+
+  /**
+   * Pairs an accumulated info message with its parsed body and the {@link
+   * FailureHandler} it was sent with.
+   */
+  private static class Pending {
+    /**
+     * The {@link SzMessage} that was sent.
+     */
+    private SzMessage message;
+
+    /**
+     * The parsed body of the message.
+     */
+    private JsonObject jsonObject;
+
+    /**
+     * The number of bytes in the body of the message.
+     */
+    private int size;
+
+    /**
+     * The {@link FailureHandler} to notify if the message fails to send, or
+     * <tt>null</tt> if none.
+     */
+    private FailureHandler onFailure;
+
+    /**
+     * Constructs with the specified parameters.
+     *
+     * @param message The {@link SzMessage} that was sent.
+     * @param jsonObject The parsed body of the message.
+     * @param size The number of bytes in the body of the message.
+     * @param onFailure The {@link FailureHandler} to notify if the message
+     *                  fails to send, or <tt>null</tt> if none.
+     */
+    private Pending(SzMessage       message,
+                    JsonObject      jsonObject,
+                    int             size,
+                    FailureHandler  onFailure)
+    {
+      this.message    = message;
+      this.jsonObject = jsonObject;
+      this.size       = size;
+      this.onFailure  = onFailure;
+    }
+  }
+
+  /**
+   * The underlying {@link SzMessagingEndpoint} to send to.
+   */
+  private SzMessagingEndpoint target;
+
+  /**
+   * The maximum number of info messages in an aggregate message.
+   */
+  private int maxCount;
+
+  /**
+   * The maximum number of milliseconds an info message waits to be sent.
+   */
+  private long windowMillis;
+
+  /**
+   * Whether or not the aggregate message bodies are compressed.
+   */
+  private boolean compress;
+
+  /**
+   * The {@link ScheduledExecutorService} for sending the accumulated info
+   * messages once the window period has elapsed.
+   */
+  private ScheduledExecutorService windowService;
+
+  /**
+   * The {@link List} of {@link Pending} info messages currently being
+   * accumulated.  All access to the accumulated messages and the statistics
+   * is synchronized on this instance.
+   */
+  private final List<Pending> pending = new ArrayList<>();
+
+  /**
+   * The number of bytes in the bodies of the accumulated info messages.
+   */
+  private int pendingBytes = 0;
+
+  /**
+   * The number of aggregates that have been started, which identifies the
+   * aggregate currently being accumulated for the window task.
+   */
+  private long aggregateNumber = 0L;
+
+  /**
+   * The number of info messages that have been packed into aggregates.
+   */
+  private long aggregatedCount = 0L;
+
+  /**
+   * The number of aggregate messages that have been sent.
+   */
+  private long aggregateCount = 0L;
+
+  /**
+   * The number of messages that were sent as they were.
+   */
+  private long passedThroughCount = 0L;
+
+  /**
+   * The number of info messages in aggregate messages that failed to send.
+   */
+  private long failedCount = 0L;
+
+  /**
+   * The number of bytes in the bodies of the aggregated info messages.
+   */
+  private long inputBytes = 0L;
+
+  /**
+   * The number of bytes in the bodies of the aggregate messages.
+   */
+  private long outputBytes = 0L;
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param target The underlying {@link SzMessagingEndpoint} to send to.
+   * @param maxCount The maximum number of info messages to pack into a
+   *                 single aggregate message.
+   * @param windowMillis The maximum number of milliseconds that an info
+   *                     message waits for more info messages to join its
+   *                     aggregate message.
+   * @param compress <tt>true</tt> if the aggregate message bodies should be
+   *                 gzip-compressed, otherwise <tt>false</tt>.
+   */
+  public AggregatingEndpoint(SzMessagingEndpoint  target,
+                             int                  maxCount,
+                             long                 windowMillis,
+                             boolean              compress)
+  {
+    if (maxCount < 2) {
+      throw new IllegalArgumentException(
+          "The maximum aggregate count must be at least 2: " + maxCount);
+    }
+    if (windowMillis <= 0L) {
+      throw new IllegalArgumentException(
+          "The aggregate window must be positive: " + windowMillis);
+    }
+    this.target         = target;
+    this.maxCount       = maxCount;
+    this.windowMillis   = windowMillis;
+    this.compress       = compress;
+    this.windowService  = Executors.newSingleThreadScheduledExecutor(
+        runnable -> {
+          Thread thread = new Thread(runnable, "info-aggregate-window");
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  /**
+   * Gets the maximum number of info messages to pack into a single aggregate
+   * message.
+   *
+   * @return The maximum number of info messages to pack into a single
+   *         aggregate message.
+   */
+  public int getMaxCount() {
+    return this.maxCount;
+  }
+
+  /**
+   * Gets the maximum number of milliseconds that an info message waits for
+   * more info messages to join its aggregate message.
+   *
+   * @return The maximum number of milliseconds that an info message waits
+   *         for more info messages to join its aggregate message.
+   */
+  public long getWindowMillis() {
+    return this.windowMillis;
+  }
+
+  /**
+   * Adds the specified message to the aggregate being accumulated, sending
+   * the aggregate if it is full.  A message that cannot be aggregated is
+   * sent as it is.
+   *
+   * @param message The {@link SzMessage} to be sent.
+   * @param onFailure The function to call upon failure to send the message,
+   *                  or <tt>null</tt> if none.
+   * @throws Exception If a message that cannot be aggregated fails to send.
+   */
+  @Override
+  public void send(SzMessage message, FailureHandler onFailure)
+      throws Exception
+  {
+    this.sendBatch(List.of(message), onFailure);
+  }
+
+  /**
+   * Adds the specified messages to the aggregate being accumulated, sending
+   * each aggregate as it fills.  Unlike other endpoints this does not send
+   * the final partial aggregate right away since the batches handed to this
+   * endpoint are typically far smaller than the aggregates.  Messages that
+   * cannot be aggregated are sent as they are.
+   *
+   * @param messages The {@link List} of {@link SzMessage} instances to be
+   *                 sent.
+   * @param onFailure The function to call for each message that fails to
+   *                  send, or <tt>null</tt> if none.
+   * @throws Exception If a message that cannot be aggregated fails to send.
+   */
+  @Override
+  public void sendBatch(List<SzMessage> messages, FailureHandler onFailure)
+      throws Exception
+  {
+    for (SzMessage message : messages) {
+      JsonObject jsonObject = parseInfo(message);
+      if (jsonObject == null) {
+        // send the accumulated messages first to preserve the order
+        this.flush();
+        this.passThrough(message, onFailure);
+        continue;
+      }
+
+      Pending entry = new Pending(
+          message, jsonObject, utf8Length(message.getBody()), onFailure);
+      List<Pending> prior     = null;
+      List<Pending> aggregate = null;
+      synchronized (this.pending) {
+        // check if the message does not belong in the current aggregate
+        if (this.pending.size() > 0
+            && (this.pendingBytes + entry.size > MAX_AGGREGATE_BYTES
+                || !Objects.equals(getOperation(this.pending.get(0)),
+                                   getOperation(entry))))
+        {
+          prior = this.takePending();
+        }
+        this.pending.add(entry);
+        this.pendingBytes += entry.size;
+
+        // check if the aggregate is full or should wait for more messages
+        if (this.pending.size() >= this.maxCount) {
+          aggregate = this.takePending();
+
+        } else if (this.pending.size() == 1) {
+          long windowAggregate = this.aggregateNumber;
+          this.windowService.schedule(
+              () -> this.sendExpired(windowAggregate),
+              this.windowMillis, MILLISECONDS);
+        }
+      }
+      if (prior != null) this.sendAggregate(prior);
+      if (aggregate != null) this.sendAggregate(aggregate);
+    }
+  }
+
+  /**
+   * Parses the body of the specified message if it can be aggregated.
+   *
+   * @param message The {@link SzMessage} to parse.
+   * @return The parsed body of the message, or <tt>null</tt> if the message
+   *         cannot be aggregated because it has message properties other
+   *         than the info operation or its body is not a JSON object.
+   */
+  private static JsonObject parseInfo(SzMessage message) {
+    if (message.getBody() == null) return null;
+    Map<String, String> props = message.getProperties();
+    for (String key : props.keySet()) {
+      if (!INFO_OPERATION_PROPERTY.equals(key)) return null;
+    }
+    try {
+      return JsonUtils.parseJsonObject(message.getBody());
+
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  /**
+   * Gets the {@linkplain ServicesUtil#INFO_OPERATION_PROPERTY info operation}
+   * of the specified {@link Pending} info message.
+   *
+   * @param entry The {@link Pending} info message.
+   * @return The info operation of the message, or <tt>null</tt> if none.
+   */
+  private static String getOperation(Pending entry) {
+    return entry.message.getProperty(INFO_OPERATION_PROPERTY);
+  }
+
+  /**
+   * Gets the number of bytes in the UTF-8 encoding of the specified text.
+   *
+   * @param text The text to measure.
+   * @return The number of bytes in the UTF-8 encoding of the text.
+   */
+  private static int utf8Length(String text) {
+    try {
+      return text.getBytes(UTF_8).length;
+
+    } catch (UnsupportedEncodingException cannotHappen) {
+      throw new IllegalStateException(cannotHappen);
+    }
+  }
+
+  /**
+   * Removes and returns the info messages currently being accumulated and
+   * starts a new aggregate.  This must be called while synchronized on the
+   * pending messages.
+   *
+   * @return The {@link List} of {@link Pending} info messages that were
+   *         being accumulated.
+   */
+  private List<Pending> takePending() {
+    List<Pending> result = new ArrayList<>(this.pending);
+    this.pending.clear();
+    this.pendingBytes = 0;
+    this.aggregateNumber++;
+    return result;
+  }
+
+  /**
+   * Sends the aggregate currently being accumulated if it is the specified
+   * aggregate (i.e.: it has not already been sent because it filled up).
+   *
+   * @param windowAggregate The number of the aggregate whose window period
+   *                        has elapsed.
+   */
+  private void sendExpired(long windowAggregate) {
+    List<Pending> expired;
+    synchronized (this.pending) {
+      if (this.aggregateNumber != windowAggregate) return;
+      if (this.pending.size() == 0) return;
+      expired = this.takePending();
+    }
+    this.sendAggregate(expired);
+  }
+
+  /**
+   * Sends the aggregate currently being accumulated (if any) without waiting
+   * for more info messages.
+   */
+  private void flush() {
+    List<Pending> accumulated;
+    synchronized (this.pending) {
+      if (this.pending.size() == 0) return;
+      accumulated = this.takePending();
+    }
+    this.sendAggregate(accumulated);
+  }
+
+  /**
+   * Sends the specified message as it is to the underlying endpoint.
+   *
+   * @param message The {@link SzMessage} to send.
+   * @param onFailure The function to call upon failure to send the message,
+   *                  or <tt>null</tt> if none.
+   * @throws Exception If the message fails to send.
+   */
+  private void passThrough(SzMessage message, FailureHandler onFailure)
+      throws Exception
+  {
+    synchronized (this.pending) {
+      this.passedThroughCount++;
+    }
+    SzMessageSink sink = this.target.acquireMessageSink();
+    try {
+      sink.send(message, onFailure);
+
+    } finally {
+      this.target.releaseMessageSink(sink);
+    }
+  }
+
+  /**
+   * Packs the specified info messages into an aggregate message and sends it
+   * to the underlying endpoint.  If the aggregate message fails to send then
+   * the failure is reported for each of the info messages.
+   *
+   * @param entries The {@link List} of {@link Pending} info messages.
+   */
+  private void sendAggregate(List<Pending> entries) {
+    SzMessage aggregate;
+    try {
+      aggregate = this.aggregate(entries);
+
+    } catch (Exception e) {
+      this.fail(entries, e);
+      return;
+    }
+
+    // only report the first failure since the endpoint may both notify the
+    // failure handler and throw the exception
+    boolean[] failed = { false };
+    FailureHandler onFailure = (exception, message) -> {
+      synchronized (failed) {
+        if (failed[0]) return;
+        failed[0] = true;
+      }
+      this.fail(entries, exception);
+    };
+
+    SzMessageSink sink;
+    try {
+      sink = this.target.acquireMessageSink();
+
+    } catch (Exception e) {
+      this.fail(entries, e);
+      return;
+    }
+    try {
+      sink.send(aggregate, onFailure);
+
+    } catch (Exception e) {
+      try {
+        onFailure.handle(e, aggregate);
+      } catch (Exception ignore) {
+        // cannot happen since the handler does not throw
+      }
+
+    } finally {
+      this.target.releaseMessageSink(sink);
+    }
+  }
+
+  /**
+   * Packs the specified info messages into an aggregate message, merging the
+   * affected entities and compressing the body if configured to do so.  The
+   * aggregate message carries the info operation shared by the info
+   * messages.
+   *
+   * @param entries The {@link List} of {@link Pending} info messages.
+   * @return The aggregate {@link SzMessage}.
+   * @throws IOException If the body could not be compressed.
+   */
+  private SzMessage aggregate(List<Pending> entries) throws IOException {
+    JsonArrayBuilder        records   = Json.createArrayBuilder();
+    Map<String, JsonValue>  affected  = new LinkedHashMap<>();
+    int inputSize = 0;
+    for (Pending entry : entries) {
+      JsonObjectBuilder record = Json.createObjectBuilder();
+      entry.jsonObject.forEach((key, value) -> {
+        if (AFFECTED_ENTITIES_KEY.equals(key)
+            && value.getValueType() == JsonValue.ValueType.ARRAY)
+        {
+          for (JsonValue entity : value.asJsonArray()) {
+            affected.putIfAbsent(JsonUtils.toJsonText(entity), entity);
+          }
+        } else {
+          record.add(key, value);
+        }
+      });
+      records.add(record);
+      inputSize += entry.size;
+    }
+
+    JsonArrayBuilder entities = Json.createArrayBuilder();
+    affected.values().forEach(entities::add);
+
+    JsonObjectBuilder builder = Json.createObjectBuilder();
+    builder.add(INFO_COUNT_KEY, entries.size());
+    builder.add(RECORDS_KEY, records);
+    builder.add(AFFECTED_ENTITIES_KEY, entities);
+    String body = JsonUtils.toJsonText(builder);
+
+    SzMessage aggregate;
+    if (this.compress) {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      try (GZIPOutputStream gzip = new GZIPOutputStream(baos)) {
+        gzip.write(body.getBytes(UTF_8));
+      }
+      aggregate = new SzMessage(
+          Base64.getEncoder().encodeToString(baos.toByteArray()));
+      aggregate.setProperty(FORMAT_PROPERTY, GZIP_BATCH_FORMAT);
+
+    } else {
+      aggregate = new SzMessage(body);
+      aggregate.setProperty(FORMAT_PROPERTY, BATCH_FORMAT);
+    }
+    String operation = getOperation(entries.get(0));
+    if (operation != null) {
+      aggregate.setProperty(INFO_OPERATION_PROPERTY, operation);
+    }
+
+    synchronized (this.pending) {
+      this.aggregatedCount  += entries.size();
+      this.aggregateCount++;
+      this.inputBytes       += inputSize;
+      this.outputBytes      += utf8Length(aggregate.getBody());
+    }
+    return aggregate;
+  }
+
+  /**
+   * Reports the specified failure to the {@link FailureHandler} of each of
+   * the specified info messages.
+   *
+   * @param entries The {@link List} of {@link Pending} info messages.
+   * @param failure The {@link Exception} describing the failure.
+   */
+  private void fail(List<Pending> entries, Exception failure) {
+    synchronized (this.pending) {
+      this.failedCount += entries.size();
+    }
+    for (Pending entry : entries) {
+      if (entry.onFailure == null) continue;
+      try {
+        entry.onFailure.handle(failure, entry.message);
+
+      } catch (Exception e) {
+        e.printStackTrace();
+      }
+    }
+  }
+
+  /**
+   * Gets the {@link SzInfoAggregatorStats} describing the current state of
+   * this instance.
+   *
+   * @return The {@link SzInfoAggregatorStats} describing the current state
+   *         of this instance.
+   */
+  public SzInfoAggregatorStats getStats() {
+    SzInfoAggregatorStats stats = SzInfoAggregatorStats.FACTORY.create();
+    stats.setMaxCount(this.maxCount);
+    stats.setWindowMillis(this.windowMillis);
+    stats.setCompressed(this.compress);
+    synchronized (this.pending) {
+      stats.setPendingCount(this.pending.size());
+      stats.setAggregatedCount(this.aggregatedCount);
+      stats.setAggregateCount(this.aggregateCount);
+      stats.setPassedThroughCount(this.passedThroughCount);
+      stats.setFailedCount(this.failedCount);
+      stats.setInputBytes(this.inputBytes);
+      stats.setOutputBytes(this.outputBytes);
+    }
+    return stats;
+  }
+
+  @Override
+  public String getProviderType() {
+    return this.target.getProviderType();
+  }
+
+  @Override
+  public Integer getMessageCount() {
+    return this.target.getMessageCount();
+  }
+
+  /**
+   * Stops the window timer, sends the info messages that are still being
+   * accumulated and closes the underlying endpoint.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  @Override
+  protected void doClose() throws Exception {
+    this.windowService.shutdownNow();
+    this.flush();
+    this.target.close();
+  }
+}
@@ -0,0 +1,707 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.model.SzInfoPublisherStats;
+import com.senzing.api.model.SzOverflowPolicy;
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink;
+import com.senzing.util.JsonUtils;
+
+import javax.json.JsonObject;
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import static com.senzing.io.IOUtilities.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Provides an {@link SzMessagingEndpoint} that decouples the threads sending
+ * messages from the underlying {@link SzMessagingEndpoint}.  Sending a
+ * message only places it on a bounded in-process queue from which a
+ * dedicated publisher thread takes batches of messages and sends them via
+ * {@link SzMessageSink#sendBatch(List, FailureHandler)} on the underlying
+ * endpoint.  This keeps a slow broker from holding the engine threads that
+ * are loading records.  If there are multiple publisher threads then each
+ * has its own queue and the messages are partitioned among them by the
+ * <tt>DATA_SOURCE</tt> and <tt>RECORD_ID</tt> of the info message, so the
+ * messages for the same record are always published in the order they were
+ * sent.  What happens when a message is sent while its queue is full is
+ * determined by the {@link SzOverflowPolicy}.
+ */
+public class AsyncPublishingEndpoint extends SzAbstractMessagingEndpoint {
+  /**
+   * The maximum number of messages ({@value}) that are published in a single
+   * batch.
+   */
+  public static final int MAX_BATCH_SIZE = 10;
+
+  /**
+   * The number of milliseconds ({@value}) to wait for a message or for room
+   * in the queue before checking if the endpoint is closing.
+   */
+  private static final long POLL_TIMEOUT = 1000L;
+
+  /**
+   * The maximum number of milliseconds ({@value}) to wait for each publisher
+   * thread to publish the queued messages when closing.
+   */
+  private static final long DRAIN_TIMEOUT = 10000L;
+
+  /**
+   * The weight given to the latest batch when averaging the publish latency.
+   */
+  private static final double LATENCY_WEIGHT = 0.2;
+
+  /**
+   * Stands in for a <tt>null</tt> {@link FailureHandler} of a spilled message.
+   */
+  private static final FailureHandler NO_FAILURE_HANDLER = (e, message) -> {
+    // do nothing
+  };
+
+  /**
+   * Pairs a queued {@link SzMessage} with the {@link FailureHandler} it was
+   * sent with.
+   */
+  private static class Pending {
+    /**
+     * The {@link SzMessage} to publish.
+     */
+    private SzMessage message;
+
+    /**
+     * The {@link FailureHandler} to notify if the message fails to publish,
+     * or <tt>null</tt> if none.
+     */
+    private FailureHandler onFailure;
+
+    /**
+     * Constructs with the specified message and failure handler.
+     *
+     * @param message The {@link SzMessage} to publish.
+     * @param onFailure The {@link FailureHandler} to notify if the message
+     *                  fails to publish, or <tt>null</tt> if none.
+     */
+    private Pending(SzMessage message, FailureHandler onFailure) {
+      this.message    = message;
+      this.onFailure  = onFailure;
+    }
+  }
+
+  /**
+   * The underlying {@link SzMessagingEndpoint} to publish to.
+   */
+  private SzMessagingEndpoint target;
+
+  /**
+   * The {@link SzOverflowPolicy} for when the queue is full.
+   */
+  private SzOverflowPolicy overflowPolicy;
+
+  /**
+   * The maximum number of messages in the queues combined.
+   */
+  private int capacity;
+
+  /**
+   * The bounded queue of messages waiting to be published for each publisher
+   * thread.
+   */
+  private List<BlockingQueue<Pending>> queues;
+
+  /**
+   * The {@link SpillFile} to spill messages to when the queue is full, or
+   * <tt>null</tt> if not spilling.
+   */
+  private SpillFile spillFile;
+
+  /**
+   * The {@link List} of publisher threads.
+   */
+  private List<Thread> publishers;
+
+  /**
+   * Flag indicating if the publisher threads should stop once the queued
+   * messages have been published.
+   */
+  private volatile boolean stopping = false;
+
+  /**
+   * The number of messages that have been handed to the underlying
+   * endpoint, including those that then failed.
+   */
+  private long sentCount = 0L;
+
+  /**
+   * The number of messages that failed to publish.
+   */
+  private long failedCount = 0L;
+
+  /**
+   * The number of messages dropped because the queue was full.
+   */
+  private long droppedCount = 0L;
+
+  /**
+   * The number of messages spilled to disk because the queue was full.
+   */
+  private long spilledCount = 0L;
+
+  /**
+   * The number of batches that have been published.
+   */
+  private long batchCount = 0L;
+
+  /**
+   * The recent average number of milliseconds to publish a batch.
+   */
+  private double averagePublishMillis = 0.0;
+
+  /**
+   * The maximum number of milliseconds taken to publish a batch.
+   */
+  private long maxPublishMillis = 0L;
+
+  /**
+   * Constructs with the specified parameters and starts the publisher
+   * threads.
+   *
+   * @param target The underlying {@link SzMessagingEndpoint} to publish to.
+   * @param capacity The maximum number of messages in the queues combined,
+   *                 which is divided evenly among the publisher threads.
+   * @param overflowPolicy The {@link SzOverflowPolicy} for when a queue is
+   *                       full.
+   * @param publisherCount The number of publisher threads.
+   * @throws IOException If the overflow policy is {@link
+   *                     SzOverflowPolicy#SPILL} and the spill file could not
+   *                     be created.
+   */
+  public AsyncPublishingEndpoint(SzMessagingEndpoint  target,
+                                 int                  capacity,
+                                 SzOverflowPolicy     overflowPolicy,
+                                 int                  publisherCount)
+    throws IOException
+  {
+    this.target         = target;
+    this.capacity       = capacity;
+    this.overflowPolicy = overflowPolicy;
+    this.queues         = new ArrayList<>(publisherCount);
+    this.spillFile      = (overflowPolicy == SzOverflowPolicy.SPILL)
+        ? new SpillFile() : null;
+
+    int queueCapacity = Math.max(
+        1, (capacity + publisherCount - 1) / publisherCount);
+    this.publishers = new ArrayList<>(publisherCount);
+    for (int index = 0; index < publisherCount; index++) {
+      BlockingQueue<Pending> queue = new ArrayBlockingQueue<>(queueCapacity);
+      Thread thread = new Thread(() -> this.publish(queue),
+                                 "info-publisher-" + index);
+      thread.setDaemon(true);
+      this.queues.add(queue);
+      this.publishers.add(thread);
+    }
+    this.publishers.forEach(Thread::start);
+  }
+
+  /**
+   * Gets the queue for the publisher thread that publishes the specified
+   * message.  This is chosen by the <tt>DATA_SOURCE</tt> and
+   * <tt>RECORD_ID</tt> of the info message, and messages without them are
+   * all published by the first publisher thread.
+   *
+   * @param message The {@link SzMessage} to get the queue for.
+   * @return The queue for the publisher thread of the message.
+   */
+  private BlockingQueue<Pending> getQueue(SzMessage message) {
+    int count = this.queues.size();
+    if (count == 1 || message.getBody() == null) return this.queues.get(0);
+    String key;
+    try {
+      JsonObject info = JsonUtils.parseJsonObject(message.getBody());
+      key = JsonUtils.getString(info, "DATA_SOURCE") + ":"
+          + JsonUtils.getString(info, "RECORD_ID");
+    } catch (Exception e) {
+      return this.queues.get(0);
+    }
+    return this.queues.get(Math.floorMod(key.hashCode(), count));
+  }
+
+  /**
+   * Places the specified message on its queue to be published, handling a
+   * full queue according to the {@link SzOverflowPolicy}.
+   *
+   * @param message The {@link SzMessage} to be sent.
+   * @param onFailure The function to call upon failure to publish the
+   *                  message, or <tt>null</tt> if none.
+   * @throws Exception If the message could not be queued.
+   */
+  @Override
+  public void send(SzMessage message, FailureHandler onFailure)
+      throws Exception
+  {
+    Pending pending = new Pending(message, onFailure);
+    BlockingQueue<Pending> queue = this.getQueue(message);
+    switch (this.overflowPolicy) {
+      case DROP_OLDEST:
+        while (!queue.offer(pending)) {
+          Pending oldest = queue.poll();
+          if (oldest != null) this.drop(oldest);
+        }
+        break;
+
+      case SPILL:
+        synchronized (this.spillFile) {
+          // spill while earlier messages are spilled to preserve the order
+          if (this.spillFile.isEmpty() && queue.offer(pending)) break;
+          this.spillFile.append(pending);
+        }
+        synchronized (this) {
+          this.spilledCount++;
+        }
+        break;
+
+      default:
+        while (!queue.offer(pending, POLL_TIMEOUT, MILLISECONDS)) {
+          if (this.stopping) {
+            throw new IllegalStateException(
+                "Cannot publish message since the endpoint is closing.");
+          }
+        }
+    }
+  }
+
+  /**
+   * Handles dropping the specified queued message by notifying its failure
+   * handler (if any).
+   *
+   * @param pending The {@link Pending} message that was dropped.
+   */
+  private void drop(Pending pending) {
+    synchronized (this) {
+      this.droppedCount++;
+    }
+    if (pending.onFailure == null) return;
+    try {
+      pending.onFailure.handle(
+          new IllegalStateException(
+              "Message dropped since the publish queue is full."),
+          pending.message);
+
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * The body of the publisher threads, which take batches of messages from
+   * their queue and publish them until the endpoint is closing and there are
+   * no more messages.
+   *
+   * @param queue The queue for the publisher thread.
+   */
+  private void publish(BlockingQueue<Pending> queue) {
+    List<Pending> batch = new ArrayList<>(MAX_BATCH_SIZE);
+    while (true) {
+      try {
+        Pending first = queue.poll(POLL_TIMEOUT, MILLISECONDS);
+        if (first == null) {
+          // check if done publishing
+          if (this.refillFromSpill() == 0 && this.stopping
+              && (this.spillFile == null || this.isSpillEmpty()))
+          {
+            return;
+          }
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+        this.publishBatch(batch);
+
+      } catch (InterruptedException ignore) {
+        // ignore the interruption
+
+      } catch (Exception e) {
+        e.printStackTrace();
+
+      } finally {
+        batch.clear();
+      }
+
+      // move spilled messages into the room freed up in the queue
+      this.refillFromSpill();
+    }
+  }
+
+  /**
+   * Publishes the specified batch of messages on the underlying endpoint and
+   * records the latency.  Any failures are reported to the failure handlers
+   * of the affected messages.
+   *
+   * @param batch The {@link List} of {@link Pending} messages to publish.
+   */
+  private void publishBatch(List<Pending> batch) {
+    List<SzMessage> messages = new ArrayList<>(batch.size());
+    Map<SzMessage, FailureHandler> handlers = new IdentityHashMap<>();
+    for (Pending pending : batch) {
+      messages.add(pending.message);
+      if (pending.onFailure != null) {
+        handlers.put(pending.message, pending.onFailure);
+      }
+    }
+
+    // wrap the failure handlers to count the failures
+    FailureHandler onFailure = (exception, message) -> {
+      synchronized (this) {
+        this.failedCount++;
+      }
+      FailureHandler handler = handlers.get(message);
+      if (handler != null) handler.handle(exception, message);
+    };
+
+    long start = System.nanoTime();
+    SzMessageSink sink = null;
+    try {
+      sink = this.target.acquireMessageSink();
+
+    } catch (Exception e) {
+      // report every message in the batch as failed
+      this.recordBatch(messages.size(), 0L);
+      for (SzMessage message : messages) {
+        try {
+          onFailure.handle(e, message);
+        } catch (Exception ignore) {
+          // ignore
+        }
+      }
+      return;
+    }
+
+    try {
+      sink.sendBatch(messages, onFailure);
+
+    } catch (Exception ignore) {
+      // the failures were already reported to the failure handlers
+
+    } finally {
+      this.target.releaseMessageSink(sink);
+      long millis = (System.nanoTime() - start) / 1000000L;
+      this.recordBatch(messages.size(), millis);
+    }
+  }
+
+  /**
+   * Records the publishing of a batch of messages.
+   *
+   * @param messageCount The number of messages in the batch.
+   * @param millis The number of milliseconds taken to publish the batch.
+   */
+  private synchronized void recordBatch(int messageCount, long millis) {
+    this.sentCount += messageCount;
+    this.averagePublishMillis = (this.batchCount == 0L) ? millis
+        : ((1.0 - LATENCY_WEIGHT) * this.averagePublishMillis)
+          + (LATENCY_WEIGHT * millis);
+    this.batchCount++;
+    if (millis > this.maxPublishMillis) this.maxPublishMillis = millis;
+  }
+
+  /**
+   * Checks if there are no spilled messages waiting to be moved back to the
+   * queues.
+   *
+   * @return <tt>true</tt> if there are no spilled messages, otherwise
+   *         <tt>false</tt>.
+   */
+  private boolean isSpillEmpty() {
+    synchronized (this.spillFile) {
+      return this.spillFile.isEmpty();
+    }
+  }
+
+  /**
+   * Moves spilled messages back to their queues in the order they were
+   * spilled while there is room in the queue for the next message.
+   *
+   * @return The number of messages that were moved to the queues.
+   */
+  private int refillFromSpill() {
+    if (this.spillFile == null) return 0;
+    int count = 0;
+    synchronized (this.spillFile) {
+      try {
+        while (!this.spillFile.isEmpty()) {
+          Pending pending = this.spillFile.peek();
+          if (!this.getQueue(pending.message).offer(pending)) break;
+          this.spillFile.next();
+          count++;
+        }
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Gets the {@link SzInfoPublisherStats} describing the current state of
+   * this instance.
+   *
+   * @return The {@link SzInfoPublisherStats} describing the current state of
+   *         this instance.
+   */
+  public SzInfoPublisherStats getStats() {
+    long spillDepth = 0L;
+    if (this.spillFile != null) {
+      synchronized (this.spillFile) {
+        spillDepth = this.spillFile.size();
+      }
+    }
+    SzInfoPublisherStats stats = SzInfoPublisherStats.FACTORY.create();
+    stats.setOverflowPolicy(this.overflowPolicy);
+    stats.setPublisherCount(this.publishers.size());
+    stats.setQueueCapacity(this.capacity);
+    stats.setQueueDepth(this.getQueueDepth());
+    stats.setSpillDepth(spillDepth);
+    synchronized (this) {
+      stats.setPublishedCount(this.sentCount - this.failedCount);
+      stats.setFailedCount(this.failedCount);
+      stats.setDroppedCount(this.droppedCount);
+      stats.setSpilledCount(this.spilledCount);
+      stats.setBatchCount(this.batchCount);
+      stats.setAveragePublishMillis(this.averagePublishMillis);
+      stats.setMaxPublishMillis(this.maxPublishMillis);
+    }
+    return stats;
+  }
+
+  /**
+   * Gets the number of messages in the queues combined.
+   *
+   * @return The number of messages in the queues combined.
+   */
+  private int getQueueDepth() {
+    int depth = 0;
+    for (BlockingQueue<Pending> queue : this.queues) {
+      depth += queue.size();
+    }
+    return depth;
+  }
+
+  @Override
+  public String getProviderType() {
+    return this.target.getProviderType();
+  }
+
+  @Override
+  public Integer getMessageCount() {
+    return this.target.getMessageCount();
+  }
+
+  /**
+   * Stops the publisher threads once they have published the queued
+   * messages (waiting a limited time for them) and closes the underlying
+   * endpoint.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  @Override
+  protected void doClose() throws Exception {
+    this.stopping = true;
+    for (Thread publisher : this.publishers) {
+      try {
+        publisher.join(DRAIN_TIMEOUT);
+      } catch (InterruptedException ignore) {
+        // ignore
+      }
+    }
+
+    // report any messages that could not be published in time
+    int remaining = this.getQueueDepth();
+    if (this.spillFile != null) {
+      synchronized (this.spillFile) {
+        remaining += this.spillFile.size();
+        this.spillFile.close();
+      }
+    }
+    if (remaining > 0) {
+      System.err.println("Discarded " + remaining + " unpublished info "
+                         + "message(s) when closing the info publisher.");
+    }
+
+    this.target.close();
+  }
+
+  /**
+   * Holds the messages that were spilled to disk as lines of JSON text in a
+   * temporary file.  Their {@link FailureHandler} instances cannot be written
+   * to disk and are instead held in memory in the same order.  All access to
+   * an instance must be synchronized on that instance.
+   */
+  private static class SpillFile {
+    /**
+     * The spill file.
+     */
+    private File file;
+
+    /**
+     * The {@link Writer} for appending to the spill file.
+     */
+    private Writer writer;
+
+    /**
+     * The {@link BufferedReader} for reading from the spill file, or
+     * <tt>null</tt> if not yet opened.
+     */
+    private BufferedReader reader = null;
+
+    /**
+     * The number of messages in the spill file that have not been read.
+     */
+    private long pendingCount = 0L;
+
+    /**
+     * The {@link FailureHandler} for each spilled message that has not been
+     * read, in the order they were spilled.
+     */
+    private Deque<FailureHandler> handlers = new ArrayDeque<>();
+
+    /**
+     * The next message that was read ahead by {@link #peek()}, or
+     * <tt>null</tt> if none.
+     */
+    private Pending peeked = null;
+
+    /**
+     * Creates the temporary spill file.
+     *
+     * @throws IOException If a failure occurs.
+     */
+    private SpillFile() throws IOException {
+      this.file = File.createTempFile("senzing-info-spill-", ".jsonl");
+      this.file.deleteOnExit();
+      this.writer = this.openWriter();
+    }
+
+    /**
+     * Opens a new {@link Writer} that truncates the spill file.
+     *
+     * @return The {@link Writer} for the spill file.
+     * @throws IOException If a failure occurs.
+     */
+    private Writer openWriter() throws IOException {
+      return new BufferedWriter(new OutputStreamWriter(
+          new FileOutputStream(this.file), UTF_8));
+    }
+
+    /**
+     * Checks if there are no spilled messages that have not been consumed.
+     *
+     * @return <tt>true</tt> if there are no unconsumed messages, otherwise
+     *         <tt>false</tt>.
+     */
+    private boolean isEmpty() {
+      return (this.pendingCount == 0L && this.peeked == null);
+    }
+
+    /**
+     * Gets the number of spilled messages that have not been consumed.
+     *
+     * @return The number of spilled messages that have not been consumed.
+     */
+    private long size() {
+      return this.pendingCount + ((this.peeked == null) ? 0L : 1L);
+    }
+
+    /**
+     * Appends the specified message to the spill file.
+     *
+     * @param pending The {@link Pending} message to append.
+     * @throws IOException If a failure occurs.
+     */
+    private void append(Pending pending) throws IOException {
+      this.writer.write(formatMessage(pending.message));
+      this.writer.write("\n");
+      this.writer.flush();
+      this.handlers.addLast((pending.onFailure == null)
+                                ? NO_FAILURE_HANDLER : pending.onFailure);
+      this.pendingCount++;
+    }
+
+    /**
+     * Gets the next unread message without consuming it, so that it is
+     * returned again by the next call to {@link #next()}.
+     *
+     * @return The next unread {@link Pending} message, or <tt>null</tt> if
+     *         there are no unread messages.
+     * @throws IOException If a failure occurs.
+     */
+    private Pending peek() throws IOException {
+      if (this.peeked == null) this.peeked = this.read();
+      return this.peeked;
+    }
+
+    /**
+     * Consumes the next unread message from the spill file.
+     *
+     * @return The next unread {@link Pending} message, or <tt>null</tt> if
+     *         there are no unread messages.
+     * @throws IOException If a failure occurs.
+     */
+    private Pending next() throws IOException {
+      Pending result = this.peek();
+      this.peeked = null;
+      return result;
+    }
+
+    /**
+     * Reads the next unread message from the spill file along with its
+     * {@link FailureHandler}.  Once all messages have been read the spill
+     * file is truncated.
+     *
+     * @return The next unread {@link Pending} message, or <tt>null</tt> if
+     *         there are no unread messages.
+     * @throws IOException If a failure occurs.
+     */
+    private Pending read() throws IOException {
+      if (this.pendingCount == 0L) return null;
+      if (this.reader == null) {
+        this.reader = new BufferedReader(new InputStreamReader(
+            new FileInputStream(this.file), UTF_8));
+      }
+      String line = this.reader.readLine();
+      FailureHandler onFailure = this.handlers.removeFirst();
+      this.pendingCount--;
+
+      // check if we have read all the messages and can truncate the file
+      if (this.pendingCount == 0L) {
+        this.reader.close();
+        this.reader = null;
+        this.writer.close();
+        this.writer = this.openWriter();
+      }
+
+      return new Pending(
+          parseMessage(line),
+          (onFailure == NO_FAILURE_HANDLER) ? null : onFailure);
+    }
+
+    /**
+     * Closes and deletes the spill file.
+     */
+    private void close() {
+      try {
+        if (this.reader != null) this.reader.close();
+        this.writer.close();
+
+      } catch (IOException e) {
+        e.printStackTrace();
+
+      } finally {
+        this.pendingCount = 0L;
+        this.handlers.clear();
+        this.peeked = null;
+        this.file.delete();
+      }
+    }
+  }
+}
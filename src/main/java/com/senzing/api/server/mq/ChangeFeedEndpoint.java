@@ -0,0 +1,520 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.model.SzChangeFeedStats;
+import com.senzing.api.services.SzChangeFeed;
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink;
+import com.senzing.util.JsonUtils;
+
+import javax.json.JsonObject;
+import java.util.*;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Provides an {@link SzMessagingEndpoint} that publishes every info message
+ * to an in-process {@link SzChangeFeed} before sending it on to the
+ * underlying {@link SzMessagingEndpoint} (if any).  The published info
+ * messages are retained in a fixed-size ring buffer and each subscriber has
+ * its own cursor into the ring buffer.  A single dispatcher thread pushes the
+ * info messages to the subscribers, delivering the next info message to a
+ * subscriber only once its previous delivery has completed so that a slow
+ * subscriber never blocks the publishers or the other subscribers.  A
+ * subscriber whose cursor falls behind the oldest retained info message is
+ * evicted.
+ */
+public class ChangeFeedEndpoint extends SzAbstractMessagingEndpoint
+    implements SzChangeFeed
+{
+  /**
+   * The provider type reported when there is no underlying endpoint.
+   */
+  public static final String CHANGE_FEED_TYPE = "Change Feed";
+
+  /**
+   * A published info message retained in the ring buffer.
+   */
+  private static class Change {
+    /**
+     * The sequence number of the info message.
+     */
+    private long sequence;
+
+    /**
+     * The data source code of the info message, or <tt>null</tt> if unknown.
+     */
+    private String dataSource;
+
+    /**
+     * The JSON text of the info message.
+     */
+    private String info;
+
+    /**
+     * Constructs with the specified parameters.
+     *
+     * @param sequence The sequence number of the info message.
+     * @param dataSource The data source code of the info message, or
+     *                   <tt>null</tt> if unknown.
+     * @param info The JSON text of the info message.
+     */
+    private Change(long sequence, String dataSource, String info) {
+      this.sequence   = sequence;
+      this.dataSource = dataSource;
+      this.info       = info;
+    }
+  }
+
+  /**
+   * The {@link Subscription} implementation.  All access to the state of a
+   * subscription is synchronized on the ring buffer.
+   */
+  private class FeedSubscription implements Subscription {
+    /**
+     * The data source codes to deliver, or <tt>null</tt> for all.
+     */
+    private Set<String> dataSources;
+
+    /**
+     * The {@link Subscriber} to deliver to.
+     */
+    private Subscriber subscriber;
+
+    /**
+     * The sequence number of the next info message to consider delivering.
+     */
+    private long cursor;
+
+    /**
+     * The sequence number of the last info message that was delivered.
+     */
+    private long lastSequence;
+
+    /**
+     * Whether or not a delivery is currently in progress.
+     */
+    private boolean delivering = false;
+
+    /**
+     * Whether or not the subscription has been cancelled or evicted.
+     */
+    private boolean ended = false;
+
+    /**
+     * Constructs with the specified parameters.
+     *
+     * @param dataSources The data source codes to deliver, or <tt>null</tt>
+     *                    for all.
+     * @param subscriber The {@link Subscriber} to deliver to.
+     * @param lastSequence The sequence number of the last info message the
+     *                     subscriber already received.
+     */
+    private FeedSubscription(Set<String>  dataSources,
+                             Subscriber   subscriber,
+                             long         lastSequence)
+    {
+      this.dataSources  = dataSources;
+      this.subscriber   = subscriber;
+      this.lastSequence = lastSequence;
+      this.cursor       = lastSequence + 1;
+    }
+
+    /**
+     * Checks if the specified {@link Change} should be delivered to this
+     * subscription.
+     *
+     * @param change The {@link Change} to check.
+     * @return <tt>true</tt> if the change should be delivered, otherwise
+     *         <tt>false</tt>.
+     */
+    private boolean matches(Change change) {
+      return (this.dataSources == null
+              || this.dataSources.contains(change.dataSource));
+    }
+
+    @Override
+    public long getLastSequence() {
+      synchronized (ChangeFeedEndpoint.this.ring) {
+        return this.lastSequence;
+      }
+    }
+
+    @Override
+    public void cancel() {
+      synchronized (ChangeFeedEndpoint.this.ring) {
+        if (this.ended) return;
+        this.ended = true;
+      }
+      ChangeFeedEndpoint.this.subscriptions.remove(this);
+    }
+  }
+
+  /**
+   * The underlying {@link SzMessagingEndpoint} to send to, or <tt>null</tt>
+   * if the info messages are only published to the feed.
+   */
+  private SzMessagingEndpoint target;
+
+  /**
+   * The ring buffer of the retained info messages, indexed by sequence number
+   * modulo its length.  This is also the monitor for the state of the feed.
+   */
+  private final Change[] ring;
+
+  /**
+   * The sequence number of the most recently published info message.
+   */
+  private long lastSequence = 0L;
+
+  /**
+   * The {@link List} of active subscriptions.
+   */
+  private final List<FeedSubscription> subscriptions
+      = new CopyOnWriteArrayList<>();
+
+  /**
+   * Flag indicating that the dispatcher thread has work to do.
+   */
+  private boolean signalled = false;
+
+  /**
+   * Flag indicating that the dispatcher thread should stop.
+   */
+  private boolean stopping = false;
+
+  /**
+   * The number of info messages delivered to subscribers.
+   */
+  private long deliveredCount = 0L;
+
+  /**
+   * The number of subscribers that were evicted for falling behind.
+   */
+  private long evictedCount = 0L;
+
+  /**
+   * The dispatcher {@link Thread} that pushes the info messages to the
+   * subscribers.
+   */
+  private Thread dispatcher;
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param target The underlying {@link SzMessagingEndpoint} to send to, or
+   *               <tt>null</tt> if the info messages should only be
+   *               published to the feed.
+   * @param capacity The number of info messages to retain in the ring buffer.
+   */
+  public ChangeFeedEndpoint(SzMessagingEndpoint target, int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException(
+          "The change feed capacity must be positive: " + capacity);
+    }
+    this.target     = target;
+    this.ring       = new Change[capacity];
+    this.dispatcher = new Thread(this::dispatch, "change-feed-dispatcher");
+    this.dispatcher.setDaemon(true);
+    this.dispatcher.start();
+  }
+
+  /**
+   * Gets the number of info messages retained in the ring buffer.
+   *
+   * @return The number of info messages retained in the ring buffer.
+   */
+  public int getCapacity() {
+    return this.ring.length;
+  }
+
+  /**
+   * Publishes the specified message to the feed and then sends it to the
+   * underlying endpoint (if any).
+   *
+   * @param message The {@link SzMessage} to be sent.
+   * @param onFailure The function to call upon failure to send the message,
+   *                  or <tt>null</tt> if none.
+   * @throws Exception If the underlying endpoint fails to send the message.
+   */
+  @Override
+  public void send(SzMessage message, FailureHandler onFailure)
+      throws Exception
+  {
+    this.publish(message);
+    if (this.target == null) return;
+    SzMessageSink sink = this.target.acquireMessageSink();
+    try {
+      sink.send(message, onFailure);
+
+    } finally {
+      this.target.releaseMessageSink(sink);
+    }
+  }
+
+  /**
+   * Publishes the specified messages to the feed and then sends them to the
+   * underlying endpoint (if any) as a batch.
+   *
+   * @param messages The {@link List} of {@link SzMessage} instances to be
+   *                 sent.
+   * @param onFailure The function to call for each message that fails to
+   *                  send, or <tt>null</tt> if none.
+   * @throws Exception If the underlying endpoint fails to send the messages.
+   */
+  @Override
+  public void sendBatch(List<SzMessage> messages, FailureHandler onFailure)
+      throws Exception
+  {
+    for (SzMessage message : messages) {
+      this.publish(message);
+    }
+    if (this.target == null) return;
+    SzMessageSink sink = this.target.acquireMessageSink();
+    try {
+      sink.sendBatch(messages, onFailure);
+
+    } finally {
+      this.target.releaseMessageSink(sink);
+    }
+  }
+
+  /**
+   * Appends the specified info message to the ring buffer and signals the
+   * dispatcher thread.
+   *
+   * @param message The info {@link SzMessage} to publish.
+   */
+  private void publish(SzMessage message) {
+    String info = message.getBody();
+    if (info == null || info.trim().length() == 0) return;
+    String dataSource = getDataSource(info);
+    synchronized (this.ring) {
+      long sequence = ++this.lastSequence;
+      this.ring[this.indexOf(sequence)]
+          = new Change(sequence, dataSource, info);
+      this.signalled = true;
+      this.ring.notifyAll();
+    }
+  }
+
+  /**
+   * Gets the data source code from the specified info message.
+   *
+   * @param info The JSON text of the info message.
+   * @return The data source code, or <tt>null</tt> if it could not be found.
+   */
+  private static String getDataSource(String info) {
+    try {
+      JsonObject jsonObject = JsonUtils.parseJsonObject(info);
+      return JsonUtils.getString(jsonObject, "DATA_SOURCE");
+
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  /**
+   * Gets the index in the ring buffer for the specified sequence number.
+   *
+   * @param sequence The sequence number.
+   * @return The index in the ring buffer for the sequence number.
+   */
+  private int indexOf(long sequence) {
+    return (int) (sequence % this.ring.length);
+  }
+
+  /**
+   * Gets the sequence number of the oldest info message that is retained in
+   * the ring buffer.  This must be called while synchronized on the ring
+   * buffer.
+   *
+   * @return The sequence number of the oldest retained info message.
+   */
+  private long getOldestSequence() {
+    return Math.max(1L, this.lastSequence - this.ring.length + 1L);
+  }
+
+  @Override
+  public Subscription subscribe(Set<String> dataSources,
+                                Long        afterSequence,
+                                Subscriber  subscriber)
+      throws IllegalStateException
+  {
+    Set<String> filter = null;
+    if (dataSources != null && dataSources.size() > 0) {
+      filter = new HashSet<>();
+      for (String dataSource : dataSources) {
+        filter.add(dataSource.trim().toUpperCase());
+      }
+    }
+
+    FeedSubscription subscription;
+    synchronized (this.ring) {
+      if (this.stopping) {
+        throw new IllegalStateException("The change feed is closed.");
+      }
+      long last = (afterSequence == null || afterSequence > this.lastSequence)
+          ? this.lastSequence : Math.max(0L, afterSequence);
+      subscription = new FeedSubscription(filter, subscriber, last);
+      this.subscriptions.add(subscription);
+      this.signalled = true;
+      this.ring.notifyAll();
+    }
+    return subscription;
+  }
+
+  @Override
+  public long getLastSequence() {
+    synchronized (this.ring) {
+      return this.lastSequence;
+    }
+  }
+
+  /**
+   * The main loop of the dispatcher thread.
+   */
+  private void dispatch() {
+    while (true) {
+      synchronized (this.ring) {
+        while (!this.signalled && !this.stopping) {
+          try {
+            this.ring.wait();
+          } catch (InterruptedException ignore) {
+            // check the flags again
+          }
+        }
+        if (this.stopping) return;
+        this.signalled = false;
+      }
+      for (FeedSubscription subscription : this.subscriptions) {
+        this.pump(subscription);
+      }
+    }
+  }
+
+  /**
+   * Delivers the next matching info message to the specified subscription if
+   * it is not already awaiting a delivery, or evicts the subscription if it
+   * has fallen behind the oldest retained info message.
+   *
+   * @param subscription The {@link FeedSubscription} to pump.
+   */
+  private void pump(FeedSubscription subscription) {
+    Change next = null;
+    synchronized (this.ring) {
+      if (subscription.ended) return;
+      if (subscription.cursor < this.getOldestSequence()) {
+        this.evictedCount++;
+      } else {
+        if (subscription.delivering) return;
+        while (next == null && subscription.cursor <= this.lastSequence) {
+          Change change = this.ring[this.indexOf(subscription.cursor++)];
+          if (subscription.matches(change)) next = change;
+        }
+        if (next == null) return;
+        subscription.delivering = true;
+      }
+    }
+    if (next == null) {
+      this.end(subscription,
+               "The subscriber fell too far behind and missed info messages.");
+      return;
+    }
+
+    final long sequence = next.sequence;
+    try {
+      CompletionStage<?> stage
+          = subscription.subscriber.deliver(sequence, next.info);
+      stage.whenComplete((result, failure) -> {
+        if (failure != null) {
+          subscription.cancel();
+          return;
+        }
+        synchronized (this.ring) {
+          subscription.delivering   = false;
+          subscription.lastSequence = sequence;
+          this.deliveredCount++;
+          this.signalled = true;
+          this.ring.notifyAll();
+        }
+      });
+
+    } catch (Exception e) {
+      // the subscriber failed to send so stop delivering to it
+      e.printStackTrace();
+      subscription.cancel();
+    }
+  }
+
+  /**
+   * Ends the specified subscription and notifies the subscriber.
+   *
+   * @param subscription The {@link FeedSubscription} to end.
+   * @param reason The reason the subscription was ended.
+   */
+  private void end(FeedSubscription subscription, String reason) {
+    long last;
+    synchronized (this.ring) {
+      if (subscription.ended) return;
+      subscription.ended = true;
+      last = subscription.lastSequence;
+    }
+    this.subscriptions.remove(subscription);
+    try {
+      subscription.subscriber.evicted(last, reason);
+
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Gets the {@link SzChangeFeedStats} describing the current state of this
+   * instance.
+   *
+   * @return The {@link SzChangeFeedStats} describing the current state of
+   *         this instance.
+   */
+  public SzChangeFeedStats getStats() {
+    SzChangeFeedStats stats = SzChangeFeedStats.FACTORY.create();
+    stats.setCapacity(this.ring.length);
+    stats.setSubscriberCount(this.subscriptions.size());
+    synchronized (this.ring) {
+      stats.setLastSequence(this.lastSequence);
+      stats.setPublishedCount(this.lastSequence);
+      stats.setDeliveredCount(this.deliveredCount);
+      stats.setEvictedCount(this.evictedCount);
+    }
+    return stats;
+  }
+
+  @Override
+  public String getProviderType() {
+    return (this.target == null) ? CHANGE_FEED_TYPE
+        : this.target.getProviderType();
+  }
+
+  @Override
+  public Integer getMessageCount() {
+    return (this.target == null) ? null : this.target.getMessageCount();
+  }
+
+  /**
+   * Stops the dispatcher thread, ends the remaining subscriptions and closes
+   * the underlying endpoint (if any).
+   *
+   * @throws Exception If a failure occurs.
+   */
+  @Override
+  protected void doClose() throws Exception {
+    synchronized (this.ring) {
+      this.stopping = true;
+      this.ring.notifyAll();
+    }
+    this.dispatcher.join();
+    for (FeedSubscription subscription : this.subscriptions) {
+      this.end(subscription, "The change feed is closed.");
+    }
+    if (this.target != null) this.target.close();
+  }
+}
@@ -0,0 +1,1053 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.model.SzInfoSpoolStats;
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import static com.senzing.io.IOUtilities.UTF_8;
+import static java.nio.file.StandardOpenOption.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Provides an {@link SzMessagingEndpoint} that writes every message to a
+ * durable, append-only log on local disk before it is forwarded to the
+ * underlying {@link SzMessagingEndpoint}.  Sending a message only appends it
+ * to the current memory-mapped segment file of the log, so a broker outage
+ * neither fails the message nor stalls the threads sending messages.  A
+ * dedicated forwarder thread reads batches of messages from the log, sends
+ * them via {@link SzMessageSink#sendConfirmed(SzMessage)} on the underlying
+ * endpoint and then records the offset up to which the sends of the messages
+ * have been confirmed, so a message sent by an asynchronous producer is not
+ * acknowledged while it may still be lost.  Messages that fail to forward
+ * are appended to the log again to be retried with a growing delay, so
+ * delivery is at-least-once: a message may be forwarded more than once, and
+ * a retried message may be forwarded after messages that were sent after
+ * it.  Each record carries the number of times its message has failed to
+ * forward and a message is logged and dropped once it has failed the
+ * configured maximum number of times, so a message the underlying endpoint
+ * always rejects does not circulate in the log forever.
+ * <p>
+ * The log is rotated to a new segment file when the current segment is full
+ * and segment files are deleted once all of their messages have been
+ * acknowledged.  When constructed on a directory that already holds a log,
+ * any torn record at the end of the log is discarded and forwarding resumes
+ * from the last acknowledged offset.  The segments are flushed to disk at
+ * least every {@link #FLUSH_INTERVAL} milliseconds, so a process crash loses
+ * no messages while a power failure may lose the most recent ones.
+ */
+public class DurableSpoolEndpoint extends SzAbstractMessagingEndpoint {
+  /**
+   * The maximum number of messages ({@value}) that are forwarded in a single
+   * batch.
+   */
+  public static final int MAX_BATCH_SIZE = 10;
+
+  /**
+   * The maximum number of milliseconds ({@value}) that appended messages may
+   * go without being flushed to disk.  This is also how long the forwarder
+   * waits for new messages before checking if the endpoint is closing.
+   */
+  public static final long FLUSH_INTERVAL = 1000L;
+
+  /**
+   * The default maximum number of times ({@value}) that a message may fail
+   * to forward before it is dropped.
+   */
+  public static final int DEFAULT_MAX_FORWARD_ATTEMPTS = 50;
+
+  /**
+   * The initial number of milliseconds ({@value}) to wait before forwarding
+   * again after a batch fails to forward.
+   */
+  private static final long MIN_RETRY_DELAY = 1000L;
+
+  /**
+   * The maximum number of milliseconds ({@value}) to wait before forwarding
+   * again after consecutive batches fail to forward.
+   */
+  private static final long MAX_RETRY_DELAY = 30000L;
+
+  /**
+   * The maximum number of milliseconds ({@value}) to wait for the forwarder
+   * thread to forward the spooled messages when closing.
+   */
+  private static final long DRAIN_TIMEOUT = 10000L;
+
+  /**
+   * The maximum number of milliseconds ({@value}) to wait for the underlying
+   * endpoint to confirm the sends of a forwarded batch.  Messages that are
+   * not confirmed in time are forwarded again.
+   */
+  private static final long CONFIRM_TIMEOUT = 30000L;
+
+  /**
+   * The version ({@value}) of the format of the segment files, which is part
+   * of their file names.  Segment files with no version in their names have
+   * version one (1), whose records have no attempt count.
+   */
+  private static final int FORMAT_VERSION = 2;
+
+  /**
+   * The number of bytes ({@value}) in the header of each record, which holds
+   * the length of the record data, the CRC-32 checksum of the attempt count
+   * and data, and the number of times the message has failed to forward.
+   */
+  private static final int RECORD_HEADER_SIZE = 12;
+
+  /**
+   * The name of the file holding the acknowledged offset.
+   */
+  private static final String ACK_FILE_NAME = "info-spool.ack";
+
+  /**
+   * The pattern for the segment file names, which contain the offset of the
+   * first record in the segment and optionally the format version.
+   */
+  private static final Pattern SEGMENT_FILE_PATTERN
+      = Pattern.compile("info-spool-(\\d{20})(?:\\.v(\\d+))?\\.seg");
+
+  /**
+   * The underlying {@link SzMessagingEndpoint} to forward to.
+   */
+  private SzMessagingEndpoint target;
+
+  /**
+   * The directory holding the segment files.
+   */
+  private File directory;
+
+  /**
+   * The number of bytes in each new segment file.
+   */
+  private int segmentSize;
+
+  /**
+   * The maximum number of times that a message may fail to forward before it
+   * is dropped.
+   */
+  private int maxForwardAttempts;
+
+  /**
+   * The {@link TreeMap} of the {@link Segment} instances in the log keyed by
+   * the offset of their first record.  All access to the log is synchronized
+   * on this instance.
+   */
+  private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+  /**
+   * The {@link Segment} that messages are currently appended to.
+   */
+  private Segment writeSegment;
+
+  /**
+   * The offset of the first record that has not been acknowledged.
+   */
+  private long ackOffset;
+
+  /**
+   * The number of messages in the log that have not been acknowledged.
+   */
+  private long pendingCount = 0L;
+
+  /**
+   * The time at which the write segment was last flushed to disk.
+   */
+  private long lastFlushTime = System.nanoTime();
+
+  /**
+   * The number of messages appended to the log.
+   */
+  private long appendedCount = 0L;
+
+  /**
+   * The number of messages forwarded to the underlying endpoint.
+   */
+  private long forwardedCount = 0L;
+
+  /**
+   * The number of messages that failed to forward and were appended again.
+   */
+  private long requeuedCount = 0L;
+
+  /**
+   * The number of messages that were dropped after failing to forward the
+   * maximum number of times.
+   */
+  private long droppedCount = 0L;
+
+  /**
+   * The number of unacknowledged messages found in the log on construction.
+   */
+  private long recoveredCount;
+
+  /**
+   * The forwarder thread.
+   */
+  private Thread forwarder;
+
+  /**
+   * Flag indicating if the forwarder thread should stop once the spooled
+   * messages have been forwarded.
+   */
+  private volatile boolean stopping = false;
+
+  /**
+   * Flag indicating if the log has been closed.
+   */
+  private boolean logClosed = false;
+
+  /**
+   * Constructs with the specified parameters, recovering any log that
+   * already exists in the specified directory, and starts the forwarder
+   * thread.  Messages are dropped after failing to forward {@link
+   * #DEFAULT_MAX_FORWARD_ATTEMPTS} times.
+   *
+   * @param target The underlying {@link SzMessagingEndpoint} to forward to.
+   * @param directory The directory holding the segment files, which is
+   *                  created if it does not exist.
+   * @param segmentSize The number of bytes in each segment file.
+   * @throws IOException If the log could not be opened or recovered.
+   */
+  public DurableSpoolEndpoint(SzMessagingEndpoint target,
+                              File                directory,
+                              int                 segmentSize)
+    throws IOException
+  {
+    this(target, directory, segmentSize, DEFAULT_MAX_FORWARD_ATTEMPTS);
+  }
+
+  /**
+   * Constructs with the specified parameters, recovering any log that
+   * already exists in the specified directory, and starts the forwarder
+   * thread.
+   *
+   * @param target The underlying {@link SzMessagingEndpoint} to forward to.
+   * @param directory The directory holding the segment files, which is
+   *                  created if it does not exist.
+   * @param segmentSize The number of bytes in each segment file.
+   * @param maxForwardAttempts The maximum number of times that a message may
+   *                           fail to forward before it is dropped.
+   * @throws IOException If the log could not be opened or recovered.
+   * @throws IllegalArgumentException If the maximum number of attempts is
+   *                                  not positive.
+   */
+  public DurableSpoolEndpoint(SzMessagingEndpoint target,
+                              File                directory,
+                              int                 segmentSize,
+                              int                 maxForwardAttempts)
+    throws IOException
+  {
+    if (maxForwardAttempts <= 0) {
+      throw new IllegalArgumentException(
+          "The maximum number of forward attempts must be positive: "
+          + maxForwardAttempts);
+    }
+    this.target             = target;
+    this.directory          = directory;
+    this.segmentSize        = segmentSize;
+    this.maxForwardAttempts = maxForwardAttempts;
+
+    if (!directory.exists() && !directory.mkdirs()) {
+      throw new IOException(
+          "Failed to create info spool directory: " + directory);
+    }
+    this.recover();
+    this.recoveredCount = this.pendingCount;
+
+    this.forwarder = new Thread(this::forward, "info-spool-forwarder");
+    this.forwarder.setDaemon(true);
+    this.forwarder.start();
+  }
+
+  /**
+   * Opens the existing segment files (if any), discards any torn record at
+   * the end of each and reads the acknowledged offset.
+   *
+   * @throws IOException If a failure occurs.
+   */
+  private void recover() throws IOException {
+    File[] files = this.directory.listFiles();
+    if (files == null) {
+      throw new IOException(
+          "Failed to list info spool directory: " + this.directory);
+    }
+    for (File file : files) {
+      Matcher matcher = SEGMENT_FILE_PATTERN.matcher(file.getName());
+      if (!matcher.matches()) continue;
+      int version = (matcher.group(2) == null) ? 1
+          : Integer.parseInt(matcher.group(2));
+      if (version != FORMAT_VERSION) {
+        System.err.println("Ignoring info spool segment with unsupported "
+                           + "format version " + version + ": " + file);
+        continue;
+      }
+      long baseOffset = Long.parseLong(matcher.group(1));
+      this.segments.put(baseOffset,
+                        Segment.open(file, baseOffset, (int) file.length()));
+    }
+
+    long endOffset = 0L;
+    if (this.segments.size() > 0) {
+      Segment last = this.segments.lastEntry().getValue();
+      endOffset = last.getEndOffset();
+      this.writeSegment = last;
+    }
+
+    // read the acknowledged offset and keep it within the log
+    this.ackOffset = this.readAckOffset();
+    if (this.segments.size() > 0) {
+      this.ackOffset = Math.max(this.ackOffset, this.segments.firstKey());
+    }
+    this.ackOffset = Math.min(this.ackOffset, endOffset);
+    if (this.writeSegment == null) this.rotate(this.ackOffset, 0);
+
+    // count the unacknowledged messages
+    long offset = this.ackOffset;
+    for (SpoolRecord record = this.read(offset);
+         record != null;
+         record = this.read(offset))
+    {
+      offset = this.nextOffset(offset, record.getData());
+      this.pendingCount++;
+    }
+  }
+
+  /**
+   * Reads the acknowledged offset from the acknowledgement file.
+   *
+   * @return The acknowledged offset, or zero (0) if none has been recorded.
+   * @throws IOException If a failure occurs.
+   */
+  private long readAckOffset() throws IOException {
+    File ackFile = new File(this.directory, ACK_FILE_NAME);
+    if (!ackFile.exists()) return 0L;
+    String text = new String(Files.readAllBytes(ackFile.toPath()), UTF_8);
+    try {
+      return Long.parseLong(text.trim());
+
+    } catch (NumberFormatException e) {
+      System.err.println("Ignoring invalid info spool acknowledgement file: "
+                         + ackFile);
+      return 0L;
+    }
+  }
+
+  /**
+   * Writes the acknowledged offset to the acknowledgement file, replacing
+   * the file atomically.
+   *
+   * @throws IOException If a failure occurs.
+   */
+  private void writeAckOffset() throws IOException {
+    File ackFile  = new File(this.directory, ACK_FILE_NAME);
+    File tempFile = new File(this.directory, ACK_FILE_NAME + ".tmp");
+    Files.write(tempFile.toPath(),
+                String.valueOf(this.ackOffset).getBytes(UTF_8),
+                CREATE, TRUNCATE_EXISTING, WRITE, SYNC);
+    Files.move(tempFile.toPath(), ackFile.toPath(),
+               StandardCopyOption.REPLACE_EXISTING,
+               StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Appends the specified message to the log to be forwarded.  The failure
+   * handler is only called if the message cannot be appended, since once
+   * appended the message is retried until it is forwarded.
+   *
+   * @param message The {@link SzMessage} to be sent.
+   * @param onFailure The function to call upon failure to append the
+   *                  message, or <tt>null</tt> if none.
+   * @throws Exception If the message could not be appended.
+   */
+  @Override
+  public void send(SzMessage message, FailureHandler onFailure)
+      throws Exception
+  {
+    try {
+      this.append(message, 0);
+      synchronized (this.segments) {
+        this.appendedCount++;
+      }
+
+    } catch (Exception e) {
+      if (onFailure != null) onFailure.handle(e, message);
+      throw e;
+    }
+  }
+
+  /**
+   * Appends the specified message to the log with the specified number of
+   * failed forward attempts, rotating to a new segment if the current
+   * segment is full.
+   *
+   * @param message The {@link SzMessage} to append.
+   * @param attemptCount The number of times the message has failed to
+   *                     forward.
+   * @throws IOException If a failure occurs.
+   */
+  private void append(SzMessage message, int attemptCount) throws IOException
+  {
+    byte[] data = formatMessage(message).getBytes(UTF_8);
+    Segment fullSegment = null;
+    synchronized (this.segments) {
+      if (this.logClosed) {
+        throw new IllegalStateException(
+            "Cannot spool message since the endpoint is closed.");
+      }
+      if (!this.writeSegment.append(data, attemptCount)) {
+        fullSegment = this.rotate(this.writeSegment.getEndOffset(),
+                                  RECORD_HEADER_SIZE + data.length);
+        this.writeSegment.append(data, attemptCount);
+      }
+      this.pendingCount++;
+      this.segments.notifyAll();
+    }
+
+    // flush the full segment without blocking the other appends
+    if (fullSegment != null) fullSegment.flush();
+  }
+
+  /**
+   * Starts a new write segment at the specified offset and returns the
+   * previous write segment, which the caller should flush to disk once it
+   * is no longer synchronized on the segments.  This must be called while
+   * synchronized on the segments.
+   *
+   * @param baseOffset The offset of the first record in the new segment.
+   * @param minimumSize The minimum number of bytes for the new segment.
+   * @return The previous write segment, or <tt>null</tt> if none.
+   * @throws IOException If a failure occurs.
+   */
+  private Segment rotate(long baseOffset, int minimumSize) throws IOException {
+    Segment previous = this.writeSegment;
+    File file = new File(this.directory, String.format(
+        "info-spool-%020d.v%d.seg", baseOffset, FORMAT_VERSION));
+    this.writeSegment = Segment.open(
+        file, baseOffset, Math.max(this.segmentSize, minimumSize));
+    this.segments.put(baseOffset, this.writeSegment);
+    return previous;
+  }
+
+  /**
+   * Reads the record at the specified offset.  This must be called while
+   * synchronized on the segments.
+   *
+   * @param offset The offset of the record.
+   * @return The {@link SpoolRecord} at the specified offset, or
+   *         <tt>null</tt> if there is no record at the specified offset.
+   */
+  private SpoolRecord read(long offset) {
+    Map.Entry<Long, Segment> entry = this.segments.floorEntry(offset);
+    if (entry == null) return null;
+    Segment segment = entry.getValue();
+    if (offset >= segment.getEndOffset()) {
+      // check if the record is at the start of the next segment
+      entry = this.segments.higherEntry(offset);
+      if (entry == null) return null;
+      segment = entry.getValue();
+      offset  = entry.getKey();
+    }
+    return segment.read((int) (offset - segment.getBaseOffset()));
+  }
+
+  /**
+   * Gets the offset of the record following the specified record.  This must
+   * be called while synchronized on the segments.
+   *
+   * @param offset The offset at which the record was read.
+   * @param data The data of the record.
+   * @return The offset of the following record.
+   */
+  private long nextOffset(long offset, byte[] data) {
+    Segment segment = this.segments.floorEntry(offset).getValue();
+    if (offset >= segment.getEndOffset()) {
+      offset = this.segments.higherKey(offset);
+    }
+    return offset + RECORD_HEADER_SIZE + data.length;
+  }
+
+  /**
+   * The body of the forwarder thread, which forwards batches of spooled
+   * messages until the endpoint is closing and there are no more messages.
+   */
+  private void forward() {
+    List<SzMessage> batch = new ArrayList<>(MAX_BATCH_SIZE);
+    List<Long> endOffsets = new ArrayList<>(MAX_BATCH_SIZE);
+    Map<SzMessage, Integer> attemptCounts = new IdentityHashMap<>();
+    long retryDelay = 0L;
+    while (true) {
+      try {
+        Segment dueSegment;
+        synchronized (this.segments) {
+          long endOffset = this.ackOffset;
+          for (SpoolRecord record = this.read(endOffset);
+               record != null && batch.size() < MAX_BATCH_SIZE;
+               record = this.read(endOffset))
+          {
+            SzMessage message
+                = parseMessage(new String(record.getData(), UTF_8));
+            batch.add(message);
+            attemptCounts.put(message, record.getAttemptCount());
+            endOffset = this.nextOffset(endOffset, record.getData());
+            endOffsets.add(endOffset);
+          }
+          dueSegment = this.getFlushDue();
+        }
+
+        // flush without holding the lock so appends are not stalled on disk
+        if (dueSegment != null) dueSegment.flush();
+
+        // check if we need to wait for messages
+        if (batch.size() == 0) {
+          synchronized (this.segments) {
+            if (this.stopping) return;
+            if (this.read(this.ackOffset) == null) {
+              this.segments.wait(FLUSH_INTERVAL);
+            }
+          }
+          continue;
+        }
+
+        // forward the batch and acknowledge the messages that were settled
+        int[] failedCount = { 0 };
+        int settledCount
+            = this.forwardBatch(batch, attemptCounts, failedCount);
+        if (settledCount > 0) {
+          this.acknowledge(endOffsets.get(settledCount - 1),
+                           settledCount,
+                           failedCount[0]);
+        }
+        if (settledCount == batch.size() && failedCount[0] == 0) {
+          retryDelay = 0L;
+        } else {
+          // leave the remaining messages for the next start if closing
+          if (this.stopping) return;
+          retryDelay = this.backOff(retryDelay);
+        }
+
+      } catch (InterruptedException ignore) {
+        // ignore the interruption
+
+      } catch (Exception e) {
+        e.printStackTrace();
+        if (this.stopping) return;
+        retryDelay = this.backOff(retryDelay);
+
+      } finally {
+        batch.clear();
+        endOffsets.clear();
+        attemptCounts.clear();
+      }
+    }
+  }
+
+  /**
+   * Gets the write segment if it has not been flushed to disk within the
+   * {@linkplain #FLUSH_INTERVAL flush interval} and records that it is being
+   * flushed now.  The caller should flush the returned segment once it is no
+   * longer synchronized on the segments.  This must be called while
+   * synchronized on the segments.
+   *
+   * @return The write segment if it is due to be flushed, otherwise
+   *         <tt>null</tt>.
+   */
+  private Segment getFlushDue() {
+    long now = System.nanoTime();
+    if ((now - this.lastFlushTime) / 1000000L < FLUSH_INTERVAL) return null;
+    this.lastFlushTime = now;
+    return this.writeSegment;
+  }
+
+  /**
+   * Forwards the specified batch of messages to the underlying endpoint via
+   * {@link SzMessageSink#sendConfirmed(SzMessage)} and waits (a limited
+   * time) for the sends to be confirmed.  Messages whose sends fail are
+   * appended to the log again with their attempt count incremented to be
+   * retried, unless they have failed the maximum number of times in which
+   * case they are logged and dropped.  The messages are settled in order and
+   * settling stops at the first message whose send is not confirmed in time
+   * (or before the endpoint starts closing) or that cannot be appended again,
+   * so that message and the ones after it remain unacknowledged and are
+   * forwarded again.
+   *
+   * @param batch The {@link List} of {@link SzMessage} instances to forward.
+   * @param attemptCounts The {@link Map} of the messages in the batch to the
+   *                      number of times they have previously failed to
+   *                      forward.
+   * @param failedCount The single-element array in which to record the
+   *                    number of settled messages that failed and were
+   *                    appended again or dropped.
+   * @return The number of messages at the start of the batch that were
+   *         settled and may be acknowledged.
+   */
+  private int forwardBatch(List<SzMessage>          batch,
+                           Map<SzMessage, Integer>  attemptCounts,
+                           int[]                    failedCount)
+  {
+    SzMessageSink sink;
+    try {
+      sink = this.target.acquireMessageSink();
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      return 0;
+    }
+
+    // release the sink once sent so closing the target need not wait
+    List<CompletableFuture<Void>> futures = new ArrayList<>(batch.size());
+    try {
+      for (SzMessage message : batch) {
+        futures.add(sink.sendConfirmed(message));
+      }
+    } finally {
+      this.target.releaseMessageSink(sink);
+    }
+
+    long deadline = System.nanoTime() + (CONFIRM_TIMEOUT * 1000000L);
+    int settledCount = 0;
+    for (SzMessage message : batch) {
+      CompletableFuture<Void> future = futures.get(settledCount);
+      try {
+        // stop waiting if closing, leaving the message for the next start
+        while (!future.isDone()) {
+          long remaining = (deadline - System.nanoTime()) / 1000000L;
+          if (remaining <= 0L) {
+            System.err.println("Timed out waiting for the underlying "
+                               + "endpoint to confirm forwarded info "
+                               + "message(s).");
+            return settledCount;
+          }
+          if (this.stopping) return settledCount;
+          try {
+            future.get(Math.min(remaining, FLUSH_INTERVAL), MILLISECONDS);
+          } catch (TimeoutException ignore) {
+            // check again
+          }
+        }
+        future.get();
+
+      } catch (ExecutionException e) {
+        if (!this.requeue(message, attemptCounts, e.getCause())) break;
+        failedCount[0]++;
+
+      } catch (InterruptedException e) {
+        break;
+      }
+      settledCount++;
+    }
+    return settledCount;
+  }
+
+  /**
+   * Handles the specified message having failed to forward by appending it
+   * to the log again with its attempt count incremented, or by logging and
+   * dropping it if it has failed the maximum number of times.
+   *
+   * @param message The {@link SzMessage} that failed to forward.
+   * @param attemptCounts The {@link Map} of the messages in the batch to the
+   *                      number of times they have previously failed to
+   *                      forward.
+   * @param failure The cause of the failure, or <tt>null</tt> if not known.
+   * @return <tt>true</tt> if the message was appended again or dropped, and
+   *         <tt>false</tt> if it could not be appended again and must remain
+   *         unacknowledged.
+   */
+  private boolean requeue(SzMessage                message,
+                          Map<SzMessage, Integer>  attemptCounts,
+                          Throwable                failure)
+  {
+    int attemptCount = attemptCounts.getOrDefault(message, 0) + 1;
+    if (attemptCount >= this.maxForwardAttempts) {
+      System.err.println("Dropping info message after " + attemptCount
+                         + " failed attempts to forward it: " + message);
+      if (failure != null) failure.printStackTrace();
+      synchronized (this.segments) {
+        this.droppedCount++;
+      }
+      return true;
+    }
+
+    try {
+      this.append(message, attemptCount);
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      return false;
+    }
+    synchronized (this.segments) {
+      this.requeuedCount++;
+    }
+    return true;
+  }
+
+  /**
+   * Waits before forwarding again after a failure.
+   *
+   * @param retryDelay The previous retry delay, or zero (0) if the previous
+   *                   batch did not fail.
+   * @return The retry delay that was waited.
+   */
+  private long backOff(long retryDelay) {
+    retryDelay = (retryDelay == 0L) ? MIN_RETRY_DELAY
+        : Math.min(2 * retryDelay, MAX_RETRY_DELAY);
+    try {
+      Thread.sleep(retryDelay);
+    } catch (InterruptedException ignore) {
+      // ignore
+    }
+    return retryDelay;
+  }
+
+  /**
+   * Acknowledges the messages up to the specified offset, records the
+   * acknowledged offset and deletes the segments that have been fully
+   * acknowledged.
+   *
+   * @param endOffset The offset following the last acknowledged message.
+   * @param messageCount The number of messages being acknowledged.
+   * @param failedCount The number of those messages that failed and were
+   *                    appended to the log again or dropped.
+   * @throws IOException If the acknowledged offset could not be recorded.
+   */
+  private void acknowledge(long endOffset, int messageCount, int failedCount)
+      throws IOException
+  {
+    synchronized (this.segments) {
+      // leave the log as it is if it was closed while awaiting confirmation
+      if (this.logClosed) return;
+      this.ackOffset = endOffset;
+      this.pendingCount -= messageCount;
+      this.forwardedCount += (messageCount - failedCount);
+      this.writeAckOffset();
+
+      // delete the segments preceding the one holding the acknowledged offset
+      Long ackKey = this.segments.floorKey(this.ackOffset);
+      Iterator<Segment> iter
+          = this.segments.headMap(ackKey, false).values().iterator();
+      while (iter.hasNext()) {
+        Segment segment = iter.next();
+        if (segment == this.writeSegment) break;
+        segment.delete();
+        iter.remove();
+      }
+    }
+  }
+
+  /**
+   * Gets the {@link SzInfoSpoolStats} describing the current state of this
+   * instance.
+   *
+   * @return The {@link SzInfoSpoolStats} describing the current state of
+   *         this instance.
+   */
+  public SzInfoSpoolStats getStats() {
+    SzInfoSpoolStats stats = SzInfoSpoolStats.FACTORY.create();
+    stats.setDirectory(this.directory.getPath());
+    synchronized (this.segments) {
+      stats.setSegmentCount(this.segments.size());
+      stats.setPendingCount(this.pendingCount);
+      stats.setPendingBytes(this.writeSegment.getEndOffset() - this.ackOffset);
+      stats.setAcknowledgedOffset(this.ackOffset);
+      stats.setAppendedCount(this.appendedCount);
+      stats.setForwardedCount(this.forwardedCount);
+      stats.setRequeuedCount(this.requeuedCount);
+      stats.setDroppedCount(this.droppedCount);
+      stats.setRecoveredCount(this.recoveredCount);
+    }
+    return stats;
+  }
+
+  @Override
+  public String getProviderType() {
+    return this.target.getProviderType();
+  }
+
+  @Override
+  public Integer getMessageCount() {
+    return this.target.getMessageCount();
+  }
+
+  /**
+   * Stops the forwarder thread once it has forwarded the spooled messages
+   * (waiting a limited time for it), flushes and closes the log and closes
+   * the underlying endpoint.  Any messages that were not forwarded remain in
+   * the log and are forwarded when the log is next opened.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  @Override
+  protected void doClose() throws Exception {
+    this.stopping = true;
+    synchronized (this.segments) {
+      this.segments.notifyAll();
+    }
+    try {
+      this.forwarder.join(DRAIN_TIMEOUT);
+    } catch (InterruptedException ignore) {
+      // ignore
+    }
+
+    synchronized (this.segments) {
+      if (this.pendingCount > 0L) {
+        System.err.println("Retained " + this.pendingCount + " unforwarded "
+                           + "info message(s) in the info spool: "
+                           + this.directory);
+      }
+      for (Segment segment : this.segments.values()) {
+        segment.close();
+      }
+      this.logClosed = true;
+    }
+
+    this.target.close();
+  }
+
+  /**
+   * A record read from the log, holding the data of a spooled message and
+   * the number of times the message has failed to forward.
+   */
+  private static class SpoolRecord {
+    /**
+     * The data of the record.
+     */
+    private byte[] data;
+
+    /**
+     * The number of times the message has failed to forward.
+     */
+    private int attemptCount;
+
+    /**
+     * Constructs with the specified parameters.
+     *
+     * @param data The data of the record.
+     * @param attemptCount The number of times the message has failed to
+     *                     forward.
+     */
+    private SpoolRecord(byte[] data, int attemptCount) {
+      this.data         = data;
+      this.attemptCount = attemptCount;
+    }
+
+    /**
+     * Gets the data of the record.
+     *
+     * @return The data of the record.
+     */
+    private byte[] getData() {
+      return this.data;
+    }
+
+    /**
+     * Gets the number of times the message has failed to forward.
+     *
+     * @return The number of times the message has failed to forward.
+     */
+    private int getAttemptCount() {
+      return this.attemptCount;
+    }
+  }
+
+  /**
+   * A segment file of the log that is memory-mapped in its entirety.  Each
+   * record in the segment consists of a {@linkplain #RECORD_HEADER_SIZE
+   * header} holding the length of the record data, a CRC-32 checksum of the
+   * attempt count and data, and the attempt count, followed by the data
+   * itself.  The unused remainder of the segment is
+   * zero-filled so a zero length marks the end of the records.  All access
+   * to an instance must be synchronized on the segments of the log except
+   * for {@linkplain #flush() flushing} it, which may be slow and is safe to
+   * do concurrently with appending.
+   */
+  private static class Segment {
+    /**
+     * The segment file.
+     */
+    private File file;
+
+    /**
+     * The offset of the first record in the segment.
+     */
+    private long baseOffset;
+
+    /**
+     * The {@link MappedByteBuffer} for the segment file.
+     */
+    private volatile MappedByteBuffer buffer;
+
+    /**
+     * The position following the last record in the segment.
+     */
+    private int limit = 0;
+
+    /**
+     * Constructs with the specified parameters.
+     *
+     * @param file The segment file.
+     * @param baseOffset The offset of the first record in the segment.
+     * @param buffer The {@link MappedByteBuffer} for the segment file.
+     */
+    private Segment(File file, long baseOffset, MappedByteBuffer buffer) {
+      this.file       = file;
+      this.baseOffset = baseOffset;
+      this.buffer     = buffer;
+    }
+
+    /**
+     * Opens the specified segment file, creating it with the specified size
+     * if it does not exist, and positions it after its last intact record.
+     *
+     * @param file The segment file.
+     * @param baseOffset The offset of the first record in the segment.
+     * @param size The number of bytes to create the segment file with if it
+     *             does not exist.
+     * @return The opened {@link Segment}.
+     * @throws IOException If a failure occurs.
+     */
+    private static Segment open(File file, long baseOffset, int size)
+        throws IOException
+    {
+      MappedByteBuffer buffer;
+      try (FileChannel channel = FileChannel.open(
+          file.toPath(), CREATE, READ, WRITE))
+      {
+        long length = Math.max(channel.size(), size);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, length);
+      }
+      Segment segment = new Segment(file, baseOffset, buffer);
+      while (segment.read(segment.limit) != null) {
+        segment.limit += RECORD_HEADER_SIZE
+            + segment.buffer.getInt(segment.limit);
+      }
+
+      // clear any torn record so it is not mistaken for a record later
+      if (segment.limit + RECORD_HEADER_SIZE <= buffer.capacity()) {
+        buffer.putInt(segment.limit, 0);
+      }
+      return segment;
+    }
+
+    /**
+     * Gets the offset of the first record in the segment.
+     *
+     * @return The offset of the first record in the segment.
+     */
+    private long getBaseOffset() {
+      return this.baseOffset;
+    }
+
+    /**
+     * Gets the offset following the last record in the segment.
+     *
+     * @return The offset following the last record in the segment.
+     */
+    private long getEndOffset() {
+      return this.baseOffset + this.limit;
+    }
+
+    /**
+     * Reads the intact record at the specified position.
+     *
+     * @param position The position of the record in the segment.
+     * @return The {@link SpoolRecord} at the specified position, or
+     *         <tt>null</tt> if there is no intact record at the specified
+     *         position.
+     */
+    private SpoolRecord read(int position) {
+      if (position + RECORD_HEADER_SIZE > this.buffer.capacity()) return null;
+      int length = this.buffer.getInt(position);
+      if (length <= 0) return null;
+      int start = position + RECORD_HEADER_SIZE;
+      if (length > this.buffer.capacity() - start) return null;
+
+      byte[] data = new byte[length];
+      for (int index = 0; index < length; index++) {
+        data[index] = this.buffer.get(start + index);
+      }
+      int attemptCount = this.buffer.getInt(position + 8);
+      int checksum = this.buffer.getInt(position + 4);
+      return (checksum(data, attemptCount) == checksum)
+          ? new SpoolRecord(data, attemptCount) : null;
+    }
+
+    /**
+     * Appends a record with the specified data and attempt count to the
+     * segment.  The length is written last so that a partially written record
+     * is never read.
+     *
+     * @param data The data of the record.
+     * @param attemptCount The number of times the message has failed to
+     *                     forward.
+     * @return <tt>true</tt> if the record was appended or <tt>false</tt> if
+     *         there is not enough room in the segment.
+     */
+    private boolean append(byte[] data, int attemptCount) {
+      int start = this.limit + RECORD_HEADER_SIZE;
+      if (data.length > this.buffer.capacity() - start) return false;
+      for (int index = 0; index < data.length; index++) {
+        this.buffer.put(start + index, data[index]);
+      }
+      this.buffer.putInt(this.limit + 8, attemptCount);
+      this.buffer.putInt(this.limit + 4, checksum(data, attemptCount));
+      this.buffer.putInt(this.limit, data.length);
+      this.limit = start + data.length;
+      return true;
+    }
+
+    /**
+     * Computes the CRC-32 checksum of the specified data and attempt count.
+     *
+     * @param data The data to compute the checksum for.
+     * @param attemptCount The attempt count to compute the checksum for.
+     * @return The checksum of the data and attempt count.
+     */
+    private static int checksum(byte[] data, int attemptCount) {
+      CRC32 crc32 = new CRC32();
+      crc32.update(attemptCount >>> 24);
+      crc32.update(attemptCount >>> 16);
+      crc32.update(attemptCount >>> 8);
+      crc32.update(attemptCount);
+      crc32.update(data);
+      return (int) crc32.getValue();
+    }
+
+    /**
+     * Flushes the segment to disk unless it has since been released.
+     */
+    private void flush() {
+      MappedByteBuffer buffer = this.buffer;
+      if (buffer != null) buffer.force();
+    }
+
+    /**
+     * Flushes the segment to disk and releases it.
+     */
+    private void close() {
+      this.flush();
+      this.buffer = null;
+    }
+
+    /**
+     * Releases the segment and deletes the segment file.
+     */
+    private void delete() {
+      this.buffer = null;
+      if (!this.file.delete()) {
+        System.err.println("Failed to delete info spool segment: " + this.file);
+      }
+    }
+  }
+}
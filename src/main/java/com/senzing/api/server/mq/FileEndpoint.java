@@ -0,0 +1,769 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.services.SzMessage;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static com.senzing.io.IOUtilities.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Provides an {@link SzMessagingEndpoint} implementation that appends each
+ * message body as a line of newline-delimited JSON (NDJSON) to a file in a
+ * local directory, so that info messages can be captured without a message
+ * broker.  The initialization URL is a <tt>file:</tt> URL for the directory
+ * with optional query parameters:
+ * <pre>
+ *  file:///{directory}?rotateBytes={bytes}&amp;rotateSeconds={seconds}
+ *                     &amp;gzip={true|false}&amp;fsync={true|false}
+ * </pre>
+ * Messages are written by a dedicated writer thread that appends all of the
+ * messages that are waiting to be written as a group and then flushes the
+ * file once for the entire group.  Sending a message blocks until the group
+ * containing it has been flushed, so failures are reported to the sender
+ * while the cost of flushing is shared by the concurrent senders.  If
+ * <tt>fsync</tt> is <tt>true</tt> then each group is also forced to the
+ * storage device before the senders are released.
+ * <p>
+ * Messages are written to {@link #CURRENT_FILE_NAME} in the directory.  The
+ * current file is rotated when writing the next message would make it exceed
+ * <tt>rotateBytes</tt> bytes (default {@link #DEFAULT_ROTATE_BYTES}) or when
+ * it has been open for <tt>rotateSeconds</tt> seconds (default {@link
+ * #DEFAULT_ROTATE_SECONDS}, zero to disable).  A rotated file is renamed with
+ * the UTC time at which it was opened, e.g.:
+ * <tt>info-20200101T120000.000Z.ndjson</tt>, and if <tt>gzip</tt> is
+ * <tt>true</tt> it is then compressed in the background to a file with a
+ * <tt>.gz</tt> suffix.  A non-empty current file left behind by a previous
+ * run is rotated on startup.
+ */
+public class FileEndpoint extends SzAbstractMessagingEndpoint {
+  /**
+   * The message sink type for a local file.  The value is {@value}.
+   */
+  public static final String FILE_SINK_TYPE = "Local File";
+
+  /**
+   * The prefix to use for the initialization properties.
+   */
+  public static final String PROPERTY_PREFIX = "file-";
+
+  /**
+   * The property key for the <tt>file:</tt> URL.
+   */
+  public static final String URL_PROPERTY_KEY = PROPERTY_PREFIX + "url";
+
+  /**
+   * The <b>unmodifiable</b> {@link Set} of {@link String} property keys for
+   * creating a {@link FileEndpoint}.
+   */
+  public static final Set<String> PROPERTY_KEYS = Set.of(URL_PROPERTY_KEY);
+
+  /**
+   * The {@link Initiator} for the {@link FileEndpoint} class.
+   */
+  public static final Initiator INITIATOR = new FileInitiator();
+
+  /**
+   * The URL query parameter for the number of bytes at which the current
+   * file is rotated.
+   */
+  public static final String ROTATE_BYTES_PARAMETER = "rotateBytes";
+
+  /**
+   * The URL query parameter for the number of seconds after which the
+   * current file is rotated.
+   */
+  public static final String ROTATE_SECONDS_PARAMETER = "rotateSeconds";
+
+  /**
+   * The URL query parameter for whether or not rotated files are compressed.
+   */
+  public static final String GZIP_PARAMETER = "gzip";
+
+  /**
+   * The URL query parameter for whether or not each group of messages is
+   * forced to the storage device.
+   */
+  public static final String FSYNC_PARAMETER = "fsync";
+
+  /**
+   * The default number of bytes ({@value}) at which the current file is
+   * rotated.
+   */
+  public static final long DEFAULT_ROTATE_BYTES = 64L * 1024L * 1024L;
+
+  /**
+   * The default number of seconds ({@value}) after which the current file is
+   * rotated.
+   */
+  public static final long DEFAULT_ROTATE_SECONDS = 3600L;
+
+  /**
+   * The name of the file that messages are currently written to.
+   */
+  public static final String CURRENT_FILE_NAME = "info-current.ndjson";
+
+  /**
+   * The maximum number of sends ({@value}) that are written as a group.
+   */
+  private static final int MAX_GROUP_SIZE = 1000;
+
+  /**
+   * The number of milliseconds ({@value}) the writer thread waits for
+   * messages before checking if the current file is due for rotation or the
+   * endpoint is closing.
+   */
+  private static final long POLL_INTERVAL = 1000L;
+
+  /**
+   * The maximum number of milliseconds ({@value}) to wait for the rotated
+   * files to be compressed when closing.
+   */
+  private static final long COMPRESS_TIMEOUT = 30000L;
+
+  /**
+   * The {@link DateTimeFormatter} for the time stamps in the names of the
+   * rotated files.
+   */
+  private static final DateTimeFormatter FILE_TIMESTAMP_FORMATTER
+      = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss.SSS'Z'")
+                         .withZone(ZoneOffset.UTC);
+
+  /**
+   * The NDJSON lines of a single send along with the {@link
+   * CompletableFuture} that is completed once they have been written.
+   */
+  private static class PendingWrite {
+    /**
+     * The {@link List} of lines to write.
+     */
+    private List<byte[]> lines;
+
+    /**
+     * The {@link CompletableFuture} completed once the lines are written.
+     */
+    private CompletableFuture<Void> future = new CompletableFuture<>();
+
+    /**
+     * Constructs with the specified lines.
+     *
+     * @param lines The {@link List} of lines to write.
+     */
+    private PendingWrite(List<byte[]> lines) {
+      this.lines = lines;
+    }
+  }
+
+  /**
+   * The directory to write the files to.
+   */
+  private File directory;
+
+  /**
+   * The number of bytes at which the current file is rotated.
+   */
+  private long rotateBytes;
+
+  /**
+   * The number of milliseconds after which the current file is rotated, or
+   * zero (0) if not rotated by time.
+   */
+  private long rotateMillis;
+
+  /**
+   * Whether or not rotated files are compressed.
+   */
+  private boolean gzip;
+
+  /**
+   * Whether or not each group is forced to the storage device.
+   */
+  private boolean fsync;
+
+  /**
+   * The {@link BlockingQueue} of {@link PendingWrite} instances waiting for
+   * the writer thread.
+   */
+  private final BlockingQueue<PendingWrite> queue
+      = new LinkedBlockingQueue<>();
+
+  /**
+   * The number of messages that have been sent but not yet written.
+   */
+  private final AtomicInteger pendingCount = new AtomicInteger(0);
+
+  /**
+   * The {@link FileOutputStream} for the current file, or <tt>null</tt> if
+   * the current file is not open.  This is only accessed by the writer thread
+   * until it has stopped.
+   */
+  private FileOutputStream fileStream = null;
+
+  /**
+   * The {@link BufferedOutputStream} wrapping {@link #fileStream}.
+   */
+  private BufferedOutputStream outputStream = null;
+
+  /**
+   * The number of bytes written to the current file.
+   */
+  private long currentBytes = 0L;
+
+  /**
+   * The time at which the current file was opened.
+   */
+  private long openedTime = 0L;
+
+  /**
+   * The {@link ExecutorService} for compressing rotated files.
+   */
+  private ExecutorService compressor;
+
+  /**
+   * The writer thread.
+   */
+  private Thread writer;
+
+  /**
+   * Flag indicating if the writer thread should stop once the pending
+   * messages have been written.
+   */
+  private volatile boolean stopping = false;
+
+  /**
+   * Constructs with the specified parameters, rotating any current file left
+   * behind by a previous run, and starts the writer thread.
+   *
+   * @param directory The directory to write the files to, which is created
+   *                  if it does not exist.
+   * @param rotateBytes The number of bytes at which the current file is
+   *                    rotated.
+   * @param rotateSeconds The number of seconds after which the current file
+   *                      is rotated, or zero (0) if not rotated by time.
+   * @param gzip <tt>true</tt> if rotated files should be compressed,
+   *             otherwise <tt>false</tt>.
+   * @param fsync <tt>true</tt> if each group of messages should be forced to
+   *              the storage device, otherwise <tt>false</tt>.
+   * @throws IOException If the directory could not be prepared.
+   */
+  public FileEndpoint(File    directory,
+                      long    rotateBytes,
+                      long    rotateSeconds,
+                      boolean gzip,
+                      boolean fsync)
+    throws IOException
+  {
+    if (rotateBytes <= 0L) {
+      throw new IllegalArgumentException(
+          "The rotation byte count must be positive: " + rotateBytes);
+    }
+    if (rotateSeconds < 0L) {
+      throw new IllegalArgumentException(
+          "The rotation seconds cannot be negative: " + rotateSeconds);
+    }
+    this.directory    = directory;
+    this.rotateBytes  = rotateBytes;
+    this.rotateMillis = rotateSeconds * 1000L;
+    this.gzip         = gzip;
+    this.fsync        = fsync;
+
+    if (!directory.exists() && !directory.mkdirs()) {
+      throw new IOException(
+          "Failed to create info file directory: " + directory);
+    }
+    if (!directory.isDirectory()) {
+      throw new IOException(
+          "The info file directory is not a directory: " + directory);
+    }
+
+    this.compressor = Executors.newSingleThreadExecutor(r -> {
+      Thread thread = new Thread(r, "info-file-compressor");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    // rotate any current file left behind by a previous run
+    File currentFile = new File(directory, CURRENT_FILE_NAME);
+    if (currentFile.length() > 0L) {
+      this.rotate(currentFile.lastModified());
+    }
+
+    this.writer = new Thread(this::write, "info-file-writer");
+    this.writer.setDaemon(true);
+    this.writer.start();
+  }
+
+  /**
+   * Converts the specified {@link SzMessage} to a line of NDJSON.  Since the
+   * body is JSON text, any line breaks in it can only be whitespace between
+   * tokens and are replaced with spaces.
+   *
+   * @param message The {@link SzMessage} to convert.
+   * @return The bytes of the line, including the trailing line break.
+   */
+  private static byte[] toLine(SzMessage message) {
+    String body = message.getBody();
+    if (body == null) {
+      throw new IllegalArgumentException(
+          "Cannot write a message without a body to an NDJSON file.");
+    }
+    body = body.trim().replace('\r', ' ').replace('\n', ' ');
+    try {
+      return (body + "\n").getBytes(UTF_8);
+
+    } catch (UnsupportedEncodingException cannotHappen) {
+      throw new IllegalStateException(cannotHappen);
+    }
+  }
+
+  /**
+   * Writes the specified message and waits for it to be flushed.
+   *
+   * @param message The {@link SzMessage} to be sent.
+   * @param onFailure The function to call upon failure to write the message,
+   *                  or <tt>null</tt> if none.
+   * @throws Exception If the message could not be written.
+   */
+  @Override
+  public void send(SzMessage message, FailureHandler onFailure)
+      throws Exception
+  {
+    try {
+      this.enqueue(List.of(toLine(message)));
+
+    } catch (Exception e) {
+      if (onFailure != null) onFailure.handle(e, message);
+      throw e;
+    }
+  }
+
+  /**
+   * Overridden to write all of the specified messages in the same group and
+   * wait once for them to be flushed.  If the group cannot be written then
+   * the specified failure handler is called for each of the messages.
+   * {@inheritDoc}
+   */
+  @Override
+  public void sendBatch(List<SzMessage> messages, FailureHandler onFailure)
+      throws Exception
+  {
+    if (messages.size() == 0) return;
+    try {
+      List<byte[]> lines = new ArrayList<>(messages.size());
+      for (SzMessage message : messages) {
+        lines.add(toLine(message));
+      }
+      this.enqueue(lines);
+
+    } catch (Exception e) {
+      if (onFailure != null) {
+        for (SzMessage message : messages) {
+          onFailure.handle(e, message);
+        }
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Queues the specified lines for the writer thread and waits for them to
+   * be written.
+   *
+   * @param lines The {@link List} of lines to write.
+   * @throws Exception If the lines could not be written.
+   */
+  private void enqueue(List<byte[]> lines) throws Exception {
+    if (this.stopping) {
+      throw new IllegalStateException(
+          "Cannot write message since the endpoint is closed.");
+    }
+    PendingWrite pending = new PendingWrite(lines);
+    this.pendingCount.addAndGet(lines.size());
+    this.queue.add(pending);
+    try {
+      pending.future.get();
+
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) throw (Exception) cause;
+      throw e;
+    }
+  }
+
+  /**
+   * The body of the writer thread, which writes groups of pending messages
+   * until the endpoint is closing and there are no more messages.
+   */
+  private void write() {
+    List<PendingWrite> group = new ArrayList<>(MAX_GROUP_SIZE);
+    while (!this.stopping || !this.queue.isEmpty()) {
+      try {
+        PendingWrite first = this.queue.poll(POLL_INTERVAL, MILLISECONDS);
+        if (first == null) {
+          this.rotateIfDue();
+          continue;
+        }
+        group.add(first);
+        this.queue.drainTo(group, MAX_GROUP_SIZE - 1);
+
+        // write and flush the group, then release the senders
+        Exception failure = null;
+        try {
+          this.writeGroup(group);
+
+        } catch (Exception e) {
+          failure = e;
+          this.closeCurrent();
+        }
+        for (PendingWrite pending : group) {
+          this.pendingCount.addAndGet(-pending.lines.size());
+          if (failure == null) {
+            pending.future.complete(null);
+          } else {
+            pending.future.completeExceptionally(failure);
+          }
+        }
+
+      } catch (InterruptedException ignore) {
+        // ignore the interruption
+
+      } catch (Exception e) {
+        e.printStackTrace();
+
+      } finally {
+        group.clear();
+      }
+    }
+  }
+
+  /**
+   * Writes the lines of the specified group, rotating the current file as
+   * needed, and flushes the current file.
+   *
+   * @param group The {@link List} of {@link PendingWrite} instances to write.
+   * @throws IOException If a failure occurs.
+   */
+  private void writeGroup(List<PendingWrite> group) throws IOException {
+    for (PendingWrite pending : group) {
+      for (byte[] line : pending.lines) {
+        if (this.currentBytes > 0L
+            && this.currentBytes + line.length > this.rotateBytes)
+        {
+          this.rotate(this.openedTime);
+        }
+        if (this.outputStream == null) this.openCurrent();
+        this.outputStream.write(line);
+        this.currentBytes += line.length;
+      }
+    }
+    this.outputStream.flush();
+    if (this.fsync) this.fileStream.getFD().sync();
+    this.rotateIfDue();
+  }
+
+  /**
+   * Opens the current file for appending.
+   *
+   * @throws IOException If a failure occurs.
+   */
+  private void openCurrent() throws IOException {
+    File currentFile    = new File(this.directory, CURRENT_FILE_NAME);
+    this.fileStream     = new FileOutputStream(currentFile, true);
+    this.outputStream   = new BufferedOutputStream(this.fileStream);
+    this.currentBytes   = currentFile.length();
+    this.openedTime     = System.currentTimeMillis();
+  }
+
+  /**
+   * Closes the current file if it is open, ignoring any failure since this
+   * is only done after a failure or once the file has been flushed.
+   */
+  private void closeCurrent() {
+    if (this.outputStream == null) return;
+    try {
+      this.outputStream.close();
+
+    } catch (IOException e) {
+      System.err.println("Failed to close info file: " + e);
+
+    } finally {
+      this.fileStream   = null;
+      this.outputStream = null;
+      this.currentBytes = 0L;
+    }
+  }
+
+  /**
+   * Rotates the current file if it is non-empty and has been open for longer
+   * than the rotation period.
+   *
+   * @throws IOException If a failure occurs.
+   */
+  private void rotateIfDue() throws IOException {
+    if (this.rotateMillis == 0L || this.currentBytes == 0L) return;
+    if (System.currentTimeMillis() - this.openedTime < this.rotateMillis) {
+      return;
+    }
+    this.rotate(this.openedTime);
+  }
+
+  /**
+   * Closes the current file and renames it with the specified time stamp,
+   * queueing it to be compressed if configured to do so.
+   *
+   * @param timestamp The time stamp for the rotated file name, which is the
+   *                  time at which the current file was opened.
+   * @throws IOException If a failure occurs.
+   */
+  private void rotate(long timestamp) throws IOException {
+    if (this.outputStream != null) {
+      this.outputStream.flush();
+      if (this.fsync) this.fileStream.getFD().sync();
+      this.closeCurrent();
+    }
+
+    File currentFile = new File(this.directory, CURRENT_FILE_NAME);
+    if (currentFile.length() == 0L) return;
+
+    // find a name that is not taken by a file rotated in the same millisecond
+    String baseName = "info-"
+        + FILE_TIMESTAMP_FORMATTER.format(Instant.ofEpochMilli(timestamp));
+    File rotatedFile = new File(this.directory, baseName + ".ndjson");
+    for (int index = 1;
+         rotatedFile.exists() || new File(rotatedFile + ".gz").exists();
+         index++)
+    {
+      rotatedFile
+          = new File(this.directory, baseName + "-" + index + ".ndjson");
+    }
+    Files.move(currentFile.toPath(), rotatedFile.toPath(),
+               StandardCopyOption.ATOMIC_MOVE);
+
+    if (this.gzip) {
+      File file = rotatedFile;
+      this.compressor.execute(() -> compress(file));
+    }
+  }
+
+  /**
+   * Compresses the specified file to a file with a <tt>.gz</tt> suffix and
+   * deletes the original.  The compressed file is written under a temporary
+   * name and then renamed so that a partially compressed file is never seen
+   * under the final name.
+   *
+   * @param file The file to compress.
+   */
+  private static void compress(File file) {
+    File gzipFile = new File(file.getPath() + ".gz");
+    File tempFile = new File(file.getPath() + ".gz.tmp");
+    try {
+      try (InputStream is = new FileInputStream(file);
+           OutputStream os = new GZIPOutputStream(
+               new FileOutputStream(tempFile)))
+      {
+        is.transferTo(os);
+      }
+      Files.move(tempFile.toPath(), gzipFile.toPath(),
+                 StandardCopyOption.ATOMIC_MOVE);
+      if (!file.delete()) {
+        System.err.println("Failed to delete compressed info file: " + file);
+      }
+
+    } catch (IOException e) {
+      System.err.println("Failed to compress info file: " + file);
+      e.printStackTrace();
+      if (tempFile.exists() && !tempFile.delete()) {
+        System.err.println("Failed to delete info file: " + tempFile);
+      }
+    }
+  }
+
+  @Override
+  public String getProviderType() {
+    return FILE_SINK_TYPE;
+  }
+
+  /**
+   * Overridden to return the number of messages that have been sent but not
+   * yet written.
+   * {@inheritDoc}
+   */
+  @Override
+  public Integer getMessageCount() {
+    return this.pendingCount.get();
+  }
+
+  /**
+   * Stops the writer thread once it has written the pending messages, rotates
+   * the current file so that it is complete and waits a limited time for the
+   * rotated files to be compressed.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  @Override
+  protected void doClose() throws Exception {
+    this.stopping = true;
+    this.writer.interrupt();
+    this.writer.join();
+
+    // fail any sends that were queued after the writer thread stopped
+    for (PendingWrite pending = this.queue.poll();
+         pending != null;
+         pending = this.queue.poll())
+    {
+      pending.future.completeExceptionally(new IllegalStateException(
+          "Cannot write message since the endpoint is closed."));
+    }
+
+    try {
+      this.rotate(this.openedTime);
+
+    } finally {
+      this.compressor.shutdown();
+      if (!this.compressor.awaitTermination(COMPRESS_TIMEOUT, MILLISECONDS)) {
+        System.err.println(
+            "Timed out waiting for info files to be compressed: "
+                + this.directory);
+      }
+    }
+  }
+
+  /**
+   * Provides an {@link SzMessagingEndpoint.Initiator} implementation that
+   * creates an instance of {@link FileEndpoint} from a <tt>file:</tt> URL.
+   */
+  private static class FileInitiator implements SzMessagingEndpoint.Initiator
+  {
+    /**
+     * Default constructor.
+     */
+    private FileInitiator() {
+      // do nothing
+    }
+
+    /**
+     * Handles establishing a file endpoint.
+     */
+    @Override
+    public SzMessagingEndpoint establish(Map<String, ?> props,
+                                         int            concurrency)
+    {
+      if (props == null) return null;
+      String url = (String) props.get(URL_PROPERTY_KEY);
+      if (url == null) return null;
+
+      URI uri = URI.create(url);
+      if (!"file".equalsIgnoreCase(uri.getScheme()) || uri.getPath() == null) {
+        throw new IllegalArgumentException(
+            "The info file URL must be a file: URL for a directory: " + url);
+      }
+
+      Map<String, List<String>> params = parseQueryString(
+          (uri.getRawQuery() == null) ? null : "?" + uri.getRawQuery());
+      long rotateBytes = getLong(
+          params, ROTATE_BYTES_PARAMETER, DEFAULT_ROTATE_BYTES);
+      long rotateSeconds = getLong(
+          params, ROTATE_SECONDS_PARAMETER, DEFAULT_ROTATE_SECONDS);
+      boolean gzip  = getBoolean(params, GZIP_PARAMETER);
+      boolean fsync = getBoolean(params, FSYNC_PARAMETER);
+
+      try {
+        return new FileEndpoint(new File(uri.getPath()),
+                                rotateBytes,
+                                rotateSeconds,
+                                gzip,
+                                fsync);
+
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    /**
+     * Gets the single value of the specified query parameter as a
+     * <tt>long</tt>.
+     *
+     * @param params The {@link Map} of query parameters.
+     * @param name The name of the query parameter.
+     * @param defaultValue The value to return if the parameter is absent.
+     * @return The value of the parameter, or the specified default value if
+     *         the parameter is absent.
+     */
+    private static long getLong(Map<String, List<String>> params,
+                                String                    name,
+                                long                      defaultValue)
+    {
+      String value = getValue(params, name);
+      if (value == null) return defaultValue;
+      try {
+        return Long.parseLong(value);
+
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException(
+            "The info file URL parameter must be an integer: " + name + "="
+            + value);
+      }
+    }
+
+    /**
+     * Gets the single value of the specified query parameter as a
+     * <tt>boolean</tt>, treating a parameter without a value as
+     * <tt>true</tt>.
+     *
+     * @param params The {@link Map} of query parameters.
+     * @param name The name of the query parameter.
+     * @return The value of the parameter, or <tt>false</tt> if the parameter
+     *         is absent.
+     */
+    private static boolean getBoolean(Map<String, List<String>> params,
+                                      String                    name)
+    {
+      String value = getValue(params, name);
+      if (value == null) return false;
+      if (value.length() == 0) return true;
+      if ("true".equalsIgnoreCase(value)) return true;
+      if ("false".equalsIgnoreCase(value)) return false;
+      throw new IllegalArgumentException(
+          "The info file URL parameter must be true or false: " + name + "="
+          + value);
+    }
+
+    /**
+     * Gets the single value of the specified query parameter.
+     *
+     * @param params The {@link Map} of query parameters.
+     * @param name The name of the query parameter.
+     * @return The value of the parameter, or <tt>null</tt> if absent.
+     */
+    private static String getValue(Map<String, List<String>> params,
+                                   String                    name)
+    {
+      List<String> values = params.get(name);
+      if (values == null) return null;
+      if (values.size() > 1) {
+        throw new IllegalArgumentException(
+            "The info file URL parameter must be single-valued: " + name
+            + "=" + values);
+      }
+      return values.get(0);
+    }
+
+    /**
+     * Implemented to return {@link #PROPERTY_KEYS}.
+     */
+    @Override
+    public Set<String> getPropertyKeys() {
+      return PROPERTY_KEYS;
+    }
+  }
+}
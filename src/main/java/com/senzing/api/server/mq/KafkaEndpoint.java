@@ -2,13 +2,19 @@ package com.senzing.api.server.mq;
 
 import com.senzing.api.services.SzMessage;
 import com.senzing.api.services.SzMessageSink;
+import com.senzing.util.JsonUtils;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 
+import javax.json.JsonArray;
+import javax.json.JsonObject;
 import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 import static com.senzing.io.IOUtilities.UTF_8;
 
@@ -23,7 +29,19 @@ import static com.senzing.io.IOUtilities.UTF_8;
  * The optional query-string properties are used to initialize the
  * {@link KafkaProducer}.  If specified, those properties should be
  * single-valued and should omit the <tt>"bootstrap.servers"</tt> property
- * which is specified as the first part of the URL.
+ * which is specified as the first part of the URL.  The same query-string
+ * format is accepted via the {@link #PRODUCER_PROPERTIES_PROPERTY_KEY}
+ * property, and the most common throughput settings (acks, batch size,
+ * linger, compression and in-flight requests) have dedicated properties.
+ * <p>
+ * If {@linkplain #KEY_BY_ENTITY_PROPERTY_KEY keyed by entity} then each
+ * record is keyed by the lowest affected entity ID in the info message.
+ * This gives best-effort locality only: messages that share the same lowest
+ * affected entity ID go to the same partition, but an info message often
+ * affects several entities and the lowest of them changes as entities merge
+ * and split, so the messages affecting a given entity may still be spread
+ * across partitions and there is <b>no</b> per-entity ordering guarantee.
+ * Consumers must not rely on the order of the messages for an entity.
  */
 public class KafkaEndpoint extends SzAbstractMessagingEndpoint {
   /**
@@ -58,6 +76,51 @@ public class KafkaEndpoint extends SzAbstractMessagingEndpoint {
    */
   public static final String TOPIC_PROPERTY_KEY = PROPERTY_PREFIX + "topic";
 
+  /**
+   * The property key for the Kafka producer <tt>"acks"</tt> setting.
+   */
+  public static final String ACKS_PROPERTY_KEY = PROPERTY_PREFIX + "acks";
+
+  /**
+   * The property key for the Kafka producer <tt>"batch.size"</tt> setting.
+   */
+  public static final String BATCH_SIZE_PROPERTY_KEY
+      = PROPERTY_PREFIX + "batch-size";
+
+  /**
+   * The property key for the Kafka producer <tt>"linger.ms"</tt> setting.
+   */
+  public static final String LINGER_PROPERTY_KEY
+      = PROPERTY_PREFIX + "linger-ms";
+
+  /**
+   * The property key for the Kafka producer <tt>"compression.type"</tt>
+   * setting.
+   */
+  public static final String COMPRESSION_PROPERTY_KEY
+      = PROPERTY_PREFIX + "compression";
+
+  /**
+   * The property key for the Kafka producer
+   * <tt>"max.in.flight.requests.per.connection"</tt> setting.
+   */
+  public static final String MAX_IN_FLIGHT_PROPERTY_KEY
+      = PROPERTY_PREFIX + "max-in-flight";
+
+  /**
+   * The property key for the {@link Boolean} flag indicating if records
+   * should be keyed by the affected entity ID.
+   */
+  public static final String KEY_BY_ENTITY_PROPERTY_KEY
+      = PROPERTY_PREFIX + "key-by-entity";
+
+  /**
+   * The property key for additional Kafka producer properties formatted as a
+   * URL query string (e.g.: <tt>"{prop1}={value1}&amp;{prop2}={value2}"</tt>).
+   */
+  public static final String PRODUCER_PROPERTIES_PROPERTY_KEY
+      = PROPERTY_PREFIX + "producer-properties";
+
   /**
    * The <b>unmodifiable</b> {@link Set} of {@link String} property keys for
    * creating an {@link KafkaEndpoint} via {@link KafkaInitiator}.
@@ -65,7 +128,20 @@ public class KafkaEndpoint extends SzAbstractMessagingEndpoint {
   public static final Set<String> PROPERTY_KEYS
       = Set.of(BOOTSTRAP_SERVERS_PROPERTY_KEY,
                GROUP_ID_PROPERTY_KEY,
-               TOPIC_PROPERTY_KEY);
+               TOPIC_PROPERTY_KEY,
+               ACKS_PROPERTY_KEY,
+               BATCH_SIZE_PROPERTY_KEY,
+               LINGER_PROPERTY_KEY,
+               COMPRESSION_PROPERTY_KEY,
+               MAX_IN_FLIGHT_PROPERTY_KEY,
+               KEY_BY_ENTITY_PROPERTY_KEY,
+               PRODUCER_PROPERTIES_PROPERTY_KEY);
+
+  /**
+   * The maximum number of milliseconds ({@value}) to wait for the buffered
+   * records to be sent when closing.
+   */
+  public static final long CLOSE_TIMEOUT = 30000L;
 
   /**
    * The class name for the string serializer.
@@ -84,31 +160,196 @@ public class KafkaEndpoint extends SzAbstractMessagingEndpoint {
   private String topic = null;
 
   /**
-   * Constructs with the specified topic and {@link KafkaProducer}.
+   * Flag indicating if records are keyed by the affected entity ID.
+   */
+  private boolean keyByEntity = false;
+
+  /**
+   * The number of records that have been handed to the producer but whose
+   * sending has not yet completed.
+   */
+  private long pendingCount = 0L;
+
+  /**
+   * Constructs with the specified topic and {@link KafkaProducer}.  Records
+   * are not keyed.
    *
    * @param topic The topic to construct with.
    * @param producer The producer to construct with.
    */
   public KafkaEndpoint(String topic, KafkaProducer<String, String> producer)
   {
-    this.topic = topic;
-    this.producer = producer;
+    this(topic, producer, false);
+  }
+
+  /**
+   * Constructs with the specified topic, {@link KafkaProducer} and flag
+   * indicating if records should be keyed by the affected entity ID.
+   *
+   * @param topic The topic to construct with.
+   * @param producer The producer to construct with.
+   * @param keyByEntity <tt>true</tt> if records should be keyed by the
+   *                    affected entity ID, otherwise <tt>false</tt>.
+   */
+  public KafkaEndpoint(String                         topic,
+                       KafkaProducer<String, String>  producer,
+                       boolean                        keyByEntity)
+  {
+    this.topic        = topic;
+    this.producer     = producer;
+    this.keyByEntity  = keyByEntity;
+  }
+
+  /**
+   * Gets the key for the specified info message, which is the lowest
+   * affected entity ID formatted as a {@link String}.  This only provides
+   * best-effort locality since other messages affecting the same entities
+   * may have a different lowest entity ID and therefore a different key.
+   * This returns <tt>null</tt> if the message does not affect any entities
+   * or cannot be parsed.
+   *
+   * @param message The info {@link SzMessage} to get the key for.
+   * @return The key for the message, or <tt>null</tt> if none.
+   */
+  protected static String getEntityKey(SzMessage message) {
+    if (message.getBody() == null) return null;
+    try {
+      JsonObject jsonObject = JsonUtils.parseJsonObject(message.getBody());
+      JsonArray jsonArray
+          = JsonUtils.getJsonArray(jsonObject, "AFFECTED_ENTITIES");
+      if (jsonArray == null) return null;
+
+      Long entityId = null;
+      for (JsonObject affected : jsonArray.getValuesAs(JsonObject.class)) {
+        Long id = JsonUtils.getLong(affected, "ENTITY_ID");
+        if (id != null && (entityId == null || id < entityId)) entityId = id;
+      }
+      return (entityId == null) ? null : entityId.toString();
+
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  /**
+   * Creates the {@link Properties} for the {@link KafkaProducer} from the
+   * specified initialization properties.  The {@linkplain
+   * #PRODUCER_PROPERTIES_PROPERTY_KEY additional producer properties} are
+   * applied first so that they are overridden by the bootstrap servers, the
+   * group ID, the serializers and the dedicated throughput settings.
+   *
+   * @param props The initialization properties.
+   * @return The {@link Properties} for the {@link KafkaProducer}.
+   * @throws IllegalArgumentException If an additional producer property is
+   *                                  not single-valued.
+   */
+  protected static Properties toProducerProperties(Map<String, ?> props) {
+    Properties kafkaProps = new Properties();
+
+    // apply any additional producer properties first so they are overridden
+    String producerProps = (String) props.get(PRODUCER_PROPERTIES_PROPERTY_KEY);
+    if (producerProps != null && producerProps.trim().length() > 0) {
+      producerProps = producerProps.trim();
+      if (!producerProps.startsWith("?")) producerProps = "?" + producerProps;
+      Map<String, List<String>> propMap = parseQueryString(producerProps);
+      propMap.forEach((key, values) -> {
+        if (values.size() > 1) {
+          throw new IllegalArgumentException(
+              "Kafka producer properties must be single-valued: " + key
+              + "=" + values);
+        }
+        kafkaProps.put(key, values.get(0));
+      });
+    }
+
+    String servers = (String) props.get(BOOTSTRAP_SERVERS_PROPERTY_KEY);
+    String groupId = (String) props.get(GROUP_ID_PROPERTY_KEY);
+    kafkaProps.put("bootstrap.servers", servers);
+    if (groupId != null) kafkaProps.put("group.id", groupId);
+    kafkaProps.put("key.serializer", STRING_SERIALIZER);
+    kafkaProps.put("value.serializer", STRING_SERIALIZER);
+
+    // apply the dedicated throughput settings
+    putIfSpecified(kafkaProps, "acks", props.get(ACKS_PROPERTY_KEY));
+    putIfSpecified(
+        kafkaProps, "batch.size", props.get(BATCH_SIZE_PROPERTY_KEY));
+    putIfSpecified(kafkaProps, "linger.ms", props.get(LINGER_PROPERTY_KEY));
+    putIfSpecified(
+        kafkaProps, "compression.type", props.get(COMPRESSION_PROPERTY_KEY));
+    putIfSpecified(kafkaProps,
+                   "max.in.flight.requests.per.connection",
+                   props.get(MAX_IN_FLIGHT_PROPERTY_KEY));
+    return kafkaProps;
+  }
+
+  /**
+   * Sets the specified Kafka property to the text form of the specified
+   * value if the value is not <tt>null</tt>.
+   *
+   * @param kafkaProps The Kafka {@link Properties} to set the property in.
+   * @param key The Kafka property key.
+   * @param value The value for the property, or <tt>null</tt> if not
+   *              specified.
+   */
+  private static void putIfSpecified(Properties kafkaProps,
+                                     String     key,
+                                     Object     value)
+  {
+    if (value != null) kafkaProps.put(key, value.toString());
   }
 
   @Override
   public void send(SzMessage message, FailureHandler onFailure)
       throws Exception
+  {
+    this.send(message, onFailure, null);
+  }
+
+  /**
+   * Overridden to complete the returned {@link CompletableFuture} once the
+   * broker acknowledges the record according to the configured acks.
+   */
+  @Override
+  public CompletableFuture<Void> sendConfirmed(SzMessage message) {
+    CompletableFuture<Void> confirmed = new CompletableFuture<>();
+    try {
+      this.send(message, null, confirmed);
+
+    } catch (Exception e) {
+      confirmed.completeExceptionally(e);
+    }
+    return confirmed;
+  }
+
+  /**
+   * Sends the specified {@link SzMessage} as a record, notifying the
+   * specified {@link FailureHandler} (if any) and completing the specified
+   * {@link CompletableFuture} (if any) once the send completes.
+   *
+   * @param message The {@link SzMessage} to be sent.
+   * @param onFailure The function to call upon failure to send the message,
+   *                  or <tt>null</tt> if none.
+   * @param confirmed The {@link CompletableFuture} to complete once the send
+   *                  completes, or <tt>null</tt> if none.
+   *
+   * @throws Exception If a failure occurs in sending the message.
+   */
+  private void send(SzMessage               message,
+                    FailureHandler          onFailure,
+                    CompletableFuture<Void> confirmed)
+      throws Exception
   {
     // create the record to send
+    String key = (this.keyByEntity) ? getEntityKey(message) : null;
     ProducerRecord<String, String> record
-        = new ProducerRecord<>(this.topic, message.getBody());
+        = new ProducerRecord<>(this.topic, key, message.getBody());
 
     // add any message properties as headers if they exist
     Map<String, String> props = message.getProperties();
-    if (props == null && props.size() > 0) {
-      props.forEach((key, value)-> {
+    if (props != null && props.size() > 0) {
+      props.forEach((propKey, value)-> {
         try {
-          record.headers().add(key, value.getBytes(UTF_8));
+          record.headers().add(propKey, value.getBytes(UTF_8));
 
         } catch (UnsupportedEncodingException cannotHappen) {
           throw new IllegalStateException(cannotHappen);
@@ -118,33 +359,76 @@ public class KafkaEndpoint extends SzAbstractMessagingEndpoint {
 
     // send the record -- account for immediate and asynchronous exceptions
     Exception[] failure = { null };
-    this.producer.send(record, ((recordMetadata, exception) -> {
-      // check if a handler is defined
-      if (onFailure != null) {
-        try {
-          // handle the failure
-          onFailure.handle(exception, message);
+    boolean[] completed = { false };
+    synchronized (this) {
+      this.pendingCount++;
+    }
+    try {
+      this.producer.send(record, ((recordMetadata, exception) -> {
+        this.completeSend(completed);
+
+        // check if the record was sent successfully
+        if (exception == null) {
+          if (confirmed != null) confirmed.complete(null);
+          return;
+        }
+        if (confirmed != null) confirmed.completeExceptionally(exception);
+
+        // check if a handler is defined
+        if (onFailure != null) {
+          try {
+            // handle the failure
+            onFailure.handle(exception, message);
 
-        } catch (Exception ignore) {
-          ignore.printStackTrace();
+          } catch (Exception ignore) {
+            ignore.printStackTrace();
+          }
         }
-      }
 
-      // set the failure as an exception object in case this was blocking
-      failure[0] = exception;
-    }));
+        // set the failure as an exception object in case this was blocking
+        failure[0] = exception;
+      }));
+
+    } catch (RuntimeException e) {
+      // the callback is not called for some immediate failures
+      this.completeSend(completed);
+      throw e;
+    }
 
     // check if non-null and rethrow (usually not the case)
     if (failure[0] != null) throw failure[0];
   }
 
   /**
-   * Handles closing the underling {@link KafkaProducer} object.
+   * Records the completion of sending a record unless its completion was
+   * already recorded.
+   *
+   * @param completed The single-element array holding the flag indicating
+   *                  if the completion was already recorded.
+   */
+  private synchronized void completeSend(boolean[] completed) {
+    if (completed[0]) return;
+    completed[0] = true;
+    this.pendingCount--;
+  }
+
+  /**
+   * Handles closing the underling {@link KafkaProducer} object, first
+   * waiting up to {@link #CLOSE_TIMEOUT} milliseconds for the buffered
+   * records to be sent.
    *
    * @throws Exception If a failure occurs.
    */
   protected void doClose() throws Exception {
-    this.producer.close();
+    this.producer.close(Duration.ofMillis(CLOSE_TIMEOUT));
+
+    // report any records that could not be sent in time
+    synchronized (this) {
+      if (this.pendingCount > 0L) {
+        System.err.println("Discarded " + this.pendingCount + " unsent info "
+                           + "message(s) when closing the Kafka producer.");
+      }
+    }
   }
 
   /**
@@ -174,7 +458,6 @@ public class KafkaEndpoint extends SzAbstractMessagingEndpoint {
       }
       if (count == 0) return null;
       String servers = (String) props.get(BOOTSTRAP_SERVERS_PROPERTY_KEY);
-      String groupId = (String) props.get(GROUP_ID_PROPERTY_KEY);
       String topic   = (String) props.get(TOPIC_PROPERTY_KEY);
 
       // check if the servers and topic are provided
@@ -185,18 +468,15 @@ public class KafkaEndpoint extends SzAbstractMessagingEndpoint {
       }
 
       // create the kafka properties object
-      Properties kafkaProps  = new Properties();
-
-      kafkaProps.put("bootstrap.servers", servers);
-      kafkaProps.put("group.id", groupId);
-      kafkaProps.put("key.serializer", STRING_SERIALIZER);
-      kafkaProps.put("value.serializer", STRING_SERIALIZER);
+      Properties kafkaProps = toProducerProperties(props);
 
       // create the producer
       KafkaProducer<String,String> producer = new KafkaProducer<>(kafkaProps);
 
       // return the endpoint
-      return new KafkaEndpoint(topic, producer);
+      boolean keyByEntity
+          = Boolean.TRUE.equals(props.get(KEY_BY_ENTITY_PROPERTY_KEY));
+      return new KafkaEndpoint(topic, producer, keyByEntity);
     }
 
     /**
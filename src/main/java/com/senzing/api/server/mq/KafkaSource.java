@@ -0,0 +1,453 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.services.SzMessage;
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import static com.senzing.api.server.mq.KafkaEndpoint.*;
+import static com.senzing.io.IOUtilities.UTF_8;
+
+/**
+ * Provides a Kafka implementation of {@link SzMessageSource} that consumes
+ * records from a topic as part of a consumer group.  Offsets are committed
+ * manually and only up to the lowest offset on each partition that has not
+ * yet been acknowledged, so records that were received but not processed are
+ * redelivered after a restart or rebalance.  Releasing a record rewinds its
+ * partition so that it is received again.
+ */
+public class KafkaSource implements SzMessageSource {
+  /**
+   * The {@link Initiator} for the {@link KafkaSource} class.
+   */
+  public static final Initiator INITIATOR = new KafkaSourceInitiator();
+
+  /**
+   * The property key for the Kafka topic to which records that cannot be
+   * processed are routed.
+   */
+  public static final String DEAD_LETTER_TOPIC_PROPERTY_KEY
+      = PROPERTY_PREFIX + "dead-letter-topic";
+
+  /**
+   * The <b>unmodifiable</b> {@link Set} of {@link String} property keys for
+   * creating a {@link KafkaSource} via {@link #INITIATOR}.
+   */
+  public static final Set<String> PROPERTY_KEYS
+      = Set.of(BOOTSTRAP_SERVERS_PROPERTY_KEY,
+               GROUP_ID_PROPERTY_KEY,
+               TOPIC_PROPERTY_KEY,
+               DEAD_LETTER_TOPIC_PROPERTY_KEY);
+
+  /**
+   * The minimum number of milliseconds between asynchronous offset commits.
+   */
+  public static final long COMMIT_INTERVAL = 1000L;
+
+  /**
+   * The class name of the Kafka string deserializer.
+   */
+  private static final String STRING_DESERIALIZER
+      = "org.apache.kafka.common.serialization.StringDeserializer";
+
+  /**
+   * Tracks the offsets received from a single partition that have not yet
+   * been acknowledged.
+   */
+  private static class PartitionState {
+    /**
+     * The offsets that have been received but not yet acknowledged.
+     */
+    private final ConcurrentSkipListSet<Long> outstanding
+        = new ConcurrentSkipListSet<>();
+
+    /**
+     * The offset following the highest offset received.  This is only
+     * accessed from the receiving thread.
+     */
+    private long nextOffset = -1L;
+
+    /**
+     * The offset that was last committed.  This is only accessed from the
+     * receiving thread.
+     */
+    private long committedOffset = -1L;
+
+    /**
+     * Gets the offset up to which the partition can be committed, which is
+     * the lowest outstanding offset or the offset following the highest
+     * offset received if none are outstanding.  This is only called from the
+     * receiving thread which is the only thread that adds offsets.
+     *
+     * @return The offset up to which the partition can be committed.
+     */
+    private long getCommittableOffset() {
+      Long lowest = this.outstanding.ceiling(Long.MIN_VALUE);
+      return (lowest == null) ? this.nextOffset : lowest;
+    }
+  }
+
+  /**
+   * The {@link Delivery} implementation for a Kafka record.
+   */
+  private class KafkaDelivery implements Delivery {
+    /**
+     * The {@link TopicPartition} for the record.
+     */
+    private final TopicPartition partition;
+
+    /**
+     * The {@link PartitionState} for the partition of the record.
+     */
+    private final PartitionState state;
+
+    /**
+     * The offset of the record.
+     */
+    private final long offset;
+
+    /**
+     * The {@link SzMessage} for the record.
+     */
+    private final SzMessage message;
+
+    /**
+     * Constructs with the specified parameters.
+     *
+     * @param partition The {@link TopicPartition} for the record.
+     * @param state The {@link PartitionState} for the partition.
+     * @param record The {@link ConsumerRecord} that was received.
+     */
+    private KafkaDelivery(TopicPartition                  partition,
+                          PartitionState                  state,
+                          ConsumerRecord<String, String>  record)
+    {
+      this.partition  = partition;
+      this.state      = state;
+      this.offset     = record.offset();
+      this.message    = toMessage(record);
+    }
+
+    @Override
+    public SzMessage getMessage() {
+      return this.message;
+    }
+
+    /**
+     * Implemented to allow the offset of the record to be committed.
+     */
+    @Override
+    public void acknowledge() {
+      this.state.outstanding.remove(this.offset);
+    }
+
+    /**
+     * Implemented to rewind the partition to the offset of the record on the
+     * next call to {@link #receive(int, long)}.
+     */
+    @Override
+    public void release() {
+      KafkaSource.this.released.add(this);
+    }
+  }
+
+  /**
+   * The Kafka topic being consumed.
+   */
+  private String topic;
+
+  /**
+   * The {@link KafkaConsumer} for consuming the records.
+   */
+  private KafkaConsumer<String, String> consumer;
+
+  /**
+   * The {@link Map} of {@link TopicPartition} keys to {@link PartitionState}
+   * values for the assigned partitions.  This is only accessed from the
+   * receiving thread.
+   */
+  private Map<TopicPartition, PartitionState> partitions = new HashMap<>();
+
+  /**
+   * The received {@link KafkaDelivery} instances that have not yet been
+   * returned from {@link #receive(int, long)}.
+   */
+  private LinkedList<KafkaDelivery> buffer = new LinkedList<>();
+
+  /**
+   * The released {@link KafkaDelivery} instances whose partitions should be
+   * rewound.
+   */
+  private final Queue<KafkaDelivery> released = new ConcurrentLinkedQueue<>();
+
+  /**
+   * The time in milliseconds when the offsets were last committed.
+   */
+  private long commitTime = 0L;
+
+  /**
+   * Constructs with the specified topic and {@link KafkaConsumer}.  The
+   * consumer should have automatic offset commits disabled.
+   *
+   * @param topic The Kafka topic to consume.
+   * @param consumer The {@link KafkaConsumer} to consume with.
+   */
+  public KafkaSource(String topic, KafkaConsumer<String, String> consumer) {
+    this.topic    = topic;
+    this.consumer = consumer;
+    this.consumer.subscribe(List.of(this.topic), new RebalanceListener());
+  }
+
+  /**
+   * Handles partition rebalancing by committing the offsets of the revoked
+   * partitions and forgetting their state.
+   */
+  private class RebalanceListener implements ConsumerRebalanceListener {
+    @Override
+    public void onPartitionsRevoked(Collection<TopicPartition> revoked) {
+      KafkaSource.this.commit(revoked, true);
+      KafkaSource.this.forget(revoked);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Collection<TopicPartition> assigned) {
+      // do nothing -- state is created as records are received
+    }
+
+    @Override
+    public void onPartitionsLost(Collection<TopicPartition> lost) {
+      KafkaSource.this.forget(lost);
+    }
+  }
+
+  /**
+   * Forgets the state and buffered records for the specified partitions.
+   *
+   * @param partitions The {@link Collection} of {@link TopicPartition}
+   *                   instances to forget.
+   */
+  private void forget(Collection<TopicPartition> partitions) {
+    this.partitions.keySet().removeAll(partitions);
+    this.buffer.removeIf(delivery -> partitions.contains(delivery.partition));
+  }
+
+  /**
+   * Converts the specified {@link ConsumerRecord} to an {@link SzMessage},
+   * converting the record headers to message properties.
+   *
+   * @param record The {@link ConsumerRecord} to convert.
+   *
+   * @return The {@link SzMessage} for the record.
+   */
+  private static SzMessage toMessage(ConsumerRecord<String, String> record) {
+    SzMessage message = new SzMessage(record.value());
+    for (Header header : record.headers()) {
+      if (header.value() == null) continue;
+      try {
+        message.setProperty(header.key(), new String(header.value(), UTF_8));
+
+      } catch (UnsupportedEncodingException cannotHappen) {
+        throw new IllegalStateException(cannotHappen);
+      }
+    }
+    return message;
+  }
+
+  @Override
+  public List<Delivery> receive(int maxCount, long timeoutMillis) {
+    // rewind any partitions with released records
+    this.rewind();
+
+    // poll for more records if none are buffered
+    if (this.buffer.size() == 0) {
+      for (ConsumerRecord<String, String> record
+          : this.consumer.poll(Duration.ofMillis(timeoutMillis)))
+      {
+        TopicPartition partition
+            = new TopicPartition(record.topic(), record.partition());
+        PartitionState state = this.partitions.get(partition);
+        if (state == null) {
+          state = new PartitionState();
+          this.partitions.put(partition, state);
+        }
+        state.outstanding.add(record.offset());
+        state.nextOffset = Math.max(state.nextOffset, record.offset() + 1L);
+        this.buffer.add(new KafkaDelivery(partition, state, record));
+      }
+    }
+
+    // commit the acknowledged offsets periodically
+    long now = System.currentTimeMillis();
+    if (now - this.commitTime >= COMMIT_INTERVAL) {
+      this.commit(this.partitions.keySet(), false);
+      this.commitTime = now;
+    }
+
+    // return the buffered records
+    List<Delivery> result = new ArrayList<>(Math.min(maxCount, 100));
+    while (result.size() < maxCount && this.buffer.size() > 0) {
+      result.add(this.buffer.removeFirst());
+    }
+    return result;
+  }
+
+  /**
+   * Rewinds the partitions of any released records to the lowest released
+   * offset so that they are received again, discarding any buffered records
+   * at or after that offset.
+   */
+  private void rewind() {
+    Map<TopicPartition, Long> seekMap = new HashMap<>();
+    for (KafkaDelivery delivery = this.released.poll();
+         delivery != null;
+         delivery = this.released.poll())
+    {
+      // ignore records from partitions that are no longer assigned
+      if (this.partitions.get(delivery.partition) != delivery.state) continue;
+      seekMap.merge(delivery.partition, delivery.offset, Math::min);
+    }
+    seekMap.forEach((partition, offset) -> {
+      this.buffer.removeIf(delivery -> delivery.partition.equals(partition)
+          && delivery.offset >= offset);
+      this.consumer.seek(partition, offset);
+    });
+  }
+
+  /**
+   * Commits the offsets for the specified partitions up to the lowest offset
+   * that has not yet been acknowledged.
+   *
+   * @param partitions The {@link Collection} of {@link TopicPartition}
+   *                   instances to commit.
+   * @param sync <tt>true</tt> if the commit should be synchronous, otherwise
+   *             <tt>false</tt>.
+   */
+  private void commit(Collection<TopicPartition> partitions, boolean sync) {
+    Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+    for (TopicPartition partition : partitions) {
+      PartitionState state = this.partitions.get(partition);
+      if (state == null) continue;
+      long offset = state.getCommittableOffset();
+      if (offset > state.committedOffset) {
+        offsets.put(partition, new OffsetAndMetadata(offset));
+        state.committedOffset = offset;
+      }
+    }
+    if (offsets.size() == 0) return;
+    if (sync) {
+      this.consumer.commitSync(offsets);
+    } else {
+      this.consumer.commitAsync(offsets, (committed, exception) -> {
+        if (exception != null) {
+          System.err.println("Failed to commit Kafka offsets: " + committed);
+          exception.printStackTrace();
+        }
+      });
+    }
+  }
+
+  /**
+   * Implemented to return {@link KafkaEndpoint#KAFKA_SINK_TYPE}.
+   * {@inheritDoc}
+   */
+  @Override
+  public String getProviderType() {
+    return KAFKA_SINK_TYPE;
+  }
+
+  /**
+   * Commits the acknowledged offsets and closes the underlying {@link
+   * KafkaConsumer}, waiting up to {@link KafkaEndpoint#CLOSE_TIMEOUT}
+   * milliseconds.
+   */
+  @Override
+  public void close() {
+    try {
+      this.commit(this.partitions.keySet(), true);
+
+    } finally {
+      this.consumer.close(Duration.ofMillis(CLOSE_TIMEOUT));
+    }
+  }
+
+  /**
+   * Provides an {@link SzMessageSource.Initiator} implementation that creates
+   * an instance of {@link KafkaSource} from properties.
+   */
+  private static class KafkaSourceInitiator implements Initiator {
+    /**
+     * Default constructor.
+     */
+    private KafkaSourceInitiator() {
+      // do nothing
+    }
+
+    /**
+     * Handles establishing a Kafka connection.
+     */
+    @Override
+    public SzMessageSource establish(Map<String, ?> props, int concurrency) {
+      if (props == null) return null;
+      int count = 0;
+      for (String key: this.getPropertyKeys()) {
+        if (props.containsKey(key)) count++;
+      }
+      if (count == 0) return null;
+      String servers = (String) props.get(BOOTSTRAP_SERVERS_PROPERTY_KEY);
+      String groupId = (String) props.get(GROUP_ID_PROPERTY_KEY);
+      String topic   = (String) props.get(TOPIC_PROPERTY_KEY);
+
+      // check if the servers, group and topic are provided
+      if (servers == null || groupId == null || topic == null) {
+        throw new IllegalArgumentException(
+            "The bootstrap servers, group ID and topic properties are "
+            + "required for consuming from Kafka.  props=[ " + props + " ]");
+      }
+
+      // create the kafka properties object
+      Properties kafkaProps = new Properties();
+      kafkaProps.put("bootstrap.servers", servers);
+      kafkaProps.put("group.id", groupId);
+      kafkaProps.put("enable.auto.commit", "false");
+      kafkaProps.put("auto.offset.reset", "earliest");
+      kafkaProps.put("max.poll.records", String.valueOf(concurrency * 2));
+      kafkaProps.put("key.deserializer", STRING_DESERIALIZER);
+      kafkaProps.put("value.deserializer", STRING_DESERIALIZER);
+
+      // create the consumer and the source
+      return new KafkaSource(topic, new KafkaConsumer<>(kafkaProps));
+    }
+
+    /**
+     * Implemented to return the properties for a {@link KafkaEndpoint} on the
+     * same bootstrap servers for the {@link #DEAD_LETTER_TOPIC_PROPERTY_KEY}
+     * topic.
+     */
+    @Override
+    public Map<String, ?> getDeadLetterProperties(Map<String, ?> props) {
+      if (props == null) return null;
+      Object servers  = props.get(BOOTSTRAP_SERVERS_PROPERTY_KEY);
+      Object topic    = props.get(DEAD_LETTER_TOPIC_PROPERTY_KEY);
+      if (servers == null || topic == null) return null;
+      return Map.of(BOOTSTRAP_SERVERS_PROPERTY_KEY, servers,
+                    TOPIC_PROPERTY_KEY, topic);
+    }
+
+    /**
+     * Implemented to return {@link #PROPERTY_KEYS}.
+     */
+    @Override
+    public Set<String> getPropertyKeys() {
+      return PROPERTY_KEYS;
+    }
+  }
+}
@@ -2,16 +2,22 @@ package com.senzing.api.server.mq;
 
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ConfirmListener;
 import com.rabbitmq.client.Connection;
 import com.rabbitmq.client.ConnectionFactory;
+import com.rabbitmq.client.ShutdownSignalException;
 import com.senzing.api.services.SzMessage;
 import com.senzing.api.services.SzMessageSink;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import static com.senzing.io.IOUtilities.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Provides a RabbitMQ implementation of {@link SzMessageSink}.
@@ -20,6 +26,13 @@ import static com.senzing.io.IOUtilities.*;
  * <pre>
  *  amqp://{user}:{password}@{host}:{port}/{virtualHost}/{exchange}/{routingKey}[?{prop1}={value1}&{prop2}={value2}]
  * </pre>
+ *
+ * Messages are published on a lock-free pool of channels that are placed in
+ * confirm mode.  Publishing does not wait for the broker to confirm each
+ * message, but the messages are tracked by delivery tag until confirmed and
+ * any that are negatively acknowledged are republished up to {@link
+ * #MAX_PUBLISH_ATTEMPTS} times before their {@link FailureHandler} is
+ * notified.
  */
 public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
   /**
@@ -99,22 +112,260 @@ public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
    */
   public static final long MAX_POOL_WAIT_TIME = 15000L;
 
+  /**
+   * The maximum number of messages published on a single channel that may be
+   * awaiting a publisher confirm from the broker before publishing on that
+   * channel blocks.
+   */
+  public static final int MAX_PENDING_CONFIRMS = 1000;
+
+  /**
+   * The maximum number of times a message is published before a negative
+   * acknowledgement from the broker is reported as a failure.
+   */
+  public static final int MAX_PUBLISH_ATTEMPTS = 3;
+
+  /**
+   * The number of milliseconds to wait before republishing a negatively
+   * acknowledged message, multiplied by the number of prior attempts.
+   */
+  public static final long RETRY_DELAY = 100L;
+
+  /**
+   * The maximum number of milliseconds to wait for outstanding publisher
+   * confirms and retries when closing the endpoint.
+   */
+  public static final long CONFIRM_TIMEOUT = 10000L;
+
+  /**
+   * The number of milliseconds to sleep between checks for outstanding
+   * publisher confirms when closing the endpoint.
+   */
+  private static final long CONFIRM_POLL_INTERVAL = 10L;
+
+  /**
+   * Describes a message that has been published and is awaiting a publisher
+   * confirm from the broker.
+   */
+  private static class PendingMessage {
+    /**
+     * The {@link SzMessage} that was published.
+     */
+    private final SzMessage message;
+
+    /**
+     * The {@link FailureHandler} to notify if the message cannot be
+     * delivered, or <tt>null</tt> if none.
+     */
+    private final FailureHandler onFailure;
+
+    /**
+     * The {@link CompletableFuture} to complete once the broker confirms the
+     * message, or <tt>null</tt> if none.
+     */
+    private final CompletableFuture<Void> confirmed;
+
+    /**
+     * The one-based attempt number for this publication of the message.
+     */
+    private final int attempt;
+
+    /**
+     * Constructs with the specified parameters.
+     *
+     * @param message The {@link SzMessage} that was published.
+     * @param onFailure The {@link FailureHandler} to notify on failure, or
+     *                  <tt>null</tt> if none.
+     * @param confirmed The {@link CompletableFuture} to complete once the
+     *                  broker confirms the message, or <tt>null</tt> if none.
+     * @param attempt The one-based attempt number.
+     */
+    private PendingMessage(SzMessage               message,
+                           FailureHandler          onFailure,
+                           CompletableFuture<Void> confirmed,
+                           int                     attempt)
+    {
+      this.message    = message;
+      this.onFailure  = onFailure;
+      this.confirmed  = confirmed;
+      this.attempt    = attempt;
+    }
+
+    /**
+     * Creates the {@link PendingMessage} for the next attempt at publishing
+     * the same message.
+     *
+     * @return The {@link PendingMessage} for the next attempt.
+     */
+    private PendingMessage nextAttempt() {
+      return new PendingMessage(
+          this.message, this.onFailure, this.confirmed, this.attempt + 1);
+    }
+  }
+
+  /**
+   * Wraps a {@link Channel} that has been placed in confirm mode and tracks
+   * the messages published on it by delivery tag until the broker confirms
+   * them.  The broker may acknowledge or negatively acknowledge a range of
+   * delivery tags at once, so the confirms are applied in batches.
+   */
+  private class ConfirmChannel implements ConfirmListener {
+    /**
+     * The underlying {@link Channel}.
+     */
+    private final Channel channel;
+
+    /**
+     * The {@link PendingMessage} instances awaiting a confirm keyed by their
+     * {@link Long} delivery tag.
+     */
+    private final ConcurrentNavigableMap<Long, PendingMessage> unconfirmed
+        = new ConcurrentSkipListMap<>();
+
+    /**
+     * The {@link Semaphore} bounding the number of unconfirmed messages.
+     */
+    private final Semaphore window = new Semaphore(MAX_PENDING_CONFIRMS);
+
+    /**
+     * Constructs with the specified {@link Channel}, placing it in confirm
+     * mode and registering for its confirms.
+     *
+     * @param channel The {@link Channel} to wrap.
+     *
+     * @throws IOException If the channel could not be placed in confirm mode.
+     */
+    private ConfirmChannel(Channel channel) throws IOException {
+      this.channel = channel;
+      this.channel.confirmSelect();
+      this.channel.addConfirmListener(this);
+      this.channel.addShutdownListener(cause -> this.handleShutdown(cause));
+    }
+
+    /**
+     * Publishes the message described by the specified {@link
+     * PendingMessage} on this channel and records it as awaiting a confirm.
+     * This blocks if the maximum number of unconfirmed messages has been
+     * reached on this channel.
+     *
+     * @param pending The {@link PendingMessage} to publish.
+     *
+     * @throws Exception If a failure occurs in publishing the message.
+     */
+    private void publish(PendingMessage pending) throws Exception {
+      if (!this.window.tryAcquire(MAX_POOL_WAIT_TIME, MILLISECONDS)) {
+        throw new IllegalStateException(
+            "Waited too long for publisher confirms from the broker: "
+            + MAX_POOL_WAIT_TIME + "ms");
+      }
+      long deliveryTag = this.channel.getNextPublishSeqNo();
+      this.unconfirmed.put(deliveryTag, pending);
+      try {
+        this.channel.basicPublish(RabbitEndpoint.this.exchange,
+                                  RabbitEndpoint.this.routingKey,
+                                  buildProperties(pending.message),
+                                  encodeBody(pending.message));
+
+      } catch (Exception e) {
+        if (this.unconfirmed.remove(deliveryTag) != null) {
+          this.window.release();
+        }
+        throw e;
+      }
+    }
+
+    /**
+     * Implemented to discard the confirmed messages, completing the {@link
+     * CompletableFuture} of any that are awaiting the confirm.
+     */
+    @Override
+    public void handleAck(long deliveryTag, boolean multiple) {
+      for (PendingMessage pending : this.confirm(deliveryTag, multiple)) {
+        if (pending.confirmed != null) pending.confirmed.complete(null);
+      }
+    }
+
+    /**
+     * Implemented to retry the negatively acknowledged messages.
+     */
+    @Override
+    public void handleNack(long deliveryTag, boolean multiple) {
+      for (PendingMessage pending : this.confirm(deliveryTag, multiple)) {
+        RabbitEndpoint.this.retry(pending, new IOException(
+            "Message was negatively acknowledged by the broker."));
+      }
+    }
+
+    /**
+     * Removes the messages covered by the specified delivery tag from the
+     * unconfirmed messages and returns them.
+     *
+     * @param deliveryTag The delivery tag from the broker.
+     * @param multiple <tt>true</tt> if all delivery tags up to and including
+     *                 the specified one are covered, otherwise <tt>false</tt>.
+     *
+     * @return The {@link List} of removed {@link PendingMessage} instances.
+     */
+    private List<PendingMessage> confirm(long deliveryTag, boolean multiple) {
+      Set<Long> deliveryTags = (multiple)
+          ? this.unconfirmed.headMap(deliveryTag, true).keySet()
+          : Collections.singleton(deliveryTag);
+
+      List<PendingMessage> result = new LinkedList<>();
+      for (Long tag : deliveryTags) {
+        PendingMessage pending = this.unconfirmed.remove(tag);
+        if (pending != null) {
+          this.window.release();
+          result.add(pending);
+        }
+      }
+      return result;
+    }
+
+    /**
+     * Handles the shutdown of the underlying {@link Channel} by retrying any
+     * messages that will now never be confirmed on it.
+     *
+     * @param cause The {@link ShutdownSignalException} for the shutdown.
+     */
+    private void handleShutdown(ShutdownSignalException cause) {
+      for (PendingMessage pending : this.drain()) {
+        RabbitEndpoint.this.retry(pending, cause);
+      }
+    }
+
+    /**
+     * Removes and returns all unconfirmed messages.
+     *
+     * @return The {@link List} of removed {@link PendingMessage} instances.
+     */
+    private List<PendingMessage> drain() {
+      List<PendingMessage> result = new LinkedList<>();
+      Map.Entry<Long, PendingMessage> entry;
+      while ((entry = this.unconfirmed.pollFirstEntry()) != null) {
+        this.window.release();
+        result.add(entry.getValue());
+      }
+      return result;
+    }
+  }
+
   /**
    * Provides a wrapper for a {@link Channel} instance that implements the
    * {@link SzMessageSink} interface.
    */
   private class ChannelSink implements SzMessageSink {
     /**
-     * The {@link Channel} instance associated with this sink.
+     * The {@link ConfirmChannel} instance associated with this sink.
      */
-    private Channel channel;
+    private ConfirmChannel channel;
 
     /**
-     * Constructs with the specified {@link Channel} object.
+     * Constructs with the specified {@link ConfirmChannel} object.
      *
-     * @param channel The {@link Channel} instance to construct with.
+     * @param channel The {@link ConfirmChannel} instance to construct with.
      */
-    public ChannelSink(Channel channel) {
+    public ChannelSink(ConfirmChannel channel) {
       this.channel = channel;
     }
 
@@ -126,6 +377,60 @@ public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
     public void send(SzMessage message, FailureHandler onFailure)
         throws Exception
     {
+      this.checkAcquired();
+      CONTEXT_SINK.set(this);
+      try {
+        // send the message
+        RabbitEndpoint.this.send(message, onFailure);
+
+      } finally {
+        CONTEXT_SINK.set(null);
+      }
+    }
+
+    /**
+     * Implemented to send the specified {@link SzMessage} instances on the
+     * associated {@link Channel}.
+     */
+    @Override
+    public void sendBatch(List<SzMessage> messages, FailureHandler onFailure)
+        throws Exception
+    {
+      this.checkAcquired();
+      CONTEXT_SINK.set(this);
+      try {
+        // send the messages
+        RabbitEndpoint.this.sendBatch(messages, onFailure);
+
+      } finally {
+        CONTEXT_SINK.set(null);
+      }
+    }
+
+    /**
+     * Implemented to send the specified {@link SzMessage} on the associated
+     * {@link Channel} and confirm it once the broker does.
+     */
+    @Override
+    public CompletableFuture<Void> sendConfirmed(SzMessage message) {
+      this.checkAcquired();
+      CONTEXT_SINK.set(this);
+      try {
+        // send the message
+        return RabbitEndpoint.this.sendConfirmed(message);
+
+      } finally {
+        CONTEXT_SINK.set(null);
+      }
+    }
+
+    /**
+     * Checks that this sink is the one acquired on the current thread.
+     *
+     * @throws IllegalStateException If this sink is not the one acquired on
+     *                               the current thread.
+     */
+    private void checkAcquired() throws IllegalStateException {
       // get the acquired message sink for this thread
       SzMessageSink acquiredSink = RabbitEndpoint.this.getAcquiredSink();
 
@@ -143,15 +448,6 @@ public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
             + "appears that this message sink has already been released and "
             + "can no longer be used");
       }
-
-      CONTEXT_SINK.set(this);
-      try {
-        // send the message
-        RabbitEndpoint.this.send(message, onFailure);
-
-      } finally {
-        CONTEXT_SINK.set(null);
-      }
     }
 
     @Override
@@ -178,14 +474,48 @@ public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
   private static final int PERSISTENT_DELIVERY_MODE = 2;
 
   /**
-   * The {@link List} of {@link Channel} instances to pool.
+   * The {@link Queue} of idle {@link ConfirmChannel} instances in the pool.
+   */
+  private final Queue<ConfirmChannel> channelPool
+      = new ConcurrentLinkedQueue<>();
+
+  /**
+   * The {@link Semaphore} whose permits track the number of idle channels in
+   * the pool.
+   */
+  private final Semaphore channelPermits = new Semaphore(0);
+
+  /**
+   * The {@link List} of all {@link ConfirmChannel} instances.
+   */
+  private final List<ConfirmChannel> allChannels;
+
+  /**
+   * The {@link ScheduledExecutorService} for republishing messages that were
+   * negatively acknowledged.
+   */
+  private final ScheduledExecutorService retryExecutor;
+
+  /**
+   * The number of retries that have been scheduled but not yet published.
+   */
+  private final AtomicInteger scheduledRetries = new AtomicInteger(0);
+
+  /**
+   * The number of messages that have been republished.
+   */
+  private final LongAdder retryCount = new LongAdder();
+
+  /**
+   * The number of messages that could not be delivered.
    */
-  private List<Channel> channelPool;
+  private final LongAdder failureCount = new LongAdder();
 
   /**
-   * The {@link List} of all {@link Channel} instances.
+   * Flag indicating that retries are no longer being attempted because the
+   * endpoint is being closed.
    */
-  private List<Channel> allChannels;
+  private volatile boolean retriesStopped = false;
 
   /**
    * The exchange for sending the message.
@@ -199,76 +529,204 @@ public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
 
   /**
    * Constructs with the specified {@link Channel}, exchange and routing key.
+   * Each {@link Channel} is placed in confirm mode so that messages can be
+   * retried if the broker negatively acknowledges them.
    *
    * @param exchange The RabbitMQ exchange for sending messages.
    * @param routingKey The RabbitMQ routing for sending messages.
    * @param channels The {@link List} of {@link Channel} instances to use for
    *                 the channel pool.
+   *
+   * @throws IOException If a channel could not be placed in confirm mode.
    */
   public RabbitEndpoint(List<Channel> channels,
                         String        exchange,
                         String        routingKey)
+      throws IOException
   {
     this.exchange     = exchange;
     this.routingKey   = routingKey;
-    this.allChannels  = new ArrayList<>(channels);
-    this.channelPool  = new LinkedList<>();
-    this.channelPool.addAll(channels);
+    this.allChannels  = new ArrayList<>(channels.size());
+    for (Channel channel : channels) {
+      ConfirmChannel confirmChannel = new ConfirmChannel(channel);
+      this.allChannels.add(confirmChannel);
+      this.channelPool.add(confirmChannel);
+    }
+    this.channelPermits.release(this.allChannels.size());
+
+    this.retryExecutor = Executors.newSingleThreadScheduledExecutor(task -> {
+      Thread thread = new Thread(task, "rabbitmq-confirm-retry");
+      thread.setDaemon(true);
+      return thread;
+    });
   }
 
   /**
-   * Override this method to implement pooling.  The default implementation
-   * returns a new {@link SzMessageSink} interface reference to this instance.
+   * Gets the number of published messages that are awaiting a publisher
+   * confirm from the broker.
    *
-   * @return The acquired {@link SzMessageSink}.
+   * @return The number of published messages awaiting a publisher confirm.
    */
-  protected SzMessageSink doAcquireMessageSink() {
-    synchronized (this.monitor) {
-      long startTime = System.currentTimeMillis();
-      while (this.channelPool.size() == 0) {
-        try {
-          // check if we have waited more than the maximum amount of time
-          long now = System.currentTimeMillis();
-          if (now - startTime > MAX_POOL_WAIT_TIME) {
-            throw new IllegalStateException(
-                "Waited too long to obtain a pooled channel: "
-                    + (now - startTime) + "ms");
-          }
+  public int getPendingConfirmCount() {
+    int count = 0;
+    for (ConfirmChannel channel : this.allChannels) {
+      count += channel.unconfirmed.size();
+    }
+    return count;
+  }
 
-          // determine the wait time
-          long maxWaitTime = MAX_POOL_WAIT_TIME - (now - startTime);
-          long waitTime = (POOL_WAIT_TIME < maxWaitTime)
-              ? POOL_WAIT_TIME : maxWaitTime;
+  /**
+   * Gets the number of times a message has been republished after being
+   * negatively acknowledged by the broker.
+   *
+   * @return The number of times a message has been republished.
+   */
+  public long getRetryCount() {
+    return this.retryCount.sum();
+  }
 
-          // wait for a channel
-          this.monitor.wait(waitTime);
+  /**
+   * Gets the number of messages that could not be delivered after the
+   * maximum number of attempts.
+   *
+   * @return The number of messages that could not be delivered.
+   */
+  public long getFailureCount() {
+    return this.failureCount.sum();
+  }
 
-        } catch (InterruptedException ignore) {
-          // ignore
-        }
+  /**
+   * Takes an idle {@link ConfirmChannel} from the pool, waiting for one to be
+   * released if none is idle.
+   *
+   * @return The {@link ConfirmChannel} taken from the pool.
+   *
+   * @throws IllegalStateException If a channel does not become available in
+   *                               the maximum amount of time.
+   */
+  private ConfirmChannel takeChannel() throws IllegalStateException {
+    long startTime = System.currentTimeMillis();
+    boolean acquired = false;
+    while (!acquired) {
+      // check if we have waited more than the maximum amount of time
+      long now = System.currentTimeMillis();
+      if (now - startTime > MAX_POOL_WAIT_TIME) {
+        throw new IllegalStateException(
+            "Waited too long to obtain a pooled channel: "
+                + (now - startTime) + "ms");
       }
 
-      // remove a channel from the pool
-      Channel channel = this.channelPool.remove(0);
+      // determine the wait time
+      long maxWaitTime = MAX_POOL_WAIT_TIME - (now - startTime);
+      long waitTime = (POOL_WAIT_TIME < maxWaitTime)
+          ? POOL_WAIT_TIME : maxWaitTime;
+
+      // wait for a channel
+      try {
+        acquired = this.channelPermits.tryAcquire(waitTime, MILLISECONDS);
 
-      // create a message sink with the channel
-      return new ChannelSink(channel);
+      } catch (InterruptedException ignore) {
+        // ignore
+      }
     }
+
+    // a permit guarantees an idle channel is in the queue
+    return this.channelPool.poll();
+  }
+
+  /**
+   * Returns the specified {@link ConfirmChannel} to the pool.
+   *
+   * @param channel The {@link ConfirmChannel} to return to the pool.
+   */
+  private void returnChannel(ConfirmChannel channel) {
+    this.channelPool.offer(channel);
+    this.channelPermits.release();
+  }
+
+  /**
+   * Override this method to implement pooling.  The default implementation
+   * returns a new {@link SzMessageSink} interface reference to this instance.
+   *
+   * @return The acquired {@link SzMessageSink}.
+   */
+  protected SzMessageSink doAcquireMessageSink() {
+    // create a message sink with a channel from the pool
+    return new ChannelSink(this.takeChannel());
   }
 
   /**
    * Implemented to return the {@link Channel} tp the pool.
    */
   protected void doReleaseMessageSink(SzMessageSink sink) {
-    synchronized (this.monitor) {
-      ChannelSink channelSink = (ChannelSink) sink;
-      this.channelPool.add(channelSink.channel);
-    }
+    ChannelSink channelSink = (ChannelSink) sink;
+    this.returnChannel(channelSink.channel);
   }
 
+  /**
+   * Implemented to publish the specified {@link SzMessage} on a pooled
+   * {@link Channel}.  This returns once the message has been published
+   * without waiting for the broker to confirm it.  If the broker negatively
+   * acknowledges the message then it is republished up to {@link
+   * #MAX_PUBLISH_ATTEMPTS} times before the specified {@link FailureHandler}
+   * is notified.
+   */
   @Override
   public void send(SzMessage message, FailureHandler onFailure)
       throws Exception
+  {
+    this.sendBatch(Collections.singletonList(message), onFailure);
+  }
+
+  /**
+   * Implemented to publish the specified {@link SzMessage} instances on a
+   * single pooled {@link Channel} without waiting for the broker to confirm
+   * each one.  If the broker negatively acknowledges any of the messages then
+   * they are republished up to {@link #MAX_PUBLISH_ATTEMPTS} times before
+   * the specified {@link FailureHandler} is notified.
+   */
+  @Override
+  public void sendBatch(List<SzMessage> messages, FailureHandler onFailure)
+      throws Exception
+  {
+    this.publish(messages, onFailure, null);
+  }
+
+  /**
+   * Overridden to complete the returned {@link CompletableFuture} once the
+   * broker confirms the message, which may be after it has been republished
+   * following a negative acknowledgement.
+   */
+  @Override
+  public CompletableFuture<Void> sendConfirmed(SzMessage message) {
+    CompletableFuture<Void> confirmed = new CompletableFuture<>();
+    try {
+      this.publish(Collections.singletonList(message), null, confirmed);
+
+    } catch (Exception e) {
+      confirmed.completeExceptionally(e);
+    }
+    return confirmed;
+  }
+
+  /**
+   * Publishes the specified {@link SzMessage} instances on a single pooled
+   * {@link Channel} without waiting for the broker to confirm each one.
+   *
+   * @param messages The {@link List} of {@link SzMessage} instances to be
+   *                 published.
+   * @param onFailure The function to call for each message that cannot be
+   *                  delivered, or <tt>null</tt> if none.
+   * @param confirmed The {@link CompletableFuture} to complete once the
+   *                  broker confirms a single message, or <tt>null</tt> if
+   *                  none.
+   *
+   * @throws Exception If a failure occurs in publishing any of the messages.
+   */
+  private void publish(List<SzMessage>         messages,
+                       FailureHandler          onFailure,
+                       CompletableFuture<Void> confirmed)
+      throws Exception
   {
     // get the sink
     boolean acquired = false; // flag to indicate if acquired from the pool
@@ -288,72 +746,191 @@ public class RabbitEndpoint extends SzAbstractMessagingEndpoint {
     }
 
     try {
-      // get the channel
-      Channel channel = sink.channel;
-
-      // get the message body
-      String msgBody = message.getBody();
-      byte[] body    = null;
-      if (msgBody != null) {
+      Exception failure = null;
+      for (SzMessage message : messages) {
         try {
-          body = msgBody.getBytes(UTF_8);
-
-        } catch (UnsupportedEncodingException cannotHappen) {
-          throw new IllegalStateException(cannotHappen);
+          // publish the message on the channel
+          sink.channel.publish(
+              new PendingMessage(message, onFailure, confirmed, 1));
+
+        } catch (Exception e) {
+          // check if we have a handler for the failure
+          if (onFailure != null) {
+            // handle the failure
+            onFailure.handle(e, message);
+          }
+          if (failure == null) failure = e;
         }
       }
 
-      // get the message properties
-      Map<String, String> props = message.getProperties();
-
-      // build the rabbit properties
-      AMQP.BasicProperties.Builder builder = new AMQP.BasicProperties.Builder();
-      builder.deliveryMode(PERSISTENT_DELIVERY_MODE);
-      builder.contentEncoding("UTF-8");
+      // rethrow the exception
+      if (failure != null) throw failure;
 
-      // if we have message properties then add them to the header
-      if (props != null && props.size() > 0) {
-        Map<String, Object> headers = new LinkedHashMap<>();
-        headers.putAll(props);
-        builder.headers(headers);
+    } finally {
+      if (acquired) {
+        this.releaseMessageSink(sink);
       }
+    }
+  }
 
-      // create the basic props object
-      AMQP.BasicProperties basicProps = builder.build();
+  /**
+   * Schedules the message described by the specified {@link PendingMessage}
+   * to be republished, or reports the failure if the maximum number of
+   * attempts has been reached or the endpoint is being closed.
+   *
+   * @param pending The {@link PendingMessage} for the failed attempt.
+   * @param cause The {@link Exception} describing the failure.
+   */
+  private void retry(PendingMessage pending, Exception cause) {
+    if (pending.attempt >= MAX_PUBLISH_ATTEMPTS || this.retriesStopped) {
+      this.fail(pending, cause);
+      return;
+    }
+    PendingMessage next = pending.nextAttempt();
+    this.scheduledRetries.incrementAndGet();
+    try {
+      this.retryExecutor.schedule(() -> this.republish(next),
+                                  RETRY_DELAY * pending.attempt,
+                                  MILLISECONDS);
 
-      // send the message on the channel
-      channel.basicPublish(this.exchange, this.routingKey, basicProps, body);
+    } catch (RejectedExecutionException e) {
+      this.scheduledRetries.decrementAndGet();
+      this.fail(pending, cause);
+    }
+  }
 
-    } catch (Exception e) {
-      // check if we have a handler for the failure
-      if (onFailure != null) {
-        // handle the failure
-        onFailure.handle(e, message);
+  /**
+   * Republishes the message described by the specified {@link
+   * PendingMessage} on a pooled {@link Channel}.
+   *
+   * @param pending The {@link PendingMessage} for the next attempt.
+   */
+  private void republish(PendingMessage pending) {
+    ConfirmChannel channel = null;
+    try {
+      if (this.retriesStopped) {
+        this.fail(pending, new IllegalStateException(
+            "Endpoint was closed before the message could be republished."));
+        return;
       }
+      channel = this.takeChannel();
+      channel.publish(pending);
+      this.retryCount.increment();
 
-      // rethrow the exception
-      throw e;
+    } catch (Exception e) {
+      this.retry(pending, e);
 
     } finally {
-      if (acquired) {
-        this.releaseMessageSink(sink);
-      }
+      if (channel != null) this.returnChannel(channel);
+      this.scheduledRetries.decrementAndGet();
     }
   }
 
   /**
-   * Handles closing the underling {@link Channel} object.
+   * Reports the failure to deliver the message described by the specified
+   * {@link PendingMessage} to its {@link FailureHandler}.
+   *
+   * @param pending The {@link PendingMessage} that could not be delivered.
+   * @param cause The {@link Exception} describing the failure.
+   */
+  private void fail(PendingMessage pending, Exception cause) {
+    this.failureCount.increment();
+    if (pending.confirmed != null) {
+      pending.confirmed.completeExceptionally(cause);
+    }
+    if (pending.onFailure == null) return;
+    try {
+      pending.onFailure.handle(cause, pending.message);
+
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Builds the {@link AMQP.BasicProperties} for publishing the specified
+   * {@link SzMessage}.
+   *
+   * @param message The {@link SzMessage} to be published.
+   *
+   * @return The {@link AMQP.BasicProperties} for publishing the message.
+   */
+  private static AMQP.BasicProperties buildProperties(SzMessage message) {
+    // get the message properties
+    Map<String, String> props = message.getProperties();
+
+    // build the rabbit properties
+    AMQP.BasicProperties.Builder builder = new AMQP.BasicProperties.Builder();
+    builder.deliveryMode(PERSISTENT_DELIVERY_MODE);
+    builder.contentEncoding("UTF-8");
+
+    // if we have message properties then add them to the header
+    if (props != null && props.size() > 0) {
+      Map<String, Object> headers = new LinkedHashMap<>();
+      headers.putAll(props);
+      builder.headers(headers);
+    }
+
+    // create the basic props object
+    return builder.build();
+  }
+
+  /**
+   * Encodes the body of the specified {@link SzMessage} as UTF-8 bytes.
+   *
+   * @param message The {@link SzMessage} whose body should be encoded.
+   *
+   * @return The encoded bytes, or <tt>null</tt> if the message has no body.
+   */
+  private static byte[] encodeBody(SzMessage message) {
+    // get the message body
+    String msgBody = message.getBody();
+    if (msgBody == null) return null;
+    try {
+      return msgBody.getBytes(UTF_8);
+
+    } catch (UnsupportedEncodingException cannotHappen) {
+      throw new IllegalStateException(cannotHappen);
+    }
+  }
+
+  /**
+   * Handles closing the underling {@link Channel} objects after waiting up to
+   * {@link #CONFIRM_TIMEOUT} milliseconds for outstanding publisher confirms
+   * and retries.  Messages that remain unconfirmed are reported as failures.
    *
    * @throws Exception If a failure occurs.
    */
   public void doClose() throws Exception {
-    synchronized (this.monitor) {
-      for (Channel channel: this.allChannels) {
-        channel.close();
+    // wait for the outstanding confirms and retries
+    long deadline = System.currentTimeMillis() + CONFIRM_TIMEOUT;
+    while ((this.getPendingConfirmCount() > 0
+            || this.scheduledRetries.get() > 0)
+           && System.currentTimeMillis() < deadline)
+    {
+      try {
+        Thread.sleep(CONFIRM_POLL_INTERVAL);
+
+      } catch (InterruptedException ignore) {
+        // ignore
+      }
+    }
+
+    // stop retrying and let any scheduled retries report their failure
+    this.retriesStopped = true;
+    this.retryExecutor.shutdown();
+    this.retryExecutor.awaitTermination(
+        RETRY_DELAY * MAX_PUBLISH_ATTEMPTS, MILLISECONDS);
+
+    // report the messages that were never confirmed and close the channels
+    for (ConfirmChannel channel: this.allChannels) {
+      for (PendingMessage pending : channel.drain()) {
+        this.fail(pending, new IllegalStateException(
+            "Endpoint was closed before the message was confirmed."));
       }
-      this.allChannels.clear();
-      this.channelPool.clear();
+      if (channel.channel.isOpen()) channel.channel.close();
     }
+    this.channelPool.clear();
   }
 
   /**
@@ -0,0 +1,326 @@
+package com.senzing.api.server.mq;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+import com.senzing.api.services.SzMessage;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static com.senzing.api.server.mq.RabbitEndpoint.*;
+import static com.senzing.io.IOUtilities.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Provides a RabbitMQ implementation of {@link SzMessageSource} that consumes
+ * messages from a queue with manual acknowledgements.  The number of
+ * unacknowledged messages delivered by the broker is limited to twice the
+ * concurrency so that messages are not buffered in memory beyond what can be
+ * processed.
+ */
+public class RabbitSource implements SzMessageSource {
+  /**
+   * The {@link Initiator} for the {@link RabbitSource} class.
+   */
+  public static final Initiator INITIATOR = new RabbitSourceInitiator();
+
+  /**
+   * The property key for the RabbitMQ queue to consume.
+   */
+  public static final String QUEUE_PROPERTY_KEY = PROPERTY_PREFIX + "queue";
+
+  /**
+   * The property key for the RabbitMQ exchange to which messages that cannot
+   * be processed are routed.
+   */
+  public static final String DEAD_LETTER_EXCHANGE_PROPERTY_KEY
+      = PROPERTY_PREFIX + "dead-letter-exchange";
+
+  /**
+   * The property key for the RabbitMQ routing key with which messages that
+   * cannot be processed are routed.
+   */
+  public static final String DEAD_LETTER_ROUTING_KEY_PROPERTY_KEY
+      = PROPERTY_PREFIX + "dead-letter-routing-key";
+
+  /**
+   * The <b>unmodifiable</b> {@link Set} of {@link String} property keys that
+   * are required for creating a {@link RabbitSource} via {@link #INITIATOR}.
+   */
+  public static final Set<String> PROPERTY_KEYS
+      = Set.of(USER_PROPERTY_KEY,
+               PASSWORD_PROPERTY_KEY,
+               HOST_PROPERTY_KEY,
+               PORT_PROPERTY_KEY,
+               VIRTUAL_HOST_PROPERTY_KEY,
+               QUEUE_PROPERTY_KEY);
+
+  /**
+   * The {@link Delivery} implementation for a RabbitMQ message.
+   */
+  private class RabbitDelivery implements Delivery {
+    /**
+     * The delivery tag for the message.
+     */
+    private final long deliveryTag;
+
+    /**
+     * The {@link SzMessage} for the message.
+     */
+    private final SzMessage message;
+
+    /**
+     * Constructs with the specified delivery tag and {@link SzMessage}.
+     *
+     * @param deliveryTag The delivery tag for the message.
+     * @param message The {@link SzMessage} for the message.
+     */
+    private RabbitDelivery(long deliveryTag, SzMessage message) {
+      this.deliveryTag  = deliveryTag;
+      this.message      = message;
+    }
+
+    @Override
+    public SzMessage getMessage() {
+      return this.message;
+    }
+
+    /**
+     * Implemented to acknowledge the message on the channel.
+     */
+    @Override
+    public void acknowledge() throws IOException {
+      synchronized (RabbitSource.this.channel) {
+        RabbitSource.this.channel.basicAck(this.deliveryTag, false);
+      }
+    }
+
+    /**
+     * Implemented to negatively acknowledge the message on the channel with
+     * a request that it be requeued.
+     */
+    @Override
+    public void release() throws IOException {
+      synchronized (RabbitSource.this.channel) {
+        RabbitSource.this.channel.basicNack(this.deliveryTag, false, true);
+      }
+    }
+  }
+
+  /**
+   * The {@link Channel} from which messages are consumed.
+   */
+  private final Channel channel;
+
+  /**
+   * The {@link BlockingQueue} of {@link Delivery} instances delivered by the
+   * broker that have not yet been received.
+   */
+  private final BlockingQueue<Delivery> deliveries
+      = new LinkedBlockingQueue<>();
+
+  /**
+   * The consumer tag for the subscription.
+   */
+  private final String consumerTag;
+
+  /**
+   * Constructs with the specified {@link Channel}, queue name and
+   * concurrency.
+   *
+   * @param channel The {@link Channel} to consume from.
+   * @param queue The name of the queue to consume.
+   * @param concurrency The number of messages that will be processed
+   *                    concurrently.
+   *
+   * @throws IOException If the subscription could not be established.
+   */
+  public RabbitSource(Channel channel, String queue, int concurrency)
+      throws IOException
+  {
+    this.channel = channel;
+    this.channel.basicQos(concurrency * 2);
+    this.consumerTag = this.channel.basicConsume(
+        queue,
+        false,
+        (tag, delivery) -> this.deliveries.add(new RabbitDelivery(
+            delivery.getEnvelope().getDeliveryTag(),
+            toMessage(delivery.getProperties(), delivery.getBody()))),
+        tag -> System.err.println(
+            "RabbitMQ consumer was cancelled for queue: " + queue));
+  }
+
+  /**
+   * Converts the specified message properties and body to an {@link
+   * SzMessage}, converting the headers to message properties.
+   *
+   * @param props The {@link AMQP.BasicProperties} for the message.
+   * @param body The bytes of the message body.
+   *
+   * @return The {@link SzMessage} for the message.
+   */
+  private static SzMessage toMessage(AMQP.BasicProperties props, byte[] body)
+  {
+    try {
+      SzMessage message
+          = new SzMessage((body == null) ? null : new String(body, UTF_8));
+      Map<String, Object> headers
+          = (props == null) ? null : props.getHeaders();
+      if (headers != null) {
+        headers.forEach((key, value) -> {
+          if (value != null) message.setProperty(key, value.toString());
+        });
+      }
+      return message;
+
+    } catch (UnsupportedEncodingException cannotHappen) {
+      throw new IllegalStateException(cannotHappen);
+    }
+  }
+
+  @Override
+  public List<Delivery> receive(int maxCount, long timeoutMillis)
+      throws InterruptedException
+  {
+    List<Delivery> result = new ArrayList<>(Math.min(maxCount, 100));
+    Delivery first = this.deliveries.poll(timeoutMillis, MILLISECONDS);
+    if (first == null) return result;
+    result.add(first);
+    this.deliveries.drainTo(result, maxCount - 1);
+    return result;
+  }
+
+  /**
+   * Implemented to return {@link RabbitEndpoint#RABBIT_SINK_TYPE}.
+   * {@inheritDoc}
+   */
+  @Override
+  public String getProviderType() {
+    return RABBIT_SINK_TYPE;
+  }
+
+  /**
+   * Cancels the subscription and closes the underlying {@link Channel} and
+   * its {@link Connection}.  The broker requeues any messages that were not
+   * acknowledged.
+   */
+  @Override
+  public void close() throws Exception {
+    synchronized (this.channel) {
+      try {
+        if (this.channel.isOpen()) this.channel.basicCancel(this.consumerTag);
+
+      } finally {
+        Connection conn = this.channel.getConnection();
+        if (conn.isOpen()) conn.close();
+      }
+    }
+  }
+
+  /**
+   * Provides an {@link SzMessageSource.Initiator} implementation that creates
+   * an instance of {@link RabbitSource} from properties.
+   */
+  private static class RabbitSourceInitiator implements Initiator {
+    /**
+     * Default constructor.
+     */
+    private RabbitSourceInitiator() {
+      // do nothing
+    }
+
+    /**
+     * Handles establishing a RabbitMQ connection.
+     */
+    @Override
+    public SzMessageSource establish(Map<String, ?> props, int concurrency) {
+      if (props == null) return null;
+      int count = 0;
+      Set<String> propKeys = this.getPropertyKeys();
+      for (String key: propKeys) {
+        if (props.containsKey(key)) count++;
+      }
+      if (count == 0) return null;
+
+      // check if any are missing
+      if (count != propKeys.size()) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (String key : propKeys) {
+          if (!props.containsKey(key)) missing.add(key);
+        }
+        throw new IllegalArgumentException(
+            "Missing one or more RabbitMQ connection properties: missing=[ "
+                + missing + " ], provided=[ " + props + " ]");
+      }
+
+      // create the connection factory
+      try {
+        ConnectionFactory factory = new ConnectionFactory();
+        factory.setHost((String) props.get(HOST_PROPERTY_KEY));
+        factory.setPort((Integer) props.get(PORT_PROPERTY_KEY));
+        factory.setVirtualHost((String) props.get(VIRTUAL_HOST_PROPERTY_KEY));
+        factory.setUsername((String) props.get(USER_PROPERTY_KEY));
+        factory.setPassword((String) props.get(PASSWORD_PROPERTY_KEY));
+
+        // create the connection and channel
+        Connection conn = factory.newConnection();
+        Channel channel = conn.createChannel();
+
+        // verify the queue
+        String queue = (String) props.get(QUEUE_PROPERTY_KEY);
+        try {
+          channel.queueDeclarePassive(queue);
+        } catch (IOException e) {
+          System.err.println(
+              "The specified RabbitMQ queue does not exist: " + queue);
+          conn.close();
+          throw e;
+        }
+
+        // create the source
+        return new RabbitSource(channel, queue, concurrency);
+
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    /**
+     * Implemented to return the properties for a {@link RabbitEndpoint} on
+     * the same broker for the {@link #DEAD_LETTER_EXCHANGE_PROPERTY_KEY}
+     * exchange and the optional {@link #DEAD_LETTER_ROUTING_KEY_PROPERTY_KEY}
+     * routing key (which defaults to an empty string).
+     */
+    @Override
+    public Map<String, ?> getDeadLetterProperties(Map<String, ?> props) {
+      if (props == null || !props.containsKey(QUEUE_PROPERTY_KEY)) return null;
+      Object exchange   = props.get(DEAD_LETTER_EXCHANGE_PROPERTY_KEY);
+      Object routingKey = props.get(DEAD_LETTER_ROUTING_KEY_PROPERTY_KEY);
+      if (exchange == null) return null;
+
+      Map<String, Object> result = new LinkedHashMap<>();
+      for (String key : RabbitEndpoint.PROPERTY_KEYS) {
+        if (props.containsKey(key)) result.put(key, props.get(key));
+      }
+      result.put(EXCHANGE_PROPERTY_KEY, exchange);
+      result.put(ROUTING_KEY_PROPERTY_KEY,
+                 (routingKey == null) ? "" : routingKey);
+      return result;
+    }
+
+    /**
+     * Implemented to return {@link #PROPERTY_KEYS}.
+     */
+    @Override
+    public Set<String> getPropertyKeys() {
+      return PROPERTY_KEYS;
+    }
+  }
+}
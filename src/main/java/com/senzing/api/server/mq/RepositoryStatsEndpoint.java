@@ -0,0 +1,994 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.model.SzDataSourceStats;
+import com.senzing.api.model.SzRepositoryStats;
+import com.senzing.api.services.ServicesUtil;
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink;
+import com.senzing.api.services.SzRecordFingerprints;
+import com.senzing.api.services.SzRepositoryStatistics;
+import com.senzing.util.JsonUtils;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.function.Predicate;
+
+import static com.senzing.api.services.ServicesUtil.*;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Provides an {@link SzMessagingEndpoint} that maintains the {@link
+ * SzRepositoryStatistics} from every info message before sending it on to the
+ * underlying {@link SzMessagingEndpoint} (if any).  The operation that
+ * produced each info message is read from its {@link
+ * ServicesUtil#INFO_OPERATION_PROPERTY} and info messages without one are
+ * only forwarded.  The key hashes (see {@link
+ * SzRecordFingerprints#keyHash(String, String)}) of the loaded records are
+ * kept in an in-memory open-addressing hash table so that replacing a record
+ * that is already loaded or deleting a record that is not loaded leaves the
+ * record counts unchanged.  The table takes between eight and sixteen bytes
+ * per record.
+ * <p>
+ * The statistics are written to a snapshot file by a background thread
+ * whenever they have changed and once more when closed.  They are restored
+ * from the snapshot file on construction unless it was written for a
+ * different repository.  Calling {@link #reconcile()} rebuilds the statistics
+ * from an entity export, which is also the only way the entity counts become
+ * known.
+ */
+public class RepositoryStatsEndpoint extends SzAbstractMessagingEndpoint
+    implements SzRepositoryStatistics
+{
+  /**
+   * The provider type reported when there is no underlying endpoint.
+   */
+  public static final String REPOSITORY_STATS_TYPE = "Repository Stats";
+
+  /**
+   * Provides an interface for running the entity export that the statistics
+   * are reconciled against.
+   */
+  public interface EntityExport {
+    /**
+     * Runs the entity export, passing the JSON text of each exported entity
+     * to the specified handler until the export is exhausted or the handler
+     * returns <tt>false</tt>.
+     *
+     * @param handler The {@link Predicate} to handle each exported entity,
+     *                which returns <tt>false</tt> to stop the export.
+     * @throws Exception If the export fails.
+     */
+    void export(Predicate<String> handler) throws Exception;
+  }
+
+  /**
+   * The magic number at the start of the snapshot file.
+   */
+  private static final long MAGIC = 0x537A5265706F5374L;
+
+  /**
+   * The version of the snapshot file format.
+   */
+  private static final int VERSION = 1;
+
+  /**
+   * The number of seconds over which the affected entity rate is measured.
+   */
+  private static final int RATE_WINDOW = 60;
+
+  /**
+   * The initial capacity of the key hash table, which must be a power of two.
+   */
+  private static final int INITIAL_CAPACITY = 1 << 16;
+
+  /**
+   * The maximum load factor of the key hash table before it is doubled.
+   */
+  private static final double MAX_LOAD_FACTOR = 0.7;
+
+  /**
+   * An open-addressing hash table with linear probing holding the non-zero
+   * key hashes of the loaded records.  Slots with a key hash of zero (0) are
+   * empty.
+   */
+  private static class KeySet {
+    /**
+     * The slots of the table, whose length is a power of two.
+     */
+    private long[] slots;
+
+    /**
+     * The number of key hashes in the table.
+     */
+    private int count = 0;
+
+    /**
+     * Constructs with enough capacity for the specified number of key hashes.
+     *
+     * @param expectedCount The expected number of key hashes.
+     */
+    private KeySet(int expectedCount) {
+      int capacity = INITIAL_CAPACITY;
+      while (expectedCount > (int) (capacity * MAX_LOAD_FACTOR)) {
+        capacity *= 2;
+      }
+      this.slots = new long[capacity];
+    }
+
+    /**
+     * Finds the slot for the specified key hash.  This returns either the
+     * slot containing the key hash or the empty slot where it would be
+     * inserted.
+     *
+     * @param key The key hash.
+     * @return The slot index.
+     */
+    private int findSlot(long key) {
+      int mask = this.slots.length - 1;
+      int slot = (int) (key & mask);
+      while (this.slots[slot] != 0L && this.slots[slot] != key) {
+        slot = (slot + 1) & mask;
+      }
+      return slot;
+    }
+
+    /**
+     * Adds the specified key hash if not already present.
+     *
+     * @param key The non-zero key hash.
+     * @return <tt>true</tt> if added, or <tt>false</tt> if already present.
+     */
+    private boolean add(long key) {
+      int slot = this.findSlot(key);
+      if (this.slots[slot] == key) return false;
+      if ((this.count + 1) > (int) (this.slots.length * MAX_LOAD_FACTOR)) {
+        long[] previous = this.slots;
+        this.slots = new long[previous.length * 2];
+        for (long previousKey : previous) {
+          if (previousKey != 0L) {
+            this.slots[this.findSlot(previousKey)] = previousKey;
+          }
+        }
+        slot = this.findSlot(key);
+      }
+      this.slots[slot] = key;
+      this.count++;
+      return true;
+    }
+
+    /**
+     * Removes the specified key hash if present.
+     *
+     * @param key The non-zero key hash.
+     * @return <tt>true</tt> if removed, or <tt>false</tt> if not present.
+     */
+    private boolean remove(long key) {
+      int slot = this.findSlot(key);
+      if (this.slots[slot] != key) return false;
+
+      // use backward-shift deletion so no tombstones are required
+      int mask = this.slots.length - 1;
+      int next = (slot + 1) & mask;
+      for (long nextKey = this.slots[next];
+           nextKey != 0L;
+           next = (next + 1) & mask, nextKey = this.slots[next])
+      {
+        int home = (int) (nextKey & mask);
+        // check if the home slot of the next key is cyclically outside the
+        // range (slot, next] in which case it can be shifted back
+        boolean shift = (slot <= next)
+            ? ((home <= slot) || (home > next))
+            : ((home <= slot) && (home > next));
+        if (shift) {
+          this.slots[slot] = nextKey;
+          slot = next;
+        }
+      }
+      this.slots[slot] = 0L;
+      this.count--;
+      return true;
+    }
+  }
+
+  /**
+   * The counters for the repository as a whole or for a single data source.
+   */
+  private static class Counts {
+    /**
+     * The number of loaded records.
+     */
+    private long recordCount = 0L;
+
+    /**
+     * The number of entities, or negative one (-1) if unknown.
+     */
+    private long entityCount;
+
+    /**
+     * The number of records loaded.
+     */
+    private long loadCount = 0L;
+
+    /**
+     * The number of records deleted.
+     */
+    private long deleteCount = 0L;
+
+    /**
+     * The number of records or entities re-evaluated.
+     */
+    private long reevaluateCount = 0L;
+
+    /**
+     * The total number of entities affected.
+     */
+    private long affectedEntityCount = 0L;
+
+    /**
+     * Constructs with the specified entity count.
+     *
+     * @param entityCount The entity count, or negative one (-1) if unknown.
+     */
+    private Counts(long entityCount) {
+      this.entityCount = entityCount;
+    }
+
+    /**
+     * Constructs a copy of the specified counts.
+     *
+     * @param counts The {@link Counts} to copy.
+     */
+    private Counts(Counts counts) {
+      this.recordCount          = counts.recordCount;
+      this.entityCount          = counts.entityCount;
+      this.loadCount            = counts.loadCount;
+      this.deleteCount          = counts.deleteCount;
+      this.reevaluateCount      = counts.reevaluateCount;
+      this.affectedEntityCount  = counts.affectedEntityCount;
+    }
+
+    /**
+     * Constructs by reading the counts from the specified stream.
+     *
+     * @param dis The {@link DataInputStream} to read from.
+     * @throws IOException If an I/O failure occurs.
+     */
+    private Counts(DataInputStream dis) throws IOException {
+      this.recordCount          = dis.readLong();
+      this.entityCount          = dis.readLong();
+      this.loadCount            = dis.readLong();
+      this.deleteCount          = dis.readLong();
+      this.reevaluateCount      = dis.readLong();
+      this.affectedEntityCount  = dis.readLong();
+    }
+
+    /**
+     * Writes the counts to the specified stream.
+     *
+     * @param dos The {@link DataOutputStream} to write to.
+     * @throws IOException If an I/O failure occurs.
+     */
+    private void write(DataOutputStream dos) throws IOException {
+      dos.writeLong(this.recordCount);
+      dos.writeLong(this.entityCount);
+      dos.writeLong(this.loadCount);
+      dos.writeLong(this.deleteCount);
+      dos.writeLong(this.reevaluateCount);
+      dos.writeLong(this.affectedEntityCount);
+    }
+
+    /**
+     * Copies the operation counts (but not the record or entity counts) from
+     * the specified counts.
+     *
+     * @param counts The {@link Counts} to copy the operation counts from.
+     */
+    private void copyOperations(Counts counts) {
+      this.loadCount            = counts.loadCount;
+      this.deleteCount          = counts.deleteCount;
+      this.reevaluateCount      = counts.reevaluateCount;
+      this.affectedEntityCount  = counts.affectedEntityCount;
+    }
+  }
+
+  /**
+   * A load or delete of a record received while reconciling, which is
+   * applied to the rebuilt statistics once the entity export completes.
+   */
+  private static class PendingChange {
+    /**
+     * The data source code of the record.
+     */
+    private String dataSource;
+
+    /**
+     * The key hash of the record.
+     */
+    private long key;
+
+    /**
+     * <tt>true</tt> if the record was loaded and <tt>false</tt> if deleted.
+     */
+    private boolean loaded;
+
+    /**
+     * Constructs with the specified parameters.
+     *
+     * @param dataSource The data source code of the record.
+     * @param key The key hash of the record.
+     * @param loaded <tt>true</tt> if the record was loaded and <tt>false</tt>
+     *               if it was deleted.
+     */
+    private PendingChange(String dataSource, long key, boolean loaded) {
+      this.dataSource = dataSource;
+      this.key        = key;
+      this.loaded     = loaded;
+    }
+  }
+
+  /**
+   * The underlying {@link SzMessagingEndpoint} to send to, or <tt>null</tt>
+   * if the info messages are only used to maintain the statistics.
+   */
+  private SzMessagingEndpoint target;
+
+  /**
+   * The snapshot {@link File}.
+   */
+  private File snapshotFile;
+
+  /**
+   * The repository tag identifying the repository the statistics describe.
+   */
+  private long repositoryTag;
+
+  /**
+   * The number of milliseconds between snapshots, or zero (0) if only
+   * written on close.
+   */
+  private long snapshotPeriod;
+
+  /**
+   * The {@link EntityExport} to reconcile against.
+   */
+  private EntityExport entityExport;
+
+  /**
+   * The monitor for the state of the statistics.
+   */
+  private final Object statsMonitor = new Object();
+
+  /**
+   * The monitor held while writing the snapshot file.
+   */
+  private final Object snapshotMonitor = new Object();
+
+  /**
+   * The {@link KeySet} of the loaded records.
+   */
+  private KeySet keys = new KeySet(0);
+
+  /**
+   * The {@link Counts} for the repository as a whole.  The record count is
+   * not used since it is the size of the {@link #keys}.
+   */
+  private Counts totals = new Counts(-1L);
+
+  /**
+   * The {@link Map} of data source codes to {@link Counts}.
+   */
+  private Map<String, Counts> dataSources = new TreeMap<>();
+
+  /**
+   * The affected entity counts for each second in the rate window.
+   */
+  private final long[] rateCounts = new long[RATE_WINDOW];
+
+  /**
+   * The second (since the epoch) that each rate count pertains to.
+   */
+  private final long[] rateSeconds = new long[RATE_WINDOW];
+
+  /**
+   * The time of the last reconciliation, or negative one (-1) if never.
+   */
+  private long lastReconciled = -1L;
+
+  /**
+   * The time of the last snapshot, or negative one (-1) if never.
+   */
+  private long lastSnapshot = -1L;
+
+  /**
+   * Flag indicating that the statistics have changed since the last
+   * snapshot.
+   */
+  private boolean dirty = false;
+
+  /**
+   * Incremented whenever the statistics are cleared so that a reconciliation
+   * started before they were cleared is discarded.
+   */
+  private long generation = 0L;
+
+  /**
+   * The {@link List} of {@link PendingChange} instances received since the
+   * reconciliation started, or <tt>null</tt> if not reconciling.
+   */
+  private List<PendingChange> pending = null;
+
+  /**
+   * The {@link Thread} running the reconciliation, or <tt>null</tt> if not
+   * reconciling.
+   */
+  private Thread reconciler = null;
+
+  /**
+   * The {@link Thread} periodically writing the snapshot file, or
+   * <tt>null</tt> if only written on close.
+   */
+  private Thread snapshotter = null;
+
+  /**
+   * Flag indicating that the background threads should stop.
+   */
+  private boolean stopping = false;
+
+  /**
+   * Constructs with the specified parameters, restoring the statistics from
+   * the snapshot file if it exists and was written for the same repository.
+   *
+   * @param target The underlying {@link SzMessagingEndpoint} to send to, or
+   *               <tt>null</tt> if the info messages should only be used to
+   *               maintain the statistics.
+   * @param snapshotFile The {@link File} to write the snapshots to.
+   * @param repositoryTag The repository tag identifying the repository.
+   * @param snapshotPeriod The number of milliseconds between snapshots, or
+   *                       zero (0) if only written on close.
+   * @param entityExport The {@link EntityExport} to reconcile against.
+   */
+  public RepositoryStatsEndpoint(SzMessagingEndpoint target,
+                                 File                snapshotFile,
+                                 long                repositoryTag,
+                                 long                snapshotPeriod,
+                                 EntityExport        entityExport)
+  {
+    if (snapshotPeriod < 0L) {
+      throw new IllegalArgumentException(
+          "The snapshot period cannot be negative: " + snapshotPeriod);
+    }
+    Objects.requireNonNull(snapshotFile, "The snapshot file cannot be null");
+    Objects.requireNonNull(entityExport, "The entity export cannot be null");
+    this.target         = target;
+    this.snapshotFile   = snapshotFile;
+    this.repositoryTag  = repositoryTag;
+    this.snapshotPeriod = snapshotPeriod;
+    this.entityExport   = entityExport;
+
+    if (this.snapshotFile.exists()) {
+      try {
+        this.readSnapshot();
+      } catch (IOException e) {
+        System.err.println("Ignoring unreadable repository stats snapshot: "
+                               + this.snapshotFile);
+        e.printStackTrace();
+      }
+    }
+
+    if (this.snapshotPeriod > 0L) {
+      this.snapshotter = new Thread(this::runSnapshots,
+                                    "repository-stats-snapshot");
+      this.snapshotter.setDaemon(true);
+      this.snapshotter.start();
+    }
+  }
+
+  /**
+   * Updates the statistics from the specified message and then sends it to
+   * the underlying endpoint (if any).
+   *
+   * @param message The {@link SzMessage} to be sent.
+   * @param onFailure The function to call upon failure to send the message,
+   *                  or <tt>null</tt> if none.
+   * @throws Exception If the underlying endpoint fails to send the message.
+   */
+  @Override
+  public void send(SzMessage message, FailureHandler onFailure)
+      throws Exception
+  {
+    this.update(message);
+    if (this.target == null) return;
+    SzMessageSink sink = this.target.acquireMessageSink();
+    try {
+      sink.send(message, onFailure);
+
+    } finally {
+      this.target.releaseMessageSink(sink);
+    }
+  }
+
+  /**
+   * Updates the statistics from the specified messages and then sends them
+   * to the underlying endpoint (if any) as a batch.
+   *
+   * @param messages The {@link List} of {@link SzMessage} instances to be
+   *                 sent.
+   * @param onFailure The function to call for each message that fails to
+   *                  send, or <tt>null</tt> if none.
+   * @throws Exception If the underlying endpoint fails to send the messages.
+   */
+  @Override
+  public void sendBatch(List<SzMessage> messages, FailureHandler onFailure)
+      throws Exception
+  {
+    for (SzMessage message : messages) {
+      this.update(message);
+    }
+    if (this.target == null) return;
+    SzMessageSink sink = this.target.acquireMessageSink();
+    try {
+      sink.sendBatch(messages, onFailure);
+
+    } finally {
+      this.target.releaseMessageSink(sink);
+    }
+  }
+
+  /**
+   * Updates the statistics from the specified info message.  The JSON is
+   * parsed before acquiring the monitor so that concurrent senders only
+   * contend for the counter updates.
+   *
+   * @param message The info {@link SzMessage}.
+   */
+  private void update(SzMessage message) {
+    String operation = message.getProperty(INFO_OPERATION_PROPERTY);
+    String info = message.getBody();
+    if (operation == null || info == null || info.trim().length() == 0) {
+      return;
+    }
+    if (!operation.equals(LOAD_OPERATION)
+        && !operation.equals(DELETE_OPERATION)
+        && !operation.equals(REEVALUATE_OPERATION))
+    {
+      return;
+    }
+    boolean loaded = operation.equals(LOAD_OPERATION);
+
+    JsonObject jsonObject;
+    try {
+      jsonObject = JsonUtils.parseJsonObject(info);
+    } catch (Exception e) {
+      return;
+    }
+    String dataSource = JsonUtils.getString(jsonObject, "DATA_SOURCE");
+    String recordId   = JsonUtils.getString(jsonObject, "RECORD_ID");
+    JsonArray affected = JsonUtils.getJsonArray(jsonObject,
+                                                "AFFECTED_ENTITIES");
+    int affectedCount = (affected == null) ? 0 : affected.size();
+    if (dataSource != null) dataSource = dataSource.trim().toUpperCase();
+    if (dataSource != null && dataSource.length() == 0) dataSource = null;
+
+    // re-evaluating a record does not change whether it is loaded
+    long key = (dataSource == null || recordId == null
+                || operation.equals(REEVALUATE_OPERATION))
+        ? 0L : SzRecordFingerprints.keyHash(dataSource, recordId);
+
+    synchronized (this.statsMonitor) {
+      Counts counts = (dataSource == null) ? null : this.getCounts(dataSource);
+      switch (operation) {
+        case LOAD_OPERATION:
+          this.totals.loadCount++;
+          if (counts != null) counts.loadCount++;
+          break;
+        case DELETE_OPERATION:
+          this.totals.deleteCount++;
+          if (counts != null) counts.deleteCount++;
+          break;
+        default:
+          this.totals.reevaluateCount++;
+          if (counts != null) counts.reevaluateCount++;
+      }
+      this.totals.affectedEntityCount += affectedCount;
+      if (counts != null) counts.affectedEntityCount += affectedCount;
+
+      long second = System.currentTimeMillis() / 1000L;
+      int index = (int) (second % RATE_WINDOW);
+      if (this.rateSeconds[index] != second) {
+        this.rateSeconds[index] = second;
+        this.rateCounts[index]  = 0L;
+      }
+      this.rateCounts[index] += affectedCount;
+
+      if (key != 0L) {
+        this.applyChange(counts, key, loaded);
+        if (this.pending != null) {
+          this.pending.add(new PendingChange(dataSource, key, loaded));
+        }
+      }
+      this.dirty = true;
+    }
+  }
+
+  /**
+   * Gets the {@link Counts} for the specified data source, creating them if
+   * they do not yet exist.  This must be called while holding the monitor.
+   *
+   * @param dataSource The data source code.
+   * @return The {@link Counts} for the data source.
+   */
+  private Counts getCounts(String dataSource) {
+    Counts counts = this.dataSources.get(dataSource);
+    if (counts == null) {
+      // a data source first seen since the last reconciliation has no
+      // entities as of that reconciliation
+      counts = new Counts((this.lastReconciled < 0L) ? -1L : 0L);
+      this.dataSources.put(dataSource, counts);
+    }
+    return counts;
+  }
+
+  /**
+   * Adds or removes the specified key hash and adjusts the record count of
+   * the specified {@link Counts} if the set of loaded records changed.  This
+   * must be called while holding the monitor.
+   *
+   * @param counts The {@link Counts} for the data source of the record.
+   * @param key The key hash of the record.
+   * @param loaded <tt>true</tt> if the record was loaded and <tt>false</tt>
+   *               if it was deleted.
+   */
+  private void applyChange(Counts counts, long key, boolean loaded) {
+    if (loaded) {
+      if (this.keys.add(key)) counts.recordCount++;
+    } else {
+      if (this.keys.remove(key)) counts.recordCount--;
+    }
+  }
+
+  @Override
+  public SzRepositoryStats getStats() {
+    SzRepositoryStats stats = SzRepositoryStats.FACTORY.create();
+    synchronized (this.statsMonitor) {
+      stats.setRecordCount(this.keys.count);
+      stats.setEntityCount(
+          (this.totals.entityCount < 0L) ? null : this.totals.entityCount);
+      stats.setLoadCount(this.totals.loadCount);
+      stats.setDeleteCount(this.totals.deleteCount);
+      stats.setReevaluateCount(this.totals.reevaluateCount);
+      stats.setAffectedEntityCount(this.totals.affectedEntityCount);
+
+      long second = System.currentTimeMillis() / 1000L;
+      long affectedCount = 0L;
+      for (int index = 0; index < RATE_WINDOW; index++) {
+        if (second - this.rateSeconds[index] < RATE_WINDOW) {
+          affectedCount += this.rateCounts[index];
+        }
+      }
+      stats.setAffectedEntityRate(((double) affectedCount) / RATE_WINDOW);
+      stats.setReconciling(this.reconciler != null);
+      stats.setLastReconciled((this.lastReconciled < 0L)
+                                  ? null : new Date(this.lastReconciled));
+      stats.setLastSnapshot((this.lastSnapshot < 0L)
+                                ? null : new Date(this.lastSnapshot));
+
+      List<SzDataSourceStats> list = new ArrayList<>(this.dataSources.size());
+      for (Map.Entry<String, Counts> entry : this.dataSources.entrySet()) {
+        Counts counts = entry.getValue();
+        SzDataSourceStats dataSourceStats = SzDataSourceStats.FACTORY.create();
+        dataSourceStats.setDataSource(entry.getKey());
+        dataSourceStats.setRecordCount(counts.recordCount);
+        dataSourceStats.setEntityCount(
+            (counts.entityCount < 0L) ? null : counts.entityCount);
+        dataSourceStats.setLoadCount(counts.loadCount);
+        dataSourceStats.setDeleteCount(counts.deleteCount);
+        dataSourceStats.setReevaluateCount(counts.reevaluateCount);
+        dataSourceStats.setAffectedEntityCount(counts.affectedEntityCount);
+        list.add(dataSourceStats);
+      }
+      stats.setDataSources(list);
+    }
+    return stats;
+  }
+
+  /**
+   * Clears the statistics.  This should be called when the repository is
+   * purged, after which the repository is known to be empty so the entity
+   * counts become zero (0).  Any reconciliation that is running is discarded
+   * when it completes.
+   */
+  public void clear() {
+    synchronized (this.statsMonitor) {
+      this.keys           = new KeySet(0);
+      this.totals         = new Counts(0L);
+      this.dataSources    = new TreeMap<>();
+      this.lastReconciled = System.currentTimeMillis();
+      this.dirty          = true;
+      this.generation++;
+      Arrays.fill(this.rateCounts, 0L);
+      if (this.pending != null) this.pending.clear();
+    }
+  }
+
+  @Override
+  public boolean reconcile() throws IllegalStateException {
+    synchronized (this.statsMonitor) {
+      if (this.stopping) {
+        throw new IllegalStateException(
+            "The repository statistics have been closed.");
+      }
+      if (this.reconciler != null) return false;
+      long generation = this.generation;
+      this.pending    = new ArrayList<>();
+      this.reconciler = new Thread(() -> this.runReconcile(generation),
+                                   "repository-stats-reconciler");
+      this.reconciler.setDaemon(true);
+      this.reconciler.start();
+      return true;
+    }
+  }
+
+  @Override
+  public boolean isReconciling() {
+    synchronized (this.statsMonitor) {
+      return (this.reconciler != null);
+    }
+  }
+
+  /**
+   * Checks if the background threads should stop.
+   *
+   * @return <tt>true</tt> if stopping, otherwise <tt>false</tt>.
+   */
+  private boolean isStopping() {
+    synchronized (this.statsMonitor) {
+      return this.stopping;
+    }
+  }
+
+  /**
+   * Rebuilds the record and entity counts from the entity export and then
+   * installs them along with the changes received while exporting, unless
+   * the export failed, was cancelled or the statistics were cleared.
+   *
+   * @param generation The generation of the statistics when started.
+   */
+  private void runReconcile(long generation) {
+    KeySet keys = new KeySet(0);
+    Counts totals = new Counts(0L);
+    Map<String, Counts> dataSources = new TreeMap<>();
+    boolean complete = false;
+    try {
+      this.entityExport.export(entityJson -> {
+        if (this.isStopping()) return false;
+        JsonObject jsonObject = JsonUtils.parseJsonObject(entityJson);
+        JsonObject entity = JsonUtils.getJsonObject(jsonObject,
+                                                    "RESOLVED_ENTITY");
+        if (entity == null) entity = jsonObject;
+        JsonArray records = JsonUtils.getJsonArray(entity, "RECORDS");
+        if (records == null) return true;
+
+        totals.entityCount++;
+        Set<String> entityDataSources = new HashSet<>();
+        for (JsonValue value : records) {
+          JsonObject record = value.asJsonObject();
+          String dataSource = JsonUtils.getString(record, "DATA_SOURCE");
+          String recordId   = JsonUtils.getString(record, "RECORD_ID");
+          if (dataSource == null || recordId == null) continue;
+          dataSource = dataSource.trim().toUpperCase();
+          Counts counts = dataSources.computeIfAbsent(
+              dataSource, d -> new Counts(0L));
+          long key = SzRecordFingerprints.keyHash(dataSource, recordId);
+          if (keys.add(key)) counts.recordCount++;
+          if (entityDataSources.add(dataSource)) counts.entityCount++;
+        }
+        return true;
+      });
+      complete = !this.isStopping();
+
+    } catch (Exception e) {
+      e.printStackTrace();
+
+    } finally {
+      synchronized (this.statsMonitor) {
+        if (complete && generation == this.generation) {
+          // carry over the operation counts since the export cannot
+          // reproduce them
+          totals.copyOperations(this.totals);
+          for (Map.Entry<String, Counts> entry : this.dataSources.entrySet()) {
+            Counts counts = dataSources.computeIfAbsent(
+                entry.getKey(), d -> new Counts(0L));
+            counts.copyOperations(entry.getValue());
+          }
+          this.keys           = keys;
+          this.totals         = totals;
+          this.dataSources    = dataSources;
+          this.lastReconciled = System.currentTimeMillis();
+          for (PendingChange change : this.pending) {
+            this.applyChange(this.getCounts(change.dataSource),
+                             change.key,
+                             change.loaded);
+          }
+          this.dirty = true;
+        }
+        this.pending    = null;
+        this.reconciler = null;
+        this.statsMonitor.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Writes the snapshot file every snapshot period until stopping.
+   */
+  private void runSnapshots() {
+    while (true) {
+      synchronized (this.statsMonitor) {
+        long deadline = System.currentTimeMillis() + this.snapshotPeriod;
+        for (long remaining = this.snapshotPeriod;
+             !this.stopping && remaining > 0L;
+             remaining = deadline - System.currentTimeMillis())
+        {
+          try {
+            this.statsMonitor.wait(remaining);
+          } catch (InterruptedException ignore) {
+            // ignore the exception
+          }
+        }
+        if (this.stopping) return;
+      }
+      try {
+        this.writeSnapshot();
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+    }
+  }
+
+  /**
+   * Writes the snapshot file if the statistics have changed since the last
+   * snapshot.  The statistics are copied while holding the monitor and then
+   * written to a temporary file that replaces the snapshot file so that a
+   * partially written snapshot is never read.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  public void writeSnapshot() throws IOException {
+    synchronized (this.snapshotMonitor) {
+      long[] slots;
+      int count;
+      Counts totals;
+      Map<String, Counts> dataSources = new LinkedHashMap<>();
+      long lastReconciled;
+      synchronized (this.statsMonitor) {
+        if (!this.dirty) return;
+        slots           = this.keys.slots.clone();
+        count           = this.keys.count;
+        totals          = new Counts(this.totals);
+        lastReconciled  = this.lastReconciled;
+        for (Map.Entry<String, Counts> entry : this.dataSources.entrySet()) {
+          dataSources.put(entry.getKey(), new Counts(entry.getValue()));
+        }
+        this.dirty = false;
+      }
+
+      File tempFile = new File(this.snapshotFile.getPath() + ".tmp");
+      try {
+        try (FileOutputStream fos = new FileOutputStream(tempFile);
+             BufferedOutputStream bos = new BufferedOutputStream(fos);
+             DataOutputStream dos = new DataOutputStream(bos))
+        {
+          dos.writeLong(MAGIC);
+          dos.writeInt(VERSION);
+          dos.writeLong(this.repositoryTag);
+          dos.writeLong(lastReconciled);
+          totals.write(dos);
+          dos.writeInt(dataSources.size());
+          for (Map.Entry<String, Counts> entry : dataSources.entrySet()) {
+            dos.writeUTF(entry.getKey());
+            entry.getValue().write(dos);
+          }
+          dos.writeInt(count);
+          for (long key : slots) {
+            if (key != 0L) dos.writeLong(key);
+          }
+        }
+        Files.move(tempFile.toPath(), this.snapshotFile.toPath(),
+                   REPLACE_EXISTING, ATOMIC_MOVE);
+
+      } catch (IOException e) {
+        synchronized (this.statsMonitor) {
+          this.dirty = true;
+        }
+        throw e;
+      }
+
+      synchronized (this.statsMonitor) {
+        this.lastSnapshot = System.currentTimeMillis();
+      }
+    }
+  }
+
+  /**
+   * Restores the statistics from the snapshot file unless it was written
+   * with a different format version or for a different repository.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  private void readSnapshot() throws IOException {
+    try (FileInputStream fis = new FileInputStream(this.snapshotFile);
+         BufferedInputStream bis = new BufferedInputStream(fis);
+         DataInputStream dis = new DataInputStream(bis))
+    {
+      if (dis.readLong() != MAGIC || dis.readInt() != VERSION) {
+        throw new IOException("Unrecognized repository stats snapshot format");
+      }
+      if (dis.readLong() != this.repositoryTag) {
+        System.err.println("Ignoring repository stats snapshot for a "
+                               + "different repository: "
+                               + this.snapshotFile);
+        return;
+      }
+      long lastReconciled = dis.readLong();
+      Counts totals = new Counts(dis);
+      Map<String, Counts> dataSources = new TreeMap<>();
+      for (int index = dis.readInt(); index > 0; index--) {
+        String dataSource = dis.readUTF();
+        dataSources.put(dataSource, new Counts(dis));
+      }
+      int count = dis.readInt();
+      KeySet keys = new KeySet(count);
+      for (int index = 0; index < count; index++) {
+        keys.add(dis.readLong());
+      }
+
+      synchronized (this.statsMonitor) {
+        this.keys           = keys;
+        this.totals         = totals;
+        this.dataSources    = dataSources;
+        this.lastReconciled = lastReconciled;
+        this.lastSnapshot   = this.snapshotFile.lastModified();
+      }
+    }
+  }
+
+  @Override
+  public String getProviderType() {
+    return (this.target == null) ? REPOSITORY_STATS_TYPE
+        : this.target.getProviderType();
+  }
+
+  @Override
+  public Integer getMessageCount() {
+    return (this.target == null) ? null : this.target.getMessageCount();
+  }
+
+  /**
+   * Stops the background threads (cancelling any running reconciliation),
+   * writes the final snapshot and closes the underlying endpoint (if any).
+   *
+   * @throws Exception If a failure occurs.
+   */
+  @Override
+  protected void doClose() throws Exception {
+    Thread reconciler;
+    synchronized (this.statsMonitor) {
+      this.stopping = true;
+      this.statsMonitor.notifyAll();
+      reconciler = this.reconciler;
+    }
+    if (this.snapshotter != null) this.snapshotter.join();
+    if (reconciler != null) reconciler.join();
+    try {
+      this.writeSnapshot();
+
+    } finally {
+      if (this.target != null) this.target.close();
+    }
+  }
+}
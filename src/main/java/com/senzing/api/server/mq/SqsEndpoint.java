@@ -1,14 +1,28 @@
 package com.senzing.api.server.mq;
 
 import com.senzing.api.services.SzMessage;
-import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClientBuilder;
 import software.amazon.awssdk.services.sqs.model.*;
 import static software.amazon.awssdk.services.sqs.model.QueueAttributeName.*;
 
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+
+import static com.senzing.io.IOUtilities.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Provides an {@link SzMessagingEndpoint} implementation for an Amazon SQS
@@ -20,6 +34,21 @@ import java.util.Set;
  * <pre>
  *  sqs://{hostname}/{accountNumber}/{queueName}
  * </pre>
+ * If the host of the queue URL is not an Amazon Web Services host then the
+ * SQS client is directed to that host so that an SQS-compatible stand-in
+ * (e.g.: for testing) can be used.
+ * <p>
+ * Messages are sent asynchronously via <tt>SendMessageBatch</tt> requests of
+ * up to {@link #MAX_BATCH_COUNT} messages and {@link #MAX_BATCH_BYTES} bytes.
+ * Sent messages are accumulated into a batch until it is full or it has
+ * waited {@link #LINGER_MILLIS} milliseconds, and at most a bounded number of
+ * batch requests are in flight at any time, beyond which sending blocks.
+ * Sending a message (or a batch of messages) waits for SQS to report the
+ * messages as sent, so messages sent concurrently from multiple threads share
+ * batch requests.  Failures (including those of individual messages in an
+ * otherwise successful batch) are reported via the {@link FailureHandler}
+ * and the first of them is thrown.  Callers that do not want to wait for
+ * each send can use {@link #sendConfirmed(SzMessage)} instead.
  */
 public class SqsEndpoint extends SzAbstractMessagingEndpoint {
   /**
@@ -48,6 +77,41 @@ public class SqsEndpoint extends SzAbstractMessagingEndpoint {
    */
   public static final Initiator INITIATOR = new SqsInitiator();
 
+  /**
+   * The maximum number of messages ({@value}) that SQS allows in a single
+   * batch request.
+   */
+  public static final int MAX_BATCH_COUNT = 10;
+
+  /**
+   * The maximum number of bytes ({@value}) that SQS allows for the combined
+   * messages of a single batch request.
+   */
+  public static final int MAX_BATCH_BYTES = 256 * 1024;
+
+  /**
+   * The maximum number of milliseconds ({@value}) that a message waits for
+   * more messages to join its batch before the batch is sent.
+   */
+  public static final long LINGER_MILLIS = 20L;
+
+  /**
+   * The maximum number of milliseconds ({@value}) to wait for the in-flight
+   * batch requests to complete when closing.
+   */
+  private static final long CLOSE_DRAIN_TIMEOUT = 10000L;
+
+  /**
+   * The maximum number of milliseconds ({@value}) that sending waits for SQS
+   * to report the sent messages as sent or failed.
+   */
+  private static final long SEND_TIMEOUT = 30000L;
+
+  /**
+   * The domain suffix for the hosts of Amazon Web Services.
+   */
+  private static final String AWS_HOST_SUFFIX = ".amazonaws.com";
+
   /**
    * The number of seconds to delay the message (zero).
    */
@@ -71,11 +135,124 @@ public class SqsEndpoint extends SzAbstractMessagingEndpoint {
   private static final List<String> QUEUE_ATTRIBUTE_LIST
       = List.of(COUNT_ATTRIBUTE_KEY);
 
+  /**
+   * Pairs a batched {@link SzMessage} with its SQS batch entry and the
+   * {@link FailureHandler} it was sent with.
+   */
+  private static class BatchEntry {
+    /**
+     * The {@link SzMessage} being sent.
+     */
+    private SzMessage message;
+
+    /**
+     * The {@link FailureHandler} to notify if the message fails to send, or
+     * <tt>null</tt> if none.
+     */
+    private FailureHandler onFailure;
+
+    /**
+     * The {@link CompletableFuture} to complete once the message is sent, or
+     * <tt>null</tt> if none.
+     */
+    private CompletableFuture<Void> confirmed;
+
+    /**
+     * The {@link SendMessageBatchRequestEntry.Builder} for the message, which
+     * is completed with its identifier once the batch is sent.
+     */
+    private SendMessageBatchRequestEntry.Builder builder;
+
+    /**
+     * The number of bytes that the message counts towards the batch size.
+     */
+    private int size;
+
+    /**
+     * Constructs with the specified message, failure handler and future.
+     *
+     * @param message The {@link SzMessage} being sent.
+     * @param onFailure The {@link FailureHandler} to notify if the message
+     *                  fails to send, or <tt>null</tt> if none.
+     * @param confirmed The {@link CompletableFuture} to complete once the
+     *                  message is sent, or <tt>null</tt> if none.
+     */
+    private BatchEntry(SzMessage               message,
+                       FailureHandler          onFailure,
+                       CompletableFuture<Void> confirmed)
+    {
+      this.message    = message;
+      this.onFailure  = onFailure;
+      this.confirmed  = confirmed;
+      this.builder    = SendMessageBatchRequestEntry.builder();
+
+      String body = (message.getBody() == null) ? "" : message.getBody();
+      this.builder.messageBody(body);
+      this.builder.delaySeconds(DELAY_SECONDS);
+      this.size = utf8Length(body);
+
+      // check if we have message properties and add them as message attributes
+      Map<String, String> props = message.getProperties();
+      if (props != null && props.size() > 0) {
+        Map<String, MessageAttributeValue> attrMap = new LinkedHashMap<>();
+        MessageAttributeValue.Builder attrBuilder
+            = MessageAttributeValue.builder();
+        attrBuilder.dataType(STRING_ATTR_DATA_TYPE);
+        for (Map.Entry<String, String> prop : props.entrySet()) {
+          attrBuilder.stringValue(prop.getValue());
+          attrMap.put(prop.getKey(), attrBuilder.build());
+          this.size += utf8Length(prop.getKey())
+              + STRING_ATTR_DATA_TYPE.length()
+              + utf8Length(prop.getValue());
+        }
+        this.builder.messageAttributes(attrMap);
+      }
+    }
+
+    /**
+     * Gets the number of bytes in the UTF-8 encoding of the specified text.
+     *
+     * @param text The text to measure.
+     * @return The number of bytes in the UTF-8 encoding of the text.
+     */
+    private static int utf8Length(String text) {
+      try {
+        return text.getBytes(UTF_8).length;
+
+      } catch (UnsupportedEncodingException cannotHappen) {
+        throw new IllegalStateException(cannotHappen);
+      }
+    }
+
+    /**
+     * Notifies the failure handler (if any) of the specified failure.
+     *
+     * @param failure The {@link Exception} describing the failure.
+     */
+    private void fail(Exception failure) {
+      if (this.confirmed != null) this.confirmed.completeExceptionally(failure);
+      if (this.onFailure == null) return;
+      try {
+        this.onFailure.handle(failure, this.message);
+
+      } catch (Exception e) {
+        e.printStackTrace();
+      }
+    }
+
+    /**
+     * Completes the {@link CompletableFuture} (if any) for the message now
+     * that it has been sent.
+     */
+    private void confirm() {
+      if (this.confirmed != null) this.confirmed.complete(null);
+    }
+  }
 
   /**
-   * The {@link SqsClient} to use for sending the requests.
+   * The {@link SqsAsyncClient} to use for sending the requests.
    */
-  private SqsClient sqsClient;
+  private SqsAsyncClient sqsClient;
 
   /**
    * The URL for the queue to send to.
@@ -83,79 +260,314 @@ public class SqsEndpoint extends SzAbstractMessagingEndpoint {
   private String queueUrl;
 
   /**
-   * Constructs with the {@link SqsClient} and the queue URL.
+   * The maximum number of batch requests that may be in flight.
+   */
+  private int maxInFlight;
+
+  /**
+   * The {@link Semaphore} bounding the number of in-flight batch requests.
+   */
+  private Semaphore inFlightPermits;
+
+  /**
+   * The {@link ScheduledExecutorService} for sending batches that have
+   * lingered long enough.
+   */
+  private ScheduledExecutorService lingerService;
+
+  /**
+   * The {@link List} of {@link BatchEntry} instances for the batch currently
+   * being accumulated.  All access to the batch is synchronized on this
+   * instance.
+   */
+  private final List<BatchEntry> batch = new ArrayList<>(MAX_BATCH_COUNT);
+
+  /**
+   * The number of bytes in the batch currently being accumulated.
+   */
+  private int batchBytes = 0;
+
+  /**
+   * The number of batches that have been started, which identifies the
+   * batch currently being accumulated for the linger task.
+   */
+  private long batchNumber = 0L;
+
+  /**
+   * Constructs with the {@link SqsAsyncClient}, the queue URL and the
+   * maximum number of in-flight batch requests.
    *
-   * @param client The {@link SqsClient} to use for connecting.
+   * @param client The {@link SqsAsyncClient} to use for connecting.
    * @param queueUrl The URL for the queue.
+   * @param maxInFlight The maximum number of batch requests that may be in
+   *                    flight at any time.
    */
-  public SqsEndpoint(SqsClient client, String queueUrl) {
-    this.sqsClient  = client;
-    this.queueUrl   = queueUrl;
+  public SqsEndpoint(SqsAsyncClient client, String queueUrl, int maxInFlight)
+  {
+    this.sqsClient        = client;
+    this.queueUrl         = queueUrl;
+    this.maxInFlight      = Math.max(1, maxInFlight);
+    this.inFlightPermits  = new Semaphore(this.maxInFlight);
+    this.lingerService    = Executors.newSingleThreadScheduledExecutor(
+        runnable -> {
+          Thread thread = new Thread(runnable, "sqs-batch-linger");
+          thread.setDaemon(true);
+          return thread;
+        });
   }
 
+  /**
+   * Adds the specified message to the batch being accumulated, sending the
+   * batch if it is full, and waits for SQS to report the message as sent.
+   *
+   * @param message The {@link SzMessage} to be sent.
+   * @param onFailure The function to call upon failure to send the message,
+   *                  or <tt>null</tt> if none.
+   * @throws Exception If the message fails to send or is not reported as
+   *                   sent within {@link #SEND_TIMEOUT} milliseconds.
+   */
   @Override
   public void send(SzMessage message, FailureHandler onFailure)
       throws Exception
   {
-    // get the message body
-    String body = message.getBody();
-
-    // create the message request builder
-    SendMessageRequest.Builder builder = SendMessageRequest.builder();
-    builder.messageBody(body);
-    builder.delaySeconds(DELAY_SECONDS);
-    builder.queueUrl(this.queueUrl);
-
-    // check if we have message properties and add them as message attributes
-    Map<String, String> props = message.getProperties();
-    if (props != null && props.size() > 0) {
-      // create the attribute map
-      Map<String, MessageAttributeValue> attrMap = new LinkedHashMap<>();
-
-      // iterate over the properties
-      props.forEach((key, value) -> {
-        // create the builder for the message attribute
-        MessageAttributeValue.Builder attrBuilder
-            = MessageAttributeValue.builder();
-
-        // build the message attribute
-        attrBuilder.dataType(STRING_ATTR_DATA_TYPE);
-        attrBuilder.stringValue(value);
-
-        // add the message attribute to the map
-        attrMap.put(key, attrBuilder.build());
-      });
+    this.sendBatch(List.of(message), onFailure);
+  }
 
-      // set the message attributes
-      builder.messageAttributes(attrMap);
+  /**
+   * Adds the specified messages to the batch being accumulated, sending each
+   * batch as it fills, and sends the final partial batch without waiting for
+   * more messages.  This then waits for SQS to report each of the messages
+   * as sent, notifying the specified {@link FailureHandler} of each message
+   * that fails and throwing the first failure.
+   *
+   * @param messages The {@link List} of {@link SzMessage} instances to be
+   *                 sent.
+   * @param onFailure The function to call for each message that fails to
+   *                  send, or <tt>null</tt> if none.
+   * @throws Exception If any of the messages fails to send or is not
+   *                   reported as sent within {@link #SEND_TIMEOUT}
+   *                   milliseconds.
+   */
+  @Override
+  public void sendBatch(List<SzMessage> messages, FailureHandler onFailure)
+      throws Exception
+  {
+    List<CompletableFuture<Void>> futures = new ArrayList<>(messages.size());
+    for (SzMessage message : messages) {
+      CompletableFuture<Void> confirmed = new CompletableFuture<>();
+      this.enqueue(new BatchEntry(message, onFailure, confirmed));
+      futures.add(confirmed);
     }
 
-    // build the request
-    SendMessageRequest request = builder.build();
+    // send the remainder of a multi-message batch right away
+    if (messages.size() > 1) this.flush();
+
+    // wait for the messages to be sent and throw the first failure
+    long deadline = System.nanoTime() + (SEND_TIMEOUT * 1000000L);
+    Exception failure = null;
+    for (CompletableFuture<Void> future : futures) {
+      long remaining = (deadline - System.nanoTime()) / 1000000L;
+      try {
+        future.get(Math.max(remaining, 0L), MILLISECONDS);
+
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = (e.getCause() instanceof Exception)
+              ? (Exception) e.getCause() : e;
+        }
+
+      } catch (TimeoutException e) {
+        throw new IllegalStateException(
+            "Timed out waiting for SQS to report messages as sent.", e);
+      }
+    }
+    if (failure != null) throw failure;
+  }
 
-    // send the request -- handling any exceptions
+  /**
+   * Overridden to complete the returned {@link CompletableFuture} once SQS
+   * reports the message as sent, which may be after the batch lingers for
+   * up to {@link #LINGER_MILLIS} milliseconds.
+   */
+  @Override
+  public CompletableFuture<Void> sendConfirmed(SzMessage message) {
+    CompletableFuture<Void> confirmed = new CompletableFuture<>();
     try {
-      this.sqsClient.sendMessage(request);
+      this.enqueue(new BatchEntry(message, null, confirmed));
 
     } catch (Exception e) {
-      // check if we have a failure handler
-      if (onFailure != null) {
-        // handle the exception
-        onFailure.handle(e, message);
+      confirmed.completeExceptionally(e);
+    }
+    return confirmed;
+  }
+
+  /**
+   * Adds the specified {@link BatchEntry} to the batch being accumulated,
+   * sending the batch if it is full.
+   *
+   * @param entry The {@link BatchEntry} to add.
+   * @throws InterruptedException If interrupted while waiting for an
+   *                              in-flight batch request to complete.
+   */
+  private void enqueue(BatchEntry entry) throws InterruptedException {
+    List<BatchEntry>  prior     = null;
+    List<BatchEntry>  fullBatch = null;
+    synchronized (this.batch) {
+      // check if the message does not fit in the current batch
+      if (this.batch.size() > 0
+          && this.batchBytes + entry.size > MAX_BATCH_BYTES)
+      {
+        prior = this.takeBatch();
+      }
+      this.batch.add(entry);
+      this.batchBytes += entry.size;
+
+      // check if the batch is now full or should wait for more messages
+      if (this.batch.size() == MAX_BATCH_COUNT) {
+        fullBatch = this.takeBatch();
+
+      } else if (this.batch.size() == 1) {
+        long lingerBatch = this.batchNumber;
+        this.lingerService.schedule(() -> this.sendLingering(lingerBatch),
+                                    LINGER_MILLIS, MILLISECONDS);
       }
+    }
+    if (prior != null) this.submit(prior);
+    if (fullBatch != null) this.submit(fullBatch);
+  }
+
+  /**
+   * Removes and returns the batch currently being accumulated and starts a
+   * new batch.  This must be called while synchronized on the batch.
+   *
+   * @return The {@link List} of {@link BatchEntry} instances that were in
+   *         the batch.
+   */
+  private List<BatchEntry> takeBatch() {
+    List<BatchEntry> result = new ArrayList<>(this.batch);
+    this.batch.clear();
+    this.batchBytes = 0;
+    this.batchNumber++;
+    return result;
+  }
+
+  /**
+   * Sends the batch currently being accumulated if it is the specified batch
+   * (i.e.: it has not already been sent because it filled up).
+   *
+   * @param lingerBatch The number of the batch that has been lingering.
+   */
+  private void sendLingering(long lingerBatch) {
+    List<BatchEntry> lingering;
+    synchronized (this.batch) {
+      if (this.batchNumber != lingerBatch || this.batch.size() == 0) return;
+      lingering = this.takeBatch();
+    }
+    try {
+      this.submit(lingering);
+
+    } catch (InterruptedException e) {
+      Exception failure = new IllegalStateException(
+          "Interrupted while sending SQS message batch.", e);
+      lingering.forEach(entry -> entry.fail(failure));
+    }
+  }
+
+  /**
+   * Sends the batch currently being accumulated (if any) without waiting for
+   * more messages.
+   *
+   * @throws InterruptedException If interrupted while waiting for an
+   *                              in-flight batch request to complete.
+   */
+  private void flush() throws InterruptedException {
+    List<BatchEntry> pending;
+    synchronized (this.batch) {
+      if (this.batch.size() == 0) return;
+      pending = this.takeBatch();
+    }
+    this.submit(pending);
+  }
+
+  /**
+   * Sends the specified batch of messages as a single asynchronous
+   * <tt>SendMessageBatch</tt> request, first waiting for room in the
+   * in-flight window.  The whole batch is failed if the request fails and
+   * individual messages are failed if SQS reports them as failed.
+   *
+   * @param entries The {@link List} of {@link BatchEntry} instances to send.
+   * @throws InterruptedException If interrupted while waiting for an
+   *                              in-flight batch request to complete.
+   */
+  private void submit(List<BatchEntry> entries) throws InterruptedException {
+    List<SendMessageBatchRequestEntry> requestEntries
+        = new ArrayList<>(entries.size());
+    for (int index = 0; index < entries.size(); index++) {
+      requestEntries.add(
+          entries.get(index).builder.id(String.valueOf(index)).build());
+    }
+    SendMessageBatchRequest request = SendMessageBatchRequest.builder()
+        .queueUrl(this.queueUrl)
+        .entries(requestEntries)
+        .build();
 
-      // rethrow
-      throw e;
+    this.inFlightPermits.acquire();
+    try {
+      this.sqsClient.sendMessageBatch(request).whenComplete(
+          (response, exception) -> {
+            this.inFlightPermits.release();
+
+            // check if the whole batch failed
+            if (exception != null) {
+              Exception failure = (exception instanceof Exception)
+                  ? (Exception) exception : new RuntimeException(exception);
+              entries.forEach(entry -> entry.fail(failure));
+              return;
+            }
+
+            // fail the individual messages that SQS rejected
+            Set<Integer> failed = new HashSet<>();
+            for (BatchResultErrorEntry error : response.failed()) {
+              failed.add(Integer.parseInt(error.id()));
+              entries.get(Integer.parseInt(error.id())).fail(
+                  new IllegalStateException(
+                      "SQS failed to send message (" + error.code() + "): "
+                      + error.message()));
+            }
+
+            // confirm the rest
+            for (int index = 0; index < entries.size(); index++) {
+              if (!failed.contains(index)) entries.get(index).confirm();
+            }
+          });
+
+    } catch (RuntimeException e) {
+      this.inFlightPermits.release();
+      entries.forEach(entry -> entry.fail(e));
     }
   }
 
   /**
-   * Handles closing the underling {@link SqsClient} object.
+   * Handles sending any accumulated messages, waiting a limited time for the
+   * in-flight batch requests to complete and closing the underlying {@link
+   * SqsAsyncClient} object.
    *
    * @throws Exception If a failure occurs.
    */
   public void doClose() throws Exception {
-    this.sqsClient.close();
+    try {
+      this.flush();
+      if (!this.inFlightPermits.tryAcquire(
+          this.maxInFlight, CLOSE_DRAIN_TIMEOUT, MILLISECONDS))
+      {
+        System.err.println("Timed out waiting for SQS message batches to "
+                           + "complete when closing the SQS endpoint.");
+      }
+
+    } finally {
+      this.lingerService.shutdownNow();
+      this.sqsClient.close();
+    }
   }
 
   /**
@@ -185,11 +597,17 @@ public class SqsEndpoint extends SzAbstractMessagingEndpoint {
       if (count == 0) return null;
       String queueUrl = (String) props.get(URL_PROPERTY_KEY);
 
-      // create the SQS Client
-      SqsClient client = SqsClient.create();
+      // create the SQS Client, directing it to any SQS-compatible stand-in
+      SqsAsyncClientBuilder builder = SqsAsyncClient.builder();
+      URI uri = URI.create(queueUrl);
+      if (uri.getHost() != null && !uri.getHost().endsWith(AWS_HOST_SUFFIX)) {
+        builder.endpointOverride(
+            URI.create(uri.getScheme() + "://" + uri.getAuthority()));
+      }
+      SqsAsyncClient client = builder.build();
 
-      // create the endpoint
-      return new SqsEndpoint(client, queueUrl);
+      // create the endpoint with an in-flight window for each engine thread
+      return new SqsEndpoint(client, queueUrl, concurrency);
     }
 
     /**
@@ -227,7 +645,7 @@ public class SqsEndpoint extends SzAbstractMessagingEndpoint {
 
     // get the queue attributes
     GetQueueAttributesResponse response
-        = this.sqsClient.getQueueAttributes(request);
+        = this.sqsClient.getQueueAttributes(request).join();
 
     // get the text value for the attribute
     String value = response.attributes().get(APPROXIMATE_NUMBER_OF_MESSAGES);
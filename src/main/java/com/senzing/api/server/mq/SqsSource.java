@@ -0,0 +1,227 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.services.SzMessage;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.SqsAsyncClientBuilder;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.senzing.api.server.mq.SqsEndpoint.*;
+
+/**
+ * Provides an Amazon SQS implementation of {@link SzMessageSource}.  Messages
+ * are received with long polling and are deleted from the queue when
+ * acknowledged.  Releasing a message makes it immediately visible again so
+ * that it is redelivered, and a message that is neither acknowledged nor
+ * released is redelivered once its visibility timeout expires.
+ */
+public class SqsSource implements SzMessageSource {
+  /**
+   * The {@link Initiator} for the {@link SqsSource} class.
+   */
+  public static final Initiator INITIATOR = new SqsSourceInitiator();
+
+  /**
+   * The property key for the URL of the SQS queue to which messages that
+   * cannot be processed are routed.
+   */
+  public static final String DEAD_LETTER_URL_PROPERTY_KEY
+      = PROPERTY_PREFIX + "dead-letter-url";
+
+  /**
+   * The <b>unmodifiable</b> {@link Set} of {@link String} property keys for
+   * creating an {@link SqsSource} via {@link #INITIATOR}.
+   */
+  public static final Set<String> PROPERTY_KEYS
+      = Set.of(URL_PROPERTY_KEY, DEAD_LETTER_URL_PROPERTY_KEY);
+
+  /**
+   * The maximum number of messages that SQS allows to be received at once.
+   */
+  public static final int MAX_RECEIVE_COUNT = 10;
+
+  /**
+   * The maximum number of seconds that SQS allows for long polling.
+   */
+  public static final int MAX_WAIT_SECONDS = 20;
+
+  /**
+   * The host name suffix for the Amazon-hosted SQS service.
+   */
+  private static final String AWS_HOST_SUFFIX = ".amazonaws.com";
+
+  /**
+   * The {@link Delivery} implementation for an SQS message.
+   */
+  private class SqsDelivery implements Delivery {
+    /**
+     * The receipt handle for the message.
+     */
+    private final String receiptHandle;
+
+    /**
+     * The {@link SzMessage} for the message.
+     */
+    private final SzMessage message;
+
+    /**
+     * Constructs with the specified SQS {@link Message}.
+     *
+     * @param sqsMessage The SQS {@link Message} that was received.
+     */
+    private SqsDelivery(Message sqsMessage) {
+      this.receiptHandle  = sqsMessage.receiptHandle();
+      this.message        = new SzMessage(sqsMessage.body());
+      sqsMessage.messageAttributes().forEach((key, value) -> {
+        if (value.stringValue() != null) {
+          this.message.setProperty(key, value.stringValue());
+        }
+      });
+    }
+
+    @Override
+    public SzMessage getMessage() {
+      return this.message;
+    }
+
+    /**
+     * Implemented to delete the message from the queue.
+     */
+    @Override
+    public void acknowledge() {
+      SqsSource.this.sqsClient.deleteMessage(
+          DeleteMessageRequest.builder()
+              .queueUrl(SqsSource.this.queueUrl)
+              .receiptHandle(this.receiptHandle)
+              .build()).join();
+    }
+
+    /**
+     * Implemented to make the message immediately visible on the queue.
+     */
+    @Override
+    public void release() {
+      SqsSource.this.sqsClient.changeMessageVisibility(
+          ChangeMessageVisibilityRequest.builder()
+              .queueUrl(SqsSource.this.queueUrl)
+              .receiptHandle(this.receiptHandle)
+              .visibilityTimeout(0)
+              .build()).join();
+    }
+  }
+
+  /**
+   * The {@link SqsAsyncClient} for receiving messages.
+   */
+  private SqsAsyncClient sqsClient;
+
+  /**
+   * The URL of the queue being consumed.
+   */
+  private String queueUrl;
+
+  /**
+   * Constructs with the specified {@link SqsAsyncClient} and queue URL.
+   *
+   * @param client The {@link SqsAsyncClient} to use.
+   * @param queueUrl The URL of the queue to consume.
+   */
+  public SqsSource(SqsAsyncClient client, String queueUrl) {
+    this.sqsClient  = client;
+    this.queueUrl   = queueUrl;
+  }
+
+  @Override
+  public List<Delivery> receive(int maxCount, long timeoutMillis) {
+    int waitSeconds = (int) Math.min(MAX_WAIT_SECONDS, timeoutMillis / 1000L);
+    ReceiveMessageRequest request = ReceiveMessageRequest.builder()
+        .queueUrl(this.queueUrl)
+        .maxNumberOfMessages(Math.max(1, Math.min(MAX_RECEIVE_COUNT, maxCount)))
+        .waitTimeSeconds(waitSeconds)
+        .messageAttributeNames("All")
+        .build();
+
+    ReceiveMessageResponse response
+        = this.sqsClient.receiveMessage(request).join();
+
+    List<Delivery> result = new ArrayList<>(response.messages().size());
+    for (Message sqsMessage : response.messages()) {
+      result.add(new SqsDelivery(sqsMessage));
+    }
+    return result;
+  }
+
+  /**
+   * Implemented to return {@link SqsEndpoint#SQS_SINK_TYPE}.
+   * {@inheritDoc}
+   */
+  @Override
+  public String getProviderType() {
+    return SQS_SINK_TYPE;
+  }
+
+  /**
+   * Closes the underlying {@link SqsAsyncClient}.
+   */
+  @Override
+  public void close() {
+    this.sqsClient.close();
+  }
+
+  /**
+   * Provides an {@link SzMessageSource.Initiator} implementation that creates
+   * an instance of {@link SqsSource} from properties.
+   */
+  private static class SqsSourceInitiator implements Initiator {
+    /**
+     * Default constructor.
+     */
+    private SqsSourceInitiator() {
+      // do nothing
+    }
+
+    /**
+     * Handles establishing an SQS source.
+     */
+    @Override
+    public SzMessageSource establish(Map<String, ?> props, int concurrency) {
+      if (props == null) return null;
+      String queueUrl = (String) props.get(URL_PROPERTY_KEY);
+      if (queueUrl == null) return null;
+
+      // create the SQS Client, directing it to any SQS-compatible stand-in
+      SqsAsyncClientBuilder builder = SqsAsyncClient.builder();
+      URI uri = URI.create(queueUrl);
+      if (uri.getHost() != null && !uri.getHost().endsWith(AWS_HOST_SUFFIX)) {
+        builder.endpointOverride(
+            URI.create(uri.getScheme() + "://" + uri.getAuthority()));
+      }
+      return new SqsSource(builder.build(), queueUrl);
+    }
+
+    /**
+     * Implemented to return the properties for an {@link SqsEndpoint} for the
+     * {@link #DEAD_LETTER_URL_PROPERTY_KEY} queue.
+     */
+    @Override
+    public Map<String, ?> getDeadLetterProperties(Map<String, ?> props) {
+      if (props == null || !props.containsKey(URL_PROPERTY_KEY)) return null;
+      Object deadLetterUrl = props.get(DEAD_LETTER_URL_PROPERTY_KEY);
+      if (deadLetterUrl == null) return null;
+      return Map.of(URL_PROPERTY_KEY, deadLetterUrl);
+    }
+
+    /**
+     * Implemented to return {@link #PROPERTY_KEYS}.
+     */
+    @Override
+    public Set<String> getPropertyKeys() {
+      return PROPERTY_KEYS;
+    }
+  }
+}
@@ -2,10 +2,15 @@ package com.senzing.api.server.mq;
 
 import com.senzing.api.services.SzMessage;
 import com.senzing.api.services.SzMessageSink;
+import com.senzing.util.JsonUtils;
 
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import static com.senzing.io.IOUtilities.UTF_8;
 
@@ -27,6 +32,18 @@ public abstract class SzAbstractMessagingEndpoint
       SzAbstractMessagingEndpoint.this.send(message, onFailure);
     }
 
+    @Override
+    public void sendBatch(List<SzMessage> messages, FailureHandler onFailure)
+      throws Exception
+    {
+      SzAbstractMessagingEndpoint.this.sendBatch(messages, onFailure);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendConfirmed(SzMessage message) {
+      return SzAbstractMessagingEndpoint.this.sendConfirmed(message);
+    }
+
     @Override
     public String getProviderType() {
       return SzAbstractMessagingEndpoint.this.getProviderType();
@@ -260,6 +277,45 @@ public abstract class SzAbstractMessagingEndpoint
     return map;
   }
 
+  /**
+   * Formats the specified {@link SzMessage} as a single line of JSON text with
+   * a <tt>"properties"</tt> object and a <tt>"body"</tt> string so that it
+   * can be stored locally and later restored via {@link
+   * #parseMessage(String)}.
+   *
+   * @param message The {@link SzMessage} to format.
+   * @return The JSON text describing the message.
+   */
+  protected static String formatMessage(SzMessage message) {
+    JsonObjectBuilder properties = Json.createObjectBuilder();
+    message.getProperties().forEach(properties::add);
+
+    JsonObjectBuilder builder = Json.createObjectBuilder();
+    builder.add("properties", properties);
+    if (message.getBody() != null) builder.add("body", message.getBody());
+    return JsonUtils.toJsonText(builder);
+  }
+
+  /**
+   * Parses the specified JSON text that was produced by {@link
+   * #formatMessage(SzMessage)} back into an {@link SzMessage}.
+   *
+   * @param jsonText The JSON text to parse.
+   * @return The {@link SzMessage} described by the JSON text.
+   */
+  protected static SzMessage parseMessage(String jsonText) {
+    JsonObject  jsonObject  = JsonUtils.parseJsonObject(jsonText);
+    SzMessage   message
+        = new SzMessage(JsonUtils.getString(jsonObject, "body"));
+    JsonObject properties = JsonUtils.getJsonObject(jsonObject, "properties");
+    if (properties != null) {
+      for (String key : properties.keySet()) {
+        message.setProperty(key, properties.getString(key));
+      }
+    }
+    return message;
+  }
+
   @Override
   public boolean isClosed() {
     synchronized (this.monitor) {
@@ -0,0 +1,127 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.services.SzMessage;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents an established connection to a queue or topic from which
+ * messages are consumed.  Messages are pulled via {@link #receive(int, long)}
+ * from a single thread and each received {@link Delivery} may then be
+ * acknowledged or released from any thread once it has been processed.
+ * A message that is neither acknowledged nor released before the source is
+ * closed will be redelivered by the broker.
+ */
+public interface SzMessageSource extends AutoCloseable {
+  /**
+   * An interface for creating source instances from a {@link Map} of
+   * properties.
+   */
+  interface Initiator {
+    /**
+     * Given the specified {@link Map} of {@link String} keys to {@link Object}
+     * values this method will create an instance of {@link SzMessageSource}
+     * if the specified properties are in the format expected for this
+     * initiator.  If the specified properties are not handled by this
+     * instance then <tt>null</tt> is returned.
+     *
+     * @param props The {@link Map} of {@link String} keys to {@link Object}
+     *              values to use for establishing the source connection.
+     *
+     * @param concurrency The number of messages that will be processed
+     *                    concurrently, which is used for sizing prefetch
+     *                    buffers.
+     *
+     * @return The {@link SzMessageSource} created for the specified
+     *         properties, or <tt>null</tt> if the specified properties are not
+     *         handled by this instance.
+     */
+    SzMessageSource establish(Map<String, ?> props, int concurrency);
+
+    /**
+     * Creates the properties for establishing the {@link SzMessagingEndpoint}
+     * to which messages that cannot be processed should be routed.  This
+     * returns <tt>null</tt> if the specified properties are not handled by
+     * this instance or if they do not specify a dead-letter destination.
+     *
+     * @param props The {@link Map} of {@link String} keys to {@link Object}
+     *              values that were used for establishing the source.
+     *
+     * @return The {@link Map} of properties for establishing the dead-letter
+     *         {@link SzMessagingEndpoint} via {@link
+     *         SzMessagingEndpointFactory}, or <tt>null</tt> if none.
+     */
+    Map<String, ?> getDeadLetterProperties(Map<String, ?> props);
+
+    /**
+     * Gets the <b>unmodifiable</b> {@link Set} of property keys recognized by
+     * this initiator.
+     *
+     * @return The <b>unmodifiable</b> {@link Set} of property keys recognized
+     *         by this initiator.
+     */
+    Set<String> getPropertyKeys();
+  }
+
+  /**
+   * Describes a single message received from an {@link SzMessageSource}.
+   */
+  interface Delivery {
+    /**
+     * Gets the {@link SzMessage} that was received.
+     *
+     * @return The {@link SzMessage} that was received.
+     */
+    SzMessage getMessage();
+
+    /**
+     * Acknowledges that the message has been processed so that it is not
+     * redelivered.  This may be called from any thread.
+     *
+     * @throws Exception If a failure occurs.
+     */
+    void acknowledge() throws Exception;
+
+    /**
+     * Releases the message without processing it so that it will be
+     * redelivered.  This may be called from any thread.
+     *
+     * @throws Exception If a failure occurs.
+     */
+    void release() throws Exception;
+  }
+
+  /**
+   * Receives up to the specified number of messages, waiting up to the
+   * specified number of milliseconds for at least one to become available.
+   * This returns an empty {@link List} if no messages are available.  This
+   * method should only be called from a single thread.
+   *
+   * @param maxCount The maximum number of messages to receive.
+   *
+   * @param timeoutMillis The maximum number of milliseconds to wait for a
+   *                      message to become available.
+   *
+   * @return The {@link List} of received {@link Delivery} instances.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  List<Delivery> receive(int maxCount, long timeoutMillis) throws Exception;
+
+  /**
+   * Gets a {@link String} describing the provider for the queue.
+   *
+   * @return A {@link String} describing the provider for the queue.
+   */
+  String getProviderType();
+
+  /**
+   * Closes the source.  Messages that were received but neither acknowledged
+   * nor released will be redelivered by the broker.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  void close() throws Exception;
+}
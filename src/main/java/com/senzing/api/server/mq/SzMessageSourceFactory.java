@@ -0,0 +1,82 @@
+package com.senzing.api.server.mq;
+
+import java.util.*;
+
+/**
+ * A factory for converting messaging properties into instances of
+ * {@link SzMessageSource} and the dead-letter {@link SzMessagingEndpoint}
+ * associated with them.
+ */
+public class SzMessageSourceFactory {
+  /**
+   * The list of initiators to try.
+   */
+  private static final List<SzMessageSource.Initiator> INITIATORS;
+
+  // initialize the list of initiators
+  static {
+    List<SzMessageSource.Initiator> list = new ArrayList<>(3);
+    list.add(SqsSource.INITIATOR);
+    list.add(RabbitSource.INITIATOR);
+    list.add(KafkaSource.INITIATOR);
+    INITIATORS = Collections.unmodifiableList(list);
+  }
+
+  /**
+   * Private default constructor.
+   */
+  private SzMessageSourceFactory() {
+    // do nothing
+  }
+
+  /**
+   * Creates the appropriate {@link SzMessageSource} from the specified
+   * {@link Map} of {@link String} keys to {@link Object} values.
+   *
+   * @param props The {@link Map} of properties to use for creating the
+   *              source.
+   *
+   * @param concurrency The number of messages that will be processed
+   *                    concurrently.
+   *
+   * @return The {@link SzMessageSource} for the specified properties.
+   *
+   * @throws IllegalArgumentException If the specified properties have an
+   *                                  unrecognized format.
+   */
+  public static SzMessageSource createSource(Map<String, ?>  props,
+                                             int             concurrency)
+  {
+    SzMessageSource source = null;
+    for (SzMessageSource.Initiator initiator: INITIATORS) {
+      source = initiator.establish(props, concurrency);
+      if (source != null) return source;
+    }
+    throw new IllegalArgumentException(
+        "Unrecognized message source properties: " + props);
+  }
+
+  /**
+   * Creates the {@link SzMessagingEndpoint} to which messages consumed from
+   * the {@link SzMessageSource} described by the specified properties should
+   * be routed if they cannot be processed.  This returns <tt>null</tt> if the
+   * properties do not specify a dead-letter destination.
+   *
+   * @param props The {@link Map} of properties that were used for creating
+   *              the source.
+   *
+   * @return The dead-letter {@link SzMessagingEndpoint}, or <tt>null</tt> if
+   *         none is specified.
+   */
+  public static SzMessagingEndpoint createDeadLetterEndpoint(
+      Map<String, ?> props)
+  {
+    for (SzMessageSource.Initiator initiator: INITIATORS) {
+      Map<String, ?> endpointProps = initiator.getDeadLetterProperties(props);
+      if (endpointProps != null) {
+        return SzMessagingEndpointFactory.createEndpoint(endpointProps, 1);
+      }
+    }
+    return null;
+  }
+}
@@ -16,10 +16,11 @@ public class SzMessagingEndpointFactory {
 
   // initialize the list of initiators
   static {
-    List<SzMessagingEndpoint.Initiator> list = new ArrayList<>(3);
+    List<SzMessagingEndpoint.Initiator> list = new ArrayList<>(4);
     list.add(SqsEndpoint.INITIATOR);
     list.add(RabbitEndpoint.INITIATOR);
     list.add(KafkaEndpoint.INITIATOR);
+    list.add(FileEndpoint.INITIATOR);
     INITIATORS = Collections.unmodifiableList(list);
   }
 
@@ -389,6 +389,87 @@ public class AdminServices implements ServicesSupport {
     }
   }
 
+  /**
+   * Provides the repository statistics that are incrementally maintained from
+   * the info messages.
+   */
+  @GET
+  @Path("repository-stats")
+  public SzRepositoryStatsResponse getRepositoryStats(
+      @Context UriInfo uriInfo)
+      throws WebApplicationException
+  {
+    Timers timers = this.newTimers();
+    SzRepositoryStatistics statistics
+        = this.getRepositoryStatistics(GET, uriInfo, timers);
+
+    return this.newRepositoryStatsResponse(
+        GET, uriInfo, timers, statistics.getStats());
+  }
+
+  /**
+   * Starts reconciling the repository statistics against an entity export in
+   * the background (unless already reconciling) and provides the current
+   * repository statistics.  This requires admin functions to be enabled since
+   * it exports the entire repository.
+   */
+  @POST
+  @Path("repository-stats/reconcile")
+  public SzRepositoryStatsResponse reconcileRepositoryStats(
+      @Context UriInfo uriInfo)
+      throws WebApplicationException
+  {
+    Timers timers = this.newTimers();
+    SzApiProvider provider = this.getApiProvider();
+    if (!provider.isAdminEnabled()) {
+      throw this.newForbiddenException(
+          POST, uriInfo, timers,
+          "Reconciling the repository statistics is not allowed if Senzing "
+              + "API Server is not started with admin functions enabled.");
+    }
+    SzRepositoryStatistics statistics
+        = this.getRepositoryStatistics(POST, uriInfo, timers);
+
+    try {
+      statistics.reconcile();
+
+    } catch (IllegalStateException e) {
+      throw this.newServiceUnavailableErrorException(
+          POST, uriInfo, timers, e.getMessage());
+    }
+
+    return this.newRepositoryStatsResponse(
+        POST, uriInfo, timers, statistics.getStats());
+  }
+
+  /**
+   * Gets the {@link SzRepositoryStatistics} from the {@link SzApiProvider},
+   * throwing a {@link ServiceUnavailableException} if they are not enabled.
+   *
+   * @param httpMethod The {@link SzHttpMethod} for the request.
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @param timers The {@link Timers} for the operation.
+   * @return The {@link SzRepositoryStatistics}.
+   * @throws ServiceUnavailableException If the repository statistics are not
+   *                                     enabled.
+   */
+  protected SzRepositoryStatistics getRepositoryStatistics(
+      SzHttpMethod  httpMethod,
+      UriInfo       uriInfo,
+      Timers        timers)
+      throws ServiceUnavailableException
+  {
+    SzRepositoryStatistics statistics
+        = this.getApiProvider().getRepositoryStatistics();
+    if (statistics == null) {
+      throw this.newServiceUnavailableErrorException(
+          httpMethod, uriInfo, timers,
+          "The repository statistics are not enabled.  The server must be "
+              + "started with the repository statistics enabled.");
+    }
+    return statistics;
+  }
+
   /**
    * Creates a new instance of {@link SzServerInfo} with none of its properties
    * set (uninitialized).
@@ -427,6 +508,12 @@ public class AdminServices implements ServicesSupport {
         provider.getWebSocketsMessageMaxSize());
     serverInfo.setInfoQueueConfigured(
         provider.hasInfoSink());
+    serverInfo.setRedoProcessor(provider.getRedoProcessorStats());
+    serverInfo.setInfoPublisher(provider.getInfoPublisherStats());
+    serverInfo.setInfoSpool(provider.getInfoSpoolStats());
+    serverInfo.setInfoAggregator(provider.getInfoAggregatorStats());
+    serverInfo.setChangeFeed(provider.getChangeFeedStats());
+    serverInfo.setRecordConsumer(provider.getRecordConsumerStats());
     return serverInfo;
   }
 
@@ -449,4 +536,28 @@ public class AdminServices implements ServicesSupport {
         this.newLinks(uriInfo),
         serverInfo);
   }
+
+  /**
+   * Creates a new {@link SzRepositoryStatsResponse} for the
+   * <tt>"GET /repository-stats"</tt> and
+   * <tt>"POST /repository-stats/reconcile"</tt> operations.
+   *
+   * @param httpMethod The {@link SzHttpMethod} for the request.
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @param timers The {@link Timers} for the operation.
+   * @param stats The {@link SzRepositoryStats} for the response.
+   * @return The {@link SzRepositoryStatsResponse} with the specified
+   *         parameters.
+   */
+  protected SzRepositoryStatsResponse newRepositoryStatsResponse(
+      SzHttpMethod      httpMethod,
+      UriInfo           uriInfo,
+      Timers            timers,
+      SzRepositoryStats stats)
+  {
+    return SzRepositoryStatsResponse.FACTORY.create(
+        this.newMeta(httpMethod, 200, timers),
+        this.newLinks(uriInfo),
+        stats);
+  }
 }
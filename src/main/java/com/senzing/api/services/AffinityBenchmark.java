@@ -0,0 +1,249 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzAffinityBenchmark;
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.util.JsonUtils;
+
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.senzing.util.LoggingUtilities.debugLog;
+
+/**
+ * Benchmarks scheduling records by their affinity key by alternating
+ * between blocks of {@link #BLOCK_SIZE} records loaded with and without
+ * the affinity hash via the same {@link AffinityWorkerPool}.  Each block is
+ * drained before the next begins and the engine statistics are sampled at
+ * the start and end of each block so the throughput, retries and lock-wait
+ * statistics can be attributed to the scheduling that was used.  Sampling
+ * the engine statistics resets them, so any periodic logging of the engine
+ * statistics will not include the activity during a benchmark.  This class
+ * is not thread-safe and should be used by the thread that reads the
+ * records.
+ */
+public class AffinityBenchmark {
+  /**
+   * The number of records in each block ({@value}).
+   */
+  public static final int BLOCK_SIZE = 1000;
+
+  /**
+   * The index of the accumulated statistics for blocks loaded with the
+   * affinity hash.
+   */
+  private static final int WITH_AFFINITY = 0;
+
+  /**
+   * The index of the accumulated statistics for blocks loaded without the
+   * affinity hash.
+   */
+  private static final int WITHOUT_AFFINITY = 1;
+
+  /**
+   * The {@link SzApiProvider} for sampling the engine statistics.
+   */
+  private SzApiProvider provider;
+
+  /**
+   * Whether or not the current block is loaded with the affinity hash.
+   */
+  private boolean affinity = true;
+
+  /**
+   * The number of records queued in the current block.
+   */
+  private int blockRecordCount = 0;
+
+  /**
+   * The nanosecond time when the current block began, or negative one (-1)
+   * if no block is in progress.
+   */
+  private long blockStart = -1L;
+
+  /**
+   * The number of completed blocks for each scheduling.
+   */
+  private int[] blockCounts = new int[2];
+
+  /**
+   * The number of records in the completed blocks for each scheduling.
+   */
+  private long[] recordCounts = new long[2];
+
+  /**
+   * The nanoseconds spent on the completed blocks for each scheduling.
+   */
+  private long[] elapsedNanos = new long[2];
+
+  /**
+   * The number of engine retries in the completed blocks for each
+   * scheduling.
+   */
+  private long[] retryCounts = new long[2];
+
+  /**
+   * The summed lock-wait statistics for each scheduling.
+   */
+  private List<Map<String, Long>> lockWaits
+      = List.of(new TreeMap<>(), new TreeMap<>());
+
+  /**
+   * Constructs with the specified {@link SzApiProvider}.
+   *
+   * @param provider The {@link SzApiProvider} for sampling the engine
+   *                 statistics.
+   */
+  public AffinityBenchmark(SzApiProvider provider) {
+    this.provider = provider;
+  }
+
+  /**
+   * Checks if the next record should be loaded with the affinity hash.
+   * This begins a new block if one is not in progress.
+   *
+   * @return <tt>true</tt> if the next record should be loaded with the
+   *         affinity hash, otherwise <tt>false</tt>.
+   */
+  public boolean isAffinity() {
+    if (this.blockStart < 0L) {
+      // reset the engine statistics so the block starts from zero
+      this.sampleStats();
+      this.blockStart = System.nanoTime();
+    }
+    return this.affinity;
+  }
+
+  /**
+   * Records that a record was queued to the specified {@link
+   * AffinityWorkerPool} and completes the current block if it is full.
+   *
+   * @param pool The {@link AffinityWorkerPool} the record was queued to.
+   */
+  public void recordQueued(AffinityWorkerPool pool) {
+    this.blockRecordCount++;
+    if (this.blockRecordCount >= BLOCK_SIZE) this.completeBlock(pool);
+  }
+
+  /**
+   * Completes the current block (if any) using the specified {@link
+   * AffinityWorkerPool}.
+   *
+   * @param pool The {@link AffinityWorkerPool} the records were queued to.
+   */
+  public void complete(AffinityWorkerPool pool) {
+    if (this.blockRecordCount > 0) this.completeBlock(pool);
+  }
+
+  /**
+   * Waits for the records in the current block to be loaded and attributes
+   * the elapsed time and engine statistics to the scheduling that was
+   * used before switching to the other scheduling.
+   *
+   * @param pool The {@link AffinityWorkerPool} the records were queued to.
+   */
+  private void completeBlock(AffinityWorkerPool pool) {
+    pool.drain();
+    long      elapsed = System.nanoTime() - this.blockStart;
+    JsonObject stats  = this.sampleStats();
+    int       index   = (this.affinity) ? WITH_AFFINITY : WITHOUT_AFFINITY;
+
+    this.blockCounts[index]++;
+    this.recordCounts[index] += this.blockRecordCount;
+    this.elapsedNanos[index] += elapsed;
+    if (stats != null) {
+      this.retryCounts[index] += accumulateStats(
+          null, stats, this.lockWaits.get(index));
+    }
+
+    this.affinity         = !this.affinity;
+    this.blockRecordCount = 0;
+    this.blockStart       = -1L;
+  }
+
+  /**
+   * Samples (and thereby resets) the engine statistics.
+   *
+   * @return The {@link JsonObject} describing the engine statistics, or
+   *         <tt>null</tt> if they could not be obtained.
+   */
+  private JsonObject sampleStats() {
+    G2Engine engineApi = this.provider.getEngineApi();
+    try {
+      String stats = this.provider.executeInThread(() -> engineApi.stats());
+      return (stats == null || stats.trim().length() == 0) ? null
+          : JsonUtils.parseJsonObject(stats);
+
+    } catch (Exception e) {
+      debugLog("Failed to sample engine stats: " + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Sums the numeric engine statistics whose paths mention locks into the
+   * specified {@link Map} and returns the number of retries found.
+   *
+   * @param path The dot-separated path of the specified {@link JsonObject},
+   *             or <tt>null</tt> if it is the root.
+   * @param stats The {@link JsonObject} of engine statistics.
+   * @param sums The {@link Map} of paths to the summed values.
+   *
+   * @return The number of retries found in the statistics.
+   */
+  private static long accumulateStats(String            path,
+                                      JsonObject        stats,
+                                      Map<String, Long> sums)
+  {
+    long retries = 0L;
+    for (Map.Entry<String, JsonValue> entry : stats.entrySet()) {
+      String    key   = entry.getKey();
+      JsonValue value = entry.getValue();
+      String    child = (path == null) ? key : (path + "." + key);
+      switch (value.getValueType()) {
+        case OBJECT:
+          retries += accumulateStats(child, value.asJsonObject(), sums);
+          break;
+        case NUMBER:
+          long number = ((JsonNumber) value).longValue();
+          if (key.equalsIgnoreCase("retries")) {
+            retries += number;
+          } else if (child.toLowerCase().contains("lock")) {
+            sums.merge(child, number, Long::sum);
+          }
+          break;
+        default:
+          // ignore other value types
+      }
+    }
+    return retries;
+  }
+
+  /**
+   * Creates the {@link List} of {@link SzAffinityBenchmark} instances
+   * describing the blocks loaded with and without the affinity hash.
+   *
+   * @return The {@link List} of {@link SzAffinityBenchmark} instances.
+   */
+  public List<SzAffinityBenchmark> toAffinityBenchmark() {
+    List<SzAffinityBenchmark> result = new ArrayList<>(2);
+    for (int index : new int[] { WITH_AFFINITY, WITHOUT_AFFINITY }) {
+      long millis = this.elapsedNanos[index] / 1000000L;
+      SzAffinityBenchmark benchmark = SzAffinityBenchmark.FACTORY.create();
+      benchmark.setAffinity(index == WITH_AFFINITY);
+      benchmark.setBlockCount(this.blockCounts[index]);
+      benchmark.setRecordCount(this.recordCounts[index]);
+      benchmark.setElapsedMillis(millis);
+      benchmark.setRecordsPerSecond((millis == 0L) ? 0.0
+          : (this.recordCounts[index] * 1000.0) / millis);
+      benchmark.setRetryCount(this.retryCounts[index]);
+      benchmark.setLockWaits(this.lockWaits.get(index));
+      result.add(benchmark);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,220 @@
+package com.senzing.api.services;
+
+import com.senzing.util.Timers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Loads records with a fixed set of worker threads that each have their own
+ * bounded queue.  Each record is queued to the worker chosen by its
+ * affinity hash so that records that are likely to resolve to the same
+ * entities are loaded one after the other by the same worker rather than
+ * concurrently by different workers, which would otherwise serialize on
+ * the entity locks in the engine and cause retries.  Records without an
+ * affinity hash are queued to each worker in turn.
+ */
+public class AffinityWorkerPool {
+  /**
+   * The maximum number of records queued for each worker ({@value}).
+   */
+  public static final int QUEUE_CAPACITY = 16;
+
+  /**
+   * The task that signals a worker to complete.
+   */
+  private static final Consumer<Timers> END_TASK = (timers) -> { };
+
+  /**
+   * The queue for each worker.
+   */
+  private List<BlockingQueue<Consumer<Timers>>> queues;
+
+  /**
+   * The {@link Timers} for each worker.
+   */
+  private List<Timers> timers;
+
+  /**
+   * The worker threads.
+   */
+  private List<Thread> threads;
+
+  /**
+   * The number of tasks that are queued or executing.
+   */
+  private int pendingCount = 0;
+
+  /**
+   * The index of the worker to receive the next task that has no affinity
+   * hash.
+   */
+  private int nextWorker = 0;
+
+  /**
+   * Flag indicating if this instance has been closed.
+   */
+  private boolean closed = false;
+
+  /**
+   * Constructs with the specified name and number of workers and starts
+   * the worker threads.
+   *
+   * @param name The name prefix for the worker threads.
+   * @param workerCount The number of workers.
+   */
+  public AffinityWorkerPool(String name, int workerCount) {
+    this.queues   = new ArrayList<>(workerCount);
+    this.timers   = new ArrayList<>(workerCount);
+    this.threads  = new ArrayList<>(workerCount);
+    for (int index = 0; index < workerCount; index++) {
+      BlockingQueue<Consumer<Timers>> queue
+          = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+      Timers workerTimers = new Timers();
+      Thread thread = new Thread(() -> this.work(queue, workerTimers),
+                                 name + "-affinity-" + index);
+      thread.setDaemon(true);
+      this.queues.add(queue);
+      this.timers.add(workerTimers);
+      this.threads.add(thread);
+    }
+    for (Thread thread : this.threads) {
+      thread.start();
+    }
+  }
+
+  /**
+   * Gets the number of workers.
+   *
+   * @return The number of workers.
+   */
+  public int getWorkerCount() {
+    return this.threads.size();
+  }
+
+  /**
+   * Queues the specified task to the worker chosen by the specified
+   * affinity hash, blocking while the queue for that worker is full.  If
+   * the affinity hash is <tt>null</tt> then the task is queued to the next
+   * worker in turn.  The task is given the {@link Timers} for the worker
+   * and must not throw an exception.
+   *
+   * @param affinityHash The affinity hash for the task, or <tt>null</tt> if
+   *                     the task has no affinity.
+   * @param task The task to execute.
+   *
+   * @throws IllegalStateException If this instance has been closed.
+   */
+  public void execute(Long affinityHash, Consumer<Timers> task) {
+    int workerCount = this.queues.size();
+    int index;
+    synchronized (this) {
+      if (this.closed) {
+        throw new IllegalStateException("Already closed.");
+      }
+      if (affinityHash == null) {
+        index = this.nextWorker;
+        this.nextWorker = (this.nextWorker + 1) % workerCount;
+      } else {
+        index = (int) Math.floorMod(affinityHash, (long) workerCount);
+      }
+      this.pendingCount++;
+    }
+    this.enqueue(this.queues.get(index), task);
+  }
+
+  /**
+   * Waits until every task that has been queued has completed.
+   */
+  public synchronized void drain() {
+    while (this.pendingCount > 0) {
+      try {
+        this.wait();
+      } catch (InterruptedException ignore) {
+        // ignore the exception
+      }
+    }
+  }
+
+  /**
+   * Waits for the queued tasks to complete, stops the worker threads and
+   * returns the {@link Timers} for each worker so they can be merged.
+   * This method has no effect if already closed other than returning the
+   * {@link Timers}.
+   *
+   * @return The {@link List} of {@link Timers} for the workers.
+   */
+  public List<Timers> close() {
+    synchronized (this) {
+      if (this.closed) return this.timers;
+      this.closed = true;
+    }
+    this.drain();
+    for (BlockingQueue<Consumer<Timers>> queue : this.queues) {
+      this.enqueue(queue, END_TASK);
+    }
+    for (Thread thread : this.threads) {
+      try {
+        thread.join();
+      } catch (InterruptedException ignore) {
+        // ignore the exception
+      }
+    }
+    return this.timers;
+  }
+
+  /**
+   * Puts the specified task in the specified queue, blocking while the
+   * queue is full.
+   *
+   * @param queue The queue to put the task in.
+   * @param task The task to put in the queue.
+   */
+  private void enqueue(BlockingQueue<Consumer<Timers>> queue,
+                       Consumer<Timers>                task)
+  {
+    while (true) {
+      try {
+        queue.put(task);
+        return;
+      } catch (InterruptedException ignore) {
+        // ignore the exception
+      }
+    }
+  }
+
+  /**
+   * The main loop for each worker thread.
+   *
+   * @param queue The queue for the worker.
+   * @param workerTimers The {@link Timers} for the worker.
+   */
+  private void work(BlockingQueue<Consumer<Timers>> queue,
+                    Timers                          workerTimers)
+  {
+    while (true) {
+      Consumer<Timers> task;
+      try {
+        task = queue.take();
+      } catch (InterruptedException ignore) {
+        continue;
+      }
+      if (task == END_TASK) return;
+      try {
+        task.accept(workerTimers);
+
+      } catch (Exception e) {
+        e.printStackTrace();
+
+      } finally {
+        synchronized (this) {
+          this.pendingCount--;
+          this.notifyAll();
+        }
+      }
+    }
+  }
+}
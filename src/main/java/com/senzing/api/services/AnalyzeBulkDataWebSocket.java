@@ -5,8 +5,12 @@ import com.senzing.api.websocket.StringDecoder;
 import com.senzing.io.IOUtilities;
 import com.senzing.util.Timers;
 
+import javax.websocket.Session;
 import javax.websocket.server.ServerEndpoint;
+import javax.ws.rs.BadRequestException;
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Provides an implementation of {@link BulkDataWebSocket} that analyzes bulk
@@ -16,6 +20,76 @@ import java.io.IOException;
     decoders = StringDecoder.class,
     encoders = JsonEncoder.class)
 public class AnalyzeBulkDataWebSocket extends BulkDataWebSocket {
+  /**
+   * The number of threads on which to analyze the records if the data is in
+   * JSON-lines format.
+   */
+  protected int threadCount = 1;
+
+  /**
+   * The maximum number of records to sample, or <tt>null</tt> if not
+   * sampling by record count.
+   */
+  protected Integer sampleSize = null;
+
+  /**
+   * The maximum number of bytes to sample, or <tt>null</tt> if not sampling
+   * by byte count.
+   */
+  protected Long sampleBytes = null;
+
+  /**
+   * Default constructor.
+   */
+  public AnalyzeBulkDataWebSocket() {
+    // do nothing
+  }
+
+  @Override
+  public void onOpen(Session session)
+      throws IOException, IllegalArgumentException
+  {
+    super.onOpen(session);
+
+    // get the other query parameters
+    Map<String, List<String>> params = this.session.getRequestParameterMap();
+    List<String> paramList = params.get("threads");
+    if (paramList != null && paramList.size() > 0) {
+      try {
+        this.threadCount = Integer.parseInt(paramList.get(0));
+
+      } catch (IllegalArgumentException e) {
+        throw new BadRequestException(
+            "The specified number of threads (threads) must be an integer: "
+                + paramList.get(0));
+      }
+    }
+
+    paramList = params.get("sampleSize");
+    if (paramList != null && paramList.size() > 0) {
+      try {
+        this.sampleSize = Integer.valueOf(paramList.get(0));
+
+      } catch (IllegalArgumentException e) {
+        throw new BadRequestException(
+            "The specified sample size (sampleSize) must be an integer: "
+                + paramList.get(0));
+      }
+    }
+
+    paramList = params.get("sampleBytes");
+    if (paramList != null && paramList.size() > 0) {
+      try {
+        this.sampleBytes = Long.valueOf(paramList.get(0));
+
+      } catch (IllegalArgumentException e) {
+        throw new BadRequestException(
+            "The specified sample byte count (sampleBytes) must be an "
+                + "integer: " + paramList.get(0));
+      }
+    }
+  }
+
   /**
    * Implemented to load the records once the thread is started.
    */
@@ -25,8 +99,11 @@ public class AnalyzeBulkDataWebSocket extends BulkDataWebSocket {
     this.analyzeBulkRecords(provider,
                             this.timers,
                             this.mediaType,
-                            this.pipedInputStream,
+                            this.inputStream,
                             this.uriInfo,
+                            this.threadCount,
+                            this.sampleSize,
+                            this.sampleBytes,
                             this.progressPeriod,
                             null,
                             null,
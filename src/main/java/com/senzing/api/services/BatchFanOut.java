@@ -0,0 +1,266 @@
+package com.senzing.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.joda.JodaModule;
+import com.senzing.api.model.SzBatchOrder;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.IntFunction;
+
+import static com.senzing.io.IOUtilities.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Processes the items of a batch request in parallel and streams the
+ * per-item results as NDJSON (one JSON object per line) as they complete.
+ * Each item is processed by calling the specified {@link IntFunction} with
+ * the index of the item on a thread from a shared pool, and that function
+ * is expected to perform its engine calls via {@link
+ * SzApiProvider#executeInThread(com.senzing.util.WorkerThreadPool.Task)} so
+ * the engine thread pool still bounds the overall engine concurrency.  The
+ * shared pool is bounded by the {@linkplain SzApiProvider#getConcurrency()
+ * engine concurrency}, so concurrent batches queue for its threads rather
+ * than each adding threads that would only wait on the engine.  At
+ * most the specified parallelism of items are in flight at any time for a
+ * single batch, and no more items are started than the client is reading,
+ * since the next item is only started once a result has been written.  The
+ * function should not throw exceptions, but should instead describe any
+ * failure for the item in its result so that one failed item does not fail
+ * the whole batch.  The results may alternatively be gathered in memory via
+ * {@link #collect()} when they must be summarized in a single response.
+ *
+ * @param <T> The type of the per-item results.
+ */
+public class BatchFanOut<T> implements StreamingOutput {
+  /**
+   * The number of seconds ({@value}) that an idle thread of the shared pool
+   * is kept before it is released.
+   */
+  private static final long KEEP_ALIVE_SECONDS = 60L;
+
+  /**
+   * The shared pool of threads on which batch items are processed, or
+   * <tt>null</tt> if not yet created.  These threads mostly wait on the
+   * engine thread pool, so the pool has no more threads than the engine
+   * concurrency and the items beyond that wait in its queue.
+   */
+  private static ThreadPoolExecutor fanOutPool = null;
+
+  /**
+   * The {@link ObjectMapper} used to serialize the per-item results.
+   */
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  static {
+    OBJECT_MAPPER.registerModule(new JodaModule());
+  }
+
+  /**
+   * The {@link ExecutorService} on which the batch items are processed.
+   */
+  private ExecutorService pool;
+
+  /**
+   * The number of items in the batch.
+   */
+  private int itemCount;
+
+  /**
+   * The maximum number of items to have in flight at any time.
+   */
+  private int parallelism;
+
+  /**
+   * The {@link SzBatchOrder} in which to stream the results.
+   */
+  private SzBatchOrder order;
+
+  /**
+   * The {@link IntFunction} for processing the item at a given index.
+   */
+  private IntFunction<T> processor;
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param provider The {@link SzApiProvider} whose engine concurrency bounds
+   *                 the shared pool of threads.
+   * @param itemCount The number of items in the batch.
+   * @param parallelism The maximum number of items to have in flight at any
+   *                    time, which is at least one.
+   * @param order The {@link SzBatchOrder} in which to stream the results.
+   * @param processor The {@link IntFunction} that processes the item at a
+   *                  given index and returns its result.
+   */
+  public BatchFanOut(SzApiProvider   provider,
+                     int             itemCount,
+                     int             parallelism,
+                     SzBatchOrder    order,
+                     IntFunction<T>  processor)
+  {
+    this.pool         = getFanOutPool(provider.getConcurrency());
+    this.itemCount    = itemCount;
+    this.parallelism  = Math.max(1, parallelism);
+    this.order        = order;
+    this.processor    = processor;
+  }
+
+  /**
+   * Gets the shared pool of threads on which batch items are processed,
+   * creating it with the specified number of threads if it does not yet
+   * exist, or growing it if it has fewer threads.
+   *
+   * @param concurrency The engine concurrency that bounds the pool.
+   * @return The shared pool of threads.
+   */
+  private static synchronized ExecutorService getFanOutPool(int concurrency) {
+    int threadCount = Math.max(1, concurrency);
+    if (fanOutPool == null) {
+      fanOutPool = new ThreadPoolExecutor(
+          threadCount, threadCount, KEEP_ALIVE_SECONDS, SECONDS,
+          new LinkedBlockingQueue<>(),
+          runnable -> {
+            Thread thread = new Thread(runnable, "batch-fan-out");
+            thread.setDaemon(true);
+            return thread;
+          });
+      fanOutPool.allowCoreThreadTimeOut(true);
+
+    } else if (fanOutPool.getMaximumPoolSize() < threadCount) {
+      fanOutPool.setMaximumPoolSize(threadCount);
+      fanOutPool.setCorePoolSize(threadCount);
+    }
+    return fanOutPool;
+  }
+
+  /**
+   * Processes the batch items and writes the per-item results to the
+   * specified {@link OutputStream}.
+   *
+   * @param output The {@link OutputStream} to write to.
+   * @throws IOException If a failure occurs in writing.
+   */
+  @Override
+  public void write(OutputStream output) throws IOException {
+    Writer writer = new OutputStreamWriter(output, UTF_8);
+    this.process((index, result) -> {
+      this.writeResult(writer, result);
+      writer.flush();
+    });
+  }
+
+  /**
+   * Processes the batch items and returns the per-item results in memory
+   * rather than streaming them.  The returned {@link List} is always in the
+   * same order as the items in the request regardless of the {@link
+   * SzBatchOrder} this instance was constructed with.
+   *
+   * @return The {@link List} of per-item results in request order.
+   * @throws IOException If a failure occurs in processing the batch.
+   */
+  public List<T> collect() throws IOException {
+    List<T> results = new ArrayList<>(this.itemCount);
+    for (int index = 0; index < this.itemCount; index++) results.add(null);
+    this.process(results::set);
+    return results;
+  }
+
+  /**
+   * Processes the batch items with at most the configured parallelism of
+   * items in flight and hands each result to the specified {@link
+   * ResultHandler} in the configured {@link SzBatchOrder}.  The next item is
+   * only started once the handler has returned for a completed item.
+   *
+   * @param handler The {@link ResultHandler} to hand the results to.
+   * @throws IOException If the handler fails or the batch is interrupted.
+   */
+  private void process(ResultHandler<T> handler) throws IOException {
+    CompletionService<Map.Entry<Integer, T>> completionService
+        = new ExecutorCompletionService<>(this.pool);
+
+    // the completed results being held back for request order
+    Map<Integer, T> heldResults = new TreeMap<>();
+
+    int nextSubmit  = 0;
+    int nextHandle  = 0;
+    int inFlight    = 0;
+    try {
+      while (nextHandle < this.itemCount) {
+        // top up the items in flight
+        while (inFlight < this.parallelism && nextSubmit < this.itemCount) {
+          final int index = nextSubmit++;
+          completionService.submit(
+              () -> Map.entry(index, this.processor.apply(index)));
+          inFlight++;
+        }
+
+        // wait for the next completed item
+        Future<Map.Entry<Integer, T>> future = completionService.take();
+        inFlight--;
+        Map.Entry<Integer, T> entry = future.get();
+
+        // check if the results are handled as they complete
+        if (this.order == SzBatchOrder.COMPLETION) {
+          handler.handle(entry.getKey(), entry.getValue());
+          nextHandle++;
+
+        } else {
+          heldResults.put(entry.getKey(), entry.getValue());
+          while (heldResults.containsKey(nextHandle)) {
+            int index = nextHandle++;
+            handler.handle(index, heldResults.remove(index));
+          }
+        }
+      }
+
+    } catch (InterruptedException e) {
+      throw new IOException("Interrupted while processing batch", e);
+
+    } catch (ExecutionException e) {
+      throw new IOException("Failed to process batch item", e.getCause());
+    }
+  }
+
+  /**
+   * Writes the specified result as a line of JSON text.
+   *
+   * @param writer The {@link Writer} to write to.
+   * @param result The result to write.
+   * @throws IOException If a failure occurs in writing.
+   */
+  private void writeResult(Writer writer, T result) throws IOException {
+    writer.write(OBJECT_MAPPER.writeValueAsString(result));
+    writer.write("\n");
+  }
+
+  /**
+   * Handles the result for a batch item.
+   *
+   * @param <T> The type of the per-item results.
+   */
+  private interface ResultHandler<T> {
+    /**
+     * Handles the result for the batch item at the specified index.
+     *
+     * @param index The zero-based index of the item in the batch.
+     * @param result The result for the item.
+     * @throws IOException If a failure occurs in handling the result.
+     */
+    void handle(int index, T result) throws IOException;
+  }
+}
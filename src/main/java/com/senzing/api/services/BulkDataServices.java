@@ -9,6 +9,7 @@ import org.glassfish.jersey.media.multipart.FormDataParam;
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.sse.OutboundSseEvent;
 import javax.ws.rs.sse.Sse;
@@ -34,6 +35,9 @@ public class BulkDataServices implements BulkDataSupport {
   public SzBulkDataAnalysisResponse analyzeBulkRecordsViaForm(
       @HeaderParam("Content-Type") MediaType mediaType,
       @FormDataParam("data") InputStream dataInputStream,
+      @QueryParam("threads") @DefaultValue("1") int threadCount,
+      @QueryParam("sampleSize") Integer sampleSize,
+      @QueryParam("sampleBytes") Long sampleBytes,
       @Context UriInfo uriInfo)
   {
     SzApiProvider provider    = this.getApiProvider();
@@ -49,6 +53,9 @@ public class BulkDataServices implements BulkDataSupport {
                                      mediaType,
                                      dataInputStream,
                                      uriInfo,
+                                     threadCount,
+                                     sampleSize,
+                                     sampleBytes,
                                      null,
                                      null,
                                      null,
@@ -72,10 +79,16 @@ public class BulkDataServices implements BulkDataSupport {
   @Consumes({ APPLICATION_JSON,
               TEXT_PLAIN,
               TEXT_CSV,
-              APPLICATION_JSONLINES })
+              APPLICATION_JSONLINES,
+              APPLICATION_GZIP,
+              APPLICATION_X_GZIP,
+              APPLICATION_ZIP })
   public SzBulkDataAnalysisResponse analyzeBulkRecordsDirect(
       @HeaderParam("Content-Type") MediaType mediaType,
       InputStream dataInputStream,
+      @QueryParam("threads") @DefaultValue("1") int threadCount,
+      @QueryParam("sampleSize") Integer sampleSize,
+      @QueryParam("sampleBytes") Long sampleBytes,
       @Context UriInfo uriInfo)
   {
     SzApiProvider provider    = this.getApiProvider();
@@ -91,6 +104,9 @@ public class BulkDataServices implements BulkDataSupport {
                                      mediaType,
                                      dataInputStream,
                                      uriInfo,
+                                     threadCount,
+                                     sampleSize,
+                                     sampleBytes,
                                      null,
                                      null,
                                      null,
@@ -113,6 +129,12 @@ public class BulkDataServices implements BulkDataSupport {
    * @param mediaType The media type for the content.
    * @param dataInputStream The input stream to read the uploaded data.
    * @param uriInfo The {@link UriInfo} for the request.
+   * @param threadCount The number of threads on which to analyze the records
+   *                    if the data is in JSON-lines format.
+   * @param sampleSize The maximum number of records to sample, or
+   *                   <tt>null</tt> if not sampling by record count.
+   * @param sampleBytes The maximum number of bytes to sample, or
+   *                    <tt>null</tt> if not sampling by byte count.
    * @param progressPeriod The suggested maximum time between SSE `progress`
    *                       events specified in milliseconds.  If not specified
    *                       then the default of `3000` milliseconds (i.e.: 3
@@ -125,12 +147,18 @@ public class BulkDataServices implements BulkDataSupport {
   @Consumes({ APPLICATION_JSON,
               TEXT_PLAIN,
               TEXT_CSV,
-              APPLICATION_JSONLINES })
+              APPLICATION_JSONLINES,
+              APPLICATION_GZIP,
+              APPLICATION_X_GZIP,
+              APPLICATION_ZIP })
   @Produces(TEXT_EVENT_STREAM)
   public void analyzeBulkRecordsDirect(
       @HeaderParam("Content-Type") MediaType mediaType,
       InputStream dataInputStream,
       @Context UriInfo uriInfo,
+      @QueryParam("threads") @DefaultValue("1") int threadCount,
+      @QueryParam("sampleSize") Integer sampleSize,
+      @QueryParam("sampleBytes") Long sampleBytes,
       @QueryParam("progressPeriod") @DefaultValue("3000") long progressPeriod,
       @Context SseEventSink sseEventSink,
       @Context Sse sse)
@@ -149,6 +177,9 @@ public class BulkDataServices implements BulkDataSupport {
                                 mediaType,
                                 dataInputStream,
                                 uriInfo,
+                                threadCount,
+                                sampleSize,
+                                sampleBytes,
                                 progressPeriod,
                                 sseEventSink,
                                 sse,
@@ -183,6 +214,12 @@ public class BulkDataServices implements BulkDataSupport {
    * @param mediaType The media type for the content.
    * @param dataInputStream The input stream to read the uploaded data.
    * @param uriInfo The {@link UriInfo} for the request.
+   * @param threadCount The number of threads on which to analyze the records
+   *                    if the data is in JSON-lines format.
+   * @param sampleSize The maximum number of records to sample, or
+   *                   <tt>null</tt> if not sampling by record count.
+   * @param sampleBytes The maximum number of bytes to sample, or
+   *                    <tt>null</tt> if not sampling by byte count.
    * @param progressPeriod The suggested maximum time between SSE `progress`
    *                       events specified in milliseconds.  If not specified
    *                       then the default of `3000` milliseconds (i.e.: 3
@@ -197,6 +234,9 @@ public class BulkDataServices implements BulkDataSupport {
       @HeaderParam("Content-Type") MediaType mediaType,
       @FormDataParam("data") InputStream dataInputStream,
       @Context UriInfo uriInfo,
+      @QueryParam("threads") @DefaultValue("1") int threadCount,
+      @QueryParam("sampleSize") Integer sampleSize,
+      @QueryParam("sampleBytes") Long sampleBytes,
       @QueryParam("progressPeriod") @DefaultValue("3000") long progressPeriod,
       @Context SseEventSink sseEventSink,
       @Context Sse sse)
@@ -215,6 +255,9 @@ public class BulkDataServices implements BulkDataSupport {
                                 mediaType,
                                 dataInputStream,
                                 uriInfo,
+                                threadCount,
+                                sampleSize,
+                                sampleBytes,
                                 progressPeriod,
                                 sseEventSink,
                                 sse,
@@ -308,6 +351,9 @@ public class BulkDataServices implements BulkDataSupport {
                                   uriInfo,
                                   null,
                                   null,
+                                  false,
+                                  null,
+                                  null,
                                   null,
                                   null);
 
@@ -355,7 +401,10 @@ public class BulkDataServices implements BulkDataSupport {
   @Consumes({ MediaType.APPLICATION_JSON,
       MediaType.TEXT_PLAIN,
       "text/csv",
-      "application/x-jsonlines"})
+      "application/x-jsonlines",
+      "application/gzip",
+      "application/x-gzip",
+      "application/zip"})
   public SzBulkLoadResponse loadBulkRecordsDirect(
       @QueryParam("dataSource") String dataSource,
       @QueryParam("mapDataSources") String mapDataSources,
@@ -391,6 +440,9 @@ public class BulkDataServices implements BulkDataSupport {
                                   uriInfo,
                                   null,
                                   null,
+                                  false,
+                                  null,
+                                  null,
                                   null,
                                   null);
 
@@ -436,6 +488,12 @@ public class BulkDataServices implements BulkDataSupport {
    *                       events specified in milliseconds.  If not specified
    *                       then the default of `3000` milliseconds (i.e.: 3
    *                       seconds) is used.
+   * @param recordResults Whether or not the per-record results should be
+   *                      streamed as SSE `records` events.
+   * @param withInfo Whether or not the per-record results should include the
+   *                 entity ID's of the affected entities.
+   * @param resultBatchSize The number of per-record results to batch into
+   *                        each SSE `records` event.
    * @param mediaType The media type for the content.
    * @param dataInputStream The input stream to read the uploaded data.
    * @param uriInfo The {@link UriInfo} for the request.
@@ -459,6 +517,9 @@ public class BulkDataServices implements BulkDataSupport {
       @FormDataParam("data") FormDataContentDisposition fileMetaData,
       @Context UriInfo uriInfo,
       @QueryParam("progressPeriod") @DefaultValue("3000") long progressPeriod,
+      @QueryParam("recordResults") @DefaultValue("false") boolean recordResults,
+      @QueryParam("withInfo") @DefaultValue("false") boolean withInfo,
+      @QueryParam("resultBatchSize") @DefaultValue("100") int resultBatchSize,
       @Context SseEventSink sseEventSink,
       @Context Sse sse)
 
@@ -484,6 +545,9 @@ public class BulkDataServices implements BulkDataSupport {
                            fileMetaData,
                            uriInfo,
                            progressPeriod,
+                           (recordResults) ? resultBatchSize : null,
+                           withInfo,
+                           null,
                            sseEventSink,
                            sse,
                            null);
@@ -530,6 +594,12 @@ public class BulkDataServices implements BulkDataSupport {
    *                       events specified in milliseconds.  If not specified
    *                       then the default of `3000` milliseconds (i.e.: 3
    *                       seconds) is used.
+   * @param recordResults Whether or not the per-record results should be
+   *                      streamed as SSE `records` events.
+   * @param withInfo Whether or not the per-record results should include the
+   *                 entity ID's of the affected entities.
+   * @param resultBatchSize The number of per-record results to batch into
+   *                        each SSE `records` event.
    * @param mediaType The media type for the content.
    * @param dataInputStream The input stream to read the uploaded data.
    * @param uriInfo The {@link UriInfo} for the request.
@@ -541,7 +611,10 @@ public class BulkDataServices implements BulkDataSupport {
   @Consumes({ APPLICATION_JSON,
               TEXT_PLAIN,
               TEXT_CSV,
-              APPLICATION_JSONLINES })
+              APPLICATION_JSONLINES,
+              APPLICATION_GZIP,
+              APPLICATION_X_GZIP,
+              APPLICATION_ZIP })
   @Produces(TEXT_EVENT_STREAM)
   public void loadBulkRecordsDirect(
       @QueryParam("dataSource") String dataSource,
@@ -556,6 +629,9 @@ public class BulkDataServices implements BulkDataSupport {
       InputStream dataInputStream,
       @Context UriInfo uriInfo,
       @QueryParam("progressPeriod") @DefaultValue("3000") long progressPeriod,
+      @QueryParam("recordResults") @DefaultValue("false") boolean recordResults,
+      @QueryParam("withInfo") @DefaultValue("false") boolean withInfo,
+      @QueryParam("resultBatchSize") @DefaultValue("100") int resultBatchSize,
       @Context SseEventSink sseEventSink,
       @Context Sse sse)
   {
@@ -580,6 +656,9 @@ public class BulkDataServices implements BulkDataSupport {
                            null,
                            uriInfo,
                            progressPeriod,
+                           (recordResults) ? resultBatchSize : null,
+                           withInfo,
+                           null,
                            sseEventSink,
                            sse,
                            null);
@@ -597,4 +676,193 @@ public class BulkDataServices implements BulkDataSupport {
       provider.concludeProlongedOperation(accessToken);
     }
   }
+
+  /**
+   * Loads bulk data records via form, streaming the per-record results as
+   * NDJSON (one JSON object per line) followed by a final line containing the
+   * {@link SzBulkLoadResponse}.
+   *
+   * @param dataSource The data source to assign to the loaded records unless
+   *                   another data source mapping supercedes this default.
+   * @param mapDataSources The JSON string mapping specific data sources to
+   *                       alternate data source names.  A mapping from
+   *                       empty-string is used for mapping records with no
+   *                       data source specified.
+   * @param mapDataSourceList The {@link List} of delimited strings that begin
+   *                          the delimiter, followed by the "from" data source
+   *                          then the delimiter then the target data source.
+   * @param entityType The entity type to assign to the loaded records unless
+   *                   another entity type mapping supercedes this default.
+   * @param mapEntityTypes The JSON string mapping specific entity types to
+   *                       alternate entity type names.  A mapping from
+   *                       empty-string is used for mapping records with no
+   *                       entity type specified.
+   * @param mapEntityTypeList The {@link List} of delimited strings that begin
+   *                          the delimiter, followed by the "from" entity type
+   *                          then the delimiter then the target entity type.
+   * @param loadId The optional load ID to use for loading the records.
+   * @param maxFailures The maximum number of failures or a negative number if
+   *                    no maximum.
+   * @param withInfo Whether or not the per-record results should include the
+   *                 entity ID's of the affected entities.
+   * @param resultBatchSize The number of per-record results to write between
+   *                        each flush of the response.
+   * @param mediaType The media type for the content.
+   * @param dataInputStream The input stream to read the uploaded data.
+   * @param fileMetaData The form meta data for the uploaded file.
+   * @param uriInfo The {@link UriInfo} for the request.
+   *
+   * @return The {@link StreamingOutput} that writes the NDJSON response.
+   */
+  @POST
+  @Path("/load")
+  @Produces(APPLICATION_NDJSON)
+  public StreamingOutput loadBulkRecordsViaFormAsNdjson(
+      @QueryParam("dataSource") String dataSource,
+      @QueryParam("mapDataSources") String mapDataSources,
+      @QueryParam("mapDataSource") List<String> mapDataSourceList,
+      @QueryParam("entityType") String entityType,
+      @QueryParam("mapEntityTypes") String mapEntityTypes,
+      @QueryParam("mapEntityType") List<String> mapEntityTypeList,
+      @QueryParam("loadId") String loadId,
+      @DefaultValue("0") @QueryParam("maxFailures") int maxFailures,
+      @QueryParam("withInfo") @DefaultValue("false") boolean withInfo,
+      @QueryParam("resultBatchSize") @DefaultValue("100") int resultBatchSize,
+      @HeaderParam("Content-Type") MediaType mediaType,
+      @FormDataParam("data") InputStream dataInputStream,
+      @FormDataParam("data") FormDataContentDisposition fileMetaData,
+      @Context UriInfo uriInfo)
+  {
+    SzApiProvider provider    = this.getApiProvider();
+    Timers        timers      = this.newTimers();
+    AccessToken   accessToken = this.prepareBulkLoadOperation(provider,
+                                                              uriInfo,
+                                                              timers);
+    try {
+      this.validateResultBatchSize(resultBatchSize, timers, uriInfo);
+
+      return this.newBulkLoadNdjsonOutput(provider,
+                                          timers,
+                                          accessToken,
+                                          dataSource,
+                                          mapDataSources,
+                                          mapDataSourceList,
+                                          entityType,
+                                          mapEntityTypes,
+                                          mapEntityTypeList,
+                                          loadId,
+                                          maxFailures,
+                                          withInfo,
+                                          resultBatchSize,
+                                          mediaType,
+                                          dataInputStream,
+                                          fileMetaData,
+                                          uriInfo);
+
+    } catch (ForbiddenException e) {
+      provider.concludeProlongedOperation(accessToken);
+      throw e;
+
+    } catch (RuntimeException e) {
+      provider.concludeProlongedOperation(accessToken);
+      throw logOnceAndThrow(e);
+    }
+  }
+
+  /**
+   * Loads the bulk data records via direct upload, streaming the per-record
+   * results as NDJSON (one JSON object per line) followed by a final line
+   * containing the {@link SzBulkLoadResponse}.
+   *
+   * @param dataSource The data source to assign to the loaded records unless
+   *                   another data source mapping supercedes this default.
+   * @param mapDataSources The JSON string mapping specific data sources to
+   *                       alternate data source names.  A mapping from
+   *                       empty-string is used for mapping records with no
+   *                       data source specified.
+   * @param mapDataSourceList The {@link List} of delimited strings that begin
+   *                          the delimiter, followed by the "from" data source
+   *                          then the delimiter then the target data source.
+   * @param entityType The entity type to assign to the loaded records unless
+   *                   another entity type mapping supercedes this default.
+   * @param mapEntityTypes The JSON string mapping specific entity types to
+   *                       alternate entity type names.  A mapping from
+   *                       empty-string is used for mapping records with no
+   *                       entity type specified.
+   * @param mapEntityTypeList The {@link List} of delimited strings that begin
+   *                          the delimiter, followed by the "from" entity type
+   *                          then the delimiter then the target entity type.
+   * @param loadId The optional load ID to use for loading the records.
+   * @param maxFailures The maximum number of failures or a negative number if
+   *                    no maximum.
+   * @param withInfo Whether or not the per-record results should include the
+   *                 entity ID's of the affected entities.
+   * @param resultBatchSize The number of per-record results to write between
+   *                        each flush of the response.
+   * @param mediaType The media type for the content.
+   * @param dataInputStream The input stream to read the uploaded data.
+   * @param uriInfo The {@link UriInfo} for the request.
+   *
+   * @return The {@link StreamingOutput} that writes the NDJSON response.
+   */
+  @POST
+  @Path("/load")
+  @Consumes({ APPLICATION_JSON,
+              TEXT_PLAIN,
+              TEXT_CSV,
+              APPLICATION_JSONLINES,
+              APPLICATION_GZIP,
+              APPLICATION_X_GZIP,
+              APPLICATION_ZIP })
+  @Produces(APPLICATION_NDJSON)
+  public StreamingOutput loadBulkRecordsDirectAsNdjson(
+      @QueryParam("dataSource") String dataSource,
+      @QueryParam("mapDataSources") String mapDataSources,
+      @QueryParam("mapDataSource") List<String> mapDataSourceList,
+      @QueryParam("entityType") String entityType,
+      @QueryParam("mapEntityTypes") String mapEntityTypes,
+      @QueryParam("mapEntityType") List<String> mapEntityTypeList,
+      @QueryParam("loadId") String loadId,
+      @DefaultValue("0") @QueryParam("maxFailures") int maxFailures,
+      @QueryParam("withInfo") @DefaultValue("false") boolean withInfo,
+      @QueryParam("resultBatchSize") @DefaultValue("100") int resultBatchSize,
+      @HeaderParam("Content-Type") MediaType mediaType,
+      InputStream dataInputStream,
+      @Context UriInfo uriInfo)
+  {
+    SzApiProvider provider    = this.getApiProvider();
+    Timers        timers      = this.newTimers();
+    AccessToken   accessToken = this.prepareBulkLoadOperation(provider,
+                                                              uriInfo,
+                                                              timers);
+    try {
+      this.validateResultBatchSize(resultBatchSize, timers, uriInfo);
+
+      return this.newBulkLoadNdjsonOutput(provider,
+                                          timers,
+                                          accessToken,
+                                          dataSource,
+                                          mapDataSources,
+                                          mapDataSourceList,
+                                          entityType,
+                                          mapEntityTypes,
+                                          mapEntityTypeList,
+                                          loadId,
+                                          maxFailures,
+                                          withInfo,
+                                          resultBatchSize,
+                                          mediaType,
+                                          dataInputStream,
+                                          null,
+                                          uriInfo);
+
+    } catch (ForbiddenException e) {
+      provider.concludeProlongedOperation(accessToken);
+      throw e;
+
+    } catch (RuntimeException e) {
+      provider.concludeProlongedOperation(accessToken);
+      throw logOnceAndThrow(e);
+    }
+  }
 }
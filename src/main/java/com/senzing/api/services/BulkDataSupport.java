@@ -1,5 +1,7 @@
 package com.senzing.api.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.joda.JodaModule;
 import com.senzing.api.model.*;
 import com.senzing.g2.engine.G2Engine;
 import com.senzing.io.IOUtilities;
@@ -12,17 +14,28 @@ import javax.json.*;
 import javax.websocket.*;
 import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.sse.OutboundSseEvent;
 import javax.ws.rs.sse.Sse;
 import javax.ws.rs.sse.SseEventSink;
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.security.MessageDigest;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import static com.senzing.api.model.SzBulkDataStatus.ABORTED;
 import static com.senzing.api.model.SzBulkDataStatus.COMPLETED;
@@ -61,11 +74,36 @@ public interface BulkDataSupport extends ServicesSupport {
    */
   String APPLICATION_JSONLINES = "application/x-jsonlines";
 
+  /**
+   * The <tt>"application/gzip"</tt> media type string.
+   */
+  String APPLICATION_GZIP = "application/gzip";
+
+  /**
+   * The <tt>"application/x-gzip"</tt> media type string.
+   */
+  String APPLICATION_X_GZIP = "application/x-gzip";
+
+  /**
+   * The <tt>"application/zip"</tt> media type string.
+   */
+  String APPLICATION_ZIP = "application/zip";
+
+  /**
+   * The <tt>"application/zstd"</tt> media type string.
+   */
+  String APPLICATION_ZSTD = "application/zstd";
+
   /**
    * The <tt>"text/event-stream"</tt> media type string.
    */
   String TEXT_EVENT_STREAM = "text/event-stream";
 
+  /**
+   * The <tt>"application/x-ndjson"</tt> media type string.
+   */
+  String APPLICATION_NDJSON = "application/x-ndjson";
+
   /**
    * The file date pattern.
    */
@@ -108,6 +146,36 @@ public interface BulkDataSupport extends ServicesSupport {
    */
   String COMPLETED_EVENT = "completed";
 
+  /**
+   * SSE event type string for events carrying a batch of per-record results.
+   */
+  String RECORD_RESULTS_EVENT = "records";
+
+  /**
+   * The default number of per-record results that are batched into a single
+   * SSE event, Web Socket message or NDJSON flush ({@value}).
+   */
+  int DEFAULT_RESULT_BATCH_SIZE = 100;
+
+  /**
+   * The number of JSON lines that are handed to an analysis thread at a time
+   * when analyzing bulk data on multiple threads ({@value}).
+   */
+  int ANALYSIS_BATCH_SIZE = 1000;
+
+  /**
+   * The size of the byte buffer used when scanning the lines of JSON-lines
+   * bulk data for reservoir sampling ({@value}).
+   */
+  int SAMPLE_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * The bytes for a newline in character encodings that encode a newline as
+   * a single byte.  Reservoir sampling of JSON-lines bulk data scans for
+   * these bytes and is only used for such character encodings.
+   */
+  byte[] NEWLINE_BYTES = { '\n' };
+
   /**
    * Validates the progress period parameter for SSE or Web Socket requests.
    *
@@ -153,7 +221,45 @@ public interface BulkDataSupport extends ServicesSupport {
   }
 
   /**
-   * Analyzes the bulk data and returns information about it.
+   * Auto-detects the {@link RecordReader.Format} of the data in the first part
+   * of the specified {@link BulkDataSet} without consuming the data.
+   *
+   * @param bulkDataSet The {@link BulkDataSet} containing the data.
+   * @param charset The character encoding for the data.
+   *
+   * @return The detected {@link RecordReader.Format}.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  default RecordReader.Format detectFormat(BulkDataSet  bulkDataSet,
+                                           String       charset)
+    throws IOException
+  {
+    try (InputStream        is  = bulkDataSet.getInputStream(false);
+         InputStreamReader  isr = new InputStreamReader(is, charset);
+         BufferedReader     br  = new BufferedReader(isr))
+    {
+      return new RecordReader(null, br).getFormat();
+    }
+  }
+
+  /**
+   * Analyzes the bulk data and returns information about it.  If the thread
+   * count is greater than one (1) and the bulk data is in JSON-lines format
+   * then the records are parsed and analyzed on that many threads, otherwise
+   * they are analyzed on the calling thread.
+   * <p>
+   * If a sample size or sample byte count is specified then only a sample of
+   * the records is analyzed and the counts for the entire bulk data are
+   * extrapolated from the sample.  If only a sample size is specified and the
+   * bulk data is in JSON-lines format then the sample is selected uniformly
+   * from all the lines via reservoir sampling without parsing the lines that
+   * are not sampled.  Otherwise the sample is the prefix of the bulk data up
+   * to the sample size and/or sample byte count.
+   * <p>
+   * The bulk data may be gzip compressed or a zip archive, in which case it is
+   * decompressed as it is read.  The files of a multi-file zip archive are
+   * parsed in parallel regardless of the thread count.
    */
   default SzBulkDataAnalysisResponse analyzeBulkRecords(
       SzApiProvider               provider,
@@ -161,6 +267,9 @@ public interface BulkDataSupport extends ServicesSupport {
       MediaType                   mediaType,
       InputStream                 dataInputStream,
       UriInfo                     uriInfo,
+      int                         threadCount,
+      Integer                     sampleSize,
+      Long                        sampleBytes,
       Long                        progressPeriod,
       SseEventSink                sseEventSink,
       Sse                         sse,
@@ -186,9 +295,30 @@ public interface BulkDataSupport extends ServicesSupport {
                                 sse,
                                 webSocketSession);
 
-    try {
-      BulkDataSet         bulkDataSet = new BulkDataSet(mediaType, dataInputStream);
-      TemporaryDataCache  dataCache   = bulkDataSet.getDataCache();
+    // check the thread count
+    if (threadCount < 1) {
+      throw this.newBadRequestException(
+          POST, uriInfo, timers,
+          "The threads parameter must be a positive integer: " + threadCount);
+    }
+
+    // check the sampling parameters
+    if (sampleSize != null && sampleSize < 1) {
+      throw this.newBadRequestException(
+          POST, uriInfo, timers,
+          "The sampleSize parameter must be a positive integer: " + sampleSize);
+    }
+    if (sampleBytes != null && sampleBytes < 1L) {
+      throw this.newBadRequestException(
+          POST, uriInfo, timers,
+          "The sampleBytes parameter must be a positive integer: "
+              + sampleBytes);
+    }
+    boolean sampling = (sampleSize != null || sampleBytes != null);
+
+    long start = System.nanoTime();
+    try (BulkDataSet bulkDataSet = new BulkDataSet(mediaType, dataInputStream))
+    {
 
       // if charset is unknown then try to detect
       String charset = bulkDataSet.getCharacterEncoding();
@@ -197,68 +327,151 @@ public interface BulkDataSupport extends ServicesSupport {
       debugLog("Analyze bulk data character encoding: "
                 + charset);
 
-      long start = System.nanoTime();
-      // check if we need to auto-detect the media type
-      try (InputStream        is  = dataCache.getInputStream(true);
-           InputStreamReader  isr = new InputStreamReader(is, charset);
-           BufferedReader     br  = new BufferedReader(isr))
-      {
-        // if format is null then RecordReader will auto-detect
-        RecordReader recordReader
-            = new RecordReader(bulkDataSet.getFormat(), br);
-        bulkDataSet.setFormat(recordReader.getFormat());
-        debugLog("Analyze bulk data format: "+ bulkDataSet.getFormat());
-
-        if (bulkDataSet.getFormat() != null) {
-          dataAnalysis.setMediaType(bulkDataSet.getFormat().getMediaType());
-        } else {
-          dataAnalysis.setMediaType(null);
+      // the format must be known up front to decide how to read the records
+      if ((threadCount > 1 || sampling) && bulkDataSet.getFormat() == null) {
+        bulkDataSet.setFormat(this.detectFormat(bulkDataSet, charset));
+      }
+      boolean jsonLines = (bulkDataSet.getPartCount() == 1
+          && bulkDataSet.getFormat() == RecordReader.Format.JSON_LINES);
+      boolean parallel = (!sampling && threadCount > 1 && jsonLines);
+      boolean reservoir = (sampleSize != null && sampleBytes == null
+          && jsonLines && Arrays.equals("\n".getBytes(charset), NEWLINE_BYTES));
+
+      // check if we can sample the JSON lines without parsing them all
+      if (reservoir) {
+        dataAnalysis.setMediaType(bulkDataSet.getFormat().getMediaType());
+        long lineCount = this.sampleJsonLines(
+            bulkDataSet, charset, sampleSize, dataAnalysis);
+
+        // only extrapolate if not all the lines were sampled
+        if (lineCount > sampleSize) {
+          dataAnalysis.extrapolateFromSample(
+              SzSamplingMode.RESERVOIR,
+              SzCountEstimate.FACTORY.create(
+                  lineCount, lineCount, lineCount,
+                  SzCountEstimate.SAMPLE_CONFIDENCE_LEVEL));
         }
 
-        ProgressUpdater<SzBulkDataAnalysisResponse> progressUpdater = null;
-        try {
-          for (JsonObject record = recordReader.readRecord();
-               (record != null);
-               record = recordReader.readRecord()) {
-            String dataSrc = JsonUtils.getString(record, "DATA_SOURCE");
-            String entityType = JsonUtils.getString(record, "ENTITY_TYPE");
-            String recordId = JsonUtils.getString(record, "RECORD_ID");
-            dataAnalysis.trackRecord(dataSrc, entityType, recordId);
-
-            // check if the progress period has expired
-            if ((progressNanos != null) && (progressUpdater == null)
-                && (eventBuilder != null || webSocketSession != null))
-            {
-              progressState.setStartTime(System.nanoTime());
-              Supplier<SzBulkDataAnalysisResponse> supplier = () -> {
-                return this.newBulkDataAnalysisResponse(
-                    POST, 200, uriInfo, timers, dataAnalysis);
-              };
-              progressUpdater = new ProgressUpdater<>(progressNanos,
-                                                      progressState,
-                                                      progressState, // monitor
-                                                      supplier,
-                                                      sseEventSink,
-                                                      eventBuilder,
-                                                      webSocketSession);
-              progressUpdater.start();
-            }
+      } else {
+        // if parallel then the JSON lines are read directly as raw lines
+        try (BulkRecordSource recordSource = new BulkRecordSource(
+                 bulkDataSet, parallel, null, null, null))
+        {
+          // if format is null then the record source will auto-detect
+          bulkDataSet.setFormat(recordSource.getFormat());
+          debugLog("Analyze bulk data format: "+ bulkDataSet.getFormat());
+
+          if (bulkDataSet.getFormat() != null) {
+            dataAnalysis.setMediaType(bulkDataSet.getFormat().getMediaType());
+          } else {
+            dataAnalysis.setMediaType(null);
           }
-        } finally {
-          // make sure to clean up the progress updater
-          if (progressUpdater != null) {
-            // calling this should mark it complete and trigger wake-up
-            progressUpdater.complete();
-            try {
-              // wait for the thread to complete before proceeding
-              progressUpdater.join();
-            } catch (InterruptedException ignore) {
-              // ignore the exception
+
+          ProgressUpdater<SzBulkDataAnalysisResponse> progressUpdater = null;
+          AsyncWorkerPool<Integer> analysisPool = (!parallel) ? null
+              : new AsyncWorkerPool<>("analyze", threadCount);
+          try {
+            boolean limited = sampling;
+            while (true) {
+              // check if the prefix sample is complete
+              if (limited
+                  && ((sampleSize != null
+                       && dataAnalysis.getRecordCount() >= sampleSize)
+                      || (sampleBytes != null
+                          && recordSource.getByteCount() >= sampleBytes)))
+              {
+                long sampledBytes = recordSource.getByteCount();
+                long remaining = recordSource.drain();
+
+                // if nothing remains then the rest is in the reader's buffer
+                if (remaining == 0L) {
+                  limited = false;
+                } else {
+                  dataAnalysis.extrapolateFromSample(
+                      SzSamplingMode.PREFIX,
+                      this.estimateRecordCount(dataAnalysis.getRecordCount(),
+                                               sampledBytes,
+                                               sampledBytes + remaining));
+                  break;
+                }
+              }
+
+              if (parallel) {
+                // read the next batch of lines and parse them on another thread
+                List<String> lines = new ArrayList<>(ANALYSIS_BATCH_SIZE);
+                for (String line = recordSource.readLine();
+                     (line != null);
+                     line = recordSource.readLine())
+                {
+                  if (line.trim().length() == 0) continue;
+                  lines.add(line);
+                  if (lines.size() == ANALYSIS_BATCH_SIZE) break;
+                }
+                if (lines.size() == 0) break;
+
+                AsyncResult<Integer> result = analysisPool.execute(() -> {
+                  for (String line : lines) {
+                    this.analyzeRecord(JsonUtils.parseJsonObject(line),
+                                       dataAnalysis);
+                  }
+                  return lines.size();
+                });
+                this.checkAnalysisResult(result);
+
+              } else {
+                JsonObject record = recordSource.readRecord();
+                if (record == null) break;
+                this.analyzeRecord(record, dataAnalysis);
+              }
+
+              // check if the progress period has expired
+              if ((progressNanos != null) && (progressUpdater == null)
+                  && (eventBuilder != null || webSocketSession != null))
+              {
+                progressState.setStartTime(System.nanoTime());
+                Supplier<SzBulkDataAnalysisResponse> supplier = () -> {
+                  return this.newBulkDataAnalysisResponse(
+                      POST, 200, uriInfo, timers, dataAnalysis);
+                };
+                progressUpdater = new ProgressUpdater<>(
+                    progressNanos,
+                    progressState,
+                    progressState, // monitor
+                    supplier,
+                    dataAnalysis::getRecordCount,
+                    sseEventSink,
+                    eventBuilder,
+                    webSocketSession);
+                progressUpdater.start();
+              }
+            }
+
+            // wait for the in-flight batches to be analyzed
+            if (analysisPool != null) {
+              List<AsyncResult<Integer>> results = analysisPool.close();
+              analysisPool = null;
+              for (AsyncResult<Integer> result : results) {
+                this.checkAnalysisResult(result);
+              }
+            }
+
+          } finally {
+            // make sure the analysis threads are shut down
+            if (analysisPool != null) analysisPool.close();
+
+            // make sure to stop the progress updates
+            if (progressUpdater != null) {
+              // this cancels the updates and waits for any in-flight update
+              progressUpdater.complete();
             }
           }
         }
       }
 
+      // report the compressed and uncompressed throughput
+      dataAnalysis.setThroughput(bulkDataSet.getThroughput(
+          (System.nanoTime() - start) / 1000000L));
+
     } catch (IOException e) {
       e.printStackTrace();
       dataAnalysis.setStatus(ABORTED);
@@ -290,6 +503,175 @@ public interface BulkDataSupport extends ServicesSupport {
                                   response);
   }
 
+  /**
+   * Selects a uniform random sample of up to the specified number of lines
+   * from the JSON-lines data in the specified {@link BulkDataSet} via
+   * reservoir sampling and tracks the sampled records in the specified
+   * {@link SzBulkDataAnalysis}.  The lines are scanned as raw bytes and only
+   * the sampled lines are decoded and parsed.  Blank lines are ignored.
+   *
+   * @param bulkDataSet The single-part {@link BulkDataSet} containing the
+   *                    data.
+   * @param charset The character encoding for the data which must encode a
+   *                newline as a single byte.
+   * @param sampleSize The maximum number of lines to sample.
+   * @param dataAnalysis The {@link SzBulkDataAnalysis} to track the sampled
+   *                     records.
+   *
+   * @return The total number of non-blank lines in the data.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  default long sampleJsonLines(BulkDataSet        bulkDataSet,
+                               String             charset,
+                               int                sampleSize,
+                               SzBulkDataAnalysis dataAnalysis)
+    throws IOException
+  {
+    byte[][]              reservoir   = new byte[sampleSize][];
+    ThreadLocalRandom     random      = ThreadLocalRandom.current();
+    ByteArrayOutputStream lineBuffer  = new ByteArrayOutputStream();
+    long                  lineCount   = 0L;
+    boolean               blank       = true;
+
+    // the reservoir slot for the current line or -1 if not sampled
+    int slot = 0;
+
+    try (InputStream is = bulkDataSet.getInputStream(true)) {
+      byte[] buffer = new byte[SAMPLE_BUFFER_SIZE];
+      for (int length = is.read(buffer); length >= 0; length = is.read(buffer))
+      {
+        int start = 0;
+        for (int index = 0; index < length; index++) {
+          byte b = buffer[index];
+          if (b == '\n') {
+            if (slot >= 0) lineBuffer.write(buffer, start, index - start);
+            if (!blank) {
+              if (slot >= 0) reservoir[slot] = lineBuffer.toByteArray();
+              lineCount++;
+            }
+            lineBuffer.reset();
+            blank = true;
+            start = index + 1;
+            slot  = this.reservoirSlot(lineCount, sampleSize, random);
+
+          } else if (blank && b != ' ' && b != '\t' && b != '\r') {
+            blank = false;
+          }
+        }
+        if (slot >= 0 && start < length) {
+          lineBuffer.write(buffer, start, length - start);
+        }
+      }
+    }
+
+    // handle the last line if not terminated by a newline
+    if (!blank) {
+      if (slot >= 0) reservoir[slot] = lineBuffer.toByteArray();
+      lineCount++;
+    }
+
+    // parse and track the sampled lines
+    for (byte[] line : reservoir) {
+      if (line == null) break;
+      String text = new String(line, charset).trim();
+      if (text.startsWith("\uFEFF")) text = text.substring(1).trim();
+      if (text.length() == 0) continue;
+      this.analyzeRecord(JsonUtils.parseJsonObject(text), dataAnalysis);
+    }
+    return lineCount;
+  }
+
+  /**
+   * Determines the reservoir slot in which to store the line at the specified
+   * zero-based index when reservoir sampling.
+   *
+   * @param lineIndex The zero-based index of the line.
+   * @param sampleSize The number of slots in the reservoir.
+   * @param random The {@link ThreadLocalRandom} for selecting the slot.
+   *
+   * @return The slot in which to store the line, or <tt>-1</tt> if the line
+   *         is not sampled.
+   */
+  default int reservoirSlot(long              lineIndex,
+                            int               sampleSize,
+                            ThreadLocalRandom random)
+  {
+    if (lineIndex < sampleSize) return (int) lineIndex;
+    long slot = random.nextLong(lineIndex + 1);
+    return (slot < sampleSize) ? (int) slot : -1;
+  }
+
+  /**
+   * Extrapolates the total record count of the bulk data from a prefix
+   * sample.  The record count is scaled by the ratio of the total bytes to
+   * the sampled bytes, and the confidence interval treats the sampled record
+   * count as a Poisson count over the sampled bytes.  The sampled byte count
+   * includes any bytes buffered ahead by the reader, so the estimate is
+   * slightly conservative for very small samples.
+   *
+   * @param sampledRecords The number of records in the sample.
+   * @param sampledBytes The number of bytes read to obtain the sample.
+   * @param totalBytes The total number of bytes in the bulk data.
+   *
+   * @return The {@link SzCountEstimate} for the total record count.
+   */
+  default SzCountEstimate estimateRecordCount(int   sampledRecords,
+                                              long  sampledBytes,
+                                              long  totalBytes)
+  {
+    double confidence = SzCountEstimate.SAMPLE_CONFIDENCE_LEVEL;
+    if (sampledRecords == 0 || sampledBytes <= 0L) {
+      return SzCountEstimate.FACTORY.create(0L, 0L, 0L, confidence);
+    }
+    double scale    = ((double) totalBytes) / ((double) sampledBytes);
+    double estimate = sampledRecords * scale;
+    double margin   = SzCountEstimate.SAMPLE_CONFIDENCE_Z
+                    / Math.sqrt(sampledRecords);
+
+    long lower = Math.max(sampledRecords,
+                          (long) Math.floor(estimate * (1.0 - margin)));
+    long upper = (long) Math.ceil(estimate * (1.0 + margin));
+
+    return SzCountEstimate.FACTORY.create(
+        Math.max(sampledRecords, Math.round(estimate)), lower, upper,
+        confidence);
+  }
+
+  /**
+   * Tracks the specified record in the specified {@link SzBulkDataAnalysis}.
+   *
+   * @param record The {@link JsonObject} describing the record.
+   * @param dataAnalysis The {@link SzBulkDataAnalysis} to track the record.
+   */
+  default void analyzeRecord(JsonObject record, SzBulkDataAnalysis dataAnalysis)
+  {
+    String dataSrc = JsonUtils.getString(record, "DATA_SOURCE");
+    String entityType = JsonUtils.getString(record, "ENTITY_TYPE");
+    String recordId = JsonUtils.getString(record, "RECORD_ID");
+    dataAnalysis.trackRecord(dataSrc, entityType, recordId);
+  }
+
+  /**
+   * Checks the specified {@link AsyncResult} from analyzing a batch of
+   * records on an analysis thread and rethrows any failure that occurred.
+   *
+   * @param result The {@link AsyncResult} to check, or <tt>null</tt> if there
+   *               is no result to check.
+   */
+  default void checkAnalysisResult(AsyncResult<Integer> result) {
+    if (result == null) return;
+    try {
+      result.getValue();
+
+    } catch (RuntimeException e) {
+      throw e;
+
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   /**
    * Creates a new instance of {@link SzBulkDataAnalysisResponse} with the
    * following parameters.
@@ -322,7 +704,10 @@ public interface BulkDataSupport extends ServicesSupport {
   }
 
   /**
-   * Loads the records found in the bulk data.
+   * Loads the records found in the bulk data.  If a result batch size is
+   * specified then the per-record results are streamed to the client in
+   * batches of that size via the specified NDJSON {@link Writer}, SSE or Web
+   * Sockets (whichever applies) as the records are loaded.
    */
   default SzBulkLoadResponse loadBulkRecords(
       SzApiProvider               provider,
@@ -340,10 +725,15 @@ public interface BulkDataSupport extends ServicesSupport {
       FormDataContentDisposition  fileMetaData,
       UriInfo                     uriInfo,
       Long                        progressPeriod,
+      Integer                     resultBatchSize,
+      boolean                     withInfo,
+      Writer                      resultWriter,
       SseEventSink                sseEventSink,
       Sse                         sse,
       Session                     webSocketSession)
   {
+    this.validateResultBatchSize(resultBatchSize, timers, uriInfo);
+
     // convert the progress period to nanoseconds
     Long progressNanos = (progressPeriod == null)
         ? null : progressPeriod * 1000000L;
@@ -356,6 +746,16 @@ public interface BulkDataSupport extends ServicesSupport {
     SzBulkLoadResult bulkLoadResult = synchronizedProxy(
         SzBulkLoadResult.class, this.newBulkLoadResult(), progressState);
 
+    // check if the per-record results are being streamed
+    RecordResultStreamer resultStreamer = (resultBatchSize == null) ? null
+        : this.newRecordResultStreamer(resultBatchSize,
+                                       withInfo,
+                                       progressState,
+                                       resultWriter,
+                                       sseEventSink,
+                                       eventBuilder,
+                                       webSocketSession);
+
     // populate the entity type and data source maps
     Map<String, String> dataSourceMap = new HashMap<>();
     Map<String, String> entityTypeMap = new HashMap<>();
@@ -372,39 +772,52 @@ public interface BulkDataSupport extends ServicesSupport {
                                  entityTypeMap);
 
     try {
-      BulkDataSet bulkDataSet = new BulkDataSet(mediaType, dataInputStream);
+      long start = System.nanoTime();
 
-      TemporaryDataCache dataCache = bulkDataSet.getDataCache();
+      BulkDataSet bulkDataSet = new BulkDataSet(mediaType, dataInputStream);
 
       String charset = bulkDataSet.getCharacterEncoding();
 
       debugLog("Load bulk data character encoding: " + charset);
 
       String loadId = (explicitLoadId == null)
-          ? formatLoadId(dataCache, fileMetaData) : explicitLoadId;
+          ? formatLoadId(bulkDataSet, fileMetaData) : explicitLoadId;
 
       int concurrency = provider.getConcurrency();
       AsyncWorkerPool<AddRecordResult> asyncPool
           = new AsyncWorkerPool<>(loadId, concurrency);
 
+      // adapt the records in flight if the minimum is less than the maximum
+      ConcurrencyLimiter limiter = new ConcurrencyLimiter(
+          Math.min(provider.getMinLoadConcurrency(), concurrency), concurrency);
+
+      // check if scheduling the records by their affinity key
+      List<String> affinityKeys = provider.getLoadAffinityKeys();
+      AffinityWorkerPool affinityPool = (affinityKeys == null) ? null
+          : new AffinityWorkerPool(loadId, concurrency);
+      AffinityBenchmark affinityBenchmark
+          = (affinityPool != null && provider.isBenchmarkingLoadAffinity())
+          ? new AffinityBenchmark(provider) : null;
+
+      // check if retrying records that fail with transient errors
+      int maxRetries = provider.getLoadMaxRetries();
+      RetryQueue retryQueue = (maxRetries > 0)
+          ? new RetryQueue(maxRetries, provider, limiter) : null;
+
       List<Timers> timerPool = new ArrayList<>(concurrency);
       for (int index = 0; index < concurrency; index++) {
         timerPool.add(new Timers());
       }
 
       // check if we need to auto-detect the media type
-      try (InputStream        is  = dataCache.getInputStream(true);
-           InputStreamReader  isr = new InputStreamReader(is, charset);
-           BufferedReader     br  = new BufferedReader(isr))
+      try (BulkRecordSource recordSource = new BulkRecordSource(bulkDataSet,
+                                                                false,
+                                                                dataSourceMap,
+                                                                entityTypeMap,
+                                                                loadId))
       {
-        // if format is null then RecordReader will auto-detect
-        RecordReader recordReader = new RecordReader(bulkDataSet.getFormat(),
-                                                     br,
-                                                     dataSourceMap,
-                                                     entityTypeMap,
-                                                     loadId);
-
-        bulkDataSet.setFormat(recordReader.getFormat());
+        // if format is null then the record source will auto-detect
+        bulkDataSet.setFormat(recordSource.getFormat());
         debugLog("Load bulk data format: " + bulkDataSet.getFormat());
 
         bulkLoadResult.setCharacterEncoding(charset);
@@ -424,7 +837,7 @@ public interface BulkDataSupport extends ServicesSupport {
               // get the first record from the buffer of up to 1000 records
               record = first1000Records.remove(0);
             } else {
-              record = recordReader.readRecord();
+              record = recordSource.readRecord();
             }
 
             // check if the record is null
@@ -455,6 +868,29 @@ public interface BulkDataSupport extends ServicesSupport {
                         + JsonUtils.toJsonText(record));
 
               bulkLoadResult.trackIncompleteRecord(resolvedDS, resolvedET);
+              if (resultStreamer != null) {
+                resultStreamer.add(this.newIncompleteRecordResult(record));
+              }
+
+            } else if (affinityPool != null) {
+              boolean affinity = (affinityBenchmark == null)
+                  || affinityBenchmark.isAffinity();
+              Long affinityHash = (affinity)
+                  ? this.affinityHash(record, affinityKeys) : null;
+
+              this.affinityProcessRecord(affinityPool,
+                                         affinityHash,
+                                         provider,
+                                         record,
+                                         loadId,
+                                         bulkLoadResult,
+                                         resultStreamer,
+                                         limiter,
+                                         retryQueue);
+
+              if (affinityBenchmark != null) {
+                affinityBenchmark.recordQueued(affinityPool);
+              }
 
             } else {
               Timers subTimers = timerPool.remove(0);
@@ -464,10 +900,15 @@ public interface BulkDataSupport extends ServicesSupport {
                                                       provider,
                                                       subTimers,
                                                       record,
-                                                      loadId);
+                                                      loadId,
+                                                      bulkLoadResult,
+                                                      resultStreamer,
+                                                      limiter,
+                                                      retryQueue);
 
               } finally {
-                this.trackLoadResult(asyncResult, bulkLoadResult);
+                this.trackLoadResult(
+                    asyncResult, bulkLoadResult, resultStreamer);
                 timerPool.add(subTimers);
               }
             }
@@ -489,16 +930,22 @@ public interface BulkDataSupport extends ServicesSupport {
               // create the update response if there is a client expecting it
               progressState.setStartTime(System.nanoTime());
               Supplier<SzBulkLoadResponse> supplier = () -> {
+                bulkLoadResult.setConcurrency(limiter.toLoadConcurrency());
+                if (retryQueue != null) {
+                  bulkLoadResult.setRetryStats(retryQueue.toRetryStats());
+                }
                 return this.newBulkLoadResponse(
                     POST, 200, uriInfo, timers, bulkLoadResult);
               };
-              progressUpdater = new ProgressUpdater<>(progressNanos,
-                                                      progressState,
-                                                      progressState, // monitor
-                                                      supplier,
-                                                      sseEventSink,
-                                                      eventBuilder,
-                                                      webSocketSession);
+              progressUpdater = new ProgressUpdater<>(
+                  progressNanos,
+                  progressState,
+                  progressState, // monitor
+                  supplier,
+                  bulkLoadResult::getRecordCount,
+                  sseEventSink,
+                  eventBuilder,
+                  webSocketSession);
               progressUpdater.start();
             }
           }
@@ -510,13 +957,39 @@ public interface BulkDataSupport extends ServicesSupport {
                                 first1000Records,
                                 loadId,
                                 bulkLoadResult,
-                                maxFailures);
+                                maxFailures,
+                                resultStreamer,
+                                retryQueue);
           }
 
           // close out any in-flight loads from the asynchronous pool
           List<AsyncResult<AddRecordResult>> results = asyncPool.close();
           for (AsyncResult<AddRecordResult> asyncResult : results) {
-            this.trackLoadResult(asyncResult, bulkLoadResult);
+            this.trackLoadResult(asyncResult, bulkLoadResult, resultStreamer);
+          }
+
+          // close out any in-flight loads from the affinity pool
+          if (affinityPool != null) {
+            if (affinityBenchmark != null) {
+              affinityBenchmark.complete(affinityPool);
+              bulkLoadResult.setAffinityBenchmark(
+                  affinityBenchmark.toAffinityBenchmark());
+            }
+            for (Timers subTimer : affinityPool.close()) {
+              timers.mergeWith(subTimer);
+            }
+          }
+
+          // wait for the records being retried to reach their outcome
+          if (retryQueue != null) {
+            retryQueue.drain();
+            timers.mergeWith(retryQueue.getTimers());
+            bulkLoadResult.setRetryStats(retryQueue.toRetryStats());
+          }
+
+          // report how the records in flight were adapted
+          if (concurrent) {
+            bulkLoadResult.setConcurrency(limiter.toLoadConcurrency());
           }
 
           // merge the timers
@@ -525,16 +998,16 @@ public interface BulkDataSupport extends ServicesSupport {
           }
 
         } finally {
-          // make sure to clean up the progress updater
+          // make sure the affinity workers are stopped
+          if (affinityPool != null) affinityPool.close();
+
+          // send any per-record results that are still batched
+          if (resultStreamer != null) resultStreamer.complete();
+
+          // make sure to stop the progress updates
           if (progressUpdater != null) {
-            // calling this should mark it complete and trigger wake-up
+            // this cancels the updates and waits for any in-flight update
             progressUpdater.complete();
-            try {
-              // wait for the thread to complete before proceeding
-              progressUpdater.join();
-            } catch (InterruptedException ignore) {
-              // ignore the exception
-            }
           }
 
           // check if aborted
@@ -543,13 +1016,17 @@ public interface BulkDataSupport extends ServicesSupport {
           }
         }
 
+        // report the compressed and uncompressed throughput
+        bulkLoadResult.setThroughput(bulkDataSet.getThroughput(
+            (System.nanoTime() - start) / 1000000L));
+
         // mark completed if we get here without an exception
         if (bulkLoadResult.getStatus() != ABORTED) {
           bulkLoadResult.setStatus(COMPLETED);
         }
 
       } finally {
-        dataCache.delete();
+        bulkDataSet.delete();
       }
 
     } catch (IOException e) {
@@ -582,6 +1059,76 @@ public interface BulkDataSupport extends ServicesSupport {
                                   response);
   }
 
+  /**
+   * Creates a {@link StreamingOutput} that loads the records found in the bulk
+   * data while writing the per-record results as NDJSON (one JSON object per
+   * line) in batches of the specified size.  The last line is the {@link
+   * SzBulkLoadResponse} (or the {@link SzErrorResponse} if the load failed).
+   * The specified {@link AccessToken} for the prolonged operation is concluded
+   * once the load completes.
+   */
+  default StreamingOutput newBulkLoadNdjsonOutput(
+      SzApiProvider               provider,
+      Timers                      timers,
+      AccessToken                 accessToken,
+      String                      dataSource,
+      String                      mapDataSources,
+      List<String>                mapDataSourceList,
+      String                      entityType,
+      String                      mapEntityTypes,
+      List<String>                mapEntityTypeList,
+      String                      explicitLoadId,
+      int                         maxFailures,
+      boolean                     withInfo,
+      int                         resultBatchSize,
+      MediaType                   mediaType,
+      InputStream                 dataInputStream,
+      FormDataContentDisposition  fileMetaData,
+      UriInfo                     uriInfo)
+  {
+    return (outputStream) -> {
+      Writer writer = new BufferedWriter(
+          new OutputStreamWriter(outputStream, UTF_8));
+
+      Object response = null;
+      try {
+        response = this.loadBulkRecords(provider,
+                                        timers,
+                                        dataSource,
+                                        mapDataSources,
+                                        mapDataSourceList,
+                                        entityType,
+                                        mapEntityTypes,
+                                        mapEntityTypeList,
+                                        explicitLoadId,
+                                        maxFailures,
+                                        mediaType,
+                                        dataInputStream,
+                                        fileMetaData,
+                                        uriInfo,
+                                        null,
+                                        resultBatchSize,
+                                        withInfo,
+                                        writer,
+                                        null,
+                                        null,
+                                        null);
+
+      } catch (WebApplicationException e) {
+        // the status has already been sent so write the error response
+        response = e.getResponse().getEntity();
+        if (response == null) throw e;
+
+      } finally {
+        provider.concludeProlongedOperation(accessToken);
+      }
+
+      writer.write(this.toJsonString(response));
+      writer.write("\n");
+      writer.flush();
+    };
+  }
+
   /**
    * Creates a new instance of {@link SzBulkDataAnalysisResponse} with the
    * following parameters.
@@ -608,66 +1155,483 @@ public interface BulkDataSupport extends ServicesSupport {
    * Asynchronously process a record using the specified {@link SzApiProvider}
    * and {@link AsyncWorkerPool}.  The returned {@link AsyncResult} is from
    * a previously executed task on the same thread or <tt>null</tt> if the
-   * worker thread employed has not previously executed a task.
+   * worker thread employed has not previously executed a task.  If the
+   * specified {@link RecordResultStreamer} is not <tt>null</tt> then the
+   * details it requires are captured in the {@link AddRecordResult}.  If the
+   * specified {@link ConcurrencyLimiter} is not <tt>null</tt> then this
+   * blocks until it allows another record in flight and reports the latency
+   * and outcome of the record to it once loaded.  If the specified {@link
+   * RetryQueue} is not <tt>null</tt> and the record fails with a transient
+   * error then the record is handed to the {@link RetryQueue}, which tracks
+   * its eventual outcome in the specified {@link SzBulkLoadResult}, and the
+   * {@link AsyncResult} for this task will have a <tt>null</tt> value.
    */
   default AsyncResult<AddRecordResult> asyncProcessRecord(
       AsyncWorkerPool<AddRecordResult> asyncPool,
       SzApiProvider                 provider,
       Timers                        timers,
       JsonObject                    record,
-      String                        loadId)
+      String                        loadId,
+      SzBulkLoadResult              bulkLoadResult,
+      RecordResultStreamer          resultStreamer,
+      ConcurrencyLimiter            limiter,
+      RetryQueue                    retryQueue)
   {
     String dataSource = JsonUtils.getString(record, "DATA_SOURCE");
     String entityType = JsonUtils.getString(record, "ENTITY_TYPE");
     String recordId   = JsonUtils.getString(record, "RECORD_ID");
     String recordJSON = JsonUtils.toJsonText(record);
+    Long   fingerprint = this.fingerprintRecord(provider, record);
 
-    G2Engine engineApi = provider.getEngineApi();
+    // supersede any pending retry of an older version of the record
+    if (retryQueue != null) retryQueue.supersede(dataSource, recordId);
+    if (limiter != null) limiter.acquire();
     return asyncPool.execute(() -> {
+      long            start   = System.nanoTime();
+      AddRecordResult result  = null;
       try {
-        // otherwise try to load the record
-        this.enteringQueue(timers);
-        return provider.executeInThread(() -> {
-          this.exitingQueue(timers);
-          debugLog("Async loading record: " + recordJSON);
-
-          int returnCode = this.addRecord(engineApi,
-                                          provider,
-                                          dataSource,
-                                          recordId,
-                                          recordJSON,
-                                          loadId,
-                                          timers);
-
-          return this.newAddRecordResult(
-              dataSource, entityType, timers, returnCode, engineApi);
-        });
+        result = this.loadRecord(provider,
+                                 timers,
+                                 dataSource,
+                                 entityType,
+                                 recordId,
+                                 recordJSON,
+                                 fingerprint,
+                                 loadId,
+                                 resultStreamer);
+
+        // check if the record should be retried after a transient failure
+        if (retryQueue != null && retryQueue.isRetryable(result)) {
+          this.retryRecord(retryQueue,
+                           result,
+                           provider,
+                           dataSource,
+                           entityType,
+                           recordId,
+                           recordJSON,
+                           fingerprint,
+                           loadId,
+                           bulkLoadResult,
+                           resultStreamer);
+          return null;
+        }
+        return result;
 
       } catch (Exception e) {
         JsonObjectBuilder job = Json.createObjectBuilder();
         job.add("dataSource", dataSource);
         job.add("entityType", entityType);
+        if (recordId != null) job.add("recordId", recordId);
         String details = JsonUtils.toJsonText(job);
         throw new Exception(details, e);
+
+      } finally {
+        if (limiter != null) limiter.release(result, System.nanoTime() - start);
       }
     });
   }
 
+  /**
+   * Process a record using the specified {@link AffinityWorkerPool}.  The
+   * record is queued to the worker chosen by the specified affinity hash (or
+   * to the next worker in turn if the hash is <tt>null</tt>) and the worker
+   * tracks the result in the specified {@link SzBulkLoadResult} once loaded.
+   * If the specified {@link ConcurrencyLimiter} is not <tt>null</tt> then
+   * this blocks until it allows another record in flight and reports the
+   * latency and outcome of the record to it once loaded.  If the specified
+   * {@link RetryQueue} is not <tt>null</tt> and the record fails with a
+   * transient error then the record is handed to the {@link RetryQueue}.
+   *
+   * @param affinityPool The {@link AffinityWorkerPool} to load with.
+   * @param affinityHash The affinity hash for the record, or <tt>null</tt>
+   *                     if the record should go to the next worker in turn.
+   * @param provider The {@link SzApiProvider} to use.
+   * @param record The {@link JsonObject} describing the record.
+   * @param loadId The load ID for the bulk load.
+   * @param bulkLoadResult The {@link SzBulkLoadResult} to track the result.
+   * @param resultStreamer The {@link RecordResultStreamer} for streaming the
+   *                       per-record results, or <tt>null</tt> if they are
+   *                       not being streamed.
+   * @param limiter The {@link ConcurrencyLimiter} to use, or <tt>null</tt>
+   *                if the records in flight are not limited.
+   * @param retryQueue The {@link RetryQueue} for retrying records that fail
+   *                   with transient errors, or <tt>null</tt> if such records
+   *                   are not retried.
+   */
+  default void affinityProcessRecord(
+      AffinityWorkerPool    affinityPool,
+      Long                  affinityHash,
+      SzApiProvider         provider,
+      JsonObject            record,
+      String                loadId,
+      SzBulkLoadResult      bulkLoadResult,
+      RecordResultStreamer  resultStreamer,
+      ConcurrencyLimiter    limiter,
+      RetryQueue            retryQueue)
+  {
+    String dataSource = JsonUtils.getString(record, "DATA_SOURCE");
+    String entityType = JsonUtils.getString(record, "ENTITY_TYPE");
+    String recordId   = JsonUtils.getString(record, "RECORD_ID");
+    String recordJSON = JsonUtils.toJsonText(record);
+    Long   fingerprint = this.fingerprintRecord(provider, record);
+
+    // supersede any pending retry of an older version of the record
+    if (retryQueue != null) retryQueue.supersede(dataSource, recordId);
+    if (limiter != null) limiter.acquire();
+    affinityPool.execute(affinityHash, (timers) -> {
+      long            start   = System.nanoTime();
+      AddRecordResult result  = null;
+      try {
+        result = this.loadRecord(provider,
+                                 timers,
+                                 dataSource,
+                                 entityType,
+                                 recordId,
+                                 recordJSON,
+                                 fingerprint,
+                                 loadId,
+                                 resultStreamer);
+
+        // check if the record should be retried after a transient failure
+        if (retryQueue != null && retryQueue.isRetryable(result)) {
+          this.retryRecord(retryQueue,
+                           result,
+                           provider,
+                           dataSource,
+                           entityType,
+                           recordId,
+                           recordJSON,
+                           fingerprint,
+                           loadId,
+                           bulkLoadResult,
+                           resultStreamer);
+        } else {
+          this.trackLoadResult(result, bulkLoadResult, resultStreamer);
+        }
+
+      } catch (Exception e) {
+        this.trackLoadFailure(dataSource,
+                              entityType,
+                              recordId,
+                              e,
+                              bulkLoadResult,
+                              resultStreamer);
+
+      } finally {
+        if (limiter != null) limiter.release(result, System.nanoTime() - start);
+      }
+    });
+  }
+
+  /**
+   * Hands the specified record that failed with a transient error to the
+   * specified {@link RetryQueue} to be loaded again after a backoff.  The
+   * eventual outcome of the record is tracked in the specified {@link
+   * SzBulkLoadResult} and added to the specified {@link RecordResultStreamer}
+   * (if any).
+   *
+   * @param retryQueue The {@link RetryQueue} to retry with.
+   * @param failedResult The {@link AddRecordResult} for the failed attempt.
+   * @param provider The {@link SzApiProvider} to use.
+   * @param dataSource The data source for the record.
+   * @param entityType The entity type for the record.
+   * @param recordId The record ID for the record, or <tt>null</tt> if none.
+   * @param recordJSON The JSON text for the record.
+   * @param fingerprint The fingerprint for the record, or <tt>null</tt> if
+   *                    unchanged records are not being skipped.
+   * @param loadId The load ID for the bulk load.
+   * @param bulkLoadResult The {@link SzBulkLoadResult} to track the result.
+   * @param resultStreamer The {@link RecordResultStreamer} for streaming the
+   *                       per-record results, or <tt>null</tt> if they are
+   *                       not being streamed.
+   */
+  default void retryRecord(RetryQueue           retryQueue,
+                           AddRecordResult      failedResult,
+                           SzApiProvider        provider,
+                           String               dataSource,
+                           String               entityType,
+                           String               recordId,
+                           String               recordJSON,
+                           Long                 fingerprint,
+                           String               loadId,
+                           SzBulkLoadResult     bulkLoadResult,
+                           RecordResultStreamer resultStreamer)
+  {
+    retryQueue.retry(
+        failedResult,
+        (timers) -> this.loadRecordInThread(provider,
+                                            timers,
+                                            dataSource,
+                                            entityType,
+                                            recordId,
+                                            recordJSON,
+                                            fingerprint,
+                                            loadId,
+                                            resultStreamer),
+        (result) -> this.trackLoadResult(
+            result, bulkLoadResult, resultStreamer),
+        (e) -> this.trackLoadFailure(
+            dataSource, entityType, recordId, e, bulkLoadResult,
+            resultStreamer));
+  }
+
+  /**
+   * Tracks a record that failed to load because an exception was thrown in
+   * the {@link SzBulkLoadResult} and adds the per-record result to the
+   * specified {@link RecordResultStreamer} (if any).
+   *
+   * @param dataSource The data source for the record.
+   * @param entityType The entity type for the record.
+   * @param recordId The record ID for the record, or <tt>null</tt> if none.
+   * @param failure The {@link Exception} that was thrown.
+   * @param bulkLoadResult The {@link SzBulkLoadResult} to track the failure.
+   * @param resultStreamer The {@link RecordResultStreamer} for streaming the
+   *                       per-record results, or <tt>null</tt> if they are
+   *                       not being streamed.
+   */
+  default void trackLoadFailure(String                dataSource,
+                                String                entityType,
+                                String                recordId,
+                                Exception             failure,
+                                SzBulkLoadResult      bulkLoadResult,
+                                RecordResultStreamer  resultStreamer)
+  {
+    bulkLoadResult.trackFailedRecord(
+        dataSource, entityType, this.newError(failure.getMessage()));
+
+    if (resultStreamer != null) {
+      resultStreamer.add(this.newBulkRecordResult(
+          dataSource, recordId, SzBulkRecordStatus.FAILED, -1,
+          failure.getMessage()));
+    }
+  }
+
+  /**
+   * Computes the affinity hash for the specified record from the values of
+   * the specified JSON property names.  The first value found for each
+   * property name (searching nested objects and arrays if not found at the
+   * top level) is normalized to its upper-case letters and digits so that
+   * formatting differences in names, dates and phone numbers do not change
+   * the hash.  This returns <tt>null</tt> if none of the properties have a
+   * value in the record.
+   *
+   * @param record The {@link JsonObject} describing the record.
+   * @param affinityKeys The {@link List} of JSON property names whose values
+   *                     form the affinity key.
+   *
+   * @return The affinity hash for the record, or <tt>null</tt> if the record
+   *         has no value for any of the properties.
+   */
+  default Long affinityHash(JsonObject record, List<String> affinityKeys) {
+    StringBuilder sb = new StringBuilder();
+    boolean found = false;
+    for (String key : affinityKeys) {
+      String value = this.findAffinityValue(record, key);
+      if (value != null) {
+        for (char c : value.toCharArray()) {
+          if (Character.isLetterOrDigit(c)) {
+            sb.append(Character.toUpperCase(c));
+          }
+        }
+        found = true;
+      }
+      sb.append('\u0000');
+    }
+    return (found) ? SzRecordFingerprints.hash(sb) : null;
+  }
+
+  /**
+   * Finds the first value for the specified JSON property name in the
+   * specified {@link JsonValue}, preferring a top-level property over one
+   * found in a nested object or array.  Property names are compared without
+   * regard to case.
+   *
+   * @param value The {@link JsonValue} to search.
+   * @param key The JSON property name to find.
+   *
+   * @return The text of the value that was found, or <tt>null</tt> if not
+   *         found.
+   */
+  default String findAffinityValue(JsonValue value, String key) {
+    switch (value.getValueType()) {
+      case OBJECT:
+        JsonObject jsonObject = value.asJsonObject();
+        for (Map.Entry<String, JsonValue> entry : jsonObject.entrySet()) {
+          JsonValue found = entry.getValue();
+          if (!entry.getKey().equalsIgnoreCase(key)) continue;
+          switch (found.getValueType()) {
+            case STRING:
+              return ((JsonString) found).getString();
+            case NUMBER:
+              return found.toString();
+            default:
+              // ignore other value types
+          }
+        }
+        for (JsonValue nested : jsonObject.values()) {
+          String result = this.findAffinityValue(nested, key);
+          if (result != null) return result;
+        }
+        return null;
+
+      case ARRAY:
+        for (JsonValue nested : value.asJsonArray()) {
+          String result = this.findAffinityValue(nested, key);
+          if (result != null) return result;
+        }
+        return null;
+
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Loads a record in an engine thread of the specified {@link
+   * SzApiProvider} and returns the {@link AddRecordResult}.  If the specified
+   * {@link RecordResultStreamer} is not <tt>null</tt> then the details it
+   * requires are captured in the {@link AddRecordResult}.
+   *
+   * @param provider The {@link SzApiProvider} to use.
+   * @param timers The {@link Timers} for the operation.
+   * @param dataSource The data source for the record.
+   * @param entityType The entity type for the record.
+   * @param recordId The record ID for the record, or <tt>null</tt> if none.
+   * @param recordJSON The JSON text for the record.
+   * @param fingerprint The fingerprint for the record, or <tt>null</tt> if
+   *                    unchanged records are not being skipped.
+   * @param loadId The load ID for the bulk load.
+   * @param resultStreamer The {@link RecordResultStreamer} for streaming the
+   *                       per-record results, or <tt>null</tt> if they are
+   *                       not being streamed.
+   *
+   * @return The {@link AddRecordResult} describing the result.
+   *
+   * @throws Exception If a failure occurs.
+   */
+  default AddRecordResult loadRecord(SzApiProvider        provider,
+                                     Timers               timers,
+                                     String               dataSource,
+                                     String               entityType,
+                                     String               recordId,
+                                     String               recordJSON,
+                                     Long                 fingerprint,
+                                     String               loadId,
+                                     RecordResultStreamer resultStreamer)
+    throws Exception
+  {
+    // otherwise try to load the record
+    this.enteringQueue(timers);
+    return provider.executeInThread(() -> {
+      this.exitingQueue(timers);
+      debugLog("Async loading record: " + recordJSON);
+      return this.loadRecordInThread(provider,
+                                     timers,
+                                     dataSource,
+                                     entityType,
+                                     recordId,
+                                     recordJSON,
+                                     fingerprint,
+                                     loadId,
+                                     resultStreamer);
+    });
+  }
+
+  /**
+   * Loads a record on the calling thread, which must be an engine thread of
+   * the specified {@link SzApiProvider}, and returns the {@link
+   * AddRecordResult}.  If the record is unchanged since it was last loaded
+   * then it is not added and the {@link AddRecordResult} is {@linkplain
+   * AddRecordResult#isSkipped() skipped}.  If the specified {@link
+   * RecordResultStreamer} is not <tt>null</tt> then the details it requires
+   * are captured in the {@link AddRecordResult}.
+   *
+   * @param provider The {@link SzApiProvider} to use.
+   * @param timers The {@link Timers} for the operation.
+   * @param dataSource The data source for the record.
+   * @param entityType The entity type for the record.
+   * @param recordId The record ID for the record, or <tt>null</tt> if none.
+   * @param recordJSON The JSON text for the record.
+   * @param fingerprint The fingerprint for the record, or <tt>null</tt> if
+   *                    unchanged records are not being skipped.
+   * @param loadId The load ID for the bulk load.
+   * @param resultStreamer The {@link RecordResultStreamer} for streaming the
+   *                       per-record results, or <tt>null</tt> if they are
+   *                       not being streamed.
+   *
+   * @return The {@link AddRecordResult} describing the result.
+   */
+  default AddRecordResult loadRecordInThread(
+      SzApiProvider         provider,
+      Timers                timers,
+      String                dataSource,
+      String                entityType,
+      String                recordId,
+      String                recordJSON,
+      Long                  fingerprint,
+      String                loadId,
+      RecordResultStreamer  resultStreamer)
+  {
+    G2Engine engineApi = provider.getEngineApi();
+
+    StringBuffer info = (resultStreamer != null
+                         && resultStreamer.isWithInfo())
+        ? new StringBuffer() : null;
+    StringBuffer returnedRecordId = (resultStreamer != null
+                                     && recordId == null)
+        ? new StringBuffer() : null;
+
+    // check if the record is unchanged since it was last loaded
+    if (this.isUnchangedRecord(provider, dataSource, recordId, fingerprint)) {
+      return new AddRecordResult(
+          dataSource,
+          entityType,
+          recordId,
+          (info == null) ? null : Collections.emptySet(),
+          timers);
+    }
+
+    int returnCode = this.addRecord(engineApi,
+                                    provider,
+                                    dataSource,
+                                    recordId,
+                                    recordJSON,
+                                    fingerprint,
+                                    loadId,
+                                    info,
+                                    returnedRecordId,
+                                    timers);
+
+    return this.newAddRecordResult(dataSource,
+                                   entityType,
+                                   recordId,
+                                   returnedRecordId,
+                                   info,
+                                   timers,
+                                   returnCode,
+                                   engineApi);
+  }
+
   /**
    * Asynchronously process a record using the specified {@link SzApiProvider}
    * and {@link AsyncWorkerPool}.  The returned {@link AsyncResult} is from
    * a previously executed task on the same thread or <tt>null</tt> if the
-   * worker thread employed has not previously executed a task.
+   * worker thread employed has not previously executed a task.  If the
+   * specified {@link RecordResultStreamer} is not <tt>null</tt> then the
+   * per-record results are added to it.  If the specified {@link RetryQueue}
+   * is not <tt>null</tt> then records that fail with transient errors are
+   * handed to it to be retried.
    */
   default void processRecords(
-      SzApiProvider     provider,
-      Timers            timers,
-      List<JsonObject>  records,
-      String            loadId,
-      SzBulkLoadResult  bulkLoadResult,
-      int               maxFailures)
+      SzApiProvider         provider,
+      Timers                timers,
+      List<JsonObject>      records,
+      String                loadId,
+      SzBulkLoadResult      bulkLoadResult,
+      int                   maxFailures,
+      RecordResultStreamer  resultStreamer,
+      RetryQueue            retryQueue)
   {
-    G2Engine engineApi = provider.getEngineApi();
     // otherwise try to load the record
     this.enteringQueue(timers);
     provider.executeInThread(() -> {
@@ -685,22 +1649,46 @@ public interface BulkDataSupport extends ServicesSupport {
           debugLog("Incomplete record not loaded: " + recordJSON);
 
           bulkLoadResult.trackIncompleteRecord(dataSource, entityType);
+          if (resultStreamer != null) {
+            resultStreamer.add(this.newIncompleteRecordResult(record));
+          }
 
         } else {
           debugLog("Sync loading record: " + recordJSON);
 
-          int returnCode = this.addRecord(engineApi,
-                                          provider,
-                                          dataSource,
-                                          recordId,
-                                          recordJSON,
-                                          loadId,
-                                          timers);
-
-          AddRecordResult addRecordResult = this.newAddRecordResult(
-              dataSource, entityType, timers, returnCode, engineApi);
-
-          this.trackLoadResult(addRecordResult, bulkLoadResult);
+          Long fingerprint = this.fingerprintRecord(provider, record);
+
+          // supersede any pending retry of an older version of the record
+          if (retryQueue != null) retryQueue.supersede(dataSource, recordId);
+
+          AddRecordResult addRecordResult
+              = this.loadRecordInThread(provider,
+                                        timers,
+                                        dataSource,
+                                        entityType,
+                                        recordId,
+                                        recordJSON,
+                                        fingerprint,
+                                        loadId,
+                                        resultStreamer);
+
+          // check if the record should be retried after a transient failure
+          if (retryQueue != null && retryQueue.isRetryable(addRecordResult)) {
+            this.retryRecord(retryQueue,
+                             addRecordResult,
+                             provider,
+                             dataSource,
+                             entityType,
+                             recordId,
+                             recordJSON,
+                             fingerprint,
+                             loadId,
+                             bulkLoadResult,
+                             resultStreamer);
+          } else {
+            this.trackLoadResult(
+                addRecordResult, bulkLoadResult, resultStreamer);
+          }
         }
 
         // count the number of failures
@@ -742,20 +1730,139 @@ public interface BulkDataSupport extends ServicesSupport {
                                engine);
   }
 
+  /**
+   * Constructs with the specified parameters, resolving the record ID and
+   * the affected entities for the per-record results.
+   *
+   * @param dataSource The data source for the record.
+   * @param entityType The entity type for the record.
+   * @param recordId The record ID for the record, or <tt>null</tt> if the
+   *                 record ID was generated.
+   * @param returnedRecordId The buffer containing the generated record ID,
+   *                         or <tt>null</tt> if not applicable.
+   * @param info The buffer containing the raw resolution info, or
+   *             <tt>null</tt> if the resolution info was not requested.
+   * @param timers The {@link Timers} for the operation.
+   * @param returnCode The return code from native add-record function.
+   * @param engine The {@link G2Engine} instance that was used.
+   *
+   * @return The newly created instance of {@link AddRecordResult}.
+   */
+  default AddRecordResult newAddRecordResult(String        dataSource,
+                                             String        entityType,
+                                             String        recordId,
+                                             StringBuffer  returnedRecordId,
+                                             StringBuffer  info,
+                                             Timers        timers,
+                                             int           returnCode,
+                                             G2Engine      engine)
+  {
+    if (recordId == null && returnedRecordId != null
+        && returnedRecordId.length() > 0)
+    {
+      recordId = returnedRecordId.toString().trim();
+    }
+
+    // the affected entities are only known if the add did not fail
+    Set<Long> affectedEntities = null;
+    if (info != null && returnCode == 0) {
+      affectedEntities = new LinkedHashSet<>();
+      String rawInfo = info.toString().trim();
+      if (rawInfo.length() > 0) {
+        SzResolutionInfo resolutionInfo = SzResolutionInfo.parseResolutionInfo(
+            null, JsonUtils.parseJsonObject(rawInfo));
+        affectedEntities.addAll(resolutionInfo.getAffectedEntities());
+        if (recordId == null) recordId = resolutionInfo.getRecordId();
+      }
+    }
+
+    return new AddRecordResult(dataSource,
+                               entityType,
+                               recordId,
+                               affectedEntities,
+                               timers,
+                               returnCode,
+                               engine);
+  }
+
+  /**
+   * Computes the fingerprint for the specified record if the specified
+   * {@link SzApiProvider} is skipping unchanged records.
+   *
+   * @param provider The {@link SzApiProvider} to use.
+   * @param record The {@link JsonObject} describing the record.
+   *
+   * @return The fingerprint for the record, or <tt>null</tt> if the provider
+   *         is not skipping unchanged records.
+   */
+  default Long fingerprintRecord(SzApiProvider provider, JsonObject record) {
+    if (provider.getRecordFingerprints() == null) return null;
+    return SzRecordFingerprints.fingerprint(record);
+  }
+
+  /**
+   * Checks if the record identified by the specified data source and record
+   * ID is unchanged since it was last loaded according to the {@linkplain
+   * SzApiProvider#getRecordFingerprints() record fingerprints}.  This is
+   * always <tt>false</tt> if the record has no record ID, the fingerprint is
+   * <tt>null</tt> or unchanged records are not being skipped.
+   *
+   * @param provider The {@link SzApiProvider} to use.
+   * @param dataSource The data source for the record.
+   * @param recordId The record ID for the record, or <tt>null</tt> if none.
+   * @param fingerprint The fingerprint for the record, or <tt>null</tt> if
+   *                    unchanged records are not being skipped.
+   *
+   * @return <tt>true</tt> if the record is unchanged and should be skipped,
+   *         otherwise <tt>false</tt>.
+   */
+  default boolean isUnchangedRecord(SzApiProvider provider,
+                                    String        dataSource,
+                                    String        recordId,
+                                    Long          fingerprint)
+  {
+    SzRecordFingerprints fingerprints
+        = (recordId == null || fingerprint == null)
+        ? null : provider.getRecordFingerprints();
+    if (fingerprints == null
+        || !fingerprints.isUnchanged(dataSource, recordId, fingerprint))
+    {
+      return false;
+    }
+    debugLog("Skipping unchanged record: " + dataSource + " / " + recordId);
+    return true;
+  }
+
   /**
    * Adds the record either with or without a record ID and tracks the timing.
+   * If the specified fingerprint is not <tt>null</tt> and the record has a
+   * record ID then the fingerprint is recorded in the {@linkplain
+   * SzApiProvider#getRecordFingerprints() record fingerprints} once the
+   * record is successfully added.  Callers that skip unchanged records should
+   * check {@link #isUnchangedRecord(SzApiProvider, String, String, Long)}
+   * first.  If the specified info buffer is not <tt>null</tt> then the
+   * with-info variant is used and the raw resolution info is appended to it.
+   * If the specified record ID buffer is not <tt>null</tt> then any generated
+   * record ID is appended to it.
    */
   default int addRecord(G2Engine      engineApi,
                         SzApiProvider provider,
                         String        dataSource,
                         String        recordId,
                         String        recordJSON,
+                        Long          fingerprint,
                         String        loadId,
+                        StringBuffer  info,
+                        StringBuffer  returnedRecordId,
                         Timers        timers)
   {
+    SzRecordFingerprints fingerprints
+        = (recordId == null || fingerprint == null)
+        ? null : provider.getRecordFingerprints();
+
     int returnCode;
     boolean asyncInfo = provider.hasInfoSink();
-    if (asyncInfo) {
+    if (asyncInfo || info != null) {
       StringBuffer sb = new StringBuffer();
       this.callingNativeAPI(timers, "engine", "addRecordWithInfo");
       returnCode = engineApi.addRecordWithInfo(
@@ -770,11 +1877,12 @@ public interface BulkDataSupport extends ServicesSupport {
       // check the return code before trying to send out the info
       if (returnCode == 0) {
         String rawInfo = sb.toString();
+        if (info != null) info.append(rawInfo);
 
         // check if we have raw info to send
-        if (rawInfo != null && rawInfo.trim().length() > 0) {
+        if (asyncInfo && rawInfo != null && rawInfo.trim().length() > 0) {
           SzMessageSink infoSink = provider.acquireInfoSink();
-          SzMessage message = new SzMessage(rawInfo);
+          SzMessage message = newInfoMessage(rawInfo, LOAD_OPERATION);
           try {
             this.sendingAsyncMessage(timers, INFO_QUEUE_NAME);
             infoSink.send(message, ServicesUtil::logFailedAsyncInfo);
@@ -800,20 +1908,29 @@ public interface BulkDataSupport extends ServicesSupport {
     } else {
       this.callingNativeAPI(timers, "engine",
                        "addRecordWithReturnedRecordID");
-      StringBuffer sb = new StringBuffer();
+      StringBuffer sb = (returnedRecordId != null)
+          ? returnedRecordId : new StringBuffer();
       returnCode = engineApi.addRecordWithReturnedRecordID(
           dataSource, sb, recordJSON, loadId);
       this.calledNativeAPI(timers, "engine",
                       "addRecordWithReturnedRecordID");
     }
+
+    // record the fingerprint if the record was successfully loaded
+    if (returnCode == 0 && fingerprints != null) {
+      fingerprints.update(dataSource, recordId, fingerprint);
+    }
     return returnCode;
   }
 
   /**
-   * Tracks the asynchronous record load result in the {@link SzBulkLoadResult}.
+   * Tracks the asynchronous record load result in the {@link SzBulkLoadResult}
+   * and adds the per-record result to the specified {@link
+   * RecordResultStreamer} (if not <tt>null</tt>).
    */
   default void trackLoadResult(AsyncResult<AddRecordResult> asyncResult,
-                               SzBulkLoadResult             bulkLoadResult)
+                               SzBulkLoadResult             bulkLoadResult,
+                               RecordResultStreamer         resultStreamer)
   {
     // check the result
     if (asyncResult != null) {
@@ -832,23 +1949,40 @@ public interface BulkDataSupport extends ServicesSupport {
         Throwable cause = e.getCause();
         bulkLoadResult.trackFailedRecord(
             failDataSource, failEntityType, this.newError(cause.getMessage()));
+
+        if (resultStreamer != null) {
+          resultStreamer.add(this.newBulkRecordResult(
+              failDataSource,
+              JsonUtils.getString(jsonObj, "recordId"),
+              SzBulkRecordStatus.FAILED,
+              -1,
+              cause.getMessage()));
+        }
       }
 
       // track the result
       if (addRecordResult != null) {
-        this.trackLoadResult(addRecordResult, bulkLoadResult);
+        this.trackLoadResult(addRecordResult, bulkLoadResult, resultStreamer);
       }
     }
   }
 
   /**
-   * Tracks the asynchronous record load result in the {@link SzBulkLoadResult}.
+   * Tracks the record load result in the {@link SzBulkLoadResult} and adds the
+   * per-record result to the specified {@link RecordResultStreamer} (if not
+   * <tt>null</tt>).
    */
-  default void trackLoadResult(AddRecordResult  addRecordResult,
-                               SzBulkLoadResult bulkLoadResult)
+  default void trackLoadResult(AddRecordResult      addRecordResult,
+                               SzBulkLoadResult     bulkLoadResult,
+                               RecordResultStreamer resultStreamer)
   {
-    // check if the add failed or succeeded
-    if (addRecordResult.isFailed()) {
+    // check if the add failed, was skipped or succeeded
+    if (addRecordResult.isSkipped()) {
+      // the record was unchanged, record the skipped record
+      bulkLoadResult.trackSkippedRecord(addRecordResult.getDataSource(),
+                                        addRecordResult.getEntityType());
+
+    } else if (addRecordResult.isFailed()) {
       // adding the record failed, record the failure
       bulkLoadResult.trackFailedRecord(
           addRecordResult.getDataSource(),
@@ -860,17 +1994,206 @@ public interface BulkDataSupport extends ServicesSupport {
       bulkLoadResult.trackLoadedRecord(addRecordResult.getDataSource(),
                                        addRecordResult.getEntityType());
     }
+
+    // add the per-record result if streaming them
+    if (resultStreamer != null) {
+      resultStreamer.add(this.newBulkRecordResult(addRecordResult));
+    }
+  }
+
+  /**
+   * Creates a new {@link SzBulkRecordResult} describing the specified {@link
+   * AddRecordResult}.
+   *
+   * @param addRecordResult The {@link AddRecordResult} to describe.
+   *
+   * @return The newly created {@link SzBulkRecordResult}.
+   */
+  default SzBulkRecordResult newBulkRecordResult(
+      AddRecordResult addRecordResult)
+  {
+    SzBulkRecordStatus status = (addRecordResult.isSkipped())
+        ? SzBulkRecordStatus.SKIPPED
+        : ((addRecordResult.isFailed()) ? SzBulkRecordStatus.FAILED
+                                        : SzBulkRecordStatus.LOADED);
+
+    SzBulkRecordResult result = this.newBulkRecordResult(
+        addRecordResult.getDataSource(),
+        addRecordResult.getRecordId(),
+        status,
+        addRecordResult.getReturnCode(),
+        addRecordResult.getErrorMessage());
+
+    result.setErrorCode(addRecordResult.getErrorCode());
+    result.setAffectedEntities(addRecordResult.getAffectedEntities());
+    return result;
+  }
+
+  /**
+   * Creates a new {@link SzBulkRecordResult} describing the specified record
+   * that was not loaded because it is missing a data source or entity type.
+   *
+   * @param record The {@link JsonObject} describing the record.
+   *
+   * @return The newly created {@link SzBulkRecordResult}.
+   */
+  default SzBulkRecordResult newIncompleteRecordResult(JsonObject record) {
+    return this.newBulkRecordResult(
+        JsonUtils.getString(record, "DATA_SOURCE"),
+        JsonUtils.getString(record, "RECORD_ID"),
+        SzBulkRecordStatus.INCOMPLETE,
+        -1,
+        "The record is missing a data source or an entity type.");
+  }
+
+  /**
+   * Creates a new {@link SzBulkRecordResult} with the specified parameters.
+   *
+   * @param dataSource The data source for the record.
+   * @param recordId The record ID for the record, or <tt>null</tt> if not
+   *                 known.
+   * @param status The {@link SzBulkRecordStatus} for the record.
+   * @param returnCode The return code for the record.
+   * @param errorMessage The error message for the record, or <tt>null</tt> if
+   *                     none.
+   *
+   * @return The newly created {@link SzBulkRecordResult}.
+   */
+  default SzBulkRecordResult newBulkRecordResult(
+      String              dataSource,
+      String              recordId,
+      SzBulkRecordStatus  status,
+      int                 returnCode,
+      String              errorMessage)
+  {
+    SzBulkRecordResult result = SzBulkRecordResult.FACTORY.create();
+    result.setDataSource(dataSource);
+    result.setRecordId(recordId);
+    result.setStatus(status);
+    result.setReturnCode(returnCode);
+    result.setErrorMessage(errorMessage);
+    return result;
+  }
+
+  /**
+   * Validates the result batch size parameter.
+   *
+   * @param resultBatchSize The specified result batch size, or <tt>null</tt>
+   *                        if per-record results were not requested.
+   * @param timers The {@link Timers} for the request.
+   * @param uriInfo The {@link UriInfo} for the request.
+   *
+   * @throws BadRequestException If the result batch size is not positive.
+   */
+  default void validateResultBatchSize(Integer  resultBatchSize,
+                                       Timers   timers,
+                                       UriInfo  uriInfo)
+    throws BadRequestException
+  {
+    if (resultBatchSize != null && resultBatchSize <= 0) {
+      throw this.newBadRequestException(
+          POST, uriInfo, timers,
+          "The resultBatchSize parameter must be positive: "
+              + resultBatchSize);
+    }
+  }
+
+  /**
+   * Creates a new {@link RecordResultStreamer} that sends each batch of
+   * per-record results via the specified NDJSON {@link Writer}, SSE or Web
+   * Socket {@link Session} (whichever is not <tt>null</tt>).  The batches
+   * are sent on the thread of a {@link SerialSender} (the one for the {@link
+   * Session} if sending via Web Sockets) without holding the monitor of the
+   * specified {@link ProgressState}, so a slow client never blocks the
+   * threads tracking the results while they wait for the monitor.  Only the
+   * SSE event (with its event ID) is built while synchronized on the {@link
+   * ProgressState}.
+   *
+   * @param batchSize The number of per-record results per batch.
+   * @param withInfo <tt>true</tt> if the affected entities should be included
+   *                 in the per-record results, otherwise <tt>false</tt>.
+   * @param progressState The {@link ProgressState} for the operation.
+   * @param resultWriter The {@link Writer} for writing NDJSON, or
+   *                     <tt>null</tt> if not writing NDJSON.
+   * @param sseEventSink The {@link SseEventSink} if sending via SSE, or
+   *                     <tt>null</tt> if not sending via SSE.
+   * @param sseEventBuilder The SSE event builder if sending via SSE, or
+   *                        <tt>null</tt> if not sending via SSE.
+   * @param webSocketSession The Web Socket {@link Session} if sending via
+   *                         Web Sockets, or <tt>null</tt> if not.
+   *
+   * @return The newly created {@link RecordResultStreamer}.
+   */
+  default RecordResultStreamer newRecordResultStreamer(
+      int                       batchSize,
+      boolean                   withInfo,
+      ProgressState             progressState,
+      Writer                    resultWriter,
+      SseEventSink              sseEventSink,
+      OutboundSseEvent.Builder  sseEventBuilder,
+      Session                   webSocketSession)
+  {
+    ObjectMapper objectMapper = new ObjectMapper();
+    objectMapper.registerModule(new JodaModule());
+
+    Consumer<List<SzBulkRecordResult>> sender = (results) -> {
+      try {
+        // check if writing NDJSON with one record per line
+        if (resultWriter != null) {
+          for (SzBulkRecordResult result : results) {
+            resultWriter.write(objectMapper.writeValueAsString(result));
+            resultWriter.write("\n");
+          }
+          resultWriter.flush();
+        }
+
+        Map<String, List<SzBulkRecordResult>> batch
+            = Collections.singletonMap("recordResults", results);
+
+        // check if sending an SSE event
+        if (sseEventBuilder != null) {
+          OutboundSseEvent event;
+          synchronized (progressState) {
+            event = sseEventBuilder.name(RECORD_RESULTS_EVENT)
+                .id(String.valueOf(progressState.nextEventId()))
+                .mediaType(APPLICATION_JSON_TYPE)
+                .data(batch)
+                .reconnectDelay(RECONNECT_DELAY)
+                .build();
+          }
+          sseEventSink.send(event);
+        }
+
+        // check if sending a web socket message
+        if (webSocketSession != null) {
+          webSocketSession.getBasicRemote().sendObject(batch);
+        }
+
+      } catch (RuntimeException e) {
+        e.printStackTrace();
+        throw e;
+
+      } catch (Exception e) {
+        e.printStackTrace();
+        throw new RuntimeException(e);
+      }
+    };
+
+    SerialSender serialSender = (webSocketSession != null)
+        ? SerialSender.forSession(webSocketSession) : new SerialSender();
+
+    return new RecordResultStreamer(batchSize, withInfo, serialSender, sender);
   }
 
   /**
-   * Formats load ID using the specified data cache
+   * Formats load ID using the specified bulk data set
    */
-  default String formatLoadId(TemporaryDataCache          dataCache,
+  default String formatLoadId(BulkDataSet                 bulkDataSet,
                               FormDataContentDisposition  fileMetaData)
   {
     String fileKey = (fileMetaData != null) ? fileMetaData.getName() : null;
     if (fileKey == null) {
-      try (InputStream is = dataCache.getInputStream();)
+      try (InputStream is = bulkDataSet.getInputStream(false);)
       {
         byte[]        bytes     = new byte[1024];
         MessageDigest md5       = MessageDigest.getInstance("MD5");
@@ -903,9 +2226,15 @@ public interface BulkDataSupport extends ServicesSupport {
   }
 
   /**
-   * Encapsulates a bulk data set.
+   * Encapsulates a bulk data set.  The bulk data may be uploaded plain, gzip
+   * compressed or as a zip archive of one or more files.  The compression is
+   * detected from the media type or from the leading magic bytes of the data.
+   * Gzip data is cached in its compressed form and decompressed as it is
+   * read, while a zip archive is spooled to a temporary file so its entries
+   * can be read independently.  Each non-directory entry of a zip archive is
+   * a separate <i>part</i> of the bulk data set.
    */
-  class BulkDataSet {
+  class BulkDataSet implements Closeable {
     /**
      * The character encoding of the bulk data stream (possibly auto-detected).
      */
@@ -922,11 +2251,47 @@ public interface BulkDataSupport extends ServicesSupport {
      */
     protected RecordReader.Format format;
 
+    /**
+     * The {@link SzBulkDataCompression} for the bulk data stream (possibly
+     * auto-detected).
+     */
+    protected SzBulkDataCompression compression;
+
     /**
      * The {@link TemporaryDataCache} for reading the data from the bulk data
-     * stream.
+     * stream, or <tt>null</tt> if the bulk data is a zip archive.
+     */
+    protected TemporaryDataCache dataCache = null;
+
+    /**
+     * The {@link CountingInputStream} for counting the bytes uploaded.
+     */
+    protected CountingInputStream uploadStream;
+
+    /**
+     * The temporary file to which a zip archive is spooled, or <tt>null</tt>
+     * if the bulk data is not a zip archive.
+     */
+    protected File zipPath = null;
+
+    /**
+     * The {@link ZipFile} for reading a zip archive, or <tt>null</tt> if the
+     * bulk data is not a zip archive.
+     */
+    protected ZipFile zipFile = null;
+
+    /**
+     * The {@link List} of {@link ZipEntry} instances for the parts of a zip
+     * archive, or <tt>null</tt> if the bulk data is not a zip archive.
      */
-    protected TemporaryDataCache dataCache;
+    protected List<ZipEntry> zipEntries = null;
+
+    /**
+     * The {@link List} of {@link CountingInputStream} instances that count the
+     * uncompressed bytes consumed from each part.
+     */
+    protected final List<CountingInputStream> partStreams
+        = Collections.synchronizedList(new LinkedList<>());
 
     /**
      * Constructs with the specified media type (if known) and the specified
@@ -938,6 +2303,9 @@ public interface BulkDataSupport extends ServicesSupport {
      *                  automatically detected.
      * @param inputStream The {@link InputStream} to read the data.
      * @throws IOException If an I/O failure occurs.
+     * @throws NotSupportedException If the compression for the data is not
+     *                               supported.
+     * @throws BadRequestException If the data is a zip archive with no files.
      */
     public BulkDataSet(MediaType mediaType, InputStream inputStream)
         throws IOException
@@ -957,21 +2325,131 @@ public interface BulkDataSupport extends ServicesSupport {
       }
 
       try {
-        this.dataCache = new TemporaryDataCache(inputStream);
+        this.uploadStream = new CountingInputStream(inputStream);
+        BufferedInputStream bis = new BufferedInputStream(this.uploadStream);
+        this.compression = detectCompression(baseMediaType, bis);
+
+        switch (this.compression) {
+          case ZSTD:
+            throw new NotSupportedException(
+                "Zstandard compressed bulk data is not supported.");
+          case ZIP:
+            this.openZipArchive(bis);
+            break;
+          default:
+            this.dataCache = new TemporaryDataCache(bis);
+        }
 
         // if charset is unknown then try to detect
         if (this.characterEncoding == null) {
-          try (InputStream is = this.dataCache.getInputStream()) {
+          try (InputStream is = this.getInputStream(false)) {
             this.characterEncoding = IOUtilities.detectCharacterEncoding(is);
           }
           if (this.characterEncoding == null) this.characterEncoding = "UTF-8";
         }
 
       } catch (IOException e) {
+        this.delete();
         if (!isLastLoggedException(e)) {
           e.printStackTrace();
         }
         setLastLoggedAndThrow(e);
+
+      } catch (RuntimeException e) {
+        this.delete();
+        throw e;
+      }
+    }
+
+    /**
+     * Detects the {@link SzBulkDataCompression} for the bulk data from the
+     * specified base media type or, failing that, from the leading magic bytes
+     * of the specified {@link BufferedInputStream} without consuming them.
+     *
+     * @param baseMediaType The lower-case base media type for the bulk data.
+     * @param bis The {@link BufferedInputStream} for reading the bulk data.
+     *
+     * @return The detected {@link SzBulkDataCompression}.
+     *
+     * @throws IOException If an I/O failure occurs.
+     */
+    protected static SzBulkDataCompression detectCompression(
+        String              baseMediaType,
+        BufferedInputStream bis)
+      throws IOException
+    {
+      switch (baseMediaType) {
+        case APPLICATION_GZIP:
+        case APPLICATION_X_GZIP:
+          return SzBulkDataCompression.GZIP;
+        case APPLICATION_ZIP:
+          return SzBulkDataCompression.ZIP;
+        case APPLICATION_ZSTD:
+          return SzBulkDataCompression.ZSTD;
+        default:
+          // fall through to check the magic bytes
+      }
+
+      byte[] magic = new byte[4];
+      int    count = 0;
+      bis.mark(magic.length);
+      for (int length = 0;
+           count < magic.length && length >= 0;
+           count += Math.max(0, length))
+      {
+        length = bis.read(magic, count, magic.length - count);
+      }
+      bis.reset();
+
+      if (count >= 2 && magic[0] == (byte) 0x1F && magic[1] == (byte) 0x8B) {
+        return SzBulkDataCompression.GZIP;
+      }
+      if (count < 4) return SzBulkDataCompression.NONE;
+      if (magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4)
+      {
+        return SzBulkDataCompression.ZIP;
+      }
+      if (magic[0] == (byte) 0x28 && magic[1] == (byte) 0xB5
+          && magic[2] == (byte) 0x2F && magic[3] == (byte) 0xFD)
+      {
+        return SzBulkDataCompression.ZSTD;
+      }
+      return SzBulkDataCompression.NONE;
+    }
+
+    /**
+     * Spools the zip archive from the specified {@link InputStream} to a
+     * temporary file and opens it to find the files that are the parts of
+     * the bulk data.  Directories, hidden files and the resource fork entries
+     * added by macOS are ignored.
+     *
+     * @param inputStream The {@link InputStream} for reading the zip archive.
+     *
+     * @throws IOException If an I/O failure occurs.
+     * @throws BadRequestException If the zip archive contains no files.
+     */
+    protected void openZipArchive(InputStream inputStream) throws IOException {
+      this.zipPath = File.createTempFile("sz-bulk-data-", ".zip");
+      this.zipPath.deleteOnExit();
+      Files.copy(inputStream,
+                 this.zipPath.toPath(),
+                 StandardCopyOption.REPLACE_EXISTING);
+
+      this.zipFile    = new ZipFile(this.zipPath);
+      this.zipEntries = new ArrayList<>();
+      Enumeration<? extends ZipEntry> entries = this.zipFile.entries();
+      while (entries.hasMoreElements()) {
+        ZipEntry entry = entries.nextElement();
+        if (entry.isDirectory()) continue;
+        String name = entry.getName();
+        if (name.startsWith("__MACOSX/")) continue;
+        String fileName = name.substring(name.lastIndexOf('/') + 1);
+        if (fileName.startsWith(".")) continue;
+        this.zipEntries.add(entry);
+      }
+      if (this.zipEntries.size() == 0) {
+        throw new BadRequestException(
+            "The zip archive does not contain any files.");
       }
     }
 
@@ -1011,15 +2489,178 @@ public interface BulkDataSupport extends ServicesSupport {
       this.format = format;
     }
 
+    /**
+     * Gets the {@link SzBulkDataCompression} for this instance.
+     *
+     * @return The {@link SzBulkDataCompression} for this instance.
+     */
+    public SzBulkDataCompression getCompression() {
+      return this.compression;
+    }
+
+    /**
+     * Gets the number of parts in this bulk data set.  This is the number of
+     * files for a zip archive, otherwise one (1).
+     *
+     * @return The number of parts in this bulk data set.
+     */
+    public int getPartCount() {
+      return (this.zipEntries == null) ? 1 : this.zipEntries.size();
+    }
+
     /**
      * Gets the {@link TemporaryDataCache} for this instance to read the data.
+     * The cached data is compressed if the bulk data was uploaded compressed
+     * and this returns <tt>null</tt> if the bulk data is a zip archive.  Use
+     * {@link #getInputStream(boolean)} to read the uncompressed data.
      *
      * @return The {@link TemporaryDataCache} for this instance to read the
-     *         data.
+     *         data, or <tt>null</tt> if the bulk data is a zip archive.
      */
     public TemporaryDataCache getDataCache() {
       return dataCache;
     }
+
+    /**
+     * Opens an {@link InputStream} to read the uncompressed data for the first
+     * part of this bulk data set.
+     *
+     * @param consume <tt>true</tt> if the data is being consumed and the bytes
+     *                read should count towards the throughput, and
+     *                <tt>false</tt> if only peeking at the data.
+     *
+     * @return The {@link InputStream} for reading the uncompressed data.
+     *
+     * @throws IOException If an I/O failure occurs.
+     */
+    public InputStream getInputStream(boolean consume) throws IOException {
+      return this.getInputStream(0, consume);
+    }
+
+    /**
+     * Opens an {@link InputStream} to read the uncompressed data for the part
+     * of this bulk data set at the specified index.
+     *
+     * @param part The zero-based index of the part to read.
+     * @param consume <tt>true</tt> if the data is being consumed and the bytes
+     *                read should count towards the throughput, and
+     *                <tt>false</tt> if only peeking at the data.
+     *
+     * @return The {@link InputStream} for reading the uncompressed data.
+     *
+     * @throws IOException If an I/O failure occurs.
+     * @throws IndexOutOfBoundsException If the specified part index is not
+     *                                   valid.
+     */
+    public InputStream getInputStream(int part, boolean consume)
+      throws IOException
+    {
+      if (part < 0 || part >= this.getPartCount()) {
+        throw new IndexOutOfBoundsException(
+            "Invalid part index (" + part + ") for part count: "
+            + this.getPartCount());
+      }
+      InputStream is;
+      switch (this.compression) {
+        case ZIP:
+          is = this.zipFile.getInputStream(this.zipEntries.get(part));
+          break;
+        case GZIP:
+          is = new GZIPInputStream(this.dataCache.getInputStream(consume),
+                                   SAMPLE_BUFFER_SIZE);
+          break;
+        default:
+          is = this.dataCache.getInputStream(consume);
+      }
+      if (!consume) return is;
+
+      CountingInputStream cis = new CountingInputStream(is);
+      this.partStreams.add(cis);
+      return cis;
+    }
+
+    /**
+     * Gets the number of bytes of bulk data that have been uploaded, which
+     * are compressed if the bulk data was uploaded compressed.
+     *
+     * @return The number of bytes of bulk data that have been uploaded.
+     */
+    public long getCompressedByteCount() {
+      return this.uploadStream.getByteCount();
+    }
+
+    /**
+     * Gets the number of uncompressed bytes that have been consumed from the
+     * parts of this bulk data set.
+     *
+     * @return The number of uncompressed bytes that have been consumed.
+     */
+    public long getUncompressedByteCount() {
+      long count = 0L;
+      synchronized (this.partStreams) {
+        for (CountingInputStream cis : this.partStreams) {
+          count += cis.getByteCount();
+        }
+      }
+      return count;
+    }
+
+    /**
+     * Gets the total number of uncompressed bytes in this bulk data set if it
+     * is known without reading the data.  This is only known for zip archives.
+     *
+     * @return The total number of uncompressed bytes, or <tt>-1</tt> if not
+     *         known.
+     */
+    public long getUncompressedSize() {
+      if (this.zipEntries == null) return -1L;
+      long size = 0L;
+      for (ZipEntry entry : this.zipEntries) {
+        if (entry.getSize() < 0L) return -1L;
+        size += entry.getSize();
+      }
+      return size;
+    }
+
+    /**
+     * Creates an {@link SzBulkDataThroughput} describing the compressed and
+     * uncompressed bytes that have been processed over the specified number
+     * of milliseconds.
+     *
+     * @param elapsedMillis The number of milliseconds elapsed.
+     *
+     * @return The {@link SzBulkDataThroughput} describing the throughput.
+     */
+    public SzBulkDataThroughput getThroughput(long elapsedMillis) {
+      return SzBulkDataThroughput.FACTORY.create(
+          this.getCompression(),
+          this.getCompressedByteCount(),
+          this.getUncompressedByteCount(),
+          elapsedMillis);
+    }
+
+    /**
+     * Deletes the cached or spooled data for this instance.
+     */
+    public void delete() {
+      if (this.dataCache != null) this.dataCache.delete();
+      if (this.zipFile != null) {
+        try {
+          this.zipFile.close();
+        } catch (IOException ignore) {
+          // ignore
+        }
+      }
+      if (this.zipPath != null) this.zipPath.delete();
+    }
+
+    /**
+     * Implemented to call {@link #delete()}.
+     */
+    @Override
+    public void close() {
+      this.delete();
+    }
   }
 
   /**
@@ -1042,6 +2683,17 @@ public interface BulkDataSupport extends ServicesSupport {
      */
     protected String entityType = null;
 
+    /**
+     * The record ID for the record, or <tt>null</tt> if not known.
+     */
+    protected String recordId = null;
+
+    /**
+     * The entity ID's for the affected entities, or <tt>null</tt> if the
+     * resolution info was not requested.
+     */
+    protected Set<Long> affectedEntities = null;
+
     /**
      * The error code from the native add-record function if it failed, or
      * <tt>null</tt> if it succeeded.
@@ -1059,31 +2711,91 @@ public interface BulkDataSupport extends ServicesSupport {
      */
     protected Timers timers = null;
 
+    /**
+     * Whether or not the record was skipped rather than added because it is
+     * unchanged since it was last loaded.
+     */
+    protected boolean skipped = false;
+
+    /**
+     * Constructs with the specified parameters.
+     *
+     * @param dataSource The data source for the record.
+     * @param entityType The entity type for the record.
+     * @param timers The {@link Timers} for the operation.
+     * @param returnCode The return code from native add-record function.
+     * @param engine The {@link G2Engine} instance that was used.
+     */
+    public AddRecordResult(String    dataSource,
+                           String    entityType,
+                           Timers    timers,
+                           int       returnCode,
+                           G2Engine  engine)
+    {
+      this(dataSource, entityType, null, null, timers, returnCode, engine);
+    }
+
     /**
      * Constructs with the specified parameters.
      *
      * @param dataSource The data source for the record.
      * @param entityType The entity type for the record.
+     * @param recordId The record ID for the record, or <tt>null</tt> if not
+     *                 known.
+     * @param affectedEntities The entity ID's for the affected entities, or
+     *                         <tt>null</tt> if the resolution info was not
+     *                         requested.
      * @param timers The {@link Timers} for the operation.
      * @param returnCode The return code from native add-record function.
      * @param engine The {@link G2Engine} instance that was used.
      */
     public AddRecordResult(String    dataSource,
                            String    entityType,
+                           String    recordId,
+                           Set<Long> affectedEntities,
                            Timers    timers,
                            int       returnCode,
                            G2Engine  engine)
     {
-      this.dataSource = dataSource;
-      this.entityType = entityType;
-      this.returnCode = returnCode;
-      this.timers     = timers;
-      if (this.returnCode != 0) {
+      this.dataSource       = dataSource;
+      this.entityType       = entityType;
+      this.recordId         = recordId;
+      this.affectedEntities = affectedEntities;
+      this.returnCode       = returnCode;
+      this.timers           = timers;
+      if (this.isFailed()) {
         this.errorCode  = "" + engine.getLastExceptionCode();
         this.errorMsg   = engine.getLastException();
       }
     }
 
+    /**
+     * Constructs an instance describing a record that was skipped rather
+     * than added because it is unchanged since it was last loaded.
+     *
+     * @param dataSource The data source for the record.
+     * @param entityType The entity type for the record.
+     * @param recordId The record ID for the record.
+     * @param affectedEntities The entity ID's for the affected entities
+     *                         (which is empty for a skipped record), or
+     *                         <tt>null</tt> if the resolution info was not
+     *                         requested.
+     * @param timers The {@link Timers} for the operation.
+     */
+    public AddRecordResult(String    dataSource,
+                           String    entityType,
+                           String    recordId,
+                           Set<Long> affectedEntities,
+                           Timers    timers)
+    {
+      this.dataSource       = dataSource;
+      this.entityType       = entityType;
+      this.recordId         = recordId;
+      this.affectedEntities = affectedEntities;
+      this.timers           = timers;
+      this.skipped          = true;
+    }
+
     /**
      * Gets the return code from add-record operation.
      *
@@ -1111,6 +2823,27 @@ public interface BulkDataSupport extends ServicesSupport {
       return this.entityType;
     }
 
+    /**
+     * Gets the record ID for the record that was being added.  This is the
+     * generated record ID if one was generated and captured.
+     *
+     * @return The record ID for the record that was being added, or
+     *         <tt>null</tt> if not known.
+     */
+    public String getRecordId() {
+      return this.recordId;
+    }
+
+    /**
+     * Gets the entity ID's for the entities affected by adding the record.
+     *
+     * @return The {@link Set} of entity ID's for the affected entities, or
+     *         <tt>null</tt> if the resolution info was not requested.
+     */
+    public Set<Long> getAffectedEntities() {
+      return this.affectedEntities;
+    }
+
     /**
      * Gets the error code (if any) from the {@link G2Engine} with which this
      * instance was constructed.
@@ -1154,6 +2887,17 @@ public interface BulkDataSupport extends ServicesSupport {
       return (this.returnCode != 0);
     }
 
+    /**
+     * Checks if this instance describes a record that was skipped rather than
+     * added because it is unchanged since it was last loaded.
+     *
+     * @return <tt>true</tt> if the record was skipped, and <tt>false</tt> if
+     *         an attempt was made to add it.
+     */
+    public boolean isSkipped() {
+      return this.skipped;
+    }
+
     /**
      * Produces a diagnostic {@link String} describing this instance.
      *
@@ -1161,8 +2905,10 @@ public interface BulkDataSupport extends ServicesSupport {
      */
     public String toString() {
       return "{ returnCode=[ " + this.returnCode
+              + " ], skipped=[ " + this.skipped
               + " ], dataSource=[ " + this.dataSource
               + " ], entityType=[ " + this.entityType
+              + " ], recordId=[ " + this.recordId
               + " ], errorCode=[ " + this.errorCode
               + " ], errorMsg=[ " + this.errorMsg
               + " ] }";
@@ -1206,7 +2952,8 @@ public interface BulkDataSupport extends ServicesSupport {
       // check if sending a message on the web socket session
       if (webSocketSession != null) {
         try {
-          webSocketSession.getBasicRemote().sendObject(response);
+          SerialSender.forSession(webSocketSession).send(
+              () -> webSocketSession.getBasicRemote().sendObject(response));
           webSocketSession.close();
 
         } catch (Exception e) {
@@ -1292,9 +3039,12 @@ public interface BulkDataSupport extends ServicesSupport {
 
     // check if we have a web socket session
     if (webSocketSession != null) {
+      SzErrorResponse error = errorResponse;
       try {
-        webSocketSession.getBasicRemote().sendObject(response);
-        webSocketSession.getBasicRemote().sendObject(errorResponse);
+        SerialSender.forSession(webSocketSession).send(() -> {
+          webSocketSession.getBasicRemote().sendObject(response);
+          webSocketSession.getBasicRemote().sendObject(error);
+        });
 
       } catch (RuntimeException e) {
         e.printStackTrace();
@@ -1642,9 +3392,11 @@ public interface BulkDataSupport extends ServicesSupport {
 
       // check if sending a web socket response
       if (webSocketSession != null) {
+        SzBulkLoadResponse message = update;
         try {
           // send the web socket message and handle exceptions
-          webSocketSession.getBasicRemote().sendObject(update);
+          SerialSender.forSession(webSocketSession).send(
+              () -> webSocketSession.getBasicRemote().sendObject(message));
 
         } catch (RuntimeException e) {
           e.printStackTrace();
@@ -1710,185 +3462,4 @@ public interface BulkDataSupport extends ServicesSupport {
     }
 
   }
-
-  /**
-   * The progress updater thread to handle sending the progress updates.
-   */
-  class ProgressUpdater<T> extends Thread {
-    /**
-     * The time between progress updates in nanoseconds.
-     */
-    private long progressNanos = 0L;
-
-    /**
-     * The progress state.
-     */
-    private ProgressState progressState = null;
-
-    /**
-     * The {@link Object} to synchronize on.
-     */
-    protected final Object monitor;
-
-    /**
-     * The SSE event sink if sending updates via SSE.
-     */
-    private SseEventSink sseEventSink = null;
-
-    /**
-     * The SSE event builder if sending updates via SSE.
-     */
-    private OutboundSseEvent.Builder sseEventBuilder = null;
-
-    /**
-     * The Web Sockets Session if sending updates via web sockets.
-     */
-    private Session webSocketSession = null;
-
-    /**
-     * The supplier for providing the updates.
-     */
-    private Supplier<T> supplier = null;
-
-    /**
-     * Whether or not we are completed.
-     */
-    private boolean completed = false;
-
-    /**
-     * Constructs with the specified parameters.
-     *
-     * @param progressNanos The number of nano-seconds between progress updates.
-     * @param progressState The {@link ProgressState} to manage the progress
-     *                      updates.
-     * @param monitor The object to synchronize, wait and notify on or
-     *                <tt>null</tt> if it should synchronize on itself.
-     * @param supplier THe {@link Supplier} for providing the update object.
-     * @param sseEventSink The event sink for SSE if sending progress updates
-     *                     via SSE, or <tt>null</tt> if not sending via SSE.
-     * @param sseEventBuilder The SSE event builder if sending progress updates
-     *                        via SSE, or <tt>null</tt> if not sending via SSE.
-     * @param webSocketSession The web sockets {@link Session} if sending
-     *                         progress udpates via web sockets, or
-     *                         <tt>null</tt> if not sending via web sockets.
-     */
-    public ProgressUpdater(long                     progressNanos,
-                           ProgressState            progressState,
-                           Object                   monitor,
-                           Supplier<T>              supplier,
-                           SseEventSink             sseEventSink,
-                           OutboundSseEvent.Builder sseEventBuilder,
-                           Session                  webSocketSession)
-    {
-      Objects.requireNonNull(progressState,"The progressState cannot be null.");
-      Objects.requireNonNull(supplier, "The supplier cannot be null.");
-
-      this.progressNanos    = progressNanos;
-      this.progressState    = progressState;
-      this.monitor          = (monitor == null) ? this : monitor;
-      this.supplier         = supplier;
-      this.sseEventSink     = sseEventSink;
-      this.sseEventBuilder  = sseEventBuilder;
-      this.webSocketSession = webSocketSession;
-    }
-
-    /**
-     * Marks this instance as completed.
-     */
-    public void complete() {
-      synchronized (this.monitor) {
-        this.completed = true;
-        monitor.notifyAll();
-      }
-    }
-
-    /**
-     * Checks if this instance is completed.
-     *
-     * @return <tt>true</tt> if this instance is completed, otherwise
-     *         <tt>false</tt>.
-     */
-    public boolean isCompleted() {
-      synchronized (this.monitor) {
-        return this.completed;
-      }
-    }
-
-    /**
-     * Implemented to send the progress updates periodically.
-     */
-    public void run() {
-      while (!this.isCompleted()) {
-        long now        = System.nanoTime();
-        long duration   = now - this.progressState.getStartTime();
-        long sleepTime  = (this.progressNanos - duration) / 1000000L;
-
-        // check if it is not yet time for the next progress update
-        if (sleepTime > 0) {
-          // sleep for the
-          synchronized (this.monitor) {
-            try {
-              // wait for notification or the maximum sleep time
-              this.monitor.wait(sleepTime);
-            } catch (InterruptedException ignore) {
-              // do nothing -- ignore
-            }
-          }
-
-        } else {
-          // send a progress update (if not completed)
-          this.sendProgressUpdate();
-        }
-      }
-    }
-
-    /**
-     * Sends the next progress update.
-     */
-    protected void sendProgressUpdate() {
-      synchronized (this.monitor) {
-        // check if already completed
-        if (this.isCompleted()) return;
-
-        // get the current time
-        long now = System.nanoTime();
-
-        // create the update response if there is a client expecting it
-        T update = null;
-        if (this.sseEventBuilder != null || this.webSocketSession != null) {
-          this.progressState.setStartTime(now);
-          update = this.supplier.get();
-        }
-
-        // check if sending an SSE response
-        if (this.sseEventBuilder != null) {
-          OutboundSseEvent event =
-              this.sseEventBuilder.name(PROGRESS_EVENT)
-                  .id(String.valueOf(this.progressState.nextEventId()))
-                  .mediaType(APPLICATION_JSON_TYPE)
-                  .data(update)
-                  .reconnectDelay(RECONNECT_DELAY)
-                  .build();
-          this.sseEventSink.send(event);
-        }
-
-        // check if sending a web socket response
-        if (this.webSocketSession != null) {
-          try {
-            // send the web socket message and handle exceptions
-            this.webSocketSession.getBasicRemote().sendObject(update);
-
-          } catch (RuntimeException e) {
-            e.printStackTrace();
-            throw e;
-
-          } catch (Exception e) {
-            e.printStackTrace();
-            throw new RuntimeException(e);
-          }
-        }
-      }
-    }
-  }
-
 }
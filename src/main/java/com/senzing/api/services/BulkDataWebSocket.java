@@ -4,18 +4,22 @@ import com.senzing.api.model.SzErrorResponse;
 import com.senzing.api.model.SzLinks;
 import com.senzing.api.model.SzMeta;
 import com.senzing.io.IOUtilities;
-import com.senzing.util.LoggingUtilities;
+import com.senzing.util.JsonUtils;
 import com.senzing.util.Timers;
 
+import javax.json.Json;
+import javax.json.JsonObjectBuilder;
 import javax.websocket.*;
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriInfo;
 import java.io.IOException;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
-import java.util.List;
-import java.util.Map;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static com.senzing.io.IOUtilities.UTF_8;
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN_TYPE;
@@ -31,119 +35,269 @@ public abstract class BulkDataWebSocket implements BulkDataSupport {
   /**
    * The default maximum number of seconds to wait between receiving
    * Web Socket messages from the client before triggering EOF on the
-   * incoming stream.
+   * incoming stream if the client does not send the {@linkplain
+   * #END_OF_STREAM_MESSAGE end-of-stream control message}.
    */
   public static final Long DEFAULT_EOF_SEND_TIMEOUT = 3L;
 
   /**
-   * The EOF detector thread.
+   * The text control message that the client sends to explicitly signal the
+   * end of the incoming data stream ({@value}).
    */
-  protected class EOFDetector extends Thread {
+  public static final String END_OF_STREAM_MESSAGE = "{\"control\":\"EOS\"}";
+
+  /**
+   * The number of bytes of credit granted to the client when the web socket
+   * is opened, which is also the number of bytes the server expects to have
+   * queued at most (the same as the {@linkplain #PIPE_SIZE pipe size}).
+   */
+  public static final int CREDIT_WINDOW = PIPE_SIZE;
+
+  /**
+   * The minimum number of consumed bytes to accumulate before granting
+   * additional credit to the client (2.5MB).
+   */
+  public static final int CREDIT_GRANT_THRESHOLD = CREDIT_WINDOW / 4;
+
+  /**
+   * The maximum number of bytes to queue before the web socket thread is
+   * blocked.  This only comes into play if the client ignores the credit it
+   * was granted (20MB).
+   */
+  public static final long MAX_QUEUED_BYTES = CREDIT_WINDOW * 2L;
+
+  /**
+   * The shared pool of daemon threads on which the incoming data streams are
+   * processed.  The threads are reused across web socket connections.
+   */
+  private static final ExecutorService PROCESSING_POOL
+      = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "bulk-data-web-socket");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  /**
+   * An {@link InputStream} backed by a queue of the {@link ByteBuffer} frames
+   * received from the client.  The web socket thread appends the frames
+   * without blocking (as long as the client honors its credit) and the
+   * processing thread reads them, granting the client more credit as the
+   * frames are consumed.  EOF is reached as soon as the client sends the
+   * {@linkplain #END_OF_STREAM_MESSAGE end-of-stream control message} or
+   * closes the web socket.  For clients that do not send the control message
+   * EOF is assumed once no message has been received within the EOF send
+   * timeout.
+   */
+  protected class FrameInputStream extends InputStream {
     /**
-     * Checks if this instance is completed.
+     * The queue of received frames that have not been fully read.
      */
-    protected boolean completed = false;
+    private Deque<ByteBuffer> frames = new ArrayDeque<>();
 
     /**
-     * Implemented to close the stream when we have not received in the
-     * specified timeout for the web socket thread.
+     * The number of unread bytes in the queued frames.
      */
-    public void run() {
-      long nanoTimeout = BulkDataWebSocket.this.eofSendTimeout * 1000000000L;
-
-      synchronized (BulkDataWebSocket.this) {
-        long waitTime = BulkDataWebSocket.this.eofSendTimeout * 1000L;
-        while (!this.completed
-            && BulkDataWebSocket.this.pipedOutputStream != null) {
-          // wait for a period
-          try {
-            BulkDataWebSocket.this.wait(waitTime);
-
-          } catch (InterruptedException ignore) {
-            // ignore
-          }
+    private long queuedBytes = 0L;
 
-          // check the time
-          long now = System.nanoTime();
-          long duration = (now - BulkDataWebSocket.this.lastMessageTime);
-          boolean timedOut = (duration > nanoTimeout);
-
-          if (LoggingUtilities.isDebugLogging()) {
-            if (timedOut) {
-              debugLog("Timed out waiting for input.  Assuming EOF.");
-            } else if (this.completed) {
-              debugLog("Completed reading input without timeout.  "
-                       + "EOF reached.");
-            }
-          }
-          if (this.completed || timedOut) {
-            // signal EOF
-            IOUtilities.close(BulkDataWebSocket.this.pipedOutputStream);
-            BulkDataWebSocket.this.pipedOutputStream = null;
-            BulkDataWebSocket.this.notifyAll();
-            break;
-          }
+    /**
+     * The number of bytes consumed since credit was last granted.
+     */
+    private long consumedBytes = 0L;
 
-          // now check how long to wait next time
-          waitTime = (BulkDataWebSocket.this.eofSendTimeout * 1000L);
-          waitTime -= (duration / 1000000L);
+    /**
+     * The nanosecond timestamp when the last frame was received.
+     */
+    private long lastFrameTime = System.nanoTime();
+
+    /**
+     * Flag indicating if the end of the stream has been reached.
+     */
+    private boolean endOfStream = false;
+
+    /**
+     * Flag indicating if this stream has been closed.
+     */
+    private boolean closed = false;
+
+    /**
+     * Appends the specified frame to the queue.  This only blocks if the
+     * client has sent more than {@link #MAX_QUEUED_BYTES} without the
+     * frames being consumed.
+     *
+     * @param frame The {@link ByteBuffer} frame to append.
+     *
+     * @return <tt>true</tt> if the frame was appended, or <tt>false</tt> if
+     *         the end of the stream was already reached.
+     *
+     * @throws InterruptedIOException If interrupted while blocked.
+     */
+    protected synchronized boolean append(ByteBuffer frame)
+        throws InterruptedIOException
+    {
+      while (!this.closed && !this.endOfStream
+             && this.queuedBytes >= MAX_QUEUED_BYTES)
+      {
+        try {
+          this.wait();
+        } catch (InterruptedException e) {
+          throw new InterruptedIOException(
+              "Interrupted while waiting for queued frames to be consumed.");
         }
       }
+      if (this.closed || this.endOfStream) return false;
+      this.frames.addLast(frame);
+      this.queuedBytes += frame.remaining();
+      this.lastFrameTime = System.nanoTime();
+      this.notifyAll();
+      return true;
     }
 
     /**
-     * Method to mark this instance as completed.
+     * Marks the end of the stream so that the reader gets EOF once the
+     * queued frames are consumed.
      */
-    protected void complete() {
-      synchronized (BulkDataWebSocket.this) {
-        this.completed = true;
-        BulkDataWebSocket.this.notifyAll();
-      }
+    protected synchronized void endOfStream() {
+      this.endOfStream = true;
+      this.notifyAll();
     }
-  }
 
-  /**
-   * The internal {@link Thread} used for reading the bulk data stream.
-   */
-  protected class ReaderThread extends Thread {
     /**
-     * Implemented to start the EOF detector and then defer to the {@link
-     * #doRun()} method.
+     * Checks if the end of the stream has been marked.
+     *
+     * @return <tt>true</tt> if the end of the stream has been marked,
+     *         otherwise <tt>false</tt>.
      */
-    public final void run() {
-      final BulkDataWebSocket socket = BulkDataWebSocket.this;
-
-      // defer the run
-      try {
-        // check for a failure detected during onOpen()
-        if (BulkDataWebSocket.this.openErrorResponse != null) {
-          // delay to allow the web socket to open
-          Thread.currentThread().sleep(100);
+    protected synchronized boolean isEndOfStream() {
+      return this.endOfStream;
+    }
 
-          // send the error
-          socket.session.getBasicRemote().sendObject(socket.openErrorResponse);
+    /**
+     * Gets the number of milliseconds since the last frame was received.
+     *
+     * @return The number of milliseconds since the last frame was received.
+     */
+    protected synchronized long getIdleMillis() {
+      return (System.nanoTime() - this.lastFrameTime) / 1000000L;
+    }
 
-          // close the web socket due to error
-          BulkDataWebSocket.this.onError(socket.session,
-                                         socket.openException);
+    /**
+     * Waits for a frame to be available.
+     *
+     * @return <tt>true</tt> if a frame is available, or <tt>false</tt> if
+     *         EOF has been reached.
+     *
+     * @throws InterruptedIOException If interrupted while waiting.
+     */
+    private boolean awaitFrame() throws InterruptedIOException {
+      long timeout = (BulkDataWebSocket.this.eofSendTimeout == null) ? 0L
+          : BulkDataWebSocket.this.eofSendTimeout * 1000L;
+
+      while (this.frames.isEmpty()) {
+        if (this.endOfStream || this.closed) return false;
+
+        long waitTime = 0L;
+        if (timeout > 0L) {
+          waitTime = timeout - this.getIdleMillis();
+          if (waitTime <= 0L) {
+            debugLog("Timed out waiting for input.  Assuming EOF.");
+            this.endOfStream = true;
+            return false;
+          }
         }
+        try {
+          this.wait(waitTime);
+        } catch (InterruptedException e) {
+          throw new InterruptedIOException(
+              "Interrupted while waiting for incoming frames.");
+        }
+      }
+      return true;
+    }
 
-        // call the doRun() method
-        BulkDataWebSocket.this.doRun();
+    /**
+     * Records that the specified number of bytes were consumed and returns
+     * the number of bytes of credit to grant the client once enough bytes
+     * have been consumed.  The caller should grant the credit once it is no
+     * longer synchronized on this instance.  This must be called while
+     * synchronized on this instance.
+     *
+     * @param count The number of bytes consumed.
+     *
+     * @return The number of bytes of credit to grant, or zero (0) if no
+     *         credit should be granted yet.
+     */
+    private long consumed(int count) {
+      this.queuedBytes    -= count;
+      this.consumedBytes  += count;
+      if (this.queuedBytes < MAX_QUEUED_BYTES) this.notifyAll();
+      if (this.consumedBytes < CREDIT_GRANT_THRESHOLD || this.endOfStream) {
+        return 0L;
+      }
+      long credit = this.consumedBytes;
+      this.consumedBytes = 0L;
+      return credit;
+    }
 
-      } catch (EncodeException|InterruptedException|IOException ignore) {
-        // thrown by the onError() function or pre-sleep delay -- ignore this
+    /**
+     * Grants the specified number of bytes of credit to the client if it is
+     * positive.  This must be called while <b>not</b> synchronized on this
+     * instance.
+     *
+     * @param credit The number of bytes of credit to grant.
+     */
+    private void grant(long credit) {
+      if (credit > 0L) BulkDataWebSocket.this.grantCredit(credit);
+    }
 
-      } finally {
-        // notify completion
-        BulkDataWebSocket.this.eofDetector.complete();
-        try {
-          BulkDataWebSocket.this.eofDetector.join();
+    @Override
+    public int read() throws IOException {
+      int  result;
+      long credit;
+      synchronized (this) {
+        if (!this.awaitFrame()) return -1;
+        ByteBuffer frame = this.frames.getFirst();
+        result = frame.get() & 0xFF;
+        if (!frame.hasRemaining()) this.frames.removeFirst();
+        credit = this.consumed(1);
+      }
+      this.grant(credit);
+      return result;
+    }
 
-        } catch (InterruptedException ignore) {
-          // ignore
+    @Override
+    public int read(byte[] buffer, int offset, int length)
+        throws IOException
+    {
+      Objects.checkFromIndexSize(offset, length, buffer.length);
+      if (length == 0) return 0;
+      int  count = 0;
+      long credit;
+      synchronized (this) {
+        if (!this.awaitFrame()) return -1;
+        while (count < length && !this.frames.isEmpty()) {
+          ByteBuffer frame = this.frames.getFirst();
+          int readCount = Math.min(frame.remaining(), length - count);
+          frame.get(buffer, offset + count, readCount);
+          count += readCount;
+          if (!frame.hasRemaining()) this.frames.removeFirst();
         }
+        credit = this.consumed(count);
       }
+      this.grant(credit);
+      return count;
+    }
+
+    @Override
+    public synchronized int available() {
+      return (int) Math.min(this.queuedBytes, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public synchronized void close() {
+      this.closed       = true;
+      this.queuedBytes  = 0L;
+      this.frames.clear();
+      this.notifyAll();
     }
   }
 
@@ -158,14 +312,9 @@ public abstract class BulkDataWebSocket implements BulkDataSupport {
   protected Timers timers = null;
 
   /**
-   * The {@link PipedInputStream} to attach to the {@link PipedOutputStream}.
-   */
-  protected PipedInputStream pipedInputStream = null;
-
-  /**
-   * The {@link PipedOutputStream} to attach to the {@link PipedInputStream}.
+   * The {@link FrameInputStream} on which the incoming data is read.
    */
-  protected PipedOutputStream pipedOutputStream = null;
+  protected FrameInputStream inputStream = null;
 
   /**
    * Define the progress period for reporting progress on the web socket.
@@ -177,26 +326,11 @@ public abstract class BulkDataWebSocket implements BulkDataSupport {
    */
   protected Long eofSendTimeout = DEFAULT_EOF_SEND_TIMEOUT;
 
-  /**
-   * The time in milliseconds that the last message was received.
-   */
-  protected long lastMessageTime = -1L;
-
   /**
    * The {@link UriInfo} for the request.
    */
   protected UriInfo uriInfo = null;
 
-  /**
-   * The {@link ReaderThread} used for reading the data.
-   */
-  protected ReaderThread readerThread = null;
-
-  /**
-   * The {@link EOFDetector} thread for monitoring for EOF.
-   */
-  protected EOFDetector eofDetector = null;
-
   /**
    * Flag indicating if we have started processing.
    */
@@ -205,7 +339,7 @@ public abstract class BulkDataWebSocket implements BulkDataSupport {
   /**
    * Flag indicating if we have begun shutting down.
    */
-  protected boolean closing = false;
+  protected volatile boolean closing = false;
 
   /**
    * The failure that occurred when opening the web socket.
@@ -231,7 +365,8 @@ public abstract class BulkDataWebSocket implements BulkDataSupport {
   }
 
   /**
-   * Handles opening the web socket with the specified session.
+   * Handles opening the web socket with the specified session.  The client is
+   * granted the initial {@linkplain #CREDIT_WINDOW credit} upon opening.
    *
    * @param session The {@link Session} to open the web socket with.
    * @throws IOException              If an I/O failure occurs.
@@ -243,11 +378,9 @@ public abstract class BulkDataWebSocket implements BulkDataSupport {
   {
     this.timers = newTimers();
     this.session = session;
-    this.pipedInputStream = new PipedInputStream(PIPE_SIZE);
-    this.pipedOutputStream = new PipedOutputStream(this.pipedInputStream);
+    this.inputStream = new FrameInputStream();
     this.uriInfo = this.newProxyUriInfo(this.session);
     this.started = false;
-    this.lastMessageTime = System.nanoTime();
 
     Map<String, List<String>> params = this.session.getRequestParameterMap();
 
@@ -289,17 +422,101 @@ public abstract class BulkDataWebSocket implements BulkDataSupport {
       }
     }
 
-    // create the EOF thread
-    this.readerThread = new ReaderThread();
-    this.eofDetector = new EOFDetector();
-    this.eofDetector.start();
-
     // check if we had an exception
     if (this.openErrorResponse != null) {
-      this.readerThread.start();
+      this.startProcessing();
+    } else {
+      this.grantCredit(CREDIT_WINDOW);
     }
   }
 
+  /**
+   * Starts processing the incoming data on a thread from the shared pool if
+   * not already started.
+   */
+  protected synchronized void startProcessing() {
+    if (this.started) return;
+    this.started = true;
+    PROCESSING_POOL.execute(this::process);
+  }
+
+  /**
+   * Sends the initial error response (if any) and then defers to the
+   * {@link #doRun()} method.  This is run on a thread from the shared pool.
+   */
+  private void process() {
+    try {
+      // check for a failure detected during onOpen()
+      if (this.openErrorResponse != null) {
+        // delay to allow the web socket to open
+        Thread.sleep(100);
+
+        // send the error
+        Session session = this.session;
+        SzErrorResponse response = this.openErrorResponse;
+        SerialSender.forSession(session).send(
+            () -> session.getBasicRemote().sendObject(response));
+
+        // close the web socket due to error
+        this.onError(this.session, this.openException);
+      }
+
+      // call the doRun() method
+      this.doRun();
+
+    } catch (RuntimeException e) {
+      throw e;
+
+    } catch (Exception ignore) {
+      // thrown by sending the error, the onError() function or pre-sleep
+      // delay -- ignore this
+    }
+  }
+
+  /**
+   * Grants the client credit to send the specified number of additional
+   * bytes.  The grant is queued as a text message of the form
+   * <tt>{"control":"CREDIT","bytes":[byteCount]}</tt> on the {@link
+   * SerialSender} for the session so that it is not sent concurrently with
+   * the other messages on the session and the caller does not wait for it
+   * to be sent.
+   *
+   * @param byteCount The number of additional bytes the client may send.
+   */
+  protected void grantCredit(long byteCount) {
+    Session session = this.session;
+    if (session == null || !session.isOpen() || this.closing) return;
+    JsonObjectBuilder job = Json.createObjectBuilder();
+    job.add("control", "CREDIT");
+    job.add("bytes", byteCount);
+    String text = JsonUtils.toJsonText(job);
+    SerialSender.forSession(session).submit(
+        () -> session.getBasicRemote().sendText(text)
+    ).whenComplete((result, failure) -> {
+      if (failure != null && session.isOpen()) failure.printStackTrace();
+    });
+  }
+
+  /**
+   * Appends the specified frame to the {@link FrameInputStream}.
+   *
+   * @param frame The {@link ByteBuffer} frame to append.
+   * @throws IOException If an I/O failure occurs.
+   */
+  private void appendFrame(ByteBuffer frame) throws IOException {
+    FrameInputStream stream = this.inputStream;
+    if (stream != null && stream.append(frame)) return;
+
+    // if session closed, ignore the message
+    if (!this.session.isOpen() || this.closing) return;
+
+    // if session is not closed then throw an exception
+    throw new IllegalStateException(
+        "Input stream has already reached EOF: "
+            + ((stream == null) ? "" : (stream.getIdleMillis() + "ms "))
+            + "since last message");
+  }
+
   /**
    * Handles an incoming binary message that is treated as a chunk of the
    * bulk data file.
@@ -308,7 +525,7 @@ public abstract class BulkDataWebSocket implements BulkDataSupport {
    * @throws IOException If an I/O failure occurs.
    */
   @OnMessage
-  public synchronized void onMessage(byte[] bytes) throws IOException {
+  public void onMessage(byte[] bytes) throws IOException {
     debugLog("Binary web socket message received (" + bytes.length
                  + " bytes): "
                  + this.uriInfo.getRequestUri().toString(),
@@ -316,42 +533,22 @@ public abstract class BulkDataWebSocket implements BulkDataSupport {
              new String(bytes, UTF_8),
              "-----------------------------------");
 
-    long now = System.nanoTime();
-    if (this.pipedOutputStream == null) {
-      // if session closed, ignore the message
-      if (!this.session.isOpen() || this.closing) return;
-
-      // if session is not closed then throw an exception
-      throw new IllegalStateException(
-          "Output stream is already closed: "
-              + ((now - this.lastMessageTime) / 1000000L)
-              + "ms since last message");
-    }
-
-
-    // check if started, and if not then start the thread
-    if (!this.started) {
-      this.started = true;
-      this.readerThread.start();
-    }
+    // check if started, and if not then start processing
+    this.startProcessing();
 
-    if (this.pipedOutputStream != null) {
-      this.pipedOutputStream.write(bytes);
-      this.pipedOutputStream.flush();
-    }
-    this.lastMessageTime = System.nanoTime();
-    this.notifyAll();
+    this.appendFrame(ByteBuffer.wrap(bytes));
   }
 
   /**
    * Handles an incoming text message that is treated as a chunk of the
-   * bulk data file.
+   * bulk data file unless it is the {@linkplain #END_OF_STREAM_MESSAGE
+   * end-of-stream control message}.
    *
    * @param text The text of the incoming message.
    * @throws IOException If an I/O failure occurs.
    */
   @OnMessage
-  public synchronized void onMessage(String text) throws IOException {
+  public void onMessage(String text) throws IOException {
     debugLog("Text web socket message received (" + text.length()
                  + " characters): "
                  + this.uriInfo.getRequestUri().toString(),
@@ -359,29 +556,24 @@ public abstract class BulkDataWebSocket implements BulkDataSupport {
              text,
              "-----------------------------------");
 
-    long now = System.nanoTime();
-    if (this.pipedOutputStream == null) {
-      if (!this.session.isOpen() || this.closing) return;
-      throw new IllegalStateException(
-          "Output stream is already closed: "
-              + ((now - this.lastMessageTime) / 1000000L)
-              + "ms since last message");
+    // check for the end-of-stream control message
+    if (END_OF_STREAM_MESSAGE.equals(text.trim())) {
+      debugLog("End-of-stream message received.  EOF reached.");
+      this.startProcessing();
+      this.inputStream.endOfStream();
+      return;
     }
 
-    // check if started, and if not then start the thread
-    if (!this.started) {
-      // text is being sent so set the media type to use UTF-8 charset
-      this.mediaType = TEXT_PLAIN_UTF8_TYPE;
-      this.started = true;
-      this.readerThread.start();
+    // check if started, and if not then start processing
+    synchronized (this) {
+      if (!this.started) {
+        // text is being sent so set the media type to use UTF-8 charset
+        this.mediaType = TEXT_PLAIN_UTF8_TYPE;
+        this.startProcessing();
+      }
     }
 
-    if (this.pipedOutputStream != null) {
-      this.pipedOutputStream.write(text.getBytes(UTF_8));
-      this.pipedOutputStream.flush();
-    }
-    this.lastMessageTime = System.nanoTime();
-    this.notifyAll();
+    this.appendFrame(ByteBuffer.wrap(text.getBytes(UTF_8)));
   }
 
   /**
@@ -391,10 +583,9 @@ public abstract class BulkDataWebSocket implements BulkDataSupport {
    * @throws IOException If an I/O failure occurs.
    */
   @OnClose
-  public synchronized void onClose(Session session) throws IOException {
-    IOUtilities.close(this.pipedOutputStream);
-    this.pipedOutputStream = null;
-    this.notifyAll();
+  public void onClose(Session session) throws IOException {
+    FrameInputStream stream = this.inputStream;
+    if (stream != null) stream.endOfStream();
   }
 
   /**
@@ -405,18 +596,20 @@ public abstract class BulkDataWebSocket implements BulkDataSupport {
    * @throws IOException If an I/O failure occurs.
    */
   @OnError
-  public synchronized void onError(Session session, Throwable throwable)
+  public void onError(Session session, Throwable throwable)
       throws IOException {
     throwable.printStackTrace();
-    IOUtilities.close(this.pipedOutputStream);
-    this.pipedOutputStream = null;
+    FrameInputStream stream = this.inputStream;
+    if (stream != null) stream.endOfStream();
 
     CloseReason.CloseCode closeCode
         = (throwable instanceof BadRequestException)
         ? CloseReason.CloseCodes.PROTOCOL_ERROR
         : CloseReason.CloseCodes.UNEXPECTED_CONDITION;
 
-    this.closing = true;
+    synchronized (this) {
+      this.closing = true;
+    }
     this.session.close(new CloseReason(closeCode, throwable.getMessage()));
   }
 
@@ -432,18 +625,15 @@ public abstract class BulkDataWebSocket implements BulkDataSupport {
     try {
       synchronized (this) {
         this.closing = true;
-        this.session.close();
       }
+      this.session.close();
+
     } catch (IOException e) {
       e.printStackTrace();
       throw new RuntimeException(e);
-    }
-    synchronized (this) {
-      IOUtilities.close(this.pipedInputStream);
-      IOUtilities.close(this.pipedOutputStream);
-      this.pipedInputStream = null;
-      this.pipedOutputStream = null;
-      this.notifyAll();
+
+    } finally {
+      IOUtilities.close(this.inputStream);
     }
   }
 }
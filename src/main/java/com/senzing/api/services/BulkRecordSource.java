@@ -0,0 +1,408 @@
+package com.senzing.api.services;
+
+import com.senzing.io.RecordReader;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.senzing.api.services.BulkDataSupport.BulkDataSet;
+import static com.senzing.api.services.BulkDataSupport.SAMPLE_BUFFER_SIZE;
+
+/**
+ * Reads the records from a {@link BulkDataSet}.  If the bulk data set has a
+ * single part then the records are read on the calling thread.  If it has
+ * multiple parts then the parts are decompressed and parsed in parallel on
+ * background threads that feed the records through a bounded queue, so the
+ * records from different parts are interleaved.
+ */
+public class BulkRecordSource implements Closeable {
+  /**
+   * The number of records that may be queued by the background threads for
+   * a multi-part bulk data set ({@value}).
+   */
+  public static final int QUEUE_CAPACITY = 1000;
+
+  /**
+   * The sentinel that each background thread queues when done.
+   */
+  private static final JsonObject END_OF_PART_RECORDS
+      = Json.createObjectBuilder().build();
+
+  /**
+   * The backing {@link BulkDataSet}.
+   */
+  private BulkDataSet bulkDataSet;
+
+  /**
+   * The {@link RecordReader.Format} for the records.
+   */
+  private RecordReader.Format format;
+
+  /**
+   * The {@link Map} of data source codes to map the records to.
+   */
+  private Map<String, String> dataSourceMap;
+
+  /**
+   * The {@link Map} of entity types to map the records to.
+   */
+  private Map<String, String> entityTypeMap;
+
+  /**
+   * The load ID for the records.
+   */
+  private String loadId;
+
+  /**
+   * The uncompressed {@link InputStream} for a single-part bulk data set.
+   */
+  private InputStream inputStream = null;
+
+  /**
+   * The {@link BufferedReader} for a single-part bulk data set.
+   */
+  private BufferedReader reader = null;
+
+  /**
+   * The {@link RecordReader} for a single-part bulk data set.
+   */
+  private RecordReader recordReader = null;
+
+  /**
+   * The {@link List} of {@link Reader} instances opened for the parts of a
+   * multi-part bulk data set.
+   */
+  private final List<Reader> partReaders
+      = Collections.synchronizedList(new LinkedList<>());
+
+  /**
+   * The background threads for a multi-part bulk data set.
+   */
+  private List<Thread> producers = null;
+
+  /**
+   * The number of background threads that have not yet finished.
+   */
+  private int activeProducers = 0;
+
+  /**
+   * The index of the next part to be read by a background thread.
+   */
+  private final AtomicInteger nextPart = new AtomicInteger(1);
+
+  /**
+   * The queue of records read by the background threads.
+   */
+  private BlockingQueue<JsonObject> queue = null;
+
+  /**
+   * The first failure encountered by a background thread.
+   */
+  private final AtomicReference<Exception> failure
+      = new AtomicReference<>(null);
+
+  /**
+   * Flag indicating if this instance has been closed.
+   */
+  private volatile boolean closed = false;
+
+  /**
+   * Constructs with the specified parameters.  If the raw lines flag is
+   * <tt>true</tt> then the bulk data set must have a single part and the
+   * lines are read via {@link #readLine()} rather than parsing records.
+   *
+   * @param bulkDataSet The {@link BulkDataSet} to read from.
+   * @param rawLines <tt>true</tt> if reading raw lines, otherwise
+   *                 <tt>false</tt>.
+   * @param dataSourceMap The {@link Map} of data source codes to map the
+   *                      records to, or <tt>null</tt> if not mapping.
+   * @param entityTypeMap The {@link Map} of entity types to map the records
+   *                      to, or <tt>null</tt> if not mapping.
+   * @param loadId The load ID for the records, or <tt>null</tt> if none.
+   *
+   * @throws IOException If an I/O failure occurs.
+   * @throws IllegalArgumentException If reading raw lines from a multi-part
+   *                                  bulk data set.
+   */
+  public BulkRecordSource(BulkDataSet         bulkDataSet,
+                          boolean             rawLines,
+                          Map<String, String> dataSourceMap,
+                          Map<String, String> entityTypeMap,
+                          String              loadId)
+    throws IOException
+  {
+    int partCount = bulkDataSet.getPartCount();
+    if (rawLines && partCount > 1) {
+      throw new IllegalArgumentException(
+          "Cannot read raw lines from a multi-part bulk data set.");
+    }
+    this.bulkDataSet    = bulkDataSet;
+    this.format         = bulkDataSet.getFormat();
+    this.dataSourceMap  = dataSourceMap;
+    this.entityTypeMap  = entityTypeMap;
+    this.loadId         = loadId;
+
+    if (partCount == 1) {
+      this.inputStream = bulkDataSet.getInputStream(true);
+      this.reader = new BufferedReader(new InputStreamReader(
+          this.inputStream, bulkDataSet.getCharacterEncoding()));
+      if (!rawLines) {
+        // if format is null then RecordReader will auto-detect
+        this.recordReader = this.newRecordReader(this.reader);
+        this.format       = this.recordReader.getFormat();
+      }
+      return;
+    }
+
+    // open the first part up front so the format is known for the others
+    RecordReader firstReader = this.openPart(0);
+    this.format = firstReader.getFormat();
+
+    int threadCount = Math.min(
+        partCount, Runtime.getRuntime().availableProcessors());
+    this.queue            = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    this.producers        = new ArrayList<>(threadCount);
+    this.activeProducers  = threadCount;
+    for (int index = 0; index < threadCount; index++) {
+      RecordReader initialReader = (index == 0) ? firstReader : null;
+      Thread thread = new Thread(() -> this.produceRecords(initialReader),
+                                 "bulk-data-part-" + index);
+      thread.setDaemon(true);
+      this.producers.add(thread);
+    }
+    for (Thread thread : this.producers) {
+      thread.start();
+    }
+  }
+
+  /**
+   * Creates a new {@link RecordReader} for the specified {@link
+   * BufferedReader} with the format, mappings and load ID for this instance.
+   *
+   * @param br The {@link BufferedReader} to read from.
+   *
+   * @return The new {@link RecordReader}.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  private RecordReader newRecordReader(BufferedReader br) throws IOException
+  {
+    if (this.dataSourceMap == null && this.entityTypeMap == null
+        && this.loadId == null)
+    {
+      return new RecordReader(this.format, br);
+    }
+    return new RecordReader(this.format,
+                            br,
+                            this.dataSourceMap,
+                            this.entityTypeMap,
+                            this.loadId);
+  }
+
+  /**
+   * Opens the part of the bulk data set at the specified index and returns
+   * a {@link RecordReader} for reading its records.
+   *
+   * @param part The zero-based index of the part.
+   *
+   * @return The {@link RecordReader} for reading the records of the part.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  private RecordReader openPart(int part) throws IOException {
+    InputStream is = this.bulkDataSet.getInputStream(part, true);
+    BufferedReader br = new BufferedReader(new InputStreamReader(
+        is, this.bulkDataSet.getCharacterEncoding()));
+    this.partReaders.add(br);
+    return this.newRecordReader(br);
+  }
+
+  /**
+   * Reads the records from the specified {@link RecordReader} (if not
+   * <tt>null</tt>) and then from the remaining unclaimed parts, putting
+   * them on the queue until all parts have been read or this instance is
+   * closed.  This is run on a background thread.
+   *
+   * @param initialReader The {@link RecordReader} for the first part to
+   *                      read, or <tt>null</tt> if none.
+   */
+  private void produceRecords(RecordReader initialReader) {
+    int partCount = this.bulkDataSet.getPartCount();
+    try {
+      RecordReader partReader = initialReader;
+      while (!this.closed) {
+        // check if we need to claim the next part
+        if (partReader == null) {
+          int part = this.nextPart.getAndIncrement();
+          if (part >= partCount) break;
+          partReader = this.openPart(part);
+        }
+        JsonObject record = partReader.readRecord();
+        if (record == null) {
+          partReader = null;
+          continue;
+        }
+        this.queue.put(record);
+      }
+
+    } catch (InterruptedException ignore) {
+      // closed while waiting on the queue
+
+    } catch (Exception e) {
+      this.failure.compareAndSet(null, e);
+
+    } finally {
+      if (!this.closed) {
+        try {
+          this.queue.put(END_OF_PART_RECORDS);
+        } catch (InterruptedException ignore) {
+          // ignore
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the {@link RecordReader.Format} of the records (possibly
+   * auto-detected).
+   *
+   * @return The {@link RecordReader.Format} of the records.
+   */
+  public RecordReader.Format getFormat() {
+    return this.format;
+  }
+
+  /**
+   * Reads the next record from the bulk data set.
+   *
+   * @return The next record, or <tt>null</tt> if no records remain.
+   *
+   * @throws IOException If an I/O failure occurs.
+   * @throws IllegalStateException If reading raw lines.
+   */
+  public JsonObject readRecord() throws IOException {
+    if (this.recordReader != null) return this.recordReader.readRecord();
+    if (this.producers == null) {
+      throw new IllegalStateException(
+          "Cannot read records when reading raw lines.");
+    }
+    while (this.activeProducers > 0) {
+      JsonObject record;
+      try {
+        record = this.queue.take();
+      } catch (InterruptedException e) {
+        throw new InterruptedIOException(
+            "Interrupted while waiting for the next record.");
+      }
+      if (record != END_OF_PART_RECORDS) return record;
+      this.activeProducers--;
+
+      // check if the background thread failed
+      Exception e = this.failure.get();
+      if (e instanceof IOException) throw ((IOException) e);
+      if (e instanceof RuntimeException) throw ((RuntimeException) e);
+      if (e != null) throw new IOException(e);
+    }
+    return null;
+  }
+
+  /**
+   * Reads the next raw line from a single-part bulk data set.
+   *
+   * @return The next line, or <tt>null</tt> if no lines remain.
+   *
+   * @throws IOException If an I/O failure occurs.
+   * @throws IllegalStateException If the bulk data set has multiple parts.
+   */
+  public String readLine() throws IOException {
+    if (this.reader == null) {
+      throw new IllegalStateException(
+          "Cannot read raw lines from a multi-part bulk data set.");
+    }
+    return this.reader.readLine();
+  }
+
+  /**
+   * Gets the number of uncompressed bytes read from the bulk data set.  For
+   * a multi-part bulk data set this includes the bytes read for records that
+   * are queued but not yet returned.
+   *
+   * @return The number of uncompressed bytes read from the bulk data set.
+   */
+  public long getByteCount() {
+    return this.bulkDataSet.getUncompressedByteCount();
+  }
+
+  /**
+   * Determines the number of uncompressed bytes that remain to be read from
+   * the bulk data set.  For a single-part bulk data set the remaining bytes
+   * are read and discarded from the underlying stream, bypassing the bytes
+   * already buffered by the reader.  For a multi-part bulk data set the
+   * remaining bytes are computed from the known uncompressed size without
+   * reading them, or zero (0) is returned if the size is not known.
+   *
+   * @return The number of uncompressed bytes that remain.
+   *
+   * @throws IOException If an I/O failure occurs.
+   */
+  public long drain() throws IOException {
+    if (this.inputStream == null) {
+      long size = this.bulkDataSet.getUncompressedSize();
+      return (size < 0L) ? 0L : Math.max(0L, size - this.getByteCount());
+    }
+    long    count   = 0L;
+    byte[]  buffer  = new byte[SAMPLE_BUFFER_SIZE];
+    for (int length = this.inputStream.read(buffer);
+         length >= 0;
+         length = this.inputStream.read(buffer))
+    {
+      count += length;
+    }
+    return count;
+  }
+
+  /**
+   * Stops any background threads and closes the readers.
+   */
+  @Override
+  public void close() {
+    this.closed = true;
+    if (this.producers != null) {
+      for (Thread thread : this.producers) {
+        thread.interrupt();
+      }
+      for (Thread thread : this.producers) {
+        try {
+          thread.join();
+        } catch (InterruptedException ignore) {
+          // ignore
+        }
+      }
+    }
+    List<Reader> readers = new ArrayList<>(this.partReaders);
+    if (this.reader != null) readers.add(this.reader);
+    for (Reader reader : readers) {
+      try {
+        reader.close();
+      } catch (IOException ignore) {
+        // ignore
+      }
+    }
+  }
+}
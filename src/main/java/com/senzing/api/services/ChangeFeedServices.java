@@ -0,0 +1,236 @@
+package com.senzing.api.services;
+
+import com.senzing.util.JsonUtils;
+import com.senzing.util.Timers;
+
+import javax.json.Json;
+import javax.json.JsonObjectBuilder;
+import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.sse.OutboundSseEvent;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static com.senzing.api.model.SzHttpMethod.GET;
+import static com.senzing.api.services.BulkDataSupport.RECONNECT_DELAY;
+import static javax.ws.rs.core.HttpHeaders.LAST_EVENT_ID_HEADER;
+import static javax.ws.rs.core.MediaType.*;
+
+/**
+ * Change feed REST services that push the info messages produced when
+ * records are loaded, deleted or re-evaluated to subscribers so they do not
+ * need to poll for changes.
+ */
+@Path("/changes")
+public class ChangeFeedServices implements ServicesSupport {
+  /**
+   * SSE event type string for the events carrying an info message.
+   */
+  public static final String CHANGE_EVENT = "change";
+
+  /**
+   * SSE event type string for the event sent when the subscriber is evicted
+   * because it fell too far behind or the feed was closed.
+   */
+  public static final String EVICTED_EVENT = "evicted";
+
+  /**
+   * SSE event type string for the event sent when the subscription could not
+   * be started.
+   */
+  public static final String FAILED_EVENT = "failed";
+
+  /**
+   * Provides a {@link SzChangeFeed.Subscriber} that sends the info messages
+   * as SSE events.  The ID of each event is the sequence number of the info
+   * message so that a reconnecting client resumes where it left off via the
+   * <tt>Last-Event-ID</tt> header.
+   */
+  protected static class SseSubscriber implements SzChangeFeed.Subscriber {
+    /**
+     * The {@link SzChangeFeed} being subscribed to.
+     */
+    private SzChangeFeed changeFeed;
+
+    /**
+     * The {@link SseEventSink} to send the events to.
+     */
+    private SseEventSink sseEventSink;
+
+    /**
+     * The {@link Sse} for building the events.
+     */
+    private Sse sse;
+
+    /**
+     * Constructs with the specified parameters.
+     *
+     * @param changeFeed The {@link SzChangeFeed} being subscribed to.
+     * @param sseEventSink The {@link SseEventSink} to send the events to.
+     * @param sse The {@link Sse} for building the events.
+     */
+    protected SseSubscriber(SzChangeFeed  changeFeed,
+                            SseEventSink  sseEventSink,
+                            Sse           sse)
+    {
+      this.changeFeed   = changeFeed;
+      this.sseEventSink = sseEventSink;
+      this.sse          = sse;
+    }
+
+    @Override
+    public CompletionStage<?> deliver(long sequence, String info) {
+      if (this.sseEventSink.isClosed()) {
+        return CompletableFuture.failedFuture(
+            new IllegalStateException("The SSE event sink is closed."));
+      }
+      OutboundSseEvent event = this.sse.newEventBuilder()
+          .name(CHANGE_EVENT)
+          .id(String.valueOf(sequence))
+          .mediaType(APPLICATION_JSON_TYPE)
+          .data(String.class, info)
+          .reconnectDelay(RECONNECT_DELAY)
+          .build();
+      return this.sseEventSink.send(event);
+    }
+
+    /**
+     * Sends the {@link #EVICTED_EVENT} and closes the {@link SseEventSink}.
+     * The ID of the event is the sequence number of the most recent info
+     * message so that a client that reconnects does not resume from info
+     * messages that are no longer retained.
+     *
+     * @param lastSequence The sequence number of the last info message that
+     *                     was delivered.
+     * @param reason The reason the subscription was ended.
+     */
+    @Override
+    public void evicted(long lastSequence, String reason) {
+      if (this.sseEventSink.isClosed()) return;
+      JsonObjectBuilder job = Json.createObjectBuilder();
+      job.add("lastSequence", lastSequence);
+      job.add("reason", reason);
+      OutboundSseEvent event = this.sse.newEventBuilder()
+          .name(EVICTED_EVENT)
+          .id(String.valueOf(this.changeFeed.getLastSequence()))
+          .mediaType(APPLICATION_JSON_TYPE)
+          .data(String.class, JsonUtils.toJsonText(job))
+          .reconnectDelay(RECONNECT_DELAY)
+          .build();
+      this.sseEventSink.send(event).whenComplete(
+          (result, failure) -> this.sseEventSink.close());
+    }
+  }
+
+  /**
+   * Streams the info messages to the client as SSE events.  Each info
+   * message is sent as a {@link #CHANGE_EVENT} whose ID is its sequence
+   * number.  If the client falls so far behind that the info messages it has
+   * yet to receive are no longer retained then an {@link #EVICTED_EVENT} is
+   * sent and the stream is closed so the client can resynchronize.
+   *
+   * @param dataSources The data source codes for the info messages to
+   *                    stream, or empty for all data sources.
+   * @param since The sequence number of the last info message already
+   *              received, or <tt>null</tt> if not resuming.
+   * @param lastEventId The value of the <tt>Last-Event-ID</tt> header sent
+   *                    by a reconnecting client, or <tt>null</tt> if none.
+   *                    This is ignored if <tt>since</tt> is specified.
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @param sseEventSink The {@link SseEventSink} for the SSE protocol.
+   * @param sse The {@link Sse} instance for the SSE protocol.
+   */
+  @GET
+  @Produces(SERVER_SENT_EVENTS)
+  public void streamChanges(
+      @QueryParam("dataSource") List<String> dataSources,
+      @QueryParam("since") Long since,
+      @HeaderParam(LAST_EVENT_ID_HEADER) String lastEventId,
+      @Context UriInfo uriInfo,
+      @Context SseEventSink sseEventSink,
+      @Context Sse sse)
+  {
+    Timers timers = this.newTimers();
+    try {
+      SzChangeFeed changeFeed = this.getChangeFeed(uriInfo, timers);
+
+      Long afterSequence = since;
+      if (afterSequence == null && lastEventId != null
+          && lastEventId.trim().length() > 0)
+      {
+        try {
+          afterSequence = Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+          throw this.newBadRequestException(
+              GET, uriInfo, timers,
+              "The Last-Event-ID header must be an integer sequence number: "
+                  + lastEventId);
+        }
+      }
+
+      changeFeed.subscribe(toDataSourceSet(dataSources),
+                           afterSequence,
+                           new SseSubscriber(changeFeed, sseEventSink, sse));
+
+    } catch (WebApplicationException e) {
+      OutboundSseEvent event = sse.newEventBuilder()
+          .name(FAILED_EVENT)
+          .id(String.valueOf(0))
+          .mediaType(APPLICATION_JSON_TYPE)
+          .data(e.getResponse().getEntity())
+          .reconnectDelay(RECONNECT_DELAY)
+          .build();
+      sseEventSink.send(event).whenComplete(
+          (result, failure) -> sseEventSink.close());
+    }
+  }
+
+  /**
+   * Gets the {@link SzChangeFeed} from the {@link SzApiProvider}, throwing a
+   * {@link ServiceUnavailableException} if the change feed is not enabled.
+   *
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @param timers The {@link Timers} for the request.
+   *
+   * @return The {@link SzChangeFeed} from the {@link SzApiProvider}.
+   *
+   * @throws ServiceUnavailableException If the change feed is not enabled.
+   */
+  protected SzChangeFeed getChangeFeed(UriInfo uriInfo, Timers timers)
+      throws ServiceUnavailableException
+  {
+    SzChangeFeed changeFeed = this.getApiProvider().getChangeFeed();
+    if (changeFeed == null) {
+      throw this.newServiceUnavailableErrorException(
+          GET, uriInfo, timers,
+          "The change feed is not enabled.  The server must be started "
+              + "with a positive change feed capacity.");
+    }
+    return changeFeed;
+  }
+
+  /**
+   * Converts the specified {@link List} of data source codes to a {@link Set}
+   * of data source codes for subscribing to the {@link SzChangeFeed}.
+   *
+   * @param dataSources The {@link List} of data source codes, or
+   *                    <tt>null</tt> if none.
+   *
+   * @return The {@link Set} of data source codes, or <tt>null</tt> if none.
+   */
+  protected static Set<String> toDataSourceSet(List<String> dataSources) {
+    if (dataSources == null || dataSources.size() == 0) return null;
+    Set<String> result = new LinkedHashSet<>();
+    for (String dataSource : dataSources) {
+      if (dataSource == null || dataSource.trim().length() == 0) continue;
+      result.add(dataSource.trim().toUpperCase());
+    }
+    return (result.size() == 0) ? null : result;
+  }
+}
@@ -0,0 +1,183 @@
+package com.senzing.api.services;
+
+import com.senzing.api.websocket.JsonEncoder;
+import com.senzing.util.JsonUtils;
+import com.senzing.util.Timers;
+
+import javax.json.Json;
+import javax.json.JsonObjectBuilder;
+import javax.websocket.*;
+import javax.websocket.server.ServerEndpoint;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.UriInfo;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static com.senzing.api.model.SzHttpMethod.GET;
+import static com.senzing.api.services.ChangeFeedServices.*;
+
+/**
+ * Provides a web socket implementation of the change feed that pushes the
+ * info messages produced when records are loaded, deleted or re-evaluated to
+ * the client.  Each info message is sent as a text message of the form
+ * <tt>{"event":"change","sequence":[sequence],"info":{...}}</tt>.  If the
+ * client falls so far behind that the info messages it has yet to receive are
+ * no longer retained then a text message of the form
+ * <tt>{"event":"evicted","lastSequence":[sequence],"reason":"..."}</tt> is
+ * sent and the web socket is closed.  The <tt>dataSource</tt> and
+ * <tt>since</tt> query parameters are the same as for the SSE variant.
+ */
+@ServerEndpoint(value="/changes", encoders = JsonEncoder.class)
+public class ChangeFeedWebSocket implements ServicesSupport {
+  /**
+   * The web socket {@link Session}.
+   */
+  protected Session session;
+
+  /**
+   * The {@link SzChangeFeed.Subscription} for the web socket, or
+   * <tt>null</tt> if not subscribed.
+   */
+  protected SzChangeFeed.Subscription subscription;
+
+  /**
+   * Provides a {@link SzChangeFeed.Subscriber} that sends the info messages
+   * as web socket text messages.
+   */
+  protected class WebSocketSubscriber implements SzChangeFeed.Subscriber {
+    @Override
+    public CompletionStage<?> deliver(long sequence, String info) {
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      Session session = ChangeFeedWebSocket.this.session;
+      if (!session.isOpen()) {
+        future.completeExceptionally(
+            new IllegalStateException("The web socket is closed."));
+        return future;
+      }
+      String text = "{\"event\":\"" + CHANGE_EVENT + "\",\"sequence\":"
+          + sequence + ",\"info\":" + info + "}";
+      session.getAsyncRemote().sendText(text, result -> {
+        if (result.isOK()) {
+          future.complete(null);
+        } else {
+          future.completeExceptionally(result.getException());
+        }
+      });
+      return future;
+    }
+
+    @Override
+    public void evicted(long lastSequence, String reason) {
+      Session session = ChangeFeedWebSocket.this.session;
+      if (!session.isOpen()) return;
+      JsonObjectBuilder job = Json.createObjectBuilder();
+      job.add("event", EVICTED_EVENT);
+      job.add("lastSequence", lastSequence);
+      job.add("reason", reason);
+      session.getAsyncRemote().sendText(JsonUtils.toJsonText(job), result -> {
+        try {
+          session.close(new CloseReason(
+              CloseReason.CloseCodes.TRY_AGAIN_LATER, EVICTED_EVENT));
+        } catch (IOException ignore) {
+          // the session may already be closed
+        }
+      });
+    }
+  }
+
+  /**
+   * Default constructor.
+   */
+  public ChangeFeedWebSocket() {
+    // do nothing
+  }
+
+  /**
+   * Handles opening the web socket by subscribing to the change feed.  If the
+   * change feed is not enabled or the parameters are invalid then an error
+   * response is sent and the web socket is closed.
+   *
+   * @param session The {@link Session} to open the web socket with.
+   * @throws IOException If an I/O failure occurs.
+   */
+  @OnOpen
+  public synchronized void onOpen(Session session) throws IOException {
+    this.session = session;
+    Timers  timers  = this.newTimers();
+    UriInfo uriInfo = this.newProxyUriInfo(session);
+
+    Map<String, List<String>> params = session.getRequestParameterMap();
+    try {
+      Long afterSequence = null;
+      List<String> paramValues = params.get("since");
+      if (paramValues != null && paramValues.size() > 0) {
+        try {
+          afterSequence = Long.parseLong(paramValues.get(0));
+        } catch (NumberFormatException e) {
+          throw this.newBadRequestException(
+              GET, uriInfo, timers,
+              "The specified sequence number (since) must be an integer: "
+                  + paramValues.get(0));
+        }
+      }
+
+      SzChangeFeed changeFeed = this.getApiProvider().getChangeFeed();
+      if (changeFeed == null) {
+        throw this.newServiceUnavailableErrorException(
+            GET, uriInfo, timers,
+            "The change feed is not enabled.  The server must be started "
+                + "with a positive change feed capacity.");
+      }
+
+      this.subscription = changeFeed.subscribe(
+          toDataSourceSet(params.get("dataSource")),
+          afterSequence,
+          new WebSocketSubscriber());
+
+    } catch (WebApplicationException e) {
+      try {
+        session.getBasicRemote().sendObject(e.getResponse().getEntity());
+
+      } catch (EncodeException ignore) {
+        // the close reason still describes the failure
+      }
+      session.close(new CloseReason(
+          CloseReason.CloseCodes.CANNOT_ACCEPT, e.getMessage()));
+    }
+  }
+
+  /**
+   * Handles the closing of the web socket by cancelling the subscription.
+   *
+   * @param session The web socket session that is being closed.
+   */
+  @OnClose
+  public synchronized void onClose(Session session) {
+    if (this.subscription != null) this.subscription.cancel();
+  }
+
+  /**
+   * Handles the occurrence of an error on the web socket by cancelling the
+   * subscription and closing the web socket.
+   *
+   * @param session The web socket session that is being closed.
+   * @param throwable The exception that occurred.
+   * @throws IOException If an I/O failure occurs.
+   */
+  @OnError
+  public void onError(Session session, Throwable throwable)
+      throws IOException
+  {
+    synchronized (this) {
+      if (this.subscription != null) this.subscription.cancel();
+    }
+    if (session.isOpen()) {
+      session.close(new CloseReason(
+          CloseReason.CloseCodes.UNEXPECTED_CONDITION,
+          throwable.getMessage()));
+    }
+  }
+}
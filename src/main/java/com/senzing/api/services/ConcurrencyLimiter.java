@@ -0,0 +1,283 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzConcurrencySample;
+import com.senzing.api.model.SzLoadConcurrency;
+
+import java.util.LinkedList;
+
+import static com.senzing.api.services.BulkDataSupport.AddRecordResult;
+
+/**
+ * Limits the number of records a bulk load has in flight to a window that
+ * is adapted between a minimum and maximum using additive increase and
+ * multiplicative decrease.  The latency and outcome of each loaded record
+ * is observed and after each window of observations the limit grows by one
+ * if the average latency is within {@link #LATENCY_TOLERANCE} times the
+ * baseline latency and the failure rate is within {@link #MAX_FAILURE_RATE},
+ * otherwise it shrinks by {@link #DECREASE_FACTOR}.  The baseline latency is
+ * the lowest windowed average latency observed, but it is allowed to drift
+ * upward by {@link #BASELINE_DRIFT} per window so that a transient low does
+ * not pin it.  Records skipped because they are unchanged are not observed
+ * since they never reach the engine.  If the minimum and maximum are equal
+ * then the limit is fixed.
+ */
+public class ConcurrencyLimiter {
+  /**
+   * The minimum number of observations in each window ({@value}).
+   */
+  public static final int MIN_WINDOW_SIZE = 20;
+
+  /**
+   * The multiple of the baseline latency beyond which the average latency
+   * of a window causes the limit to shrink ({@value}).
+   */
+  public static final double LATENCY_TOLERANCE = 2.0;
+
+  /**
+   * The fraction of failed records in a window beyond which the limit
+   * shrinks ({@value}).
+   */
+  public static final double MAX_FAILURE_RATE = 0.1;
+
+  /**
+   * The factor by which the limit is multiplied when it shrinks ({@value}).
+   */
+  public static final double DECREASE_FACTOR = 0.75;
+
+  /**
+   * The factor by which the baseline latency may drift upward per window
+   * ({@value}).
+   */
+  public static final double BASELINE_DRIFT = 1.05;
+
+  /**
+   * The maximum number of adjustments that are retained ({@value}).
+   */
+  public static final int MAX_ADJUSTMENTS = 100;
+
+  /**
+   * The minimum number of records in flight.
+   */
+  private int minConcurrency;
+
+  /**
+   * The maximum number of records in flight.
+   */
+  private int maxConcurrency;
+
+  /**
+   * The current limit on the number of records in flight.
+   */
+  private int limit;
+
+  /**
+   * The number of records currently in flight.
+   */
+  private int inFlight = 0;
+
+  /**
+   * The nanosecond time when this instance was constructed.
+   */
+  private long startNanos;
+
+  /**
+   * The nanosecond time when the limit was last changed.
+   */
+  private long changeNanos;
+
+  /**
+   * The sum of each prior limit multiplied by the nanoseconds it applied.
+   */
+  private double weightedNanos = 0.0;
+
+  /**
+   * The number of observations in the current window.
+   */
+  private int windowCount = 0;
+
+  /**
+   * The number of failed records in the current window.
+   */
+  private int windowFailures = 0;
+
+  /**
+   * The total latency in nanoseconds for the current window.
+   */
+  private long windowLatency = 0L;
+
+  /**
+   * The baseline latency in nanoseconds, or negative one (-1) if there has
+   * not yet been a complete window.
+   */
+  private double baselineLatency = -1.0;
+
+  /**
+   * The total number of adjustments made to the limit.
+   */
+  private int adjustmentCount = 0;
+
+  /**
+   * The most recent adjustments in chronological order.
+   */
+  private LinkedList<SzConcurrencySample> adjustments = new LinkedList<>();
+
+  /**
+   * Constructs with the specified bounds.  The limit starts at the maximum
+   * so a bulk load performs as it would without adaptation until the
+   * latency or failure rate indicates that it should back off.
+   *
+   * @param minConcurrency The minimum number of records in flight.
+   * @param maxConcurrency The maximum number of records in flight.
+   *
+   * @throws IllegalArgumentException If the minimum is not positive or is
+   *                                  greater than the maximum.
+   */
+  public ConcurrencyLimiter(int minConcurrency, int maxConcurrency) {
+    if (minConcurrency <= 0 || minConcurrency > maxConcurrency) {
+      throw new IllegalArgumentException(
+          "Invalid concurrency bounds.  minConcurrency=[ " + minConcurrency
+          + " ], maxConcurrency=[ " + maxConcurrency + " ]");
+    }
+    this.minConcurrency  = minConcurrency;
+    this.maxConcurrency  = maxConcurrency;
+    this.limit           = maxConcurrency;
+    this.startNanos      = System.nanoTime();
+    this.changeNanos     = this.startNanos;
+  }
+
+  /**
+   * Gets the current limit on the number of records in flight.
+   *
+   * @return The current limit on the number of records in flight.
+   */
+  public synchronized int getLimit() {
+    return this.limit;
+  }
+
+  /**
+   * Blocks until fewer records than the current limit are in flight and
+   * then counts another record as in flight.
+   */
+  public synchronized void acquire() {
+    while (this.inFlight >= this.limit) {
+      try {
+        this.wait();
+      } catch (InterruptedException ignore) {
+        // ignore the exception
+      }
+    }
+    this.inFlight++;
+  }
+
+  /**
+   * Counts another record as in flight if fewer records than the current
+   * limit are in flight, without blocking.
+   *
+   * @return <tt>true</tt> if the record was counted as in flight, and
+   *         <tt>false</tt> if the limit has been reached.
+   */
+  public synchronized boolean tryAcquire() {
+    if (this.inFlight >= this.limit) return false;
+    this.inFlight++;
+    return true;
+  }
+
+  /**
+   * Releases a record that was in flight and observes its outcome and
+   * latency, adjusting the limit if a window of observations is complete.
+   *
+   * @param result The {@link AddRecordResult} for the record, or
+   *               <tt>null</tt> if loading the record threw an exception.
+   * @param latencyNanos The number of nanoseconds it took to load the
+   *                     record.
+   */
+  public synchronized void release(AddRecordResult result,
+                                   long            latencyNanos)
+  {
+    this.inFlight--;
+    if (result == null || !result.isSkipped()) {
+      this.windowCount++;
+      this.windowLatency += latencyNanos;
+      if (result == null || result.isFailed()) this.windowFailures++;
+    }
+
+    // check if the window of observations is complete
+    if (this.minConcurrency < this.maxConcurrency
+        && this.windowCount >= Math.max(MIN_WINDOW_SIZE, this.limit * 2))
+    {
+      this.adjust();
+    }
+    this.notifyAll();
+  }
+
+  /**
+   * Adjusts the limit from the observations in the completed window and
+   * starts a new window.
+   */
+  private void adjust() {
+    double averageLatency = ((double) this.windowLatency) / this.windowCount;
+    double failureRate = ((double) this.windowFailures) / this.windowCount;
+    this.windowCount    = 0;
+    this.windowFailures = 0;
+    this.windowLatency  = 0L;
+
+    // shrink if failing or slow relative to the baseline, otherwise grow
+    int newLimit;
+    if (failureRate > MAX_FAILURE_RATE
+        || (this.baselineLatency > 0.0
+            && averageLatency > this.baselineLatency * LATENCY_TOLERANCE))
+    {
+      newLimit = Math.max(this.minConcurrency, Math.min(
+          this.limit - 1, (int) (this.limit * DECREASE_FACTOR)));
+    } else {
+      newLimit = Math.min(this.maxConcurrency, this.limit + 1);
+    }
+
+    // update the baseline letting it drift upward
+    this.baselineLatency = (this.baselineLatency < 0.0) ? averageLatency
+        : Math.min(averageLatency, this.baselineLatency * BASELINE_DRIFT);
+
+    // check if the limit is unchanged
+    if (newLimit == this.limit) return;
+
+    long now = System.nanoTime();
+    this.weightedNanos += ((double) this.limit) * (now - this.changeNanos);
+    this.changeNanos = now;
+    this.limit = newLimit;
+    this.adjustmentCount++;
+
+    SzConcurrencySample sample = SzConcurrencySample.FACTORY.create();
+    sample.setElapsedMillis((now - this.startNanos) / 1000000L);
+    sample.setConcurrency(newLimit);
+    sample.setAverageLatencyMillis(averageLatency / 1000000.0);
+    sample.setFailureRate(failureRate);
+    this.adjustments.add(sample);
+    if (this.adjustments.size() > MAX_ADJUSTMENTS) {
+      this.adjustments.removeFirst();
+    }
+  }
+
+  /**
+   * Creates a new {@link SzLoadConcurrency} describing the bounds, the
+   * current limit, the time-weighted average limit and the most recent
+   * adjustments.
+   *
+   * @return A new {@link SzLoadConcurrency} describing this instance.
+   */
+  public synchronized SzLoadConcurrency toLoadConcurrency() {
+    long now = System.nanoTime();
+    long elapsed = now - this.startNanos;
+    double weighted = this.weightedNanos
+        + ((double) this.limit) * (now - this.changeNanos);
+
+    SzLoadConcurrency concurrency = SzLoadConcurrency.FACTORY.create();
+    concurrency.setMinConcurrency(this.minConcurrency);
+    concurrency.setMaxConcurrency(this.maxConcurrency);
+    concurrency.setCurrentConcurrency(this.limit);
+    concurrency.setAverageConcurrency(
+        (elapsed > 0L) ? (weighted / elapsed) : this.limit);
+    concurrency.setAdjustmentCount(this.adjustmentCount);
+    concurrency.setAdjustments(this.adjustments);
+    return concurrency;
+  }
+}
@@ -0,0 +1,56 @@
+package com.senzing.api.services;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A {@link FilterInputStream} that counts the number of bytes that have
+ * been read (or skipped) from the underlying {@link InputStream}.
+ */
+public class CountingInputStream extends FilterInputStream {
+  /**
+   * The number of bytes read or skipped.  This is volatile since it may be
+   * read from a thread other than the one reading the stream.
+   */
+  protected volatile long byteCount = 0L;
+
+  /**
+   * Constructs with the specified backing {@link InputStream}.
+   *
+   * @param in The backing {@link InputStream}.
+   */
+  public CountingInputStream(InputStream in) {
+    super(in);
+  }
+
+  /**
+   * Gets the number of bytes that have been read or skipped.
+   *
+   * @return The number of bytes that have been read or skipped.
+   */
+  public long getByteCount() {
+    return this.byteCount;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int result = super.read();
+    if (result >= 0) this.byteCount++;
+    return result;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    int result = super.read(buffer, offset, length);
+    if (result > 0) this.byteCount += result;
+    return result;
+  }
+
+  @Override
+  public long skip(long count) throws IOException {
+    long result = super.skip(count);
+    if (result > 0L) this.byteCount += result;
+    return result;
+  }
+}
@@ -2,6 +2,7 @@ package com.senzing.api.services;
 
 import com.senzing.api.model.*;
 import com.senzing.g2.engine.G2Engine;
+import com.senzing.util.AccessToken;
 import com.senzing.util.JsonUtils;
 import com.senzing.util.SemanticVersion;
 import com.senzing.util.Timers;
@@ -9,6 +10,8 @@ import com.senzing.util.Timers;
 import javax.json.*;
 import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import java.util.*;
@@ -21,6 +24,9 @@ import static com.senzing.api.model.SzAttributeSearchResultType.*;
 import static com.senzing.g2.engine.G2Engine.*;
 import static javax.ws.rs.core.MediaType.*;
 import static com.senzing.api.services.ServicesUtil.*;
+import static com.senzing.api.services.BulkDataSupport.APPLICATION_JSONLINES;
+import static com.senzing.api.services.BulkDataSupport.APPLICATION_NDJSON;
+import static com.senzing.api.services.BulkDataSupport.TEXT_CSV;
 
 /**
  * Provides entity data related API services.
@@ -34,6 +40,11 @@ public class EntityDataServices implements ServicesSupport {
   public static final SemanticVersion MINIMUM_SEARCH_FILTERING_VERSION
       = new SemanticVersion("2.4.1");
 
+  /**
+   * The maximum number of items ({@value}) in a single batch request.
+   */
+  public static final int MAX_BATCH_SIZE = 1000;
+
   /**
    * The {@link Map} of {@link SzAttributeSearchResultType} keys to {@link
    * Integer} values representing the flags to apply.
@@ -115,10 +126,23 @@ public class EntityDataServices implements ServicesSupport {
       // get the asynchronous info queue
       boolean asyncInfo = provider.hasInfoSink();
 
+      // check if skipping unchanged records (unless info was requested)
+      final SzRecordFingerprints fingerprints = (withInfo || inRecordId == null)
+          ? null : provider.getRecordFingerprints();
+      final long fingerprint = (fingerprints == null)
+          ? 0L : SzRecordFingerprints.fingerprint(recordJson);
+
       this.enteringQueue(timers);
       String text = provider.executeInThread(() -> {
         this.exitingQueue(timers);
 
+        // skip the record if unchanged since it was last loaded
+        if (fingerprints != null
+            && fingerprints.isUnchanged(dataSource, inRecordId, fingerprint))
+        {
+          return null;
+        }
+
         // get the engine API and the config API
         G2Engine engineApi = provider.getEngineApi();
 
@@ -156,6 +180,11 @@ public class EntityDataServices implements ServicesSupport {
               POST, uriInfo, timers, engineApi);
         }
 
+        // record the fingerprint of the loaded record
+        if (fingerprints != null) {
+          fingerprints.update(dataSource, inRecordId, fingerprint);
+        }
+
         return sb.toString().trim();
       });
 
@@ -163,7 +192,8 @@ public class EntityDataServices implements ServicesSupport {
       SzResolutionInfo  info      = null;
       String            rawData   = null;
 
-      if (withInfo || asyncInfo) {
+      // NOTE: the text is null if the record was skipped as unchanged
+      if (text != null && (withInfo || asyncInfo)) {
         rawData = text;
         JsonObject jsonObject = JsonUtils.parseJsonObject(rawData);
 
@@ -176,7 +206,7 @@ public class EntityDataServices implements ServicesSupport {
         // check if the info sink is configured
         if (asyncInfo && rawData != null && rawData.trim().length() > 0) {
           SzMessageSink infoSink = provider.acquireInfoSink();
-          SzMessage message = new SzMessage(rawData);
+          SzMessage message = newInfoMessage(rawData, LOAD_OPERATION);
           try {
             this.sendingAsyncMessage(timers, INFO_QUEUE_NAME);
             // send the info on the async queue
@@ -332,10 +362,24 @@ public class EntityDataServices implements ServicesSupport {
       // get the asynchronous info sink
       boolean asyncInfo = provider.hasInfoSink();
 
+      // check if skipping unchanged records (unless info was requested)
+      final SzRecordFingerprints fingerprints
+          = (withInfo) ? null : provider.getRecordFingerprints();
+      final long fingerprint = (fingerprints == null) ? 0L
+          : SzRecordFingerprints.fingerprint(
+              JsonUtils.parseJsonObject(recordText));
+
       this.enteringQueue(timers);
       String rawInfo = provider.executeInThread(() -> {
         this.exitingQueue(timers);
 
+        // skip the record if unchanged since it was last loaded
+        if (fingerprints != null
+            && fingerprints.isUnchanged(dataSource, recordId, fingerprint))
+        {
+          return null;
+        }
+
         // get the engine API
         G2Engine engineApi = provider.getEngineApi();
 
@@ -365,6 +409,11 @@ public class EntityDataServices implements ServicesSupport {
               PUT, uriInfo, timers, engineApi);
         }
 
+        // record the fingerprint of the loaded record
+        if (fingerprints != null) {
+          fingerprints.update(dataSource, recordId, fingerprint);
+        }
+
         return rawData;
       });
 
@@ -373,7 +422,7 @@ public class EntityDataServices implements ServicesSupport {
         // check if the info sink is configured
         if (asyncInfo) {
           SzMessageSink infoSink = provider.acquireInfoSink();
-          SzMessage message = new SzMessage(rawInfo);
+          SzMessage message = newInfoMessage(rawInfo, LOAD_OPERATION);
           try {
             this.sendingAsyncMessage(timers, INFO_QUEUE_NAME);
             // send the info on the async queue
@@ -487,6 +536,11 @@ public class EntityDataServices implements ServicesSupport {
               dataSource, recordId, normalizedLoadId);
           this.calledNativeAPI(timers, "engine", "deleteRecord");
         }
+
+        // forget the fingerprint since the record may no longer be loaded
+        SzRecordFingerprints fingerprints = provider.getRecordFingerprints();
+        if (fingerprints != null) fingerprints.remove(dataSource, recordId);
+
         if (returnCode != 0) {
           int errorCode = engineApi.getLastExceptionCode();
           // if the record was not found, that is okay -- treat as idempotent,
@@ -507,7 +561,7 @@ public class EntityDataServices implements ServicesSupport {
         // check if the info sink is configured
         if (asyncInfo) {
           SzMessageSink infoSink = provider.acquireInfoSink();
-          SzMessage message = new SzMessage(rawInfo);
+          SzMessage message = newInfoMessage(rawInfo, DELETE_OPERATION);
           try {
             this.sendingAsyncMessage(timers, INFO_QUEUE_NAME);
             // send the info on the async queue
@@ -599,6 +653,466 @@ public class EntityDataServices implements ServicesSupport {
     return SzDeleteRecordResponseData.FACTORY.create(info);
   }
 
+  /**
+   * Provides the implementation for <tt>POST /records/batch</tt>.  The
+   * request body is a JSON array of record operations, each being a JSON
+   * object with an <tt>"operation"</tt> property (<tt>"ADD"</tt>,
+   * <tt>"REPLACE"</tt> or <tt>"DELETE"</tt>), the <tt>"dataSource"</tt> and
+   * <tt>"recordId"</tt> of the record and (unless deleting) the Senzing-format
+   * <tt>"record"</tt> JSON.  The operations are validated once up front and
+   * the valid operations are pipelined through the engine threads, while the
+   * operations on the same record are performed in the order they appear in
+   * the request.  An invalid or failed operation is described by its result
+   * rather than failing the whole batch.
+   *
+   * @param loadId The optional load ID query parameter for the records.
+   * @param withInfo Flag indicating if the de-duplicated set of entities
+   *                 affected by the batch should be produced (from the query
+   *                 parameter).
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @param operationsText The JSON array text describing the operations.
+   * @return The {@link SzRecordBatchResponse} describing the response.
+   */
+  @POST
+  @Path("records/batch")
+  public SzRecordBatchResponse processRecordsInBatch(
+      @QueryParam("loadId")                           String  loadId,
+      @QueryParam("withInfo") @DefaultValue("false")  boolean withInfo,
+      @Context                                        UriInfo uriInfo,
+      String                                                  operationsText)
+  {
+    Timers timers = this.newTimers();
+    try {
+      SzApiProvider provider = this.getApiProvider();
+      this.ensureLoadingIsAllowed(provider, POST, uriInfo, timers);
+
+      JsonArray jsonArray;
+      try {
+        jsonArray = JsonUtils.parseJsonArray(operationsText);
+
+      } catch (Exception e) {
+        throw this.newBadRequestException(
+            POST, uriInfo, timers,
+            "The request body must be a JSON array of record operations: "
+            + operationsText);
+      }
+
+      // check if the batch is too large
+      if (jsonArray.size() > MAX_BATCH_SIZE) {
+        throw this.newBadRequestException(
+            POST, uriInfo, timers,
+            "The batch of " + jsonArray.size() + " operations exceeds the "
+            + "maximum batch size of " + MAX_BATCH_SIZE + ".");
+      }
+
+      final String normalizedLoadId = normalizeString(loadId);
+
+      // look up the data sources once for the whole batch
+      Set<String> requestedSources = new LinkedHashSet<>();
+      for (JsonValue jsonValue : jsonArray) {
+        if (jsonValue.getValueType() != JsonValue.ValueType.OBJECT) continue;
+        String dataSource = this.getBatchDataSource((JsonObject) jsonValue);
+        if (dataSource != null) requestedSources.add(dataSource);
+      }
+      Set<String> dataSources = provider.getDataSources(
+          requestedSources.toArray(new String[requestedSources.size()]));
+
+      // validate the operations and group the valid ones by record
+      List<SzRecordOperationResult> results
+          = new ArrayList<>(jsonArray.size());
+      String[] recordTexts = new String[jsonArray.size()];
+      Map<List<String>, List<Integer>> groups = new LinkedHashMap<>();
+      for (int index = 0; index < jsonArray.size(); index++) {
+        SzRecordOperationResult result
+            = SzRecordOperationResult.FACTORY.create();
+        result.setIndex(index);
+        results.add(result);
+        try {
+          recordTexts[index] = this.validateRecordOperation(
+              jsonArray.get(index), dataSources, result, uriInfo);
+
+          List<String> recordKey = List.of(result.getDataSource(),
+                                           result.getRecordId());
+          groups.computeIfAbsent(recordKey, k -> new ArrayList<>()).add(index);
+
+        } catch (WebApplicationException e) {
+          result.setHttpStatusCode(e.getResponse().getStatus());
+          result.setErrorMessage(this.getErrorMessage(e));
+        }
+      }
+
+      // get the asynchronous info sink
+      boolean asyncInfo = provider.hasInfoSink();
+
+      // pipeline the groups through the engine threads
+      List<List<Integer>> groupList = new ArrayList<>(groups.values());
+      BatchFanOut<Set<Long>> fanOut = new BatchFanOut<>(
+          provider,
+          groupList.size(),
+          provider.getConcurrency(),
+          SzBatchOrder.COMPLETION,
+          (groupIndex) -> {
+            Set<Long> affected = new LinkedHashSet<>();
+            for (int index : groupList.get(groupIndex)) {
+              affected.addAll(this.processRecordOperation(provider,
+                                                          results.get(index),
+                                                          recordTexts[index],
+                                                          normalizedLoadId,
+                                                          withInfo,
+                                                          asyncInfo,
+                                                          uriInfo,
+                                                          timers));
+            }
+            return affected;
+          });
+
+      // aggregate the affected entities into a single de-duplicated set
+      Set<Long> affectedEntities = new TreeSet<>();
+      for (Set<Long> affected : fanOut.collect()) {
+        affectedEntities.addAll(affected);
+      }
+
+      int failedCount = 0;
+      for (SzRecordOperationResult result : results) {
+        if (result.getHttpStatusCode() != 200) failedCount++;
+      }
+
+      SzRecordBatchResult batchResult = SzRecordBatchResult.FACTORY.create();
+      batchResult.setResults(results);
+      batchResult.setFailedCount(failedCount);
+      batchResult.setAffectedEntities(withInfo ? affectedEntities : null);
+
+      // construct and return the response
+      return this.newRecordBatchResponse(
+          POST, 200, uriInfo, timers, batchResult);
+
+    } catch (ServerErrorException e) {
+      e.printStackTrace();
+      throw e;
+
+    } catch (WebApplicationException e) {
+      throw e;
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw this.newInternalServerErrorException(POST, uriInfo, timers, e);
+    }
+  }
+
+  /**
+   * Gets the normalized data source code for an operation in a batch of
+   * record operations from either the <tt>"dataSource"</tt> property of the
+   * operation or the <tt>"DATA_SOURCE"</tt> of its record.
+   *
+   * @param operation The {@link JsonObject} describing the operation.
+   * @return The normalized data source code, or <tt>null</tt> if none.
+   */
+  protected String getBatchDataSource(JsonObject operation) {
+    String dataSource = JsonUtils.getString(operation, "dataSource");
+    JsonObject record = JsonUtils.getJsonObject(operation, "record");
+    if (normalizeString(dataSource) == null && record != null) {
+      dataSource = JsonUtils.getString(record, "DATA_SOURCE");
+    }
+    dataSource = normalizeString(dataSource);
+    return (dataSource == null) ? null : dataSource.toUpperCase();
+  }
+
+  /**
+   * Validates an operation in a batch of record operations and describes it
+   * in the specified {@link SzRecordOperationResult}.  This returns the
+   * record JSON text (augmented with the data source, record ID and default
+   * fields) for an add or replace operation, or <tt>null</tt> for a delete
+   * operation.
+   *
+   * @param jsonValue The {@link JsonValue} describing the operation.
+   * @param dataSources The {@link Set} of recognized data source codes.
+   * @param result The {@link SzRecordOperationResult} to describe the
+   *               operation in.
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @return The record JSON text for the operation, or <tt>null</tt> if the
+   *         operation is a delete.
+   * @throws WebApplicationException If the operation is not valid.
+   */
+  protected String validateRecordOperation(JsonValue                jsonValue,
+                                           Set<String>              dataSources,
+                                           SzRecordOperationResult  result,
+                                           UriInfo                  uriInfo)
+    throws WebApplicationException
+  {
+    // use separate timers since these do not time the request
+    Timers timers = new Timers();
+
+    if (jsonValue.getValueType() != JsonValue.ValueType.OBJECT) {
+      throw this.newBadRequestException(
+          POST, uriInfo, timers,
+          "Each record operation must be a JSON object: " + jsonValue);
+    }
+    JsonObject jsonObject = (JsonObject) jsonValue;
+    JsonObject record     = JsonUtils.getJsonObject(jsonObject, "record");
+
+    String dataSource = this.getBatchDataSource(jsonObject);
+    String recordId   = JsonUtils.getString(jsonObject, "recordId");
+    if (normalizeString(recordId) == null && record != null) {
+      recordId = JsonUtils.getString(record, "RECORD_ID");
+    }
+    recordId = normalizeString(recordId);
+
+    result.setDataSource(dataSource);
+    result.setRecordId(recordId);
+
+    String operationText = JsonUtils.getString(jsonObject, "operation");
+    SzRecordOperation operation;
+    try {
+      operation = SzRecordOperation.valueOf(
+          operationText.trim().toUpperCase());
+      result.setOperation(operation);
+
+    } catch (Exception e) {
+      throw this.newBadRequestException(
+          POST, uriInfo, timers,
+          "The operation must be one of " + Arrays.toString(
+              SzRecordOperation.values()) + ": " + operationText);
+    }
+
+    if (dataSource == null || recordId == null) {
+      throw this.newBadRequestException(
+          POST, uriInfo, timers,
+          "Both the data source and record ID are required for each "
+          + "record operation.");
+    }
+
+    if (!dataSources.contains(dataSource)) {
+      throw this.newNotFoundException(
+          POST, uriInfo, timers,
+          "The specified data source is not recognized: " + dataSource);
+    }
+
+    // check if there is no record to validate
+    if (operation == SzRecordOperation.DELETE) return null;
+
+    if (record == null) {
+      throw this.newBadRequestException(
+          POST, uriInfo, timers,
+          "The record JSON is required for the " + operation
+          + " operation.");
+    }
+
+    Map<String,String> map = Map.of("DATA_SOURCE", dataSource,
+                                    "RECORD_ID", recordId);
+
+    Map<String,String> defaultMap = Map.of("ENTITY_TYPE", "GENERIC");
+
+    return this.ensureJsonFields(POST,
+                                 uriInfo,
+                                 timers,
+                                 JsonUtils.toJsonText(record),
+                                 map,
+                                 defaultMap);
+  }
+
+  /**
+   * Performs a validated operation in a batch of record operations via the
+   * engine thread pool and describes the outcome in the specified {@link
+   * SzRecordOperationResult}.  Any failure is described by the result rather
+   * than thrown.  Since there is no native function to replace a record with
+   * info, a replace operation adds the record when info is required, which
+   * replaces an existing record in the same way.
+   *
+   * @param provider The {@link SzApiProvider} to use.
+   * @param result The {@link SzRecordOperationResult} describing the
+   *               validated operation.
+   * @param recordText The record JSON text for the operation, or
+   *                   <tt>null</tt> if the operation is a delete.
+   * @param loadId The normalized load ID for the operation, or <tt>null</tt>
+   *               if none.
+   * @param withInfo Flag indicating if the affected entities were requested.
+   * @param asyncInfo Flag indicating if the info should be sent to the
+   *                  asynchronous info sink.
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @param timers The {@link Timers} for the request.
+   * @return The {@link Set} of entity IDs for the affected entities, which is
+   *         empty if none or if they were not requested.
+   */
+  protected Set<Long> processRecordOperation(
+      SzApiProvider           provider,
+      SzRecordOperationResult result,
+      String                  recordText,
+      String                  loadId,
+      boolean                 withInfo,
+      boolean                 asyncInfo,
+      UriInfo                 uriInfo,
+      Timers                  timers)
+  {
+    SzRecordOperation operation   = result.getOperation();
+    String            dataSource  = result.getDataSource();
+    String            recordId    = result.getRecordId();
+    boolean           needInfo    = withInfo || asyncInfo;
+
+    // use separate timers for the operation since it runs concurrently
+    Timers opTimers = new Timers();
+    try {
+      // check if skipping unchanged records (unless info was requested)
+      final SzRecordFingerprints fingerprints
+          = (withInfo || recordText == null)
+          ? null : provider.getRecordFingerprints();
+      final long fingerprint = (fingerprints == null) ? 0L
+          : SzRecordFingerprints.fingerprint(
+              JsonUtils.parseJsonObject(recordText));
+
+      this.enteringQueue(opTimers);
+      String rawInfo = provider.executeInThread(() -> {
+        this.exitingQueue(opTimers);
+
+        // skip the record if unchanged since it was last loaded
+        if (fingerprints != null
+            && fingerprints.isUnchanged(dataSource, recordId, fingerprint))
+        {
+          result.setSkipped(true);
+          return null;
+        }
+
+        // get the engine API
+        G2Engine engineApi = provider.getEngineApi();
+
+        int returnCode;
+        StringBuffer sb = new StringBuffer();
+        switch (operation) {
+          case DELETE:
+            if (needInfo) {
+              this.callingNativeAPI(opTimers, "engine", "deleteRecordWithInfo");
+              returnCode = engineApi.deleteRecordWithInfo(
+                  dataSource, recordId, loadId, 0, sb);
+              this.calledNativeAPI(opTimers, "engine", "deleteRecordWithInfo");
+            } else {
+              this.callingNativeAPI(opTimers, "engine", "deleteRecord");
+              returnCode = engineApi.deleteRecord(dataSource, recordId, loadId);
+              this.calledNativeAPI(opTimers, "engine", "deleteRecord");
+            }
+
+            // forget the fingerprint since the record may no longer be loaded
+            SzRecordFingerprints loaded = provider.getRecordFingerprints();
+            if (loaded != null) loaded.remove(dataSource, recordId);
+
+            // if the record was not found, that is okay -- treat as idempotent
+            if (returnCode != 0
+                && engineApi.getLastExceptionCode() == RECORD_NOT_FOUND_CODE)
+            {
+              engineApi.clearLastException();
+              return null;
+            }
+            break;
+
+          case REPLACE:
+            if (!needInfo) {
+              this.callingNativeAPI(opTimers, "engine", "replaceRecord");
+              returnCode = engineApi.replaceRecord(
+                  dataSource, recordId, recordText, loadId);
+              this.calledNativeAPI(opTimers, "engine", "replaceRecord");
+              break;
+            }
+            // fall through to add the record with info
+
+          default:
+            if (needInfo) {
+              this.callingNativeAPI(opTimers, "engine", "addRecordWithInfo");
+              returnCode = engineApi.addRecordWithInfo(
+                  dataSource, recordId, recordText, loadId, 0, sb);
+              this.calledNativeAPI(opTimers, "engine", "addRecordWithInfo");
+            } else {
+              this.callingNativeAPI(opTimers, "engine", "addRecord");
+              returnCode = engineApi.addRecord(
+                  dataSource, recordId, recordText, loadId);
+              this.calledNativeAPI(opTimers, "engine", "addRecord");
+            }
+        }
+        if (returnCode != 0) {
+          throw this.newPossiblyNotFoundException(
+              POST, uriInfo, opTimers, engineApi);
+        }
+
+        // record the fingerprint of the loaded record
+        if (fingerprints != null) {
+          fingerprints.update(dataSource, recordId, fingerprint);
+        }
+
+        return (needInfo) ? sb.toString() : null;
+      });
+
+      result.setHttpStatusCode(200);
+
+      // check if there is no info
+      if (rawInfo == null || rawInfo.trim().length() == 0) {
+        return Collections.emptySet();
+      }
+
+      // check if the info sink is configured
+      if (asyncInfo) {
+        SzMessageSink infoSink = provider.acquireInfoSink();
+        SzMessage message = newInfoMessage(
+            rawInfo, (operation == SzRecordOperation.DELETE)
+                     ? DELETE_OPERATION : LOAD_OPERATION);
+        try {
+          this.sendingAsyncMessage(opTimers, INFO_QUEUE_NAME);
+          // send the info on the async queue
+          infoSink.send(message, ServicesUtil::logFailedAsyncInfo);
+
+        } catch (Exception e) {
+          logFailedAsyncInfo(e, message);
+
+        } finally {
+          this.sentAsyncMessage(opTimers, INFO_QUEUE_NAME);
+          provider.releaseInfoSink(infoSink);
+        }
+      }
+
+      // check if the info was requested
+      if (!withInfo) return Collections.emptySet();
+
+      JsonObject jsonObject = JsonUtils.parseJsonObject(rawInfo);
+      return this.parseResolutionInfo(jsonObject).getAffectedEntities();
+
+    } catch (WebApplicationException e) {
+      result.setHttpStatusCode(e.getResponse().getStatus());
+      result.setErrorMessage(this.getErrorMessage(e));
+      return Collections.emptySet();
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      result.setHttpStatusCode(500);
+      result.setErrorMessage(e.getMessage());
+      return Collections.emptySet();
+
+    } finally {
+      synchronized (timers) {
+        timers.mergeWith(opTimers);
+      }
+    }
+  }
+
+  /**
+   * Creates a new instance of {@link SzRecordBatchResponse} with the
+   * specified parameters.
+   *
+   * @param httpMethod The {@link SzHttpMethod} for the request.
+   * @param httpStatusCode The HTTP status code for the response.
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @param timers The {@link Timers} for the operation.
+   * @param batchResult The {@link SzRecordBatchResult} for the response.
+   * @return The newly created {@link SzRecordBatchResponse} instance.
+   */
+  protected SzRecordBatchResponse newRecordBatchResponse(
+      SzHttpMethod        httpMethod,
+      int                 httpStatusCode,
+      UriInfo             uriInfo,
+      Timers              timers,
+      SzRecordBatchResult batchResult)
+  {
+    return SzRecordBatchResponse.FACTORY.create(
+        this.newMeta(httpMethod, httpStatusCode, timers),
+        this.newLinks(uriInfo),
+        batchResult);
+  }
+
   /**
    * Provides the implementation for
    * <tt>POST /data-sources/{dataSourceCode}/records/{recordId}/reevaluate</tt>.
@@ -674,7 +1188,7 @@ public class EntityDataServices implements ServicesSupport {
         // check if the info sink is configured
         if (asyncInfo) {
           SzMessageSink infoSink = provider.acquireInfoSink();
-          SzMessage message = new SzMessage(rawInfo);
+          SzMessage message = newInfoMessage(rawInfo, REEVALUATE_OPERATION);
           try {
             this.sendingAsyncMessage(timers, INFO_QUEUE_NAME);
             infoSink.send(message, ServicesUtil::logFailedAsyncInfo);
@@ -1255,6 +1769,270 @@ public class EntityDataServices implements ServicesSupport {
     }
   }
 
+  /**
+   * Provides the implementation for <tt>GET /entities/export</tt>.  The
+   * native engine export for the resolved entities is streamed back as JSON
+   * Lines (one native entity JSON document per line) or CSV according to the
+   * specified {@link SzExportFormat}.  The export is driven on a dedicated
+   * thread via an {@link EntityExporter} so that it does not hold an engine
+   * worker thread, and is throttled by how fast the client reads the
+   * response.  The response is compressed if the client accepts gzip
+   * encoding.
+   *
+   * @param format The {@link SzExportFormat} for the export.
+   * @param csvColumns The comma-separated list of CSV columns to export, or
+   *                   <tt>null</tt> for the default columns.  This is ignored
+   *                   unless the format is {@link SzExportFormat#CSV}.
+   * @param includeOnlySet The {@link Set} of match levels by which to filter
+   *                       the exported entities, or empty to export all
+   *                       entities.
+   * @param forceMinimal Flag indicating if the minimal entity format is
+   *                     requested.
+   * @param featureMode The {@link SzFeatureMode} query parameter indicating how
+   *                    the features should be returned.
+   * @param withFeatureStats Flag indicating if feature stats should be included
+   *                         in the export.
+   * @param withInternalFeatures Flag indicating if internal features should be
+   *                             included in the export.
+   * @param withRelationships Flag indicating if entity relationships should be
+   *                          included in the export.
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @return The {@link Response} that streams the export.
+   */
+  @GET
+  @Path("entities/export")
+  @Produces({ APPLICATION_JSONLINES, TEXT_CSV, APPLICATION_JSON })
+  public Response exportEntities(
+      @DefaultValue("JSON") @QueryParam("format")                 SzExportFormat  format,
+      @QueryParam("csvColumns")                                   String          csvColumns,
+      @QueryParam("includeOnly")                                  Set<String>     includeOnlySet,
+      @DefaultValue("false") @QueryParam("forceMinimal")          boolean         forceMinimal,
+      @DefaultValue("WITH_DUPLICATES") @QueryParam("featureMode") SzFeatureMode   featureMode,
+      @DefaultValue("false") @QueryParam("withFeatureStats")      boolean         withFeatureStats,
+      @DefaultValue("false") @QueryParam("withInternalFeatures")  boolean         withInternalFeatures,
+      @DefaultValue("false") @QueryParam("withRelationships")     boolean         withRelationships,
+      @Context                                                    UriInfo         uriInfo)
+  {
+    SzApiProvider provider    = this.getApiProvider();
+    Timers        timers      = this.newTimers();
+    AccessToken   accessToken = this.prepareProlongedOperation(provider,
+                                                               GET,
+                                                               uriInfo,
+                                                               timers);
+    EntityExporter exporter = null;
+    boolean        started  = false;
+    try {
+      // check for the include-only parameters, convert to export flags
+      if (includeOnlySet == null) includeOnlySet = Collections.emptySet();
+      int exportFlags = 0;
+      for (String includeOnly : includeOnlySet) {
+        try {
+          exportFlags |= RESULT_TYPE_FLAG_MAP.get(
+              SzAttributeSearchResultType.valueOf(includeOnly));
+
+        } catch (Exception e) {
+          throw this.newBadRequestException(
+              GET, uriInfo, timers,
+              "At least one of the includeOnly parameter values was not "
+              + "recognized: " + includeOnly);
+        }
+      }
+      if (exportFlags == 0) exportFlags = G2_EXPORT_INCLUDE_ALL_ENTITIES;
+
+      // get the flags
+      int flags = this.getFlags(exportFlags,
+                                forceMinimal,
+                                featureMode,
+                                withFeatureStats,
+                                withInternalFeatures,
+                                withRelationships);
+
+      exporter = new EntityExporter(
+          provider, format, csvColumns, flags,
+          () -> provider.concludeProlongedOperation(accessToken));
+
+      if (!exporter.start()) {
+        throw this.newServiceUnavailableErrorException(
+            GET, uriInfo, timers,
+            "Too many entity exports running.  Try again later.");
+      }
+      started = true;
+
+      return Response.ok(exporter, format.getMediaType()).build();
+
+    } catch (ServerErrorException e) {
+      e.printStackTrace();
+      throw e;
+
+    } catch (WebApplicationException e) {
+      throw e;
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      throw this.newInternalServerErrorException(GET, uriInfo, timers, e);
+
+    } finally {
+      // conclude the operation here unless the response will stream it
+      if (!started) {
+        if (exporter != null) {
+          exporter.complete();
+        } else {
+          provider.concludeProlongedOperation(accessToken);
+        }
+      }
+    }
+  }
+
+  /**
+   * Provides the implementation for <tt>POST /entities/batch</tt>.  The
+   * request body is a JSON array of entity identifiers (either entity ID's or
+   * record keys) and the entities are retrieved in parallel across the engine
+   * threads with the per-entity results streamed back as NDJSON (one {@link
+   * SzEntityBatchResult} per line) in the specified {@link SzBatchOrder}.
+   * Failing to retrieve one entity does not fail the batch, but is instead
+   * described by the HTTP status code and error message of its result.
+   *
+   * @param order The {@link SzBatchOrder} in which to stream the results.
+   * @param withRelated Flag indicating if related entities should be included.
+   * @param forceMinimal Flag indicating if the minimal response format is
+   *                     requested.
+   * @param featureMode The {@link SzFeatureMode} query parameter indicating how
+   *                    the features should be returned.
+   * @param withFeatureStats Flag indicating if feature stats should be included
+   *                         in the response.
+   * @param withInternalFeatures Flag indicating if internal features should be
+   *                             included in the response.
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @param identifiersText The JSON array text describing the entity
+   *                        identifiers.
+   * @return The {@link StreamingOutput} that streams the per-entity results.
+   */
+  @POST
+  @Path("entities/batch")
+  @Produces({ APPLICATION_NDJSON, APPLICATION_JSON })
+  public StreamingOutput getEntitiesInBatch(
+      @DefaultValue("REQUEST") @QueryParam("order")               SzBatchOrder        order,
+      @DefaultValue("PARTIAL") @QueryParam("withRelated")         SzRelationshipMode  withRelated,
+      @DefaultValue("false") @QueryParam("forceMinimal")          boolean             forceMinimal,
+      @DefaultValue("WITH_DUPLICATES") @QueryParam("featureMode") SzFeatureMode       featureMode,
+      @DefaultValue("false") @QueryParam("withFeatureStats")      boolean             withFeatureStats,
+      @DefaultValue("false") @QueryParam("withInternalFeatures")  boolean             withInternalFeatures,
+      @Context                                                    UriInfo             uriInfo,
+      String                                                      identifiersText)
+  {
+    Timers timers = this.newTimers();
+
+    SzApiProvider provider = this.getApiProvider();
+
+    List<SzEntityIdentifier> identifiers;
+    try {
+      identifiers = this.parseEntityIdentifiers(identifiersText)
+          .getIdentifiers();
+
+    } catch (Exception e) {
+      throw this.newBadRequestException(
+          POST, uriInfo, timers,
+          "The request body must be a JSON array of entity ID's or record "
+          + "keys: " + identifiersText);
+    }
+
+    // check if the batch is too large
+    if (identifiers.size() > MAX_BATCH_SIZE) {
+      throw this.newBadRequestException(
+          POST, uriInfo, timers,
+          "The batch of " + identifiers.size() + " entities exceeds the "
+          + "maximum batch size of " + MAX_BATCH_SIZE + ".");
+    }
+
+    return new BatchFanOut<>(
+        provider,
+        identifiers.size(),
+        provider.getConcurrency(),
+        order,
+        (index) -> this.getBatchEntity(index,
+                                       identifiers.get(index),
+                                       withRelated,
+                                       forceMinimal,
+                                       featureMode,
+                                       withFeatureStats,
+                                       withInternalFeatures,
+                                       uriInfo));
+  }
+
+  /**
+   * Retrieves the entity identified by the specified {@link
+   * SzEntityIdentifier} for an item in a batch and describes the outcome as
+   * an {@link SzEntityBatchResult}.  Any failure is described by the result
+   * rather than thrown.
+   *
+   * @param index The zero-based index of the item in the batch.
+   * @param identifier The {@link SzEntityIdentifier} for the entity.
+   * @param withRelated Flag indicating if related entities should be included.
+   * @param forceMinimal Flag indicating if the minimal response format is
+   *                     requested.
+   * @param featureMode The {@link SzFeatureMode} indicating how the features
+   *                    should be returned.
+   * @param withFeatureStats Flag indicating if feature stats should be
+   *                         included.
+   * @param withInternalFeatures Flag indicating if internal features should be
+   *                             included.
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @return The {@link SzEntityBatchResult} describing the outcome.
+   */
+  protected SzEntityBatchResult getBatchEntity(
+      int                 index,
+      SzEntityIdentifier  identifier,
+      SzRelationshipMode  withRelated,
+      boolean             forceMinimal,
+      SzFeatureMode       featureMode,
+      boolean             withFeatureStats,
+      boolean             withInternalFeatures,
+      UriInfo             uriInfo)
+  {
+    SzEntityBatchResult result = SzEntityBatchResult.FACTORY.create();
+    result.setIndex(index);
+    try {
+      SzEntityResponse response;
+      if (identifier instanceof SzEntityId) {
+        long entityId = ((SzEntityId) identifier).getValue();
+        result.setEntityId(entityId);
+        response = this.getEntityByEntityId(entityId,
+                                            false,
+                                            withRelated,
+                                            forceMinimal,
+                                            featureMode,
+                                            withFeatureStats,
+                                            withInternalFeatures,
+                                            uriInfo);
+      } else {
+        SzRecordId recordId = (SzRecordId) identifier;
+        result.setDataSource(recordId.getDataSourceCode());
+        result.setRecordId(recordId.getRecordId());
+        response = this.getEntityByRecordId(recordId.getDataSourceCode(),
+                                            recordId.getRecordId(),
+                                            false,
+                                            withRelated,
+                                            forceMinimal,
+                                            featureMode,
+                                            withFeatureStats,
+                                            withInternalFeatures,
+                                            uriInfo);
+      }
+      result.setHttpStatusCode(200);
+      result.setEntity(response.getData());
+
+    } catch (WebApplicationException e) {
+      result.setHttpStatusCode(e.getResponse().getStatus());
+      result.setErrorMessage(this.getErrorMessage(e));
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      result.setHttpStatusCode(500);
+      result.setErrorMessage(e.getMessage());
+    }
+    return result;
+  }
+
   /**
    * Provides the implementation for <tt>GET /entities</tt>.
    *
@@ -1478,6 +2256,197 @@ public class EntityDataServices implements ServicesSupport {
     }
   }
 
+  /**
+   * Provides the implementation for <tt>POST /search-entities/batch</tt>.
+   * The request body is a JSON array of search criteria JSON objects (each
+   * as for <tt>POST /search-entities</tt>) that share the flags from the
+   * query parameters.  The searches are run in parallel on the engine threads
+   * and the per-search results are streamed back as NDJSON, each with the
+   * index of its search criteria in the request.
+   *
+   * @param order The {@link SzBatchOrder} in which to stream the results.
+   * @param maxConcurrency The optional maximum number of searches from the
+   *                       batch to run concurrently, which defaults to half
+   *                       the engine concurrency and is capped at the engine
+   *                       concurrency.
+   * @param includeOnlySet The {@link Set} of search match levels to only be
+   *                       included in the response.
+   * @param forceMinimal Flag indicating if the minimal response format is
+   *                     requested.
+   * @param featureMode The {@link SzFeatureMode} query parameter indicating how
+   *                    the features should be returned.
+   * @param withFeatureStats Flag indicating if feature stats should be included
+   *                         in the response.
+   * @param withInternalFeatures Flag indicating if internal features should be
+   *                             included in the response.
+   * @param withRelationships Flag indicating if entity relationships should be
+   *                          included in the response.
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @param criteriaText The JSON array text describing the search criteria.
+   * @return The {@link StreamingOutput} that streams the per-search results.
+   */
+  @POST
+  @Path("search-entities/batch")
+  @Produces({ APPLICATION_NDJSON, APPLICATION_JSON })
+  public StreamingOutput searchEntitiesInBatch(
+      @DefaultValue("REQUEST") @QueryParam("order")               SzBatchOrder    order,
+      @QueryParam("maxConcurrency")                               Integer         maxConcurrency,
+      @QueryParam("includeOnly")                                  Set<String>     includeOnlySet,
+      @DefaultValue("false") @QueryParam("forceMinimal")          boolean         forceMinimal,
+      @DefaultValue("WITH_DUPLICATES") @QueryParam("featureMode") SzFeatureMode   featureMode,
+      @DefaultValue("false") @QueryParam("withFeatureStats")      boolean         withFeatureStats,
+      @DefaultValue("false") @QueryParam("withInternalFeatures")  boolean         withInternalFeatures,
+      @DefaultValue("false") @QueryParam("withRelationships")     boolean         withRelationships,
+      @Context                                                    UriInfo         uriInfo,
+      String                                                                      criteriaText)
+  {
+    Timers timers = this.newTimers();
+
+    SzApiProvider provider = this.getApiProvider();
+
+    JsonArray jsonArray;
+    try {
+      jsonArray = JsonUtils.parseJsonArray(criteriaText);
+
+    } catch (Exception e) {
+      throw this.newBadRequestException(
+          POST, uriInfo, timers,
+          "The request body must be a JSON array of search criteria: "
+          + criteriaText);
+    }
+
+    // check if the batch is too large
+    if (jsonArray.size() > MAX_BATCH_SIZE) {
+      throw this.newBadRequestException(
+          POST, uriInfo, timers,
+          "The batch of " + jsonArray.size() + " searches exceeds the "
+          + "maximum batch size of " + MAX_BATCH_SIZE + ".");
+    }
+
+    // check the shared include-only parameters once for the whole batch
+    if (includeOnlySet != null) {
+      for (String includeOnly : includeOnlySet) {
+        try {
+          SzAttributeSearchResultType.valueOf(includeOnly);
+
+        } catch (Exception e) {
+          throw this.newBadRequestException(
+              POST, uriInfo, timers,
+              "At least one of the includeOnly parameter values was not "
+              + "recognized: " + includeOnly);
+        }
+      }
+    }
+
+    // check if the concurrency cap is invalid
+    if (maxConcurrency != null && maxConcurrency < 1) {
+      throw this.newBadRequestException(
+          POST, uriInfo, timers,
+          "The maxConcurrency parameter must be a positive integer: "
+          + maxConcurrency);
+    }
+
+    // cap the batch so it cannot saturate the engine thread pool
+    int concurrency = provider.getConcurrency();
+    int parallelism = (maxConcurrency == null)
+        ? Math.max(1, concurrency / 2)
+        : Math.min(maxConcurrency, concurrency);
+
+    return new BatchFanOut<>(
+        provider,
+        jsonArray.size(),
+        parallelism,
+        order,
+        (index) -> this.searchInBatch(index,
+                                      jsonArray.get(index),
+                                      includeOnlySet,
+                                      forceMinimal,
+                                      featureMode,
+                                      withFeatureStats,
+                                      withInternalFeatures,
+                                      withRelationships,
+                                      uriInfo));
+  }
+
+  /**
+   * Performs the search described by the specified search criteria for an
+   * item in a batch of searches and describes the outcome as an {@link
+   * SzAttributeSearchBatchResult}.  Any failure is described by the result
+   * rather than thrown.
+   *
+   * @param index The zero-based index of the search criteria in the batch.
+   * @param criteria The {@link JsonValue} describing the search criteria.
+   * @param includeOnlySet The {@link Set} of search match levels to only be
+   *                       included in the response.
+   * @param forceMinimal Flag indicating if the minimal response format is
+   *                     requested.
+   * @param featureMode The {@link SzFeatureMode} indicating how the features
+   *                    should be returned.
+   * @param withFeatureStats Flag indicating if feature stats should be
+   *                         included.
+   * @param withInternalFeatures Flag indicating if internal features should be
+   *                             included.
+   * @param withRelationships Flag indicating if entity relationships should be
+   *                          included.
+   * @param uriInfo The {@link UriInfo} for the request.
+   * @return The {@link SzAttributeSearchBatchResult} describing the outcome.
+   */
+  protected SzAttributeSearchBatchResult searchInBatch(
+      int             index,
+      JsonValue       criteria,
+      Set<String>     includeOnlySet,
+      boolean         forceMinimal,
+      SzFeatureMode   featureMode,
+      boolean         withFeatureStats,
+      boolean         withInternalFeatures,
+      boolean         withRelationships,
+      UriInfo         uriInfo)
+  {
+    SzAttributeSearchBatchResult result
+        = SzAttributeSearchBatchResult.FACTORY.create();
+    result.setIndex(index);
+
+    // use separate timers for each search since they run concurrently
+    Timers timers = new Timers();
+    try {
+      // check if we have no attributes at all
+      if (criteria.getValueType() != JsonValue.ValueType.OBJECT
+          || ((JsonObject) criteria).size() == 0)
+      {
+        throw this.newBadRequestException(
+            POST, uriInfo, timers,
+            "Each search criteria must be a JSON object with at least one "
+            + "attribute: " + criteria);
+      }
+
+      SzAttributeSearchResponse response
+          = this.searchByAttributes((JsonObject) criteria,
+                                    includeOnlySet,
+                                    forceMinimal,
+                                    featureMode,
+                                    withFeatureStats,
+                                    withInternalFeatures,
+                                    withRelationships,
+                                    false,
+                                    uriInfo,
+                                    POST,
+                                    timers);
+
+      result.setHttpStatusCode(200);
+      result.setSearchResults(response.getData().getSearchResults());
+
+    } catch (WebApplicationException e) {
+      result.setHttpStatusCode(e.getResponse().getStatus());
+      result.setErrorMessage(this.getErrorMessage(e));
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      result.setHttpStatusCode(500);
+      result.setErrorMessage(e.getMessage());
+    }
+    return result;
+  }
+
   /**
    * Consolidates the search-by-attributes functionality into a common function.
    * Searching is possible via multiple endpoints (e.g.: one GET and one POST).
@@ -1756,7 +2725,7 @@ public class EntityDataServices implements ServicesSupport {
         // check if the info sink is configured
         if (asyncInfo) {
           SzMessageSink infoSink = provider.acquireInfoSink();
-          SzMessage message = new SzMessage(rawInfo);
+          SzMessage message = newInfoMessage(rawInfo, REEVALUATE_OPERATION);
           try {
             this.sendingAsyncMessage(timers, INFO_QUEUE_NAME);
             // send the info on the async queue
@@ -0,0 +1,337 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzExportFormat;
+import com.senzing.g2.engine.G2Engine;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.senzing.io.IOUtilities.UTF_8;
+
+/**
+ * Streams the resolved entities from a native entity export as the entity of
+ * an HTTP response.  The native export handle is opened, fetched from and
+ * closed on a dedicated thread rather than on the engine thread pool so that
+ * a long-running export never holds an engine worker that interactive
+ * requests are waiting on.  The fetched lines are handed to the thread that
+ * writes the response via a bounded queue so that a slow client blocks the
+ * export thread (rather than buffering the export in memory) and a client
+ * that disconnects stops the export.  The number of exports that may run
+ * concurrently is limited by {@link SzApiProvider#getExportConcurrency()}.
+ */
+public class EntityExporter implements StreamingOutput {
+  /**
+   * The maximum number of fetched lines ({@value}) that are queued waiting
+   * to be written to the client.
+   */
+  public static final int QUEUE_CAPACITY = 1000;
+
+  /**
+   * The number of milliseconds ({@value}) to wait for room in the queue
+   * before checking if the export has been cancelled.
+   */
+  private static final long OFFER_TIMEOUT = 1000L;
+
+  /**
+   * The sentinel that is queued after the last line of the export.
+   */
+  private static final String END_OF_EXPORT = new String("END_OF_EXPORT");
+
+  /**
+   * The number of exports that are currently running.
+   */
+  private static int activeCount = 0;
+
+  /**
+   * The number of exports that have been started, used to name the threads.
+   */
+  private static long exportCount = 0L;
+
+  /**
+   * The {@link SzApiProvider} for the export.
+   */
+  private SzApiProvider provider;
+
+  /**
+   * The {@link SzExportFormat} for the export.
+   */
+  private SzExportFormat format;
+
+  /**
+   * The comma-separated list of CSV columns for the export.
+   */
+  private String csvColumns;
+
+  /**
+   * The export flags.
+   */
+  private int flags;
+
+  /**
+   * The {@link Runnable} to run once the export has been written, or
+   * <tt>null</tt> if none.
+   */
+  private Runnable onComplete;
+
+  /**
+   * The bounded queue of the fetched lines that are waiting to be written.
+   */
+  private BlockingQueue<String> queue;
+
+  /**
+   * The dedicated thread that drives the native export handle.
+   */
+  private Thread exportThread = null;
+
+  /**
+   * Indicates if the native export has been opened or failed to open.
+   */
+  private boolean opened = false;
+
+  /**
+   * Indicates if the export was cancelled because the response could not be
+   * written.
+   */
+  private boolean cancelled = false;
+
+  /**
+   * Indicates if the completion of this export has been handled.
+   */
+  private boolean completed = false;
+
+  /**
+   * The {@link Exception} describing the failure of the export, or
+   * <tt>null</tt> if it has not failed.
+   */
+  private Exception failure = null;
+
+  /**
+   * The {@link Exception} describing the failure to open the native export,
+   * or <tt>null</tt> if it was opened.
+   */
+  private Exception openFailure = null;
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param provider The {@link SzApiProvider} to use.
+   * @param format The {@link SzExportFormat} for the export.
+   * @param csvColumns The comma-separated list of CSV columns for the export
+   *                   or <tt>null</tt> for the default columns.  This is
+   *                   ignored unless the format is {@link SzExportFormat#CSV}.
+   * @param flags The export flags.
+   * @param onComplete The {@link Runnable} to run once the export has been
+   *                   written, or <tt>null</tt> if none.
+   */
+  public EntityExporter(SzApiProvider   provider,
+                        SzExportFormat  format,
+                        String          csvColumns,
+                        int             flags,
+                        Runnable        onComplete)
+  {
+    this.provider   = provider;
+    this.format     = format;
+    this.csvColumns = (csvColumns == null) ? "" : csvColumns;
+    this.flags      = flags;
+    this.onComplete = onComplete;
+    this.queue      = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+  }
+
+  /**
+   * Attempts to reserve one of the export slots allowed by the specified
+   * maximum number of concurrent exports.
+   *
+   * @param maxConcurrency The maximum number of concurrent exports.
+   * @return <tt>true</tt> if a slot was reserved, otherwise <tt>false</tt>.
+   */
+  private static synchronized boolean reserveSlot(int maxConcurrency) {
+    if (activeCount >= maxConcurrency) return false;
+    activeCount++;
+    return true;
+  }
+
+  /**
+   * Releases a previously reserved export slot.
+   */
+  private static synchronized void releaseSlot() {
+    activeCount--;
+  }
+
+  /**
+   * Gets the name for the next export thread.
+   *
+   * @return The name for the next export thread.
+   */
+  private static synchronized String nextThreadName() {
+    return "entity-export-" + (++exportCount);
+  }
+
+  /**
+   * Starts the export on its dedicated thread and waits for the native export
+   * handle to be opened.  If this returns <tt>false</tt> then the maximum
+   * number of concurrent exports are already running and the export was not
+   * started.
+   *
+   * @return <tt>true</tt> if the export was started, otherwise
+   *         <tt>false</tt>.
+   * @throws Exception If the native export could not be opened.
+   */
+  public boolean start() throws Exception {
+    if (!reserveSlot(this.provider.getExportConcurrency())) return false;
+
+    this.exportThread = new Thread(this::export, nextThreadName());
+    this.exportThread.setDaemon(true);
+    this.exportThread.start();
+
+    synchronized (this) {
+      while (!this.opened) {
+        try {
+          this.wait(OFFER_TIMEOUT);
+        } catch (InterruptedException ignore) {
+          // ignore
+        }
+      }
+      if (this.openFailure != null) throw this.openFailure;
+    }
+    return true;
+  }
+
+  /**
+   * Opens the native export, fetches from it until it is exhausted or the
+   * export is cancelled and closes it.  This is run on the dedicated export
+   * thread.
+   */
+  protected void export() {
+    G2Engine  engineApi = this.provider.getEngineApi();
+    long      handle    = -1L;
+    try {
+      handle = (this.format == SzExportFormat.CSV)
+          ? engineApi.exportCSVEntityReportV2(this.csvColumns, this.flags)
+          : engineApi.exportJSONEntityReport(this.flags);
+
+      // check if the export could not be opened
+      if (handle < 0L) {
+        throw new IllegalStateException(
+            "Failed to open entity export (" + engineApi.getLastExceptionCode()
+            + "): " + engineApi.getLastException());
+      }
+
+      synchronized (this) {
+        this.opened = true;
+        this.notifyAll();
+      }
+
+      for (String line = engineApi.fetchNext(handle);
+           line != null;
+           line = engineApi.fetchNext(handle))
+      {
+        if (!this.enqueue(line)) return;
+      }
+
+    } catch (Exception e) {
+      synchronized (this) {
+        // only log the failure if the response had already started
+        if (this.opened) {
+          e.printStackTrace();
+        } else {
+          this.openFailure = e;
+        }
+        this.failure  = e;
+        this.opened   = true;
+        this.notifyAll();
+      }
+
+    } finally {
+      if (handle >= 0L) engineApi.closeExport(handle);
+      this.enqueue(END_OF_EXPORT);
+      releaseSlot();
+    }
+  }
+
+  /**
+   * Adds the specified line to the queue, waiting for room if the client is
+   * not keeping up.
+   *
+   * @param line The line to add to the queue.
+   * @return <tt>true</tt> if the line was queued or <tt>false</tt> if the
+   *         export was cancelled.
+   */
+  private boolean enqueue(String line) {
+    try {
+      while (!this.isCancelled()) {
+        if (this.queue.offer(line, OFFER_TIMEOUT, TimeUnit.MILLISECONDS)) {
+          return true;
+        }
+      }
+    } catch (InterruptedException e) {
+      this.complete();
+    }
+    return false;
+  }
+
+  /**
+   * Checks if the export has been cancelled.
+   *
+   * @return <tt>true</tt> if the export has been cancelled, otherwise
+   *         <tt>false</tt>.
+   */
+  private synchronized boolean isCancelled() {
+    return this.cancelled;
+  }
+
+  /**
+   * Writes the fetched lines to the specified {@link OutputStream} as they
+   * become available.  This is called by the HTTP thread that writes the
+   * response, which blocks on the {@link OutputStream} if the client is slow
+   * and thereby throttles the export thread via the bounded queue.
+   *
+   * @param output The {@link OutputStream} to write to.
+   * @throws IOException If a failure occurs in writing.
+   */
+  @Override
+  public void write(OutputStream output) throws IOException {
+    try {
+      for (String line = this.queue.take();
+           line != END_OF_EXPORT;
+           line = this.queue.take())
+      {
+        output.write(line.getBytes(UTF_8));
+        if (!line.endsWith("\n")) output.write('\n');
+      }
+      output.flush();
+
+      // abort the response rather than let a failed export look complete
+      synchronized (this) {
+        if (this.failure != null) {
+          throw new IOException("Entity export failed", this.failure);
+        }
+      }
+
+    } catch (InterruptedException e) {
+      throw new IOException("Interrupted while writing entity export", e);
+
+    } finally {
+      this.complete();
+    }
+  }
+
+  /**
+   * Cancels the export (if still running) and runs the completion {@link
+   * Runnable} (if any) if it has not already been run.  This is called once
+   * the export has been written, but should also be called if the export is
+   * abandoned before being written.
+   */
+  public void complete() {
+    synchronized (this) {
+      if (this.completed) return;
+      this.completed = true;
+      this.cancelled = true;
+    }
+    this.queue.clear();
+    if (this.onComplete != null) this.onComplete.run();
+  }
+}
@@ -70,6 +70,22 @@ public class LoadBulkDataWebSocket extends BulkDataWebSocket
    */
   protected int maxFailures;
 
+  /**
+   * Whether or not the per-record results should be streamed.
+   */
+  protected boolean recordResults = false;
+
+  /**
+   * Whether or not the per-record results should include the entity ID's of
+   * the affected entities.
+   */
+  protected boolean withInfo = false;
+
+  /**
+   * The number of per-record results to batch into each message.
+   */
+  protected int resultBatchSize = DEFAULT_RESULT_BATCH_SIZE;
+
   /**
    * Default constructor.
    */
@@ -121,6 +137,27 @@ public class LoadBulkDataWebSocket extends BulkDataWebSocket
                 + "an integer: " + paramList.get(0));
       }
     }
+
+    paramList = params.get("recordResults");
+    this.recordResults = (paramList != null && paramList.size() > 0)
+        && Boolean.parseBoolean(paramList.get(0));
+
+    paramList = params.get("withInfo");
+    this.withInfo = (paramList != null && paramList.size() > 0)
+        && Boolean.parseBoolean(paramList.get(0));
+
+    paramList = params.get("resultBatchSize");
+    if (paramList != null && paramList.size() > 0) {
+      try {
+        this.resultBatchSize = Integer.parseInt(paramList.get(0));
+        if (this.resultBatchSize <= 0) throw new IllegalArgumentException();
+
+      } catch (IllegalArgumentException e) {
+        throw new BadRequestException(
+            "The specified result batch size (resultBatchSize) must be a "
+                + "positive integer: " + paramList.get(0));
+      }
+    }
   }
 
   /**
@@ -140,10 +177,13 @@ public class LoadBulkDataWebSocket extends BulkDataWebSocket
                          this.loadId,
                          this.maxFailures,
                          this.mediaType,
-                         this.pipedInputStream,
+                         this.inputStream,
                          null,
                          this.uriInfo,
                          this.progressPeriod,
+                         (this.recordResults) ? this.resultBatchSize : null,
+                         this.withInfo,
+                         null,
                          null,
                          null,
                          this.session);
@@ -0,0 +1,293 @@
+package com.senzing.api.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.joda.JodaModule;
+
+import javax.websocket.Session;
+import javax.ws.rs.sse.OutboundSseEvent;
+import javax.ws.rs.sse.SseEventSink;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static com.senzing.api.services.BulkDataSupport.PROGRESS_EVENT;
+import static com.senzing.api.services.BulkDataSupport.ProgressState;
+import static com.senzing.api.services.BulkDataSupport.RECONNECT_DELAY;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+
+/**
+ * Handles sending the progress updates for a bulk data operation.  Rather
+ * than a thread per operation, the progress updates for all operations are
+ * driven by a single shared scheduler.  On each tick the update is skipped
+ * if nothing has changed since the last update, or if the previous update
+ * is still being sent to a slow client (in which case the updates are
+ * coalesced into the next one).  The update is serialized to JSON while
+ * holding the monitor so that it is a consistent snapshot, but it is sent
+ * after the monitor is released so that the threads tracking results never
+ * wait on the client connection to acquire the monitor.  Web socket updates
+ * are sent via the {@link SerialSender} for the {@link Session} so that they
+ * are never sent concurrently with the other messages on the session.
+ */
+public class ProgressUpdater<T> implements Runnable {
+  /**
+   * The shared scheduler that drives the progress updates for all bulk data
+   * operations.
+   */
+  private static final ScheduledExecutorService SCHEDULER
+      = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bulk-data-progress");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  /**
+   * The shared pool of threads on which the progress updates are serialized
+   * and sent so that the scheduler is never blocked by a slow client.  At
+   * most one update is in flight per operation.
+   */
+  private static final ExecutorService SENDER_POOL
+      = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "bulk-data-progress-sender");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  /**
+   * The {@link ObjectMapper} used to serialize the progress updates.
+   */
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  static {
+    OBJECT_MAPPER.registerModule(new JodaModule());
+  }
+
+  /**
+   * The time between progress updates in nanoseconds.
+   */
+  private long progressNanos = 0L;
+
+  /**
+   * The progress state.
+   */
+  private ProgressState progressState = null;
+
+  /**
+   * The {@link Object} to synchronize on.
+   */
+  protected final Object monitor;
+
+  /**
+   * The SSE event sink if sending updates via SSE.
+   */
+  private SseEventSink sseEventSink = null;
+
+  /**
+   * The SSE event builder if sending updates via SSE.
+   */
+  private OutboundSseEvent.Builder sseEventBuilder = null;
+
+  /**
+   * The Web Sockets Session if sending updates via web sockets.
+   */
+  private Session webSocketSession = null;
+
+  /**
+   * The supplier for providing the updates.
+   */
+  private Supplier<T> supplier = null;
+
+  /**
+   * The {@link LongSupplier} for the value that changes whenever there is
+   * progress to report.
+   */
+  private LongSupplier changeMarker = null;
+
+  /**
+   * The change marker value when the last update was sent.
+   */
+  private long lastChangeMarker = Long.MIN_VALUE;
+
+  /**
+   * The {@link ScheduledFuture} for the scheduled ticks, or <tt>null</tt> if
+   * not started.
+   */
+  private ScheduledFuture<?> future = null;
+
+  /**
+   * Whether or not an update is currently being sent.
+   */
+  private boolean sending = false;
+
+  /**
+   * Whether or not we are completed.
+   */
+  private boolean completed = false;
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param progressNanos The number of nano-seconds between progress updates.
+   * @param progressState The {@link ProgressState} to manage the progress
+   *                      updates.
+   * @param monitor The object to synchronize on when producing the update
+   *                or <tt>null</tt> if it should synchronize on itself.
+   * @param supplier THe {@link Supplier} for providing the update object.
+   * @param changeMarker The {@link LongSupplier} for a value that changes
+   *                     whenever there is progress to report.
+   * @param sseEventSink The event sink for SSE if sending progress updates
+   *                     via SSE, or <tt>null</tt> if not sending via SSE.
+   * @param sseEventBuilder The SSE event builder if sending progress updates
+   *                        via SSE, or <tt>null</tt> if not sending via SSE.
+   * @param webSocketSession The web sockets {@link Session} if sending
+   *                         progress udpates via web sockets, or
+   *                         <tt>null</tt> if not sending via web sockets.
+   */
+  public ProgressUpdater(long                     progressNanos,
+                         ProgressState            progressState,
+                         Object                   monitor,
+                         Supplier<T>              supplier,
+                         LongSupplier             changeMarker,
+                         SseEventSink             sseEventSink,
+                         OutboundSseEvent.Builder sseEventBuilder,
+                         Session                  webSocketSession)
+  {
+    Objects.requireNonNull(progressState,"The progressState cannot be null.");
+    Objects.requireNonNull(supplier, "The supplier cannot be null.");
+    Objects.requireNonNull(changeMarker, "The changeMarker cannot be null.");
+
+    this.progressNanos    = progressNanos;
+    this.progressState    = progressState;
+    this.monitor          = (monitor == null) ? this : monitor;
+    this.supplier         = supplier;
+    this.changeMarker     = changeMarker;
+    this.sseEventSink     = sseEventSink;
+    this.sseEventBuilder  = sseEventBuilder;
+    this.webSocketSession = webSocketSession;
+  }
+
+  /**
+   * Schedules the progress updates on the shared scheduler.
+   */
+  public synchronized void start() {
+    if (this.future != null || this.completed) return;
+    long periodMillis = Math.max(1L, this.progressNanos / 1000000L);
+    this.future = SCHEDULER.scheduleAtFixedRate(
+        this, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Marks this instance as completed, cancels the scheduled progress updates
+   * and waits for any update that is being sent to finish being sent.
+   */
+  public void complete() {
+    synchronized (this) {
+      this.completed = true;
+      if (this.future != null) this.future.cancel(false);
+      while (this.sending) {
+        try {
+          this.wait();
+        } catch (InterruptedException ignore) {
+          // do nothing -- ignore
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks if this instance is completed.
+   *
+   * @return <tt>true</tt> if this instance is completed, otherwise
+   *         <tt>false</tt>.
+   */
+  public synchronized boolean isCompleted() {
+    return this.completed;
+  }
+
+  /**
+   * Implemented to handle a tick of the shared scheduler.  The update is
+   * skipped if the previous update is still being sent or if nothing has
+   * changed, otherwise it is handed off to be serialized and sent.
+   */
+  public void run() {
+    synchronized (this) {
+      // coalesce the updates if the client is slow
+      if (this.completed || this.sending) return;
+
+      // skip the update if nothing has changed
+      long marker = this.changeMarker.getAsLong();
+      if (marker == this.lastChangeMarker) return;
+      this.lastChangeMarker = marker;
+      this.sending = true;
+    }
+    try {
+      SENDER_POOL.execute(this::sendProgressUpdate);
+
+    } catch (RuntimeException e) {
+      this.sent();
+      throw e;
+    }
+  }
+
+  /**
+   * Marks the update that was being sent as finished.
+   */
+  protected synchronized void sent() {
+    this.sending = false;
+    this.notifyAll();
+  }
+
+  /**
+   * Sends the next progress update.
+   */
+  protected void sendProgressUpdate() {
+    try {
+      // serialize a snapshot of the update
+      String update = null;
+      OutboundSseEvent event = null;
+      synchronized (this.monitor) {
+        this.progressState.setStartTime(System.nanoTime());
+        update = OBJECT_MAPPER.writeValueAsString(this.supplier.get());
+
+        // build the SSE event (the builder is guarded by the monitor)
+        if (this.sseEventBuilder != null) {
+          event = this.sseEventBuilder.name(PROGRESS_EVENT)
+              .id(String.valueOf(this.progressState.nextEventId()))
+              .mediaType(APPLICATION_JSON_TYPE)
+              .data(update)
+              .reconnectDelay(RECONNECT_DELAY)
+              .build();
+        }
+      }
+
+      // check if sending an SSE response
+      if (event != null) {
+        this.sseEventSink.send(event);
+      }
+
+      // check if sending a web socket response
+      if (this.webSocketSession != null) {
+        // queue the update behind the other messages and finish once sent
+        Session session = this.webSocketSession;
+        String  text    = update;
+        SerialSender.forSession(session).submit(
+            () -> session.getBasicRemote().sendText(text)
+        ).whenComplete((result, failure) -> {
+          if (failure != null) failure.printStackTrace();
+          this.sent();
+        });
+        return;
+      }
+
+      this.sent();
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      this.sent();
+    }
+  }
+}
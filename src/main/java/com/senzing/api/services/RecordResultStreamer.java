@@ -0,0 +1,119 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzBulkRecordResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Collects the per-record results of a bulk load into batches of a
+ * configured size and hands each full batch to a sender so that the
+ * per-record results are streamed in frames rather than one at a time.
+ * The batches are queued on a {@link SerialSender} so that they are sent
+ * one at a time on its thread rather than by the threads adding the
+ * results, which only block if the client falls behind by more than the
+ * capacity of the {@link SerialSender}.
+ */
+public class RecordResultStreamer {
+  /**
+   * The number of per-record results per batch.
+   */
+  private int batchSize;
+
+  /**
+   * Whether or not the affected entities are included.
+   */
+  private boolean withInfo;
+
+  /**
+   * The {@link SerialSender} on which the batches are queued.
+   */
+  private SerialSender serialSender;
+
+  /**
+   * The {@link Consumer} that sends each batch.
+   */
+  private Consumer<List<SzBulkRecordResult>> sender;
+
+  /**
+   * The current batch of per-record results.
+   */
+  private List<SzBulkRecordResult> batch;
+
+  /**
+   * Constructs with the specified parameters.
+   *
+   * @param batchSize The number of per-record results per batch.
+   * @param withInfo <tt>true</tt> if the affected entities should be
+   *                 included, otherwise <tt>false</tt>.
+   * @param serialSender The {@link SerialSender} on which the batches are
+   *                     queued to be sent.
+   * @param sender The {@link Consumer} that sends each batch, which is
+   *               called on the thread of the {@link SerialSender}.
+   */
+  public RecordResultStreamer(int                                 batchSize,
+                              boolean                             withInfo,
+                              SerialSender                        serialSender,
+                              Consumer<List<SzBulkRecordResult>>  sender)
+  {
+    Objects.requireNonNull(serialSender, "The serialSender cannot be null.");
+    Objects.requireNonNull(sender, "The sender cannot be null.");
+    this.batchSize    = batchSize;
+    this.withInfo     = withInfo;
+    this.serialSender = serialSender;
+    this.sender       = sender;
+    this.batch        = new ArrayList<>(batchSize);
+  }
+
+  /**
+   * Gets the number of per-record results per batch.
+   *
+   * @return The number of per-record results per batch.
+   */
+  public int getBatchSize() {
+    return this.batchSize;
+  }
+
+  /**
+   * Checks if the affected entities should be included in the per-record
+   * results.
+   *
+   * @return <tt>true</tt> if the affected entities should be included,
+   *         otherwise <tt>false</tt>.
+   */
+  public boolean isWithInfo() {
+    return this.withInfo;
+  }
+
+  /**
+   * Adds the specified per-record result to the current batch and sends the
+   * batch if it is full.
+   *
+   * @param result The {@link SzBulkRecordResult} to add.
+   */
+  public synchronized void add(SzBulkRecordResult result) {
+    this.batch.add(result);
+    if (this.batch.size() >= this.batchSize) this.flush();
+  }
+
+  /**
+   * Queues the current batch to be sent if it is not empty.
+   */
+  public synchronized void flush() {
+    if (this.batch.size() == 0) return;
+    List<SzBulkRecordResult> results = this.batch;
+    this.batch = new ArrayList<>(this.batchSize);
+    this.serialSender.submit(() -> this.sender.accept(results));
+  }
+
+  /**
+   * Queues the current batch to be sent (if it is not empty) and waits for
+   * all the queued batches to be sent.
+   */
+  public void complete() {
+    this.flush();
+    this.serialSender.await();
+  }
+}
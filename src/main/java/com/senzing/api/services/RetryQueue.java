@@ -0,0 +1,524 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzLoadRetryStats;
+import com.senzing.g2.engine.G2Engine;
+import com.senzing.util.Timers;
+import com.senzing.util.WorkerThreadPool;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.senzing.api.services.BulkDataSupport.AddRecordResult;
+
+/**
+ * Retries records whose loads failed with transient engine errors using
+ * exponential backoff with full jitter.  A failure is classified as
+ * transient by the {@linkplain G2Engine#getLastExceptionCode() engine
+ * exception code} that is recorded in its {@link AddRecordResult}.  Records
+ * waiting on their backoff sit in the delayed queue of a shared scheduler
+ * rather than holding a bulk load worker thread.  Each attempt counts as a
+ * record in flight against the {@link ConcurrencyLimiter} of the load and
+ * runs on the engine thread pool via {@link
+ * SzApiProvider#executeInThread(WorkerThreadPool.Task)}, so the retries are
+ * bounded by the same limit as the records being loaded.  If the limit has
+ * been reached when the backoff expires then the attempt waits for another
+ * {@link #BASE_DELAY_MILLIS} before trying again.  The number of retries and
+ * the eventual outcome of the retried records are tracked per error code.
+ * <p>
+ * The retries are keyed by the data source and record ID of the record so
+ * that a delayed retry of an older version of a record is never applied
+ * after a newer version of the same record.  The loader must call {@link
+ * #supersede(String, String)} before dispatching each record, which drops
+ * any pending retry of the same record (reporting its last failure as its
+ * outcome) and waits for an attempt that is already running to finish.
+ */
+public class RetryQueue {
+  /**
+   * The engine exception codes for the failures that are considered to be
+   * transient and are therefore retried.  These are the codes for
+   * deadlocks, lost database connections, database lock timeouts and
+   * retry-able database exceptions.
+   */
+  public static final Set<String> TRANSIENT_ERROR_CODES
+      = Set.of("10", "1006", "1007", "1008");
+
+  /**
+   * The base number of milliseconds ({@value}) for the backoff before the
+   * first retry, which is doubled for each subsequent retry.
+   */
+  public static final long BASE_DELAY_MILLIS = 100L;
+
+  /**
+   * The maximum number of milliseconds ({@value}) for the backoff before
+   * any retry.
+   */
+  public static final long MAX_DELAY_MILLIS = 10000L;
+
+  /**
+   * The shared scheduler whose delayed queue holds the records that are
+   * waiting on their backoff.  It only hands each retry off to the {@link
+   * #DISPATCH_POOL} so it is never blocked by a slow load.
+   */
+  private static final ScheduledExecutorService SCHEDULER
+      = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bulk-load-retry-scheduler");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  /**
+   * The shared pool of threads that hand the retry attempts to the engine
+   * thread pool and wait for them to complete.  The engine work is never
+   * done on these threads and a thread is only used while its attempt holds
+   * a record in flight from the {@link ConcurrencyLimiter} of its load, so
+   * the number of threads is bounded by the limits of the loads.
+   */
+  private static final ExecutorService DISPATCH_POOL
+      = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "bulk-load-retry");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  /**
+   * Loads a record and provides the {@link AddRecordResult}.  This is called
+   * on an engine thread so it must <b>not</b> itself call {@link
+   * SzApiProvider#executeInThread(WorkerThreadPool.Task)}.
+   */
+  public interface RecordLoader {
+    /**
+     * Loads the record and returns the {@link AddRecordResult}.
+     *
+     * @param timers The {@link Timers} for the attempt.
+     * @return The {@link AddRecordResult} describing the outcome.
+     * @throws Exception If a failure occurs.
+     */
+    AddRecordResult load(Timers timers) throws Exception;
+  }
+
+  /**
+   * Identifies a retried record so that its pending retry can be superseded
+   * by a later load of the same record.
+   */
+  private static class RetryState {
+    /**
+     * Whether or not an attempt for the record is currently running on the
+     * engine thread pool.
+     */
+    private boolean running = false;
+  }
+
+  /**
+   * The maximum number of times to retry each record.
+   */
+  private int maxRetries;
+
+  /**
+   * The {@link SzApiProvider} whose engine thread pool runs the attempts.
+   */
+  private SzApiProvider provider;
+
+  /**
+   * The {@link ConcurrencyLimiter} against which the attempts are counted.
+   */
+  private ConcurrencyLimiter limiter;
+
+  /**
+   * The number of records that are waiting on a retry or being retried.
+   */
+  private int pendingCount = 0;
+
+  /**
+   * The {@link Timers} merged from all the retry attempts.
+   */
+  private Timers timers = new Timers();
+
+  /**
+   * The {@link Map} of error codes to the {@link SzLoadRetryStats} for
+   * those error codes.
+   */
+  private Map<String, SzLoadRetryStats> statsMap = new TreeMap<>();
+
+  /**
+   * The {@link Map} of record keys to the {@link RetryState} for the record
+   * that is currently waiting on a retry or being retried.
+   */
+  private Map<String, RetryState> retryStates = new HashMap<>();
+
+  /**
+   * Constructs with the maximum number of times to retry each record, the
+   * {@link SzApiProvider} whose engine thread pool runs the attempts and the
+   * {@link ConcurrencyLimiter} against which the attempts are counted.
+   *
+   * @param maxRetries The maximum number of times to retry each record.
+   * @param provider The {@link SzApiProvider} whose engine thread pool runs
+   *                 the attempts.
+   * @param limiter The {@link ConcurrencyLimiter} against which the attempts
+   *                are counted.
+   */
+  public RetryQueue(int                 maxRetries,
+                    SzApiProvider       provider,
+                    ConcurrencyLimiter  limiter)
+  {
+    Objects.requireNonNull(provider, "The provider cannot be null.");
+    Objects.requireNonNull(limiter, "The limiter cannot be null.");
+    this.maxRetries = maxRetries;
+    this.provider   = provider;
+    this.limiter    = limiter;
+  }
+
+  /**
+   * Checks if the specified {@link AddRecordResult} describes a failure
+   * with an error code that is retried.
+   *
+   * @param result The {@link AddRecordResult} to check.
+   * @return <tt>true</tt> if the record should be retried, otherwise
+   *         <tt>false</tt>.
+   */
+  public boolean isRetryable(AddRecordResult result) {
+    return (result != null && result.isFailed() && this.maxRetries > 0
+            && TRANSIENT_ERROR_CODES.contains(result.getErrorCode()));
+  }
+
+  /**
+   * Computes the number of milliseconds to wait before the specified retry
+   * attempt.  The delay is chosen uniformly at random between zero and the
+   * exponential backoff so that records failing together do not all retry
+   * together.
+   *
+   * @param attempt The one-based retry attempt.
+   * @return The number of milliseconds to wait before the retry attempt.
+   */
+  public long backoffMillis(int attempt) {
+    int  shift   = Math.min(attempt - 1, 30);
+    long backoff = Math.min(MAX_DELAY_MILLIS, BASE_DELAY_MILLIS << shift);
+    return ThreadLocalRandom.current().nextLong(backoff + 1L);
+  }
+
+  /**
+   * Gets the key identifying the record with the specified data source and
+   * record ID, or <tt>null</tt> if the record has no record ID and so cannot
+   * be superseded.
+   *
+   * @param dataSource The data source for the record.
+   * @param recordId The record ID for the record, or <tt>null</tt> if none.
+   * @return The key for the record, or <tt>null</tt> if it has no record ID.
+   */
+  private static String recordKey(String dataSource, String recordId) {
+    if (recordId == null) return null;
+    return dataSource + ":" + recordId.length() + ":" + recordId;
+  }
+
+  /**
+   * Supersedes any retry of the record with the specified data source and
+   * record ID because a later version of the record is about to be loaded.
+   * A retry that is waiting on its backoff is dropped and reports its last
+   * failure as its outcome when its backoff expires, while an attempt that
+   * is already running is waited for so that it is applied before the later
+   * version.  This must be called before dispatching each record that is
+   * loaded while this instance may hold retries, and must <b>not</b> be
+   * called on a thread that holds a record in flight from the {@link
+   * ConcurrencyLimiter}.
+   *
+   * @param dataSource The data source for the record.
+   * @param recordId The record ID for the record, or <tt>null</tt> if none.
+   */
+  public synchronized void supersede(String dataSource, String recordId) {
+    String key = recordKey(dataSource, recordId);
+    if (key == null) return;
+    RetryState state = this.retryStates.get(key);
+    if (state == null) return;
+    while (state.running) {
+      try {
+        this.wait();
+      } catch (InterruptedException ignore) {
+        // ignore
+      }
+    }
+    this.retryStates.remove(key, state);
+  }
+
+  /**
+   * Schedules the retry of a record whose load failed with the specified
+   * {@link AddRecordResult}.  The specified {@link Consumer} for the
+   * {@link AddRecordResult} is called with the result of the final attempt
+   * and the specified {@link Consumer} for the {@link Exception} is called
+   * instead if the final attempt throws an exception.  If the retry is
+   * {@linkplain #supersede(String, String) superseded} before its next
+   * attempt then the {@link Consumer} for the {@link AddRecordResult} is
+   * called with the last failed result.
+   *
+   * @param failedResult The {@link AddRecordResult} for the failed load.
+   * @param loader The {@link RecordLoader} for loading the record again.
+   * @param onComplete The {@link Consumer} to call with the final {@link
+   *                   AddRecordResult}.
+   * @param onError The {@link Consumer} to call if the final attempt throws
+   *                an exception.
+   */
+  public void retry(AddRecordResult           failedResult,
+                    RecordLoader              loader,
+                    Consumer<AddRecordResult> onComplete,
+                    Consumer<Exception>       onError)
+  {
+    String key = recordKey(failedResult.getDataSource(),
+                           failedResult.getRecordId());
+    RetryState state = new RetryState();
+    synchronized (this) {
+      this.pendingCount++;
+      if (key != null) this.retryStates.put(key, state);
+    }
+    this.schedule(failedResult, 1, key, state, loader, onComplete, onError);
+  }
+
+  /**
+   * Schedules the specified retry attempt after its backoff.
+   *
+   * @param failedResult The {@link AddRecordResult} for the last failure.
+   * @param attempt The one-based retry attempt.
+   * @param key The key for the record, or <tt>null</tt> if it has none.
+   * @param state The {@link RetryState} for the record.
+   * @param loader The {@link RecordLoader} for loading the record again.
+   * @param onComplete The {@link Consumer} to call with the final {@link
+   *                   AddRecordResult}.
+   * @param onError The {@link Consumer} to call if the final attempt throws
+   *                an exception.
+   */
+  private void schedule(AddRecordResult           failedResult,
+                        int                       attempt,
+                        String                    key,
+                        RetryState                state,
+                        RecordLoader              loader,
+                        Consumer<AddRecordResult> onComplete,
+                        Consumer<Exception>       onError)
+  {
+    Runnable task = () -> this.attempt(
+        failedResult, attempt, key, state, loader, onComplete, onError);
+
+    this.dispatchAfter(task, this.backoffMillis(attempt));
+  }
+
+  /**
+   * Dispatches the specified attempt after the specified delay once the
+   * {@link ConcurrencyLimiter} allows another record in flight.  If the
+   * limit has been reached then the attempt is delayed by another {@link
+   * #BASE_DELAY_MILLIS} rather than blocking the scheduler.  The attempt
+   * must release the record in flight from the {@link ConcurrencyLimiter}.
+   *
+   * @param task The {@link Runnable} for the attempt.
+   * @param delayMillis The number of milliseconds to wait before dispatching.
+   */
+  private void dispatchAfter(Runnable task, long delayMillis) {
+    Runnable dispatch = () -> {
+      if (!this.limiter.tryAcquire()) {
+        this.dispatchAfter(task, BASE_DELAY_MILLIS);
+        return;
+      }
+      try {
+        DISPATCH_POOL.execute(task);
+      } catch (RejectedExecutionException e) {
+        task.run();
+      }
+    };
+
+    try {
+      SCHEDULER.schedule(dispatch, delayMillis, TimeUnit.MILLISECONDS);
+
+    } catch (RejectedExecutionException e) {
+      this.limiter.acquire();
+      task.run();
+    }
+  }
+
+  /**
+   * Makes the specified retry attempt on the engine thread pool while
+   * holding a record in flight from the {@link ConcurrencyLimiter} and
+   * either schedules the next attempt or reports the outcome.  If the retry
+   * has been superseded then no attempt is made and the last failure is
+   * reported as the outcome.
+   *
+   * @param failedResult The {@link AddRecordResult} for the last failure.
+   * @param attempt The one-based retry attempt.
+   * @param key The key for the record, or <tt>null</tt> if it has none.
+   * @param state The {@link RetryState} for the record.
+   * @param loader The {@link RecordLoader} for loading the record again.
+   * @param onComplete The {@link Consumer} to call with the final {@link
+   *                   AddRecordResult}.
+   * @param onError The {@link Consumer} to call if the final attempt throws
+   *                an exception.
+   */
+  private void attempt(AddRecordResult           failedResult,
+                       int                       attempt,
+                       String                    key,
+                       RetryState                state,
+                       RecordLoader              loader,
+                       Consumer<AddRecordResult> onComplete,
+                       Consumer<Exception>       onError)
+  {
+    String          errorCode = failedResult.getErrorCode();
+    boolean         pending   = false;
+    Timers          timers    = new Timers();
+    long            start     = System.nanoTime();
+    AddRecordResult result    = null;
+    try {
+      try {
+        // check on the engine thread that the retry was not superseded
+        result = this.provider.executeInThread(() -> {
+          if (!this.begin(key, state)) return failedResult;
+          try {
+            synchronized (this) {
+              SzLoadRetryStats stats = this.getStats(errorCode);
+              stats.setRetryCount(stats.getRetryCount() + 1);
+            }
+            return loader.load(timers);
+
+          } finally {
+            this.end(state);
+          }
+        });
+      } finally {
+        this.limiter.release(result, System.nanoTime() - start);
+      }
+
+      // check if the record should be retried again
+      if (result != failedResult && this.isRetryable(result)
+          && attempt < this.maxRetries)
+      {
+        pending = true;
+        this.schedule(
+            result, attempt + 1, key, state, loader, onComplete, onError);
+        return;
+      }
+
+      // check if retried records with the last error code recovered
+      String lastCode = (this.isRetryable(result)) ? result.getErrorCode()
+          : errorCode;
+      synchronized (this) {
+        SzLoadRetryStats stats = this.getStats(lastCode);
+        if (result.isFailed()) {
+          stats.setFailedCount(stats.getFailedCount() + 1);
+        } else {
+          stats.setRecoveredCount(stats.getRecoveredCount() + 1);
+        }
+      }
+      onComplete.accept(result);
+
+    } catch (Exception e) {
+      synchronized (this) {
+        SzLoadRetryStats stats = this.getStats(errorCode);
+        stats.setFailedCount(stats.getFailedCount() + 1);
+      }
+      onError.accept(e);
+
+    } finally {
+      synchronized (this) {
+        this.timers.mergeWith(timers);
+        if (!pending) {
+          if (key != null) this.retryStates.remove(key, state);
+          this.pendingCount--;
+          this.notifyAll();
+        }
+      }
+    }
+  }
+
+  /**
+   * Marks the attempt for the record with the specified key as running
+   * unless its retry has been superseded.
+   *
+   * @param key The key for the record, or <tt>null</tt> if it has none.
+   * @param state The {@link RetryState} for the record.
+   * @return <tt>true</tt> if the attempt should be made, or <tt>false</tt>
+   *         if the retry has been superseded.
+   */
+  private synchronized boolean begin(String key, RetryState state) {
+    if (key != null && this.retryStates.get(key) != state) return false;
+    state.running = true;
+    return true;
+  }
+
+  /**
+   * Marks the attempt for the specified {@link RetryState} as no longer
+   * running and wakes any thread waiting to supersede it.
+   *
+   * @param state The {@link RetryState} for the record.
+   */
+  private synchronized void end(RetryState state) {
+    state.running = false;
+    this.notifyAll();
+  }
+
+  /**
+   * Gets the {@link SzLoadRetryStats} for the specified error code, creating
+   * it if it does not yet exist.  This must be called while synchronized on
+   * this instance.
+   *
+   * @param errorCode The error code for the {@link SzLoadRetryStats}.
+   * @return The {@link SzLoadRetryStats} for the specified error code.
+   */
+  private SzLoadRetryStats getStats(String errorCode) {
+    SzLoadRetryStats stats = this.statsMap.get(errorCode);
+    if (stats == null) {
+      stats = SzLoadRetryStats.FACTORY.create();
+      stats.setErrorCode(errorCode);
+      this.statsMap.put(errorCode, stats);
+    }
+    return stats;
+  }
+
+  /**
+   * Waits until every record that was handed to this instance has reached
+   * its final outcome.
+   */
+  public synchronized void drain() {
+    while (this.pendingCount > 0) {
+      try {
+        this.wait(1000L);
+      } catch (InterruptedException ignore) {
+        // ignore
+      }
+    }
+  }
+
+  /**
+   * Gets the {@link Timers} merged from all the retry attempts.
+   *
+   * @return The {@link Timers} merged from all the retry attempts.
+   */
+  public synchronized Timers getTimers() {
+    return this.timers;
+  }
+
+  /**
+   * Creates the {@link List} of {@link SzLoadRetryStats} describing the
+   * retries by error code, or <tt>null</tt> if no records were retried.
+   *
+   * @return The {@link List} of {@link SzLoadRetryStats} describing the
+   *         retries by error code, or <tt>null</tt> if no records were
+   *         retried.
+   */
+  public synchronized List<SzLoadRetryStats> toRetryStats() {
+    if (this.statsMap.size() == 0) return null;
+    List<SzLoadRetryStats> result = new ArrayList<>(this.statsMap.size());
+    for (SzLoadRetryStats stats : this.statsMap.values()) {
+      SzLoadRetryStats copy = SzLoadRetryStats.FACTORY.create();
+      copy.setErrorCode(stats.getErrorCode());
+      copy.setRetryCount(stats.getRetryCount());
+      copy.setRecoveredCount(stats.getRecoveredCount());
+      copy.setFailedCount(stats.getFailedCount());
+      result.add(copy);
+    }
+    return result;
+  }
+}
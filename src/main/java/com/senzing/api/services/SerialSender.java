@@ -0,0 +1,249 @@
+package com.senzing.api.services;
+
+import javax.websocket.Session;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sends the messages for a client one at a time in the order they were
+ * submitted.  The messages are queued in a bounded queue that is drained by
+ * a single thread (borrowed from a shared pool only while there are messages
+ * to send), so the threads producing the messages never write to the client
+ * connection themselves and are only blocked if the client falls so far
+ * behind that the queue is full.  Since a Web Socket {@link Session} does
+ * not allow a message to be sent while another is still being sent, every
+ * message sent on a Web Socket should be sent via the {@link SerialSender}
+ * obtained from {@link #forSession(Session)}.
+ */
+public class SerialSender {
+  /**
+   * Sends a single message to the client.
+   */
+  @FunctionalInterface
+  public interface SendTask {
+    /**
+     * Sends the message.
+     *
+     * @throws Exception If a failure occurs.
+     */
+    void send() throws Exception;
+  }
+
+  /**
+   * The default maximum number of messages ({@value}) that may be queued.
+   */
+  public static final int DEFAULT_CAPACITY = 16;
+
+  /**
+   * The key for the {@link SerialSender} in the user properties of a Web
+   * Socket {@link Session}.
+   */
+  private static final String SESSION_PROPERTY_KEY
+      = SerialSender.class.getName();
+
+  /**
+   * The shared pool of threads on which the queued messages are sent.
+   */
+  private static final ExecutorService SENDER_POOL
+      = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "serial-sender");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  /**
+   * Pairs a queued {@link SendTask} with the {@link CompletableFuture} to
+   * complete once it has been sent.
+   */
+  private static class Pending {
+    /**
+     * The {@link SendTask} to run.
+     */
+    private SendTask task;
+
+    /**
+     * The {@link CompletableFuture} to complete once sent.
+     */
+    private CompletableFuture<Void> future;
+
+    /**
+     * Constructs with the specified task.
+     *
+     * @param task The {@link SendTask} to run.
+     */
+    private Pending(SendTask task) {
+      this.task   = task;
+      this.future = new CompletableFuture<>();
+    }
+  }
+
+  /**
+   * The maximum number of messages that may be queued.
+   */
+  private int capacity;
+
+  /**
+   * The queue of messages that have not yet been sent.
+   */
+  private Deque<Pending> queue = new ArrayDeque<>();
+
+  /**
+   * Whether or not a thread is currently draining the queue.
+   */
+  private boolean draining = false;
+
+  /**
+   * Constructs with the {@linkplain #DEFAULT_CAPACITY default capacity}.
+   */
+  public SerialSender() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs with the specified capacity.
+   *
+   * @param capacity The maximum number of messages that may be queued.
+   *
+   * @throws IllegalArgumentException If the specified capacity is not
+   *                                  positive.
+   */
+  public SerialSender(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException(
+          "The capacity must be positive: " + capacity);
+    }
+    this.capacity = capacity;
+  }
+
+  /**
+   * Gets the {@link SerialSender} for the specified Web Socket {@link
+   * Session}, creating it if this is the first time it is requested.
+   *
+   * @param session The Web Socket {@link Session}.
+   *
+   * @return The {@link SerialSender} for the specified {@link Session}.
+   */
+  public static SerialSender forSession(Session session) {
+    Map<String, Object> props = session.getUserProperties();
+    synchronized (props) {
+      SerialSender sender = (SerialSender) props.get(SESSION_PROPERTY_KEY);
+      if (sender == null) {
+        sender = new SerialSender();
+        props.put(SESSION_PROPERTY_KEY, sender);
+      }
+      return sender;
+    }
+  }
+
+  /**
+   * Gets the maximum number of messages that may be queued.
+   *
+   * @return The maximum number of messages that may be queued.
+   */
+  public int getCapacity() {
+    return this.capacity;
+  }
+
+  /**
+   * Queues the specified {@link SendTask} to be sent after the messages that
+   * were previously queued, waiting for room in the queue if it is full.
+   * The returned {@link CompletableFuture} is completed once the message has
+   * been sent, or completed exceptionally if sending it failed.
+   *
+   * @param task The {@link SendTask} that sends the message.
+   *
+   * @return The {@link CompletableFuture} that is completed once the message
+   *         has been sent.
+   */
+  public CompletableFuture<Void> submit(SendTask task) {
+    Pending pending = new Pending(task);
+    boolean interrupted = false;
+    synchronized (this) {
+      while (this.queue.size() >= this.capacity) {
+        try {
+          this.wait();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      this.queue.addLast(pending);
+      if (!this.draining) {
+        this.draining = true;
+        try {
+          SENDER_POOL.execute(this::drain);
+
+        } catch (RuntimeException e) {
+          this.draining = false;
+          this.queue.removeLast();
+          throw e;
+        }
+      }
+    }
+    if (interrupted) Thread.currentThread().interrupt();
+    return pending.future;
+  }
+
+  /**
+   * Queues the specified {@link SendTask} and waits for the message to be
+   * sent, throwing the failure if sending it failed.
+   *
+   * @param task The {@link SendTask} that sends the message.
+   *
+   * @throws Exception If sending the message failed.
+   */
+  public void send(SendTask task) throws Exception {
+    try {
+      this.submit(task).get();
+
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof Exception) throw (Exception) cause;
+      throw e;
+    }
+  }
+
+  /**
+   * Waits for all the queued messages to be sent.
+   */
+  public synchronized void await() {
+    boolean interrupted = false;
+    while (this.draining) {
+      try {
+        this.wait();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) Thread.currentThread().interrupt();
+  }
+
+  /**
+   * Sends the queued messages one at a time until the queue is empty.
+   */
+  private void drain() {
+    while (true) {
+      Pending pending;
+      synchronized (this) {
+        pending = this.queue.pollFirst();
+        if (pending == null) {
+          this.draining = false;
+          this.notifyAll();
+          return;
+        }
+        this.notifyAll();
+      }
+      try {
+        pending.task.send();
+        pending.future.complete(null);
+
+      } catch (Exception e) {
+        pending.future.completeExceptionally(e);
+      }
+    }
+  }
+}
@@ -1403,6 +1403,27 @@ public interface ServicesSupport {
     return accessToken;
   }
 
+  /**
+   * Gets the error message from the {@link SzErrorResponse} of the specified
+   * {@link WebApplicationException}.  This is used when the failure of an
+   * operation is reported as part of a larger response rather than thrown.
+   * If the response has no {@link SzErrorResponse} with a message then the
+   * message of the exception itself is returned.
+   *
+   * @param exception The {@link WebApplicationException} to get the message
+   *                  from.
+   * @return The error message for the specified exception.
+   */
+  default String getErrorMessage(WebApplicationException exception) {
+    Object entity = exception.getResponse().getEntity();
+    if (entity instanceof SzErrorResponse) {
+      for (SzError error : ((SzErrorResponse) entity).getErrors()) {
+        if (error.getMessage() != null) return error.getMessage();
+      }
+    }
+    return exception.getMessage();
+  }
+
   /**
    * Normalizes the specified {@link String}.  If <tt>null</tt> then
    * <tt>null</tt> is returned.  Otherwise, the {@link String} is trimmed of
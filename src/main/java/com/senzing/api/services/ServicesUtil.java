@@ -12,6 +12,31 @@ import java.util.Date;
  * Utility functions for services.
  */
 public class ServicesUtil {
+  /**
+   * The message property identifying the operation that produced an info
+   * message ({@value}).
+   */
+  public static final String INFO_OPERATION_PROPERTY = "info-operation";
+
+  /**
+   * The {@link #INFO_OPERATION_PROPERTY} value for info messages produced by
+   * adding or replacing a record ({@value}).
+   */
+  public static final String LOAD_OPERATION = "load";
+
+  /**
+   * The {@link #INFO_OPERATION_PROPERTY} value for info messages produced by
+   * deleting a record ({@value}).
+   */
+  public static final String DELETE_OPERATION = "delete";
+
+  /**
+   * The {@link #INFO_OPERATION_PROPERTY} value for info messages produced by
+   * re-evaluating a record or entity or by processing a redo record
+   * ({@value}).
+   */
+  public static final String REEVALUATE_OPERATION = "reevaluate";
+
   /**
    * The suppression state for info errors.
    */
@@ -83,6 +108,23 @@ public class ServicesUtil {
     }
   }
 
+  /**
+   * Creates a new info {@link SzMessage} with the specified info JSON text as
+   * its body and the {@link #INFO_OPERATION_PROPERTY} set to the specified
+   * operation.
+   *
+   * @param info The info JSON text.
+   * @param operation The operation that produced the info (e.g.: {@link
+   *                  #LOAD_OPERATION}).
+   *
+   * @return The new info {@link SzMessage}.
+   */
+  public static SzMessage newInfoMessage(String info, String operation) {
+    SzMessage message = new SzMessage(info);
+    message.setProperty(INFO_OPERATION_PROPERTY, operation);
+    return message;
+  }
+
   /**
    * Returns the Base {@link URI} given the specified request {@link URI}.
    *
@@ -1,5 +1,11 @@
 package com.senzing.api.services;
 
+import com.senzing.api.model.SzChangeFeedStats;
+import com.senzing.api.model.SzInfoAggregatorStats;
+import com.senzing.api.model.SzInfoPublisherStats;
+import com.senzing.api.model.SzInfoSpoolStats;
+import com.senzing.api.model.SzRecordConsumerStats;
+import com.senzing.api.model.SzRedoProcessorStats;
 import com.senzing.api.model.SzServerInfo;
 import com.senzing.api.model.SzVersionInfo;
 import com.senzing.g2.engine.*;
@@ -9,6 +15,7 @@ import com.senzing.util.WorkerThreadPool;
 
 import java.lang.invoke.StringConcatException;
 import java.util.Date;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -206,6 +213,59 @@ public interface SzApiProvider {
    */
   int getConcurrency();
 
+  /**
+   * Returns the minimum number of records that a bulk load may have in
+   * flight.  If less than the {@linkplain #getConcurrency() concurrency} then
+   * bulk loads adapt the number of records in flight between this minimum
+   * and the concurrency according to the latency and failure rate of the
+   * records being loaded.
+   *
+   * @return The minimum number of records that a bulk load may have in
+   *         flight.
+   */
+  int getMinLoadConcurrency();
+
+  /**
+   * Returns the <b>unmodifiable</b> {@link List} of JSON property names whose
+   * values form the affinity key of each bulk-loaded record.  Records with
+   * the same normalized affinity key are loaded by the same worker one after
+   * the other.  This returns <tt>null</tt> if records are loaded by
+   * whichever worker is free.
+   *
+   * @return The <b>unmodifiable</b> {@link List} of JSON property names whose
+   *         values form the affinity key, or <tt>null</tt> if records are not
+   *         scheduled by affinity.
+   */
+  List<String> getLoadAffinityKeys();
+
+  /**
+   * Checks if bulk loads should alternate between blocks of records loaded
+   * with and without the {@linkplain #getLoadAffinityKeys() affinity key}
+   * and report the throughput and engine lock-wait statistics for each.
+   *
+   * @return <tt>true</tt> if bulk loads should benchmark the affinity,
+   *         otherwise <tt>false</tt>.
+   */
+  boolean isBenchmarkingLoadAffinity();
+
+  /**
+   * Returns the maximum number of times a bulk-loaded record that fails with
+   * a transient engine error is retried before it is counted as failed.  If
+   * zero (0) then such records are not retried.
+   *
+   * @return The maximum number of times a bulk-loaded record is retried.
+   */
+  int getLoadMaxRetries();
+
+  /**
+   * Returns the maximum number of entity exports that may run concurrently.
+   * Each export runs on its own dedicated thread rather than via {@link
+   * #executeInThread(WorkerThreadPool.Task)}.
+   *
+   * @return The maximum number of entity exports that may run concurrently.
+   */
+  int getExportConcurrency();
+
   /**
    * Returns the base path for the REST API.  Typically this is <tt>"/"</tt>,
    * but it may be a sub-path.
@@ -329,6 +389,99 @@ public interface SzApiProvider {
    */
   boolean isAdminEnabled();
 
+  /**
+   * Gets the {@link SzRecordFingerprints} used to skip loading records that
+   * are unchanged since they were last loaded.  This returns <tt>null</tt> if
+   * unchanged records are not being skipped.
+   *
+   * @return The {@link SzRecordFingerprints} for skipping unchanged records,
+   *         or <tt>null</tt> if unchanged records are not being skipped.
+   */
+  SzRecordFingerprints getRecordFingerprints();
+
+  /**
+   * Gets the {@link SzRedoProcessorStats} describing the current state of the
+   * background redo processor.  This returns <tt>null</tt> if redo records
+   * are not being processed in the background.
+   *
+   * @return The {@link SzRedoProcessorStats} describing the background redo
+   *         processor, or <tt>null</tt> if there is none.
+   */
+  SzRedoProcessorStats getRedoProcessorStats();
+
+  /**
+   * Gets the {@link SzInfoPublisherStats} describing the current state of the
+   * in-process queue through which info messages are asynchronously
+   * published.  This returns <tt>null</tt> if there is no info sink or if
+   * info messages are published synchronously.
+   *
+   * @return The {@link SzInfoPublisherStats} describing the info publish
+   *         queue, or <tt>null</tt> if there is none.
+   */
+  SzInfoPublisherStats getInfoPublisherStats();
+
+  /**
+   * Gets the {@link SzInfoSpoolStats} describing the current state of the
+   * durable local spool through which info messages are forwarded to the
+   * info queue.  This returns <tt>null</tt> if there is no info sink or if
+   * info messages are not spooled.
+   *
+   * @return The {@link SzInfoSpoolStats} describing the info spool, or
+   *         <tt>null</tt> if there is none.
+   */
+  SzInfoSpoolStats getInfoSpoolStats();
+
+  /**
+   * Gets the {@link SzInfoAggregatorStats} describing the current state of
+   * the aggregator that packs info messages into aggregate messages before
+   * they are sent to the info queue.  This returns <tt>null</tt> if there is
+   * no info sink or if info messages are not aggregated.
+   *
+   * @return The {@link SzInfoAggregatorStats} describing the info
+   *         aggregator, or <tt>null</tt> if there is none.
+   */
+  SzInfoAggregatorStats getInfoAggregatorStats();
+
+  /**
+   * Gets the {@link SzChangeFeed} that streams the info messages to
+   * subscribers.  This returns <tt>null</tt> if the change feed is not
+   * enabled.
+   *
+   * @return The {@link SzChangeFeed} that streams the info messages to
+   *         subscribers, or <tt>null</tt> if the change feed is not enabled.
+   */
+  SzChangeFeed getChangeFeed();
+
+  /**
+   * Gets the {@link SzChangeFeedStats} describing the current state of the
+   * change feed that streams info messages to subscribers.  This returns
+   * <tt>null</tt> if the change feed is not enabled.
+   *
+   * @return The {@link SzChangeFeedStats} describing the change feed, or
+   *         <tt>null</tt> if there is none.
+   */
+  SzChangeFeedStats getChangeFeedStats();
+
+  /**
+   * Gets the {@link SzRepositoryStatistics} that are incrementally maintained
+   * from the info messages.  This returns <tt>null</tt> if the repository
+   * statistics are not enabled.
+   *
+   * @return The {@link SzRepositoryStatistics}, or <tt>null</tt> if the
+   *         repository statistics are not enabled.
+   */
+  SzRepositoryStatistics getRepositoryStatistics();
+
+  /**
+   * Gets the {@link SzRecordConsumerStats} describing the current state of
+   * the consumer that loads and deletes the records received from the ingest
+   * queue.  This returns <tt>null</tt> if no ingest queue is configured.
+   *
+   * @return The {@link SzRecordConsumerStats} describing the record consumer,
+   *         or <tt>null</tt> if there is none.
+   */
+  SzRecordConsumerStats getRecordConsumerStats();
+
   /**
    * Checks if there is an info message sink configured.
    *
@@ -0,0 +1,98 @@
+package com.senzing.api.services;
+
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Provides an interface for a feed of the info messages produced when records
+ * are loaded, deleted or re-evaluated.  Each info message is assigned a
+ * sequence number and retained in a bounded buffer from which it is pushed to
+ * each subscriber in order.  A subscriber that falls so far behind that the
+ * info messages it has yet to receive are no longer retained is evicted so
+ * that it can resynchronize rather than silently miss changes.
+ */
+public interface SzChangeFeed {
+  /**
+   * Implemented by the transport (e.g.: SSE or Web Sockets) to receive the
+   * info messages for a subscription.
+   */
+  interface Subscriber {
+    /**
+     * Delivers the specified info message to the subscriber.  The next info
+     * message is not delivered until the returned {@link CompletionStage}
+     * completes.  If it completes exceptionally then the subscription is
+     * cancelled.
+     *
+     * @param sequence The sequence number of the info message.
+     * @param info The JSON text of the info message.
+     *
+     * @return The {@link CompletionStage} that completes when the info
+     *         message has been sent.
+     */
+    CompletionStage<?> deliver(long sequence, String info);
+
+    /**
+     * Notifies the subscriber that its subscription has ended because the
+     * feed was closed or the subscriber fell too far behind.  No further
+     * info messages are delivered after this is called.
+     *
+     * @param lastSequence The sequence number of the last info message that
+     *                     was delivered, which the subscriber may resume
+     *                     after if still retained.
+     * @param reason The reason the subscription was ended.
+     */
+    void evicted(long lastSequence, String reason);
+  }
+
+  /**
+   * Describes a subscription to the feed.
+   */
+  interface Subscription {
+    /**
+     * Gets the sequence number of the last info message that was delivered
+     * to the subscriber (or that the subscription resumed after).
+     *
+     * @return The sequence number of the last info message that was
+     *         delivered to the subscriber.
+     */
+    long getLastSequence();
+
+    /**
+     * Cancels the subscription so that no further info messages are
+     * delivered.  This does nothing if already cancelled or evicted.
+     */
+    void cancel();
+  }
+
+  /**
+   * Subscribes the specified {@link Subscriber} to the feed.  If the info
+   * messages following the specified sequence number are no longer retained
+   * then the subscriber is {@linkplain Subscriber#evicted(long, String)
+   * evicted} right away.
+   *
+   * @param dataSources The {@link Set} of data source codes for the info
+   *                    messages to deliver, or <tt>null</tt> or empty for
+   *                    all data sources.
+   * @param afterSequence The sequence number of the last info message the
+   *                      subscriber already received, or <tt>null</tt> to
+   *                      receive only the info messages published after
+   *                      subscribing.
+   * @param subscriber The {@link Subscriber} to deliver the info messages to.
+   *
+   * @return The {@link Subscription} for the subscriber.
+   *
+   * @throws IllegalStateException If the feed is closed.
+   */
+  Subscription subscribe(Set<String> dataSources,
+                         Long        afterSequence,
+                         Subscriber  subscriber)
+      throws IllegalStateException;
+
+  /**
+   * Gets the sequence number of the most recently published info message.
+   * This returns zero (0) if no info message has been published.
+   *
+   * @return The sequence number of the most recently published info message.
+   */
+  long getLastSequence();
+}
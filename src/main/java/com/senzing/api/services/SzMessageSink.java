@@ -1,5 +1,7 @@
 package com.senzing.api.services;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 
 /**
@@ -38,6 +40,64 @@ public interface SzMessageSink {
   void send(SzMessage message, FailureHandler onFailure)
       throws Exception;
 
+  /**
+   * Sends the specified {@link List} of {@link SzMessage} instances on the
+   * associated queue or topic as a batch.  The default implementation sends
+   * each message individually via {@link #send(SzMessage, FailureHandler)},
+   * attempting every message even if an earlier one fails and then throwing
+   * the first failure.  Implementations that support sending multiple
+   * messages in a single request should override this.  The optional
+   * on-failure function is called for each message that fails to send.
+   *
+   * @param messages The {@link List} of {@link SzMessage} instances to be
+   *                 sent.
+   *
+   * @param onFailure The function to call for each message that fails to
+   *                  send, or <tt>null</tt> if none.
+   *
+   * @throws Exception If a failure occurs in sending any of the messages.
+   */
+  default void sendBatch(List<SzMessage> messages, FailureHandler onFailure)
+      throws Exception
+  {
+    Exception failure = null;
+    for (SzMessage message : messages) {
+      try {
+        this.send(message, onFailure);
+
+      } catch (Exception e) {
+        if (failure == null) failure = e;
+      }
+    }
+    if (failure != null) throw failure;
+  }
+
+  /**
+   * Sends the specified {@link SzMessage} and returns a {@link
+   * CompletableFuture} that is completed once the message is confirmed as
+   * sent, or completed exceptionally with the failure if it cannot be sent.
+   * The default implementation calls {@link #send(SzMessage, FailureHandler)}
+   * and completes the future once that returns, which only confirms the
+   * message for sinks that send synchronously.  Sinks that complete their
+   * sends asynchronously should override this.
+   *
+   * @param message The {@link SzMessage} to be sent.
+   *
+   * @return The {@link CompletableFuture} that is completed once the message
+   *         is confirmed as sent.
+   */
+  default CompletableFuture<Void> sendConfirmed(SzMessage message) {
+    CompletableFuture<Void> confirmed = new CompletableFuture<>();
+    try {
+      this.send(message, (e, m) -> confirmed.completeExceptionally(e));
+      confirmed.complete(null);
+
+    } catch (Exception e) {
+      confirmed.completeExceptionally(e);
+    }
+    return confirmed;
+  }
+
   /**
    * Gets a {@link String} describing the provider for the queue.
    *
@@ -0,0 +1,132 @@
+package com.senzing.api.services;
+
+import javax.json.JsonObject;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Provides an interface for a store of record fingerprints keyed by data
+ * source code and record ID.  Each fingerprint is a 64-bit hash of the
+ * normalized JSON for the last version of the record that was successfully
+ * loaded.  The services consult this store to skip loading records that are
+ * unchanged since they were last loaded.
+ */
+public interface SzRecordFingerprints {
+  /**
+   * The <b>unmodifiable</b> {@link Set} of top-level JSON property keys that
+   * are excluded when computing the fingerprint of a record since they
+   * describe the provenance of the load rather than the record itself.
+   */
+  Set<String> EXCLUDED_KEYS = Set.of("SOURCE_ID", "LOAD_ID");
+
+  /**
+   * Checks if the specified fingerprint matches the fingerprint that was
+   * last stored for the record identified by the specified data source code
+   * and record ID.
+   *
+   * @param dataSource The data source code for the record.
+   * @param recordId The record ID for the record.
+   * @param fingerprint The fingerprint for the record being loaded.
+   *
+   * @return <tt>true</tt> if the record is unchanged since it was last loaded,
+   *         otherwise <tt>false</tt>.
+   */
+  boolean isUnchanged(String dataSource, String recordId, long fingerprint);
+
+  /**
+   * Stores the specified fingerprint for the record identified by the
+   * specified data source code and record ID.  This should only be called
+   * after the record has been successfully loaded.
+   *
+   * @param dataSource The data source code for the record.
+   * @param recordId The record ID for the record.
+   * @param fingerprint The fingerprint for the record that was loaded.
+   */
+  void update(String dataSource, String recordId, long fingerprint);
+
+  /**
+   * Removes the fingerprint (if any) for the record identified by the
+   * specified data source code and record ID.  This should be called when
+   * the record is deleted.
+   *
+   * @param dataSource The data source code for the record.
+   * @param recordId The record ID for the record.
+   */
+  void remove(String dataSource, String recordId);
+
+  /**
+   * Removes all fingerprints from the store.  This should be called when the
+   * repository is purged.
+   */
+  void clear();
+
+  /**
+   * Gets the number of fingerprints that are currently stored.
+   *
+   * @return The number of fingerprints that are currently stored.
+   */
+  long size();
+
+  /**
+   * Computes the fingerprint for the specified record {@link JsonObject}.  The
+   * record is normalized by ordering the top-level properties by key and
+   * excluding the {@linkplain #EXCLUDED_KEYS provenance properties} so that
+   * the fingerprint only changes if the record content changes.
+   *
+   * @param record The {@link JsonObject} describing the record.
+   *
+   * @return The 64-bit fingerprint for the record.
+   */
+  static long fingerprint(JsonObject record) {
+    StringBuilder sb = new StringBuilder();
+    for (String key : new TreeSet<>(record.keySet())) {
+      if (EXCLUDED_KEYS.contains(key.toUpperCase())) continue;
+      sb.append(key).append('\u0000');
+      sb.append(record.get(key).toString()).append('\u0000');
+    }
+    return hash(sb);
+  }
+
+  /**
+   * Computes the 64-bit key hash for the record identified by the specified
+   * data source code and record ID.  The returned hash is never zero (0).
+   *
+   * @param dataSource The data source code for the record.
+   * @param recordId The record ID for the record.
+   *
+   * @return The 64-bit non-zero key hash.
+   */
+  static long keyHash(String dataSource, String recordId) {
+    StringBuilder sb = new StringBuilder();
+    sb.append(dataSource.trim().toUpperCase()).append('\u0000');
+    sb.append(recordId);
+    long hash = hash(sb);
+    return (hash == 0L) ? 1L : hash;
+  }
+
+  /**
+   * Computes a 64-bit FNV-1a hash of the specified characters followed by
+   * the MurmurHash3 finalization mix so the bits are evenly distributed for
+   * use in a hash table.
+   *
+   * @param text The {@link CharSequence} to hash.
+   *
+   * @return The 64-bit hash.
+   */
+  static long hash(CharSequence text) {
+    long hash = 0xcbf29ce484222325L;
+    for (int index = 0; index < text.length(); index++) {
+      char c = text.charAt(index);
+      hash ^= (c & 0xFF);
+      hash *= 0x100000001b3L;
+      hash ^= (c >>> 8);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= (hash >>> 33);
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= (hash >>> 33);
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= (hash >>> 33);
+    return hash;
+  }
+}
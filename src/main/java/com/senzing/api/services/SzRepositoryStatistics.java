@@ -0,0 +1,43 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzRepositoryStats;
+
+/**
+ * Provides an interface for the repository statistics that are incrementally
+ * maintained from the info messages produced when records are loaded, deleted
+ * or re-evaluated so that they can be served without running a native report
+ * against the repository.  The operation that produced each info message is
+ * identified by its {@link ServicesUtil#INFO_OPERATION_PROPERTY}.  The
+ * entity counts are only known as of the last reconciliation against an
+ * entity export since the info messages do not describe which entities were
+ * created or removed.
+ */
+public interface SzRepositoryStatistics {
+  /**
+   * Gets the {@link SzRepositoryStats} describing the current statistics.
+   *
+   * @return The {@link SzRepositoryStats} describing the current statistics.
+   */
+  SzRepositoryStats getStats();
+
+  /**
+   * Starts rebuilding the statistics from an entity export in the background
+   * unless a reconciliation is already running.  The statistics continue to
+   * be maintained while reconciling and the changes made while reconciling
+   * are applied to the rebuilt statistics once the export completes.
+   *
+   * @return <tt>true</tt> if a reconciliation was started, or
+   *         <tt>false</tt> if one is already running.
+   *
+   * @throws IllegalStateException If the statistics have been closed.
+   */
+  boolean reconcile() throws IllegalStateException;
+
+  /**
+   * Checks if the statistics are currently being reconciled against an
+   * entity export.
+   *
+   * @return <tt>true</tt> if reconciling, otherwise <tt>false</tt>.
+   */
+  boolean isReconciling();
+}
@@ -1294,9 +1294,13 @@ public class RepositoryManager {
         System.out.println("Found redos to process: " + originalCount);
         System.out.println();
       }
-      for (int count = 0; ENGINE_API.countRedoRecords() > 0; count++) {
+      for (int count = 0; true; count++) {
         StringBuffer sb = new StringBuffer();
         int returnCode = ENGINE_API.processRedoRecord(sb);
+
+        // an empty redo record means there are no more to process
+        if (returnCode == 0 && sb.length() == 0) break;
+
         if (returnCode != 0) {
           logError("G2Engine.processRedoRecord()", ENGINE_API);
           failed++;
@@ -0,0 +1,120 @@
+package com.senzing.api.model.impl;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.model.impl.SzRecordIdTracker.*;
+
+/**
+ * Tests the exact and estimated duplicate counting of the {@link
+ * SzRecordIdTracker} with generated record ID's.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class SzRecordIdTrackerTest {
+  private static final long INITIAL_TABLE_BYTES = 1024L * 8L;
+
+  private static int trackAll(SzRecordIdTracker  tracker,
+                              String             dataSource,
+                              int                count)
+  {
+    int duplicateCount = 0;
+    for (int index = 0; index < count; index++) {
+      if (tracker.trackRecordId(dataSource, "RECORD-" + index)) {
+        duplicateCount++;
+      }
+    }
+    return duplicateCount;
+  }
+
+  private static void assertEstimate(long expected, long actual) {
+    double tolerance = expected * ESTIMATE_STANDARD_ERROR * 5.0;
+    assertTrue(Math.abs(actual - expected) <= tolerance,
+               "Estimate " + actual + " not within " + tolerance + " of "
+                   + expected);
+  }
+
+  @Test public void exactDuplicateTest() {
+    SzRecordIdTracker tracker = new SzRecordIdTracker();
+    assertEquals(DEFAULT_MEMORY_BUDGET, tracker.getMemoryBudget());
+    assertEquals(0L, tracker.getDistinctCount("TEST"));
+
+    assertFalse(tracker.trackRecordId("TEST", "ABC"));
+    assertFalse(tracker.trackRecordId("TEST", "DEF"));
+    assertTrue(tracker.trackRecordId("TEST", "ABC"), "Duplicate not found");
+    assertFalse(tracker.trackRecordId("OTHER", "ABC"),
+                "Record ID of another data source counted as duplicate");
+    assertFalse(tracker.trackRecordId(null, "ABC"));
+    assertTrue(tracker.trackRecordId(null, "ABC"));
+
+    assertEquals(2L, tracker.getDistinctCount("TEST"));
+    assertEquals(1L, tracker.getDistinctCount("OTHER"));
+    assertEquals(1L, tracker.getDistinctCount(null));
+    assertFalse(tracker.isEstimated("TEST"));
+    assertEquals(new HashSet<>(Arrays.asList("TEST", "OTHER", null)),
+                 tracker.getDataSources());
+    assertEquals(3L * INITIAL_TABLE_BYTES, tracker.getMemoryUsed());
+  }
+
+  @Test public void growWithinBudgetTest() {
+    SzRecordIdTracker tracker = new SzRecordIdTracker();
+    int count = 10000;
+    assertEquals(0, trackAll(tracker, "TEST", count));
+    assertEquals(count, trackAll(tracker, "TEST", count),
+                 "Duplicates lost after growing");
+    assertEquals(count, tracker.getDistinctCount("TEST"));
+    assertFalse(tracker.isEstimated("TEST"));
+
+    // the table holds 70% of its slots so 10000 hashes need 16384 slots
+    assertEquals(16384L * 8L, tracker.getMemoryUsed());
+  }
+
+  @Test public void estimateBeyondBudgetTest() {
+    SzRecordIdTracker tracker
+        = new SzRecordIdTracker(INITIAL_TABLE_BYTES * 4L);
+    int count = 100000;
+    assertEquals(0, trackAll(tracker, "TEST", count));
+    assertTrue(tracker.isEstimated("TEST"));
+    assertEquals(0L, tracker.getMemoryUsed(),
+                 "Memory not released after estimating");
+    assertEstimate(count, tracker.getDistinctCount("TEST"));
+
+    // duplicates are no longer counted but do not inflate the estimate
+    assertEquals(0, trackAll(tracker, "TEST", count));
+    assertEstimate(count, tracker.getDistinctCount("TEST"));
+  }
+
+  @Test public void zeroBudgetTest() {
+    SzRecordIdTracker tracker = new SzRecordIdTracker(0L);
+    trackAll(tracker, "TEST", 1000);
+    assertTrue(tracker.isEstimated("TEST"));
+    assertEquals(0L, tracker.getMemoryUsed());
+    assertEstimate(1000L, tracker.getDistinctCount("TEST"));
+  }
+
+  @Test public void sharedBudgetTest() {
+    SzRecordIdTracker tracker
+        = new SzRecordIdTracker(INITIAL_TABLE_BYTES * 2L);
+    trackAll(tracker, "FIRST", 100);
+    trackAll(tracker, "SECOND", 100);
+    trackAll(tracker, "THIRD", 100);
+
+    assertFalse(tracker.isEstimated("FIRST"));
+    assertFalse(tracker.isEstimated("SECOND"));
+    assertTrue(tracker.isEstimated("THIRD"),
+               "Data source beyond the budget not estimated");
+    assertEquals(100L, tracker.getDistinctCount("FIRST"));
+    assertEquals(100L, tracker.getDistinctCount("SECOND"));
+    assertEquals(INITIAL_TABLE_BYTES * 2L, tracker.getMemoryUsed());
+  }
+
+  @Test public void invalidArgumentsTest() {
+    assertThrows(IllegalArgumentException.class,
+                 () -> new SzRecordIdTracker(-1L));
+    SzRecordIdTracker tracker = new SzRecordIdTracker();
+    assertThrows(NullPointerException.class,
+                 () -> tracker.trackRecordId("TEST", null));
+  }
+}
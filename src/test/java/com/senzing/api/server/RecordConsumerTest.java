@@ -0,0 +1,478 @@
+package com.senzing.api.server;
+
+import com.senzing.api.model.SzRecordConsumerStats;
+import com.senzing.api.server.mq.SzAbstractMessagingEndpoint;
+import com.senzing.api.server.mq.SzMessageSource;
+import com.senzing.api.services.SzMessage;
+import org.junit.jupiter.api.*;
+
+import javax.json.JsonObject;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static com.senzing.api.server.RecordConsumer.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+
+/**
+ * Tests the {@link RecordConsumer} against in-memory stand-ins for the
+ * message broker, the dead-letter endpoint and the engine.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class RecordConsumerTest {
+  /**
+   * The maximum number of milliseconds to wait for a condition.
+   */
+  private static final long AWAIT_TIMEOUT = 10000L;
+
+  /**
+   * An in-memory {@link SzMessageSource} that tracks which deliveries were
+   * acknowledged or released.
+   */
+  private static class MemorySource implements SzMessageSource {
+    private final BlockingQueue<Delivery> pending = new LinkedBlockingQueue<>();
+    private final List<SzMessage> acknowledged
+        = Collections.synchronizedList(new LinkedList<>());
+    private final List<SzMessage> released
+        = Collections.synchronizedList(new LinkedList<>());
+    private final AtomicInteger outstanding = new AtomicInteger(0);
+    private final AtomicInteger maxOutstanding = new AtomicInteger(0);
+    private final List<String> events;
+    private boolean closed = false;
+
+    private MemorySource(List<String> events) {
+      this.events = events;
+    }
+
+    private void publish(String body, String action) {
+      SzMessage message = new SzMessage(body);
+      if (action != null) message.setProperty(ACTION_PROPERTY, action);
+      this.pending.add(new Delivery() {
+        @Override
+        public SzMessage getMessage() {
+          return message;
+        }
+
+        @Override
+        public void acknowledge() {
+          MemorySource.this.outstanding.decrementAndGet();
+          MemorySource.this.events.add("ack:" + message.getBody());
+          MemorySource.this.acknowledged.add(message);
+        }
+
+        @Override
+        public void release() {
+          MemorySource.this.outstanding.decrementAndGet();
+          MemorySource.this.released.add(message);
+        }
+      });
+    }
+
+    @Override
+    public List<Delivery> receive(int maxCount, long timeoutMillis)
+        throws InterruptedException
+    {
+      List<Delivery> result = new ArrayList<>(maxCount);
+      Delivery first = this.pending.poll(timeoutMillis, MILLISECONDS);
+      if (first == null) return result;
+      result.add(first);
+      this.pending.drainTo(result, maxCount - 1);
+      int count = this.outstanding.addAndGet(result.size());
+      this.maxOutstanding.accumulateAndGet(count, Math::max);
+      return result;
+    }
+
+    @Override
+    public String getProviderType() {
+      return "memory";
+    }
+
+    @Override
+    public synchronized void close() {
+      this.closed = true;
+    }
+  }
+
+  /**
+   * An in-memory dead-letter endpoint that optionally fails to send and
+   * optionally confirms its sends via a future completed by the test.
+   */
+  private static class MemoryEndpoint extends SzAbstractMessagingEndpoint {
+    private final List<SzMessage> messages
+        = Collections.synchronizedList(new LinkedList<>());
+    private final boolean failing;
+    private volatile CompletableFuture<Void> confirmation = null;
+
+    private MemoryEndpoint(boolean failing) {
+      this.failing = failing;
+    }
+
+    @Override
+    public void send(SzMessage message, FailureHandler onFailure) {
+      if (this.failing) {
+        throw new IllegalStateException("Dead-letter queue is unavailable");
+      }
+      this.messages.add(message);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendConfirmed(SzMessage message) {
+      if (this.confirmation == null) return super.sendConfirmed(message);
+      this.messages.add(message);
+      return this.confirmation;
+    }
+
+    @Override
+    public String getProviderType() {
+      return "memory";
+    }
+
+    @Override
+    protected void doClose() {
+      // do nothing
+    }
+  }
+
+  /**
+   * A {@link RecordHandler} stand-in for the engine that records the calls
+   * and fails a configurable number of times per record.
+   */
+  private static class MemoryHandler implements RecordHandler {
+    private final List<String> events;
+    private final int failureCount;
+    private final long sleepMillis;
+    private final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+    private final AtomicInteger active = new AtomicInteger(0);
+    private final AtomicInteger maxActive = new AtomicInteger(0);
+
+    private MemoryHandler(List<String> events,
+                          int          failureCount,
+                          long         sleepMillis)
+    {
+      this.events       = events;
+      this.failureCount = failureCount;
+      this.sleepMillis  = sleepMillis;
+    }
+
+    private void handle(String event, String key) throws Exception {
+      int count = this.active.incrementAndGet();
+      this.maxActive.accumulateAndGet(count, Math::max);
+      try {
+        if (this.sleepMillis > 0L) Thread.sleep(this.sleepMillis);
+        int attempt = this.attempts.merge(key, 1, Integer::sum);
+        if (attempt <= this.failureCount) {
+          throw new Exception("Simulated failure " + attempt + " for " + key);
+        }
+        if (key.endsWith("REJECT")) {
+          throw new IllegalArgumentException("Rejected record: " + key);
+        }
+        this.events.add(event);
+      } finally {
+        this.active.decrementAndGet();
+      }
+    }
+
+    @Override
+    public void addRecord(String dataSource, String recordId, JsonObject record)
+        throws Exception
+    {
+      this.handle("add:" + dataSource + ":" + recordId,
+                  dataSource + ":" + recordId);
+    }
+
+    @Override
+    public void deleteRecord(String dataSource, String recordId)
+        throws Exception
+    {
+      this.handle("delete:" + dataSource + ":" + recordId,
+                  dataSource + ":" + recordId);
+    }
+  }
+
+  private static String record(String dataSource, String recordId) {
+    return "{\"DATA_SOURCE\":\"" + dataSource + "\",\"RECORD_ID\":\""
+        + recordId + "\",\"NAME_FULL\":\"Joe Schmoe\"}";
+  }
+
+  private static void await(BooleanSupplier condition, String description) {
+    long start = System.currentTimeMillis();
+    while (!condition.getAsBoolean()) {
+      if ((System.currentTimeMillis() - start) > AWAIT_TIMEOUT) {
+        fail("Timed out waiting for: " + description);
+      }
+      try {
+        Thread.sleep(10L);
+      } catch (InterruptedException ignore) {
+        // ignore
+      }
+    }
+  }
+
+  @Test public void acknowledgeAfterProcessingTest() {
+    List<String> events = Collections.synchronizedList(new LinkedList<>());
+    MemorySource source = new MemorySource(events);
+    MemoryHandler handler = new MemoryHandler(events, 0, 0L);
+    String addBody = record("test", "ABC");
+    String deleteBody = record("TEST", "DEF");
+    source.publish(addBody, null);
+    source.publish(deleteBody, DELETE_ACTION);
+
+    RecordConsumer consumer = new RecordConsumer(source, null, handler, 1, 3);
+    try {
+      await(() -> source.acknowledged.size() == 2, "acknowledgements");
+      assertEquals(List.of("add:TEST:ABC",
+                           "ack:" + addBody,
+                           "delete:TEST:DEF",
+                           "ack:" + deleteBody),
+                   events, "Messages not acknowledged after processing");
+
+      SzRecordConsumerStats stats = consumer.getStats();
+      assertEquals("memory", stats.getProviderType());
+      assertEquals(2L, stats.getReceivedCount());
+      assertEquals(1L, stats.getAddedCount());
+      assertEquals(1L, stats.getDeletedCount());
+      assertEquals(0L, stats.getRetriedCount());
+    } finally {
+      consumer.complete();
+    }
+    assertTrue(source.closed, "Source was not closed on completion");
+  }
+
+  @Test public void poisonMessagesDeadLetteredTest() {
+    List<String> events = Collections.synchronizedList(new LinkedList<>());
+    MemorySource source = new MemorySource(events);
+    MemoryEndpoint deadLetter = new MemoryEndpoint(false);
+    MemoryHandler handler = new MemoryHandler(events, 0, 0L);
+    source.publish("this is not JSON", null);
+    source.publish("{\"RECORD_ID\":\"ABC\"}", null);
+    source.publish(record("TEST", "ABC"), "upsert");
+    source.publish("{\"DATA_SOURCE\":\"TEST\"}", DELETE_ACTION);
+    source.publish(record("TEST", "REJECT"), null);
+
+    RecordConsumer consumer
+        = new RecordConsumer(source, deadLetter, handler, 2, 3);
+    try {
+      await(() -> source.acknowledged.size() == 5, "acknowledgements");
+      assertEquals(5, deadLetter.messages.size(),
+                   "Poison messages were not dead-lettered");
+      for (SzMessage message : deadLetter.messages) {
+        assertNotNull(message.getProperty(FAILURE_REASON_PROPERTY),
+                      "Missing failure reason: " + message);
+      }
+      assertTrue(events.stream().noneMatch(e -> e.startsWith("add:")),
+                 "Poison message was processed: " + events);
+
+      SzRecordConsumerStats stats = consumer.getStats();
+      assertEquals(5L, stats.getDeadLetteredCount());
+      assertEquals(0L, stats.getRetriedCount());
+    } finally {
+      consumer.complete();
+    }
+    assertTrue(deadLetter.isClosed(), "Dead-letter endpoint was not closed");
+  }
+
+  @Test public void retryThenSucceedTest() {
+    List<String> events = Collections.synchronizedList(new LinkedList<>());
+    MemorySource source = new MemorySource(events);
+    MemoryEndpoint deadLetter = new MemoryEndpoint(false);
+    MemoryHandler handler = new MemoryHandler(events, 2, 0L);
+    source.publish(record("TEST", "ABC"), null);
+
+    RecordConsumer consumer
+        = new RecordConsumer(source, deadLetter, handler, 1, 3);
+    try {
+      await(() -> source.acknowledged.size() == 1, "acknowledgement");
+      assertEquals(0, deadLetter.messages.size(),
+                   "Message was dead-lettered despite succeeding");
+      SzRecordConsumerStats stats = consumer.getStats();
+      assertEquals(2L, stats.getRetriedCount());
+      assertEquals(1L, stats.getAddedCount());
+    } finally {
+      consumer.complete();
+    }
+  }
+
+  @Test public void exhaustedAttemptsDeadLetteredTest() {
+    List<String> events = Collections.synchronizedList(new LinkedList<>());
+    MemorySource source = new MemorySource(events);
+    MemoryEndpoint deadLetter = new MemoryEndpoint(false);
+    MemoryHandler handler = new MemoryHandler(events, 5, 0L);
+    source.publish(record("TEST", "ABC"), null);
+
+    RecordConsumer consumer
+        = new RecordConsumer(source, deadLetter, handler, 1, 2);
+    try {
+      await(() -> source.acknowledged.size() == 1, "acknowledgement");
+      assertEquals(1, deadLetter.messages.size(),
+                   "Message was not dead-lettered after final attempt");
+      String reason
+          = deadLetter.messages.get(0).getProperty(FAILURE_REASON_PROPERTY);
+      assertTrue(reason.startsWith("Failed after 2 attempt(s)"),
+                 "Unexpected failure reason: " + reason);
+      assertEquals(Integer.valueOf(2), handler.attempts.get("TEST:ABC"));
+      assertEquals(1L, consumer.getStats().getRetriedCount());
+    } finally {
+      consumer.complete();
+    }
+  }
+
+  @Test public void boundedConcurrencyTest() {
+    List<String> events = Collections.synchronizedList(new LinkedList<>());
+    MemorySource source = new MemorySource(events);
+    MemoryHandler handler = new MemoryHandler(events, 0, 20L);
+    int messageCount = 30;
+    for (int index = 0; index < messageCount; index++) {
+      source.publish(record("TEST", "ID-" + index), null);
+    }
+
+    RecordConsumer consumer = new RecordConsumer(source, null, handler, 3, 3);
+    try {
+      await(() -> source.acknowledged.size() == messageCount,
+            "acknowledgements");
+      assertTrue(handler.maxActive.get() <= 3,
+                 "Too many records processed concurrently: "
+                     + handler.maxActive.get());
+      assertTrue(source.maxOutstanding.get() <= 3,
+                 "Too many messages received ahead of processing: "
+                     + source.maxOutstanding.get());
+      assertEquals((long) messageCount, consumer.getStats().getAddedCount());
+    } finally {
+      consumer.complete();
+    }
+  }
+
+  @Test public void recordOrderTest() {
+    List<String> events = Collections.synchronizedList(new LinkedList<>());
+    MemorySource source = new MemorySource(events);
+    MemoryHandler handler = new MemoryHandler(events, 1, 0L);
+    source.publish(record("TEST", "ABC"), null);
+
+    RecordConsumer consumer = new RecordConsumer(source, null, handler, 4, 3);
+    try {
+      // the add fails once so the delete would overtake its retry
+      await(() -> handler.attempts.containsKey("TEST:ABC"), "first attempt");
+      source.publish(record("TEST", "ABC"), DELETE_ACTION);
+      for (int index = 0; index < 6; index++) {
+        source.publish(record("TEST", "ID-" + index), null);
+      }
+      await(() -> source.acknowledged.size() == 8, "acknowledgements");
+      int addIndex = events.indexOf("add:TEST:ABC");
+      int deleteIndex = events.indexOf("delete:TEST:ABC");
+      assertTrue(addIndex >= 0 && deleteIndex > addIndex,
+                 "Messages for the same record applied out of order: "
+                     + events);
+      assertEquals(1L, consumer.getStats().getDeletedCount());
+    } finally {
+      consumer.complete();
+    }
+  }
+
+  @Test public void deadLetterFailureReleasesTest() {
+    List<String> events = Collections.synchronizedList(new LinkedList<>());
+    MemorySource source = new MemorySource(events);
+    MemoryEndpoint deadLetter = new MemoryEndpoint(true);
+    MemoryHandler handler = new MemoryHandler(events, 0, 0L);
+    source.publish("this is not JSON", null);
+
+    RecordConsumer consumer
+        = new RecordConsumer(source, deadLetter, handler, 1, 3);
+    try {
+      await(() -> source.released.size() == 1, "release");
+      assertEquals(0, source.acknowledged.size(),
+                   "Message acknowledged without being dead-lettered");
+      assertEquals(1L, consumer.getStats().getReleasedCount());
+    } finally {
+      consumer.complete();
+    }
+  }
+
+  @Test public void deadLetterAcknowledgedAfterConfirmTest() {
+    List<String> events = Collections.synchronizedList(new LinkedList<>());
+    MemorySource source = new MemorySource(events);
+    MemoryEndpoint deadLetter = new MemoryEndpoint(false);
+    deadLetter.confirmation = new CompletableFuture<>();
+    MemoryHandler handler = new MemoryHandler(events, 0, 0L);
+    source.publish("this is not JSON", null);
+
+    RecordConsumer consumer
+        = new RecordConsumer(source, deadLetter, handler, 1, 3);
+    try {
+      await(() -> deadLetter.messages.size() == 1, "dead-letter send");
+      try {
+        Thread.sleep(100L);
+      } catch (InterruptedException ignore) {
+        // ignore
+      }
+      assertEquals(0, source.acknowledged.size(),
+                   "Message acknowledged before the dead-letter confirm");
+
+      deadLetter.confirmation.complete(null);
+      await(() -> source.acknowledged.size() == 1, "acknowledgement");
+      assertEquals(1L, consumer.getStats().getDeadLetteredCount());
+    } finally {
+      consumer.complete();
+    }
+  }
+
+  @Test public void deadLetterAsyncFailureReleasesTest() {
+    List<String> events = Collections.synchronizedList(new LinkedList<>());
+    MemorySource source = new MemorySource(events);
+    MemoryEndpoint deadLetter = new MemoryEndpoint(false);
+    deadLetter.confirmation = new CompletableFuture<>();
+    MemoryHandler handler = new MemoryHandler(events, 0, 0L);
+    source.publish("this is not JSON", null);
+
+    RecordConsumer consumer
+        = new RecordConsumer(source, deadLetter, handler, 1, 3);
+    try {
+      await(() -> deadLetter.messages.size() == 1, "dead-letter send");
+      deadLetter.confirmation.completeExceptionally(
+          new IllegalStateException("Dead-letter queue rejected message"));
+      await(() -> source.released.size() == 1, "release");
+      assertEquals(0, source.acknowledged.size(),
+                   "Message acknowledged despite the dead-letter failure");
+      assertEquals(0L, consumer.getStats().getDeadLetteredCount());
+    } finally {
+      consumer.complete();
+    }
+  }
+
+  @Test public void discardWithoutDeadLetterTest() {
+    List<String> events = Collections.synchronizedList(new LinkedList<>());
+    MemorySource source = new MemorySource(events);
+    MemoryHandler handler = new MemoryHandler(events, 0, 0L);
+    source.publish("{}", null);
+
+    RecordConsumer consumer = new RecordConsumer(source, null, handler, 1, 3);
+    try {
+      await(() -> source.acknowledged.size() == 1, "acknowledgement");
+      assertEquals(1L, consumer.getStats().getDiscardedCount());
+    } finally {
+      consumer.complete();
+    }
+  }
+
+  @Test public void completeReleasesPendingRetryTest() {
+    List<String> events = Collections.synchronizedList(new LinkedList<>());
+    MemorySource source = new MemorySource(events);
+    MemoryEndpoint deadLetter = new MemoryEndpoint(false);
+    MemoryHandler handler = new MemoryHandler(events, 10, 0L);
+    source.publish(record("TEST", "ABC"), null);
+
+    RecordConsumer consumer
+        = new RecordConsumer(source, deadLetter, handler, 1, 10);
+    await(() -> handler.attempts.containsKey("TEST:ABC"), "first attempt");
+    consumer.complete();
+
+    assertEquals(1, source.released.size(),
+                 "Message awaiting retry was not released on completion");
+    assertEquals(0, source.acknowledged.size());
+    assertEquals(0, deadLetter.messages.size());
+  }
+}
@@ -0,0 +1,300 @@
+package com.senzing.api.server;
+
+import com.senzing.api.services.SzRecordFingerprints;
+import com.senzing.util.JsonUtils;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+
+/**
+ * Tests the {@link RecordFingerprintIndex} and the {@link
+ * SzRecordFingerprints} hashing functions against temporary files.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class RecordFingerprintIndexTest {
+  private static final String DATA_SOURCE = "TEST";
+
+  private static final long REPOSITORY_TAG = 12345L;
+
+  private static final long CAPACITY = 16L;
+
+  private static File createFile() throws IOException {
+    File dir = Files.createTempDirectory("fingerprints-").toFile();
+    dir.deleteOnExit();
+    File file = new File(dir, "fingerprints.dat");
+    file.deleteOnExit();
+    new File(dir, "fingerprints.dat.tmp").deleteOnExit();
+    return file;
+  }
+
+  private static long homeSlot(String recordId) {
+    return SzRecordFingerprints.keyHash(DATA_SOURCE, recordId)
+        & (CAPACITY - 1);
+  }
+
+  private static List<String> findRecordIds(long home, int count) {
+    List<String> result = new ArrayList<>(count);
+    for (int index = 0; result.size() < count; index++) {
+      String recordId = "REC-" + index;
+      if (homeSlot(recordId) == home) result.add(recordId);
+    }
+    return result;
+  }
+
+  @Test public void insertUpdateRemoveTest() throws Exception {
+    RecordFingerprintIndex index
+        = new RecordFingerprintIndex(createFile(), REPOSITORY_TAG, CAPACITY);
+    try {
+      assertEquals(0L, index.size());
+      assertFalse(index.isUnchanged(DATA_SOURCE, "ABC", 100L));
+
+      index.update(DATA_SOURCE, "ABC", 100L);
+      index.update(DATA_SOURCE, "DEF", 200L);
+      assertEquals(2L, index.size());
+      assertTrue(index.isUnchanged(DATA_SOURCE, "ABC", 100L));
+      assertTrue(index.isUnchanged(DATA_SOURCE, "DEF", 200L));
+      assertFalse(index.isUnchanged(DATA_SOURCE, "ABC", 200L));
+      assertTrue(index.isUnchanged(" test ", "ABC", 100L),
+                 "Data source code not normalized");
+
+      index.update(DATA_SOURCE, "ABC", 300L);
+      assertEquals(2L, index.size(), "Update of existing key added a slot");
+      assertFalse(index.isUnchanged(DATA_SOURCE, "ABC", 100L));
+      assertTrue(index.isUnchanged(DATA_SOURCE, "ABC", 300L));
+
+      index.remove(DATA_SOURCE, "ABC");
+      assertEquals(1L, index.size());
+      assertFalse(index.isUnchanged(DATA_SOURCE, "ABC", 300L));
+      assertTrue(index.isUnchanged(DATA_SOURCE, "DEF", 200L));
+
+      index.remove(DATA_SOURCE, "ABC");
+      assertEquals(1L, index.size(), "Removing a missing key changed size");
+
+      index.clear();
+      assertEquals(0L, index.size());
+      assertFalse(index.isUnchanged(DATA_SOURCE, "DEF", 200L));
+
+    } finally {
+      index.close();
+    }
+  }
+
+  @Test public void backwardShiftTest() throws Exception {
+    // check a probe chain in the middle of the table and one that wraps
+    for (long home : List.of(3L, CAPACITY - 1L)) {
+      List<String> colliding = findRecordIds(home, 2);
+      String following = findRecordIds((home + 1) & (CAPACITY - 1), 1).get(0);
+      String removed  = colliding.get(0);
+      String shifted  = colliding.get(1);
+
+      RecordFingerprintIndex index = new RecordFingerprintIndex(
+          createFile(), REPOSITORY_TAG, CAPACITY);
+      try {
+        index.update(DATA_SOURCE, removed, 1L);
+        index.update(DATA_SOURCE, shifted, 2L);
+        index.update(DATA_SOURCE, following, 3L);
+
+        index.remove(DATA_SOURCE, removed);
+        assertEquals(2L, index.size());
+        assertFalse(index.isUnchanged(DATA_SOURCE, removed, 1L));
+        assertTrue(index.isUnchanged(DATA_SOURCE, shifted, 2L),
+                   "Colliding key lost after removal from home " + home);
+        assertTrue(index.isUnchanged(DATA_SOURCE, following, 3L),
+                   "Following key lost after removal from home " + home);
+
+        // remove the shifted key and check the chain is still intact
+        index.remove(DATA_SOURCE, shifted);
+        assertEquals(1L, index.size());
+        assertTrue(index.isUnchanged(DATA_SOURCE, following, 3L),
+                   "Following key lost after second removal from home "
+                       + home);
+
+        index.update(DATA_SOURCE, removed, 4L);
+        assertTrue(index.isUnchanged(DATA_SOURCE, removed, 4L));
+        assertEquals(2L, index.size());
+
+      } finally {
+        index.close();
+      }
+    }
+  }
+
+  @Test public void growTest() throws Exception {
+    File file = createFile();
+    File tempFile = new File(file.getPath() + ".tmp");
+    int recordCount = 100;
+    RecordFingerprintIndex index
+        = new RecordFingerprintIndex(file, REPOSITORY_TAG, CAPACITY);
+    try {
+      for (int recordId = 0; recordId < recordCount; recordId++) {
+        index.update(DATA_SOURCE, String.valueOf(recordId), recordId + 1L);
+      }
+      assertEquals(recordCount, index.size());
+      assertFalse(tempFile.exists(), "Temporary file was not moved");
+      assertTrue(file.length() > 64L + (CAPACITY * 16L),
+                 "Backing file did not grow: " + file.length());
+      for (int recordId = 0; recordId < recordCount; recordId++) {
+        assertTrue(index.isUnchanged(
+            DATA_SOURCE, String.valueOf(recordId), recordId + 1L),
+                   "Record lost after growing: " + recordId);
+      }
+    } finally {
+      index.close();
+    }
+  }
+
+  @Test public void growFailureTest() throws Exception {
+    File file = createFile();
+    File tempFile = new File(file.getPath() + ".tmp");
+    RecordFingerprintIndex index
+        = new RecordFingerprintIndex(file, REPOSITORY_TAG, CAPACITY);
+    try {
+      for (int recordId = 0; recordId < 11; recordId++) {
+        index.update(DATA_SOURCE, String.valueOf(recordId), recordId + 1L);
+      }
+
+      // block the temporary file with a non-empty directory
+      assertTrue(tempFile.mkdir());
+      File blocker = new File(tempFile, "blocker");
+      assertTrue(blocker.createNewFile());
+      assertThrows(RuntimeException.class,
+                   () -> index.update(DATA_SOURCE, "11", 12L));
+      assertEquals(11L, index.size());
+      for (int recordId = 0; recordId < 11; recordId++) {
+        assertTrue(index.isUnchanged(
+            DATA_SOURCE, String.valueOf(recordId), recordId + 1L),
+                   "Record lost after failing to grow: " + recordId);
+      }
+
+      // check that growing succeeds once unblocked
+      assertTrue(blocker.delete());
+      assertTrue(tempFile.delete());
+      index.update(DATA_SOURCE, "11", 12L);
+      assertEquals(12L, index.size());
+    } finally {
+      index.close();
+    }
+
+    RecordFingerprintIndex reopened
+        = new RecordFingerprintIndex(file, REPOSITORY_TAG, CAPACITY);
+    try {
+      assertEquals(12L, reopened.size());
+      for (int recordId = 0; recordId < 12; recordId++) {
+        assertTrue(reopened.isUnchanged(
+            DATA_SOURCE, String.valueOf(recordId), recordId + 1L),
+                   "Record lost after reopening the grown file: " + recordId);
+      }
+    } finally {
+      reopened.close();
+    }
+  }
+
+  @Test public void reopenTest() throws Exception {
+    File file = createFile();
+    RecordFingerprintIndex index
+        = new RecordFingerprintIndex(file, REPOSITORY_TAG, CAPACITY);
+    try {
+      for (int recordId = 0; recordId < 20; recordId++) {
+        index.update(DATA_SOURCE, String.valueOf(recordId), recordId + 1L);
+      }
+      index.remove(DATA_SOURCE, "5");
+      index.flush();
+    } finally {
+      index.close();
+    }
+
+    index = new RecordFingerprintIndex(file, REPOSITORY_TAG, CAPACITY);
+    try {
+      assertEquals(19L, index.size());
+      assertFalse(index.isUnchanged(DATA_SOURCE, "5", 6L));
+      for (int recordId = 0; recordId < 20; recordId++) {
+        if (recordId == 5) continue;
+        assertTrue(index.isUnchanged(
+            DATA_SOURCE, String.valueOf(recordId), recordId + 1L),
+                   "Record lost after reopening: " + recordId);
+      }
+    } finally {
+      index.close();
+    }
+  }
+
+  @Test public void repositoryTagMismatchTest() throws Exception {
+    File file = createFile();
+    RecordFingerprintIndex index
+        = new RecordFingerprintIndex(file, REPOSITORY_TAG, CAPACITY);
+    try {
+      index.update(DATA_SOURCE, "ABC", 100L);
+    } finally {
+      index.close();
+    }
+
+    index = new RecordFingerprintIndex(file, REPOSITORY_TAG + 1L, CAPACITY);
+    try {
+      assertEquals(0L, index.size(), "Index not reset for another repository");
+      assertFalse(index.isUnchanged(DATA_SOURCE, "ABC", 100L));
+      index.update(DATA_SOURCE, "DEF", 200L);
+    } finally {
+      index.close();
+    }
+
+    // reopening with the original tag also resets
+    index = new RecordFingerprintIndex(file, REPOSITORY_TAG, CAPACITY);
+    try {
+      assertEquals(0L, index.size());
+      assertFalse(index.isUnchanged(DATA_SOURCE, "DEF", 200L));
+    } finally {
+      index.close();
+    }
+  }
+
+  @Test public void invalidCapacityTest() throws Exception {
+    File file = createFile();
+    assertThrows(IllegalArgumentException.class,
+                 () -> new RecordFingerprintIndex(file, REPOSITORY_TAG, 12L));
+    assertThrows(IllegalArgumentException.class,
+                 () -> new RecordFingerprintIndex(file, REPOSITORY_TAG, 0L));
+  }
+
+  @Test public void fingerprintTest() {
+    long fingerprint = SzRecordFingerprints.fingerprint(
+        JsonUtils.parseJsonObject(
+            "{\"NAME_FULL\":\"JOE\",\"PHONE_NUMBER\":\"702-555-1212\"}"));
+
+    long reordered = SzRecordFingerprints.fingerprint(
+        JsonUtils.parseJsonObject(
+            "{\"PHONE_NUMBER\":\"702-555-1212\",\"NAME_FULL\":\"JOE\"}"));
+
+    long provenance = SzRecordFingerprints.fingerprint(
+        JsonUtils.parseJsonObject(
+            "{\"NAME_FULL\":\"JOE\",\"PHONE_NUMBER\":\"702-555-1212\","
+            + "\"SOURCE_ID\":\"FILE-1\",\"LOAD_ID\":\"LOAD-1\"}"));
+
+    long changed = SzRecordFingerprints.fingerprint(
+        JsonUtils.parseJsonObject(
+            "{\"NAME_FULL\":\"JOE\",\"PHONE_NUMBER\":\"702-555-1213\"}"));
+
+    assertEquals(fingerprint, reordered, "Fingerprint depends on key order");
+    assertEquals(fingerprint, provenance,
+                 "Fingerprint includes the provenance properties");
+    assertNotEquals(fingerprint, changed, "Fingerprint ignores content");
+  }
+
+  @Test public void keyHashTest() {
+    assertEquals(SzRecordFingerprints.keyHash("TEST", "ABC"),
+                 SzRecordFingerprints.keyHash(" test ", "ABC"),
+                 "Data source code not normalized");
+    assertNotEquals(SzRecordFingerprints.keyHash("TEST", "ABC"),
+                    SzRecordFingerprints.keyHash("TEST", "abc"),
+                    "Record ID should be case-sensitive");
+    for (int recordId = 0; recordId < 10000; recordId++) {
+      assertNotEquals(0L, SzRecordFingerprints.keyHash(
+          DATA_SOURCE, String.valueOf(recordId)));
+    }
+  }
+}
@@ -0,0 +1,251 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.model.SzInfoAggregatorStats;
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink.FailureHandler;
+import com.senzing.util.JsonUtils;
+import org.junit.jupiter.api.*;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+import static com.senzing.api.server.mq.AggregatingEndpoint.*;
+import static com.senzing.api.services.ServicesUtil.*;
+import static com.senzing.io.IOUtilities.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.server.mq.MessagingTestSupport.*;
+
+/**
+ * Tests the {@link AggregatingEndpoint} against an in-memory endpoint.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class AggregatingEndpointTest {
+  private static String info(int index, int... entityIds) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{\"DATA_SOURCE\":\"TEST\",\"RECORD_ID\":\"").append(index)
+        .append("\",\"AFFECTED_ENTITIES\":[");
+    String prefix = "";
+    for (int entityId : entityIds) {
+      sb.append(prefix).append("{\"ENTITY_ID\":").append(entityId).append("}");
+      prefix = ",";
+    }
+    sb.append("]}");
+    return sb.toString();
+  }
+
+  private static List<String> getRecordIds(JsonObject aggregate) {
+    List<String> result = new ArrayList<>();
+    JsonArray records = JsonUtils.getJsonArray(aggregate, "RECORDS");
+    for (JsonObject record : records.getValuesAs(JsonObject.class)) {
+      assertFalse(record.containsKey("AFFECTED_ENTITIES"),
+                  "Affected entities not removed from record: " + record);
+      result.add(JsonUtils.getString(record, "RECORD_ID"));
+    }
+    return result;
+  }
+
+  private static List<Long> getEntityIds(JsonObject aggregate) {
+    List<Long> result = new ArrayList<>();
+    JsonArray entities = JsonUtils.getJsonArray(aggregate, "AFFECTED_ENTITIES");
+    for (JsonObject entity : entities.getValuesAs(JsonObject.class)) {
+      result.add(JsonUtils.getLong(entity, "ENTITY_ID"));
+    }
+    return result;
+  }
+
+  private static String gunzip(String base64) throws IOException {
+    byte[] bytes = Base64.getDecoder().decode(base64);
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (InputStream is
+             = new GZIPInputStream(new ByteArrayInputStream(bytes)))
+    {
+      is.transferTo(baos);
+    }
+    return new String(baos.toByteArray(), UTF_8);
+  }
+
+  @Test public void aggregateByCountTest() throws Exception {
+    CapturingEndpoint target = new CapturingEndpoint();
+    AggregatingEndpoint endpoint
+        = new AggregatingEndpoint(target, 3, 60000L, false);
+    try {
+      send(endpoint, new SzMessage(info(1, 10, 11)), null);
+      send(endpoint, new SzMessage(info(2, 11, 12)), null);
+      assertEquals(0, target.getMessages().size(),
+                   "Aggregate sent before it was full");
+      send(endpoint, new SzMessage(info(3, 10)), null);
+      send(endpoint, new SzMessage(info(4, 13)), null);
+
+      List<SzMessage> messages = target.getMessages();
+      assertEquals(1, messages.size(), "Unexpected number of aggregates");
+      SzMessage message = messages.get(0);
+      assertEquals(BATCH_FORMAT, message.getProperty(FORMAT_PROPERTY));
+
+      JsonObject aggregate = JsonUtils.parseJsonObject(message.getBody());
+      assertEquals(3, (int) JsonUtils.getInteger(aggregate, "INFO_COUNT"));
+      assertEquals(List.of("1", "2", "3"), getRecordIds(aggregate));
+      assertEquals(List.of(10L, 11L, 12L), getEntityIds(aggregate),
+                   "Affected entities not merged without duplicates");
+
+      SzInfoAggregatorStats stats = endpoint.getStats();
+      assertEquals(3, stats.getMaxCount());
+      assertEquals(1, stats.getPendingCount());
+      assertEquals(3L, stats.getAggregatedCount());
+      assertEquals(1L, stats.getAggregateCount());
+      assertFalse(stats.isCompressed());
+    } finally {
+      endpoint.close();
+    }
+    assertEquals(2, target.getMessages().size(),
+                 "Pending info messages not sent on close");
+    assertTrue(target.isClosed(), "Target endpoint not closed");
+  }
+
+  @Test public void aggregateByWindowTest() throws Exception {
+    CapturingEndpoint target = new CapturingEndpoint();
+    AggregatingEndpoint endpoint
+        = new AggregatingEndpoint(target, 100, 200L, false);
+    try {
+      send(endpoint, new SzMessage(info(1, 10)), null);
+      send(endpoint, new SzMessage(info(2, 20)), null);
+      List<SzMessage> messages = target.awaitMessages(1);
+      assertEquals(1, messages.size(), "Aggregate not sent after window");
+
+      JsonObject aggregate
+          = JsonUtils.parseJsonObject(messages.get(0).getBody());
+      assertEquals(List.of("1", "2"), getRecordIds(aggregate));
+
+      send(endpoint, new SzMessage(info(3, 30)), null);
+      messages = target.awaitMessages(2);
+      assertEquals(2, messages.size(), "Second aggregate not sent");
+      aggregate = JsonUtils.parseJsonObject(messages.get(1).getBody());
+      assertEquals(List.of("3"), getRecordIds(aggregate));
+    } finally {
+      endpoint.close();
+    }
+  }
+
+  @Test public void passThroughTest() throws Exception {
+    CapturingEndpoint target = new CapturingEndpoint();
+    AggregatingEndpoint endpoint
+        = new AggregatingEndpoint(target, 10, 60000L, false);
+    SzMessage withProps = new SzMessage(info(2, 20));
+    withProps.setProperty("custom", "value");
+    SzMessage notJson = new SzMessage("not json");
+    try {
+      send(endpoint, new SzMessage(info(1, 10)), null);
+      send(endpoint, withProps, null);
+      send(endpoint, notJson, null);
+
+      List<SzMessage> messages = target.getMessages();
+      assertEquals(3, messages.size(), "Unexpected number of messages");
+      assertEquals(BATCH_FORMAT, messages.get(0).getProperty(FORMAT_PROPERTY),
+                   "Pending info messages not sent first");
+      assertSame(withProps, messages.get(1));
+      assertSame(notJson, messages.get(2));
+      assertEquals(2L, endpoint.getStats().getPassedThroughCount());
+    } finally {
+      endpoint.close();
+    }
+  }
+
+  @Test public void operationPropertyTest() throws Exception {
+    CapturingEndpoint target = new CapturingEndpoint();
+    AggregatingEndpoint endpoint
+        = new AggregatingEndpoint(target, 10, 60000L, false);
+    try {
+      send(endpoint, newInfoMessage(info(1, 10), LOAD_OPERATION), null);
+      send(endpoint, newInfoMessage(info(2, 20), LOAD_OPERATION), null);
+      assertEquals(0, target.getMessages().size(),
+                   "Aggregate sent before the operation changed");
+      send(endpoint, newInfoMessage(info(3, 10), DELETE_OPERATION), null);
+
+      List<SzMessage> messages = target.getMessages();
+      assertEquals(1, messages.size(),
+                   "Aggregate not sent when the operation changed");
+      SzMessage message = messages.get(0);
+      assertEquals(LOAD_OPERATION,
+                   message.getProperty(INFO_OPERATION_PROPERTY));
+      JsonObject aggregate = JsonUtils.parseJsonObject(message.getBody());
+      assertEquals(List.of("1", "2"), getRecordIds(aggregate));
+
+      send(endpoint, new SzMessage(info(4, 40)), null);
+      messages = target.getMessages();
+      assertEquals(2, messages.size(),
+                   "Aggregate not sent when the operation was removed");
+      message = messages.get(1);
+      assertEquals(DELETE_OPERATION,
+                   message.getProperty(INFO_OPERATION_PROPERTY));
+      aggregate = JsonUtils.parseJsonObject(message.getBody());
+      assertEquals(List.of("3"), getRecordIds(aggregate));
+      assertEquals(0L, endpoint.getStats().getPassedThroughCount());
+    } finally {
+      endpoint.close();
+    }
+    List<SzMessage> messages = target.getMessages();
+    assertEquals(3, messages.size(), "Pending info messages not sent on close");
+    assertNull(messages.get(2).getProperty(INFO_OPERATION_PROPERTY),
+               "Operation set on aggregate of messages without one");
+  }
+
+  @Test public void gzipTest() throws Exception {
+    CapturingEndpoint target = new CapturingEndpoint();
+    AggregatingEndpoint endpoint
+        = new AggregatingEndpoint(target, 2, 60000L, true);
+    try {
+      send(endpoint, new SzMessage(info(1, 10, 11)), null);
+      send(endpoint, new SzMessage(info(2, 11)), null);
+
+      List<SzMessage> messages = target.getMessages();
+      assertEquals(1, messages.size(), "Unexpected number of aggregates");
+      SzMessage message = messages.get(0);
+      assertEquals(GZIP_BATCH_FORMAT, message.getProperty(FORMAT_PROPERTY));
+
+      JsonObject aggregate
+          = JsonUtils.parseJsonObject(gunzip(message.getBody()));
+      assertEquals(List.of("1", "2"), getRecordIds(aggregate));
+      assertEquals(List.of(10L, 11L), getEntityIds(aggregate));
+
+      SzInfoAggregatorStats stats = endpoint.getStats();
+      assertTrue(stats.isCompressed());
+      assertEquals(message.getBody().length(), stats.getOutputBytes());
+    } finally {
+      endpoint.close();
+    }
+  }
+
+  @Test public void failureTest() throws Exception {
+    CapturingEndpoint target = new CapturingEndpoint();
+    target.failing = true;
+    AggregatingEndpoint endpoint
+        = new AggregatingEndpoint(target, 2, 60000L, false);
+    List<SzMessage> failed = new ArrayList<>();
+    FailureHandler onFailure = (e, message) -> failed.add(message);
+    SzMessage message1 = new SzMessage(info(1, 10));
+    SzMessage message2 = new SzMessage(info(2, 20));
+    try {
+      send(endpoint, message1, onFailure);
+      send(endpoint, message2, onFailure);
+      assertEquals(List.of(message1, message2), failed,
+                   "Each info message should be failed exactly once");
+      assertEquals(2L, endpoint.getStats().getFailedCount());
+    } finally {
+      endpoint.close();
+    }
+  }
+
+  @Test public void invalidParametersTest() {
+    CapturingEndpoint target = new CapturingEndpoint();
+    assertThrows(IllegalArgumentException.class,
+                 () -> new AggregatingEndpoint(target, 1, 100L, false));
+    assertThrows(IllegalArgumentException.class,
+                 () -> new AggregatingEndpoint(target, 10, 0L, false));
+  }
+}
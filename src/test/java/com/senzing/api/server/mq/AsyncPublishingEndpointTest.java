@@ -0,0 +1,306 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.model.SzInfoPublisherStats;
+import com.senzing.api.model.SzOverflowPolicy;
+import com.senzing.api.services.SzMessage;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.model.SzOverflowPolicy.*;
+import static com.senzing.api.server.mq.AsyncPublishingEndpoint.*;
+import static com.senzing.api.server.mq.MessagingTestSupport.*;
+
+/**
+ * Tests the {@link AsyncPublishingEndpoint} against an in-memory endpoint
+ * that can hold the publisher threads until released.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class AsyncPublishingEndpointTest {
+  /**
+   * Records the bodies of the messages and the sizes of the batches sent to
+   * it, holding each batch until the gate is opened and failing the messages
+   * with the rejected body.
+   */
+  private static class GatedEndpoint extends SzAbstractMessagingEndpoint {
+    private final List<String> bodies = new ArrayList<>();
+    private final List<Integer> batchSizes = new ArrayList<>();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private String rejectedBody = null;
+
+    private GatedEndpoint(boolean open) {
+      if (open) this.gate.countDown();
+    }
+
+    @Override
+    public void sendBatch(List<SzMessage> messages, FailureHandler onFailure)
+        throws Exception
+    {
+      this.entered.countDown();
+      this.gate.await();
+      synchronized (this.bodies) {
+        this.batchSizes.add(messages.size());
+      }
+      super.sendBatch(messages, onFailure);
+    }
+
+    @Override
+    public void send(SzMessage message, FailureHandler onFailure)
+        throws Exception
+    {
+      if (!message.getBody().equals(this.rejectedBody)) {
+        synchronized (this.bodies) {
+          this.bodies.add(message.getBody());
+        }
+        return;
+      }
+      Exception failure = new IllegalStateException("Rejected message");
+      if (onFailure != null) onFailure.handle(failure, message);
+      throw failure;
+    }
+
+    private void awaitEntered() throws InterruptedException {
+      assertTrue(this.entered.await(10, TimeUnit.SECONDS),
+                 "Publisher did not take the first batch");
+    }
+
+    private List<String> getBodies() {
+      synchronized (this.bodies) {
+        return new ArrayList<>(this.bodies);
+      }
+    }
+
+    private List<Integer> getBatchSizes() {
+      synchronized (this.bodies) {
+        return new ArrayList<>(this.batchSizes);
+      }
+    }
+
+    @Override
+    public String getProviderType() {
+      return "Gated";
+    }
+
+    @Override
+    protected void doClose() {
+      // do nothing
+    }
+  }
+
+  private static List<String> infos(int first, int last) {
+    List<String> result = new ArrayList<>(last - first + 1);
+    for (int index = first; index <= last; index++) {
+      result.add(info(index));
+    }
+    return result;
+  }
+
+  @Test public void batchPublishTest() throws Exception {
+    GatedEndpoint target = new GatedEndpoint(false);
+    AsyncPublishingEndpoint endpoint
+        = new AsyncPublishingEndpoint(target, 100, BLOCK, 1);
+    try {
+      send(endpoint, info(1), null);
+      target.awaitEntered();
+      for (int index = 2; index <= 25; index++) {
+        send(endpoint, info(index), null);
+      }
+      assertEquals(24, endpoint.getStats().getQueueDepth());
+      target.gate.countDown();
+
+    } finally {
+      endpoint.close();
+    }
+
+    assertEquals(infos(1, 25), target.getBodies(),
+                 "Messages not published in order");
+    List<Integer> batchSizes = target.getBatchSizes();
+    assertEquals(MAX_BATCH_SIZE, (int) Collections.max(batchSizes),
+                 "Queued messages not published in full batches");
+
+    SzInfoPublisherStats stats = endpoint.getStats();
+    assertEquals(25L, stats.getPublishedCount());
+    assertEquals(0L, stats.getFailedCount());
+    assertEquals(batchSizes.size(), (int) stats.getBatchCount());
+    assertEquals(0, stats.getQueueDepth());
+  }
+
+  @Test public void blockTest() throws Exception {
+    GatedEndpoint target = new GatedEndpoint(false);
+    AsyncPublishingEndpoint endpoint
+        = new AsyncPublishingEndpoint(target, 1, BLOCK, 1);
+    try {
+      send(endpoint, info(1), null);
+      target.awaitEntered();
+      send(endpoint, info(2), null);
+
+      // the queue is full so the next send should block
+      CountDownLatch sent = new CountDownLatch(1);
+      Thread sender = new Thread(() -> {
+        try {
+          send(endpoint, info(3), null);
+          sent.countDown();
+        } catch (Exception e) {
+          e.printStackTrace();
+        }
+      });
+      sender.start();
+      assertFalse(sent.await(300, TimeUnit.MILLISECONDS),
+                  "Send did not block while the queue was full");
+
+      target.gate.countDown();
+      assertTrue(sent.await(10, TimeUnit.SECONDS),
+                 "Send still blocked after the queue drained");
+
+    } finally {
+      endpoint.close();
+    }
+
+    assertEquals(infos(1, 3), target.getBodies());
+    assertEquals(0L, endpoint.getStats().getDroppedCount());
+  }
+
+  @Test public void dropOldestTest() throws Exception {
+    GatedEndpoint target = new GatedEndpoint(false);
+    List<String> dropped = Collections.synchronizedList(new ArrayList<>());
+    AsyncPublishingEndpoint endpoint
+        = new AsyncPublishingEndpoint(target, 2, DROP_OLDEST, 1);
+    try {
+      send(endpoint, info(1), null);
+      target.awaitEntered();
+      for (int index = 2; index <= 5; index++) {
+        send(endpoint, info(index), (e, m) -> dropped.add(m.getBody()));
+      }
+      target.gate.countDown();
+
+    } finally {
+      endpoint.close();
+    }
+
+    assertEquals(List.of(info(1), info(4), info(5)), target.getBodies());
+    assertEquals(infos(2, 3), dropped, "Failure handlers not notified");
+
+    SzInfoPublisherStats stats = endpoint.getStats();
+    assertEquals(2L, stats.getDroppedCount());
+    assertEquals(3L, stats.getPublishedCount());
+  }
+
+  @Test public void spillTest() throws Exception {
+    GatedEndpoint target = new GatedEndpoint(false);
+    AsyncPublishingEndpoint endpoint
+        = new AsyncPublishingEndpoint(target, 2, SPILL, 1);
+    try {
+      send(endpoint, info(1), null);
+      target.awaitEntered();
+      for (int index = 2; index <= 8; index++) {
+        send(endpoint, info(index), null);
+      }
+
+      SzInfoPublisherStats stats = endpoint.getStats();
+      assertEquals(2, stats.getQueueDepth());
+      assertEquals(5L, stats.getSpillDepth());
+      assertEquals(5L, stats.getSpilledCount());
+      target.gate.countDown();
+
+    } finally {
+      endpoint.close();
+    }
+
+    assertEquals(infos(1, 8), target.getBodies(),
+                 "Spilled messages not published in order");
+
+    SzInfoPublisherStats stats = endpoint.getStats();
+    assertEquals(8L, stats.getPublishedCount());
+    assertEquals(0L, stats.getSpillDepth());
+    assertEquals(0L, stats.getDroppedCount());
+  }
+
+  @Test public void spillFailureHandlerTest() throws Exception {
+    GatedEndpoint target = new GatedEndpoint(false);
+    target.rejectedBody = info(5);
+    List<String> failed = Collections.synchronizedList(new ArrayList<>());
+    AsyncPublishingEndpoint endpoint
+        = new AsyncPublishingEndpoint(target, 1, SPILL, 1);
+    try {
+      send(endpoint, info(1), null);
+      target.awaitEntered();
+      for (int index = 2; index <= 6; index++) {
+        send(endpoint, info(index), (e, m) -> failed.add(m.getBody()));
+      }
+      assertEquals(4L, endpoint.getStats().getSpillDepth());
+      target.gate.countDown();
+
+    } finally {
+      endpoint.close();
+    }
+
+    assertEquals(List.of(info(5)), failed,
+                 "Failure handler of a spilled message not notified");
+    assertEquals(5, target.getBodies().size());
+  }
+
+  @Test public void partitionOrderTest() throws Exception {
+    GatedEndpoint target = new GatedEndpoint(false);
+    AsyncPublishingEndpoint endpoint
+        = new AsyncPublishingEndpoint(target, 8, BLOCK, 4);
+    int recordCount = 4;
+    int versionCount = 25;
+    try {
+      send(endpoint, info(0), null);
+      target.awaitEntered();
+      target.gate.countDown();
+      for (int version = 1; version <= versionCount; version++) {
+        for (int index = 1; index <= recordCount; index++) {
+          send(endpoint,
+               "{\"DATA_SOURCE\":\"TEST\",\"RECORD_ID\":\"" + index
+                   + "\",\"VERSION\":" + version + "}",
+               null);
+        }
+      }
+    } finally {
+      endpoint.close();
+    }
+
+    List<String> bodies = target.getBodies();
+    assertEquals(recordCount * versionCount + 1, bodies.size());
+    Map<String, Integer> versions = new HashMap<>();
+    for (String body : bodies) {
+      if (!body.contains("VERSION")) continue;
+      String recordId = body.replaceAll(".*\"RECORD_ID\":\"([^\"]+)\".*", "$1");
+      int version = Integer.parseInt(
+          body.replaceAll(".*\"VERSION\":([0-9]+).*", "$1"));
+      Integer previous = versions.put(recordId, version);
+      assertTrue(previous == null || previous < version,
+                 "Messages for record " + recordId + " published out of "
+                     + "order: " + bodies);
+    }
+    assertEquals(4, endpoint.getStats().getPublisherCount());
+  }
+
+  @Test public void failureTest() throws Exception {
+    GatedEndpoint target = new GatedEndpoint(true);
+    target.rejectedBody = info(2);
+    List<String> failed = Collections.synchronizedList(new ArrayList<>());
+    AsyncPublishingEndpoint endpoint
+        = new AsyncPublishingEndpoint(target, 10, BLOCK, 2);
+    try {
+      for (int index = 1; index <= 3; index++) {
+        send(endpoint, info(index), (e, m) -> failed.add(m.getBody()));
+      }
+    } finally {
+      endpoint.close();
+    }
+
+    assertEquals(List.of(info(2)), failed);
+    assertEquals(2, target.getBodies().size());
+
+    SzInfoPublisherStats stats = endpoint.getStats();
+    assertEquals(1L, stats.getFailedCount());
+    assertEquals(2L, stats.getPublishedCount());
+  }
+}
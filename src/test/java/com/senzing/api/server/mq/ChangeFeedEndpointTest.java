@@ -0,0 +1,180 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.model.SzChangeFeedStats;
+import com.senzing.api.services.SzChangeFeed.Subscriber;
+import com.senzing.api.services.SzChangeFeed.Subscription;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.server.mq.MessagingTestSupport.*;
+
+/**
+ * Tests the {@link ChangeFeedEndpoint} with in-memory subscribers.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class ChangeFeedEndpointTest {
+  /**
+   * Records the sequence numbers delivered to it and the eviction (if any).
+   * If stalled then the deliveries are never completed.
+   */
+  private static class CapturingSubscriber implements Subscriber {
+    private final List<Long> sequences = new ArrayList<>();
+    private final boolean stalled;
+    private String evictedReason = null;
+
+    private CapturingSubscriber(boolean stalled) {
+      this.stalled = stalled;
+    }
+
+    @Override
+    public synchronized CompletionStage<?> deliver(long sequence, String info) {
+      this.sequences.add(sequence);
+      this.notifyAll();
+      return this.stalled ? new CompletableFuture<Void>()
+          : CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public synchronized void evicted(long lastSequence, String reason) {
+      this.evictedReason = reason;
+      this.notifyAll();
+    }
+
+    private synchronized List<Long> awaitSequences(int count)
+        throws InterruptedException
+    {
+      long start = System.currentTimeMillis();
+      while (this.sequences.size() < count
+             && System.currentTimeMillis() - start < 5000L)
+      {
+        this.wait(100L);
+      }
+      return new ArrayList<>(this.sequences);
+    }
+
+    private synchronized String awaitEviction() throws InterruptedException {
+      long start = System.currentTimeMillis();
+      while (this.evictedReason == null
+             && System.currentTimeMillis() - start < 5000L)
+      {
+        this.wait(100L);
+      }
+      return this.evictedReason;
+    }
+  }
+
+  private static String info(String dataSource, int index) {
+    return "{\"DATA_SOURCE\":\"" + dataSource + "\",\"RECORD_ID\":\""
+        + index + "\",\"AFFECTED_ENTITIES\":[]}";
+  }
+
+  @Test public void deliverInOrderTest() throws Exception {
+    ChangeFeedEndpoint feed = new ChangeFeedEndpoint(null, 100);
+    try {
+      CapturingSubscriber all = new CapturingSubscriber(false);
+      CapturingSubscriber customers = new CapturingSubscriber(false);
+      feed.subscribe(null, null, all);
+      feed.subscribe(Set.of("customers"), null, customers);
+
+      send(feed, info("CUSTOMERS", 1), null);
+      send(feed, info("WATCHLIST", 2), null);
+      send(feed, info("CUSTOMERS", 3), null);
+
+      assertEquals(List.of(1L, 2L, 3L), all.awaitSequences(3));
+      assertEquals(List.of(1L, 3L), customers.awaitSequences(2),
+                   "Data source filter not applied");
+      assertEquals(3L, feed.getLastSequence());
+      assertEquals(ChangeFeedEndpoint.CHANGE_FEED_TYPE,
+                   feed.getProviderType());
+    } finally {
+      feed.close();
+    }
+  }
+
+  @Test public void resumeTest() throws Exception {
+    ChangeFeedEndpoint feed = new ChangeFeedEndpoint(null, 3);
+    try {
+      for (int index = 1; index <= 5; index++) {
+        send(feed, info("TEST", index), null);
+      }
+      CapturingSubscriber resumed = new CapturingSubscriber(false);
+      Subscription subscription = feed.subscribe(null, 3L, resumed);
+      assertEquals(List.of(4L, 5L), resumed.awaitSequences(2),
+                   "Retained info messages not replayed");
+      assertNull(resumed.evictedReason);
+
+      CapturingSubscriber head = new CapturingSubscriber(false);
+      feed.subscribe(null, null, head);
+      send(feed, info("TEST", 6), null);
+      assertEquals(List.of(6L), head.awaitSequences(1),
+                   "New subscriber received old info messages");
+      assertEquals(List.of(4L, 5L, 6L), resumed.awaitSequences(3));
+      subscription.cancel();
+
+      CapturingSubscriber tooLate = new CapturingSubscriber(false);
+      feed.subscribe(null, 1L, tooLate);
+      assertNotNull(tooLate.awaitEviction(),
+                    "Subscriber resuming from discarded info messages "
+                    + "not evicted");
+      assertEquals(0, tooLate.sequences.size());
+    } finally {
+      feed.close();
+    }
+  }
+
+  @Test public void evictStalledSubscriberTest() throws Exception {
+    ChangeFeedEndpoint feed = new ChangeFeedEndpoint(null, 4);
+    try {
+      CapturingSubscriber stalled = new CapturingSubscriber(true);
+      CapturingSubscriber healthy = new CapturingSubscriber(false);
+      feed.subscribe(null, null, stalled);
+      feed.subscribe(null, null, healthy);
+
+      for (int index = 1; index <= 10; index++) {
+        send(feed, info("TEST", index), null);
+        healthy.awaitSequences(index);
+      }
+      assertNotNull(stalled.awaitEviction(), "Stalled subscriber not evicted");
+      assertEquals(List.of(1L), stalled.sequences);
+      assertEquals(10, healthy.awaitSequences(10).size(),
+                   "Healthy subscriber held back by stalled subscriber");
+      assertNull(healthy.evictedReason);
+
+      SzChangeFeedStats stats = feed.getStats();
+      assertEquals(4, stats.getCapacity());
+      assertEquals(10L, stats.getPublishedCount());
+      assertEquals(1L, stats.getEvictedCount());
+      assertEquals(1, stats.getSubscriberCount());
+    } finally {
+      feed.close();
+    }
+  }
+
+  @Test public void forwardAndCloseTest() throws Exception {
+    CapturingEndpoint target = new CapturingEndpoint();
+    ChangeFeedEndpoint feed = new ChangeFeedEndpoint(target, 10);
+    CapturingSubscriber subscriber = new CapturingSubscriber(false);
+    try {
+      feed.subscribe(null, null, subscriber);
+      send(feed, info("TEST", 1), null);
+      send(feed, info("TEST", 2), null);
+      assertEquals(2, target.getMessages().size(),
+                   "Info messages not forwarded to target");
+      assertEquals("Capturing", feed.getProviderType());
+      subscriber.awaitSequences(2);
+    } finally {
+      feed.close();
+    }
+    assertNotNull(subscriber.awaitEviction(),
+                  "Subscription not ended on close");
+    assertTrue(target.isClosed(), "Target endpoint not closed");
+    assertThrows(IllegalStateException.class,
+                 () -> feed.subscribe(null, null,
+                                      new CapturingSubscriber(false)));
+  }
+}
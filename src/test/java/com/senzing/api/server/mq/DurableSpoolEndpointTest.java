@@ -0,0 +1,256 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.model.SzInfoSpoolStats;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.server.mq.MessagingTestSupport.*;
+
+/**
+ * Tests the {@link DurableSpoolEndpoint} against temporary directories and
+ * an in-memory endpoint.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class DurableSpoolEndpointTest {
+  private static final int SEGMENT_SIZE = 4096;
+
+  private static File getSegmentFile(File dir) {
+    File[] files = dir.listFiles((d, name) -> name.endsWith(".seg"));
+    assertNotNull(files);
+    assertEquals(1, files.length, "Unexpected segment files");
+    return files[0];
+  }
+
+  private static SzInfoSpoolStats awaitStats(
+      DurableSpoolEndpoint        endpoint,
+      Predicate<SzInfoSpoolStats> condition)
+      throws InterruptedException
+  {
+    long start = System.currentTimeMillis();
+    SzInfoSpoolStats stats = endpoint.getStats();
+    while (!condition.test(stats)
+           && System.currentTimeMillis() - start < 10000L)
+    {
+      Thread.sleep(50L);
+      stats = endpoint.getStats();
+    }
+    return stats;
+  }
+
+  @Test public void dropAfterMaxAttemptsTest() throws Exception {
+    File dir = createDirectory("info-spool-");
+    CapturingEndpoint target = new CapturingEndpoint();
+    target.rejectedBody = info(2);
+    DurableSpoolEndpoint endpoint
+        = new DurableSpoolEndpoint(target, dir, SEGMENT_SIZE, 2);
+    try {
+      send(endpoint, info(1), null);
+      send(endpoint, info(2), null);
+      send(endpoint, info(3), null);
+
+      SzInfoSpoolStats stats
+          = awaitStats(endpoint, s -> s.getDroppedCount() > 0L);
+      assertEquals(1L, stats.getDroppedCount(),
+                   "Rejected message not dropped after max attempts");
+      assertEquals(1L, stats.getRequeuedCount());
+      assertEquals(2L, stats.getForwardedCount());
+      assertEquals(0L, stats.getPendingCount());
+      assertEquals(2, target.getRejectedCount(),
+                   "Rejected message not attempted exactly twice");
+      assertEquals(List.of(info(1), info(3)), target.getBodies());
+    } finally {
+      endpoint.close();
+    }
+  }
+
+  @Test public void invalidMaxAttemptsTest() throws Exception {
+    File dir = createDirectory("info-spool-");
+    CapturingEndpoint target = new CapturingEndpoint();
+    assertThrows(IllegalArgumentException.class,
+                 () -> new DurableSpoolEndpoint(target, dir, SEGMENT_SIZE, 0));
+  }
+
+  @Test public void resumeFromAcknowledgedTest() throws Exception {
+    File dir = createDirectory("info-spool-");
+    CapturingEndpoint target = new CapturingEndpoint();
+    DurableSpoolEndpoint endpoint
+        = new DurableSpoolEndpoint(target, dir, SEGMENT_SIZE);
+    long ackOffset;
+    try {
+      for (int index = 1; index <= 3; index++) {
+        send(endpoint, info(index), null);
+      }
+      SzInfoSpoolStats stats
+          = awaitStats(endpoint, s -> s.getForwardedCount() == 3L);
+      assertEquals(3L, stats.getForwardedCount());
+      ackOffset = stats.getAcknowledgedOffset();
+
+      // hold the confirmations so the remaining messages stay in the log
+      target.holding = true;
+      for (int index = 4; index <= 6; index++) {
+        send(endpoint, info(index), null);
+      }
+      assertEquals(3L, endpoint.getStats().getPendingCount());
+
+    } finally {
+      endpoint.close();
+    }
+
+    File ackFile = new File(dir, "info-spool.ack");
+    assertTrue(ackFile.exists(), "Acknowledgement file not written");
+    assertEquals(String.valueOf(ackOffset),
+                 new String(Files.readAllBytes(ackFile.toPath()),
+                            StandardCharsets.UTF_8).trim());
+
+    // reopen the log as if restarting after a crash
+    CapturingEndpoint recovered = new CapturingEndpoint();
+    endpoint = new DurableSpoolEndpoint(recovered, dir, SEGMENT_SIZE);
+    try {
+      SzInfoSpoolStats stats = endpoint.getStats();
+      assertEquals(3L, stats.getRecoveredCount());
+      assertEquals(ackOffset, stats.getAcknowledgedOffset());
+
+      stats = awaitStats(endpoint, s -> s.getForwardedCount() == 3L);
+      assertEquals(3L, stats.getForwardedCount());
+      assertEquals(0L, stats.getPendingCount());
+      assertEquals(List.of(info(4), info(5), info(6)), recovered.getBodies(),
+                   "Acknowledged messages forwarded again or lost");
+
+    } finally {
+      endpoint.close();
+    }
+  }
+
+  @Test public void unconfirmedTest() throws Exception {
+    File dir = createDirectory("info-spool-");
+    CapturingEndpoint target = new CapturingEndpoint();
+    target.holding = true;
+    DurableSpoolEndpoint endpoint
+        = new DurableSpoolEndpoint(target, dir, SEGMENT_SIZE);
+    try {
+      for (int index = 1; index <= 3; index++) {
+        send(endpoint, info(index), null);
+      }
+    } finally {
+      endpoint.close();
+    }
+
+    // reopen the log so the retained messages are forwarded as one batch
+    CapturingEndpoint recovered = new CapturingEndpoint();
+    recovered.holding = true;
+    endpoint = new DurableSpoolEndpoint(recovered, dir, SEGMENT_SIZE);
+    try {
+      assertEquals(3L, endpoint.getStats().getRecoveredCount(),
+                   "Unconfirmed messages acknowledged");
+      List<CompletableFuture<Void>> held = recovered.awaitHeld(3);
+
+      // confirm all but the second send
+      recovered.holding = false;
+      held.get(0).complete(null);
+      held.get(2).complete(null);
+      Thread.sleep(200L);
+      SzInfoSpoolStats stats = endpoint.getStats();
+      assertEquals(0L, stats.getForwardedCount(),
+                   "Batch acknowledged before every send was settled");
+      assertEquals(3L, stats.getPendingCount());
+
+      // fail the second send so it is appended again and retried
+      held.get(1).completeExceptionally(
+          new IllegalStateException("Rejected message"));
+      stats = awaitStats(endpoint, s -> s.getForwardedCount() == 3L);
+      assertEquals(3L, stats.getForwardedCount(),
+                   "Requeued message not forwarded again");
+      assertEquals(1L, stats.getRequeuedCount(),
+                   "Failed confirmation not requeued");
+      assertEquals(0L, stats.getPendingCount());
+
+    } finally {
+      endpoint.close();
+    }
+  }
+
+  @Test public void tornRecordTest() throws Exception {
+    File dir = createDirectory("info-spool-");
+    CapturingEndpoint target = new CapturingEndpoint();
+    target.holding = true;
+    DurableSpoolEndpoint endpoint
+        = new DurableSpoolEndpoint(target, dir, SEGMENT_SIZE);
+    try {
+      for (int index = 1; index <= 3; index++) {
+        send(endpoint, info(index), null);
+      }
+    } finally {
+      endpoint.close();
+    }
+
+    // corrupt the data of the last record as if torn by a crash
+    try (RandomAccessFile raf
+             = new RandomAccessFile(getSegmentFile(dir), "rw"))
+    {
+      long position = 0L;
+      for (int index = 0; index < 2; index++) {
+        raf.seek(position);
+        position += 12 + raf.readInt();
+      }
+      raf.seek(position + 12);
+      int value = raf.read();
+      raf.seek(position + 12);
+      raf.write(value ^ 0xFF);
+    }
+
+    CapturingEndpoint recovered = new CapturingEndpoint();
+    endpoint = new DurableSpoolEndpoint(recovered, dir, SEGMENT_SIZE);
+    try {
+      assertEquals(2L, endpoint.getStats().getRecoveredCount(),
+                   "Torn record not discarded");
+
+      // check the torn record is not mistaken for a record after appending
+      send(endpoint, info(4), null);
+      SzInfoSpoolStats stats
+          = awaitStats(endpoint, s -> s.getForwardedCount() == 3L);
+      assertEquals(3L, stats.getForwardedCount());
+      assertEquals(List.of(info(1), info(2), info(4)), recovered.getBodies());
+
+    } finally {
+      endpoint.close();
+    }
+  }
+
+  @Test public void invalidAckFileTest() throws Exception {
+    File dir = createDirectory("info-spool-");
+    CapturingEndpoint target = new CapturingEndpoint();
+    DurableSpoolEndpoint endpoint
+        = new DurableSpoolEndpoint(target, dir, SEGMENT_SIZE);
+    try {
+      send(endpoint, info(1), null);
+      send(endpoint, info(2), null);
+      awaitStats(endpoint, s -> s.getForwardedCount() == 2L);
+    } finally {
+      endpoint.close();
+    }
+
+    // an unreadable offset forwards the retained messages again
+    Files.write(new File(dir, "info-spool.ack").toPath(),
+                "garbage".getBytes(StandardCharsets.UTF_8));
+
+    CapturingEndpoint recovered = new CapturingEndpoint();
+    endpoint = new DurableSpoolEndpoint(recovered, dir, SEGMENT_SIZE);
+    try {
+      assertEquals(2L, endpoint.getStats().getRecoveredCount());
+      awaitStats(endpoint, s -> s.getForwardedCount() == 2L);
+      assertEquals(List.of(info(1), info(2)), recovered.getBodies());
+
+    } finally {
+      endpoint.close();
+    }
+  }
+}
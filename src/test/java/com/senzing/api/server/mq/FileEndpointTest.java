@@ -0,0 +1,224 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink;
+import org.junit.jupiter.api.*;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+import static com.senzing.api.server.mq.FileEndpoint.*;
+import static com.senzing.io.IOUtilities.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.server.mq.MessagingTestSupport.*;
+
+/**
+ * Tests the {@link FileEndpoint} against temporary directories.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class FileEndpointTest {
+  /**
+   * Reads the lines of the rotated files in the order they were rotated,
+   * failing if any files other than rotated files remain.
+   */
+  private static List<String> readRotated(File dir, boolean gzip)
+      throws IOException
+  {
+    File[] files = dir.listFiles();
+    assertNotNull(files, "Failed to list directory: " + dir);
+    Arrays.sort(files, Comparator.comparing(
+        (File f) -> f.getName().replaceAll("\\.ndjson.*", "")));
+    List<String> lines = new LinkedList<>();
+    for (File file : files) {
+      String suffix = (gzip) ? ".ndjson.gz" : ".ndjson";
+      assertTrue(file.getName().startsWith("info-2")
+                     && file.getName().endsWith(suffix),
+                 "Unexpected file: " + file.getName());
+      InputStream is = new FileInputStream(file);
+      if (gzip) is = new GZIPInputStream(is);
+      try (BufferedReader br
+               = new BufferedReader(new InputStreamReader(is, UTF_8)))
+      {
+        for (String line = br.readLine(); line != null; line = br.readLine()) {
+          lines.add(line);
+        }
+      }
+    }
+    return lines;
+  }
+
+  @Test public void writeLinesTest() throws Exception {
+    File dir = createDirectory("info-files-");
+    FileEndpoint endpoint = new FileEndpoint(
+        dir, DEFAULT_ROTATE_BYTES, 0L, false, false);
+    List<String> expected = new LinkedList<>();
+    try {
+      send(endpoint, info(1), null);
+      expected.add(info(1));
+      send(endpoint, "{\n  \"RECORD_ID\": \"2\"\r\n}\n", null);
+      expected.add("{   \"RECORD_ID\": \"2\"  }");
+
+      SzMessageSink sink = endpoint.acquireMessageSink();
+      try {
+        sink.sendBatch(List.of(new SzMessage(info(3)),
+                               new SzMessage(info(4))), null);
+      } finally {
+        endpoint.releaseMessageSink(sink);
+      }
+      expected.add(info(3));
+      expected.add(info(4));
+
+      File current = new File(dir, CURRENT_FILE_NAME);
+      assertEquals(4, Files.readAllLines(current.toPath()).size(),
+                   "Messages not flushed before send returned");
+      assertEquals(0, (int) endpoint.getMessageCount());
+      assertEquals(FILE_SINK_TYPE, endpoint.getProviderType());
+    } finally {
+      endpoint.close();
+    }
+    assertEquals(expected, readRotated(dir, false),
+                 "Unexpected lines in rotated file");
+  }
+
+  @Test public void rotateBySizeTest() throws Exception {
+    File dir = createDirectory("info-files-");
+    int lineLength = info(10).length() + 1;
+    FileEndpoint endpoint = new FileEndpoint(
+        dir, 3 * lineLength, 0L, false, false);
+    List<String> expected = new LinkedList<>();
+    try {
+      for (int index = 10; index < 20; index++) {
+        send(endpoint, info(index), null);
+        expected.add(info(index));
+      }
+    } finally {
+      endpoint.close();
+    }
+    File[] files = dir.listFiles();
+    assertNotNull(files, "Failed to list directory: " + dir);
+    assertEquals(4, files.length, "Unexpected number of rotated files");
+    for (File file : files) {
+      assertTrue(file.length() <= 3 * lineLength,
+                 "Rotated file exceeds rotation size: " + file.getName()
+                     + " / " + file.length());
+    }
+    assertEquals(expected, readRotated(dir, false),
+                 "Unexpected lines in rotated files");
+  }
+
+  @Test public void rotateByTimeTest() throws Exception {
+    File dir = createDirectory("info-files-");
+    FileEndpoint endpoint = new FileEndpoint(
+        dir, DEFAULT_ROTATE_BYTES, 1L, false, false);
+    try {
+      send(endpoint, info(1), null);
+      File current = new File(dir, CURRENT_FILE_NAME);
+      long start = System.currentTimeMillis();
+      while (current.exists() && System.currentTimeMillis() - start < 5000L) {
+        Thread.sleep(50L);
+      }
+      assertFalse(current.exists(), "Idle current file was not rotated");
+      send(endpoint, info(2), null);
+    } finally {
+      endpoint.close();
+    }
+    assertEquals(List.of(info(1), info(2)), readRotated(dir, false),
+                 "Unexpected lines in rotated files");
+  }
+
+  @Test public void gzipRotatedTest() throws Exception {
+    File dir = createDirectory("info-files-");
+    int lineLength = info(10).length() + 1;
+    SzMessagingEndpoint endpoint = INITIATOR.establish(
+        Map.of(URL_PROPERTY_KEY, dir.toURI() + "?rotateBytes="
+            + (2 * lineLength) + "&gzip=true&fsync=true"), 1);
+    assertTrue(endpoint instanceof FileEndpoint,
+               "Unexpected endpoint type: " + endpoint);
+    List<String> expected = new LinkedList<>();
+    try {
+      for (int index = 10; index < 15; index++) {
+        send(endpoint, info(index), null);
+        expected.add(info(index));
+      }
+    } finally {
+      endpoint.close();
+    }
+    assertEquals(expected, readRotated(dir, true),
+                 "Unexpected lines in compressed files");
+  }
+
+  @Test public void concurrentSendTest() throws Exception {
+    File dir = createDirectory("info-files-");
+    FileEndpoint endpoint = new FileEndpoint(
+        dir, DEFAULT_ROTATE_BYTES, 0L, false, false);
+    int threadCount = 8;
+    int perThread   = 250;
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      List<Future<?>> futures = new ArrayList<>(threadCount);
+      for (int thread = 0; thread < threadCount; thread++) {
+        int base = thread * perThread;
+        futures.add(executor.submit(() -> {
+          for (int index = base; index < base + perThread; index++) {
+            send(endpoint, info(index), null);
+          }
+          return null;
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+      endpoint.close();
+    }
+    List<String> lines = readRotated(dir, false);
+    assertEquals(threadCount * perThread, lines.size(),
+                 "Unexpected number of lines");
+    assertEquals(threadCount * perThread, new HashSet<>(lines).size(),
+                 "Duplicate lines were written");
+  }
+
+  @Test public void recoverCurrentFileTest() throws Exception {
+    File dir = createDirectory("info-files-");
+    Files.write(new File(dir, CURRENT_FILE_NAME).toPath(),
+                (info(1) + "\n").getBytes(UTF_8));
+    FileEndpoint endpoint = new FileEndpoint(
+        dir, DEFAULT_ROTATE_BYTES, 0L, false, false);
+    try {
+      assertFalse(new File(dir, CURRENT_FILE_NAME).exists(),
+                  "Leftover current file was not rotated");
+      send(endpoint, info(2), null);
+    } finally {
+      endpoint.close();
+    }
+    assertEquals(List.of(info(1), info(2)), readRotated(dir, false),
+                 "Unexpected lines in rotated files");
+  }
+
+  @Test public void rejectInvalidUrlTest() {
+    assertNull(INITIATOR.establish(Map.of("sqs-url", "sqs://host/1/q"), 1));
+    assertThrows(IllegalArgumentException.class, () -> INITIATOR.establish(
+        Map.of(URL_PROPERTY_KEY, "http://localhost/info"), 1));
+    assertThrows(IllegalArgumentException.class, () -> INITIATOR.establish(
+        Map.of(URL_PROPERTY_KEY, "file:///tmp/info?rotateBytes=abc"), 1));
+    assertThrows(IllegalArgumentException.class, () -> INITIATOR.establish(
+        Map.of(URL_PROPERTY_KEY, "file:///tmp/info?gzip=maybe"), 1));
+  }
+
+  @Test public void sendAfterCloseTest() throws Exception {
+    File dir = createDirectory("info-files-");
+    FileEndpoint endpoint = new FileEndpoint(
+        dir, DEFAULT_ROTATE_BYTES, 0L, false, false);
+    endpoint.close();
+    assertTrue(endpoint.isClosed(), "Endpoint not closed");
+    assertThrows(IllegalStateException.class,
+                 () -> endpoint.send(new SzMessage(info(1)), null));
+  }
+}
@@ -0,0 +1,121 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.services.SzMessage;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.server.mq.KafkaEndpoint.*;
+
+/**
+ * Tests the mapping of the initialization properties of the {@link
+ * KafkaEndpoint} to the Kafka producer properties and the keying of the info
+ * messages by entity.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class KafkaEndpointTest {
+  private static final String SERIALIZER
+      = "org.apache.kafka.common.serialization.StringSerializer";
+
+  private static Map<String, Object> baseProperties() {
+    Map<String, Object> props = new LinkedHashMap<>();
+    props.put(BOOTSTRAP_SERVERS_PROPERTY_KEY, "broker:9092");
+    props.put(TOPIC_PROPERTY_KEY, "senzing-info");
+    return props;
+  }
+
+  private static String entityKey(String body) {
+    return getEntityKey(new SzMessage(body));
+  }
+
+  @Test public void defaultPropertiesTest() {
+    Properties kafkaProps = toProducerProperties(baseProperties());
+
+    assertEquals("broker:9092", kafkaProps.get("bootstrap.servers"));
+    assertEquals(SERIALIZER, kafkaProps.get("key.serializer"));
+    assertEquals(SERIALIZER, kafkaProps.get("value.serializer"));
+    assertEquals(3, kafkaProps.size(),
+                 "Unspecified settings were set: " + kafkaProps);
+  }
+
+  @Test public void dedicatedPropertiesTest() {
+    Map<String, Object> props = baseProperties();
+    props.put(GROUP_ID_PROPERTY_KEY, "senzing");
+    props.put(ACKS_PROPERTY_KEY, "all");
+    props.put(BATCH_SIZE_PROPERTY_KEY, 65536);
+    props.put(LINGER_PROPERTY_KEY, 20);
+    props.put(COMPRESSION_PROPERTY_KEY, "lz4");
+    props.put(MAX_IN_FLIGHT_PROPERTY_KEY, 1);
+    Properties kafkaProps = toProducerProperties(props);
+
+    assertEquals("senzing", kafkaProps.get("group.id"));
+    assertEquals("all", kafkaProps.get("acks"));
+    assertEquals("65536", kafkaProps.get("batch.size"));
+    assertEquals("20", kafkaProps.get("linger.ms"));
+    assertEquals("lz4", kafkaProps.get("compression.type"));
+    assertEquals("1",
+                 kafkaProps.get("max.in.flight.requests.per.connection"));
+  }
+
+  @Test public void producerPropertiesTest() {
+    Map<String, Object> props = baseProperties();
+    props.put(ACKS_PROPERTY_KEY, "all");
+    props.put(PRODUCER_PROPERTIES_PROPERTY_KEY,
+              " acks=1&client.id=senzing%20api&bootstrap.servers=other:9092"
+                  + "&linger.ms=5 ");
+    Properties kafkaProps = toProducerProperties(props);
+
+    assertEquals("senzing api", kafkaProps.get("client.id"));
+    assertEquals("5", kafkaProps.get("linger.ms"));
+    assertEquals("all", kafkaProps.get("acks"),
+                 "Dedicated setting not preferred over producer properties");
+    assertEquals("broker:9092", kafkaProps.get("bootstrap.servers"),
+                 "Bootstrap servers overridden by producer properties");
+
+    // check the leading question mark is optional
+    props.put(PRODUCER_PROPERTIES_PROPERTY_KEY, "?client.id=senzing");
+    assertEquals("senzing",
+                 toProducerProperties(props).get("client.id"));
+
+    props.put(PRODUCER_PROPERTIES_PROPERTY_KEY, "client.id=a&client.id=b");
+    assertThrows(IllegalArgumentException.class,
+                 () -> toProducerProperties(props),
+                 "Multi-valued producer property accepted");
+  }
+
+  @Test public void establishTest() {
+    assertNull(INITIATOR.establish(null, 1));
+    assertNull(INITIATOR.establish(Map.of("other-property", "value"), 1),
+               "Established without any Kafka properties");
+
+    Map<String, Object> props = baseProperties();
+    props.remove(TOPIC_PROPERTY_KEY);
+    assertThrows(IllegalArgumentException.class,
+                 () -> INITIATOR.establish(props, 1),
+                 "Established without a topic");
+
+    Map<String, Object> noServers = baseProperties();
+    noServers.remove(BOOTSTRAP_SERVERS_PROPERTY_KEY);
+    assertThrows(IllegalArgumentException.class,
+                 () -> INITIATOR.establish(noServers, 1),
+                 "Established without the bootstrap servers");
+  }
+
+  @Test public void entityKeyTest() {
+    assertEquals("3", entityKey(
+        "{\"DATA_SOURCE\":\"TEST\",\"RECORD_ID\":\"1\",\"AFFECTED_ENTITIES\":"
+            + "[{\"ENTITY_ID\":5},{\"ENTITY_ID\":3},{\"ENTITY_ID\":9}]}"),
+                 "Key is not the lowest affected entity ID");
+    assertEquals("42", entityKey(
+        "{\"AFFECTED_ENTITIES\":[{\"ENTITY_ID\":42,\"LENS_CODE\":\"X\"}]}"));
+    assertEquals("8", entityKey(
+        "{\"AFFECTED_ENTITIES\":[{\"LENS_CODE\":\"X\"},{\"ENTITY_ID\":8}]}"),
+                 "Affected entity without an ID not skipped");
+
+    assertNull(entityKey("{\"DATA_SOURCE\":\"TEST\",\"RECORD_ID\":\"1\"}"));
+    assertNull(entityKey("{\"AFFECTED_ENTITIES\":[]}"));
+    assertNull(entityKey("not json"), "Unparsable message was keyed");
+  }
+}
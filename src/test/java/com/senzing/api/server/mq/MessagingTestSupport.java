@@ -0,0 +1,232 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink;
+import com.senzing.api.services.SzMessageSink.FailureHandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Provides the in-memory endpoint and the helper functions shared by the
+ * tests of the messaging endpoints.
+ */
+public class MessagingTestSupport {
+  /**
+   * Records the messages sent to it, failing the messages with the rejected
+   * body (or all messages if failing) and holding the confirmations of the
+   * sends while holding.
+   */
+  public static class CapturingEndpoint extends SzAbstractMessagingEndpoint {
+    private final List<SzMessage> messages = new ArrayList<>();
+    private final List<CompletableFuture<Void>> held = new ArrayList<>();
+    private int rejectedCount = 0;
+    volatile String rejectedBody = null;
+    volatile boolean failing = false;
+    volatile boolean holding = false;
+
+    @Override
+    public CompletableFuture<Void> sendConfirmed(SzMessage message) {
+      CompletableFuture<Void> confirmed = super.sendConfirmed(message);
+      if (!this.holding) return confirmed;
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      synchronized (this.messages) {
+        this.held.add(future);
+        this.messages.notifyAll();
+      }
+      return future;
+    }
+
+    @Override
+    public void send(SzMessage message, FailureHandler onFailure)
+        throws Exception
+    {
+      synchronized (this.messages) {
+        if (!this.failing && !message.getBody().equals(this.rejectedBody)) {
+          this.messages.add(message);
+          this.messages.notifyAll();
+          return;
+        }
+        this.rejectedCount++;
+      }
+      Exception failure = new IllegalStateException("Rejected message");
+      if (onFailure != null) onFailure.handle(failure, message);
+      throw failure;
+    }
+
+    /**
+     * Gets the messages sent to this endpoint in the order they were sent.
+     *
+     * @return The {@link List} of {@link SzMessage} instances sent.
+     */
+    public List<SzMessage> getMessages() {
+      synchronized (this.messages) {
+        return new ArrayList<>(this.messages);
+      }
+    }
+
+    /**
+     * Gets the bodies of the messages sent to this endpoint in the order they
+     * were sent.
+     *
+     * @return The {@link List} of message bodies.
+     */
+    public List<String> getBodies() {
+      synchronized (this.messages) {
+        List<String> result = new ArrayList<>(this.messages.size());
+        for (SzMessage message : this.messages) {
+          result.add(message.getBody());
+        }
+        return result;
+      }
+    }
+
+    /**
+     * Waits up to five seconds for at least the specified number of messages
+     * to be sent to this endpoint.
+     *
+     * @param count The number of messages to wait for.
+     *
+     * @return The {@link List} of {@link SzMessage} instances sent.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public List<SzMessage> awaitMessages(int count)
+        throws InterruptedException
+    {
+      long start = System.currentTimeMillis();
+      synchronized (this.messages) {
+        while (this.messages.size() < count
+               && System.currentTimeMillis() - start < 5000L)
+        {
+          this.messages.wait(100L);
+        }
+        return new ArrayList<>(this.messages);
+      }
+    }
+
+    /**
+     * Waits for the specified number of confirmations to be held, failing if
+     * they are not, and returns them, releasing them from this endpoint.
+     *
+     * @param count The number of held confirmations to wait for.
+     *
+     * @return The {@link List} of held {@link CompletableFuture} instances.
+     *
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public List<CompletableFuture<Void>> awaitHeld(int count)
+        throws InterruptedException
+    {
+      long start = System.currentTimeMillis();
+      synchronized (this.messages) {
+        while (this.held.size() < count
+               && System.currentTimeMillis() - start < 10000L)
+        {
+          this.messages.wait(50L);
+        }
+        assertEquals(count, this.held.size(), "Sends not held");
+        List<CompletableFuture<Void>> result = new ArrayList<>(this.held);
+        this.held.clear();
+        return result;
+      }
+    }
+
+    /**
+     * Gets the number of times a message was rejected by this endpoint.
+     *
+     * @return The number of times a message was rejected.
+     */
+    public int getRejectedCount() {
+      synchronized (this.messages) {
+        return this.rejectedCount;
+      }
+    }
+
+    @Override
+    public String getProviderType() {
+      return "Capturing";
+    }
+
+    @Override
+    protected void doClose() {
+      // do nothing
+    }
+  }
+
+  /**
+   * Creates a temporary directory that is deleted on exit.
+   *
+   * @param prefix The prefix for the name of the directory.
+   *
+   * @return The {@link File} for the created directory.
+   *
+   * @throws IOException If the directory could not be created.
+   */
+  public static File createDirectory(String prefix) throws IOException {
+    File dir = Files.createTempDirectory(prefix).toFile();
+    dir.deleteOnExit();
+    return dir;
+  }
+
+  /**
+   * Creates the INFO message for the record with the specified index that
+   * affects the entity with the same index.
+   *
+   * @param index The index of the record.
+   *
+   * @return The INFO message.
+   */
+  public static String info(int index) {
+    return "{\"DATA_SOURCE\":\"TEST\",\"RECORD_ID\":\"" + index
+        + "\",\"AFFECTED_ENTITIES\":[{\"ENTITY_ID\":" + index + "}]}";
+  }
+
+  /**
+   * Sends a message with the specified body through a message sink acquired
+   * from the specified endpoint.
+   *
+   * @param endpoint The {@link SzMessagingEndpoint} to send to.
+   * @param body The body of the message.
+   * @param onFailure The {@link FailureHandler} for the send, or
+   *                  <tt>null</tt> if none.
+   *
+   * @throws Exception If the send fails.
+   */
+  public static void send(SzMessagingEndpoint endpoint,
+                          String              body,
+                          FailureHandler      onFailure)
+      throws Exception
+  {
+    send(endpoint, new SzMessage(body), onFailure);
+  }
+
+  /**
+   * Sends the specified message through a message sink acquired from the
+   * specified endpoint.
+   *
+   * @param endpoint The {@link SzMessagingEndpoint} to send to.
+   * @param message The {@link SzMessage} to send.
+   * @param onFailure The {@link FailureHandler} for the send, or
+   *                  <tt>null</tt> if none.
+   *
+   * @throws Exception If the send fails.
+   */
+  public static void send(SzMessagingEndpoint endpoint,
+                          SzMessage           message,
+                          FailureHandler      onFailure)
+      throws Exception
+  {
+    SzMessageSink sink = endpoint.acquireMessageSink();
+    try {
+      sink.send(message, onFailure);
+    } finally {
+      endpoint.releaseMessageSink(sink);
+    }
+  }
+}
@@ -0,0 +1,335 @@
+package com.senzing.api.server.mq;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ConfirmListener;
+import com.rabbitmq.client.ShutdownListener;
+import com.rabbitmq.client.ShutdownSignalException;
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.senzing.api.server.mq.RabbitEndpoint.*;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Measures the publishing throughput of {@link RabbitEndpoint} either against
+ * a local RabbitMQ broker or against in-memory {@link Channel} stand-ins that
+ * confirm published messages in batches and can negatively acknowledge a
+ * fraction of them to exercise the retry path.  Run with:
+ * <pre>
+ *   java com.senzing.api.server.mq.RabbitEndpointBenchmark
+ *     [--messages count] [--threads count] [--batch count] [--size bytes]
+ *     [--nack-rate fraction] [--confirm-interval ms]
+ *     [--broker host[:port]] [--user user] [--password password]
+ *     [--exchange exchange] [--routing-key key]
+ * </pre>
+ * The nack rate and confirm interval only apply to the in-memory stand-ins.
+ */
+public class RabbitEndpointBenchmark {
+  /**
+   * Provides an in-memory stand-in for a {@link Channel} in confirm mode that
+   * confirms published messages in batches on a timer.  This is also used by
+   * {@link RabbitEndpointTest} to drive the confirms and shutdowns directly.
+   */
+  static class StandInChannel {
+    /**
+     * The next delivery tag to be assigned.
+     */
+    private final AtomicLong nextTag = new AtomicLong(1L);
+
+    /**
+     * The last delivery tag that was confirmed.
+     */
+    private long lastConfirmed = 0L;
+
+    /**
+     * The registered {@link ConfirmListener} instances.
+     */
+    private final List<ConfirmListener> listeners
+        = new CopyOnWriteArrayList<>();
+
+    /**
+     * The registered {@link ShutdownListener} instances.
+     */
+    private final List<ShutdownListener> shutdownListeners
+        = new CopyOnWriteArrayList<>();
+
+    /**
+     * The fraction of messages to negatively acknowledge.
+     */
+    private volatile double nackRate;
+
+    /**
+     * The {@link Random} for choosing which messages to negatively
+     * acknowledge.
+     */
+    private final Random random = new Random(1L);
+
+    /**
+     * The {@link ShutdownSignalException} for the shutdown of the channel,
+     * or <tt>null</tt> if the channel is open.
+     */
+    private volatile ShutdownSignalException shutdownSignal = null;
+
+    /**
+     * Constructs with the fraction of messages to negatively acknowledge.
+     *
+     * @param nackRate The fraction of messages to negatively acknowledge.
+     */
+    StandInChannel(double nackRate) {
+      this.nackRate = nackRate;
+    }
+
+    /**
+     * Sets the fraction of messages to negatively acknowledge on the
+     * subsequent confirms.
+     *
+     * @param nackRate The fraction of messages to negatively acknowledge.
+     */
+    void setNackRate(double nackRate) {
+      this.nackRate = nackRate;
+    }
+
+    /**
+     * Gets the number of messages that have been published on this channel.
+     *
+     * @return The number of messages that have been published.
+     */
+    long getPublishCount() {
+      return this.nextTag.get() - 1L;
+    }
+
+    /**
+     * Checks if the channel is open.
+     *
+     * @return <tt>true</tt> if the channel is open, otherwise <tt>false</tt>.
+     */
+    boolean isOpen() {
+      return (this.shutdownSignal == null);
+    }
+
+    /**
+     * Creates a {@link Channel} proxy backed by this stand-in.
+     *
+     * @return The {@link Channel} proxy.
+     */
+    Channel createProxy() {
+      return (Channel) Proxy.newProxyInstance(
+          Channel.class.getClassLoader(),
+          new Class<?>[] { Channel.class },
+          (proxy, method, args) -> {
+            switch (method.getName()) {
+              case "getNextPublishSeqNo":
+                return this.nextTag.get();
+              case "basicPublish":
+                if (this.shutdownSignal != null) throw this.shutdownSignal;
+                this.nextTag.incrementAndGet();
+                return null;
+              case "addConfirmListener":
+                if (args[0] instanceof ConfirmListener) {
+                  this.listeners.add((ConfirmListener) args[0]);
+                }
+                return null;
+              case "addShutdownListener":
+                this.shutdownListeners.add((ShutdownListener) args[0]);
+                return null;
+              case "isOpen":
+                return this.isOpen();
+              case "close":
+                this.shutdownSignal
+                    = new ShutdownSignalException(false, true, null, proxy);
+                return null;
+              case "hashCode":
+                return System.identityHashCode(proxy);
+              case "equals":
+                return proxy == args[0];
+              case "toString":
+                return "StandInChannel@" + System.identityHashCode(proxy);
+              default:
+                return defaultValue(method.getReturnType());
+            }
+          });
+    }
+
+    /**
+     * Confirms all messages published since the last confirm, negatively
+     * acknowledging a random fraction of them individually and acknowledging
+     * the rest with a single multiple acknowledgement.
+     *
+     * @throws Exception If a listener fails.
+     */
+    synchronized void confirm() throws Exception {
+      long lastTag = this.nextTag.get() - 1L;
+      if (lastTag <= this.lastConfirmed) return;
+      for (ConfirmListener listener : this.listeners) {
+        if (this.nackRate > 0.0) {
+          for (long tag = this.lastConfirmed + 1L; tag <= lastTag; tag++) {
+            if (this.random.nextDouble() < this.nackRate) {
+              listener.handleNack(tag, false);
+            }
+          }
+        }
+        listener.handleAck(lastTag, true);
+      }
+      this.lastConfirmed = lastTag;
+    }
+
+    /**
+     * Shuts down the channel as the broker would, notifying the registered
+     * {@link ShutdownListener} instances without confirming the outstanding
+     * messages.
+     */
+    void shutdown() {
+      ShutdownSignalException signal
+          = new ShutdownSignalException(false, false, null, this);
+      this.shutdownSignal = signal;
+      for (ShutdownListener listener : this.shutdownListeners) {
+        listener.shutdownCompleted(signal);
+      }
+    }
+  }
+
+  /**
+   * Returns the default value for the specified return type.
+   *
+   * @param type The return type.
+   * @return The default value for the return type.
+   */
+  private static Object defaultValue(Class<?> type) {
+    if (!type.isPrimitive() || type == void.class) return null;
+    if (type == boolean.class) return false;
+    return Array.get(Array.newInstance(type, 1), 0);
+  }
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args The command-line arguments.
+   * @throws Exception If a failure occurs.
+   */
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new LinkedHashMap<>();
+    for (int index = 0; index < args.length - 1; index += 2) {
+      options.put(args[index], args[index + 1]);
+    }
+    int     messageCount  = Integer.parseInt(
+        options.getOrDefault("--messages", "100000"));
+    int     threadCount   = Integer.parseInt(
+        options.getOrDefault("--threads", "4"));
+    int     batchSize     = Integer.parseInt(
+        options.getOrDefault("--batch", "10"));
+    int     messageSize   = Integer.parseInt(
+        options.getOrDefault("--size", "512"));
+    double  nackRate      = Double.parseDouble(
+        options.getOrDefault("--nack-rate", "0.001"));
+    long    interval      = Long.parseLong(
+        options.getOrDefault("--confirm-interval", "1"));
+    String  broker        = options.get("--broker");
+
+    ScheduledExecutorService confirmer = null;
+    RabbitEndpoint endpoint;
+    if (broker != null) {
+      int colon = broker.indexOf(':');
+      Map<String, Object> props = new LinkedHashMap<>();
+      props.put(USER_PROPERTY_KEY, options.getOrDefault("--user", "guest"));
+      props.put(PASSWORD_PROPERTY_KEY,
+                options.getOrDefault("--password", "guest"));
+      props.put(HOST_PROPERTY_KEY,
+                (colon < 0) ? broker : broker.substring(0, colon));
+      props.put(PORT_PROPERTY_KEY,
+                (colon < 0) ? 5672 : Integer.parseInt(
+                    broker.substring(colon + 1)));
+      props.put(VIRTUAL_HOST_PROPERTY_KEY, "/");
+      props.put(EXCHANGE_PROPERTY_KEY,
+                options.getOrDefault("--exchange", "amq.direct"));
+      props.put(ROUTING_KEY_PROPERTY_KEY,
+                options.getOrDefault("--routing-key", "senzing-benchmark"));
+      endpoint = (RabbitEndpoint) INITIATOR.establish(props, threadCount);
+
+    } else {
+      List<StandInChannel> standIns = new ArrayList<>(threadCount);
+      List<Channel> channels = new ArrayList<>(threadCount);
+      for (int index = 0; index < threadCount; index++) {
+        StandInChannel standIn = new StandInChannel(nackRate);
+        standIns.add(standIn);
+        channels.add(standIn.createProxy());
+      }
+      endpoint = new RabbitEndpoint(channels, "benchmark", "benchmark");
+      confirmer = Executors.newSingleThreadScheduledExecutor();
+      confirmer.scheduleWithFixedDelay(() -> {
+        for (StandInChannel standIn : standIns) {
+          try {
+            standIn.confirm();
+          } catch (Exception e) {
+            e.printStackTrace();
+          }
+        }
+      }, interval, interval, MILLISECONDS);
+    }
+
+    // build the message body
+    StringBuilder sb = new StringBuilder(messageSize);
+    while (sb.length() < messageSize) sb.append('x');
+    String body = sb.toString();
+
+    // publish the messages from each thread in batches
+    AtomicLong failures = new AtomicLong(0L);
+    SzMessageSink.FailureHandler onFailure
+        = (e, message) -> failures.incrementAndGet();
+    ExecutorService publishers = Executors.newFixedThreadPool(threadCount);
+    List<Future<?>> futures = new ArrayList<>(threadCount);
+    long startTime = System.nanoTime();
+    for (int index = 0; index < threadCount; index++) {
+      int count = messageCount / threadCount
+          + ((index < messageCount % threadCount) ? 1 : 0);
+      futures.add(publishers.submit(() -> {
+        SzMessageSink sink = endpoint.acquireMessageSink();
+        try {
+          List<SzMessage> batch = new ArrayList<>(batchSize);
+          for (int sent = 0; sent < count; sent++) {
+            batch.add(new SzMessage(body));
+            if (batch.size() == batchSize || sent == count - 1) {
+              sink.sendBatch(batch, onFailure);
+              batch.clear();
+            }
+          }
+        } finally {
+          endpoint.releaseMessageSink(sink);
+        }
+        return null;
+      }));
+    }
+    for (Future<?> future : futures) future.get();
+    long publishedTime = System.nanoTime();
+
+    // closing waits for the outstanding confirms
+    endpoint.close();
+    long confirmedTime = System.nanoTime();
+    publishers.shutdown();
+    if (confirmer != null) confirmer.shutdown();
+
+    double publishMillis  = (publishedTime - startTime) / 1000000.0;
+    double confirmMillis  = (confirmedTime - startTime) / 1000000.0;
+    System.out.println("target          : "
+                           + ((broker != null) ? broker : "in-memory"));
+    System.out.println("messages        : " + messageCount);
+    System.out.println("threads         : " + threadCount);
+    System.out.println("batch size      : " + batchSize);
+    System.out.println("message size    : " + messageSize);
+    System.out.println("published in    : "
+                           + String.format("%.1f ms", publishMillis));
+    System.out.println("confirmed in    : "
+                           + String.format("%.1f ms", confirmMillis));
+    System.out.println("throughput      : "
+                           + String.format("%.0f msgs/sec",
+                                           messageCount * 1000.0
+                                               / confirmMillis));
+    System.out.println("retries         : " + endpoint.getRetryCount());
+    System.out.println("failures        : " + failures.get());
+  }
+}
@@ -0,0 +1,203 @@
+package com.senzing.api.server.mq;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ShutdownSignalException;
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.server.mq.RabbitEndpoint.*;
+import static com.senzing.api.server.mq.RabbitEndpointBenchmark.StandInChannel;
+
+/**
+ * Tests the publisher confirms of the {@link RabbitEndpoint} and the retrying
+ * of negatively acknowledged messages and of those outstanding when a channel
+ * shuts down, using the in-memory channel stand-ins of the {@link
+ * RabbitEndpointBenchmark}.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class RabbitEndpointTest {
+  /**
+   * Records the messages reported as failures and their causes.
+   */
+  private static class FailureLog implements SzMessageSink.FailureHandler {
+    private final List<String> bodies = new ArrayList<>();
+    private final List<Exception> causes = new ArrayList<>();
+
+    @Override
+    public synchronized void handle(Exception exception, SzMessage message) {
+      this.bodies.add(message.getBody());
+      this.causes.add(exception);
+    }
+
+    private synchronized List<String> getBodies() {
+      return new ArrayList<>(this.bodies);
+    }
+
+    private synchronized List<Exception> getCauses() {
+      return new ArrayList<>(this.causes);
+    }
+  }
+
+  private static RabbitEndpoint createEndpoint(StandInChannel... standIns)
+      throws IOException
+  {
+    List<Channel> channels = new ArrayList<>();
+    for (StandInChannel standIn : standIns) {
+      channels.add(standIn.createProxy());
+    }
+    return new RabbitEndpoint(channels, "test-exchange", "test-routing");
+  }
+
+  private static void await(BooleanSupplier condition, String message)
+      throws InterruptedException
+  {
+    long start = System.currentTimeMillis();
+    while (!condition.getAsBoolean()
+           && System.currentTimeMillis() - start < 10000L)
+    {
+      Thread.sleep(10L);
+    }
+    assertTrue(condition.getAsBoolean(), message);
+  }
+
+  @Test public void confirmTest() throws Exception {
+    StandInChannel standIn = new StandInChannel(0.0);
+    RabbitEndpoint endpoint = createEndpoint(standIn);
+    FailureLog failureLog = new FailureLog();
+    try {
+      endpoint.sendBatch(List.of(new SzMessage("A"),
+                                 new SzMessage("B"),
+                                 new SzMessage("C")), failureLog);
+      CompletableFuture<Void> confirmed
+          = endpoint.sendConfirmed(new SzMessage("D"));
+      assertEquals(4L, standIn.getPublishCount());
+      assertEquals(4, endpoint.getPendingConfirmCount());
+      assertFalse(confirmed.isDone(),
+                  "Completed before the broker confirmed the message");
+
+      standIn.confirm();
+      assertEquals(0, endpoint.getPendingConfirmCount());
+      assertTrue(confirmed.isDone(), "Not completed on the confirm");
+      confirmed.get();
+      assertEquals(0L, endpoint.getRetryCount());
+
+    } finally {
+      endpoint.close();
+    }
+    assertEquals(List.of(), failureLog.getBodies());
+    assertEquals(0L, endpoint.getFailureCount());
+    assertFalse(standIn.isOpen(), "Channel not closed with the endpoint");
+  }
+
+  @Test public void nackRetryTest() throws Exception {
+    StandInChannel standIn = new StandInChannel(1.0);
+    RabbitEndpoint endpoint = createEndpoint(standIn);
+    FailureLog failureLog = new FailureLog();
+    try {
+      CompletableFuture<Void> confirmed
+          = endpoint.sendConfirmed(new SzMessage("A"));
+      standIn.confirm();
+      assertFalse(confirmed.isDone(),
+                  "Completed although the broker negatively acknowledged");
+
+      // the republished message is acknowledged
+      standIn.setNackRate(0.0);
+      await(() -> endpoint.getRetryCount() == 1L, "Message not republished");
+      assertEquals(2L, standIn.getPublishCount());
+      standIn.confirm();
+      confirmed.get(10, TimeUnit.SECONDS);
+      assertEquals(0L, endpoint.getFailureCount());
+
+      // the failure is reported once the attempts are exhausted
+      standIn.setNackRate(1.0);
+      endpoint.send(new SzMessage("B"), failureLog);
+      long start = System.currentTimeMillis();
+      while (failureLog.getBodies().isEmpty()
+             && System.currentTimeMillis() - start < 10000L)
+      {
+        standIn.confirm();
+        Thread.sleep(10L);
+      }
+      assertEquals(List.of("B"), failureLog.getBodies(),
+                   "Failure not reported after the last attempt");
+      assertTrue(failureLog.getCauses().get(0) instanceof IOException,
+                 "Unexpected cause: " + failureLog.getCauses());
+      assertEquals(2L + MAX_PUBLISH_ATTEMPTS, standIn.getPublishCount());
+      assertEquals(1L + (MAX_PUBLISH_ATTEMPTS - 1), endpoint.getRetryCount());
+      assertEquals(1L, endpoint.getFailureCount());
+      assertEquals(0, endpoint.getPendingConfirmCount());
+
+    } finally {
+      endpoint.close();
+    }
+    assertEquals(1, failureLog.getBodies().size(), "Failure reported twice");
+  }
+
+  @Test public void shutdownRetryTest() throws Exception {
+    StandInChannel standIn1 = new StandInChannel(0.0);
+    StandInChannel standIn2 = new StandInChannel(0.0);
+    RabbitEndpoint endpoint = createEndpoint(standIn1, standIn2);
+    FailureLog failureLog = new FailureLog();
+    try {
+      CompletableFuture<Void> confirmed
+          = endpoint.sendConfirmed(new SzMessage("A"));
+      endpoint.send(new SzMessage("B"), failureLog);
+      assertEquals(1L, standIn1.getPublishCount());
+      assertEquals(1L, standIn2.getPublishCount());
+
+      // the unconfirmed message is republished on the open channel
+      standIn1.shutdown();
+      assertFalse(confirmed.isDone(), "Completed on the shutdown");
+      assertEquals(1, endpoint.getPendingConfirmCount());
+      await(() -> standIn2.getPublishCount() == 2L,
+            "Message not republished after the shutdown");
+      assertEquals(1L, standIn1.getPublishCount());
+
+      standIn2.confirm();
+      confirmed.get(10, TimeUnit.SECONDS);
+      assertEquals(0, endpoint.getPendingConfirmCount());
+      assertEquals(1L, endpoint.getRetryCount());
+
+    } finally {
+      endpoint.close();
+    }
+    assertEquals(List.of(), failureLog.getBodies());
+    assertEquals(0L, endpoint.getFailureCount());
+  }
+
+  @Test public void shutdownFailureTest() throws Exception {
+    StandInChannel standIn = new StandInChannel(0.0);
+    RabbitEndpoint endpoint = createEndpoint(standIn);
+    FailureLog failureLog = new FailureLog();
+    try {
+      CompletableFuture<Void> confirmed
+          = endpoint.sendConfirmed(new SzMessage("A"));
+      endpoint.send(new SzMessage("B"), failureLog);
+
+      // there is no open channel on which to republish
+      standIn.shutdown();
+      await(() -> confirmed.isDone() && !failureLog.getBodies().isEmpty(),
+            "Failure not reported after the last attempt");
+      assertTrue(confirmed.isCompletedExceptionally());
+      assertEquals(List.of("B"), failureLog.getBodies());
+      assertTrue(failureLog.getCauses().get(0)
+                     instanceof ShutdownSignalException,
+                 "Unexpected cause: " + failureLog.getCauses());
+      assertEquals(2L, standIn.getPublishCount());
+      assertEquals(0L, endpoint.getRetryCount());
+      assertEquals(2L, endpoint.getFailureCount());
+
+    } finally {
+      endpoint.close();
+    }
+  }
+}
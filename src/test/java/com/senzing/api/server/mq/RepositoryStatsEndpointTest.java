@@ -0,0 +1,307 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.model.SzDataSourceStats;
+import com.senzing.api.model.SzRepositoryStats;
+import com.senzing.api.services.SzMessage;
+import com.senzing.api.services.SzMessageSink;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+
+import static com.senzing.api.services.ServicesUtil.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.server.mq.MessagingTestSupport.*;
+
+/**
+ * Tests the {@link RepositoryStatsEndpoint} with a fake entity export.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class RepositoryStatsEndpointTest {
+  private static final RepositoryStatsEndpoint.EntityExport NO_EXPORT
+      = handler -> { };
+
+  private File tempDir;
+
+  @BeforeAll public void setup() throws Exception {
+    this.tempDir = Files.createTempDirectory("repository-stats-").toFile();
+  }
+
+  @AfterAll public void teardown() {
+    File[] files = this.tempDir.listFiles();
+    if (files != null) {
+      for (File file : files) file.delete();
+    }
+    this.tempDir.delete();
+  }
+
+  private File newSnapshotFile(String name) {
+    return new File(this.tempDir, name + ".dat");
+  }
+
+  private static String info(String dataSource, String recordId, int affected)
+  {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{\"DATA_SOURCE\":\"").append(dataSource)
+        .append("\",\"RECORD_ID\":\"").append(recordId)
+        .append("\",\"AFFECTED_ENTITIES\":[");
+    for (int index = 0; index < affected; index++) {
+      if (index > 0) sb.append(",");
+      sb.append("{\"ENTITY_ID\":").append(index + 1).append("}");
+    }
+    sb.append("]}");
+    return sb.toString();
+  }
+
+  private static String entity(String... records) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{\"RESOLVED_ENTITY\":{\"RECORDS\":[");
+    for (int index = 0; index < records.length; index += 2) {
+      if (index > 0) sb.append(",");
+      sb.append("{\"DATA_SOURCE\":\"").append(records[index])
+          .append("\",\"RECORD_ID\":\"").append(records[index + 1])
+          .append("\"}");
+    }
+    sb.append("]}}");
+    return sb.toString();
+  }
+
+  private static void send(SzMessagingEndpoint endpoint,
+                           String              operation,
+                           String              info)
+      throws Exception
+  {
+    MessagingTestSupport.send(
+        endpoint, newInfoMessage(info, operation), null);
+  }
+
+  private static SzDataSourceStats find(SzRepositoryStats stats,
+                                        String            dataSource)
+  {
+    for (SzDataSourceStats dataSourceStats : stats.getDataSources()) {
+      if (dataSourceStats.getDataSource().equals(dataSource)) {
+        return dataSourceStats;
+      }
+    }
+    return null;
+  }
+
+  private static SzRepositoryStats awaitReconciled(
+      RepositoryStatsEndpoint endpoint)
+      throws InterruptedException
+  {
+    long start = System.currentTimeMillis();
+    while (endpoint.isReconciling()
+           && System.currentTimeMillis() - start < 5000L)
+    {
+      Thread.sleep(20L);
+    }
+    return endpoint.getStats();
+  }
+
+  @Test public void countRecordsTest() throws Exception {
+    RepositoryStatsEndpoint endpoint = new RepositoryStatsEndpoint(
+        null, this.newSnapshotFile("count"), 1L, 0L, NO_EXPORT);
+    try {
+      send(endpoint, LOAD_OPERATION, info("CUSTOMERS", "1", 1));
+      send(endpoint, LOAD_OPERATION, info("customers", "2", 2));
+      send(endpoint, LOAD_OPERATION, info("CUSTOMERS", "1", 1));
+      send(endpoint, LOAD_OPERATION, info("WATCHLIST", "1", 3));
+      send(endpoint, DELETE_OPERATION, info("CUSTOMERS", "2", 1));
+      send(endpoint, DELETE_OPERATION, info("CUSTOMERS", "9", 0));
+      send(endpoint, REEVALUATE_OPERATION, info("WATCHLIST", "1", 1));
+      send(endpoint, "unknown", info("WATCHLIST", "2", 1));
+      SzMessageSink sink = endpoint.acquireMessageSink();
+      try {
+        sink.send(new SzMessage(info("WATCHLIST", "3", 1)), null);
+      } finally {
+        endpoint.releaseMessageSink(sink);
+      }
+
+      SzRepositoryStats stats = endpoint.getStats();
+      assertEquals(2L, stats.getRecordCount(),
+                   "Replaced or unknown records skewed the record count");
+      assertNull(stats.getEntityCount(), "Entity count known before "
+          + "reconciling");
+      assertEquals(4L, stats.getLoadCount());
+      assertEquals(2L, stats.getDeleteCount());
+      assertEquals(1L, stats.getReevaluateCount());
+      assertEquals(9L, stats.getAffectedEntityCount());
+      assertTrue(stats.getAffectedEntityRate() > 0.0);
+      assertFalse(stats.isReconciling());
+
+      SzDataSourceStats customers = find(stats, "CUSTOMERS");
+      assertNotNull(customers, "Data source codes not normalized");
+      assertEquals(1L, customers.getRecordCount());
+      assertEquals(3L, customers.getLoadCount());
+      assertEquals(2L, customers.getDeleteCount());
+      SzDataSourceStats watchlist = find(stats, "WATCHLIST");
+      assertEquals(1L, watchlist.getRecordCount());
+      assertEquals(1L, watchlist.getReevaluateCount());
+      assertEquals(4L, watchlist.getAffectedEntityCount());
+      assertEquals(2, stats.getDataSources().size());
+
+      endpoint.clear();
+      stats = endpoint.getStats();
+      assertEquals(0L, stats.getRecordCount());
+      assertEquals(0L, (long) stats.getEntityCount(),
+                   "Purged repository not known to be empty");
+      assertEquals(0, stats.getDataSources().size());
+      assertEquals(RepositoryStatsEndpoint.REPOSITORY_STATS_TYPE,
+                   endpoint.getProviderType());
+    } finally {
+      endpoint.close();
+    }
+  }
+
+  @Test public void snapshotTest() throws Exception {
+    File snapshotFile = this.newSnapshotFile("snapshot");
+    RepositoryStatsEndpoint endpoint = new RepositoryStatsEndpoint(
+        null, snapshotFile, 1L, 0L, NO_EXPORT);
+    try {
+      // enough records to grow the key table
+      for (int index = 0; index < 100000; index++) {
+        send(endpoint, LOAD_OPERATION, info("TEST", "" + index, 1));
+      }
+      for (int index = 0; index < 100000; index += 2) {
+        send(endpoint, DELETE_OPERATION, info("TEST", "" + index, 1));
+      }
+      assertEquals(50000L, endpoint.getStats().getRecordCount());
+    } finally {
+      endpoint.close();
+    }
+    assertTrue(snapshotFile.exists(), "Snapshot not written on close");
+
+    RepositoryStatsEndpoint restored = new RepositoryStatsEndpoint(
+        null, snapshotFile, 1L, 0L, NO_EXPORT);
+    try {
+      SzRepositoryStats stats = restored.getStats();
+      assertEquals(50000L, stats.getRecordCount());
+      assertEquals(100000L, stats.getLoadCount());
+      assertEquals(50000L, stats.getDeleteCount());
+      assertEquals(50000L, find(stats, "TEST").getRecordCount());
+      assertNotNull(stats.getLastSnapshot());
+
+      send(restored, LOAD_OPERATION, info("TEST", "1", 1));
+      send(restored, LOAD_OPERATION, info("TEST", "0", 1));
+      assertEquals(50001L, restored.getStats().getRecordCount(),
+                   "Record keys not restored from the snapshot");
+    } finally {
+      restored.close();
+    }
+
+    RepositoryStatsEndpoint other = new RepositoryStatsEndpoint(
+        null, snapshotFile, 2L, 0L, NO_EXPORT);
+    try {
+      assertEquals(0L, other.getStats().getRecordCount(),
+                   "Snapshot for another repository restored");
+    } finally {
+      other.close();
+    }
+  }
+
+  @Test public void reconcileTest() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch proceed = new CountDownLatch(1);
+    RepositoryStatsEndpoint.EntityExport export = handler -> {
+      started.countDown();
+      proceed.await();
+      List<String> entities = List.of(
+          entity("CUSTOMERS", "1", "WATCHLIST", "1"),
+          entity("CUSTOMERS", "2", "CUSTOMERS", "3"),
+          entity("EMPLOYEES", "1"));
+      for (String entity : entities) {
+        if (!handler.test(entity)) return;
+      }
+    };
+    RepositoryStatsEndpoint endpoint = new RepositoryStatsEndpoint(
+        null, this.newSnapshotFile("reconcile"), 1L, 0L, export);
+    try {
+      send(endpoint, LOAD_OPERATION, info("CUSTOMERS", "1", 1));
+      send(endpoint, LOAD_OPERATION, info("STALE", "1", 1));
+
+      assertTrue(endpoint.reconcile());
+      started.await();
+      assertFalse(endpoint.reconcile(), "Concurrent reconciliation started");
+      assertTrue(endpoint.getStats().isReconciling());
+
+      // changes made while exporting are applied to the rebuilt statistics
+      send(endpoint, LOAD_OPERATION, info("CUSTOMERS", "4", 1));
+      send(endpoint, DELETE_OPERATION, info("EMPLOYEES", "1", 1));
+      proceed.countDown();
+
+      SzRepositoryStats stats = awaitReconciled(endpoint);
+      assertFalse(stats.isReconciling());
+      assertNotNull(stats.getLastReconciled());
+      assertEquals(5L, stats.getRecordCount());
+      assertEquals(3L, (long) stats.getEntityCount());
+      assertEquals(3L, stats.getLoadCount(),
+                   "Operation counts not carried over");
+
+      SzDataSourceStats customers = find(stats, "CUSTOMERS");
+      assertEquals(4L, customers.getRecordCount());
+      assertEquals(2L, (long) customers.getEntityCount());
+      assertEquals(2L, customers.getLoadCount());
+      assertEquals(1L, (long) find(stats, "WATCHLIST").getEntityCount());
+      assertEquals(0L, find(stats, "EMPLOYEES").getRecordCount());
+      SzDataSourceStats stale = find(stats, "STALE");
+      assertEquals(0L, stale.getRecordCount());
+      assertEquals(1L, stale.getLoadCount());
+    } finally {
+      endpoint.close();
+    }
+  }
+
+  @Test public void discardReconcileOnClearTest() throws Exception {
+    CountDownLatch proceed = new CountDownLatch(1);
+    RepositoryStatsEndpoint.EntityExport export = handler -> {
+      proceed.await();
+      handler.test(entity("CUSTOMERS", "1"));
+    };
+    RepositoryStatsEndpoint endpoint = new RepositoryStatsEndpoint(
+        null, this.newSnapshotFile("discard"), 1L, 0L, export);
+    try {
+      assertTrue(endpoint.reconcile());
+      endpoint.clear();
+      proceed.countDown();
+      SzRepositoryStats stats = awaitReconciled(endpoint);
+      assertEquals(0L, stats.getRecordCount(),
+                   "Reconciliation started before clearing was applied");
+      assertEquals(0L, (long) stats.getEntityCount());
+    } finally {
+      endpoint.close();
+    }
+  }
+
+  @Test public void forwardAndCloseTest() throws Exception {
+    CapturingEndpoint target = new CapturingEndpoint();
+    File snapshotFile = this.newSnapshotFile("forward");
+    RepositoryStatsEndpoint endpoint = new RepositoryStatsEndpoint(
+        target, snapshotFile, 1L, 10L, NO_EXPORT);
+    try {
+      send(endpoint, LOAD_OPERATION, info("TEST", "1", 1));
+      send(endpoint, LOAD_OPERATION, info("TEST", "2", 1));
+      List<SzMessage> messages = target.getMessages();
+      assertEquals(2, messages.size(), "Info messages not forwarded");
+      assertEquals(LOAD_OPERATION,
+                   messages.get(0).getProperty(INFO_OPERATION_PROPERTY));
+      assertEquals("Capturing", endpoint.getProviderType());
+
+      long start = System.currentTimeMillis();
+      while (endpoint.getStats().getLastSnapshot() == null
+             && System.currentTimeMillis() - start < 5000L)
+      {
+        Thread.sleep(20L);
+      }
+      assertNotNull(endpoint.getStats().getLastSnapshot(),
+                    "Periodic snapshot not written");
+    } finally {
+      endpoint.close();
+    }
+    assertTrue(target.isClosed(), "Target endpoint not closed");
+    assertThrows(IllegalStateException.class, () -> endpoint.reconcile());
+  }
+}
@@ -0,0 +1,316 @@
+package com.senzing.api.server.mq;
+
+import com.senzing.api.services.SzMessage;
+import org.junit.jupiter.api.*;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.server.mq.SqsEndpoint.*;
+
+/**
+ * Tests the batching of the {@link SqsEndpoint} against a stand-in {@link
+ * SqsAsyncClient} that records the batch requests.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class SqsEndpointTest {
+  private static final String QUEUE_URL
+      = "https://sqs.us-east-1.amazonaws.com/000000000000/test";
+
+  /**
+   * Records the <tt>SendMessageBatch</tt> requests sent to it and completes
+   * them either immediately or when released, failing the entries with the
+   * rejected body.
+   */
+  private static class StandInClient {
+    private final List<SendMessageBatchRequest> requests = new ArrayList<>();
+    private final Map<CompletableFuture<SendMessageBatchResponse>,
+                      SendMessageBatchRequest> held = new LinkedHashMap<>();
+    private final boolean holding;
+    private String rejectedBody = null;
+    private boolean closed = false;
+
+    private StandInClient(boolean holding) {
+      this.holding = holding;
+    }
+
+    private SqsAsyncClient createProxy() {
+      return (SqsAsyncClient) Proxy.newProxyInstance(
+          SqsAsyncClient.class.getClassLoader(),
+          new Class<?>[] { SqsAsyncClient.class },
+          (proxy, method, args) -> {
+            switch (method.getName()) {
+              case "sendMessageBatch":
+                return this.sendMessageBatch(
+                    (SendMessageBatchRequest) args[0]);
+              case "close":
+                synchronized (this) {
+                  this.closed = true;
+                }
+                return null;
+              case "hashCode":
+                return System.identityHashCode(proxy);
+              case "equals":
+                return proxy == args[0];
+              case "toString":
+                return "StandInClient@" + System.identityHashCode(proxy);
+              default:
+                throw new UnsupportedOperationException(method.getName());
+            }
+          });
+    }
+
+    private synchronized CompletableFuture<SendMessageBatchResponse>
+        sendMessageBatch(SendMessageBatchRequest request)
+    {
+      this.requests.add(request);
+      this.notifyAll();
+      CompletableFuture<SendMessageBatchResponse> future
+          = new CompletableFuture<>();
+      if (this.holding) {
+        this.held.put(future, request);
+      } else {
+        future.complete(this.respond(request));
+      }
+      return future;
+    }
+
+    private SendMessageBatchResponse respond(SendMessageBatchRequest request) {
+      List<SendMessageBatchResultEntry> successful = new ArrayList<>();
+      List<BatchResultErrorEntry> failed = new ArrayList<>();
+      for (SendMessageBatchRequestEntry entry : request.entries()) {
+        if (entry.messageBody().equals(this.rejectedBody)) {
+          failed.add(BatchResultErrorEntry.builder()
+                         .id(entry.id())
+                         .code("InvalidMessageContents")
+                         .message("Rejected")
+                         .senderFault(true)
+                         .build());
+        } else {
+          successful.add(SendMessageBatchResultEntry.builder()
+                             .id(entry.id())
+                             .messageId(UUID.randomUUID().toString())
+                             .build());
+        }
+      }
+      return SendMessageBatchResponse.builder()
+          .successful(successful)
+          .failed(failed)
+          .build();
+    }
+
+    private synchronized void release() {
+      Map<CompletableFuture<SendMessageBatchResponse>,
+          SendMessageBatchRequest> released = new LinkedHashMap<>(this.held);
+      this.held.clear();
+      released.forEach((future, request) -> {
+        future.complete(this.respond(request));
+      });
+    }
+
+    private synchronized List<SendMessageBatchRequest> awaitRequests(
+        int count)
+        throws InterruptedException
+    {
+      long start = System.currentTimeMillis();
+      while (this.requests.size() < count
+             && System.currentTimeMillis() - start < 10000L)
+      {
+        this.wait(50L);
+      }
+      return new ArrayList<>(this.requests);
+    }
+
+    private synchronized int getRequestCount() {
+      return this.requests.size();
+    }
+  }
+
+  private static List<SzMessage> messages(int count, int bodySize) {
+    List<SzMessage> result = new ArrayList<>(count);
+    for (int index = 0; index < count; index++) {
+      StringBuilder sb = new StringBuilder(String.valueOf(index));
+      while (sb.length() < bodySize) sb.append('x');
+      result.add(new SzMessage(sb.toString()));
+    }
+    return result;
+  }
+
+  private static List<String> bodies(List<SendMessageBatchRequest> requests)
+  {
+    List<String> result = new ArrayList<>();
+    for (SendMessageBatchRequest request : requests) {
+      for (SendMessageBatchRequestEntry entry : request.entries()) {
+        result.add(entry.messageBody());
+      }
+    }
+    return result;
+  }
+
+  private static List<String> bodiesOf(List<SzMessage> messages) {
+    List<String> result = new ArrayList<>(messages.size());
+    for (SzMessage message : messages) {
+      result.add(message.getBody());
+    }
+    return result;
+  }
+
+  @Test public void countLimitTest() throws Exception {
+    StandInClient client = new StandInClient(false);
+    SqsEndpoint endpoint = new SqsEndpoint(client.createProxy(), QUEUE_URL, 4);
+    List<SzMessage> messages = messages(25, 10);
+    try {
+      endpoint.sendBatch(messages, null);
+
+      List<SendMessageBatchRequest> requests = client.awaitRequests(3);
+      assertEquals(3, requests.size());
+      assertEquals(MAX_BATCH_COUNT, requests.get(0).entries().size());
+      assertEquals(MAX_BATCH_COUNT, requests.get(1).entries().size());
+      assertEquals(5, requests.get(2).entries().size(),
+                   "Remainder of a multi-message batch not sent right away");
+      assertEquals(bodiesOf(messages), bodies(requests));
+      for (SendMessageBatchRequest request : requests) {
+        assertEquals(QUEUE_URL, request.queueUrl());
+        Set<String> ids = new HashSet<>();
+        request.entries().forEach(entry -> ids.add(entry.id()));
+        assertEquals(request.entries().size(), ids.size(),
+                     "Entry identifiers not unique within the batch");
+      }
+
+    } finally {
+      endpoint.close();
+    }
+    assertTrue(client.closed, "Client not closed");
+  }
+
+  @Test public void byteLimitTest() throws Exception {
+    StandInClient client = new StandInClient(false);
+    SqsEndpoint endpoint = new SqsEndpoint(client.createProxy(), QUEUE_URL, 4);
+    int bodySize = MAX_BATCH_BYTES / 3 + 1;
+    List<SzMessage> messages = messages(5, bodySize);
+    try {
+      endpoint.sendBatch(messages, null);
+
+      List<SendMessageBatchRequest> requests = client.awaitRequests(3);
+      assertEquals(3, requests.size());
+      for (SendMessageBatchRequest request : requests) {
+        int bytes = 0;
+        for (SendMessageBatchRequestEntry entry : request.entries()) {
+          bytes += entry.messageBody().length();
+        }
+        assertTrue(bytes <= MAX_BATCH_BYTES,
+                   "Batch exceeds the byte limit: " + bytes);
+      }
+      assertEquals(2, requests.get(0).entries().size());
+      assertEquals(2, requests.get(1).entries().size());
+      assertEquals(1, requests.get(2).entries().size());
+      assertEquals(bodiesOf(messages), bodies(requests));
+
+    } finally {
+      endpoint.close();
+    }
+  }
+
+  @Test public void lingerTest() throws Exception {
+    StandInClient client = new StandInClient(false);
+    SqsEndpoint endpoint = new SqsEndpoint(client.createProxy(), QUEUE_URL, 4);
+    try {
+      long start = System.nanoTime();
+      endpoint.send(new SzMessage("lingering"), null);
+
+      List<SendMessageBatchRequest> requests = client.awaitRequests(1);
+      long elapsedMillis = (System.nanoTime() - start) / 1000000L;
+      assertEquals(1, requests.size(), "Lingering batch not sent");
+      assertEquals(List.of("lingering"), bodies(requests));
+      assertTrue(elapsedMillis >= LINGER_MILLIS,
+                 "Batch sent before lingering: " + elapsedMillis);
+
+    } finally {
+      endpoint.close();
+    }
+  }
+
+  @Test public void closeFlushTest() throws Exception {
+    StandInClient client = new StandInClient(false);
+    SqsEndpoint endpoint = new SqsEndpoint(client.createProxy(), QUEUE_URL, 4);
+    endpoint.send(new SzMessage("flushed"), null);
+    endpoint.close();
+
+    assertEquals(List.of("flushed"), bodies(client.awaitRequests(1)),
+                 "Accumulated batch not sent when closing");
+  }
+
+  @Test public void partialFailureTest() throws Exception {
+    StandInClient client = new StandInClient(false);
+    List<SzMessage> messages = messages(3, 10);
+    client.rejectedBody = messages.get(1).getBody();
+    SqsEndpoint endpoint = new SqsEndpoint(client.createProxy(), QUEUE_URL, 4);
+    List<String> failed = Collections.synchronizedList(new ArrayList<>());
+    try {
+      assertThrows(IllegalStateException.class,
+                   () -> endpoint.sendBatch(
+                       messages, (e, m) -> failed.add(m.getBody())),
+                   "Rejected entry not thrown from the batch send");
+      assertEquals(List.of(messages.get(1).getBody()), failed,
+                   "Rejected entry not reported to the failure handler");
+
+      // check that a confirmed send reports the rejection
+      CompletableFuture<Void> accepted
+          = endpoint.sendConfirmed(new SzMessage("accepted"));
+      CompletableFuture<Void> rejected
+          = endpoint.sendConfirmed(messages.get(1));
+      accepted.get(10, TimeUnit.SECONDS);
+      assertThrows(ExecutionException.class,
+                   () -> rejected.get(10, TimeUnit.SECONDS));
+
+    } finally {
+      endpoint.close();
+    }
+  }
+
+  @Test public void inFlightLimitTest() throws Exception {
+    StandInClient client = new StandInClient(true);
+    SqsEndpoint endpoint = new SqsEndpoint(client.createProxy(), QUEUE_URL, 1);
+    try {
+      messages(MAX_BATCH_COUNT, 10).forEach(endpoint::sendConfirmed);
+      client.awaitRequests(1);
+
+      // the next batch must wait for the in-flight request to complete
+      CountDownLatch sent = new CountDownLatch(1);
+      Thread sender = new Thread(() -> {
+        try {
+          endpoint.sendBatch(messages(MAX_BATCH_COUNT, 10), null);
+          sent.countDown();
+        } catch (Exception e) {
+          e.printStackTrace();
+        }
+      });
+      sender.start();
+      Thread.sleep(300L);
+      assertEquals(1, client.getRequestCount(),
+                   "Batch sent beyond the in-flight limit");
+
+      client.release();
+      assertEquals(2, client.awaitRequests(2).size(),
+                   "Batch still blocked after the in-flight request completed");
+
+      // the batch send returns only once its messages are sent
+      assertFalse(sent.await(300, TimeUnit.MILLISECONDS),
+                  "Batch send returned before its messages were sent");
+      client.release();
+      assertTrue(sent.await(10, TimeUnit.SECONDS),
+                 "Batch send still blocked after its messages were sent");
+
+    } finally {
+      endpoint.close();
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package com.senzing.api.services;
+
+import com.senzing.util.JsonUtils;
+import com.senzing.util.Timers;
+import org.junit.jupiter.api.*;
+
+import javax.json.JsonObject;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+
+/**
+ * Tests the partitioning of tasks by affinity hash in the {@link
+ * AffinityWorkerPool} and the computation of the affinity hash of records.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class AffinityWorkerPoolTest {
+  private static final List<String> AFFINITY_KEYS
+      = List.of("NAME_FULL", "DATE_OF_BIRTH");
+
+  /**
+   * Records the threads on which the tasks run and the order in which they
+   * run for each key.
+   */
+  private static class TaskLog {
+    private final Map<Object, Set<String>> threadNames
+        = new ConcurrentHashMap<>();
+    private final Map<Object, List<Integer>> sequences = new HashMap<>();
+
+    private void record(Object key, int sequence) {
+      this.threadNames.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet())
+          .add(Thread.currentThread().getName());
+      synchronized (this.sequences) {
+        this.sequences.computeIfAbsent(key, k -> new ArrayList<>())
+            .add(sequence);
+      }
+    }
+  }
+
+  private static Long hash(String recordJson) {
+    JsonObject record = JsonUtils.parseJsonObject(recordJson);
+    return new BulkDataServices().affinityHash(record, AFFINITY_KEYS);
+  }
+
+  @Test public void partitionTest() {
+    AffinityWorkerPool pool = new AffinityWorkerPool("partition", 4);
+    assertEquals(4, pool.getWorkerCount());
+    TaskLog log = new TaskLog();
+    long[] hashes = { 0L, 1L, 6L, -1L, -6L, Long.MIN_VALUE, Long.MAX_VALUE };
+    try {
+      for (int sequence = 0; sequence < 50; sequence++) {
+        for (long hash : hashes) {
+          int current = sequence;
+          pool.execute(hash, timers -> log.record(hash, current));
+        }
+      }
+      pool.drain();
+
+    } finally {
+      pool.close();
+    }
+
+    List<Integer> expected = new ArrayList<>(50);
+    for (int sequence = 0; sequence < 50; sequence++) expected.add(sequence);
+    for (long hash : hashes) {
+      int index = (int) Math.floorMod(hash, 4L);
+      assertEquals(Set.of("partition-affinity-" + index),
+                   log.threadNames.get(hash),
+                   "Tasks for hash " + hash + " not run by the same worker");
+      assertEquals(expected, log.sequences.get(hash),
+                   "Tasks for hash " + hash + " not run in order");
+    }
+  }
+
+  @Test public void roundRobinTest() {
+    AffinityWorkerPool pool = new AffinityWorkerPool("round-robin", 3);
+    Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+    try {
+      for (int index = 0; index < 30; index++) {
+        pool.execute(null, timers -> counts.computeIfAbsent(
+            Thread.currentThread().getName(), k -> new AtomicInteger())
+            .incrementAndGet());
+      }
+    } finally {
+      pool.close();
+    }
+
+    assertEquals(3, counts.size(), "Tasks without affinity not spread");
+    for (AtomicInteger count : counts.values()) {
+      assertEquals(10, count.get(), "Tasks without affinity not in turn");
+    }
+  }
+
+  @Test public void failedTaskTest() {
+    AffinityWorkerPool pool = new AffinityWorkerPool("failed-task", 2);
+    AtomicInteger completedCount = new AtomicInteger(0);
+    try {
+      pool.execute(1L, timers -> {
+        throw new IllegalStateException("Task failure");
+      });
+      pool.execute(1L, timers -> completedCount.incrementAndGet());
+      pool.drain();
+      assertEquals(1, completedCount.get(), "Worker stopped by a failure");
+
+    } finally {
+      pool.close();
+    }
+  }
+
+  @Test public void closeTest() {
+    AffinityWorkerPool pool = new AffinityWorkerPool("close", 2);
+    AtomicInteger completedCount = new AtomicInteger(0);
+    for (int index = 0; index < 100; index++) {
+      pool.execute((long) index, timers -> {
+        timers.start("task");
+        completedCount.incrementAndGet();
+        timers.pause("task");
+      });
+    }
+    List<Timers> timers = pool.close();
+    assertEquals(100, completedCount.get(), "Queued tasks not completed");
+    assertEquals(2, timers.size());
+    assertSame(timers, pool.close());
+
+    assertThrows(IllegalStateException.class,
+                 () -> pool.execute(1L, t -> completedCount.incrementAndGet()));
+  }
+
+  @Test public void affinityHashTest() {
+    Long hash = hash(
+        "{\"NAME_FULL\":\"John Smith\",\"DATE_OF_BIRTH\":\"1980-01-02\"}");
+    assertNotNull(hash);
+
+    assertEquals(hash, hash(
+        "{\"name_full\":\"JOHN  SMITH\",\"DATE_OF_BIRTH\":\"1980/01/02\"}"),
+                 "Formatting or case changed the hash");
+    assertEquals(hash, hash(
+        "{\"RECORD_ID\":\"1\",\"DATE_OF_BIRTH\":19800102,"
+            + "\"NAMES\":[{\"NAME_TYPE\":\"PRIMARY\","
+            + "\"NAME_FULL\":\"John Smith\"}]}"),
+                 "Nested value not found");
+    assertEquals(hash, hash(
+        "{\"NAME_FULL\":\"John Smith\",\"DATE_OF_BIRTH\":\"1980-01-02\","
+            + "\"OTHER\":{\"NAME_FULL\":\"Jane Doe\"}}"),
+                 "Top-level value not preferred");
+
+    assertNotEquals(hash, hash(
+        "{\"NAME_FULL\":\"John Smith\",\"DATE_OF_BIRTH\":\"1980-01-03\"}"));
+    assertNotEquals(hash(
+        "{\"NAME_FULL\":\"19800102\"}"), hash(
+        "{\"DATE_OF_BIRTH\":\"19800102\"}"),
+                    "Values for different keys hashed the same");
+    assertNull(hash("{\"RECORD_ID\":\"1\",\"ADDR_FULL\":\"1 Main St\"}"));
+  }
+}
@@ -0,0 +1,197 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzBulkDataAnalysis;
+import com.senzing.api.model.SzCountEstimate;
+import com.senzing.api.model.SzDataSourceRecordAnalysis;
+import com.senzing.api.model.SzSamplingMode;
+import org.junit.jupiter.api.*;
+
+import javax.ws.rs.core.MediaType;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.model.SzCountEstimate.*;
+import static com.senzing.api.services.BulkDataSupport.BulkDataSet;
+
+/**
+ * Tests the sampling of bulk data for analysis and the extrapolation of the
+ * record counts from the sample.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class BulkDataSamplingTest {
+  private static final MediaType JSON_LINES
+      = new MediaType("application", "x-jsonlines");
+
+  private static String jsonLines(int count, int firstCount) {
+    StringBuilder sb = new StringBuilder();
+    for (int index = 0; index < count; index++) {
+      String dataSource = (index < firstCount) ? "FIRST" : "SECOND";
+      sb.append("{\"DATA_SOURCE\":\"").append(dataSource)
+          .append("\",\"RECORD_ID\":\"").append(index).append("\"}\n");
+      if (index % 10 == 0) sb.append(" \n");
+    }
+    // leave the last line unterminated
+    sb.setLength(sb.length() - 1);
+    return sb.toString();
+  }
+
+  private static long sample(String text, int sampleSize,
+                             SzBulkDataAnalysis dataAnalysis)
+      throws Exception
+  {
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    try (BulkDataSet bulkDataSet = new BulkDataSet(
+        JSON_LINES, new ByteArrayInputStream(bytes)))
+    {
+      return new BulkDataServices().sampleJsonLines(
+          bulkDataSet, "UTF-8", sampleSize, dataAnalysis);
+    }
+  }
+
+  private static SzDataSourceRecordAnalysis getAnalysis(
+      SzBulkDataAnalysis  dataAnalysis,
+      String              dataSource)
+  {
+    for (SzDataSourceRecordAnalysis analysis
+        : dataAnalysis.getAnalysisByDataSource())
+    {
+      if (dataSource.equals(analysis.getDataSource())) return analysis;
+    }
+    fail("No analysis for data source: " + dataSource);
+    return null;
+  }
+
+  private static void assertBounds(SzCountEstimate estimate) {
+    assertTrue(estimate.getLowerBound() <= estimate.getEstimate()
+                   && estimate.getEstimate() <= estimate.getUpperBound(),
+               "Estimate not within its bounds: " + estimate);
+    assertEquals(SAMPLE_CONFIDENCE_LEVEL, estimate.getConfidenceLevel());
+  }
+
+  @Test public void prefixEstimateTest() {
+    BulkDataServices services = new BulkDataServices();
+
+    // 100 records in the first tenth of the bytes
+    SzCountEstimate estimate = services.estimateRecordCount(100, 1000L, 10000L);
+    assertEquals(1000L, estimate.getEstimate());
+    assertEquals(804L, estimate.getLowerBound());
+    assertEquals(1196L, estimate.getUpperBound());
+    assertBounds(estimate);
+
+    // the interval narrows relative to the estimate as the sample grows
+    SzCountEstimate larger
+        = services.estimateRecordCount(10000, 100000L, 1000000L);
+    assertEquals(100000L, larger.getEstimate());
+    assertEquals(98040L, larger.getLowerBound());
+    assertEquals(101960L, larger.getUpperBound());
+
+    // the sampled records are known to exist
+    SzCountEstimate whole = services.estimateRecordCount(100, 1000L, 1000L);
+    assertEquals(100L, whole.getEstimate());
+    assertEquals(100L, whole.getLowerBound());
+    assertBounds(whole);
+
+    SzCountEstimate empty = services.estimateRecordCount(0, 1000L, 10000L);
+    assertEquals(0L, empty.getEstimate());
+    assertEquals(0L, empty.getUpperBound());
+  }
+
+  @Test public void extrapolateTest() {
+    SzBulkDataAnalysis dataAnalysis = SzBulkDataAnalysis.FACTORY.create();
+    for (int index = 0; index < 100; index++) {
+      dataAnalysis.trackRecord((index < 30) ? "FIRST" : "SECOND",
+                               null,
+                               String.valueOf(index));
+    }
+    SzCountEstimate total = SzCountEstimate.FACTORY.create(
+        1000L, 1000L, 1000L, SAMPLE_CONFIDENCE_LEVEL);
+    dataAnalysis.extrapolateFromSample(SzSamplingMode.RESERVOIR, total);
+
+    assertEquals(SzSamplingMode.RESERVOIR, dataAnalysis.getSamplingMode());
+    assertEquals(100, dataAnalysis.getRecordCount(),
+                 "Sampled record count changed by extrapolating");
+
+    SzCountEstimate first
+        = getAnalysis(dataAnalysis, "FIRST").getEstimatedRecordCount();
+    assertEquals(300L, first.getEstimate());
+    assertEquals(210L, first.getLowerBound());
+    assertEquals(390L, first.getUpperBound());
+    assertBounds(first);
+
+    SzCountEstimate second
+        = getAnalysis(dataAnalysis, "SECOND").getEstimatedRecordCount();
+    assertEquals(700L, second.getEstimate());
+    assertEquals(610L, second.getLowerBound());
+    assertEquals(790L, second.getUpperBound());
+
+    // check that the bounds of an estimated total widen the interval
+    dataAnalysis.extrapolateFromSample(
+        SzSamplingMode.PREFIX,
+        SzCountEstimate.FACTORY.create(
+            1000L, 804L, 1196L, SAMPLE_CONFIDENCE_LEVEL));
+    first = getAnalysis(dataAnalysis, "FIRST").getEstimatedRecordCount();
+    assertEquals(300L, first.getEstimate());
+    assertEquals(168L, first.getLowerBound());
+    assertEquals(467L, first.getUpperBound());
+  }
+
+  @Test public void reservoirSlotTest() {
+    BulkDataServices services = new BulkDataServices();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int lineCount = 1000;
+    int sampleSize = 100;
+    int trialCount = 2000;
+
+    // count how often each line ends up in the reservoir
+    int[] sampledCounts = new int[lineCount];
+    for (int trial = 0; trial < trialCount; trial++) {
+      int[] reservoir = new int[sampleSize];
+      for (int line = 0; line < lineCount; line++) {
+        int slot = services.reservoirSlot(line, sampleSize, random);
+        assertTrue(slot < sampleSize, "Slot beyond the reservoir: " + slot);
+        if (line < sampleSize) assertEquals(line, slot);
+        if (slot >= 0) reservoir[slot] = line;
+      }
+      for (int line : reservoir) sampledCounts[line]++;
+    }
+
+    // every line should be sampled with the same probability
+    double expected = ((double) sampleSize) / lineCount;
+    for (int first = 0; first < lineCount; first += sampleSize) {
+      int count = 0;
+      for (int line = first; line < first + sampleSize; line++) {
+        count += sampledCounts[line];
+      }
+      double rate = ((double) count) / (sampleSize * trialCount);
+      assertEquals(expected, rate, 0.01,
+                   "Lines " + first + " to " + (first + sampleSize - 1)
+                       + " not sampled uniformly");
+    }
+  }
+
+  @Test public void sampleJsonLinesTest() throws Exception {
+    SzBulkDataAnalysis dataAnalysis = SzBulkDataAnalysis.FACTORY.create();
+    long lineCount = sample(jsonLines(1000, 300), 100, dataAnalysis);
+
+    assertEquals(1000L, lineCount, "Blank lines counted or last line lost");
+    assertEquals(100, dataAnalysis.getRecordCount());
+    assertEquals(100, dataAnalysis.getRecordsWithRecordIdCount());
+    int firstCount = getAnalysis(dataAnalysis, "FIRST").getRecordCount();
+    int secondCount = getAnalysis(dataAnalysis, "SECOND").getRecordCount();
+    assertEquals(100, firstCount + secondCount);
+  }
+
+  @Test public void sampleAllJsonLinesTest() throws Exception {
+    SzBulkDataAnalysis dataAnalysis = SzBulkDataAnalysis.FACTORY.create();
+    long lineCount = sample(jsonLines(50, 20), 100, dataAnalysis);
+
+    assertEquals(50L, lineCount);
+    assertEquals(50, dataAnalysis.getRecordCount(),
+                 "Not every line sampled when the sample size exceeds them");
+    assertEquals(20, getAnalysis(dataAnalysis, "FIRST").getRecordCount());
+    assertEquals(30, getAnalysis(dataAnalysis, "SECOND").getRecordCount());
+  }
+}
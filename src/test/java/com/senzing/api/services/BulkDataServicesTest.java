@@ -7,6 +7,7 @@ import com.senzing.datagen.*;
 import com.senzing.io.ChunkedEncodingInputStream;
 import com.senzing.io.IOUtilities;
 import com.senzing.repomgr.RepositoryManager;
+import com.senzing.util.JsonUtils;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -675,6 +676,8 @@ public class BulkDataServicesTest extends AbstractServiceTest {
     private File      bulkDataFile;
     private MediaType mediaType;
     private List      queue;
+    private long      credit;
+    private long      grantedCredit;
 
     /**
      * Constructs with the bulk data file and media type.
@@ -686,6 +689,8 @@ public class BulkDataServicesTest extends AbstractServiceTest {
       this.bulkDataFile     = file;
       this.mediaType        = mediaType;
       this.queue            = new LinkedList<>();
+      this.credit           = 0L;
+      this.grantedCredit    = 0L;
     }
 
     @OnOpen
@@ -696,6 +701,17 @@ public class BulkDataServicesTest extends AbstractServiceTest {
 
     @OnMessage
     public synchronized void onMessage(String jsonText) {
+      // check for a control message granting credit
+      if (jsonText.startsWith("{\"control\"")) {
+        JsonObject jsonObject = JsonUtils.parseJsonObject(jsonText);
+        if ("CREDIT".equals(jsonObject.getString("control"))) {
+          long bytes = jsonObject.getJsonNumber("bytes").longValue();
+          this.credit         += bytes;
+          this.grantedCredit  += bytes;
+          this.notifyAll();
+          return;
+        }
+      }
       this.queue.add(jsonText);
       this.notifyAll();
     }
@@ -737,6 +753,34 @@ public class BulkDataServicesTest extends AbstractServiceTest {
       return (this.webSocketSession != null && this.webSocketSession.isOpen());
     }
 
+    /**
+     * Gets the total number of bytes of credit granted by the server.
+     * @return The total number of bytes of credit granted by the server.
+     */
+    public synchronized long getGrantedCredit() {
+      return this.grantedCredit;
+    }
+
+    /**
+     * Waits for the server to grant enough credit to send the specified
+     * number of bytes and then consumes that credit.
+     * @param byteCount The number of bytes to be sent.
+     * @return <tt>true</tt> if the credit was consumed, or <tt>false</tt> if
+     *         the session was closed while waiting.
+     */
+    private synchronized boolean awaitCredit(int byteCount) {
+      while (this.isOpen() && this.credit < byteCount) {
+        try {
+          this.wait(5000L);
+        } catch (InterruptedException ignore) {
+          // do nothing
+        }
+      }
+      if (this.credit < byteCount) return false;
+      this.credit -= byteCount;
+      return true;
+    }
+
     @Override
     public void run() {
       synchronized (this) {
@@ -761,6 +805,12 @@ public class BulkDataServicesTest extends AbstractServiceTest {
           this.sendBinary();
         }
 
+        // signal the end of the stream rather than waiting for the timeout
+        if (this.isOpen()) {
+          this.webSocketSession.getBasicRemote().sendText(
+              BulkDataWebSocket.END_OF_STREAM_MESSAGE);
+        }
+
       } catch (IOException e) {
         synchronized (this) {
           this.queue.add(e);
@@ -785,6 +835,7 @@ public class BulkDataServicesTest extends AbstractServiceTest {
              readCount = isr.read(buffer))
         {
           String text = new String(buffer, 0, readCount);
+          if (!this.awaitCredit(text.getBytes(UTF_8).length)) break;
           this.webSocketSession.getBasicRemote().sendText(text);
         }
       }
@@ -805,6 +856,7 @@ public class BulkDataServicesTest extends AbstractServiceTest {
              readCount = bis.read(buffer))
         {
           ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, readCount);
+          if (!this.awaitCredit(readCount)) break;
           long end = System.nanoTime();
           if ((start > 0) && (end-start > 3000000000L)) {
             System.out.println("EXCESSIVE TIME BETWEEN SENDS: " + ((end-start)/1000000L));
@@ -1213,6 +1265,10 @@ public class BulkDataServicesTest extends AbstractServiceTest {
           }
         }
 
+        assertTrue(
+            client.getGrantedCredit() >= BulkDataWebSocket.CREDIT_WINDOW,
+            "Credit window not granted to the client: " + testInfo);
+
         long after = System.nanoTime();
 
         validateAnalyzeResponse(testInfo,
@@ -1759,6 +1815,10 @@ public class BulkDataServicesTest extends AbstractServiceTest {
           }
         }
 
+        assertTrue(
+            client.getGrantedCredit() >= BulkDataWebSocket.CREDIT_WINDOW,
+            "Credit window not granted to the client: " + testInfo);
+
         long after = System.nanoTime();
 
         Map<String,String> allDataSourceMap = new LinkedHashMap<>();
@@ -0,0 +1,236 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzBulkDataCompression;
+import com.senzing.util.JsonUtils;
+import org.junit.jupiter.api.*;
+
+import javax.json.JsonObject;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.NotSupportedException;
+import javax.ws.rs.core.MediaType;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.services.BulkDataSupport.*;
+
+/**
+ * Tests the detection and reading of compressed bulk data by the {@link
+ * BulkDataSet} and the reading of multi-part bulk data by the {@link
+ * BulkRecordSource}.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class BulkDataSetTest {
+  private static final MediaType OCTET_STREAM
+      = new MediaType("application", "octet-stream");
+
+  private static final byte[] ZSTD_MAGIC
+      = { (byte) 0x28, (byte) 0xB5, (byte) 0x2F, (byte) 0xFD };
+
+  private static String jsonLines(int first, int last) {
+    StringBuilder sb = new StringBuilder();
+    for (int index = first; index <= last; index++) {
+      sb.append("{\"DATA_SOURCE\":\"TEST\",\"RECORD_ID\":\"").append(index)
+          .append("\",\"NAME_FULL\":\"Person ").append(index).append("\"}\n");
+    }
+    return sb.toString();
+  }
+
+  private static byte[] gzip(String text) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (GZIPOutputStream gos = new GZIPOutputStream(baos)) {
+      gos.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+    return baos.toByteArray();
+  }
+
+  private static byte[] zip(Map<String, String> entries) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (ZipOutputStream zos = new ZipOutputStream(baos)) {
+      for (Map.Entry<String, String> entry : entries.entrySet()) {
+        zos.putNextEntry(new ZipEntry(entry.getKey()));
+        if (entry.getValue() != null) {
+          zos.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+        zos.closeEntry();
+      }
+    }
+    return baos.toByteArray();
+  }
+
+  private static SzBulkDataCompression detect(String mediaType, byte[] bytes)
+      throws IOException
+  {
+    BufferedInputStream bis
+        = new BufferedInputStream(new ByteArrayInputStream(bytes));
+    SzBulkDataCompression compression
+        = BulkDataSet.detectCompression(mediaType, bis);
+    int first = (bytes.length == 0) ? -1 : (bytes[0] & 0xFF);
+    assertEquals(first, bis.read(), "Magic bytes consumed by detection");
+    return compression;
+  }
+
+  private static List<String> readRecordIds(BulkDataSet bulkDataSet)
+      throws IOException
+  {
+    List<String> recordIds = new ArrayList<>();
+    try (BulkRecordSource recordSource
+             = new BulkRecordSource(bulkDataSet, false, null, null, null))
+    {
+      for (JsonObject record = recordSource.readRecord();
+           record != null;
+           record = recordSource.readRecord())
+      {
+        recordIds.add(JsonUtils.getString(record, "RECORD_ID"));
+      }
+      assertEquals(0L, recordSource.drain(), "Records left unread");
+    }
+    return recordIds;
+  }
+
+  private static List<String> range(int first, int last) {
+    List<String> result = new ArrayList<>(last - first + 1);
+    for (int index = first; index <= last; index++) {
+      result.add(String.valueOf(index));
+    }
+    return result;
+  }
+
+  @Test public void detectCompressionTest() throws Exception {
+    byte[] plain = jsonLines(1, 2).getBytes(StandardCharsets.UTF_8);
+    byte[] gzipped = gzip(jsonLines(1, 2));
+    byte[] zipped = zip(Map.of("records.jsonl", jsonLines(1, 2)));
+
+    assertEquals(SzBulkDataCompression.NONE,
+                 detect(APPLICATION_JSONLINES, plain));
+    assertEquals(SzBulkDataCompression.GZIP,
+                 detect(APPLICATION_JSONLINES, gzipped));
+    assertEquals(SzBulkDataCompression.ZIP,
+                 detect(APPLICATION_JSONLINES, zipped));
+    assertEquals(SzBulkDataCompression.ZSTD,
+                 detect(APPLICATION_JSONLINES, ZSTD_MAGIC));
+
+    // check that the media type takes precedence over the magic bytes
+    assertEquals(SzBulkDataCompression.GZIP, detect(APPLICATION_GZIP, plain));
+    assertEquals(SzBulkDataCompression.GZIP,
+                 detect(APPLICATION_X_GZIP, plain));
+    assertEquals(SzBulkDataCompression.ZIP, detect(APPLICATION_ZIP, plain));
+    assertEquals(SzBulkDataCompression.ZSTD, detect(APPLICATION_ZSTD, plain));
+
+    // check data too short for the magic bytes
+    assertEquals(SzBulkDataCompression.NONE,
+                 detect(APPLICATION_JSONLINES, new byte[0]));
+    assertEquals(SzBulkDataCompression.NONE,
+                 detect(APPLICATION_JSONLINES, new byte[] { 'P', 'K' }));
+    assertEquals(SzBulkDataCompression.GZIP,
+                 detect(APPLICATION_JSONLINES,
+                        new byte[] { (byte) 0x1F, (byte) 0x8B }));
+  }
+
+  @Test public void uncompressedTest() throws Exception {
+    String text = jsonLines(1, 5);
+    try (BulkDataSet bulkDataSet = new BulkDataSet(
+        OCTET_STREAM,
+        new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))))
+    {
+      assertEquals(SzBulkDataCompression.NONE, bulkDataSet.getCompression());
+      assertEquals(1, bulkDataSet.getPartCount());
+      assertEquals(-1L, bulkDataSet.getUncompressedSize());
+      assertEquals(range(1, 5), readRecordIds(bulkDataSet));
+    }
+  }
+
+  @Test public void gzipTest() throws Exception {
+    String text = jsonLines(1, 500);
+    byte[] gzipped = gzip(text);
+    try (BulkDataSet bulkDataSet = new BulkDataSet(
+        OCTET_STREAM, new ByteArrayInputStream(gzipped)))
+    {
+      assertEquals(SzBulkDataCompression.GZIP, bulkDataSet.getCompression(),
+                   "Gzip compression not detected from the magic bytes");
+      assertEquals(1, bulkDataSet.getPartCount());
+      assertEquals(range(1, 500), readRecordIds(bulkDataSet));
+      assertEquals(text.length(), bulkDataSet.getUncompressedByteCount(),
+                   "Uncompressed bytes not counted");
+      assertEquals(gzipped.length, bulkDataSet.getCompressedByteCount());
+    }
+
+    // check that the gzip media type is honored with a charset
+    try (BulkDataSet bulkDataSet = new BulkDataSet(
+        new MediaType("application", "gzip", "UTF-8"),
+        new ByteArrayInputStream(gzipped)))
+    {
+      assertEquals(SzBulkDataCompression.GZIP, bulkDataSet.getCompression());
+      assertEquals("UTF-8", bulkDataSet.getCharacterEncoding());
+      assertEquals(range(1, 500), readRecordIds(bulkDataSet));
+    }
+  }
+
+  @Test public void zstdTest() {
+    byte[] bytes = new byte[64];
+    System.arraycopy(ZSTD_MAGIC, 0, bytes, 0, ZSTD_MAGIC.length);
+    assertThrows(NotSupportedException.class,
+                 () -> new BulkDataSet(OCTET_STREAM,
+                                       new ByteArrayInputStream(bytes)),
+                 "Zstandard magic bytes not rejected");
+
+    byte[] plain = jsonLines(1, 2).getBytes(StandardCharsets.UTF_8);
+    assertThrows(NotSupportedException.class,
+                 () -> new BulkDataSet(new MediaType("application", "zstd"),
+                                       new ByteArrayInputStream(plain)),
+                 "Zstandard media type not rejected");
+  }
+
+  @Test public void multiPartZipTest() throws Exception {
+    Map<String, String> entries = new LinkedHashMap<>();
+    entries.put("first.jsonl", jsonLines(1, 300));
+    entries.put("parts/", null);
+    entries.put("parts/second.jsonl", jsonLines(301, 700));
+    entries.put("parts/third.jsonl", jsonLines(701, 1000));
+    entries.put("parts/.hidden.jsonl", jsonLines(2001, 2010));
+    entries.put("__MACOSX/parts/._second.jsonl", "ignored");
+    long size = 0L;
+    for (String text : entries.values()) {
+      if (text != null) size += text.length();
+    }
+    size -= jsonLines(2001, 2010).length() + "ignored".length();
+
+    try (BulkDataSet bulkDataSet = new BulkDataSet(
+        OCTET_STREAM, new ByteArrayInputStream(zip(entries))))
+    {
+      assertEquals(SzBulkDataCompression.ZIP, bulkDataSet.getCompression());
+      assertEquals(3, bulkDataSet.getPartCount(),
+                   "Directories, hidden or macOS entries not skipped");
+      assertEquals(size, bulkDataSet.getUncompressedSize());
+
+      assertThrows(IllegalArgumentException.class,
+                   () -> new BulkRecordSource(bulkDataSet, true, null, null,
+                                              null),
+                   "Raw lines read from a multi-part bulk data set");
+
+      // the parts are read concurrently so the order is not preserved
+      List<String> recordIds = readRecordIds(bulkDataSet);
+      assertEquals(1000, recordIds.size(), "Records lost or duplicated");
+      assertEquals(new TreeSet<>(range(1, 1000)), new TreeSet<>(recordIds));
+      assertEquals(size, bulkDataSet.getUncompressedByteCount());
+    }
+  }
+
+  @Test public void emptyZipTest() throws Exception {
+    Map<String, String> entries = new LinkedHashMap<>();
+    entries.put("parts/", null);
+    entries.put(".DS_Store", "ignored");
+    entries.put("__MACOSX/._records.jsonl", "ignored");
+    byte[] zipped = zip(entries);
+
+    assertThrows(BadRequestException.class,
+                 () -> new BulkDataSet(OCTET_STREAM,
+                                       new ByteArrayInputStream(zipped)),
+                 "Zip archive without files not rejected");
+  }
+}
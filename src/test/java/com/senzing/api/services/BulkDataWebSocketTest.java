@@ -0,0 +1,276 @@
+package com.senzing.api.services;
+
+import com.senzing.util.JsonUtils;
+import com.senzing.util.Timers;
+import org.junit.jupiter.api.*;
+
+import javax.json.JsonObject;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
+import javax.ws.rs.core.UriInfo;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.services.BulkDataWebSocket.*;
+
+/**
+ * Tests the credit-based flow control and the end-of-stream handling of the
+ * {@link BulkDataWebSocket} against a stand-in web socket {@link Session}.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class BulkDataWebSocketTest {
+  private static final URI REQUEST_URI
+      = URI.create("ws://localhost:8250/bulk-data/analyze");
+
+  /**
+   * Records the text messages sent on the session.
+   */
+  private static class StandInSession {
+    private final Map<String, Object> userProperties
+        = new ConcurrentHashMap<>();
+    private final List<String> sentTexts = new ArrayList<>();
+    private volatile boolean open = true;
+
+    private Session createProxy() {
+      RemoteEndpoint.Basic remote = (RemoteEndpoint.Basic)
+          Proxy.newProxyInstance(
+              RemoteEndpoint.Basic.class.getClassLoader(),
+              new Class<?>[] { RemoteEndpoint.Basic.class },
+              (proxy, method, args) -> {
+                switch (method.getName()) {
+                  case "sendText":
+                    synchronized (this.sentTexts) {
+                      this.sentTexts.add((String) args[0]);
+                    }
+                    return null;
+                  case "hashCode":
+                    return System.identityHashCode(proxy);
+                  case "equals":
+                    return proxy == args[0];
+                  case "toString":
+                    return "StandInRemote@" + System.identityHashCode(proxy);
+                  default:
+                    throw new UnsupportedOperationException(method.getName());
+                }
+              });
+
+      return (Session) Proxy.newProxyInstance(
+          Session.class.getClassLoader(),
+          new Class<?>[] { Session.class },
+          (proxy, method, args) -> {
+            switch (method.getName()) {
+              case "getUserProperties":
+                return this.userProperties;
+              case "getBasicRemote":
+                return remote;
+              case "isOpen":
+                return this.open;
+              case "close":
+                this.open = false;
+                return null;
+              case "hashCode":
+                return System.identityHashCode(proxy);
+              case "equals":
+                return proxy == args[0];
+              case "toString":
+                return "StandInSession@" + System.identityHashCode(proxy);
+              default:
+                throw new UnsupportedOperationException(method.getName());
+            }
+          });
+    }
+
+    private List<Long> getCredits(Session session) {
+      SerialSender.forSession(session).await();
+      List<Long> credits = new ArrayList<>();
+      synchronized (this.sentTexts) {
+        for (String text : this.sentTexts) {
+          JsonObject message = JsonUtils.parseJsonObject(text);
+          assertEquals("CREDIT", message.getString("control"),
+                       "Unexpected message: " + text);
+          credits.add(message.getJsonNumber("bytes").longValue());
+        }
+      }
+      return credits;
+    }
+  }
+
+  /**
+   * Reads the incoming data stream to the end, counting the bytes as they
+   * are read.
+   */
+  private static class StandInWebSocket extends BulkDataWebSocket {
+    private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+    private final AtomicLong readCount = new AtomicLong(0L);
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private StandInWebSocket(Session session, Long eofSendTimeout) {
+      // set up the web socket as onOpen() does for the session parameters
+      this.session        = session;
+      this.timers         = new Timers();
+      this.inputStream    = new FrameInputStream();
+      this.uriInfo        = createUriInfo();
+      this.eofSendTimeout = eofSendTimeout;
+      this.grantCredit(CREDIT_WINDOW);
+    }
+
+    @Override
+    protected void doRun() {
+      byte[] buffer = new byte[8192];
+      try (InputStream is = this.inputStream) {
+        for (int count = is.read(buffer); count >= 0; count = is.read(buffer))
+        {
+          synchronized (this.data) {
+            this.data.write(buffer, 0, count);
+          }
+          this.readCount.addAndGet(count);
+        }
+      } catch (Exception e) {
+        e.printStackTrace();
+      } finally {
+        this.finished.countDown();
+      }
+    }
+
+    private String getText() {
+      synchronized (this.data) {
+        return new String(this.data.toByteArray(), StandardCharsets.UTF_8);
+      }
+    }
+
+    private boolean awaitFinished(long timeout) throws InterruptedException {
+      return this.finished.await(timeout, TimeUnit.MILLISECONDS);
+    }
+
+    private void awaitReadCount(long count) throws InterruptedException {
+      long start = System.currentTimeMillis();
+      while (this.readCount.get() < count
+             && System.currentTimeMillis() - start < 10000L)
+      {
+        Thread.sleep(10L);
+      }
+      assertEquals(count, this.readCount.get(), "Frames not consumed");
+    }
+  }
+
+  private static UriInfo createUriInfo() {
+    return (UriInfo) Proxy.newProxyInstance(
+        UriInfo.class.getClassLoader(),
+        new Class<?>[] { UriInfo.class },
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "getRequestUri":
+              return REQUEST_URI;
+            case "hashCode":
+              return System.identityHashCode(proxy);
+            case "equals":
+              return proxy == args[0];
+            case "toString":
+              return "StandInUriInfo@" + System.identityHashCode(proxy);
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+
+  @Test public void creditTest() throws Exception {
+    StandInSession standIn = new StandInSession();
+    Session session = standIn.createProxy();
+    StandInWebSocket webSocket
+        = new StandInWebSocket(session, DEFAULT_EOF_SEND_TIMEOUT);
+    assertEquals(List.of((long) CREDIT_WINDOW), standIn.getCredits(session),
+                 "Credit window not granted on open");
+
+    byte[] frame = new byte[64 * 1024];
+    Arrays.fill(frame, (byte) 'x');
+    long sentCount = 3L * CREDIT_GRANT_THRESHOLD;
+    for (long count = 0L; count < sentCount; count += frame.length) {
+      webSocket.onMessage(frame);
+    }
+    webSocket.awaitReadCount(sentCount);
+
+    List<Long> credits = standIn.getCredits(session);
+    long granted = 0L;
+    for (long credit : credits.subList(1, credits.size())) {
+      assertTrue(credit >= CREDIT_GRANT_THRESHOLD,
+                 "Credit granted below the threshold: " + credit);
+      granted += credit;
+    }
+    assertTrue(granted > sentCount - CREDIT_GRANT_THRESHOLD
+                   && granted <= sentCount,
+               "Consumed bytes not granted as credit: " + credits);
+
+    webSocket.onMessage(END_OF_STREAM_MESSAGE);
+    assertTrue(webSocket.awaitFinished(1000L), "EOF not reached");
+    assertEquals(credits, standIn.getCredits(session),
+                 "Credit granted after the end of the stream");
+  }
+
+  @Test public void endOfStreamTest() throws Exception {
+    StandInSession standIn = new StandInSession();
+    Session session = standIn.createProxy();
+    StandInWebSocket webSocket = new StandInWebSocket(session, 60L);
+
+    webSocket.onMessage("{\"RECORD_ID\":\"1\"}\n");
+    webSocket.onMessage("{\"RECORD_ID\":\"2\"}\n");
+    assertFalse(webSocket.awaitFinished(200L),
+                "EOF reached before the end-of-stream message");
+    assertEquals(TEXT_PLAIN_UTF8_TYPE, webSocket.mediaType);
+
+    // the control message may be padded with whitespace
+    webSocket.onMessage(" " + END_OF_STREAM_MESSAGE + "\n");
+    assertTrue(webSocket.awaitFinished(1000L),
+               "EOF not reached on the end-of-stream message");
+    assertEquals("{\"RECORD_ID\":\"1\"}\n{\"RECORD_ID\":\"2\"}\n",
+                 webSocket.getText());
+
+    assertThrows(IllegalStateException.class,
+                 () -> webSocket.onMessage("{\"RECORD_ID\":\"3\"}\n"),
+                 "Data accepted after the end-of-stream message");
+
+    // check that data after the session closes is ignored
+    session.close();
+    webSocket.onMessage("{\"RECORD_ID\":\"4\"}\n");
+  }
+
+  @Test public void eofSendTimeoutTest() throws Exception {
+    StandInSession standIn = new StandInSession();
+    Session session = standIn.createProxy();
+    StandInWebSocket webSocket = new StandInWebSocket(session, 1L);
+
+    long start = System.nanoTime();
+    webSocket.onMessage("{\"RECORD_ID\":\"1\"}\n".getBytes(
+        StandardCharsets.UTF_8));
+    assertFalse(webSocket.awaitFinished(500L),
+                "EOF reached before the EOF send timeout");
+    assertTrue(webSocket.awaitFinished(5000L),
+               "EOF not reached after the EOF send timeout");
+    long elapsed = (System.nanoTime() - start) / 1000000L;
+    assertTrue(elapsed >= 1000L, "EOF reached too soon: " + elapsed + "ms");
+    assertEquals("{\"RECORD_ID\":\"1\"}\n", webSocket.getText());
+  }
+
+  @Test public void closeTest() throws Exception {
+    StandInSession standIn = new StandInSession();
+    Session session = standIn.createProxy();
+    StandInWebSocket webSocket = new StandInWebSocket(session, 60L);
+
+    webSocket.onMessage("{\"RECORD_ID\":\"1\"}\n");
+    assertFalse(webSocket.awaitFinished(200L));
+
+    webSocket.onClose(session);
+    assertTrue(webSocket.awaitFinished(1000L),
+               "EOF not reached when the web socket closed");
+    assertEquals("{\"RECORD_ID\":\"1\"}\n", webSocket.getText());
+  }
+}
@@ -0,0 +1,171 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzConcurrencySample;
+import com.senzing.api.model.SzLoadConcurrency;
+import com.senzing.util.Timers;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.services.BulkDataSupport.AddRecordResult;
+import static com.senzing.api.services.ConcurrencyLimiter.*;
+
+/**
+ * Tests the additive increase and multiplicative decrease of the
+ * {@link ConcurrencyLimiter} with synthetic results and latencies.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class ConcurrencyLimiterTest {
+  private static final long LATENCY = 1000000L;
+
+  private static AddRecordResult succeeded() {
+    return new AddRecordResult(
+        "TEST", "GENERIC", "ABC", null, new Timers(), 0, null);
+  }
+
+  private static AddRecordResult skipped() {
+    return new AddRecordResult(
+        "TEST", "GENERIC", "ABC", null, new Timers());
+  }
+
+  private static void observe(ConcurrencyLimiter  limiter,
+                              AddRecordResult     result,
+                              long                latencyNanos,
+                              int                 count)
+  {
+    for (int index = 0; index < count; index++) {
+      limiter.acquire();
+      limiter.release(result, latencyNanos);
+    }
+  }
+
+  @Test public void startAtMaximumTest() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 8);
+    assertEquals(8, limiter.getLimit());
+
+    SzLoadConcurrency concurrency = limiter.toLoadConcurrency();
+    assertEquals(2, concurrency.getMinConcurrency());
+    assertEquals(8, concurrency.getMaxConcurrency());
+    assertEquals(8, concurrency.getCurrentConcurrency());
+    assertEquals(0, concurrency.getAdjustmentCount());
+    assertEquals(0, concurrency.getAdjustments().size());
+  }
+
+  @Test public void invalidBoundsTest() {
+    assertThrows(IllegalArgumentException.class,
+                 () -> new ConcurrencyLimiter(0, 8));
+    assertThrows(IllegalArgumentException.class,
+                 () -> new ConcurrencyLimiter(9, 8));
+  }
+
+  @Test public void failureDecreaseTest() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 8);
+
+    // a window that is not yet complete leaves the limit unchanged
+    observe(limiter, null, LATENCY, MIN_WINDOW_SIZE - 1);
+    assertEquals(8, limiter.getLimit());
+
+    observe(limiter, null, LATENCY, 1);
+    assertEquals((int) (8 * DECREASE_FACTOR), limiter.getLimit());
+
+    SzLoadConcurrency concurrency = limiter.toLoadConcurrency();
+    assertEquals(1, concurrency.getAdjustmentCount());
+    SzConcurrencySample sample = concurrency.getAdjustments().get(0);
+    assertEquals(limiter.getLimit(), sample.getConcurrency());
+    assertEquals(1.0, sample.getFailureRate());
+  }
+
+  @Test public void failureRateThresholdTest() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 8);
+    int allowed = (int) (MIN_WINDOW_SIZE * MAX_FAILURE_RATE);
+
+    // a failure rate at the maximum does not shrink the limit
+    observe(limiter, null, LATENCY, allowed);
+    observe(limiter, succeeded(), LATENCY, MIN_WINDOW_SIZE - allowed);
+    assertEquals(8, limiter.getLimit());
+
+    // a failure rate beyond the maximum shrinks the limit
+    observe(limiter, null, LATENCY, allowed + 1);
+    observe(limiter, succeeded(), LATENCY, MIN_WINDOW_SIZE - allowed - 1);
+    assertEquals(6, limiter.getLimit());
+  }
+
+  @Test public void additiveIncreaseTest() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 8);
+    observe(limiter, null, LATENCY, MIN_WINDOW_SIZE);
+    assertEquals(6, limiter.getLimit());
+
+    observe(limiter, succeeded(), LATENCY, MIN_WINDOW_SIZE);
+    assertEquals(7, limiter.getLimit());
+
+    observe(limiter, succeeded(), LATENCY, MIN_WINDOW_SIZE);
+    assertEquals(8, limiter.getLimit());
+
+    // the limit never grows beyond the maximum
+    observe(limiter, succeeded(), LATENCY, MIN_WINDOW_SIZE);
+    assertEquals(8, limiter.getLimit());
+    assertEquals(3, limiter.toLoadConcurrency().getAdjustmentCount());
+  }
+
+  @Test public void latencyDecreaseTest() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 8);
+
+    // the first window establishes the baseline
+    observe(limiter, succeeded(), LATENCY, MIN_WINDOW_SIZE);
+    assertEquals(8, limiter.getLimit());
+
+    // latency within the tolerance of the baseline does not shrink
+    long tolerated = (long) (LATENCY * LATENCY_TOLERANCE);
+    observe(limiter, succeeded(), tolerated, MIN_WINDOW_SIZE);
+    assertEquals(8, limiter.getLimit());
+
+    // latency beyond the tolerance of the baseline shrinks
+    observe(limiter, succeeded(), tolerated * 2, MIN_WINDOW_SIZE);
+    assertEquals(6, limiter.getLimit());
+  }
+
+  @Test public void minimumBoundTest() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(5, 6);
+    observe(limiter, null, LATENCY, MIN_WINDOW_SIZE);
+    assertEquals(5, limiter.getLimit());
+    observe(limiter, null, LATENCY, MIN_WINDOW_SIZE);
+    assertEquals(5, limiter.getLimit());
+  }
+
+  @Test public void fixedLimitTest() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 4);
+    observe(limiter, null, LATENCY, MIN_WINDOW_SIZE * 5);
+    assertEquals(4, limiter.getLimit());
+    assertEquals(0, limiter.toLoadConcurrency().getAdjustmentCount());
+  }
+
+  @Test public void windowSizeTest() {
+    // the window is twice the limit when that exceeds the minimum size
+    int max = MIN_WINDOW_SIZE;
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, max);
+    observe(limiter, null, LATENCY, (max * 2) - 1);
+    assertEquals(max, limiter.getLimit());
+    observe(limiter, null, LATENCY, 1);
+    assertEquals((int) (max * DECREASE_FACTOR), limiter.getLimit());
+  }
+
+  @Test public void skippedNotObservedTest() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 8);
+    observe(limiter, null, LATENCY, MIN_WINDOW_SIZE - 1);
+    observe(limiter, skipped(), LATENCY, MIN_WINDOW_SIZE * 2);
+    assertEquals(8, limiter.getLimit(), "Skipped records were observed");
+    observe(limiter, null, LATENCY, 1);
+    assertEquals(6, limiter.getLimit());
+  }
+
+  @Test public void tryAcquireTest() {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 2);
+    assertTrue(limiter.tryAcquire());
+    assertTrue(limiter.tryAcquire());
+    assertFalse(limiter.tryAcquire(), "Acquired beyond the limit");
+
+    limiter.release(succeeded(), LATENCY);
+    assertTrue(limiter.tryAcquire());
+    assertFalse(limiter.tryAcquire());
+  }
+}
@@ -0,0 +1,653 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.*;
+import com.senzing.repomgr.RepositoryManager;
+import com.senzing.util.JsonUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import javax.json.*;
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
+import java.io.*;
+import java.util.*;
+
+import static com.senzing.api.model.SzFeatureMode.WITH_DUPLICATES;
+import static com.senzing.api.model.SzRelationshipMode.NONE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.Lifecycle;
+import static com.senzing.api.services.EntityDataServices.*;
+
+@TestInstance(Lifecycle.PER_CLASS)
+public class EntityDataBatchServicesTest extends AbstractServiceTest {
+  private static final String PASSENGERS = "PASSENGERS";
+  private static final String CUSTOMERS  = "CUSTOMERS";
+
+  private static final SzRecordId ABC123
+      = SzRecordId.FACTORY.create(PASSENGERS, "ABC123");
+  private static final SzRecordId DEF456
+      = SzRecordId.FACTORY.create(PASSENGERS, "DEF456");
+  private static final SzRecordId GHI789
+      = SzRecordId.FACTORY.create(PASSENGERS, "GHI789");
+  private static final SzRecordId JKL012
+      = SzRecordId.FACTORY.create(PASSENGERS, "JKL012");
+
+  private static final List<SzRecordId> PASSENGER_IDS
+      = List.of(ABC123, DEF456, GHI789, JKL012);
+
+  private EntityDataServices entityDataServices;
+
+  @BeforeAll
+  public void initializeEnvironment() {
+    this.beginTests();
+    this.initializeTestEnvironment();
+    this.entityDataServices = new EntityDataServices();
+  }
+
+  /**
+   * Overridden to configure some data sources and load the passengers.
+   */
+  protected void prepareRepository() {
+    File repoDirectory = this.getRepositoryDirectory();
+
+    Set<String> dataSources = new LinkedHashSet<>();
+    dataSources.add(PASSENGERS);
+    dataSources.add(CUSTOMERS);
+
+    File passengerFile = this.preparePassengerFile();
+    passengerFile.deleteOnExit();
+
+    RepositoryManager.configSources(repoDirectory,
+                                    dataSources,
+                                    true);
+
+    RepositoryManager.loadFile(repoDirectory,
+                               passengerFile,
+                               PASSENGERS,
+                               null,
+                               true);
+  }
+
+  private File preparePassengerFile() {
+    String[] headers = {
+        "RECORD_ID", "NAME_FIRST", "NAME_LAST", "PHONE_NUMBER", "ADDR_FULL",
+        "DATE_OF_BIRTH"};
+
+    String[][] passengers = {
+        {ABC123.getRecordId(), "Joe", "Schmoe", "702-555-1212",
+            "101 Main Street, Las Vegas, NV 89101", "1981-01-12"},
+        {DEF456.getRecordId(), "Joanne", "Smith", "212-555-1212",
+            "101 Fifth Ave, Las Vegas, NV 10018", "1983-05-15"},
+        {GHI789.getRecordId(), "John", "Doe", "818-555-1313",
+            "100 Main Street, Los Angeles, CA 90012", "1978-10-17"},
+        {JKL012.getRecordId(), "Jane", "Doe", "818-555-1212",
+            "100 Main Street, Los Angeles, CA 90012", "1979-02-05"}
+    };
+    return this.prepareCSVFile("test-passengers-", headers, passengers);
+  }
+
+  @AfterAll
+  public void teardownEnvironment() {
+    try {
+      this.teardownTestEnvironment();
+      this.conditionallyLogCounts(true);
+    } finally {
+      this.endTests();
+    }
+  }
+
+  private Long getEntityIdForRecordId(SzRecordId recordId) {
+    String uriText = this.formatServerUri(
+        "data-sources/" + recordId.getDataSourceCode() + "/records/"
+            + recordId.getRecordId() + "/entity");
+    UriInfo uriInfo = this.newProxyUriInfo(uriText);
+
+    SzEntityResponse response = this.entityDataServices.getEntityByRecordId(
+        recordId.getDataSourceCode(),
+        recordId.getRecordId(),
+        false,
+        NONE,
+        true,
+        WITH_DUPLICATES,
+        false,
+        false,
+        uriInfo);
+
+    return response.getData().getResolvedEntity().getEntityId();
+  }
+
+  private static String writeText(StreamingOutput output) {
+    try {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      output.write(baos);
+      return baos.toString("UTF-8");
+
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static List<JsonObject> writeLines(StreamingOutput output) {
+    List<JsonObject> result = new ArrayList<>();
+    for (String line : writeText(output).split("\n")) {
+      if (line.trim().length() == 0) continue;
+      result.add(JsonUtils.parseJsonObject(line));
+    }
+    return result;
+  }
+
+  private static List<Integer> indexes(List<JsonObject> results) {
+    List<Integer> indexes = new ArrayList<>(results.size());
+    for (JsonObject result : results) {
+      indexes.add(result.getInt("index"));
+    }
+    return indexes;
+  }
+
+  private static List<Integer> range(int count) {
+    List<Integer> result = new ArrayList<>(count);
+    for (int index = 0; index < count; index++) result.add(index);
+    return result;
+  }
+
+  private static String repeat(String element, int count) {
+    JsonArrayBuilder jab = Json.createArrayBuilder();
+    for (int index = 0; index < count; index++) {
+      jab.add(JsonUtils.parseJsonObject(element));
+    }
+    return JsonUtils.toJsonText(jab.build());
+  }
+
+  private static JsonObject recordKey(SzRecordId recordId) {
+    JsonObjectBuilder job = Json.createObjectBuilder();
+    job.add("src", recordId.getDataSourceCode());
+    job.add("id", recordId.getRecordId());
+    return job.build();
+  }
+
+  private static JsonObject operation(String      operation,
+                                      String      dataSource,
+                                      String      recordId,
+                                      JsonObject  record)
+  {
+    JsonObjectBuilder job = Json.createObjectBuilder();
+    if (operation != null) job.add("operation", operation);
+    if (dataSource != null) job.add("dataSource", dataSource);
+    if (recordId != null) job.add("recordId", recordId);
+    if (record != null) job.add("record", record);
+    return job.build();
+  }
+
+  private static JsonObject customer(String firstName, String phoneNumber) {
+    JsonObjectBuilder job = Json.createObjectBuilder();
+    job.add("NAME_FIRST", firstName);
+    job.add("NAME_LAST", "Customer");
+    job.add("PHONE_NUMBER", phoneNumber);
+    return job.build();
+  }
+
+  private boolean recordExists(String dataSource, String recordId) {
+    String uriText = this.formatServerUri(
+        "data-sources/" + dataSource + "/records/" + recordId);
+    UriInfo uriInfo = this.newProxyUriInfo(uriText);
+    try {
+      this.entityDataServices.getRecord(dataSource, recordId, false, uriInfo);
+      return true;
+
+    } catch (NotFoundException e) {
+      return false;
+    }
+  }
+
+  private Response exportEntities(SzExportFormat format, String csvColumns) {
+    String uriText = this.formatServerUri("entities/export?format=" + format);
+    UriInfo uriInfo = this.newProxyUriInfo(uriText);
+
+    // wait for any abandoned export to release its slot
+    long start = System.currentTimeMillis();
+    while (true) {
+      try {
+        return this.entityDataServices.exportEntities(format,
+                                                      csvColumns,
+                                                      Collections.emptySet(),
+                                                      false,
+                                                      WITH_DUPLICATES,
+                                                      false,
+                                                      false,
+                                                      false,
+                                                      uriInfo);
+
+      } catch (ServiceUnavailableException e) {
+        if (System.currentTimeMillis() - start > 10000L) throw e;
+        try {
+          Thread.sleep(100L);
+        } catch (InterruptedException ignore) {
+          // ignore
+        }
+      }
+    }
+  }
+
+  @Test
+  public void getEntitiesInRequestOrderTest() {
+    this.performTest(() -> {
+      String uriText = this.formatServerUri("entities/batch");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+
+      Long abcEntityId = this.getEntityIdForRecordId(ABC123);
+      Long defEntityId = this.getEntityIdForRecordId(DEF456);
+      Long ghiEntityId = this.getEntityIdForRecordId(GHI789);
+
+      JsonArrayBuilder jab = Json.createArrayBuilder();
+      jab.add(abcEntityId);
+      jab.add(recordKey(DEF456));
+      jab.add(recordKey(SzRecordId.FACTORY.create(PASSENGERS, "NOPE")));
+      jab.add(recordKey(SzRecordId.FACTORY.create("NO_SUCH_SOURCE", "X")));
+      jab.add(ghiEntityId);
+      String identifiersText = JsonUtils.toJsonText(jab.build());
+
+      List<JsonObject> results = writeLines(
+          this.entityDataServices.getEntitiesInBatch(SzBatchOrder.REQUEST,
+                                                     NONE,
+                                                     true,
+                                                     WITH_DUPLICATES,
+                                                     false,
+                                                     false,
+                                                     uriInfo,
+                                                     identifiersText));
+
+      assertEquals(range(5), indexes(results),
+                   "Results not streamed in request order");
+
+      List<Long> expectedIds = Arrays.asList(
+          abcEntityId, defEntityId, null, null, ghiEntityId);
+      for (int index = 0; index < results.size(); index++) {
+        JsonObject result = results.get(index);
+        Long expectedId = expectedIds.get(index);
+        if (expectedId == null) {
+          assertNotEquals(200, result.getInt("httpStatusCode"),
+                          "Missing entity did not fail: " + result);
+          assertNotNull(JsonUtils.getString(result, "errorMessage"),
+                        "Failed item has no error message: " + result);
+          continue;
+        }
+        assertEquals(200, result.getInt("httpStatusCode"),
+                     "Entity not retrieved: " + result);
+        assertEquals(expectedId.longValue(),
+                     result.getJsonObject("entity")
+                         .getJsonObject("resolvedEntity")
+                         .getJsonNumber("entityId").longValue());
+      }
+      assertEquals(404, results.get(2).getInt("httpStatusCode"));
+      assertEquals(DEF456.getRecordId(),
+                   JsonUtils.getString(results.get(1), "recordId"));
+    });
+  }
+
+  @Test
+  public void getEntitiesInCompletionOrderTest() {
+    this.performTest(() -> {
+      String uriText = this.formatServerUri(
+          "entities/batch?order=COMPLETION");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+
+      JsonArrayBuilder jab = Json.createArrayBuilder();
+      for (int count = 0; count < 5; count++) {
+        for (SzRecordId recordId : PASSENGER_IDS) {
+          jab.add(recordKey(recordId));
+        }
+      }
+      String identifiersText = JsonUtils.toJsonText(jab.build());
+
+      List<JsonObject> results = writeLines(
+          this.entityDataServices.getEntitiesInBatch(SzBatchOrder.COMPLETION,
+                                                     NONE,
+                                                     true,
+                                                     WITH_DUPLICATES,
+                                                     false,
+                                                     false,
+                                                     uriInfo,
+                                                     identifiersText));
+
+      List<Integer> indexes = indexes(results);
+      Collections.sort(indexes);
+      assertEquals(range(5 * PASSENGER_IDS.size()), indexes,
+                   "Each item not streamed exactly once");
+      for (JsonObject result : results) {
+        assertEquals(200, result.getInt("httpStatusCode"),
+                     "Entity not retrieved: " + result);
+      }
+    });
+  }
+
+  @Test
+  public void getEntitiesBatchTooLargeTest() {
+    this.performTest(() -> {
+      String uriText = this.formatServerUri("entities/batch");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+
+      JsonArrayBuilder jab = Json.createArrayBuilder();
+      for (int index = 0; index <= MAX_BATCH_SIZE; index++) {
+        jab.add(recordKey(ABC123));
+      }
+      String identifiersText = JsonUtils.toJsonText(jab.build());
+
+      assertThrows(BadRequestException.class,
+                   () -> this.entityDataServices.getEntitiesInBatch(
+                       SzBatchOrder.REQUEST, NONE, true, WITH_DUPLICATES,
+                       false, false, uriInfo, identifiersText),
+                   "Batch beyond the maximum size was accepted");
+
+      // check that a batch at the maximum size is accepted
+      jab = Json.createArrayBuilder();
+      for (int index = 0; index < MAX_BATCH_SIZE; index++) {
+        jab.add(recordKey(ABC123));
+      }
+      String maxText = JsonUtils.toJsonText(jab.build());
+      assertNotNull(this.entityDataServices.getEntitiesInBatch(
+          SzBatchOrder.REQUEST, NONE, true, WITH_DUPLICATES, false, false,
+          uriInfo, maxText));
+    });
+  }
+
+  @Test
+  public void searchEntitiesInBatchTest() {
+    this.performTest(() -> {
+      String uriText = this.formatServerUri("search-entities/batch");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+
+      Long abcEntityId = this.getEntityIdForRecordId(ABC123);
+
+      JsonArrayBuilder jab = Json.createArrayBuilder();
+      jab.add(Json.createObjectBuilder()
+                  .add("NAME_FIRST", "Joe")
+                  .add("NAME_LAST", "Schmoe")
+                  .add("PHONE_NUMBER", "702-555-1212"));
+      jab.add(Json.createObjectBuilder());
+      jab.add(5);
+      jab.add(Json.createObjectBuilder()
+                  .add("NAME_FULL", "Nobody Matches Atall")
+                  .add("ADDR_FULL", "1 Nowhere Lane, Nowhere, ZZ 00000"));
+      String criteriaText = JsonUtils.toJsonText(jab.build());
+
+      List<JsonObject> results = writeLines(
+          this.entityDataServices.searchEntitiesInBatch(SzBatchOrder.REQUEST,
+                                                        1,
+                                                        null,
+                                                        true,
+                                                        WITH_DUPLICATES,
+                                                        false,
+                                                        false,
+                                                        false,
+                                                        uriInfo,
+                                                        criteriaText));
+
+      assertEquals(range(4), indexes(results),
+                   "Results not streamed with the criteria index in order");
+
+      JsonObject found = results.get(0);
+      assertEquals(200, found.getInt("httpStatusCode"));
+      Set<Long> entityIds = new LinkedHashSet<>();
+      for (JsonObject searchResult
+           : found.getJsonArray("searchResults").getValuesAs(JsonObject.class))
+      {
+        entityIds.add(searchResult.getJsonNumber("entityId").longValue());
+      }
+      assertTrue(entityIds.contains(abcEntityId),
+                 "Search result does not contain the entity: " + found);
+
+      assertEquals(400, results.get(1).getInt("httpStatusCode"),
+                   "Empty search criteria did not fail: " + results.get(1));
+      assertEquals(400, results.get(2).getInt("httpStatusCode"),
+                   "Non-object search criteria did not fail: "
+                       + results.get(2));
+      assertEquals(200, results.get(3).getInt("httpStatusCode"),
+                   "Search without matches failed: " + results.get(3));
+    });
+  }
+
+  @Test
+  public void searchEntitiesMaxConcurrencyTest() {
+    this.performTest(() -> {
+      String uriText = this.formatServerUri("search-entities/batch");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+
+      String criteriaText = repeat("{\"NAME_LAST\":\"Doe\"}", 6);
+
+      for (int maxConcurrency : new int[] { 0, -1 }) {
+        assertThrows(BadRequestException.class,
+                     () -> this.entityDataServices.searchEntitiesInBatch(
+                         SzBatchOrder.REQUEST, maxConcurrency, null, true,
+                         WITH_DUPLICATES, false, false, false, uriInfo,
+                         criteriaText),
+                     "Invalid maxConcurrency accepted: " + maxConcurrency);
+      }
+
+      // check that a concurrency beyond the engine concurrency is capped
+      for (Integer maxConcurrency : Arrays.asList(null, 1, 1000)) {
+        List<JsonObject> results = writeLines(
+            this.entityDataServices.searchEntitiesInBatch(
+                SzBatchOrder.REQUEST, maxConcurrency, null, true,
+                WITH_DUPLICATES, false, false, false, uriInfo, criteriaText));
+        assertEquals(range(6), indexes(results));
+        for (JsonObject result : results) {
+          assertEquals(200, result.getInt("httpStatusCode"),
+                       "Search failed with maxConcurrency=" + maxConcurrency
+                           + ": " + result);
+        }
+      }
+
+      assertThrows(BadRequestException.class,
+                   () -> this.entityDataServices.searchEntitiesInBatch(
+                       SzBatchOrder.REQUEST, null, Set.of("BOGUS"), true,
+                       WITH_DUPLICATES, false, false, false, uriInfo,
+                       criteriaText),
+                   "Unrecognized includeOnly value accepted");
+
+      assertThrows(BadRequestException.class,
+                   () -> this.entityDataServices.searchEntitiesInBatch(
+                       SzBatchOrder.REQUEST, null, null, true,
+                       WITH_DUPLICATES, false, false, false, uriInfo,
+                       repeat("{\"NAME_LAST\":\"Doe\"}", MAX_BATCH_SIZE + 1)),
+                   "Batch beyond the maximum size was accepted");
+    });
+  }
+
+  @Test
+  public void processRecordsInBatchTest() {
+    this.performTest(() -> {
+      String uriText = this.formatServerUri("records/batch?withInfo=true");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+
+      JsonArrayBuilder jab = Json.createArrayBuilder();
+      jab.add(operation("ADD", CUSTOMERS, "C1",
+                        customer("Anne", "702-555-0001")));
+      jab.add(operation("ADD", CUSTOMERS, "C2",
+                        customer("Bill", "702-555-0002")));
+      jab.add(operation("REPLACE", CUSTOMERS, "C1",
+                        customer("Annie", "702-555-0001")));
+      jab.add(operation("DELETE", CUSTOMERS, "C1", null));
+      jab.add(operation("DELETE", CUSTOMERS, "C3", null));
+      jab.add(operation("ADD", CUSTOMERS, "C3",
+                        customer("Carl", "702-555-0003")));
+      jab.add(operation("UPSERT", CUSTOMERS, "C4",
+                        customer("Dana", "702-555-0004")));
+      jab.add(operation("ADD", CUSTOMERS, null,
+                        customer("Earl", "702-555-0005")));
+      jab.add(operation("ADD", "NO_SUCH_SOURCE", "C6",
+                        customer("Fran", "702-555-0006")));
+      jab.add(operation("REPLACE", CUSTOMERS, "C7", null));
+      String operationsText = JsonUtils.toJsonText(jab.build());
+
+      SzRecordBatchResponse response
+          = this.entityDataServices.processRecordsInBatch(
+              null, true, uriInfo, operationsText);
+      SzRecordBatchResult batchResult = response.getData();
+
+      List<SzRecordOperationResult> results = batchResult.getResults();
+      assertEquals(10, results.size());
+      int[] expectedStatus = { 200, 200, 200, 200, 200, 200, 400, 400, 404,
+                               400 };
+      for (int index = 0; index < results.size(); index++) {
+        SzRecordOperationResult result = results.get(index);
+        assertEquals(index, result.getIndex());
+        assertEquals(expectedStatus[index], result.getHttpStatusCode(),
+                     "Unexpected status for operation " + index + ": "
+                         + result.getErrorMessage());
+        if (expectedStatus[index] != 200) {
+          assertNotNull(result.getErrorMessage(),
+                        "Failed operation has no error message: " + index);
+        }
+      }
+      assertEquals(4, batchResult.getFailedCount());
+
+      // the operations on the same record are applied in request order
+      assertFalse(this.recordExists(CUSTOMERS, "C1"),
+                  "Delete applied before the add or replace");
+      assertTrue(this.recordExists(CUSTOMERS, "C2"));
+      assertTrue(this.recordExists(CUSTOMERS, "C3"),
+                 "Add applied before the delete");
+      assertFalse(this.recordExists(CUSTOMERS, "C4"));
+
+      Set<Long> affected = batchResult.getAffectedEntities();
+      assertNotNull(affected, "Affected entities not produced with info");
+      assertTrue(affected.contains(this.getEntityIdForRecordId(
+          SzRecordId.FACTORY.create(CUSTOMERS, "C2"))),
+                 "Added record's entity not affected: " + affected);
+      assertEquals(new TreeSet<>(affected).size(), affected.size());
+    });
+  }
+
+  @Test
+  public void processRecordsInBatchInvalidTest() {
+    this.performTest(() -> {
+      String uriText = this.formatServerUri("records/batch");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+
+      assertThrows(BadRequestException.class,
+                   () -> this.entityDataServices.processRecordsInBatch(
+                       null, false, uriInfo, "{\"operation\":\"ADD\"}"),
+                   "Non-array batch accepted");
+
+      String tooLarge = repeat(
+          JsonUtils.toJsonText(operation("DELETE", CUSTOMERS, "X", null)),
+          MAX_BATCH_SIZE + 1);
+      assertThrows(BadRequestException.class,
+                   () -> this.entityDataServices.processRecordsInBatch(
+                       null, false, uriInfo, tooLarge),
+                   "Batch beyond the maximum size was accepted");
+
+      // check that the affected entities are omitted without info
+      String operationsText = JsonUtils.toJsonText(
+          Json.createArrayBuilder()
+              .add(operation("ADD", CUSTOMERS, "D1",
+                             customer("Gail", "702-555-0007")))
+              .build());
+      SzRecordBatchResult batchResult
+          = this.entityDataServices.processRecordsInBatch(
+              null, false, uriInfo, operationsText).getData();
+      assertEquals(0, batchResult.getFailedCount());
+      assertNull(batchResult.getAffectedEntities());
+    });
+  }
+
+  @Test
+  public void exportJsonTest() {
+    this.performTest(() -> {
+      Response response = this.exportEntities(SzExportFormat.JSON, null);
+      assertEquals(SzExportFormat.JSON.getMediaType(),
+                   response.getMediaType().toString());
+
+      Set<String> recordIds = new LinkedHashSet<>();
+      for (JsonObject entity
+           : writeLines((StreamingOutput) response.getEntity()))
+      {
+        JsonObject resolved = entity.getJsonObject("RESOLVED_ENTITY");
+        for (JsonObject record
+             : resolved.getJsonArray("RECORDS").getValuesAs(JsonObject.class))
+        {
+          recordIds.add(record.getString("RECORD_ID"));
+        }
+      }
+      for (SzRecordId recordId : PASSENGER_IDS) {
+        assertTrue(recordIds.contains(recordId.getRecordId()),
+                   "Record missing from the export: " + recordId);
+      }
+    });
+  }
+
+  @Test
+  public void exportCsvTest() {
+    this.performTest(() -> {
+      Response response = this.exportEntities(SzExportFormat.CSV, null);
+      assertEquals(SzExportFormat.CSV.getMediaType(),
+                   response.getMediaType().toString());
+
+      String text = writeText((StreamingOutput) response.getEntity());
+      String[] lines = text.split("\n");
+      assertTrue(lines.length > PASSENGER_IDS.size(),
+                 "Header or records missing from the export: " + text);
+      assertTrue(lines[0].contains("RESOLVED_ENTITY_ID"),
+                 "Export does not start with the CSV header: " + lines[0]);
+      assertFalse(text.contains("\n\n"),
+                  "Blank lines in the CSV export: " + text);
+      for (SzRecordId recordId : PASSENGER_IDS) {
+        assertTrue(text.contains(recordId.getRecordId()),
+                   "Record missing from the export: " + recordId);
+      }
+
+      // check that the requested columns are exported
+      response = this.exportEntities(SzExportFormat.CSV,
+                                     "RESOLVED_ENTITY_ID,RECORD_ID");
+      String header
+          = writeText((StreamingOutput) response.getEntity()).split("\n")[0];
+      assertTrue(header.contains("RECORD_ID"), header);
+      assertFalse(header.contains("MATCH_KEY"),
+                  "Unrequested column exported: " + header);
+    });
+  }
+
+  @Test
+  public void exportInvalidIncludeOnlyTest() {
+    this.performTest(() -> {
+      String uriText = this.formatServerUri("entities/export?includeOnly=X");
+      UriInfo uriInfo = this.newProxyUriInfo(uriText);
+
+      assertThrows(BadRequestException.class,
+                   () -> this.entityDataServices.exportEntities(
+                       SzExportFormat.JSON, null, Set.of("X"), false,
+                       WITH_DUPLICATES, false, false, false, uriInfo));
+    });
+  }
+
+  @Test
+  public void exportDisconnectTest() {
+    this.performTest(() -> {
+      // abandon more exports than may run concurrently
+      int exportCount = SzApiProvider.Factory.getProvider()
+          .getExportConcurrency() + 1;
+      for (int index = 0; index < exportCount; index++) {
+        Response response = this.exportEntities(SzExportFormat.JSON, null);
+        StreamingOutput output = (StreamingOutput) response.getEntity();
+        assertThrows(IOException.class,
+                     () -> output.write(new OutputStream() {
+                       @Override
+                       public void write(int b) throws IOException {
+                         throw new IOException("Client disconnected");
+                       }
+                     }));
+      }
+
+      // check that the cancelled exports released their slots
+      Response response = this.exportEntities(SzExportFormat.JSON, null);
+      assertTrue(writeLines((StreamingOutput) response.getEntity()).size()
+                     > 0, "Export after cancelled exports is empty");
+    });
+  }
+}
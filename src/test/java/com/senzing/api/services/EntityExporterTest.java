@@ -0,0 +1,293 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzExportFormat;
+import com.senzing.g2.engine.G2Engine;
+import org.junit.jupiter.api.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.services.EntityExporter.*;
+
+/**
+ * Tests the {@link EntityExporter} against a stand-in {@link G2Engine} that
+ * exports generated lines.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class EntityExporterTest {
+  private static final long HANDLE = 42L;
+  private static final int MAX_EXPORTS = 100;
+
+  /**
+   * Exports the configured lines (or endless lines if none are configured)
+   * and records the export calls.
+   */
+  private static class StandInEngine {
+    private final List<String> lines;
+    private final AtomicInteger fetchCount = new AtomicInteger(0);
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private final int exportConcurrency;
+    private String openedMethod = null;
+    private String csvColumns = null;
+    private int flags = 0;
+    private boolean openFailure = false;
+    private int failAfter = -1;
+
+    private StandInEngine(int exportConcurrency, List<String> lines) {
+      this.exportConcurrency  = exportConcurrency;
+      this.lines              = lines;
+    }
+
+    private SzApiProvider createProvider() {
+      G2Engine engineApi = this.createProxy();
+      return (SzApiProvider) Proxy.newProxyInstance(
+          SzApiProvider.class.getClassLoader(),
+          new Class<?>[] { SzApiProvider.class },
+          (proxy, method, args) -> {
+            switch (method.getName()) {
+              case "getEngineApi":
+                return engineApi;
+              case "getExportConcurrency":
+                return this.exportConcurrency;
+              case "hashCode":
+                return System.identityHashCode(proxy);
+              case "equals":
+                return proxy == args[0];
+              case "toString":
+                return "StandInProvider@" + System.identityHashCode(proxy);
+              default:
+                throw new UnsupportedOperationException(method.getName());
+            }
+          });
+    }
+
+    private G2Engine createProxy() {
+      return (G2Engine) Proxy.newProxyInstance(
+          G2Engine.class.getClassLoader(),
+          new Class<?>[] { G2Engine.class },
+          (proxy, method, args) -> {
+            switch (method.getName()) {
+              case "exportJSONEntityReport":
+                return this.open(method.getName(), null, (Integer) args[0]);
+              case "exportCSVEntityReportV2":
+                return this.open(
+                    method.getName(), (String) args[0], (Integer) args[1]);
+              case "fetchNext":
+                return this.fetchNext();
+              case "closeExport":
+                this.closed.countDown();
+                return 0;
+              case "getLastException":
+                return "Export not opened";
+              case "getLastExceptionCode":
+                return 999;
+              case "hashCode":
+                return System.identityHashCode(proxy);
+              case "equals":
+                return proxy == args[0];
+              case "toString":
+                return "StandInEngine@" + System.identityHashCode(proxy);
+              default:
+                throw new UnsupportedOperationException(method.getName());
+            }
+          });
+    }
+
+    private synchronized long open(String method, String columns, int flags) {
+      this.openedMethod = method;
+      this.csvColumns   = columns;
+      this.flags        = flags;
+      return (this.openFailure) ? -1L : HANDLE;
+    }
+
+    private String fetchNext() {
+      int index = this.fetchCount.getAndIncrement();
+      if (index == this.failAfter) {
+        throw new IllegalStateException("Fetch failure");
+      }
+      if (this.lines == null) return "{\"RESOLVED_ENTITY\":" + index + "}";
+      return (index < this.lines.size()) ? this.lines.get(index) : null;
+    }
+
+    private void awaitClosed() throws InterruptedException {
+      assertTrue(this.closed.await(10, TimeUnit.SECONDS),
+                 "Native export not closed");
+    }
+  }
+
+  /**
+   * Throws an {@link IOException} once the configured number of lines have
+   * been written, as when the client disconnects.
+   */
+  private static class DisconnectingStream extends OutputStream {
+    private final int lineLimit;
+    private int lineCount = 0;
+
+    private DisconnectingStream(int lineLimit) {
+      this.lineLimit = lineLimit;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      if (this.lineCount >= this.lineLimit) {
+        throw new IOException("Client disconnected");
+      }
+      if (b == '\n') this.lineCount++;
+    }
+  }
+
+  private static String export(EntityExporter exporter) throws Exception {
+    assertTrue(awaitStart(exporter), "Export not started");
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    exporter.write(baos);
+    return baos.toString("UTF-8");
+  }
+
+  private static boolean awaitStart(EntityExporter exporter)
+      throws Exception
+  {
+    long start = System.currentTimeMillis();
+    while (System.currentTimeMillis() - start < 10000L) {
+      if (exporter.start()) return true;
+      Thread.sleep(50L);
+    }
+    return false;
+  }
+
+  @Test public void jsonExportTest() throws Exception {
+    StandInEngine engine = new StandInEngine(
+        MAX_EXPORTS,
+        List.of("{\"RESOLVED_ENTITY\":1}", "{\"RESOLVED_ENTITY\":2}"));
+    AtomicInteger completeCount = new AtomicInteger(0);
+    EntityExporter exporter = new EntityExporter(
+        engine.createProvider(), SzExportFormat.JSON, "ENTITY_ID", 7,
+        completeCount::incrementAndGet);
+
+    assertEquals("{\"RESOLVED_ENTITY\":1}\n{\"RESOLVED_ENTITY\":2}\n",
+                 export(exporter));
+    assertEquals("exportJSONEntityReport", engine.openedMethod);
+    assertEquals(7, engine.flags);
+    engine.awaitClosed();
+    assertEquals(1, completeCount.get(), "Completion not run once");
+
+    exporter.complete();
+    assertEquals(1, completeCount.get(), "Completion run again");
+  }
+
+  @Test public void csvExportTest() throws Exception {
+    StandInEngine engine = new StandInEngine(
+        MAX_EXPORTS,
+        List.of("RESOLVED_ENTITY_ID,DATA_SOURCE\n", "1,\"TEST\"\n"));
+    EntityExporter exporter = new EntityExporter(
+        engine.createProvider(), SzExportFormat.CSV,
+        "RESOLVED_ENTITY_ID,DATA_SOURCE", 3, null);
+
+    assertEquals("RESOLVED_ENTITY_ID,DATA_SOURCE\n1,\"TEST\"\n",
+                 export(exporter),
+                 "CSV lines not written with a single line terminator");
+    assertEquals("exportCSVEntityReportV2", engine.openedMethod);
+    assertEquals("RESOLVED_ENTITY_ID,DATA_SOURCE", engine.csvColumns);
+    assertEquals(3, engine.flags);
+    engine.awaitClosed();
+
+    // check that the default CSV columns are requested as an empty string
+    StandInEngine defaults = new StandInEngine(MAX_EXPORTS, List.of());
+    assertEquals("", export(new EntityExporter(
+        defaults.createProvider(), SzExportFormat.CSV, null, 3, null)));
+    assertEquals("", defaults.csvColumns);
+  }
+
+  @Test public void openFailureTest() throws Exception {
+    StandInEngine engine = new StandInEngine(MAX_EXPORTS, List.of());
+    engine.openFailure = true;
+    AtomicInteger completeCount = new AtomicInteger(0);
+    EntityExporter exporter = new EntityExporter(
+        engine.createProvider(), SzExportFormat.JSON, null, 1,
+        completeCount::incrementAndGet);
+
+    assertThrows(IllegalStateException.class, exporter::start);
+    assertEquals(1L, engine.closed.getCount(),
+                 "Export closed although it was never opened");
+    exporter.complete();
+    assertEquals(1, completeCount.get());
+
+    // check that the failed export released its slot to an export limited
+    // to a single slot
+    StandInEngine next = new StandInEngine(1, List.of("{}"));
+    assertTrue(awaitStart(new EntityExporter(
+        next.createProvider(), SzExportFormat.JSON, null, 1, null)),
+               "Failed export did not release its slot");
+    next.awaitClosed();
+  }
+
+  @Test public void fetchFailureTest() throws Exception {
+    StandInEngine engine = new StandInEngine(MAX_EXPORTS, null);
+    engine.failAfter = 2;
+    EntityExporter exporter = new EntityExporter(
+        engine.createProvider(), SzExportFormat.JSON, null, 1, null);
+    assertTrue(awaitStart(exporter));
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    IOException e = assertThrows(IOException.class,
+                                 () -> exporter.write(baos),
+                                 "Failed export not aborted");
+    assertTrue(e.getCause() instanceof IllegalStateException);
+    assertEquals("{\"RESOLVED_ENTITY\":0}\n{\"RESOLVED_ENTITY\":1}\n",
+                 baos.toString("UTF-8"));
+    engine.awaitClosed();
+  }
+
+  @Test public void concurrencyLimitTest() throws Exception {
+    StandInEngine engine = new StandInEngine(1, null);
+    EntityExporter running = new EntityExporter(
+        engine.createProvider(), SzExportFormat.JSON, null, 1, null);
+    // this waits for the exports of the other tests to release their slots
+    assertTrue(awaitStart(running));
+
+    StandInEngine other = new StandInEngine(1, List.of("{}"));
+    EntityExporter rejected = new EntityExporter(
+        other.createProvider(), SzExportFormat.JSON, null, 1, null);
+    assertFalse(rejected.start(), "Export started beyond the limit");
+    assertNull(other.openedMethod, "Rejected export was opened");
+
+    // abandon the running export without writing it
+    running.complete();
+    engine.awaitClosed();
+
+    assertTrue(awaitStart(new EntityExporter(
+        other.createProvider(), SzExportFormat.JSON, null, 1, null)),
+               "Abandoned export did not release its slot");
+    other.awaitClosed();
+  }
+
+  @Test public void disconnectTest() throws Exception {
+    StandInEngine engine = new StandInEngine(MAX_EXPORTS, null);
+    AtomicInteger completeCount = new AtomicInteger(0);
+    EntityExporter exporter = new EntityExporter(
+        engine.createProvider(), SzExportFormat.JSON, null, 1,
+        completeCount::incrementAndGet);
+    assertTrue(awaitStart(exporter));
+
+    assertThrows(IOException.class,
+                 () -> exporter.write(new DisconnectingStream(10)));
+    engine.awaitClosed();
+    assertEquals(1, completeCount.get(), "Completion not run on disconnect");
+
+    // the export stops once the queue of unwritten lines is full
+    int fetchCount = engine.fetchCount.get();
+    assertTrue(fetchCount <= 10 + QUEUE_CAPACITY + 2,
+               "Export not stopped after the client disconnected: "
+                   + fetchCount);
+    Thread.sleep(200L);
+    assertEquals(fetchCount, engine.fetchCount.get(),
+                 "Export still fetching after the client disconnected");
+  }
+}
@@ -0,0 +1,243 @@
+package com.senzing.api.services;
+
+import org.junit.jupiter.api.*;
+
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.services.BulkDataSupport.ProgressState;
+
+/**
+ * Tests the scheduling and coalescing of the progress updates sent by the
+ * {@link ProgressUpdater} against a stand-in web socket {@link Session}.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class ProgressUpdaterTest {
+  /**
+   * Records the text messages sent on the session, holding each one until
+   * the gate is opened.
+   */
+  private static class GatedSession {
+    private final Map<String, Object> userProperties
+        = new ConcurrentHashMap<>();
+    private final List<String> sentTexts = new ArrayList<>();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch gate = new CountDownLatch(1);
+
+    private GatedSession(boolean open) {
+      if (open) this.gate.countDown();
+    }
+
+    private Session createProxy() {
+      RemoteEndpoint.Basic remote = (RemoteEndpoint.Basic)
+          Proxy.newProxyInstance(
+              RemoteEndpoint.Basic.class.getClassLoader(),
+              new Class<?>[] { RemoteEndpoint.Basic.class },
+              (proxy, method, args) -> {
+                switch (method.getName()) {
+                  case "sendText":
+                    this.entered.countDown();
+                    this.gate.await();
+                    synchronized (this.sentTexts) {
+                      this.sentTexts.add((String) args[0]);
+                      this.sentTexts.notifyAll();
+                    }
+                    return null;
+                  case "hashCode":
+                    return System.identityHashCode(proxy);
+                  case "equals":
+                    return proxy == args[0];
+                  case "toString":
+                    return "StandInRemote@" + System.identityHashCode(proxy);
+                  default:
+                    throw new UnsupportedOperationException(method.getName());
+                }
+              });
+
+      return (Session) Proxy.newProxyInstance(
+          Session.class.getClassLoader(),
+          new Class<?>[] { Session.class },
+          (proxy, method, args) -> {
+            switch (method.getName()) {
+              case "getUserProperties":
+                return this.userProperties;
+              case "getBasicRemote":
+                return remote;
+              case "isOpen":
+                return true;
+              case "hashCode":
+                return System.identityHashCode(proxy);
+              case "equals":
+                return proxy == args[0];
+              case "toString":
+                return "StandInSession@" + System.identityHashCode(proxy);
+              default:
+                throw new UnsupportedOperationException(method.getName());
+            }
+          });
+    }
+
+    private List<String> getSentTexts() {
+      synchronized (this.sentTexts) {
+        return new ArrayList<>(this.sentTexts);
+      }
+    }
+
+    private List<String> awaitSentTexts(int count)
+        throws InterruptedException
+    {
+      long start = System.currentTimeMillis();
+      synchronized (this.sentTexts) {
+        while (this.sentTexts.size() < count
+               && System.currentTimeMillis() - start < 10000L)
+        {
+          this.sentTexts.wait(100L);
+        }
+        assertEquals(count, this.sentTexts.size(),
+                     "Unexpected updates: " + this.sentTexts);
+        return new ArrayList<>(this.sentTexts);
+      }
+    }
+  }
+
+  /**
+   * Supplies the current progress as the update and counts the updates
+   * supplied.
+   */
+  private static class Progress {
+    private final AtomicLong progress = new AtomicLong(0L);
+    private final AtomicInteger supplyCount = new AtomicInteger(0);
+
+    private Map<String, Long> supply() {
+      this.supplyCount.incrementAndGet();
+      return Collections.singletonMap("progress", this.progress.get());
+    }
+
+    private ProgressUpdater<Map<String, Long>> createUpdater(
+        long progressMillis, Session session)
+    {
+      return new ProgressUpdater<>(progressMillis * 1000000L,
+                                   new ProgressState(),
+                                   null,
+                                   this::supply,
+                                   this.progress::get,
+                                   null,
+                                   null,
+                                   session);
+    }
+  }
+
+  private static String update(long progress) {
+    return "{\"progress\":" + progress + "}";
+  }
+
+  @Test public void unchangedTest() throws Exception {
+    GatedSession standIn = new GatedSession(true);
+    Progress progress = new Progress();
+    ProgressUpdater<?> updater = progress.createUpdater(
+        60000L, standIn.createProxy());
+
+    updater.run();
+    assertEquals(List.of(update(0)), standIn.awaitSentTexts(1));
+
+    // wait for the update to be marked sent before the next tick
+    for (int index = 0; index < 5; index++) {
+      Thread.sleep(20L);
+      updater.run();
+    }
+    assertEquals(1, progress.supplyCount.get(),
+                 "Update sent although nothing changed");
+
+    progress.progress.set(5L);
+    updater.run();
+    assertEquals(List.of(update(0), update(5)), standIn.awaitSentTexts(2));
+    updater.complete();
+    assertTrue(updater.isCompleted());
+  }
+
+  @Test public void coalesceTest() throws Exception {
+    GatedSession standIn = new GatedSession(false);
+    Progress progress = new Progress();
+    ProgressUpdater<?> updater = progress.createUpdater(
+        60000L, standIn.createProxy());
+
+    progress.progress.set(1L);
+    updater.run();
+    assertTrue(standIn.entered.await(10, TimeUnit.SECONDS),
+               "Update not sent");
+
+    // the ticks while the client is slow are coalesced
+    for (long value = 2L; value <= 10L; value++) {
+      progress.progress.set(value);
+      updater.run();
+    }
+    assertEquals(1, progress.supplyCount.get(),
+                 "Update produced while the previous one was being sent");
+
+    standIn.gate.countDown();
+    assertEquals(List.of(update(1)), standIn.awaitSentTexts(1));
+    Thread.sleep(50L);
+    updater.run();
+    assertEquals(List.of(update(1), update(10)), standIn.awaitSentTexts(2),
+                 "Coalesced update does not report the latest progress");
+    updater.complete();
+  }
+
+  @Test public void scheduledTest() throws Exception {
+    GatedSession standIn = new GatedSession(true);
+    Progress progress = new Progress();
+    ProgressUpdater<?> updater = progress.createUpdater(
+        20L, standIn.createProxy());
+
+    updater.start();
+    updater.start();
+    for (int index = 1; index <= 10; index++) {
+      progress.progress.set(index);
+      Thread.sleep(25L);
+    }
+    updater.complete();
+    List<String> sentTexts = standIn.getSentTexts();
+    assertTrue(sentTexts.size() >= 2,
+               "Progress updates not scheduled: " + sentTexts);
+
+    progress.progress.set(100L);
+    Thread.sleep(100L);
+    assertEquals(sentTexts, standIn.getSentTexts(),
+                 "Update sent after completion");
+
+    // a completed updater cannot be restarted
+    updater.start();
+    Thread.sleep(100L);
+    assertEquals(sentTexts, standIn.getSentTexts());
+  }
+
+  @Test public void completeTest() throws Exception {
+    GatedSession standIn = new GatedSession(false);
+    Progress progress = new Progress();
+    ProgressUpdater<?> updater = progress.createUpdater(
+        60000L, standIn.createProxy());
+
+    updater.run();
+    assertTrue(standIn.entered.await(10, TimeUnit.SECONDS));
+
+    Thread completer = new Thread(updater::complete);
+    completer.start();
+    completer.join(300L);
+    assertTrue(completer.isAlive(),
+               "Completed without waiting for the update being sent");
+
+    standIn.gate.countDown();
+    completer.join(10000L);
+    assertFalse(completer.isAlive(), "Completion still waiting");
+    assertEquals(List.of(update(0)), standIn.getSentTexts());
+  }
+}
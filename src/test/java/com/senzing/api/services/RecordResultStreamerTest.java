@@ -0,0 +1,262 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzBulkRecordResult;
+import com.senzing.api.model.SzBulkRecordStatus;
+import com.senzing.util.JsonUtils;
+import org.junit.jupiter.api.*;
+
+import javax.json.JsonObject;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.services.BulkDataSupport.ProgressState;
+
+/**
+ * Tests the batching of the per-record results of a bulk load by the {@link
+ * RecordResultStreamer} and the frames in which the batches are sent.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class RecordResultStreamerTest {
+  /**
+   * Records the batches it is asked to send, holding each one until the gate
+   * is opened.
+   */
+  private static class GatedSender {
+    private final List<List<String>> batches = new ArrayList<>();
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch gate = new CountDownLatch(1);
+
+    private GatedSender(boolean open) {
+      if (open) this.gate.countDown();
+    }
+
+    private void send(List<SzBulkRecordResult> results) {
+      this.threads.add(Thread.currentThread());
+      this.entered.countDown();
+      try {
+        this.gate.await();
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      List<String> recordIds = new ArrayList<>(results.size());
+      for (SzBulkRecordResult result : results) {
+        recordIds.add(result.getRecordId());
+      }
+      synchronized (this.batches) {
+        this.batches.add(recordIds);
+      }
+    }
+
+    private List<List<String>> getBatches() {
+      synchronized (this.batches) {
+        return new ArrayList<>(this.batches);
+      }
+    }
+  }
+
+  private static SzBulkRecordResult result(int index) {
+    SzBulkRecordResult result = SzBulkRecordResult.FACTORY.create();
+    result.setDataSource("TEST");
+    result.setRecordId(String.valueOf(index));
+    result.setStatus(SzBulkRecordStatus.LOADED);
+    return result;
+  }
+
+  private static List<String> recordIds(List<List<String>> batches) {
+    List<String> recordIds = new ArrayList<>();
+    for (List<String> batch : batches) recordIds.addAll(batch);
+    return recordIds;
+  }
+
+  private static List<String> range(int first, int last) {
+    List<String> result = new ArrayList<>(last - first + 1);
+    for (int index = first; index <= last; index++) {
+      result.add(String.valueOf(index));
+    }
+    return result;
+  }
+
+  private static Session createSession(List<Object> messages) {
+    RemoteEndpoint.Basic remote = (RemoteEndpoint.Basic)
+        Proxy.newProxyInstance(
+            RemoteEndpoint.Basic.class.getClassLoader(),
+            new Class<?>[] { RemoteEndpoint.Basic.class },
+            (proxy, method, args) -> {
+              switch (method.getName()) {
+                case "sendObject":
+                  messages.add(args[0]);
+                  return null;
+                case "hashCode":
+                  return System.identityHashCode(proxy);
+                case "equals":
+                  return proxy == args[0];
+                case "toString":
+                  return "StandInRemote@" + System.identityHashCode(proxy);
+                default:
+                  throw new UnsupportedOperationException(method.getName());
+              }
+            });
+
+    Map<String, Object> userProperties = new ConcurrentHashMap<>();
+    return (Session) Proxy.newProxyInstance(
+        Session.class.getClassLoader(),
+        new Class<?>[] { Session.class },
+        (proxy, method, args) -> {
+          switch (method.getName()) {
+            case "getUserProperties":
+              return userProperties;
+            case "getBasicRemote":
+              return remote;
+            case "isOpen":
+              return true;
+            case "hashCode":
+              return System.identityHashCode(proxy);
+            case "equals":
+              return proxy == args[0];
+            case "toString":
+              return "StandInSession@" + System.identityHashCode(proxy);
+            default:
+              throw new UnsupportedOperationException(method.getName());
+          }
+        });
+  }
+
+  @Test public void batchTest() {
+    GatedSender sender = new GatedSender(true);
+    RecordResultStreamer streamer = new RecordResultStreamer(
+        3, false, new SerialSender(), sender::send);
+    assertEquals(3, streamer.getBatchSize());
+    assertFalse(streamer.isWithInfo());
+
+    for (int index = 1; index <= 8; index++) {
+      streamer.add(result(index));
+    }
+    streamer.flush();
+    streamer.flush();
+    streamer.complete();
+
+    assertEquals(List.of(range(1, 3), range(4, 6), range(7, 8)),
+                 sender.getBatches(),
+                 "Results not sent in full batches in order");
+    assertFalse(sender.threads.contains(Thread.currentThread()),
+                "Batch sent on the thread adding the results");
+  }
+
+  @Test public void concurrentAddTest() throws Exception {
+    GatedSender sender = new GatedSender(true);
+    RecordResultStreamer streamer = new RecordResultStreamer(
+        10, true, new SerialSender(), sender::send);
+    int threadCount = 4;
+    int perThread = 1005;
+
+    List<Thread> threads = new ArrayList<>(threadCount);
+    for (int index = 0; index < threadCount; index++) {
+      int first = index * perThread;
+      threads.add(new Thread(() -> {
+        for (int offset = 0; offset < perThread; offset++) {
+          streamer.add(result(first + offset));
+        }
+      }));
+    }
+    for (Thread thread : threads) thread.start();
+    for (Thread thread : threads) thread.join();
+    streamer.complete();
+
+    List<List<String>> batches = sender.getBatches();
+    List<String> recordIds = recordIds(batches);
+    assertEquals(threadCount * perThread, recordIds.size(),
+                 "Results lost or duplicated");
+    assertEquals(new TreeSet<>(range(0, threadCount * perThread - 1)),
+                 new TreeSet<>(recordIds));
+    for (List<String> batch : batches.subList(0, batches.size() - 1)) {
+      assertEquals(10, batch.size(), "Partial batch sent before completion");
+    }
+  }
+
+  @Test public void slowSenderTest() throws Exception {
+    GatedSender sender = new GatedSender(false);
+    SerialSender serialSender = new SerialSender();
+    RecordResultStreamer streamer
+        = new RecordResultStreamer(1, false, serialSender, sender::send);
+
+    streamer.add(result(0));
+    assertTrue(sender.entered.await(10, TimeUnit.SECONDS),
+               "First batch not sent");
+
+    // the batches queue on the serial sender without blocking until full
+    Thread adder = new Thread(() -> {
+      for (int index = 1; index <= serialSender.getCapacity(); index++) {
+        streamer.add(result(index));
+      }
+    });
+    adder.start();
+    adder.join(5000L);
+    assertFalse(adder.isAlive(), "Adding blocked before the queue was full");
+
+    Thread blocked = new Thread(
+        () -> streamer.add(result(serialSender.getCapacity() + 1)));
+    blocked.start();
+    blocked.join(300L);
+    assertTrue(blocked.isAlive(), "Adding not blocked by a full queue");
+
+    sender.gate.countDown();
+    blocked.join(10000L);
+    assertFalse(blocked.isAlive(), "Adding still blocked after sending");
+    streamer.complete();
+    assertEquals(range(0, serialSender.getCapacity() + 1),
+                 recordIds(sender.getBatches()));
+  }
+
+  @Test public void ndjsonFrameTest() {
+    StringWriter writer = new StringWriter();
+    RecordResultStreamer streamer
+        = new BulkDataServices().newRecordResultStreamer(
+            2, false, new ProgressState(), writer, null, null, null);
+    for (int index = 1; index <= 5; index++) {
+      streamer.add(result(index));
+    }
+    streamer.complete();
+
+    String[] lines = writer.toString().split("\n");
+    assertEquals(5, lines.length, "Not one result per line: " + writer);
+    for (int index = 0; index < lines.length; index++) {
+      JsonObject jsonObject = JsonUtils.parseJsonObject(lines[index]);
+      assertEquals("TEST", jsonObject.getString("dataSource"));
+      assertEquals(String.valueOf(index + 1),
+                   jsonObject.getString("recordId"));
+      assertEquals("LOADED", jsonObject.getString("status"));
+    }
+  }
+
+  @Test public void webSocketFrameTest() {
+    List<Object> messages = Collections.synchronizedList(new ArrayList<>());
+    Session session = createSession(messages);
+    RecordResultStreamer streamer
+        = new BulkDataServices().newRecordResultStreamer(
+            2, false, new ProgressState(), null, null, null, session);
+    for (int index = 1; index <= 5; index++) {
+      streamer.add(result(index));
+    }
+    streamer.complete();
+
+    assertEquals(3, messages.size(), "Results not sent in batches");
+    List<String> recordIds = new ArrayList<>();
+    for (Object message : messages) {
+      Map<?, ?> batch = (Map<?, ?>) message;
+      assertEquals(Set.of("recordResults"), batch.keySet());
+      for (Object result : (List<?>) batch.get("recordResults")) {
+        recordIds.add(((SzBulkRecordResult) result).getRecordId());
+      }
+    }
+    assertEquals(range(1, 5), recordIds);
+  }
+}
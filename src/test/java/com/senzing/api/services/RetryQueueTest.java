@@ -0,0 +1,295 @@
+package com.senzing.api.services;
+
+import com.senzing.api.model.SzLoadRetryStats;
+import com.senzing.util.Timers;
+import com.senzing.util.WorkerThreadPool;
+import org.junit.jupiter.api.*;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.TestInstance.*;
+import static com.senzing.api.services.BulkDataSupport.AddRecordResult;
+import static com.senzing.api.services.RetryQueue.*;
+
+/**
+ * Tests the {@link RetryQueue} against a stand-in {@link SzApiProvider} that
+ * runs the engine tasks on the calling thread.
+ */
+@TestInstance(Lifecycle.PER_CLASS)
+public class RetryQueueTest {
+  /**
+   * Counts the tasks handed to the {@link SzApiProvider} and runs them on
+   * the calling thread.
+   */
+  private static class StandInProvider {
+    private final AtomicInteger taskCount = new AtomicInteger(0);
+
+    private SzApiProvider createProxy() {
+      return (SzApiProvider) Proxy.newProxyInstance(
+          SzApiProvider.class.getClassLoader(),
+          new Class<?>[] { SzApiProvider.class },
+          (proxy, method, args) -> {
+            switch (method.getName()) {
+              case "executeInThread":
+                this.taskCount.incrementAndGet();
+                return ((WorkerThreadPool.Task<?, ?>) args[0]).execute();
+              case "hashCode":
+                return System.identityHashCode(proxy);
+              case "equals":
+                return proxy == args[0];
+              case "toString":
+                return "StandInProvider@" + System.identityHashCode(proxy);
+              default:
+                throw new UnsupportedOperationException(method.getName());
+            }
+          });
+    }
+  }
+
+  /**
+   * Collects the outcome of a retried record.
+   */
+  private static class Outcome {
+    private final List<AddRecordResult> results = new ArrayList<>();
+    private final List<Exception> errors = new ArrayList<>();
+
+    private synchronized void complete(AddRecordResult result) {
+      this.results.add(result);
+    }
+
+    private synchronized void fail(Exception e) {
+      this.errors.add(e);
+    }
+  }
+
+  private static AddRecordResult succeeded() {
+    return new AddRecordResult(
+        "TEST", "GENERIC", "ABC", null, new Timers(), 0, null);
+  }
+
+  private static AddRecordResult failed(String errorCode) {
+    AddRecordResult result = succeeded();
+    result.returnCode = -2;
+    result.errorCode  = errorCode;
+    result.errorMsg   = "Failed with " + errorCode;
+    return result;
+  }
+
+  private static SzLoadRetryStats getStats(RetryQueue queue,
+                                           String     errorCode)
+  {
+    List<SzLoadRetryStats> statsList = queue.toRetryStats();
+    assertNotNull(statsList, "No retry statistics");
+    for (SzLoadRetryStats stats : statsList) {
+      if (errorCode.equals(stats.getErrorCode())) return stats;
+    }
+    fail("No retry statistics for error code: " + errorCode);
+    return null;
+  }
+
+  @Test public void transientErrorCodeTest() {
+    RetryQueue queue = new RetryQueue(
+        3, new StandInProvider().createProxy(), new ConcurrencyLimiter(1, 1));
+
+    for (String errorCode : TRANSIENT_ERROR_CODES) {
+      assertTrue(queue.isRetryable(failed(errorCode)),
+                 "Transient error code not retryable: " + errorCode);
+    }
+    assertFalse(queue.isRetryable(failed("7")),
+                "Non-transient error code is retryable");
+    assertFalse(queue.isRetryable(succeeded()),
+                "Successful result is retryable");
+    assertFalse(queue.isRetryable(null), "Null result is retryable");
+
+    RetryQueue disabled = new RetryQueue(
+        0, new StandInProvider().createProxy(), new ConcurrencyLimiter(1, 1));
+    assertFalse(disabled.isRetryable(failed("10")),
+                "Retryable when retries are disabled");
+  }
+
+  @Test public void backoffBoundsTest() {
+    RetryQueue queue = new RetryQueue(
+        3, new StandInProvider().createProxy(), new ConcurrencyLimiter(1, 1));
+
+    for (int attempt = 1; attempt <= 40; attempt++) {
+      long bound = (attempt > 20) ? MAX_DELAY_MILLIS
+          : Math.min(MAX_DELAY_MILLIS, BASE_DELAY_MILLIS << (attempt - 1));
+      for (int index = 0; index < 200; index++) {
+        long backoff = queue.backoffMillis(attempt);
+        assertTrue(backoff >= 0L && backoff <= bound,
+                   "Backoff out of bounds for attempt " + attempt + ": "
+                       + backoff);
+      }
+    }
+  }
+
+  @Test public void recoveredRetryTest() {
+    StandInProvider provider = new StandInProvider();
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 2);
+    RetryQueue queue = new RetryQueue(3, provider.createProxy(), limiter);
+    AtomicInteger loadCount = new AtomicInteger(0);
+    Outcome outcome = new Outcome();
+
+    queue.retry(failed("1006"),
+                timers -> (loadCount.incrementAndGet() < 3)
+                    ? failed("1006") : succeeded(),
+                outcome::complete,
+                outcome::fail);
+    queue.drain();
+
+    assertEquals(3, loadCount.get());
+    assertEquals(3, provider.taskCount.get(),
+                 "Attempts not run via the engine thread pool");
+    assertEquals(1, outcome.results.size());
+    assertFalse(outcome.results.get(0).isFailed());
+    assertEquals(0, outcome.errors.size());
+
+    SzLoadRetryStats stats = getStats(queue, "1006");
+    assertEquals(3, stats.getRetryCount());
+    assertEquals(1, stats.getRecoveredCount());
+    assertEquals(0, stats.getFailedCount());
+
+    // check that every attempt released its record in flight
+    assertTrue(limiter.tryAcquire());
+    assertTrue(limiter.tryAcquire());
+  }
+
+  @Test public void exhaustedRetryTest() {
+    StandInProvider provider = new StandInProvider();
+    RetryQueue queue = new RetryQueue(
+        2, provider.createProxy(), new ConcurrencyLimiter(1, 1));
+    AtomicInteger loadCount = new AtomicInteger(0);
+    Outcome outcome = new Outcome();
+
+    queue.retry(failed("10"),
+                timers -> {
+                  loadCount.incrementAndGet();
+                  return failed("10");
+                },
+                outcome::complete,
+                outcome::fail);
+    queue.drain();
+
+    assertEquals(2, loadCount.get(), "Retried beyond the maximum");
+    assertEquals(1, outcome.results.size());
+    assertTrue(outcome.results.get(0).isFailed());
+
+    SzLoadRetryStats stats = getStats(queue, "10");
+    assertEquals(2, stats.getRetryCount());
+    assertEquals(0, stats.getRecoveredCount());
+    assertEquals(1, stats.getFailedCount());
+  }
+
+  @Test public void nonTransientRetryTest() {
+    RetryQueue queue = new RetryQueue(
+        5, new StandInProvider().createProxy(), new ConcurrencyLimiter(1, 1));
+    AtomicInteger loadCount = new AtomicInteger(0);
+    Outcome outcome = new Outcome();
+
+    queue.retry(failed("1007"),
+                timers -> {
+                  loadCount.incrementAndGet();
+                  return failed("7");
+                },
+                outcome::complete,
+                outcome::fail);
+    queue.drain();
+
+    assertEquals(1, loadCount.get(), "Retried a non-transient failure");
+    assertEquals(1, outcome.results.size());
+    assertEquals("7", outcome.results.get(0).getErrorCode());
+    assertEquals(1, getStats(queue, "1007").getFailedCount());
+  }
+
+  @Test public void exceptionRetryTest() {
+    RetryQueue queue = new RetryQueue(
+        3, new StandInProvider().createProxy(), new ConcurrencyLimiter(1, 1));
+    Outcome outcome = new Outcome();
+
+    queue.retry(failed("1008"),
+                timers -> {
+                  throw new IllegalStateException("Load failure");
+                },
+                outcome::complete,
+                outcome::fail);
+    queue.drain();
+
+    assertEquals(0, outcome.results.size());
+    assertEquals(1, outcome.errors.size());
+    assertTrue(outcome.errors.get(0) instanceof IllegalStateException);
+    assertEquals(1, getStats(queue, "1008").getFailedCount());
+  }
+
+  @Test public void limitedRetryTest() throws Exception {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1);
+    RetryQueue queue = new RetryQueue(
+        3, new StandInProvider().createProxy(), limiter);
+    AtomicInteger loadCount = new AtomicInteger(0);
+    Outcome outcome = new Outcome();
+
+    // hold the only record in flight so the retry cannot be dispatched
+    limiter.acquire();
+    queue.retry(failed("10"),
+                timers -> {
+                  loadCount.incrementAndGet();
+                  return succeeded();
+                },
+                outcome::complete,
+                outcome::fail);
+
+    Thread.sleep(BASE_DELAY_MILLIS * 5);
+    assertEquals(0, loadCount.get(), "Retry attempted beyond the limit");
+
+    limiter.release(succeeded(), 0L);
+    queue.drain();
+    assertEquals(1, loadCount.get());
+    assertEquals(1, outcome.results.size());
+    assertTrue(limiter.tryAcquire(), "Retry did not release its record");
+  }
+
+  @Test public void supersededRetryTest() throws Exception {
+    ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1);
+    RetryQueue queue = new RetryQueue(
+        3, new StandInProvider().createProxy(), limiter);
+    AtomicInteger loadCount = new AtomicInteger(0);
+    Outcome outcome = new Outcome();
+    AddRecordResult failedResult = failed("10");
+
+    // hold the only record in flight so the retry waits for the later load
+    limiter.acquire();
+    queue.retry(failedResult,
+                timers -> {
+                  loadCount.incrementAndGet();
+                  return succeeded();
+                },
+                outcome::complete,
+                outcome::fail);
+    queue.supersede("TEST", "ABC");
+
+    limiter.release(succeeded(), 0L);
+    queue.drain();
+    assertEquals(0, loadCount.get(), "Superseded retry was attempted");
+    assertEquals(List.of(failedResult), outcome.results,
+                 "Superseded retry did not report its last failure");
+    assertEquals(0, getStats(queue, "10").getRetryCount());
+    assertEquals(1, getStats(queue, "10").getFailedCount());
+
+    // check that a retry of another record is not superseded
+    queue.retry(failed("10"),
+                timers -> {
+                  loadCount.incrementAndGet();
+                  return succeeded();
+                },
+                outcome::complete,
+                outcome::fail);
+    queue.supersede("TEST", "DEF");
+    queue.supersede("OTHER", "ABC");
+    queue.drain();
+    assertEquals(1, loadCount.get(), "Retry of another record superseded");
+    assertEquals(2, outcome.results.size());
+    assertFalse(outcome.results.get(1).isFailed());
+  }
+}